@@ -6,14 +6,15 @@ import java.util.Set;                 // for returning all account names
 import java.util.ArrayDeque;          // for storing players with access to a specific account
 import java.io.File;                  // for handling files
 import java.util.Scanner;             // for parsing files
-import java.io.FileWriter;            // for writing to files
-import java.io.FileNotFoundException; // for handling missing file errors
 import java.io.IOException;           // for handling miscellaneous file errors
 import java.util.UUID;                // for more securely tracking users internally
 import java.util.HashSet;             // for faster saving, by storing accounts changed since last save
-import java.io.BufferedWriter;        // for faster saving, so fewer file writes are used
 import java.util.Map;                 // for iterating through maps
 import java.util.Collection;          // for returning all accounts usable within the marketplace
+import java.util.ArrayList;           // for capturing changed accounts when saving
+import java.util.Arrays;              // for restoring permitted players from binary snapshots
+import java.io.DataOutputStream;      // for writing binary snapshots
+import java.nio.ByteBuffer;           // for reading binary snapshots
 
 /**
  * Manages financial accounts usable within the market.
@@ -40,25 +41,92 @@ public final class Account {
    private static StringBuilder accountCreationRecords = new StringBuilder();
    /** holds account entries which failed to load */
    private static StringBuilder accountsErrored = new StringBuilder();
-   /** holds account IDs whose entries should be regenerated */
+   /** holds accounts whose entries should be regenerated */
    private static Set<Account> accountsChangedSinceLastSave = new HashSet<Account>();
+   /** holds IDs of accounts deleted since last saving, whose shards should be rewritten */
+   private static Set<String> accountsDeletedSinceLastSave = new HashSet<String>();
    /** maps account IDs to account entries, easing regenerating changed accounts' entries for saving */
    private static TreeMap<String, StringBuilder> accountEntries = new TreeMap<String, StringBuilder>();
    /** whether or not to remove entries for mapping players to default accounts */
    private static boolean regenerateDefaultAccountEntries = false;
    /** holds entries mapping players to default accounts */
    private static StringBuilder defaultAccountEntries = new StringBuilder();
+   /** whether account creation counts changed since last saving */
+   private static boolean accountCreationRecordsChanged = false;
+   /** account entries grouped by shard or null if they should be regrouped */
+   private static ArrayList<TreeMap<String, StringBuilder>> shardEntries = null;
+   /** how many shards the accounts save file refers to; -1 if the shards should be rewritten */
+   private static volatile int shardsSaved = 0;
+   /** ending appended to the accounts save file's name, followed by a number, to name a shard */
+   static final String SHARD_SUFFIX = ".shard";
+   /** nanoseconds the most recent save spent capturing accounts */
+   private static volatile long saveCaptureTimeLast = 0;
+
+   // binary snapshots
+   /** bytes within each account's fixed-width record */
+   private static final int RECORD_BYTES = 28;
+   /** bytes within each permitted player's record */
+   private static final int RECORD_USER_BYTES = 16;
+   /** bytes within each account creation count's and default account's record */
+   private static final int RECORD_PLAYER_BYTES = 20;
+   /** record flag marking funds held as fixed-point numbers */
+   private static final byte RECORD_FIXED_POINT = 1;
 
    // miscellaneous
    /** a loose mutex used to avoid synchronization problems with threads rarely adjusting accounts' properties */
    private static volatile boolean doNotAdjustAccounts = false;
+   /** whether accounts currently hold funds as fixed-point numbers */
+   private static volatile boolean fixedPoint = false;
 
    // INSTANCE VARIABLES
-   /** funds held by account */
-   private float money;
+   /** internal name of account or null if the account isn't within the marketplace */
+   private final String accountID;
+   /** funds held by account when using floating-point money; only changed while holding the account's monitor */
+   private volatile float money;
+   /** funds held by account in ten-thousandths when using fixed-point money; only changed while holding the account's monitor */
+   private volatile long moneyUnits;
    /** players who may view and withdraw from account */
    private ArrayDeque<UUID> accountUsers;
 
+   // STRUCTS
+   /**
+    * Holds an account's properties as captured when saving began.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class SavedAccount
+   {
+      /** internal name of the account */
+      final String accountID;
+      /** account's entry to be regenerated */
+      final StringBuilder entry;
+      /** whether funds were held as fixed-point numbers */
+      final boolean isFixedPoint;
+      /** funds when using floating-point money */
+      final float money;
+      /** funds in ten-thousandths when using fixed-point money */
+      final long moneyUnits;
+      /** players who could view and withdraw from the account */
+      final UUID[] accountUsers;
+
+      /**
+       * Captures an account to be saved.
+       * @param accountID internal name of the account
+       * @param entry     account's entry to be regenerated
+       * @param account   account to be saved
+       */
+      SavedAccount(final String accountID, final StringBuilder entry, final Account account) {
+         this.accountID    = accountID;
+         this.entry        = entry;
+         this.isFixedPoint = fixedPoint;
+         this.money        = account.money;
+         this.moneyUnits   = account.moneyUnits;
+         this.accountUsers = account.accountUsers == null ? null : account.accountUsers.toArray(new UUID[0]);
+      }
+   }
+
    // FUNCTIONS
    /**
     * Creates an account with specified amount of starting money.
@@ -150,12 +218,15 @@ public final class Account {
             // generate record to ease saving later
             // format: #,playername,count
             accountCreationRecords.append("#," + accountOwner.toString() + ',' + accountsCreatedPerUser.get(accountOwner) + '\n');
+            accountCreationRecordsChanged = true;
          }
       }
 
       // pass parameters to constructor
       waitForMutex(); // check if another thread is adjusting accounts' properties
-      return new Account(accountID, accountOwner, startingMoney);
+      account = new Account(accountID, accountOwner, startingMoney);
+      TransactionLedger.recordFunds(account.accountID, account.getMoneyUnits(), account.getMoneyUnits());
+      return account;
    }
 
    /**
@@ -223,8 +294,12 @@ public final class Account {
       // delete the account
       waitForMutex(); // check if another thread is adjusting accounts' properties
       accounts.remove(accountID);
+      TransactionLedger.recordAccountDeleted(account.accountID, -account.getMoneyUnits());
       accountsChangedSinceLastSave.remove(account);
       accountEntries.remove(accountID);
+      if (shardEntries != null)
+         shardEntries.get(getShard(accountID, shardEntries.size())).remove(accountID);
+      accountsDeletedSinceLastSave.add(accountID);
       // account creation records are not adjusted to prevent spamming
 
       // remove any default accounts pointing to the deleted account
@@ -415,6 +490,10 @@ public final class Account {
          money = 0.0f;
       else
          money = startingMoney;
+      if (fixedPoint) {
+         moneyUnits = Money.fromFloat(money);
+         money      = 0.0f;
+      }
 
       // note: if no player name was given,
       // an inaccessible account is made
@@ -427,11 +506,18 @@ public final class Account {
 
       // if a ID was given, use it to insert
       // the new account into the accounts table
-      if (accountID != null && !accountID.isEmpty()) {
-         accounts.put(accountID.intern(), this);
+      if (accountID != null && !accountID.isEmpty())
+         this.accountID = accountID.intern();
+      else
+         this.accountID = null;
+      if (this.accountID != null) {
+         accounts.put(this.accountID, this);
 
          // add account to the save list
-         accountEntries.put(accountID.intern(), new StringBuilder());
+         final StringBuilder ENTRY = new StringBuilder();
+         accountEntries.put(this.accountID, ENTRY);
+         if (shardEntries != null)
+            shardEntries.get(getShard(this.accountID, shardEntries.size())).put(this.accountID, ENTRY);
 
          // mark the new account as needing to be saved
          accountsChangedSinceLastSave.add(this);
@@ -445,23 +531,43 @@ public final class Account {
     * @return how much wealth the account holds
     */
    public float getMoney() {
+      if (fixedPoint)
+         return Money.toFloat(moneyUnits);
       return money;
    }
 
+   /**
+    * Retrieves the amount of money in the account in ten-thousandths,
+    * exactly when using fixed-point money.
+    * <p>
+    * Complexity: O(1)
+    * @return how much wealth the account holds in fixed-point units
+    */
+   public long getMoneyUnits() {
+      if (fixedPoint)
+         return moneyUnits;
+      return Money.fromFloat(money);
+   }
+
    /**
     * Increases an account's funds.
     * <p>
     * Complexity: O(1)
     * @param quantity amount to add to account
     */
-   public void addMoney(float quantity) {
+   public synchronized void addMoney(float quantity) {
       // if quantity is 0, do nothing
       if (quantity == 0.0f || Float.isNaN(quantity))
          return;
 
       // add funds to the account
       waitForMutex(); // check if another thread is adjusting accounts' properties
-      money += quantity;
+      final long UNITS_BEFORE = getMoneyUnits();
+      if (fixedPoint)
+         moneyUnits = Money.add(moneyUnits, Money.fromFloat(quantity));
+      else
+         money += quantity;
+      recordChange(UNITS_BEFORE);
 
       // mark the new account as needing to be saved
       accountsChangedSinceLastSave.add(this);
@@ -473,14 +579,19 @@ public final class Account {
     * Complexity: O(1)
     * @param quantity amount to subtract from account
     */
-   public void subtractMoney(float quantity) {
+   public synchronized void subtractMoney(float quantity) {
       // if quantity is 0, do nothing
       if (quantity == 0.0f || Float.isNaN(quantity))
          return;
 
       // add funds to the account
       waitForMutex(); // check if another thread is adjusting accounts' properties
-      money -= quantity;
+      final long UNITS_BEFORE = getMoneyUnits();
+      if (fixedPoint)
+         moneyUnits = Money.add(moneyUnits, -Money.fromFloat(quantity));
+      else
+         money -= quantity;
+      recordChange(UNITS_BEFORE);
 
       // mark the new account as needing to be saved
       accountsChangedSinceLastSave.add(this);
@@ -494,14 +605,111 @@ public final class Account {
     * Complexity: O(1)
     * @param quantity amount to set money to
     */
-   public void setMoney(float quantity) {
+   public synchronized void setMoney(float quantity) {
       // if quantity is not a number,
       // don't do anything
       if (Float.isNaN(quantity))
          return;
 
       // set account funds
-      money = quantity;
+      final long UNITS_BEFORE = getMoneyUnits();
+      if (fixedPoint)
+         moneyUnits = Money.fromFloat(quantity);
+      else
+         money = quantity;
+      recordChange(UNITS_BEFORE);
+
+      // mark the new account as needing to be saved
+      accountsChangedSinceLastSave.add(this);
+   }
+
+   /**
+    * Forces an account's money to be an exact value.
+    * <p>
+    * Does not use Account's loose mutex; concurrent modification is not protected against.
+    * <p>
+    * Complexity: O(1)
+    * @param units amount to set money to in ten-thousandths
+    */
+   public synchronized void setMoneyUnits(long units) {
+      // set account funds
+      final long UNITS_BEFORE = getMoneyUnits();
+      if (fixedPoint)
+         moneyUnits = units;
+      else
+         money = Money.toFloat(units);
+      recordChange(UNITS_BEFORE);
+
+      // mark the new account as needing to be saved
+      accountsChangedSinceLastSave.add(this);
+   }
+
+   /**
+    * Increases an account's funds by an exact amount.
+    * <p>
+    * Complexity: O(1)
+    * @param units amount to add to account in ten-thousandths
+    */
+   public synchronized void addMoneyUnits(long units) {
+      // if quantity is 0, do nothing
+      if (units == 0L)
+         return;
+
+      // add funds to the account
+      waitForMutex(); // check if another thread is adjusting accounts' properties
+      final long UNITS_BEFORE = getMoneyUnits();
+      if (fixedPoint)
+         moneyUnits = Money.add(moneyUnits, units);
+      else
+         money += Money.toFloat(units);
+      recordChange(UNITS_BEFORE);
+
+      // mark the new account as needing to be saved
+      accountsChangedSinceLastSave.add(this);
+   }
+
+   /**
+    * Decreases an account's funds by an exact amount.
+    * <p>
+    * Complexity: O(1)
+    * @param units amount to subtract from account in ten-thousandths
+    */
+   public void subtractMoneyUnits(long units) {
+      addMoneyUnits(-units);
+   }
+
+   /**
+    * Records a change to the account's funds within the transaction ledger.
+    * <p>
+    * Complexity: O(1)
+    * @param unitsBefore funds in ten-thousandths before they changed
+    */
+   private void recordChange(long unitsBefore) {
+      final long UNITS_AFTER = getMoneyUnits();
+      TransactionLedger.recordFunds(accountID, UNITS_AFTER - unitsBefore, UNITS_AFTER);
+   }
+
+   /**
+    * Multiplies an account's funds, such as when applying interest.
+    * <p>
+    * Does not use Account's loose mutex; concurrent modification is not protected against.
+    * <p>
+    * Complexity: O(1)
+    * @param multiplier how much to scale funds by
+    */
+   public synchronized void multiplyMoney(float multiplier) {
+      // if multiplier is not a number,
+      // don't do anything
+      if (Float.isNaN(multiplier))
+         return;
+
+      // scale account funds
+      final long UNITS_BEFORE = getMoneyUnits();
+      if (fixedPoint)
+         moneyUnits = Money.multiply(moneyUnits, multiplier);
+      else
+         money = money * multiplier;
+      recordChange(UNITS_BEFORE);
 
       // mark the new account as needing to be saved
       accountsChangedSinceLastSave.add(this);
@@ -641,7 +849,7 @@ public final class Account {
 
       // print the quantity in the given account
       Config.userInterface.printToUser(playerID, accountID + ": " +
-         PriceFormatter.PRICE_FORMAT.format(money));
+         PriceFormatter.PRICE_FORMAT.format(fixedPoint ? Money.toDouble(moneyUnits) : money));
    }
 
    /**
@@ -691,13 +899,14 @@ public final class Account {
          }
 
          // stop if there isn't enough money
-         if (money + canNegativeFeeBePaid(fee) < quantity + fee) {
+         if (fixedPoint ? Money.add(moneyUnits, Money.fromFloat(canNegativeFeeBePaid(fee))) < Money.add(Money.fromFloat(quantity), Money.fromFloat(fee))
+                        : money + canNegativeFeeBePaid(fee) < quantity + fee) {
             Config.userInterface.printErrorToUser(playerID, StringTable.MSG_ACCOUNT_NO_MONEY_FEE);
             return;
          }
       } else {
          // check if sender is able to send the desired quantity
-         if (money < quantity) {
+         if (fixedPoint ? moneyUnits < Money.fromFloat(quantity) : money < quantity) {
             Config.userInterface.printErrorToUser(playerID, StringTable.MSG_ACCOUNT_NO_MONEY);
             return;
          }
@@ -723,7 +932,15 @@ public final class Account {
 
       // transfer the money
       waitForMutex(); // check if another thread is adjusting accounts' properties
-      money -= quantity;
+      long unitsBefore;
+      synchronized (this) { // prevent simultaneous changes to funds from being lost
+         unitsBefore = getMoneyUnits();
+         if (fixedPoint)
+            moneyUnits = Money.add(moneyUnits, -Money.fromFloat(quantity));
+         else
+            money -= quantity;
+         recordChange(unitsBefore);
+      }
       accountRecipient.addMoney(quantity);
 
       // report the transfer
@@ -759,7 +976,14 @@ public final class Account {
 
          // pay the fee
          waitForMutex(); // check if another thread is adjusting accounts' properties
-         money -= fee;
+         synchronized (this) {
+            unitsBefore = getMoneyUnits();
+            if (fixedPoint)
+               moneyUnits = Money.add(moneyUnits, -Money.fromFloat(fee));
+            else
+               money -= fee;
+            recordChange(unitsBefore);
+         }
 
          // report fee payment
          Config.userInterface.printToUser(playerID, Config.transactionFeeSendingMsg + PriceFormatter.PRICE_FORMAT.format(fee));
@@ -776,24 +1000,38 @@ public final class Account {
     * @return account ID-less account information formatted as a single-line file entry
     */
    protected String getWrittenState() {
+      return appendWrittenState(new StringBuilder(), fixedPoint, money, moneyUnits,
+         accountUsers == null ? null : accountUsers.toArray(new UUID[0])).toString();
+   }
+
+   /**
+    * Writes an account's funds and permitted players for saving.
+    * <p>
+    * Complexity: O(n), where n is the number of players permitted to use the account
+    * @param result       where to write the account's state
+    * @param isFixedPoint whether funds are held as fixed-point numbers
+    * @param money        funds when using floating-point money
+    * @param moneyUnits   funds in ten-thousandths when using fixed-point money
+    * @param accountUsers players who may view and withdraw from the account
+    * @return the given builder
+    */
+   private static StringBuilder appendWrittenState(StringBuilder result, boolean isFixedPoint, float money, long moneyUnits, UUID[] accountUsers) {
       // format: accountID,money,accountOwner,accountOwner,...,accountOwner
 
       // grab account funds
-      StringBuilder result = new StringBuilder();
-      result.append(money).append(',');
+      if (isFixedPoint)
+         Money.append(result, moneyUnits);
+      else
+         result.append(money);
 
       // if there are any permitted players, write them
       if (accountUsers != null) {
          for (UUID id : accountUsers)
-            result.append(id.toString()).append(',');
+            result.append(',').append(id.toString());
       }
 
-      // remove trailing comma and
       // end the line to signify end of account information
-      result.setLength(result.length() - 1);
-      result.append('\n');
-
-      return result.toString();
+      return result.append('\n');
    }
 
    /**
@@ -837,6 +1075,9 @@ public final class Account {
    public static void loadAccounts() {
       File fileAccounts; // has market account information
 
+      // finish writing any save file which might be loaded
+      SnapshotWriter.awaitWrites();
+
       // try to load the accounts file
       fileAccounts = new File(Config.filenameAccounts);
       // check file existence
@@ -861,15 +1102,35 @@ public final class Account {
          accountsErrored.setLength(0);
          defaultAccounts.clear();
       }
+      shardEntries = null;
+      accountsDeletedSinceLastSave.clear();
+      accountCreationRecordsChanged = false;
+      shardsSaved                   = 0;
 
       // create a generic admin account
       new Account(StringTable.ACCOUNT_ADMIN, UUID.nameUUIDFromBytes((StringTable.ACCOUNT_ADMIN).getBytes()), Float.POSITIVE_INFINITY);
 
+      // if the accounts file's binary snapshot is at least as new,
+      // load the snapshot rather than parsing text
+      if (Config.binarySnapshots && !isSnapshotOlderThanShards(fileAccounts) && loadAccountsSnapshot(fileAccounts)) {
+         // mark default account entries for saving
+         // to be regenerated using any new data
+         regenerateDefaultAccountEntries = true;
+
+         // the snapshot doesn't record how accounts were split,
+         // so rewrite any shards when next saving
+         shardsSaved = -1;
+
+         // allow other threads to adjust accounts' properties
+         releaseMutex();
+         return;
+      }
+
       // open the file
       Scanner fileReader;
       try {
-         fileReader = new Scanner(fileAccounts);
-      } catch (FileNotFoundException e) {
+         fileReader = new Scanner(CompressedFiles.openInput(fileAccounts));
+      } catch (IOException e) {
          Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_MISSED + Config.filenameAccounts);
          e.printStackTrace();
 
@@ -878,178 +1139,286 @@ public final class Account {
          return;
       }
 
+      // parse the file and add accounts
+      String line; // line being parsed
+      while (fileReader.hasNextLine()) { // grab line to be parsed
+         line = fileReader.nextLine();
+
+         // if accounts are split among several files, load them
+         if (line.startsWith(StringTable.FILE_HEADER_ACCOUNT_SHARDS)) {
+            loadAccountShards(line.substring(StringTable.FILE_HEADER_ACCOUNT_SHARDS.length()).trim());
+            continue;
+         }
+
+         loadAccountEntry(line);
+      }
+
+      // close the file
+      fileReader.close();
+
+      // mark default account entries for saving
+      // to be regenerated using any new data
+      regenerateDefaultAccountEntries = true;
+
+      // allow other threads to adjust accounts' properties
+      releaseMutex();
+   }
+
+   /**
+    * Adds an account, account creation count, or default account
+    * based on an entry within the accounts file or one of its shards.
+    * <p>
+    * Complexity: O(n), where n is the number of players permitted to use the account
+    * @param line entry to be parsed
+    */
+   private static void loadAccountEntry(String line) {
       // set up variables for account creation
       Account account; // holds account being created, useful when adding permissions
       float money;     // useful for preventing crashes when loading invalid entries
+      long moneyUnits; // holds funds exactly when using fixed-point money
       UUID playerID;   // for loading default account entries
 
-      // parse the file and add accounts
-      String[] data; // holds pointer to line being parsed
-      while (fileReader.hasNextLine()) { // grab line to be parsed
-         data = fileReader.nextLine().split(",", 0); // split line using commas
+      String[] data = line.split(",", 0); // split line using commas
 
-         // check if there is enough data to create an account
-         if (data.length < 2)
-            continue;
+      // check if there is enough data to create an account
+      if (data.length < 2)
+         return;
 
-         // if the line is a comment, skip it
-         if (data[0].startsWith("//"))
-            continue;
+      // if the line is a comment, skip it
+      if (data[0].startsWith("//"))
+         return;
 
-         // if the line is an account creation count, process it accordingly
-         if (data[0].equals("#")) {
-            try {
-               accountsCreatedPerUser.put(UUID.fromString(data[1]), Integer.parseInt(data[2]));
-               accountCreationRecords.append(String.join(",", data) + '\n');
-            } catch (Exception e) {
+      // if the line is an account creation count, process it accordingly
+      if (data[0].equals("#")) {
+         try {
+            accountsCreatedPerUser.put(UUID.fromString(data[1]), Integer.parseInt(data[2]));
+            accountCreationRecords.append(String.join(",", data) + '\n');
+         } catch (Exception e) {
+            String erroredAccount = String.join(",", data);
+            Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_CREATION + erroredAccount);
+
+            // store the line entry for later
+            accountsErrored.append(erroredAccount);
+         }
+
+         return; // skip to the next entry
+      }
+
+      // if the line maps a player ID to their default account, process it accordingly
+      if (data[0].equals("*")) {
+         try {
+            // check whether the account exists
+            if (data[2] != null)
+               account = accounts.get(data[2]);
+            else
+               account = null;
+            if (account == null) {
                String erroredAccount = String.join(",", data);
-               Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_CREATION + erroredAccount);
+               Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_NONEXISTENT + erroredAccount);
+               return; // skip to the next entry
+            }
 
-               // store the line entry for later
-               accountsErrored.append(erroredAccount);
+            // check whether the player ID is valid
+            playerID = UUID.fromString(data[1]);
+            if (playerID == null) {
+               String erroredAccount = String.join(",", data);
+               Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_UUID_DEFAULT + erroredAccount);
+               return; // skip to the next entry
             }
 
-            continue; // skip to the next entry
-         }
+            // check whether the player still has permission to use the account
+            if (!account.hasAccess(playerID))
+               return; // ignore the invalid entry
 
-         // if the line maps a player ID to their default account, process it accordingly
-         if (data[0].equals("*")) {
-            try {
-               // check whether the account exists
-               if (data[2] != null)
-                  account = accounts.get(data[2]);
-               else
-                  account = null;
-               if (account == null) {
-                  String erroredAccount = String.join(",", data);
-                  Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_NONEXISTENT + erroredAccount);
-                  continue; // skip to the next entry
-               }
+            // if everything's fine, use the entry
+            defaultAccounts.put(playerID, account);
+         } catch (Exception e) {
+            String erroredAccount = String.join(",", data);
+            Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_DEFAULT + erroredAccount);
 
-               // check whether the player ID is valid
-               playerID = UUID.fromString(data[1]);
-               if (playerID == null) {
-                  String erroredAccount = String.join(",", data);
-                  Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_UUID_DEFAULT + erroredAccount);
-                  continue; // skip to the next entry
-               }
+            // store the line entry for later
+            accountsErrored.append(erroredAccount);
+         }
 
-               // check whether the player still has permission to use the account
-               if (!account.hasAccess(playerID))
-                  continue; // ignore the invalid entry
+         return; // skip to the next entry
+      }
 
-               // if everything's fine, use the entry
-               defaultAccounts.put(playerID, account);
-            } catch (Exception e) {
-               String erroredAccount = String.join(",", data);
-               Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_DEFAULT + erroredAccount);
+      // add new account to the market
+      try {
+         // format: accountID,money,accountOwner,accountOwner,...,accountOwner
 
-               // store the line entry for later
-               accountsErrored.append(erroredAccount);
+         // try to parse account funds
+         // when using fixed-point money, parse funds exactly;
+         // funds saved as floats are converted
+         try {
+            if (fixedPoint) {
+               moneyUnits = Money.parse(data[1]);
+               money      = 0.0f;
+            } else {
+               moneyUnits = 0L;
+               money      = Float.parseFloat(data[1]);
             }
+         } catch (Exception ef) {
+            Config.userInterface.printErrorToConsole(StringTable.ERROR_ACCOUNT_PARSING + data[0]);
 
-            continue; // skip to the next entry
-         }
+            // store the line entry for later
+            accountsErrored.append(String.join(",", data));
 
-         // add new account to the market
-         try {
-            // format: accountID,money,accountOwner,accountOwner,...,accountOwner
+            return; // skip the invalid entry
+         }
 
-            // try to parse account funds
+         // create the account
+         // if the account is inaccessible, don't try to load a permitted player
+         if (data.length == 2) {
+            account = new Account(data[0], null, money);
+            account.moneyUnits = moneyUnits;
+         } else {
+            // try to parse account owner UUID
             try {
-               money = Float.parseFloat(data[1]);
-            } catch (Exception ef) {
-               Config.userInterface.printErrorToConsole(StringTable.ERROR_ACCOUNT_PARSING + data[0]);
+               account = new Account(data[0], UUID.fromString(data[2]), money);
+               account.moneyUnits = moneyUnits;
+            } catch (Exception eo) {
+               Config.userInterface.printErrorToConsole("warning - could not parse account owner UUID " + data[2] + " for account " + data[0]);
 
                // store the line entry for later
                accountsErrored.append(String.join(",", data));
 
-               continue; // skip the invalid entry and try to load the rest of the entries
+               return; // skip the invalid entry
             }
 
-            // create the account
-            // if the account is inaccessible, don't try to load a permitted player
-            if (data.length == 2) {
-               account = new Account(data[0], null, money);
-            } else {
-               // try to parse account owner UUID
-               try {
-                  account = new Account(data[0], UUID.fromString(data[2]), money);
-               } catch (Exception eo) {
-                  Config.userInterface.printErrorToConsole("warning - could not parse account owner UUID " + data[2] + " for account " + data[0]);
-
-                  // store the line entry for later
-                  accountsErrored.append(String.join(",", data));
-
-                  continue; // skip the invalid entry and try to load the rest of the entries
-               }
-
-               // if several players should have access to the account, give them access
-               if (data.length > 3) {
-                  for (int i = 3; i < data.length; i++) {
-                     // try to parse account user UUIDs individually
-                     try {
-                        account.accountUsers.add(UUID.fromString(data[i]));
-                     } catch (Exception eu) {
-                        Config.userInterface.printErrorToConsole("warning - could not parse account user UUID " + data[i] + " for account " + data[0]);
-                     }
+            // if several players should have access to the account, give them access
+            if (data.length > 3) {
+               for (int i = 3; i < data.length; i++) {
+                  // try to parse account user UUIDs individually
+                  try {
+                     account.accountUsers.add(UUID.fromString(data[i]));
+                  } catch (Exception eu) {
+                     Config.userInterface.printErrorToConsole("warning - could not parse account user UUID " + data[i] + " for account " + data[0]);
                   }
                }
             }
-         } catch (Exception e) {
-            Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_LOAD_ACCOUNTS);
-            e.printStackTrace();
          }
+      } catch (Exception e) {
+         Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_LOAD_ACCOUNTS);
+         e.printStackTrace();
       }
+   }
 
-      // close the file
-      fileReader.close();
+   /**
+    * Loads accounts from files the accounts file was split into.
+    * Shards only hold account entries, so they are loaded
+    * before any entries referring to their accounts.
+    * <p>
+    * Complexity: O(n), where n is the number of accounts within the shards
+    * @param numShards how many shards the accounts file refers to
+    */
+   private static void loadAccountShards(String numShards) {
+      final int NUM_SHARDS;
+      try {
+         NUM_SHARDS = Integer.parseInt(numShards);
+      } catch (NumberFormatException e) {
+         Config.userInterface.printErrorToConsole(StringTable.ERROR_ACCOUNT_PARSING + StringTable.FILE_HEADER_ACCOUNT_SHARDS + numShards);
+         shardsSaved = -1;
+         return;
+      }
+      shardsSaved = NUM_SHARDS;
 
-      // mark default account entries for saving
-      // to be regenerated using any new data
-      regenerateDefaultAccountEntries = true;
+      File    fileShard;
+      Scanner fileReader;
+      for (int shard = 0; shard < NUM_SHARDS; shard++) {
+         fileShard = getShardFile(shard);
+         try {
+            fileReader = new Scanner(CompressedFiles.openInput(fileShard));
+         } catch (IOException e) {
+            Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_MISSED + fileShard.getPath());
 
-      // allow other threads to adjust accounts' properties
-      releaseMutex();
+            // rewrite every shard when next saving to replace the missing one
+            shardsSaved = -1;
+            continue;
+         }
+
+         while (fileReader.hasNextLine())
+            loadAccountEntry(fileReader.nextLine());
+         fileReader.close();
+      }
    }
 
    /**
     * Writes information for regenerating
     * current accounts usable in the marketplace.
     * <p>
-    * Complexity: O(n log n)
+    * When accounts are split among shards, only shards holding accounts
+    * changed or deleted since last saving are rewritten and the accounts file
+    * is only rewritten when account creation counts or default accounts change.
+    * <p>
+    * Complexity: O(n log n), where n is the number of accounts changed since last saving
     */
    public static void saveAccounts() {
+      final int     NUM_SHARDS     = Math.max(Config.accountShards, 0);
+      final boolean REWRITE_SHARDS = NUM_SHARDS != shardsSaved; // whether every shard should be rewritten
+
       // if there is nothing to save, do nothing
-      if (accountsChangedSinceLastSave.isEmpty() && !regenerateDefaultAccountEntries)
+      if (accountsChangedSinceLastSave.isEmpty() && accountsDeletedSinceLastSave.isEmpty() &&
+          !regenerateDefaultAccountEntries && !accountCreationRecordsChanged && !REWRITE_SHARDS)
          return;
 
+      final long CAPTURE_START = System.nanoTime();
+
       String  accountID;  // ID for the account currently being written
       Account account;    // the account currently being written
       UUID    playerID;   // ID for the player whose account creation count is currently being written
       StringBuilder json; // for regenerating account written states
 
-      // loop through accounts and regenerate written states as needed
-      for (Map.Entry<String, Account> entry : accounts.entrySet()) {
-         // prevents a null pointer exception if an account was just deleted
-         if (entry == null)
+      // find which shards should be rewritten
+      final boolean[] SHARDS_CHANGED = new boolean[NUM_SHARDS];
+      if (REWRITE_SHARDS)
+         Arrays.fill(SHARDS_CHANGED, true);
+      else if (NUM_SHARDS > 0) {
+         for (String accountDeleted : accountsDeletedSinceLastSave)
+            SHARDS_CHANGED[getShard(accountDeleted, NUM_SHARDS)] = true;
+      }
+      accountsDeletedSinceLastSave.clear();
+
+      // capture changed accounts' funds and permitted players
+      final ArrayList<SavedAccount> ACCOUNTS_CHANGED = new ArrayList<SavedAccount>(accountsChangedSinceLastSave.size());
+      for (Account accountChanged : accountsChangedSinceLastSave) {
+         // prevents a null pointer exception if an account was just deleted or replaced
+         if (accountChanged == null || accountChanged.accountID == null ||
+             accounts.get(accountChanged.accountID) != accountChanged)
+            continue;
+
+         json = accountEntries.get(accountChanged.accountID);
+         if (json == null)
             continue;
 
-         accountID = entry.getKey();
-         account   = entry.getValue();
+         ACCOUNTS_CHANGED.add(new SavedAccount(accountChanged.accountID, json, accountChanged));
+         if (NUM_SHARDS > 0)
+            SHARDS_CHANGED[getShard(accountChanged.accountID, NUM_SHARDS)] = true;
+      }
+      accountsChangedSinceLastSave.clear();
 
-         // regenerate written states as needed
-         if (accountsChangedSinceLastSave.contains(account)) {
-            // format: accountID,money,accountOwner,accountOwner,...,accountOwner
-            json = accountEntries.get(accountID);
-            json.setLength(0); // clear the entry without losing the reference nor reallocating memory
+      // binary snapshots hold every account rather than only changed ones
+      final ArrayList<SavedAccount> ACCOUNTS_ALL = Config.binarySnapshots ? new ArrayList<SavedAccount>(accounts.size()) : null;
+      if (ACCOUNTS_ALL != null) {
+         for (Map.Entry<String, Account> entry : accounts.entrySet()) {
             // prevents a null pointer exception if an account was just deleted
-            if (account == null)
+            if (entry == null)
                continue;
-            json.append(accountID).append(',').append(account.getWrittenState()); // save updated entry
+
+            accountID = entry.getKey();
+            account   = entry.getValue();
+            json      = accountEntries.get(accountID);
+            if (account == null || json == null)
+               continue;
+
+            ACCOUNTS_ALL.add(new SavedAccount(accountID, json, account));
          }
       }
-      accountsChangedSinceLastSave.clear();
+
+      // the accounts file holds every account unless they are split among shards
+      final boolean REWRITE_FILE = NUM_SHARDS == 0 || REWRITE_SHARDS ||
+                                   regenerateDefaultAccountEntries || accountCreationRecordsChanged;
+      accountCreationRecordsChanged = false;
 
       // if necessary, regenerate entries mapping players to default accounts
       if (regenerateDefaultAccountEntries) {
@@ -1062,10 +1431,9 @@ public final class Account {
             playerID = entry.getKey();
             account  = entry.getValue();
 
-            // grab account ID using Stream
-            final Account accountRef = account;
-            accountID = accounts.keySet().stream().filter(key -> accountRef.equals(accounts.get(key))).findFirst().get();
-            if (accountID == null) // if the account ID is not found, skip it
+            // if the account is no longer within the marketplace, skip it
+            accountID = account.accountID;
+            if (accountID == null || accounts.get(accountID) != account)
                continue;
 
             // format: *,playerID,accountID
@@ -1074,60 +1442,417 @@ public final class Account {
       }
       regenerateDefaultAccountEntries = false;
 
-      // ensure the save file and directory exist
-      try {
-         File fileAccounts = new File (Config.filenameAccounts);
-         if (!fileAccounts.exists()) {
-            fileAccounts.getParentFile().mkdirs();
-            fileAccounts.createNewFile();
+      // capture what should be written
+      final File              FILE_ACCOUNTS    = new File(Config.filenameAccounts);
+      final StringBuilder[]   ENTRIES          = NUM_SHARDS == 0 ? accountEntries.values().toArray(new StringBuilder[0]) : null;
+      final StringBuilder[][] SHARDS           = new StringBuilder[NUM_SHARDS][];
+      final String            CREATION_RECORDS = accountCreationRecords.toString();
+      final String            DEFAULT_ACCOUNTS = defaultAccountEntries.toString();
+      final String            ERRORED          = accountsErrored.toString();
+      if (NUM_SHARDS > 0) {
+         // group entries by shard once rather than whenever saving
+         if (shardEntries == null || shardEntries.size() != NUM_SHARDS)
+            groupEntriesByShard(NUM_SHARDS);
+
+         for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            if (SHARDS_CHANGED[shard])
+               SHARDS[shard] = shardEntries.get(shard).values().toArray(new StringBuilder[0]);
          }
-      } catch (IOException e) {
-         Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_CREATE_SAVE_ACCOUNTS);
-         e.printStackTrace();
-         return;
-      }
+      } else
+         shardEntries = null;
+      shardsSaved = NUM_SHARDS;
 
-      BufferedWriter fileWriter = null; // use a handle to ensure the file gets closed
-      try {
-         // open the accounts file, create it if it doesn't exist
-         fileWriter = new BufferedWriter(new FileWriter(Config.filenameAccounts, false));
+      saveCaptureTimeLast = System.nanoTime() - CAPTURE_START;
 
-         // warn users file may be overwritten
-         fileWriter.write(StringTable.WARN_FILE_OVERWRITE);
+      SnapshotWriter.submit(() -> {
+         // regenerate written states for changed accounts
+         // only the saving thread changes entries, so clearing them is safe
+         for (SavedAccount savedAccount : ACCOUNTS_CHANGED) {
+            // format: accountID,money,accountOwner,accountOwner,...,accountOwner
+            savedAccount.entry.setLength(0); // clear the entry without losing the reference nor reallocating memory
+            savedAccount.entry.append(savedAccount.accountID).append(',');
+            appendWrittenState(savedAccount.entry, savedAccount.isFixedPoint, savedAccount.money, savedAccount.moneyUnits, savedAccount.accountUsers);
+         }
 
-         // loop through accounts and write to file
-         for (StringBuilder writtenState : accountEntries.values()) {
-            // prevents a null pointer exception if an account was just deleted
-            if (writtenState == null)
-               continue;
+         try {
+            // write shards before the accounts file
+            // so default accounts never refer to accounts which weren't written
+            for (int shard = 0; shard < NUM_SHARDS; shard++) {
+               if (SHARDS[shard] == null)
+                  continue;
+
+               final StringBuilder[] SHARD_ENTRIES = SHARDS[shard];
+               SnapshotWriter.write(getShardFile(shard), fileWriter -> {
+                  fileWriter.write(StringTable.WARN_FILE_OVERWRITE);
+                  for (StringBuilder writtenState : SHARD_ENTRIES)
+                     fileWriter.write(writtenState.toString());
+               });
+            }
+
+            if (REWRITE_FILE) {
+               SnapshotWriter.write(FILE_ACCOUNTS, fileWriter -> {
+                  // warn users file may be overwritten
+                  fileWriter.write(StringTable.WARN_FILE_OVERWRITE);
+
+                  // loop through accounts and write to file
+                  // or note which shards hold them
+                  if (ENTRIES == null)
+                     fileWriter.write(StringTable.FILE_HEADER_ACCOUNT_SHARDS + NUM_SHARDS + '\n');
+                  else {
+                     for (StringBuilder writtenState : ENTRIES) {
+                        // prevents a null pointer exception if an account was just deleted
+                        if (writtenState == null)
+                           continue;
+
+                        fileWriter.write(writtenState.toString());
+                     }
+                  }
 
-            fileWriter.write(writtenState.toString());
+                  // write account creation counts to file
+                  // format: #,playerID,count
+                  if (!CREATION_RECORDS.isEmpty())
+                     fileWriter.write('\n' + CREATION_RECORDS);
+
+                  // write entries mapping players to default accounts
+                  // format: *,playerID,accountID
+                  if (!DEFAULT_ACCOUNTS.isEmpty())
+                     fileWriter.write('\n' + DEFAULT_ACCOUNTS);
+
+                  // write accounts which failed to load,
+                  // they might be nonexistent until fixed by a server administrator
+                  if (!ERRORED.isEmpty())
+                     fileWriter.write(StringTable.WARN_FILE_WARES_INVALID + ERRORED + '\n');
+               });
+            }
+         } catch (IOException e) {
+            Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_SAVE_ACCOUNTS);
+            e.printStackTrace();
+
+            // a shard may be outdated, so rewrite every shard next time
+            shardsSaved = -1;
+            return;
          }
 
-         // write account creation counts to file
-         // format: #,playerID,count
-         if (accountCreationRecords.length() > 0)
-            fileWriter.write('\n' + accountCreationRecords.toString());
+         // remove shards the accounts file no longer refers to
+         if (REWRITE_SHARDS) {
+            for (File fileShard : listShardFiles()) {
+               try {
+                  if (Integer.parseInt(fileShard.getName().substring(FILE_ACCOUNTS.getName().length() + SHARD_SUFFIX.length())) >= NUM_SHARDS)
+                     fileShard.delete();
+               } catch (NumberFormatException e) { } // not a shard
+            }
+         }
 
-         // write entries mapping players to default accounts
-         // format: *,playerID,accountID
-         if (defaultAccountEntries.length() > 0)
-            fileWriter.write('\n' + defaultAccountEntries.toString());
+         // write the binary snapshot after the text so the snapshot is newer
+         // if it fails, the text is loaded instead
+         if (ACCOUNTS_ALL != null) {
+            try {
+               writeAccountsSnapshot(FILE_ACCOUNTS, ACCOUNTS_ALL, CREATION_RECORDS, DEFAULT_ACCOUNTS, ERRORED);
+            } catch (IOException e) {
+               Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_SNAPSHOT_WRITE + FILE_ACCOUNTS.getPath() + BinarySnapshot.FILE_SUFFIX);
+               e.printStackTrace();
+
+               // shards might be newer than the accounts file,
+               // so an outdated snapshot could seem current
+               BinarySnapshot.delete(FILE_ACCOUNTS);
+            }
+         }
+      });
+   }
 
-         // write accounts which failed to load,
-         // they might be nonexistent until fixed by a server administrator
-         if (accountsErrored.length() > 0)
-            fileWriter.write(StringTable.WARN_FILE_WARES_INVALID + accountsErrored + '\n');
-      } catch (IOException e) {
-         Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_SAVE_ACCOUNTS);
-         e.printStackTrace();
+   /**
+    * Checks whether any shard was written after the accounts file's binary snapshot,
+    * such as if saving stopped between writing shards and writing the snapshot.
+    * Since the accounts file isn't always rewritten when accounts are split among shards,
+    * comparing the snapshot to the accounts file alone cannot catch this.
+    * <p>
+    * Complexity: O(n), where n is the number of files beside the accounts file
+    * @param fileAccounts save file the snapshot belongs to
+    * @return true if the snapshot should not be loaded
+    */
+   private static boolean isSnapshotOlderThanShards(File fileAccounts) {
+      final long SNAPSHOT_MODIFIED = new File(fileAccounts.getPath() + BinarySnapshot.FILE_SUFFIX).lastModified();
+      for (File fileShard : listShardFiles()) {
+         if (fileShard.lastModified() > SNAPSHOT_MODIFIED)
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * Returns which shard holds an account.
+    * Uses String.hashCode(), which every Java implementation calculates the same way,
+    * so accounts remain within the same shards across restarts.
+    * <p>
+    * Complexity: O(1)
+    * @param accountID internal name of account
+    * @param numShards how many shards accounts are split among
+    * @return index of the account's shard
+    */
+   private static int getShard(String accountID, int numShards) {
+      return Math.floorMod(accountID.hashCode(), numShards);
+   }
+
+   /**
+    * Returns the file holding one of the shards accounts are split among.
+    * <p>
+    * Complexity: O(1)
+    * @param shard index of the shard
+    * @return the shard's file
+    */
+   static File getShardFile(int shard) {
+      return new File(Config.filenameAccounts + SHARD_SUFFIX + shard);
+   }
+
+   /**
+    * Returns every shard file beside the accounts file,
+    * including shards the accounts file no longer refers to.
+    * <p>
+    * Complexity: O(n), where n is the number of files beside the accounts file
+    * @return shards' files
+    */
+   private static File[] listShardFiles() {
+      final File   FILE_ACCOUNTS = new File(Config.filenameAccounts).getAbsoluteFile();
+      final String PREFIX        = FILE_ACCOUNTS.getName() + SHARD_SUFFIX;
+      final File[] SHARDS        = FILE_ACCOUNTS.getParentFile().listFiles((directory, name) -> name.startsWith(PREFIX));
+      if (SHARDS == null)
+         return new File[0];
+      return SHARDS;
+   }
+
+   /**
+    * Groups account entries by which shard holds them.
+    * Afterwards, entries are grouped as accounts are created and deleted.
+    * <p>
+    * Complexity: O(n log n), where n is the number of accounts
+    * @param numShards how many shards accounts are split among
+    */
+   private static void groupEntriesByShard(int numShards) {
+      shardEntries = new ArrayList<TreeMap<String, StringBuilder>>(numShards);
+      for (int shard = 0; shard < numShards; shard++)
+         shardEntries.add(new TreeMap<String, StringBuilder>());
+
+      for (Map.Entry<String, StringBuilder> entry : accountEntries.entrySet())
+         shardEntries.get(getShard(entry.getKey(), numShards)).put(entry.getKey(), entry.getValue());
+   }
+
+   /**
+    * Writes accounts as a binary snapshot beside their save file.
+    * Should be called on the saving thread.
+    * <p>
+    * Sections: account records, permitted players, account creation counts,
+    * default accounts, then the errored entries' string.<br>
+    * Account format: int account ID, byte flags, byte and short reserved,
+    * float money, long money in ten-thousandths, int first permitted player, int number of permitted players.<br>
+    * Player format: long and long UUID, then an int count or account ID.
+    * <p>
+    * Complexity: O(n), where n is the number of accounts and players
+    * @param fileAccounts    save file the snapshot belongs to
+    * @param accountsSaved   every account's captured properties
+    * @param creationRecords account creation count entries
+    * @param defaultEntries  default account entries
+    * @param errored         entries which could not be loaded
+    * @throws IOException if the snapshot could not be written
+    */
+   private static void writeAccountsSnapshot(File fileAccounts, ArrayList<SavedAccount> accountsSaved,
+                                             String creationRecords, String defaultEntries, String errored) throws IOException {
+      final BinarySnapshot.Builder SNAPSHOT = new BinarySnapshot.Builder();
+      final DataOutputStream       RECORDS  = SNAPSHOT.section();
+      final DataOutputStream       USERS    = SNAPSHOT.section();
+      final DataOutputStream       CREATED  = SNAPSHOT.section();
+      final DataOutputStream       DEFAULTS = SNAPSHOT.section();
+      final DataOutputStream       OTHERS   = SNAPSHOT.section();
+
+      int userCount;
+      for (SavedAccount savedAccount : accountsSaved) {
+         userCount = savedAccount.accountUsers == null ? 0 : savedAccount.accountUsers.length;
+
+         RECORDS.writeInt(SNAPSHOT.string(savedAccount.accountID));
+         RECORDS.writeByte(savedAccount.isFixedPoint ? RECORD_FIXED_POINT : 0);
+         RECORDS.writeByte(0);
+         RECORDS.writeShort(0);
+         RECORDS.writeFloat(savedAccount.money);
+         RECORDS.writeLong(savedAccount.moneyUnits);
+         RECORDS.writeInt(USERS.size() / RECORD_USER_BYTES);
+         RECORDS.writeInt(userCount);
+
+         for (int i = 0; i < userCount; i++) {
+            USERS.writeLong(savedAccount.accountUsers[i].getMostSignificantBits());
+            USERS.writeLong(savedAccount.accountUsers[i].getLeastSignificantBits());
+         }
       }
 
-      // ensure the file is closed
+      // format: #,playerID,count
+      String[] data;
+      UUID     playerID;
+      for (String entry : creationRecords.split("\n")) {
+         data = entry.split(",", 0);
+         if (data.length < 3 || !data[0].equals("#"))
+            continue;
+         try {
+            playerID = UUID.fromString(data[1]);
+            CREATED.writeLong(playerID.getMostSignificantBits());
+            CREATED.writeLong(playerID.getLeastSignificantBits());
+            CREATED.writeInt(Integer.parseInt(data[2]));
+         } catch (IllegalArgumentException e) { } // entries were validated when loaded or created
+      }
+
+      // format: *,playerID,accountID
+      for (String entry : defaultEntries.split("\n")) {
+         data = entry.split(",", 0);
+         if (data.length < 3 || !data[0].equals("*"))
+            continue;
+         try {
+            playerID = UUID.fromString(data[1]);
+            DEFAULTS.writeLong(playerID.getMostSignificantBits());
+            DEFAULTS.writeLong(playerID.getLeastSignificantBits());
+            DEFAULTS.writeInt(SNAPSHOT.string(data[2]));
+         } catch (IllegalArgumentException e) { } // entries were validated when loaded or created
+      }
+
+      OTHERS.writeInt(SNAPSHOT.string(errored.isEmpty() ? null : errored));
+
+      SNAPSHOT.write(fileAccounts, BinarySnapshot.KIND_ACCOUNTS, 0L);
+   }
+
+   /**
+    * Creates accounts from the accounts file's binary snapshot if it is at least as new as the file.
+    * The snapshot is read completely before any accounts are created,
+    * so an invalid snapshot may be ignored without disrupting loading.
+    * <p>
+    * Complexity: O(n), where n is the number of accounts and players
+    * @param fileAccounts save file the snapshot belongs to
+    * @return true if accounts were loaded from the snapshot
+    */
+   private static boolean loadAccountsSnapshot(File fileAccounts) {
+      final BinarySnapshot SNAPSHOT = BinarySnapshot.open(fileAccounts, BinarySnapshot.KIND_ACCOUNTS);
+      if (SNAPSHOT == null)
+         return false;
+
+      final String[] ACCOUNT_IDS;
+      final byte[]   FLAGS;
+      final float[]  MONEY;
+      final long[]   MONEY_UNITS;
+      final UUID[][] USERS;
+      final UUID[]   CREATORS;
+      final int[]    CREATION_COUNTS;
+      final UUID[]   DEFAULT_PLAYERS;
+      final String[] DEFAULT_ACCOUNT_IDS;
+      final String   ERRORED;
       try {
-         if (fileWriter != null)
-            fileWriter.close();
-      } catch (Exception e) { }
+         final ByteBuffer RECORDS   = SNAPSHOT.getSection(0);
+         final ByteBuffer USERS_ALL = SNAPSHOT.getSection(1);
+         final ByteBuffer CREATED   = SNAPSHOT.getSection(2);
+         final ByteBuffer DEFAULTS  = SNAPSHOT.getSection(3);
+         if (RECORDS.remaining() % RECORD_BYTES != 0 || CREATED.remaining() % RECORD_PLAYER_BYTES != 0 || DEFAULTS.remaining() % RECORD_PLAYER_BYTES != 0)
+            throw new IllegalArgumentException("partial record");
+
+         // read accounts
+         final int ACCOUNTS = RECORDS.remaining() / RECORD_BYTES;
+         ACCOUNT_IDS = new String[ACCOUNTS];
+         FLAGS       = new byte[ACCOUNTS];
+         MONEY       = new float[ACCOUNTS];
+         MONEY_UNITS = new long[ACCOUNTS];
+         USERS       = new UUID[ACCOUNTS][];
+         int position;
+         for (int i = 0; i < ACCOUNTS; i++) {
+            ACCOUNT_IDS[i] = SNAPSHOT.getString(RECORDS.getInt());
+            FLAGS[i]       = RECORDS.get();
+            RECORDS.get();      // reserved
+            RECORDS.getShort(); // reserved
+            MONEY[i]       = RECORDS.getFloat();
+            MONEY_UNITS[i] = RECORDS.getLong();
+            position       = RECORDS.getInt() * RECORD_USER_BYTES;
+            USERS[i]       = new UUID[RECORDS.getInt()];
+            for (int j = 0; j < USERS[i].length; j++, position += RECORD_USER_BYTES)
+               USERS[i][j] = new UUID(USERS_ALL.getLong(position), USERS_ALL.getLong(position + 8));
+         }
+
+         // read account creation counts
+         CREATORS        = new UUID[CREATED.remaining() / RECORD_PLAYER_BYTES];
+         CREATION_COUNTS = new int[CREATORS.length];
+         for (int i = 0; i < CREATORS.length; i++) {
+            CREATORS[i]        = new UUID(CREATED.getLong(), CREATED.getLong());
+            CREATION_COUNTS[i] = CREATED.getInt();
+         }
+
+         // read default accounts
+         DEFAULT_PLAYERS     = new UUID[DEFAULTS.remaining() / RECORD_PLAYER_BYTES];
+         DEFAULT_ACCOUNT_IDS = new String[DEFAULT_PLAYERS.length];
+         for (int i = 0; i < DEFAULT_PLAYERS.length; i++) {
+            DEFAULT_PLAYERS[i]     = new UUID(DEFAULTS.getLong(), DEFAULTS.getLong());
+            DEFAULT_ACCOUNT_IDS[i] = SNAPSHOT.getString(DEFAULTS.getInt());
+         }
+
+         ERRORED = SNAPSHOT.getString(SNAPSHOT.getSection(4).getInt());
+      } catch (RuntimeException e) { // includes reading past a section's end
+         Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_SNAPSHOT_INVALID + fileAccounts.getPath() + BinarySnapshot.FILE_SUFFIX);
+         return false;
+      }
+
+      // create accounts
+      Account account;
+      boolean savedAsFixedPoint;
+      for (int i = 0; i < ACCOUNT_IDS.length; i++) {
+         account = new Account(ACCOUNT_IDS[i], null, 0.0f);
+
+         // restore funds, converting them if money's format changed since saving
+         savedAsFixedPoint = (FLAGS[i] & RECORD_FIXED_POINT) != 0;
+         if (fixedPoint)
+            account.moneyUnits = savedAsFixedPoint ? MONEY_UNITS[i] : Money.fromFloat(MONEY[i]);
+         else
+            account.money      = savedAsFixedPoint ? Money.toFloat(MONEY_UNITS[i]) : MONEY[i];
+
+         // if the account is inaccessible, don't load permitted players
+         if (USERS[i].length != 0)
+            account.accountUsers = new ArrayDeque<UUID>(Arrays.asList(USERS[i]));
+      }
+
+      // format: #,playerID,count
+      for (int i = 0; i < CREATORS.length; i++) {
+         accountsCreatedPerUser.put(CREATORS[i], CREATION_COUNTS[i]);
+         accountCreationRecords.append("#,").append(CREATORS[i].toString()).append(',').append(CREATION_COUNTS[i]).append('\n');
+      }
+
+      // format: *,playerID,accountID
+      for (int i = 0; i < DEFAULT_PLAYERS.length; i++) {
+         account = accounts.get(DEFAULT_ACCOUNT_IDS[i]);
+         if (account == null) {
+            Config.userInterface.printErrorToConsole(StringTable.WARN_ACCOUNT_NONEXISTENT + "*," + DEFAULT_PLAYERS[i] + ',' + DEFAULT_ACCOUNT_IDS[i]);
+            continue;
+         }
+
+         // check whether the player still has permission to use the account
+         if (account.hasAccess(DEFAULT_PLAYERS[i]))
+            defaultAccounts.put(DEFAULT_PLAYERS[i], account);
+      }
+
+      if (ERRORED != null)
+         accountsErrored.append(ERRORED);
+
+      return true;
+   }
+
+   /**
+    * Returns how many accounts changed or were deleted since accounts were last saved.
+    * Changes to account creation counts and default accounts count as one more.
+    * <p>
+    * Complexity: O(1)
+    * @return number of accounts waiting to be saved
+    */
+   public static int getNumAccountsChanged() {
+      return accountsChangedSinceLastSave.size() + accountsDeletedSinceLastSave.size() +
+             (accountCreationRecordsChanged || regenerateDefaultAccountEntries ? 1 : 0);
+   }
+
+   /**
+    * Returns how long the most recent save spent capturing accounts.
+    * <p>
+    * Complexity: O(1)
+    * @return nanoseconds spent capturing accounts for the last save
+    */
+   public static long getSaveCaptureTime() {
+      return saveCaptureTimeLast;
    }
 
    /**
@@ -1226,6 +1951,56 @@ public final class Account {
       doNotAdjustAccounts = false;
    }
 
+   /**
+    * Switches whether accounts hold funds as fixed-point or floating-point numbers,
+    * converting funds of every account usable within the marketplace.
+    * Converted accounts are marked for saving so save files are rewritten
+    * using the new representation; save files written using either
+    * representation may be loaded using the other.
+    * Only balances change representation; prices and fees are calculated as floats
+    * and converted when paid into or out of an account.
+    * <p>
+    * Complexity: O(n), where n is the number of accounts usable within the marketplace
+    * @param useFixedPoint <code>true</code> to hold funds as fixed-point numbers
+    *                      <code>false</code> to hold funds as floats
+    */
+   public static void setFixedPointMoney(boolean useFixedPoint) {
+      if (fixedPoint == useFixedPoint)
+         return;
+
+      // prevent other threads from adjusting accounts while converting them
+      acquireMutex();
+
+      for (Account account : accounts.values()) {
+         // prevents a null pointer exception if an account was just deleted
+         if (account == null)
+            continue;
+
+         if (useFixedPoint) {
+            account.moneyUnits = Money.fromFloat(account.money);
+            account.money      = 0.0f;
+         } else {
+            account.money      = Money.toFloat(account.moneyUnits);
+            account.moneyUnits = 0L;
+         }
+         accountsChangedSinceLastSave.add(account);
+      }
+      fixedPoint = useFixedPoint;
+
+      // allow other threads to adjust accounts' properties
+      releaseMutex();
+   }
+
+   /**
+    * Returns whether accounts hold funds as fixed-point numbers.
+    * <p>
+    * Complexity: O(1)
+    * @return <code>true</code> if funds are held in ten-thousandths
+    */
+   public static boolean isFixedPointMoney() {
+      return fixedPoint;
+   }
+
    /**
     * Spawns and handles threads for features.
     * <p>
@@ -1242,6 +2017,7 @@ public final class Account {
     */
    public static void endPeriodicEvents() {
       AccountInterestApplier.end(); // if necessary, stop applying account interest
+      SnapshotWriter.awaitWrites(); // finish writing any save files
    }
 
    /**
@@ -1269,7 +2045,7 @@ public final class Account {
          feeCollectionAccount = Account.makeAccount(Config.transactionFeesAccount, null);
 
       // check whether the fee is affordable
-      if (feeCollectionAccount.getMoney() + fee < 0.0f)
+      if (fixedPoint ? Money.add(feeCollectionAccount.moneyUnits, Money.fromFloat(fee)) < 0L : feeCollectionAccount.money + fee < 0.0f)
          return fee;
       else
          return 0.0f;
@@ -1297,7 +2073,7 @@ public final class Account {
       // if the fee is negative,
       // only paid it if it is affordable
       if (fee < 0.0f)
-         if (feeCollectionAccount.getMoney() + fee < 0.0f)
+         if (fixedPoint ? Money.add(feeCollectionAccount.moneyUnits, Money.fromFloat(fee)) < 0L : feeCollectionAccount.money + fee < 0.0f)
             return true;
 
       // deposit the transaction fee
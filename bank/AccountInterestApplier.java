@@ -1,8 +1,5 @@
 package commandeconomy;
 
-import java.util.Timer;               // for handling features relying on timers
-import java.util.TimerTask;           // for disabling features relying on timers mid-execution
-
 /**
  * Periodically applies compound interest to account funds.
  * <p>
@@ -14,75 +11,45 @@ import java.util.TimerTask;           // for disabling features relying on timer
  * @version %I%, %G%
  * @since   2021-12-21
  */
-public class AccountInterestApplier extends TimerTask  {
+public class AccountInterestApplier {
    // STATIC ATTRIBUTES
+   /** name identifying the scheduled task */
+   static final String TASK_NAME = "account interest";
+
    // thread management
    /** for growing accounts with compound interest */
-   private static Timer timerAccountInterestApplier = null;
-   /** for stopping thread gracefully */
-   private static AccountInterestApplier timertaskAccountInterestApplier = null;
-   /** used to monitor a timer interval for configuration changes */
-   private static int oldAccountPeriodicInterestFrequency = 0;
-
-   // INSTANCE ATTRIBUTES
-   /** whether the task should continue running */
-   public transient volatile boolean stop = false;
+   private static MarketScheduler.Task taskAccountInterestApplier = null;
 
    // STATIC METHODS
    /**
-    * Spawns and handles a thread for handling automatically rebalancing wares' quantities for sale within the marketplace.
+    * Schedules, reschedules, or stops applying interest to accounts.
     * <p>
     * Complexity: O(1)
     */
    public static void startOrReconfig() {
       // if necessary, start, reload, or stop applying account interest
-      if (Config.accountPeriodicInterestEnabled  && Config.accountPeriodicInterestFrequency > 0) {
-         // start applying account interest
-         if (timerAccountInterestApplier == null) {
-            // initialize timer objects
-            timerAccountInterestApplier     = new Timer(true);
-            timertaskAccountInterestApplier = new AccountInterestApplier();
-
-            // initialize periodically growing accounts with interest
-            timerAccountInterestApplier.scheduleAtFixedRate(timertaskAccountInterestApplier, 0L, Config.accountPeriodicInterestFrequency);
-         }
-
-         // reload applying account interest
-         else if (oldAccountPeriodicInterestFrequency != Config.accountPeriodicInterestFrequency) {
-            // There's no way to change a task's period.
-            // Therefore, it is necessary to stop the current task
-            // and schedule a new one.
-            timertaskAccountInterestApplier.stop = true;
-            timertaskAccountInterestApplier.cancel();
-
-            // initialize timertask object
-            timertaskAccountInterestApplier = new AccountInterestApplier();
-
-            // initialize periodically growing accounts with interest
-            timerAccountInterestApplier.scheduleAtFixedRate(timertaskAccountInterestApplier, 0L, Config.accountPeriodicInterestFrequency);
-         }
+      if (Config.accountPeriodicInterestEnabled && Config.accountPeriodicInterestFrequency > 0) {
+         // start or reload applying account interest
+         if (taskAccountInterestApplier == null ||
+             taskAccountInterestApplier.getPeriod() != Config.accountPeriodicInterestFrequency)
+            taskAccountInterestApplier = MarketScheduler.schedule(TASK_NAME, AccountInterestApplier::run, 0L, Config.accountPeriodicInterestFrequency, 0.0f);
       }
 
       // stop applying account interest
-      else if (timerAccountInterestApplier != null && (!Config.accountPeriodicInterestEnabled || Config.accountPeriodicInterestFrequency <= 0))
+      else if (taskAccountInterestApplier != null)
          end();
-
-      // record timer interval to monitor for changes
-      oldAccountPeriodicInterestFrequency = Config.accountPeriodicInterestFrequency;
    }
 
    /**
-    * Closes the thread handling applying account interest.
+    * Stops applying interest to accounts.
     * <p>
     * Complexity: O(1)
     */
    public static void end() {
       // if necessary, stop applying account interest
-      if (timerAccountInterestApplier != null) {
-         timertaskAccountInterestApplier.stop = true;
-         timertaskAccountInterestApplier = null;
-         timerAccountInterestApplier.cancel();
-         timerAccountInterestApplier = null;
+      if (taskAccountInterestApplier != null) {
+         taskAccountInterestApplier.cancel();
+         taskAccountInterestApplier = null;
       }
    }
 
@@ -102,14 +69,14 @@ public class AccountInterestApplier extends TimerTask  {
             // apply compound interest
             // if the account's owner is online
             if (Config.userInterface.isPlayerOnline(account.getOwner()))
-               account.setMoney(account.getMoney() * Config.accountPeriodicInterestPercent);
+               account.multiplyMoney(Config.accountPeriodicInterestPercent);
          }
       }
       else {
          // apply compound interest to every account
          for (Account account : Account.getAllAccounts())
             // apply compound interest
-            account.setMoney(account.getMoney() * Config.accountPeriodicInterestPercent);
+            account.multiplyMoney(Config.accountPeriodicInterestPercent);
       }
 
       // allow other threads to adjust wares' properties
@@ -120,10 +87,7 @@ public class AccountInterestApplier extends TimerTask  {
     * Calls on the appropriate function for
     * applying interest to all accounts.
     */
-   public void run() {
-      if (stop)
-         return;
-
+   private static void run() {
       try {
          applyAccountInterest();
       } catch (Exception e) {
@@ -0,0 +1,574 @@
+package commandeconomy;
+
+import java.io.BufferedOutputStream;  // for writing batches of records together
+import java.io.BufferedReader;        // for reading ledger files when rebuilding
+import java.io.File;                  // for handling files
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;           // for handling miscellaneous file errors
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets; // for encoding account and ware IDs
+import java.util.Arrays;              // for reading ledger files in order
+import java.util.Map;                 // for returning rebuilt balances and quantities
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;      // for claiming and counting records without locking
+import java.util.concurrent.atomic.AtomicLongArray; // for publishing records to the writing thread
+import java.util.concurrent.locks.LockSupport;      // for waking and pausing the writing thread
+import java.util.zip.GZIPInputStream; // for reading compressed ledger files
+import java.util.zip.GZIPOutputStream; // for compressing ledger files
+
+/**
+ * Records every change to accounts' funds and wares' quantities
+ * within append-only text files, so trades, transfers, fees, and interest may be audited
+ * and balances may be rebuilt without save files.
+ * <p>
+ * Threads changing funds or quantities place fixed-width records into a ring buffer
+ * without locking or allocating. A dedicated thread periodically writes every record
+ * placed so far, so trading never waits for the disk. If the ring buffer fills
+ * faster than records can be written, new records are dropped and counted.
+ * <p>
+ * Ledger files are numbered and written beside the accounts save file,
+ * starting a new file once the current file grows too large.
+ * Each line holds one record:<br>
+ * milliseconds since the epoch,kind,change,balance afterwards,account or ware ID<br>
+ * Funds are recorded in ten-thousandths of a unit of currency.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class TransactionLedger {
+   // STATIC VARIABLES
+   // file format
+   /** record kind for a change to an account's funds */
+   static final char KIND_FUNDS = 'a';
+   /** record kind for an account being deleted, leaving its funds elsewhere */
+   static final char KIND_ACCOUNT_DELETED = 'd';
+   /** record kind for a change to a ware's quantity for sale */
+   static final char KIND_QUANTITY = 'w';
+   /** ending appended to a number and the accounts save file's name to name a ledger file */
+   private static final String FILE_SUFFIX = ".ledger";
+   /** ending appended to compressed ledger files' names */
+   private static final String FILE_SUFFIX_COMPRESSED = ".gz";
+
+   // ring buffer
+   /** how many records may wait to be written; must be a power of two */
+   private static final int CAPACITY = 1 << 16;
+   /** converts record positions to slots within the ring buffer */
+   private static final int MASK = CAPACITY - 1;
+   /** kind of each waiting record */
+   private static final char[] kinds = new char[CAPACITY];
+   /** account or ware ID of each waiting record */
+   private static final String[] subjects = new String[CAPACITY];
+   /** change to funds or quantity of each waiting record */
+   private static final long[] changes = new long[CAPACITY];
+   /** funds or quantity after each waiting record's change */
+   private static final long[] balances = new long[CAPACITY];
+   /** when each waiting record's change happened */
+   private static final long[] times = new long[CAPACITY];
+   /** for each slot, one more than the position of the record it holds once the record may be written */
+   private static final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+   /** position of the next record to be placed */
+   private static final AtomicLong claimed = new AtomicLong();
+   /** position of the next record to be written */
+   private static volatile long consumed = 0;
+   /** records discarded since the ring buffer was full */
+   private static final AtomicLong recordsDropped = new AtomicLong();
+   /** whether changes should be recorded */
+   private static volatile boolean recording = false;
+
+   // thread management
+   /** writes records to ledger files or null if the ledger is disabled */
+   private static volatile LedgerWriter ledgerWriter = null;
+
+   // STRUCTS
+   /**
+    * Periodically writes records placed into the ring buffer to the current ledger file.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class LedgerWriter extends Thread
+   {
+      /** whether the thread should write any remaining records and stop */
+      transient volatile boolean stop = false;
+      /** position of the record after which the current ledger file should be closed or -1 */
+      transient volatile long closeThrough = -1L;
+      /** current ledger file's contents or null if no file is open */
+      private Writer fileWriter = null;
+      /** current ledger file */
+      private File file = null;
+      /** characters written to the current ledger file */
+      private long fileSize = 0;
+      /** reused to format each record */
+      private final StringBuilder line = new StringBuilder(96);
+
+      /**
+       * Prepares a thread for writing records.
+       */
+      LedgerWriter() {
+         super("CommandEconomy-ledger");
+         setDaemon(true); // don't keep the program running; ending the ledger writes remaining records instead
+      }
+
+      /**
+       * Writes records until told to stop, then writes any remaining records.
+       */
+      public void run() {
+         try {
+            long closeThroughCurrent;
+            while (!stop) {
+               closeThroughCurrent = closeThrough;
+               if (drain() && closeThroughCurrent < 0L)
+                  fileWriter.flush();
+               reportDroppedRecords();
+
+               // if requested, close the current file once every record placed beforehand is written
+               if (closeThroughCurrent >= 0L) {
+                  if (consumed >= closeThroughCurrent) {
+                     close();
+                     closeThrough = -1L;
+                  }
+                  else
+                     LockSupport.parkNanos(1000000L); // a thread is still placing a requested record
+                  continue;
+               }
+
+               LockSupport.parkNanos(Config.transactionLedgerFlushInterval * 1000000L);
+            }
+
+            drain();
+            reportDroppedRecords();
+            close();
+         } catch (IOException e) {
+            // stop recording so records don't pile up
+            recording = false;
+            Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_LEDGER_WRITE + (file == null ? Config.filenameAccounts : file.getPath()));
+            e.printStackTrace();
+
+            try {
+               close();
+            } catch (IOException eClose) { }
+         }
+      }
+
+      /**
+       * Writes every record placed so far,
+       * starting a new ledger file whenever the current one is full.
+       * <p>
+       * Complexity: O(n), where n is the number of records waiting to be written
+       * @return whether any records were written
+       * @throws IOException if a ledger file could not be written to
+       */
+      private boolean drain() throws IOException {
+         final long MAX_FILE_SIZE = Config.transactionLedgerFileSize * 1024L;
+         long    position   = consumed;
+         int     slot       = (int) position & MASK;
+         boolean anyWritten = false;
+
+         while (published.get(slot) == position + 1) {
+            if (fileWriter == null || (MAX_FILE_SIZE > 0 && fileSize >= MAX_FILE_SIZE)) {
+               close();
+               open();
+            }
+
+            // format: time,kind,change,balance,ID
+            line.setLength(0);
+            line.append(times[slot]).append(',')
+                .append(kinds[slot]).append(',')
+                .append(changes[slot]).append(',')
+                .append(balances[slot]).append(',')
+                .append(subjects[slot]).append('\n');
+            fileWriter.append(line);
+            fileSize  += line.length();
+            anyWritten = true;
+
+            // free the slot for another record
+            subjects[slot] = null;
+            consumed = ++position;
+            slot     = (int) position & MASK;
+         }
+
+         return anyWritten;
+      }
+
+      /**
+       * Starts a new ledger file numbered after any existing ones.
+       * <p>
+       * Complexity: O(n), where n is the number of files in the save directory
+       * @throws IOException if the file could not be created
+       */
+      private void open() throws IOException {
+         final File[] FILES = listFiles();
+         final long   NUMBER = FILES.length == 0 ? 1L : parseNumber(FILES[FILES.length - 1]) + 1L;
+
+         file = new File(Config.filenameAccounts + "." + NUMBER + FILE_SUFFIX + (Config.transactionLedgerCompress ? FILE_SUFFIX_COMPRESSED : ""));
+         if (file.getAbsoluteFile().getParentFile() != null)
+            file.getAbsoluteFile().getParentFile().mkdirs();
+
+         OutputStream fileStream = new FileOutputStream(file, false);
+         if (Config.transactionLedgerCompress)
+            fileStream = new GZIPOutputStream(fileStream, 8192, true); // flushing compresses records written so far
+         fileWriter = new OutputStreamWriter(new BufferedOutputStream(fileStream, 65536), StandardCharsets.UTF_8);
+         fileWriter.write(StringTable.FILE_HEADER_LEDGER);
+         fileSize = StringTable.FILE_HEADER_LEDGER.length();
+      }
+
+      /**
+       * Writes buffered records and closes the current ledger file.
+       * <p>
+       * Complexity: O(n), where n is the number of buffered records
+       * @throws IOException if the file could not be written to
+       */
+      private void close() throws IOException {
+         if (fileWriter == null)
+            return;
+
+         try {
+            fileWriter.close();
+         } finally {
+            fileWriter = null;
+         }
+      }
+
+      /**
+       * Warns about records discarded since the ring buffer was full.
+       * <p>
+       * Complexity: O(1)
+       */
+      private void reportDroppedRecords() {
+         final long DROPPED = recordsDropped.getAndSet(0);
+         if (DROPPED != 0)
+            Config.userInterface.printErrorToConsole(StringTable.WARN_LEDGER_RECORDS_DROPPED + DROPPED);
+      }
+   }
+
+   // STATIC METHODS
+   /**
+    * Prevents instantiation.
+    */
+   private TransactionLedger() { }
+
+   /**
+    * Starts or stops recording changes according to configuration settings.
+    * Changes to compression take effect when the next ledger file is started.
+    * <p>
+    * Complexity: O(1)
+    */
+   public static synchronized void startOrReconfig() {
+      if (!Config.transactionLedger) {
+         end();
+         return;
+      }
+
+      if (ledgerWriter == null) {
+         ledgerWriter = new LedgerWriter();
+         ledgerWriter.start();
+      }
+      recording = true;
+   }
+
+   /**
+    * Stops recording changes and waits for records placed so far to be written.
+    * <p>
+    * Complexity: O(n), where n is the number of records waiting to be written
+    */
+   public static synchronized void end() {
+      recording = false;
+      if (ledgerWriter == null)
+         return;
+
+      ledgerWriter.stop = true;
+      LockSupport.unpark(ledgerWriter);
+      try {
+         ledgerWriter.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      ledgerWriter = null;
+   }
+
+   /**
+    * Returns whether changes are currently being recorded.
+    * <p>
+    * Complexity: O(1)
+    * @return true if records are placed into the ledger
+    */
+   public static boolean isEnabled() {
+      return recording;
+   }
+
+   /**
+    * Records a change to an account's funds.
+    * Does not block or allocate memory.
+    * <p>
+    * Complexity: O(1)
+    * @param accountID internal name of the account or null if the account isn't within the marketplace
+    * @param change    change to funds in ten-thousandths
+    * @param balance   funds afterwards in ten-thousandths
+    */
+   static void recordFunds(String accountID, long change, long balance) {
+      record(KIND_FUNDS, accountID, change, balance);
+   }
+
+   /**
+    * Records an account being deleted.
+    * <p>
+    * Complexity: O(1)
+    * @param accountID internal name of the account
+    * @param change    funds removed from the account in ten-thousandths
+    */
+   static void recordAccountDeleted(String accountID, long change) {
+      record(KIND_ACCOUNT_DELETED, accountID, change, 0L);
+   }
+
+   /**
+    * Records a change to a ware's quantity for sale.
+    * Does not block or allocate memory.
+    * <p>
+    * Complexity: O(1)
+    * @param wareID   ware whose quantity changed
+    * @param change   change to the ware's quantity
+    * @param quantity ware's quantity afterwards
+    */
+   static void recordQuantity(String wareID, int change, int quantity) {
+      record(KIND_QUANTITY, wareID, change, quantity);
+   }
+
+   /**
+    * Places a record into the ring buffer for the writing thread.
+    * If the ring buffer is full, drops the record rather than waiting.
+    * <p>
+    * Complexity: O(1)
+    * @param kind    what changed
+    * @param subject account or ware ID
+    * @param change  change to funds or quantity
+    * @param balance funds or quantity afterwards
+    */
+   private static void record(char kind, String subject, long change, long balance) {
+      if (!recording || subject == null || (change == 0L && kind != KIND_ACCOUNT_DELETED))
+         return;
+
+      // claim a slot unless every slot holds a record waiting to be written
+      long position;
+      do {
+         position = claimed.get();
+         if (position - consumed >= CAPACITY) {
+            recordsDropped.incrementAndGet();
+            return;
+         }
+      } while (!claimed.compareAndSet(position, position + 1));
+
+      final int SLOT = (int) position & MASK;
+      kinds[SLOT]    = kind;
+      subjects[SLOT] = subject;
+      changes[SLOT]  = change;
+      balances[SLOT] = balance;
+      times[SLOT]    = System.currentTimeMillis();
+      published.lazySet(SLOT, position + 1); // the writing thread sees the record's fields before seeing it published
+
+      // if records are piling up, write them without waiting for the next interval
+      if (position - consumed == CAPACITY / 2)
+         LockSupport.unpark(ledgerWriter);
+   }
+
+   /**
+    * Reads every ledger file to find each account's latest funds and each ware's latest quantity.
+    * Waits for records placed so far to be written first.
+    * Incomplete lines, such as from a crash while writing, are ignored.
+    * <p>
+    * Records are placed after their changes are made, so records of
+    * simultaneous changes may be written out of order. Therefore, rather than
+    * trusting the last balance written, each subject starts from the balance of its
+    * first record, then adds every later record's change, which is the same in any order.
+    * <p>
+    * Complexity: O(n), where n is the number of records within ledger files
+    * @param funds      filled with account IDs mapped to funds in ten-thousandths
+    * @param quantities filled with ware IDs mapped to quantities for sale
+    * @return number of records read
+    */
+   static int rebuild(Map<String, Long> funds, Map<String, Integer> quantities) {
+      flush();
+
+      int recordsRead = 0;
+      String   line;
+      String[] data;
+      Long     fundsRebuilt;
+      Integer  quantityRebuilt;
+      for (File file : listFiles()) {
+         try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(openFile(file), StandardCharsets.UTF_8))) {
+            while ((line = fileReader.readLine()) != null) {
+               // format: time,kind,change,balance,ID
+               if (line.isEmpty() || line.startsWith("//"))
+                  continue;
+               data = line.split(",", 5);
+               if (data.length != 5 || data[1].length() != 1 || data[4].isEmpty())
+                  continue;
+
+               try {
+                  switch (data[1].charAt(0)) {
+                     case KIND_FUNDS:
+                        fundsRebuilt = funds.get(data[4]);
+                        funds.put(data[4], fundsRebuilt == null ? Long.parseLong(data[3]) : fundsRebuilt + Long.parseLong(data[2]));
+                        break;
+                     case KIND_ACCOUNT_DELETED:
+                        funds.remove(data[4]);
+                        break;
+                     case KIND_QUANTITY:
+                        quantityRebuilt = quantities.get(data[4]);
+                        quantities.put(data[4], quantityRebuilt == null ? Integer.parseInt(data[3]) : quantityRebuilt + Integer.parseInt(data[2]));
+                        break;
+                     default:
+                        continue;
+                  }
+                  recordsRead++;
+               } catch (NumberFormatException e) { }
+            }
+         } catch (IOException e) {
+            // compressed files cut off by a crash end early
+            Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_LEDGER_TRUNCATED + file.getPath());
+         }
+      }
+
+      return recordsRead;
+   }
+
+   /**
+    * Sets existing accounts' funds and wares' quantities to the latest values within the ledger,
+    * such as after save files were lost. Replaying is not itself recorded.
+    * Since restored quantities already include any journaled changes,
+    * the wares' journal is reset, so wares should be saved afterwards.
+    * Should be called while holding the marketplace's mutex.
+    * <p>
+    * Complexity: O(n), where n is the number of records within ledger files
+    * @return number of accounts and wares restored
+    */
+   public static synchronized int replay() {
+      final HashMap<String, Long>    FUNDS      = new HashMap<String, Long>();
+      final HashMap<String, Integer> QUANTITIES = new HashMap<String, Integer>();
+      rebuild(FUNDS, QUANTITIES);
+
+      final boolean WAS_RECORDING = recording;
+      recording = false;
+      int restored = 0;
+      try {
+         Account account;
+         for (Map.Entry<String, Long> entry : FUNDS.entrySet()) {
+            account = Account.getAccount(entry.getKey());
+            if (account != null) {
+               account.setMoneyUnits(entry.getValue());
+               restored++;
+            }
+         }
+
+         // restore quantities without journaling or recording them again
+         Ware ware;
+         for (Map.Entry<String, Integer> entry : QUANTITIES.entrySet()) {
+            ware = Marketplace.translateAndGrab(entry.getKey());
+            if (ware != null) {
+               ware.restoreQuantity(entry.getValue());
+               Marketplace.markAsChanged(ware);
+               ware.notifyQuantityChanged();
+               restored++;
+            }
+         }
+      } finally {
+         recording = WAS_RECORDING;
+      }
+
+      // journaled changes are already included
+      WareJournal.reset();
+
+      return restored;
+   }
+
+   /**
+    * Waits until records placed so far are written and the current ledger file is closed,
+    * so every ledger file may be read completely. The next record starts a new file.
+    * <p>
+    * Complexity: O(n), where n is the number of records waiting to be written
+    */
+   static synchronized void flush() {
+      final LedgerWriter LEDGER_WRITER = ledgerWriter;
+      if (LEDGER_WRITER == null)
+         return;
+
+      LEDGER_WRITER.closeThrough = claimed.get();
+      while (LEDGER_WRITER.closeThrough >= 0L && LEDGER_WRITER.isAlive()) {
+         LockSupport.unpark(LEDGER_WRITER);
+         LockSupport.parkNanos(1000000L);
+      }
+   }
+
+   /**
+    * Opens a ledger file for reading, decompressing it if necessary.
+    * <p>
+    * Complexity: O(1)
+    * @param file ledger file
+    * @return the file's contents
+    * @throws IOException if the file could not be opened
+    */
+   private static InputStream openFile(File file) throws IOException {
+      InputStream fileStream = new FileInputStream(file);
+      if (file.getName().endsWith(FILE_SUFFIX_COMPRESSED)) {
+         try {
+            fileStream = new GZIPInputStream(fileStream);
+         } catch (IOException e) {
+            fileStream.close();
+            throw e;
+         }
+      }
+      return fileStream;
+   }
+
+   /**
+    * Returns the number of a ledger file from its name.
+    * <p>
+    * Complexity: O(1)
+    * @param file ledger file
+    * @return the file's number or -1 if the file is not a ledger file
+    */
+   private static long parseNumber(File file) {
+      String       name   = file.getName();
+      final String PREFIX = new File(Config.filenameAccounts).getName() + ".";
+      if (name.endsWith(FILE_SUFFIX_COMPRESSED))
+         name = name.substring(0, name.length() - FILE_SUFFIX_COMPRESSED.length());
+      if (!name.startsWith(PREFIX) || !name.endsWith(FILE_SUFFIX))
+         return -1L;
+
+      try {
+         return Long.parseLong(name.substring(PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+      } catch (NumberFormatException e) {
+         return -1L;
+      }
+   }
+
+   /**
+    * Returns ledger files belonging to the accounts save file, oldest first.
+    * <p>
+    * Complexity: O(n log n), where n is the number of files in the save directory
+    * @return ledger files
+    */
+   static File[] listFiles() {
+      File directory = new File(Config.filenameAccounts).getAbsoluteFile().getParentFile();
+      File[] files   = directory == null ? null : directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX) || name.endsWith(FILE_SUFFIX + FILE_SUFFIX_COMPRESSED));
+      if (files == null)
+         return new File[0];
+
+      // ignore files not belonging to the accounts save file
+      int size = 0;
+      for (File file : files) {
+         if (parseNumber(file) >= 0)
+            files[size++] = file;
+      }
+      files = Arrays.copyOf(files, size);
+
+      Arrays.sort(files, (a, b) -> Long.compare(parseNumber(a), parseNumber(b)));
+      return files;
+   }
+}
@@ -2,7 +2,6 @@ package commandeconomy;
 
 import java.io.File;                  // for handling files
 import java.util.Scanner;             // for parsing files
-import java.io.FileWriter;            // for writing to files
 import java.io.FileNotFoundException; // for handling missing file errors
 import java.io.IOException;           // for handling miscellaneous file errors
 
@@ -102,6 +101,8 @@ public final class Config
    protected static float priceCrafted = 1.2f;
    /** changes the cost of purchasing a ware, but keeps selling the same; 1.2 == 20% higher price when buying than selling */
    public    static float priceBuyUpchargeMult = 1.0f;
+   /** how prices respond to stock for each level: linear, exponential, or logistic */
+   public    static String[] priceModels = {"linear", "linear", "linear", "linear", "linear", "linear"};
 
    // miscellaneous
    /** how much money an account should start with */
@@ -113,8 +114,44 @@ public final class Config
     * Ex: 5 means allows loading Item6, where Item6 is crafted using Item5, which uses Item4, which uses Item3, which uses Item2, which uses Item1. However, 5 would flag an error for Item7 since Item7's crafting chain would be too long.
     */
    protected static int maxCraftingDepth = 10;
-   /** disables automatically saving wares and accounts when the world is saved */
+   /** disables automatically saving wares and accounts */
    public static boolean disableAutoSaving = false;
+   /** how often to check whether to automatically save, in seconds */
+   public static int autosaveCheckInterval = 2;
+   /** how many wares and accounts may change before automatically saving; 0 ignores how many changed */
+   public static int autosaveChangedThreshold = 256;
+   /** how many kilobytes changed entries may be estimated to hold before automatically saving; 0 ignores their size */
+   public static int autosaveBytesThreshold = 64;
+   /** how old the oldest unsaved change may grow before automatically saving, in seconds; 0 ignores age */
+   public static int autosaveMaxAge = 300;
+   /** if true, trades adjust wares' quantities using compare-and-set instead of waiting for the marketplace's mutex */
+   public static boolean lockFreeTrading = false;
+   /** if true, trades and other changes to wares' quantities are made one at a time by a single market thread */
+   public static boolean marketEventLoop = false;
+   /** how many changes may wait for the market thread at once */
+   public static int marketEventLoopCapacity = 1024;
+   /** if true, account balances are held exactly as fixed-point numbers instead of floats; prices and fees remain floats */
+   public static boolean moneyFixedPoint = false;
+   /** if true, wares and accounts are also saved as binary snapshots, which load faster than text */
+   public static boolean binarySnapshots = false;
+   /** if true, save files and printed market files are compressed; compressed files are detected when loaded */
+   public static boolean compressSaveFiles = false;
+   /** how many previous versions of each save file are kept beside it */
+   public static int saveBackups = 2;
+   /** how many files accounts are split among so saving only rewrites files holding changed accounts; 0 keeps accounts within one file */
+   public static int accountShards = 0;
+   /** if true, changes to funds and quantities are recorded within ledger files */
+   public static boolean transactionLedger = false;
+   /** if true, new ledger files are compressed */
+   public static boolean transactionLedgerCompress = false;
+   /** how large a ledger file may grow before a new one is started, in kilobytes; 0 never starts a new file */
+   public static int transactionLedgerFileSize = 4096;
+   /** how often recorded transactions are written to the ledger, in milliseconds */
+   public static int transactionLedgerFlushInterval = 1000;
+   /** when journaled changes to wares' quantities are forced to disk: off, never, periodic, or always */
+   public static String waresJournalSync = "off";
+   /** how often journaled changes are forced to disk when syncing periodically, in milliseconds */
+   public static int waresJournalSyncInterval = 100;
    /** whether or not to only check base ware IDs when checking ware existence outside the market */
    public static boolean itemExistenceCheckIgnoresMeta = false;
    /** whether wares which are not in the market may be sold using a tag it shares with a ware in the market */
@@ -139,6 +176,8 @@ public final class Config
    public static float aiTradeQuantityPercent = 0.05f;
    /** how randomized AI trade decisions should be */
    public static float aiRandomness = 0.05f;
+   /** how many AI must be active before their trade decisions are made in parallel; 0 never makes them in parallel */
+   public static int aiParallelThreshold = 64;
    /** whether to print warnings for AI professions' ware IDs or aliases not found within the marketplace */
    public static boolean aiReportInvalidWares = false;
    /** if true, AI pay transaction fees just like players do */
@@ -295,6 +334,58 @@ public final class Config
          case "maxCraftingDepth":
             maxCraftingDepth = (int) value;
             break;
+         case "accountShards":
+            if (value < 0.0f)
+               value = 0.0f;
+            accountShards = (int) value;
+            break;
+         case "marketEventLoopCapacity":
+            if (value < 1.0f)
+               value = 1.0f;
+            else if (value > 1048576.0f)
+               value = 1048576.0f;
+            marketEventLoopCapacity = (int) value;
+            break;
+         case "saveBackups":
+            if (value < 0.0f)
+               value = 0.0f;
+            saveBackups = (int) value;
+            break;
+         case "waresJournalSyncInterval":
+            if (value < 1.0f)
+               value = 1.0f;
+            waresJournalSyncInterval = (int) value;
+            break;
+         case "autosaveCheckInterval":
+            if (value < 1.0f)
+               value = 1.0f;
+            autosaveCheckInterval = (int) value;
+            break;
+         case "autosaveChangedThreshold":
+            if (value < 0.0f)
+               value = 0.0f;
+            autosaveChangedThreshold = (int) value;
+            break;
+         case "autosaveBytesThreshold":
+            if (value < 0.0f)
+               value = 0.0f;
+            autosaveBytesThreshold = (int) value;
+            break;
+         case "autosaveMaxAge":
+            if (value < 0.0f)
+               value = 0.0f;
+            autosaveMaxAge = (int) value;
+            break;
+         case "transactionLedgerFileSize":
+            if (value < 0.0f)
+               value = 0.0f;
+            transactionLedgerFileSize = (int) value;
+            break;
+         case "transactionLedgerFlushInterval":
+            if (value < 1.0f)
+               value = 1.0f;
+            transactionLedgerFlushInterval = (int) value;
+            break;
 
          case "aiTradeFrequency":
             if (value < 0.0f)
@@ -309,6 +400,11 @@ public final class Config
          case "aiRandomness":
             aiRandomness = value;
             break;
+         case "aiParallelThreshold":
+            if (value < 0.0f)
+               value = 0.0f;
+            aiParallelThreshold = (int) value;
+            break;
 
          case "researchCostPerHierarchyLevel":
             researchCostPerHierarchyLevel = value;
@@ -430,6 +526,27 @@ public final class Config
          case "disableAutoSaving":
             disableAutoSaving = value;
             break;
+         case "lockFreeTrading":
+            lockFreeTrading = value;
+            break;
+         case "marketEventLoop":
+            marketEventLoop = value;
+            break;
+         case "moneyFixedPoint":
+            moneyFixedPoint = value;
+            break;
+         case "binarySnapshots":
+            binarySnapshots = value;
+            break;
+         case "compressSaveFiles":
+            compressSaveFiles = value;
+            break;
+         case "transactionLedger":
+            transactionLedger = value;
+            break;
+         case "transactionLedgerCompress":
+            transactionLedgerCompress = value;
+            break;
          case "allowWareTagSubstitution":
             allowWareTagSubstitution = value;
             break;
@@ -564,6 +681,13 @@ public final class Config
             filenameNoPathRandomEvents = value;
             break;
 
+         case "waresJournalSync":
+            if (WareJournal.parseSyncPolicy(value) != null)
+               waresJournalSync = value.trim();
+            else
+               userInterface.printErrorToConsole(StringTable.ERROR_CONFIG_OPTION_LOAD + configOption + StringTable.ERROR_CONFIG_JOURNAL_SYNC + value);
+            break;
+
          default:
             userInterface.printErrorToConsole(StringTable.ERROR_CONFIG_OPTION_SET + configOption
                                          + StringTable.ERROR_CONFIG_OPTION_VALUE + value);
@@ -703,6 +827,33 @@ public final class Config
               // split the array in separate values and set the corresponding config option
               activeAI = data[1].split(",", 0);
             }
+            // for price models
+            else if (data[0].equals("priceModels")) {
+               // if the data is an array of values, remove all whitespace to ease splitting
+               data[1] = data[1].replaceAll("\\s+","");
+
+              // split the array in separate values
+              inputArray = data[1].split(",", 0);
+
+              // if the array's size does not match config arrays,
+              // report an error and move on
+              if (inputArray.length != 6) {
+                 userInterface.printErrorToConsole(StringTable.ERROR_CONFIG_OPTION_LOAD + data[0] + StringTable.ERROR_CONFIG_OPTION_ARRAY + inputArray.length);
+                 continue;
+              }
+
+              // if any model is unknown, report an error and move on
+              boolean modelsValid = true;
+              for (String model : inputArray) {
+                 if (!PriceModel.isValidName(model)) {
+                    userInterface.printErrorToConsole(StringTable.ERROR_CONFIG_OPTION_LOAD + data[0] + StringTable.ERROR_CONFIG_PRICE_MODEL + model);
+                    modelsValid = false;
+                    break;
+                 }
+              }
+              if (modelsValid)
+                 priceModels = inputArray;
+            }
            // for individual values
            else {
               // if the value is not a float, it's probably meant to be a boolean or a string
@@ -794,11 +945,21 @@ public final class Config
          priceFloorAdjusted   = 1.0f - priceFloor;
       }
 
+      // price wares using the new settings
+      PricingContext.publish();
+
      // recalculate ware prices if necessary
      if (priceCrafted != priceCraftedOld || priceProcessed != priceProcessedOld) {
          Marketplace.reloadAllComponents();
      }
 
+      // hold funds using the configured representation
+      Account.setFixedPointMoney(moneyFixedPoint);
+
+      // record changes to wares' quantities as configured
+      WareJournal.startOrReconfig();
+      TransactionLedger.startOrReconfig();
+
       // change or close any threads needed for features based on configuration settings
       Marketplace.startOrReconfigPeriodicEvents();
       Account.startOrReconfigPeriodicEvents();
@@ -833,6 +994,7 @@ public final class Config
       priceFloorAdjusted   =  1.0f;
       priceProcessed       =  1.1f;
       priceCrafted         =  1.2f;
+      priceModels          = new String[]{"linear", "linear", "linear", "linear", "linear", "linear"};
 
       // hierarchy
       startQuanBase   = new int[]{16384,  9216,  5120,  3072, 2048, 1024};
@@ -847,6 +1009,24 @@ public final class Config
 
       // miscellaneous
       disableAutoSaving        = false;
+      lockFreeTrading          = false;
+      marketEventLoop          = false;
+      marketEventLoopCapacity  = 1024;
+      moneyFixedPoint          = false;
+      binarySnapshots          = false;
+      compressSaveFiles        = false;
+      saveBackups              = 2;
+      accountShards            = 0;
+      waresJournalSync         = "off";
+      waresJournalSyncInterval = 100;
+      autosaveCheckInterval          = 2;
+      autosaveChangedThreshold       = 256;
+      autosaveBytesThreshold         = 64;
+      autosaveMaxAge                 = 300;
+      transactionLedger              = false;
+      transactionLedgerCompress      = false;
+      transactionLedgerFileSize      = 4096;
+      transactionLedgerFlushInterval = 1000;
       allowWareTagSubstitution = true;
       wareTagsReportInvalid    = false;
       maxCraftingDepth         = 10;
@@ -857,6 +1037,7 @@ public final class Config
       aiTradeFrequency           = 3600000;
       aiTradeQuantityPercent     = 0.05f;
       aiRandomness               = 0.05f;
+      aiParallelThreshold        = 64;
       aiReportInvalidWares       = false;
       aiShouldPayTransactionFees = true;
 
@@ -916,6 +1097,9 @@ public final class Config
 
       // planned economy
       pricesIgnoreSupplyAndDemand = false;
+
+      // price wares using the default settings
+      PricingContext.publish();
    }
 
    /**
@@ -936,9 +1120,8 @@ public final class Config
       if (!fileConfig.exists()) {
          // try to fill the file with default values
          try {
-            FileWriter fileWriter = new FileWriter("config" + File.separator + filenameConfig, false);
-            fileWriter.write("// ===Prices:===\n// =Global:=\n// scales prices linearly\npriceMult = 1.0\n// pushes prices closer together or farther apart\npriceSpread = 1.0\n\n// the highest a ware's price may increase based on stock quantity\n// 2.0 == 2x price base after stock falls below quanDeficient\npriceCeiling = 2.0\n// the lowest a ware's price may decrease based on stock quantity\n// 0.0 == free after stock surpasses quanExcessive\npriceFloor = 0.0\n\n// =Targeted Multipliers:=\n// processed wares' prices are adjusted by this multiplier\n// ex: charcoal's price == wood's price * priceProcessed\npriceProcessed = 1.5\n// crafted wares' prices are adjusted by this multiplier\n// ex: piston's price == sum of piston's components' prices * priceCrafted\npriceCrafted = 1.2\n\n// multiplies the cost of purchasing a ware, but keeps selling the same\n// 1.2 == 20% higher price when buying than selling\npriceBuyUpchargeMult = 1.0\n\n// if true, out-of-stock processed/crafted wares may be purchased\n// if their components have enough available stock on the market\nbuyingOutOfStockWaresAllowed = true\n\n// how much to charge for purchasing out-of-stock processed/crafted wares\n// this charge is in addition to processed/crafted price multipliers\n// 1.10 == +10% out-of-stock price\nbuyingOutOfStockWaresPriceMult = 1.10\n\n// =Linked Prices:=\n// if true, current prices of components used to create a ware\n// affect the current price of the created ware,\n// even if the ware cannot be reverted into its components\n// ex: if wood is scarce, charcoal automatically costs more\nshouldComponentsCurrentPricesAffectWholesPrice = true\n\n// the most components' prices may affect a created ware's price\n// ex: 0.75 == can lower created's price as much as 75% and\n// can raise created's price by 75% of components' prices\nlinkedPricesPercent = 0.75\n\n// =Transaction Fees:=\n// whether or not to charge for buying, selling, or sending\nchargeTransactionFees = false\n\n// how much to charge per transaction for buying/etc.\n// 0.05 == fee is 5% of total price or $0.05\ntransactionFeeBuying    = 0.05\ntransactionFeeSelling   = 0.00\ntransactionFeeSending   = 0.02\ntransactionFeeResearching = 0.015\n\n// if true, transactionFee is treated as a multiplier,\n// charging based off of purchases' total prices \n// if false, transactionFee is treated as a flat rate\ntransactionFeeBuyingIsMult    = true\ntransactionFeeSellingIsMult   = true\ntransactionFeeSendingIsMult   = true\ntransactionFeeResearchingIsMult = true\n\n// what to say when telling users a fee for\n// purchasing/selling/transferring has been applied\ntransactionFeeBuyingMsg    = Sales tax paid: \ntransactionFeeSellingMsg   = Income tax paid: \ntransactionFeeSendingMsg   = Transfer fee applied: \ntransactionFeeResearchingMsg = Brokerage fee applied: \n\n// if true, money from fees is put into transactionFeeAccount\ntransactionFeesShouldPutFeesIntoAccount = true\n\n// the account which transaction fees are paid to\n// if this account doesn't exist,\n// an inaccessible account is made\ntransactionFeesAccount = cumulativeTransactionFees\n\n// ===Wares' Quantities for Sale:===\n// =Supply and Demand:=\n// quantity > this is considered saturated\nquanExcessive   = 65536, 43008, 14336, 10240, 6144, 3072\n// quantity = this is considered balanced\nquanEquilibrium = 16384,  9216,  5120,  3072, 2048, 1024\n// quantity < this is considered scarce\nquanDeficient   =  4096,  2048,  1536,  1024,  768,  512\n\n// true means it is truly a command economy\npricesIgnoreSupplyAndDemand = false\n\n// if true, wares with prices at or below\n// the price floor cannot be sold\nnoGarbageDisposing = false\n\n// =Starting Quantities:=\n// starting stock for each level\nstartQuanBase = 16384, 9216, 5120, 3072, 2048, 1024\n// scales starting stock linearly\nstartQuanMult = 1.0\n// pushes starting stock levels closer together or farther apart\nstartQuanSpread = 1.0\n\n// =Investment:=\n// Investments into industrial research and manufacturing\n// increase a ware's supply and demand, reduces price fluctuations,\n// and resets quantity available for sale to equilibrium.\n\n// investing in a ware costs increases this much\n// per ware hierarchy level (represents rarity)\n// set to 0 to disable this feature\nresearchCostPerHierarchyLevel = 185.0\n\n// if true, the cost of investing in a ware is a multiplier\n// applied to the market's current price average\nresearchCostIsAMultOfAvgPrice = true\n\n// =Automatic Market Rebalancing:=\n// whether stock levels should bring themselves\n// to equilibrium by periodically increasing or decreasing\nautomaticStockRebalancing = false\n\n// how often quantities for sale should change to rebalance themselves\n// 45 == change every 45 minutes\nautomaticStockRebalancingFrequency = 45\n\n// how much quantities for sale should change per rebalancing event\n// 0.005 == 0.5% of equilibrium quantity\nautomaticStockRebalancingPercent = 0.005\n\n// ===Ware-Handling:===\n// contains wares to be tradeable within the marketplace\nfilenameWares = wares.txt\n\n// save file containing tradeable wares within the marketplace\n// if this file exists, it is loaded instead of filenameWares\nfilenameWaresSave = waresSaved.txt\n\n// if true, checking ware IDs for corresponding items\n// existing within Minecraft does not check metadata\n// useful for mods which do not register items properly\n// bad for validating ware entries since it may\n// allow loading wares which don't exist\nitemExistenceCheckIgnoresMeta = false\n\n// whether wares which are not in the market\n// may be sold using a Forge OreDictionary name\n// it shares with a ware in the market\n// ex: sell different copper ingots from multiple mods,\n// pretending they are all from the mod\n// whose copper ingot is in the market\nallowWareTagSubstitution = true\n\n// whether to print warnings for not finding\n// Forge OreDictionary names used by alternative aliases\nwareTagsReportInvalid = false\n\n// max tolerance for how long a crafting chain may go, where a crafted item is crafted using another crafted item, which is crafted using another crafted item, and so forth\n// Ex: 5 means allows loading Item6, where Item6 is crafted using Item5, which uses Item4, which uses Item3, which uses Item2, which uses Item1. However, 5 would flag an error for Item7 since Item7's crafting chain would be too long.\nmaxCraftingDepth = 10\n\n// ===Accounts:===\n// how much money an account should start with\naccountStartingMoney = 0.0\n\n// how many accounts a single player is allowed to create\n// 0 == no new accounts except default, personal ones\n// -1 == no restriction or infinity accounts\naccountMaxCreatedByIndividual = 3\n\n// contains accounts usable within the marketplace\nfilenameAccounts = accounts.txt\n\n// =Interest:=\n// if true, account funds experience compound interest\naccountPeriodicInterestEnabled = false\n\n// interest rate at which account funds are compounded\n// 1.5 == 1.5%; accurate to 0.01\naccountPeriodicInterestPercent = 1.5\n\n// how often compound interest is applied\n// dedicated server recommended: 120 == 2 hours\n// singleplayer recommended: 15 == 15 minutes\naccountPeriodicInterestFrequency = 120\n\n// if true, interest is only applied when\n// account owners are logged onto the server\naccountPeriodicInterestOnlyWhenPlaying = false\n\n// ===Administrative:===\n// All files except filenameMarket can be saved\n// in a world's directory in ../CommandEconomy/\n// or the Minecraft game directory\n// in ../config/CommandEconomy/.\n// The world's directory is checked for files first\n// unless crossWorldMarketplace is true.\n\n// If true, ware and account save files\n// will be shared across all worlds.\n// To exclude a world while set to true,\n// go to the world's Command Economy directory\n// and create a local config file named \"config.txt\".\n// As long as this config file exists,\n// that world will load it\n// instead of the main config file.\ncrossWorldMarketplace = false\n\n// output file for printing wares within the marketplace\n// \"/printMarket\" to print to this file\nfilenameMarket = market.txt\n\n// disables automatically saving wares and accounts when the world is saved\ndisableAutoSaving = false\n\n// ===Additional Factors:===\n// =AI:=\n// whether AI should be used\nenableAI = false\n\n// which AI professions should be used\n// repeats increase the number of times a profession trades per event\nactiveAI = armorer, cleric, farmer, farmer, fletcher, librarian\n\n// how often AI should trade, in minutes\naiTradeFrequency = 60\n\n// how many units AI should buy or sell per trade\n// in percentage of equilibrium stock\n// ex: ware's quanEquilibrium = 100 and aiTradeQuantityPercent = 0.05\n// means AI will buy or sell 5 units of the ware at a time\naiTradeQuantityPercent = 0.05\n\n// how randomized AI trade decisions should be\n// 0.0 == trade according to wares' supply and demand\n// 1.0 == trades are mostly unpredictable\naiRandomness = 0.05\n\n// contains possible AI, the wares they may trade,\n// and their preferences\nfilenameAIProfessions = aiProfessions.json\n\n// =Random Events:=\n// whether or not to periodically trigger events\n// summoning or destroying wares' quantities for sale\nrandomEvents = false\n\n// on average, an event should occur every X minutes\nrandomEventsFrequency = 180\n\n// events may occur anywhere from\n// frequency *  (1 - variance) to frequency * variance\n// so if frequency is 180 minutes and variance is 0.25,\n// events could occur anywhere from every 135 minutes to 225 minutes\nrandomEventsVariance = 0.25\n\n// if true, random events display which wares\n// have been affected when an event fires\nrandomEventsPrintChanges = false\n\n// if true, the changes in quantities for sale listed below\n// are considered percentages of equilibrium quantity\n// if false, they are considered flat values\nrandomEventsAreChangesPercents = true\n\n// each random event may affect stock levels\n// up to the amounts listed below\n// 0.15 == 15% of equilibrium or 0 change\n// 15 == 1500% or +/-15 stock for hierarchy level 2 (iron),\n// flat rates scale according to equilibrium stock for other levels\nrandomEventsLargeChange  = 0.15\nrandomEventsMediumChange = 0.10\nrandomEventsSmallChange  = 0.05\n\n// contains possible events, their descriptions,\n// the wares they may affect and how much each ware is affected\nfilenameRandomEvents = randomEvents.json");
-            fileWriter.close();
+            // write the file beside its destination, then rename it, so a crash never leaves part of it
+            SnapshotWriter.write(fileConfig, fileWriter -> fileWriter.write("// ===Prices:===\n// =Global:=\n// scales prices linearly\npriceMult = 1.0\n// pushes prices closer together or farther apart\npriceSpread = 1.0\n\n// the highest a ware's price may increase based on stock quantity\n// 2.0 == 2x price base after stock falls below quanDeficient\npriceCeiling = 2.0\n// the lowest a ware's price may decrease based on stock quantity\n// 0.0 == free after stock surpasses quanExcessive\npriceFloor = 0.0\n\n// how prices respond to stock for each hierarchy level\n// linear == prices change steadily as stock moves away from equilibrium\n// exponential == prices change by the same percentage for each unit of stock\n// logistic == prices change quickly near equilibrium and level off near the price ceiling and floor\npriceModels = linear, linear, linear, linear, linear, linear\n\n// =Targeted Multipliers:=\n// processed wares' prices are adjusted by this multiplier\n// ex: charcoal's price == wood's price * priceProcessed\npriceProcessed = 1.5\n// crafted wares' prices are adjusted by this multiplier\n// ex: piston's price == sum of piston's components' prices * priceCrafted\npriceCrafted = 1.2\n\n// multiplies the cost of purchasing a ware, but keeps selling the same\n// 1.2 == 20% higher price when buying than selling\npriceBuyUpchargeMult = 1.0\n\n// if true, out-of-stock processed/crafted wares may be purchased\n// if their components have enough available stock on the market\nbuyingOutOfStockWaresAllowed = true\n\n// how much to charge for purchasing out-of-stock processed/crafted wares\n// this charge is in addition to processed/crafted price multipliers\n// 1.10 == +10% out-of-stock price\nbuyingOutOfStockWaresPriceMult = 1.10\n\n// =Linked Prices:=\n// if true, current prices of components used to create a ware\n// affect the current price of the created ware,\n// even if the ware cannot be reverted into its components\n// ex: if wood is scarce, charcoal automatically costs more\nshouldComponentsCurrentPricesAffectWholesPrice = true\n\n// the most components' prices may affect a created ware's price\n// ex: 0.75 == can lower created's price as much as 75% and\n// can raise created's price by 75% of components' prices\nlinkedPricesPercent = 0.75\n\n// =Transaction Fees:=\n// whether or not to charge for buying, selling, or sending\nchargeTransactionFees = false\n\n// how much to charge per transaction for buying/etc.\n// 0.05 == fee is 5% of total price or $0.05\ntransactionFeeBuying    = 0.05\ntransactionFeeSelling   = 0.00\ntransactionFeeSending   = 0.02\ntransactionFeeResearching = 0.015\n\n// if true, transactionFee is treated as a multiplier,\n// charging based off of purchases' total prices \n// if false, transactionFee is treated as a flat rate\ntransactionFeeBuyingIsMult    = true\ntransactionFeeSellingIsMult   = true\ntransactionFeeSendingIsMult   = true\ntransactionFeeResearchingIsMult = true\n\n// what to say when telling users a fee for\n// purchasing/selling/transferring has been applied\ntransactionFeeBuyingMsg    = Sales tax paid: \ntransactionFeeSellingMsg   = Income tax paid: \ntransactionFeeSendingMsg   = Transfer fee applied: \ntransactionFeeResearchingMsg = Brokerage fee applied: \n\n// if true, money from fees is put into transactionFeeAccount\ntransactionFeesShouldPutFeesIntoAccount = true\n\n// the account which transaction fees are paid to\n// if this account doesn't exist,\n// an inaccessible account is made\ntransactionFeesAccount = cumulativeTransactionFees\n\n// ===Wares' Quantities for Sale:===\n// =Supply and Demand:=\n// quantity > this is considered saturated\nquanExcessive   = 65536, 43008, 14336, 10240, 6144, 3072\n// quantity = this is considered balanced\nquanEquilibrium = 16384,  9216,  5120,  3072, 2048, 1024\n// quantity < this is considered scarce\nquanDeficient   =  4096,  2048,  1536,  1024,  768,  512\n\n// true means it is truly a command economy\npricesIgnoreSupplyAndDemand = false\n\n// if true, wares with prices at or below\n// the price floor cannot be sold\nnoGarbageDisposing = false\n\n// =Starting Quantities:=\n// starting stock for each level\nstartQuanBase = 16384, 9216, 5120, 3072, 2048, 1024\n// scales starting stock linearly\nstartQuanMult = 1.0\n// pushes starting stock levels closer together or farther apart\nstartQuanSpread = 1.0\n\n// =Investment:=\n// Investments into industrial research and manufacturing\n// increase a ware's supply and demand, reduces price fluctuations,\n// and resets quantity available for sale to equilibrium.\n\n// investing in a ware costs increases this much\n// per ware hierarchy level (represents rarity)\n// set to 0 to disable this feature\nresearchCostPerHierarchyLevel = 185.0\n\n// if true, the cost of investing in a ware is a multiplier\n// applied to the market's current price average\nresearchCostIsAMultOfAvgPrice = true\n\n// =Automatic Market Rebalancing:=\n// whether stock levels should bring themselves\n// to equilibrium by periodically increasing or decreasing\nautomaticStockRebalancing = false\n\n// how often quantities for sale should change to rebalance themselves\n// 45 == change every 45 minutes\nautomaticStockRebalancingFrequency = 45\n\n// how much quantities for sale should change per rebalancing event\n// 0.005 == 0.5% of equilibrium quantity\nautomaticStockRebalancingPercent = 0.005\n\n// ===Ware-Handling:===\n// contains wares to be tradeable within the marketplace\nfilenameWares = wares.txt\n\n// save file containing tradeable wares within the marketplace\n// if this file exists, it is loaded instead of filenameWares\nfilenameWaresSave = waresSaved.txt\n\n// records changes to wares' quantities between saves so trades survive crashes\n// off == only keep changes made before wares were last saved\n// never == write each change immediately, letting the operating system decide when it reaches the disk\n// periodic == force changes to the disk together every waresJournalSyncInterval milliseconds\n// always == each trade waits for its changes to reach the disk, sharing the wait with other trades\nwaresJournalSync = off\n\n// how often recorded changes are forced to the disk when waresJournalSync is periodic, in milliseconds\nwaresJournalSyncInterval = 100\n\n// if true, checking ware IDs for corresponding items\n// existing within Minecraft does not check metadata\n// useful for mods which do not register items properly\n// bad for validating ware entries since it may\n// allow loading wares which don't exist\nitemExistenceCheckIgnoresMeta = false\n\n// whether wares which are not in the market\n// may be sold using a Forge OreDictionary name\n// it shares with a ware in the market\n// ex: sell different copper ingots from multiple mods,\n// pretending they are all from the mod\n// whose copper ingot is in the market\nallowWareTagSubstitution = true\n\n// whether to print warnings for not finding\n// Forge OreDictionary names used by alternative aliases\nwareTagsReportInvalid = false\n\n// max tolerance for how long a crafting chain may go, where a crafted item is crafted using another crafted item, which is crafted using another crafted item, and so forth\n// Ex: 5 means allows loading Item6, where Item6 is crafted using Item5, which uses Item4, which uses Item3, which uses Item2, which uses Item1. However, 5 would flag an error for Item7 since Item7's crafting chain would be too long.\nmaxCraftingDepth = 10\n\n// ===Accounts:===\n// how much money an account should start with\naccountStartingMoney = 0.0\n\n// how many accounts a single player is allowed to create\n// 0 == no new accounts except default, personal ones\n// -1 == no restriction or infinity accounts\naccountMaxCreatedByIndividual = 3\n\n// contains accounts usable within the marketplace\nfilenameAccounts = accounts.txt\n\n// splits accounts among this many files beside filenameAccounts\n// so saving only rewrites files holding changed accounts\n// 0 == keep every account within filenameAccounts\naccountShards = 0\n\n// =Interest:=\n// if true, account funds experience compound interest\naccountPeriodicInterestEnabled = false\n\n// interest rate at which account funds are compounded\n// 1.5 == 1.5%; accurate to 0.01\naccountPeriodicInterestPercent = 1.5\n\n// how often compound interest is applied\n// dedicated server recommended: 120 == 2 hours\n// singleplayer recommended: 15 == 15 minutes\naccountPeriodicInterestFrequency = 120\n\n// if true, interest is only applied when\n// account owners are logged onto the server\naccountPeriodicInterestOnlyWhenPlaying = false\n\n// ===Administrative:===\n// All files except filenameMarket can be saved\n// in a world's directory in ../CommandEconomy/\n// or the Minecraft game directory\n// in ../config/CommandEconomy/.\n// The world's directory is checked for files first\n// unless crossWorldMarketplace is true.\n\n// If true, ware and account save files\n// will be shared across all worlds.\n// To exclude a world while set to true,\n// go to the world's Command Economy directory\n// and create a local config file named \"config.txt\".\n// As long as this config file exists,\n// that world will load it\n// instead of the main config file.\ncrossWorldMarketplace = false\n\n// output file for printing wares within the marketplace\n// \"/printMarket\" to print to this file\nfilenameMarket = market.txt\n\n// disables automatically saving wares and accounts\ndisableAutoSaving = false\n\n// how often to check whether wares and accounts should be automatically saved, in seconds\n// once a save is needed, it waits for a check without newly changed wares or accounts\n// so bursts of trades are saved together\nautosaveCheckInterval = 2\n\n// saves once this many wares and accounts have changed\n// 0 == don't save based on how many have changed\nautosaveChangedThreshold = 256\n\n// saves once changed wares' and accounts' entries are estimated to hold this many kilobytes\n// 0 == don't save based on estimated size\nautosaveBytesThreshold = 64\n\n// saves once the oldest unsaved change is this old, in seconds\n// even if trading has not quieted down\n// 0 == don't save based on age\nautosaveMaxAge = 300\n\n// if true, trades adjust wares' quantities for sale\n// without waiting for other trades to finish,\n// retrying whenever another trade changes\n// a ware's quantity first\n// may improve performance on busy servers\nlockFreeTrading = false\n\n// if true, trades and other changes to wares' quantities\n// are handed to a single market thread and made one at a time,\n// so trades never compete for the marketplace's lock\n// the thread handing over a change waits for it to finish\nmarketEventLoop = false\n\n// how many changes may wait for the market thread at once\n// rounded up to a power of two\nmarketEventLoopCapacity = 1024\n\n// if true, account balances are held exactly using ten-thousandths of a unit of currency\n// rather than floating-point numbers, preventing large balances from losing cents\n// only balances are held this way; prices and fees are still calculated as\n// floating-point numbers and converted when paid into or out of an account\n// existing account save files are converted when loaded\nmoneyFixedPoint = false\n\n// if true, wares and accounts are also saved in a binary format\n// which loads faster than the text save files\n// text save files are still written and are loaded instead whenever they are newer\nbinarySnapshots = false\n\n// if true, ware and account save files are compressed using gzip, which writes less to the disk\n// compressed save files keep their names and are detected when loaded,\n// so this may be changed at any time\n// printed market files have \".gz\" appended to their names\ncompressSaveFiles = false\n\n// how many previous versions of each ware and account save file to keep beside it\n// ex: 2 == keep waresSaved.txt.bak1 and waresSaved.txt.bak2, the newest being .bak1\n// 0 == keep no backups\nsaveBackups = 2\n\n// if true, every change to accounts' funds and wares' quantities\n// is recorded within ledger files beside filenameAccounts for auditing\n// records are written in batches without making trades wait\ntransactionLedger = false\n\n// if true, new ledger files are compressed using gzip\ntransactionLedgerCompress = false\n\n// how large a ledger file may grow before a new one is started, in kilobytes\n// 0 == never start a new file\ntransactionLedgerFileSize = 4096\n\n// how often recorded transactions are written to the ledger, in milliseconds\ntransactionLedgerFlushInterval = 1000\n\n// ===Additional Factors:===\n// =AI:=\n// whether AI should be used\nenableAI = false\n\n// which AI professions should be used\n// repeats increase the number of times a profession trades per event\nactiveAI = armorer, cleric, farmer, farmer, fletcher, librarian\n\n// how often AI should trade, in minutes\naiTradeFrequency = 60\n\n// how many units AI should buy or sell per trade\n// in percentage of equilibrium stock\n// ex: ware's quanEquilibrium = 100 and aiTradeQuantityPercent = 0.05\n// means AI will buy or sell 5 units of the ware at a time\naiTradeQuantityPercent = 0.05\n\n// how randomized AI trade decisions should be\n// 0.0 == trade according to wares' supply and demand\n// 1.0 == trades are mostly unpredictable\naiRandomness = 0.05\n\n// how many AI must be active before their trade decisions\n// are made in parallel using several threads\n// decisions are the same either way\n// 0 == always decide one AI at a time\naiParallelThreshold = 64\n\n// contains possible AI, the wares they may trade,\n// and their preferences\nfilenameAIProfessions = aiProfessions.json\n\n// =Random Events:=\n// whether or not to periodically trigger events\n// summoning or destroying wares' quantities for sale\nrandomEvents = false\n\n// on average, an event should occur every X minutes\nrandomEventsFrequency = 180\n\n// events may occur anywhere from\n// frequency *  (1 - variance) to frequency * variance\n// so if frequency is 180 minutes and variance is 0.25,\n// events could occur anywhere from every 135 minutes to 225 minutes\nrandomEventsVariance = 0.25\n\n// if true, random events display which wares\n// have been affected when an event fires\nrandomEventsPrintChanges = false\n\n// if true, the changes in quantities for sale listed below\n// are considered percentages of equilibrium quantity\n// if false, they are considered flat values\nrandomEventsAreChangesPercents = true\n\n// each random event may affect stock levels\n// up to the amounts listed below\n// 0.15 == 15% of equilibrium or 0 change\n// 15 == 1500% or +/-15 stock for hierarchy level 2 (iron),\n// flat rates scale according to equilibrium stock for other levels\nrandomEventsLargeChange  = 0.15\nrandomEventsMediumChange = 0.10\nrandomEventsSmallChange  = 0.05\n\n// contains possible events, their descriptions,\n// the wares they may affect and how much each ware is affected\nfilenameRandomEvents = randomEvents.json"), false, 0);
          } catch (IOException e) {
             Config.userInterface.printErrorToConsole(StringTable.ERROR_CONFIG_FILE_CREATE + filenameConfig);
             e.printStackTrace();
@@ -1,6 +1,7 @@
 package commandeconomy;
 
 import java.util.concurrent.ThreadLocalRandom; // for randomizing trade frequency and decisions
+import java.util.SplittableRandom;             // for repeatable decisions regardless of which thread makes them
 import java.util.Map;                          // for iterating through maps and priority queues
 import java.util.Iterator;
 import java.util.HashSet;                      // for validating AI trade preferences
@@ -601,6 +602,21 @@ public class AI {
     * @param tradesPending initialized map of ware references and changes to their quantities for sale
     */
    public void trade(Map<Ware, Integer> tradesPending) {
+      trade(tradesPending, new SplittableRandom(ThreadLocalRandom.current().nextLong()), null);
+   }
+
+   /**
+    * Tells the AI to make a trading decision, if possible,
+    * using a given generator for pseudorandomness and prices shared among AI.
+    * Given the same generator state and marketplace, the same decision is made,
+    * so AI may decide on any thread without changing results.
+    * <p>
+    * Complexity: O(n), where n is the number of wares affected by the AI
+    * @param tradesPending initialized map of ware references and changes to their quantities for sale
+    * @param random        pseudorandomness influencing decisions; used only by this AI during the call
+    * @param prices        unit prices captured for this trade event; null to price wares individually
+    */
+   void trade(Map<Ware, Integer> tradesPending, SplittableRandom random, PriceSnapshot prices) {
       // if not allowed to trade,
       // unaware of how much volume to trade at once,
       // or have nowhere to schedule trades,
@@ -635,8 +651,13 @@ public class AI {
                continue;
 
             // get ware's prices
-            priceEquilibrium = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.EQUILIBRIUM_BUY);
-            priceCurrent     = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.CURRENT_BUY);
+            if (prices != null) {
+               priceEquilibrium = prices.getPrice(ware, Marketplace.PriceType.EQUILIBRIUM_BUY);
+               priceCurrent     = prices.getPrice(ware, Marketplace.PriceType.CURRENT_BUY);
+            } else {
+               priceEquilibrium = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.EQUILIBRIUM_BUY);
+               priceCurrent     = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.CURRENT_BUY);
+            }
 
             // By enforcing a current price percentage floor, pseudorandomness' influence
             // is protected from excessive effects of supply and demand.
@@ -651,7 +672,7 @@ public class AI {
 
             // if necessary, determine randomness
             if (Config.aiRandomness > 0.0f)
-               randomness = (float) ThreadLocalRandom.current().nextDouble(Config.aiRandomness); // from 0.0 to randomness max
+               randomness = (float) random.nextDouble(Config.aiRandomness); // from 0.0 to randomness max
             else
                randomness = 0.0f;
 
@@ -703,8 +724,13 @@ public class AI {
                continue;
 
             // get ware's prices
-            priceEquilibrium = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.EQUILIBRIUM_SELL);
-            priceCurrent     = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.CURRENT_SELL);
+            if (prices != null) {
+               priceEquilibrium = prices.getPrice(ware, Marketplace.PriceType.EQUILIBRIUM_SELL);
+               priceCurrent     = prices.getPrice(ware, Marketplace.PriceType.CURRENT_SELL);
+            } else {
+               priceEquilibrium = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.EQUILIBRIUM_SELL);
+               priceCurrent     = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.CURRENT_SELL);
+            }
 
             // prevent division by zero errors
             if (priceEquilibrium <= 0.01f)
@@ -714,7 +740,7 @@ public class AI {
 
             // if necessary, determine randomness
             if (Config.aiRandomness > 0.0f)
-               randomness = (float) ThreadLocalRandom.current().nextDouble(Config.aiRandomness); // from 0.0 to randomness max
+               randomness = (float) random.nextDouble(Config.aiRandomness); // from 0.0 to randomness max
             else
                randomness = 0.0f;
 
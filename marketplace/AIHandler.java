@@ -6,14 +6,16 @@ import com.google.gson.reflect.TypeToken;
 import java.io.File;                            // for handling files
 import java.io.FileReader;
 import com.google.gson.JsonSyntaxException;     // for more specific error messages when parsing files
-import java.util.Timer;                         // for triggering AI trades periodically and on a separate thread
-import java.util.TimerTask;                     // for disabling AI mid-execution
 import java.util.Collections;                   // for communication between the main thread and the thread handling AI
 import java.util.Set;
 import java.util.EnumSet;
 import java.util.HashMap;                       // for storing AI professions and trade decisions
 import java.util.Map;                           // for iterating through hashmaps
 import java.util.Vector;                        // for storing AI before their activation
+import java.util.SplittableRandom;              // for repeatable AI decisions
+import java.util.concurrent.ForkJoinPool;       // for making AI trade decisions in parallel
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;  // for seeding AI decisions
 
 /**
  * Creating an instance of this class initializes
@@ -27,8 +29,11 @@ import java.util.Vector;                        // for storing AI before their a
  * @version %I%, %G%
  * @since   2022-4-23
  */
-public class AIHandler extends TimerTask {
+public class AIHandler implements Runnable {
    // STATIC ATTRIBUTES
+   /** name identifying the scheduled task */
+   static final String TASK_NAME = "AI";
+
    // AI management
    /** AI configured to mimic a particular occupation */
    static Map<String, AI> professions = null;
@@ -36,10 +41,10 @@ public class AIHandler extends TimerTask {
    static AI[] activeAI = null;
 
    // thread management
-   /** manages thread triggering AI trading */
-   static Timer timerAIHandler = null;
+   /** periodically triggers AI trading */
+   static MarketScheduler.Task taskAIHandler = null;
    /** handles AI trading */
-   static AIHandler timerTaskAIHandler = null;
+   static AIHandler aiHandler = null;
    /** used to monitor a timer interval for configuration changes */
    static long oldFrequency = 0L;
    /** used to monitor changes in a trade quantity percentage for configuration changes */
@@ -52,6 +57,8 @@ public class AIHandler extends TimerTask {
    }
    /** used to signal thread to reload or recalculate variables */
    static Set<QueueCommands> queue = null;
+   /** most AI a single parallel task decides for before splitting; AI decide quickly, so tasks group several */
+   static final int AI_PER_TASK = 8;
 
    // INSTANCE ATTRIBUTES
    /** whether the task should continue running */
@@ -61,7 +68,7 @@ public class AIHandler extends TimerTask {
 
    // STATIC METHODS
    /**
-    * Spawns and handles a thread for handling AI.
+    * Schedules, reschedules, or stops AI trading.
     * <p>
     * Complexity: O(1)
     */
@@ -83,13 +90,9 @@ public class AIHandler extends TimerTask {
             queue.add(QueueCommands.CALC_QUANTITY_CHANGES);
 
          // start AI
-         if (timerAIHandler == null ) {
-            // initialize timer objects
-            timerAIHandler     = new Timer(true);
-            timerTaskAIHandler = new AIHandler();
-
-            // initialize AI
-            timerAIHandler.scheduleAtFixedRate(timerTaskAIHandler, Config.aiTradeFrequency, Config.aiTradeFrequency);
+         if (taskAIHandler == null) {
+            aiHandler     = new AIHandler();
+            taskAIHandler = MarketScheduler.schedule(TASK_NAME, aiHandler, Config.aiTradeFrequency, Config.aiTradeFrequency, 0.0f);
          }
 
          // reload AI trading frequency
@@ -97,25 +100,17 @@ public class AIHandler extends TimerTask {
             // reload AI professions file
             queue.add(QueueCommands.LOAD);
 
+            // scheduling a task using the same name replaces the current task
             if (oldFrequency != Config.aiTradeFrequency) {
-               // There's no way to change a task's period.
-               // Therefore, it is necessary to stop the current task
-               // and schedule a new one.
-               timerTaskAIHandler.stop = true;
-               timerTaskAIHandler.cancel();
-
-               // initialize timertask object
-               timerTaskAIHandler = new AIHandler();
-
-               // initialize AI
-               timerAIHandler.scheduleAtFixedRate(timerTaskAIHandler, Config.aiTradeFrequency, Config.aiTradeFrequency);
+               aiHandler.stop = true;
+               aiHandler      = new AIHandler();
+               taskAIHandler  = MarketScheduler.schedule(TASK_NAME, aiHandler, Config.aiTradeFrequency, Config.aiTradeFrequency, 0.0f);
             }
          }
       }
 
       // stop AI
-      else if (timerAIHandler != null &&
-               (!Config.enableAI || Config.aiTradeFrequency <= 0))
+      else if (taskAIHandler != null)
          end();
 
       // record timer interval to monitor for changes
@@ -123,17 +118,17 @@ public class AIHandler extends TimerTask {
    }
 
    /**
-    * Closes the thread handling AI.
+    * Stops AI trading.
     * <p>
     * Complexity: O(1)
     */
    public static void end() {
-      // if necessary, stop AI thread
-      if (timerAIHandler != null) {
-         timerTaskAIHandler.stop = true;
-         timerTaskAIHandler = null;
-         timerAIHandler.cancel();
-         timerAIHandler = null;
+      // if necessary, stop AI
+      if (taskAIHandler != null) {
+         aiHandler.stop = true;
+         aiHandler      = null;
+         taskAIHandler.cancel();
+         taskAIHandler  = null;
 
          // deallocate memory
          professions = null;
@@ -340,6 +335,120 @@ public class AIHandler extends TimerTask {
       }
    }
 
+   /**
+    * Has AI decide what to trade, combining their decisions.
+    * <p>
+    * Each AI draws pseudorandomness from its own generator,
+    * split from a generator using the given seed in the order AI are given.
+    * AI only read the marketplace while deciding, so when deciding in parallel,
+    * each group of AI records decisions within its own map,
+    * and maps are merged in order afterward.
+    * Either way, a given seed and marketplace produce the same decisions.
+    * <p>
+    * Complexity: O(n*m)<br>
+    * where n is the number of AI<br>
+    * where m is the number of wares each AI may trade
+    * @param ais           AI who should decide what to trade
+    * @param seed          seeds pseudorandomness influencing decisions
+    * @param prices        unit prices shared by every AI; null for each AI to price wares individually
+    * @param tradesPending initialized map of ware references and changes to their quantities for sale
+    * @param parallel      whether AI should decide using several threads
+    */
+   static void decideTrades(AI[] ais, long seed, PriceSnapshot prices, Map<Ware, Integer> tradesPending, boolean parallel) {
+      if (ais == null || ais.length == 0 || tradesPending == null)
+         return;
+
+      // give each AI its own generator
+      final SplittableRandom   SEEDS   = new SplittableRandom(seed);
+      final SplittableRandom[] RANDOMS = new SplittableRandom[ais.length];
+      for (int i = 0; i < ais.length; i++)
+         RANDOMS[i] = SEEDS.split();
+
+      // decide one AI at a time
+      if (!parallel || ais.length <= AI_PER_TASK) {
+         for (int i = 0; i < ais.length; i++)
+            ais[i].trade(tradesPending, RANDOMS[i], prices);
+         return;
+      }
+
+      // decide in parallel, recording each group's decisions separately
+      @SuppressWarnings({"unchecked", "rawtypes"}) // generic arrays can only be created raw
+      final Map<Ware, Integer>[] DECISIONS = new Map[(ais.length + AI_PER_TASK - 1) / AI_PER_TASK];
+      ForkJoinPool.commonPool().invoke(new TradeDecisions(ais, RANDOMS, prices, DECISIONS, 0, ais.length));
+
+      // combine decisions in order
+      for (Map<Ware, Integer> decisions : DECISIONS) {
+         for (Map.Entry<Ware, Integer> entry : decisions.entrySet())
+            tradesPending.merge(entry.getKey(), entry.getValue(), Integer::sum);
+      }
+   }
+
+   /**
+    * Has a range of AI decide what to trade,
+    * splitting the range among threads until each part is small enough.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class TradeDecisions extends RecursiveAction {
+      /** for serializing */
+      private static final long serialVersionUID = 1L;
+
+      /** AI who should decide what to trade */
+      private final AI[] ais;
+      /** each AI's generator for pseudorandomness */
+      private final SplittableRandom[] randoms;
+      /** unit prices shared by every AI or null */
+      private final PriceSnapshot prices;
+      /** each group of AI's decisions, indexed by the group's first AI divided by AI per task */
+      private final Map<Ware, Integer>[] decisions;
+      /** first AI within the range */
+      private final int start;
+      /** one past the last AI within the range */
+      private final int end;
+
+      /**
+       * Prepares a range of AI to decide what to trade.
+       * @param ais       AI who should decide what to trade
+       * @param randoms   each AI's generator for pseudorandomness
+       * @param prices    unit prices shared by every AI or null
+       * @param decisions where each group of AI's decisions are recorded
+       * @param start     first AI within the range
+       * @param end       one past the last AI within the range
+       */
+      TradeDecisions(AI[] ais, SplittableRandom[] randoms, PriceSnapshot prices, Map<Ware, Integer>[] decisions, int start, int end) {
+         this.ais       = ais;
+         this.randoms   = randoms;
+         this.prices    = prices;
+         this.decisions = decisions;
+         this.start     = start;
+         this.end       = end;
+      }
+
+      /**
+       * Decides for a small range of AI or splits the range in two.
+       * Ranges are split along multiples of AI per task, so groups stay the same
+       * regardless of how work is divided among threads.
+       */
+      @Override
+      protected void compute() {
+         // if the range is small enough, decide what to trade
+         if (end - start <= AI_PER_TASK) {
+            final Map<Ware, Integer> DECISIONS = new HashMap<Ware, Integer>();
+            for (int i = start; i < end; i++)
+               ais[i].trade(DECISIONS, randoms[i], prices);
+            decisions[start / AI_PER_TASK] = DECISIONS;
+            return;
+         }
+
+         // split the range at a group boundary
+         final int MIDDLE = start + (((end - start) / AI_PER_TASK + 1) / 2) * AI_PER_TASK;
+         invokeAll(new TradeDecisions(ais, randoms, prices, decisions, start, MIDDLE),
+                   new TradeDecisions(ais, randoms, prices, decisions, MIDDLE, end));
+      }
+   }
+
    // INSTANCE METHODS
    /**
     * Calls on the appropriate function for
@@ -347,10 +456,8 @@ public class AIHandler extends TimerTask {
     */
    public void run() {
       // don't allow more than one singleton
-      if (timerTaskAIHandler != this) {
-         cancel();
+      if (aiHandler != this)
          return;
-      }
 
       // don't run if AI aren't set up
       if (queue == null)
@@ -396,11 +503,11 @@ public class AIHandler extends TimerTask {
       if (tradesPending == null)
          tradesPending = new HashMap<Ware, Integer>();
 
-      // initiate AI trades
-      for (AI ai : activeAI)
-         ai.trade(tradesPending);
+      // initiate AI trades, pricing each ware once for every AI
+      decideTrades(activeAI, ThreadLocalRandom.current().nextLong(), PriceSnapshot.capture(activeAI), tradesPending,
+                   Config.aiParallelThreshold > 0 && activeAI.length >= Config.aiParallelThreshold);
 
       // finalize trades
-      AI.finalizeTrades(tradesPending);
+      MarketEventLoop.execute(() -> AI.finalizeTrades(tradesPending));
    }
 }
\ No newline at end of file
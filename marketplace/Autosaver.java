@@ -0,0 +1,282 @@
+package commandeconomy;
+
+import java.io.File;                  // for measuring save files
+
+/**
+ * Saves wares and accounts once enough has changed,
+ * rather than on a fixed schedule regardless of trading.
+ * <p>
+ * Changes are checked every few seconds. A save is triggered when
+ * enough wares and accounts have changed, when their entries are estimated
+ * to hold enough unsaved bytes, when the oldest unsaved change grows too old,
+ * or when the interface requests a save. Stopping saves any remaining changes.
+ * Once triggered, saving waits for a check without newly changed wares or accounts,
+ * so bursts of trades are saved together. While a previous save is still being written,
+ * checks are made less often.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2021-12-12
+ */
+public class Autosaver {
+   // STATIC ATTRIBUTES
+   /** name identifying the scheduled task */
+   static final String TASK_NAME = "autosaver";
+   /** most checks which may be skipped while a previous save is still being written */
+   private static final int BACKOFF_MAX = 32;
+   /** estimated bytes within a ware's entry until save files may be measured */
+   private static final long BYTES_PER_WARE_DEFAULT = 160;
+   /** estimated bytes within an account's entry until save files may be measured */
+   private static final long BYTES_PER_ACCOUNT_DEFAULT = 64;
+
+   // thread management
+   /** for periodically checking whether to save */
+   private static volatile MarketScheduler.Task taskAutosaver = null;
+
+   // saving state
+   /** when the oldest unsaved change was noticed in milliseconds since the epoch or 0 if nothing is unsaved */
+   private static volatile long changedSince = 0;
+   /** how many wares and accounts had changed when last checked */
+   private static int changedLastCheck = 0;
+   /** whether a save has been triggered and is waiting for trading to quiet down */
+   private static boolean triggered = false;
+   /** whether the interface asked for a save */
+   private static volatile boolean saveRequested = false;
+   /** how many checks to skip while waiting for a previous save to be written */
+   private static int checksToSkip = 0;
+   /** how many checks to skip next time a previous save is still being written */
+   private static int backoff = 1;
+   /** estimated bytes within each ware's entry */
+   private static long bytesPerWare = BYTES_PER_WARE_DEFAULT;
+   /** estimated bytes within each account's entry */
+   private static long bytesPerAccount = BYTES_PER_ACCOUNT_DEFAULT;
+   /** whether entry sizes should be measured once save files are written */
+   private static boolean entrySizesStale = true;
+
+   // metrics
+   /** how long the most recently saved changes waited to be saved, in milliseconds */
+   private static volatile long saveLagLast = 0;
+   /** how many times wares and accounts were automatically saved */
+   private static volatile int savesCompleted = 0;
+   /** how many checks were skipped since a previous save was still being written */
+   private static volatile int checksDeferred = 0;
+
+   // STATIC METHODS
+   /**
+    * Schedules, reschedules, or stops checking whether to save wares and accounts.
+    * <p>
+    * Complexity: O(1)
+    */
+   public static void startOrReconfig() {
+      // if necessary, start, reload, or stop automatic saving
+      if (!Config.disableAutoSaving) {
+         final long CHECK_INTERVAL = Config.autosaveCheckInterval * 1000L; // 1000 milliseconds per second
+
+         // start or reload automatic saving
+         if (taskAutosaver == null || taskAutosaver.getPeriod() != CHECK_INTERVAL)
+            taskAutosaver = MarketScheduler.schedule(TASK_NAME, Autosaver::run, CHECK_INTERVAL, CHECK_INTERVAL, 0.0f);
+      }
+
+      // stop automatic saving
+      else if (taskAutosaver != null)
+         end();
+   }
+
+   /**
+    * Stops checking whether to save wares and accounts,
+    * saving any changes not yet saved so stopping never loses trades.
+    * <p>
+    * Complexity: O(n), where n is the number of wares changed since the last save
+    */
+   public static void end() {
+      // if necessary, stop automatic saving
+      if (taskAutosaver != null) {
+         taskAutosaver.cancel();
+         taskAutosaver = null;
+         savePending();
+      }
+
+      // forget unsaved changes so restarting measures them anew
+      changedSince     = 0;
+      changedLastCheck = 0;
+      triggered        = false;
+      saveRequested    = false;
+      checksToSkip     = 0;
+      backoff          = 1;
+      entrySizesStale  = true;
+   }
+
+   /**
+    * Asks for wares and accounts to be saved at the next check,
+    * once trading quiets down. Does nothing if automatic saving is disabled.
+    * Repeated requests before the save are combined.
+    * <p>
+    * Complexity: O(1)
+    */
+   public static void requestSave() {
+      if (taskAutosaver != null)
+         saveRequested = true;
+   }
+
+   /**
+    * Returns how long the oldest unsaved change has waited to be saved.
+    * <p>
+    * Complexity: O(1)
+    * @return milliseconds since the oldest unsaved change was noticed or 0 if nothing is unsaved
+    */
+   public static long getSaveLag() {
+      final long CHANGED_SINCE = changedSince;
+      if (CHANGED_SINCE == 0)
+         return 0;
+      return System.currentTimeMillis() - CHANGED_SINCE;
+   }
+
+   /**
+    * Returns how long the most recently saved changes waited to be saved.
+    * <p>
+    * Complexity: O(1)
+    * @return milliseconds the oldest change within the last automatic save waited
+    */
+   public static long getSaveLagLast() {
+      return saveLagLast;
+   }
+
+   /**
+    * Returns how many times wares and accounts were automatically saved.
+    * <p>
+    * Complexity: O(1)
+    * @return number of automatic saves
+    */
+   public static int getSavesCompleted() {
+      return savesCompleted;
+   }
+
+   /**
+    * Returns how many checks were skipped since a previous save was still being written.
+    * <p>
+    * Complexity: O(1)
+    * @return number of deferred checks
+    */
+   public static int getChecksDeferred() {
+      return checksDeferred;
+   }
+
+   /**
+    * Decides whether to save wares and accounts, saving them if necessary.
+    * <p>
+    * Complexity: O(n), where n is the number of wares changed since the last save
+    * @param now milliseconds since the epoch
+    * @return true if wares and accounts were saved
+    */
+   static synchronized boolean check(long now) {
+      final int CHANGED_WARES    = Marketplace.getNumWaresChanged();
+      final int CHANGED_ACCOUNTS = Account.getNumAccountsChanged();
+      final int CHANGED          = CHANGED_WARES + CHANGED_ACCOUNTS;
+
+      // if there is nothing to save, do nothing
+      if (CHANGED == 0) {
+         changedSince     = 0;
+         changedLastCheck = 0;
+         triggered        = false;
+         saveRequested    = false;
+         return false;
+      }
+      if (changedSince == 0)
+         changedSince = now;
+
+      // if a previous save is still being written, check less often
+      if (checksToSkip > 0) {
+         checksToSkip--;
+         checksDeferred++;
+         return false;
+      }
+      if (SnapshotWriter.isWriting()) {
+         checksToSkip = backoff;
+         backoff      = Math.min(backoff * 2, BACKOFF_MAX);
+         checksDeferred++;
+         return false;
+      }
+      backoff = 1;
+
+      // measure entries once the previous save has been written
+      if (entrySizesStale)
+         measureEntrySizes();
+
+      // check whether enough has changed to save
+      final long AGE = now - changedSince;
+      if (!triggered) {
+         triggered = saveRequested ||
+                     (Config.autosaveChangedThreshold > 0 && CHANGED >= Config.autosaveChangedThreshold) ||
+                     (Config.autosaveBytesThreshold   > 0 && CHANGED_WARES * bytesPerWare + CHANGED_ACCOUNTS * bytesPerAccount >= Config.autosaveBytesThreshold * 1024L) ||
+                     (Config.autosaveMaxAge           > 0 && AGE >= Config.autosaveMaxAge * 1000L);
+      }
+
+      // wait for trading to quiet down unless changes have waited too long
+      final boolean STILL_CHANGING = CHANGED > changedLastCheck;
+      changedLastCheck = CHANGED;
+      if (!triggered || (STILL_CHANGING && (Config.autosaveMaxAge <= 0 || AGE < Config.autosaveMaxAge * 1000L)))
+         return false;
+
+      // save
+      Marketplace.saveWares();
+      Account.saveAccounts();
+
+      saveLagLast      = AGE;
+      savesCompleted++;
+      changedSince     = 0;
+      changedLastCheck = 0;
+      triggered        = false;
+      saveRequested    = false;
+      entrySizesStale  = true;
+      return true;
+   }
+
+   /**
+    * Saves wares and accounts if anything changed since the last save.
+    * <p>
+    * Complexity: O(n), where n is the number of wares changed since the last save
+    */
+   private static synchronized void savePending() {
+      if (Marketplace.getNumWaresChanged() + Account.getNumAccountsChanged() == 0)
+         return;
+
+      Marketplace.saveWares();
+      Account.saveAccounts();
+      if (changedSince != 0)
+         saveLagLast = System.currentTimeMillis() - changedSince;
+      savesCompleted++;
+   }
+
+   /**
+    * Estimates how many bytes each ware's and account's entry holds
+    * using the sizes of save files.
+    * <p>
+    * Complexity: O(n), where n is the number of account shards
+    */
+   private static void measureEntrySizes() {
+      entrySizesStale = false;
+
+      final int NUM_WARES = Marketplace.getAllWares().size();
+      final long BYTES_WARES = new File(Config.filenameWaresSave).length();
+      if (NUM_WARES > 0 && BYTES_WARES > 0)
+         bytesPerWare = Math.max(1, BYTES_WARES / NUM_WARES);
+
+      final int NUM_ACCOUNTS = Account.getAllAccounts().size();
+      long bytesAccounts     = new File(Config.filenameAccounts).length();
+      for (int shard = 0; shard < Config.accountShards; shard++)
+         bytesAccounts += Account.getShardFile(shard).length();
+      if (NUM_ACCOUNTS > 0 && bytesAccounts > 0)
+         bytesPerAccount = Math.max(1, bytesAccounts / NUM_ACCOUNTS);
+   }
+
+   /**
+    * Checks whether to save the marketplace, saving it if necessary.
+    */
+   private static void run() {
+      try {
+         check(System.currentTimeMillis());
+      } catch (Exception e) {
+         System.err.println("fatal error while automatically saving the marketplace: " + e.getMessage());
+      }
+   }
+}
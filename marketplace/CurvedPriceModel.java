@@ -0,0 +1,140 @@
+package commandeconomy;
+
+/**
+ * Prices wares using a smooth curve relating stock to a unit price multiplier.
+ * <p>
+ * Trading is priced by integrating the curve rather than summing units,
+ * so subclasses need only provide the curve's antiderivative and
+ * inverses for the antiderivative and curve. Since stock changes
+ * by whole units, results are rounded down to the nearest unit.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+abstract class CurvedPriceModel implements PriceModel {
+   // INSTANCE VARIABLES
+   /** the highest a ware's price may increase based on stock quantity */
+   final double priceCeiling;
+   /** the lowest a ware's price may decrease based on stock quantity */
+   final double priceFloor;
+
+   // INSTANCE METHODS
+   /**
+    * Captures the multiplier's bounds.
+    * <p>
+    * Complexity: O(1)
+    * @param priceCeiling the highest the multiplier may be
+    * @param priceFloor   the lowest the multiplier may be
+    */
+   CurvedPriceModel(double priceCeiling, double priceFloor) {
+      this.priceCeiling = priceCeiling;
+      this.priceFloor   = priceFloor;
+   }
+
+   /**
+    * Returns how much supply and demand affect a unit's price at a given stock.
+    * <p>
+    * Complexity: O(1)
+    * @param quantity stock to be evaluated
+    * @return unit price multiplier
+    */
+   abstract double multiplier(double quantity);
+
+   /**
+    * Returns an antiderivative of the multiplier.
+    * Only differences between values are meaningful.
+    * <p>
+    * Complexity: O(1)
+    * @param quantity stock to be evaluated
+    * @return sum of multipliers up to the stock
+    */
+   abstract double integral(double quantity);
+
+   /**
+    * Returns the stock at which the antiderivative reaches a given value.
+    * <p>
+    * Complexity: O(1)
+    * @param value antiderivative's value
+    * @return stock corresponding to the value
+    */
+   abstract double integralInverse(double value);
+
+   /**
+    * Returns the stock at which the multiplier reaches a given value.
+    * Only called for values between the price floor and price ceiling.
+    * <p>
+    * Complexity: O(1)
+    * @param multiplier unit price multiplier to be sought
+    * @return stock corresponding to the multiplier
+    * or positive infinity if the curve never falls so low
+    */
+   abstract double multiplierInverse(double multiplier);
+
+   @Override
+   public float cost(float priceNoQuantityEffect, int quanOnMarket, int quanToTrade) {
+      if (quanToTrade <= 0)
+         return 0.0f;
+
+      return (float) (priceNoQuantityEffect * (integral((double) quanOnMarket + quanToTrade) - integral(quanOnMarket)));
+   }
+
+   @Override
+   public int quantityForBudget(float priceNoQuantityEffect, int quanOnMarket, float moneyAvailable) {
+      if (moneyAvailable <= 0.0f)
+         return 0;
+
+      // if the ware is free, everything is affordable
+      if (priceNoQuantityEffect <= 0.0f)
+         return Integer.MAX_VALUE;
+
+      // purchasing lowers stock, so find where stock would be after spending everything
+      final double QUAN_REMAINING = integralInverse(integral(quanOnMarket) - moneyAvailable / priceNoQuantityEffect);
+      return toQuantity(quanOnMarket - QUAN_REMAINING);
+   }
+
+   @Override
+   public int quantityUntilUnitPrice(float priceNoQuantityEffect, int quanOnMarket, float priceUnit, boolean isPurchase) {
+      // if the ware is free, every price is acceptable
+      if (priceNoQuantityEffect <= 0.0f)
+         return quanOnMarket;
+
+      // handle prices the curve never crosses the same way linear pricing does
+      final double MULTIPLIER = (double) priceUnit / priceNoQuantityEffect;
+      if (MULTIPLIER >= priceCeiling)
+         return quanOnMarket;
+      if (MULTIPLIER <= priceFloor)
+         return isPurchase ? 0 : quanOnMarket;
+
+      // find stock at the acceptable price
+      final double QUAN_AT_PRICE = multiplierInverse(MULTIPLIER);
+      if (QUAN_AT_PRICE == Double.POSITIVE_INFINITY)
+         return isPurchase ? 0 : quanOnMarket;
+
+      // find delta between current quantity and acceptable quantity
+      if (isPurchase)
+         return toQuantity(quanOnMarket - QUAN_AT_PRICE);
+      else
+         return toQuantity(QUAN_AT_PRICE - quanOnMarket);
+   }
+
+   /**
+    * Rounds a change in stock down to whole units,
+    * allowing for rounding errors pushing whole numbers slightly lower.
+    * <p>
+    * Complexity: O(1)
+    * @param quantity change in stock
+    * @return whole units within integer bounds
+    */
+   private static int toQuantity(double quantity) {
+      if (Double.isNaN(quantity))
+         return 0;
+
+      quantity = Math.floor(quantity + 1.0e-6);
+      if (quantity >= Integer.MAX_VALUE)
+         return Integer.MAX_VALUE;
+      if (quantity <= Integer.MIN_VALUE)
+         return Integer.MIN_VALUE;
+      return (int) quantity;
+   }
+}
@@ -0,0 +1,124 @@
+package commandeconomy;
+
+/**
+ * Changes prices by a constant percentage for each unit
+ * stock moves away from equilibrium, reaching the price ceiling at deficient stock
+ * and the price floor at excessive stock.
+ * <p>
+ * Between deficient and excessive stock, the unit price multiplier is
+ * e^(rate * (equilibrium - stock)), using one rate below equilibrium
+ * and another above it. Since an exponential never reaches zero,
+ * a price floor of zero is treated as a small positive floor.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class ExponentialPriceModel extends CurvedPriceModel {
+   // STATIC VARIABLES
+   /** lowest price floor usable by an exponential curve */
+   static final double PRICE_FLOOR_MIN = 0.01;
+
+   // INSTANCE VARIABLES
+   /** quantity below which wares are considered scarce */
+   private final double quanFloor;
+   /** quantity at which wares are considered balanced */
+   private final double quanEquilibrium;
+   /** quantity above which wares are considered saturated */
+   private final double quanCeiling;
+   /** how quickly prices rise per unit below equilibrium */
+   private final double rateScarce;
+   /** how quickly prices fall per unit above equilibrium */
+   private final double rateSaturated;
+   /** antiderivative's value at the price ceiling stock */
+   private final double integralFloor;
+   /** antiderivative's value at the price floor stock */
+   private final double integralCeiling;
+
+   // INSTANCE METHODS
+   /**
+    * Fits exponential curves to pricing settings for a hierarchy level.
+    * <p>
+    * Complexity: O(1)
+    * @param pricing pricing settings to be used
+    * @param level   hierarchy level to be priced
+    */
+   ExponentialPriceModel(PricingContext pricing, int level) {
+      super(pricing.priceCeiling, Math.max(pricing.priceFloor, PRICE_FLOOR_MIN));
+
+      quanFloor       = pricing.quanFloor[level];
+      quanEquilibrium = pricing.quanEquilibrium[level];
+      quanCeiling     = pricing.quanCeiling[level];
+
+      // find rates reaching the price ceiling and floor at their stocks
+      if (pricing.quanFloorToEquilibrium[level] > 0.0f && priceCeiling > 0.0)
+         rateScarce    = Math.log(priceCeiling) / pricing.quanFloorToEquilibrium[level];
+      else
+         rateScarce    = 0.0;
+      if (pricing.quanCeilingFromEquilibrium[level] > 0.0f)
+         rateSaturated = -Math.log(priceFloor) / pricing.quanCeilingFromEquilibrium[level];
+      else
+         rateSaturated = 0.0;
+
+      integralFloor   = integralNearEquilibrium(rateScarce, quanFloor);
+      integralCeiling = integralNearEquilibrium(rateSaturated, quanCeiling);
+   }
+
+   @Override
+   double multiplier(double quantity) {
+      if (quantity <= quanFloor)
+         return priceCeiling;
+      if (quantity >= quanCeiling)
+         return priceFloor;
+
+      return Math.exp((quantity < quanEquilibrium ? rateScarce : rateSaturated) * (quanEquilibrium - quantity));
+   }
+
+   @Override
+   double integral(double quantity) {
+      // beyond deficient or excessive stock, prices are constant
+      if (quantity < quanFloor)
+         return integralFloor + priceCeiling * (quantity - quanFloor);
+      if (quantity > quanCeiling)
+         return integralCeiling + priceFloor * (quantity - quanCeiling);
+
+      return integralNearEquilibrium(quantity <= quanEquilibrium ? rateScarce : rateSaturated, quantity);
+   }
+
+   @Override
+   double integralInverse(double value) {
+      if (value < integralFloor)
+         return quanFloor + (value - integralFloor) / priceCeiling;
+      if (value > integralCeiling)
+         return quanCeiling + (value - integralCeiling) / priceFloor;
+
+      // integral from equilibrium = (1 - e^(rate * (equilibrium - stock))) / rate
+      final double RATE = value <= 0.0 ? rateScarce : rateSaturated;
+      if (RATE == 0.0)
+         return quanEquilibrium + value;
+      return quanEquilibrium - Math.log1p(-RATE * value) / RATE;
+   }
+
+   @Override
+   double multiplierInverse(double multiplier) {
+      final double RATE = multiplier > 1.0 ? rateScarce : rateSaturated;
+      if (RATE == 0.0)
+         return quanEquilibrium;
+      return quanEquilibrium - Math.log(multiplier) / RATE;
+   }
+
+   /**
+    * Returns the integral of an exponential curve from equilibrium stock to a given stock.
+    * <p>
+    * Complexity: O(1)
+    * @param rate     how quickly prices change per unit
+    * @param quantity stock to integrate to
+    * @return area beneath the curve, negative below equilibrium
+    */
+   private double integralNearEquilibrium(double rate, double quantity) {
+      // if prices are flat, the multiplier is always 1.0
+      if (rate == 0.0)
+         return quantity - quanEquilibrium;
+      return -Math.expm1(rate * (quanEquilibrium - quantity)) / rate;
+   }
+}
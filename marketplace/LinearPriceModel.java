@@ -0,0 +1,295 @@
+package commandeconomy;
+
+/**
+ * Changes prices steadily as stock moves away from equilibrium,
+ * reaching the price ceiling at deficient stock and
+ * the price floor at excessive stock.
+ * <p>
+ * Prices are constant beyond deficient and excessive stock and
+ * follow straight lines between them and equilibrium stock,
+ * so trading within a line costs the average of its first and last units.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class LinearPriceModel implements PriceModel {
+   // INSTANCE VARIABLES
+   /** the highest a ware's price may increase based on stock quantity */
+   private final float priceCeiling;
+   /** the lowest a ware's price may decrease based on stock quantity */
+   private final float priceFloor;
+   /** 1.0 - priceCeiling */
+   private final float priceCeilingAdjusted;
+   /** 1.0 - priceFloor */
+   private final float priceFloorAdjusted;
+   /** quantity above which wares are considered saturated */
+   private final int   quanCeiling;
+   /** quantity below which wares are considered scarce */
+   private final int   quanFloor;
+   /** quantity at which wares are considered balanced */
+   private final int   quanEquilibrium;
+   /** how much quantity is between the price floor stock and equilibrium stock */
+   private final float quanFloorToEquilibrium;
+   /** how much quantity is between equilibrium stock and the price ceiling stock */
+   private final float quanCeilingFromEquilibrium;
+
+   // INSTANCE METHODS
+   /**
+    * Captures pricing settings for a hierarchy level.
+    * <p>
+    * Complexity: O(1)
+    * @param pricing pricing settings to be used
+    * @param level   hierarchy level to be priced
+    */
+   LinearPriceModel(PricingContext pricing, int level) {
+      priceCeiling               = pricing.priceCeiling;
+      priceFloor                 = pricing.priceFloor;
+      priceCeilingAdjusted       = pricing.priceCeilingAdjusted;
+      priceFloorAdjusted         = pricing.priceFloorAdjusted;
+      quanCeiling                = pricing.quanCeiling[level];
+      quanFloor                  = pricing.quanFloor[level];
+      quanEquilibrium            = pricing.quanEquilibrium[level];
+      quanFloorToEquilibrium     = pricing.quanFloorToEquilibrium[level];
+      quanCeilingFromEquilibrium = pricing.quanCeilingFromEquilibrium[level];
+   }
+
+   /**
+    * Returns the price of trading a quantity starting from a given stock
+    * by summing the price of each price quadrant traded within.
+    * <p>
+    * Complexity: O(1)
+    * @param priceNoQuantityEffect ware's unit price without considering supply and demand
+    * @param quanOnMarket          quantity available for sale before the first unit is added
+    * @param quanToTrade           how many units to price
+    * @return total price of the quantity
+    */
+   @Override
+   public float cost(float priceNoQuantityEffect, int quanOnMarket, int quanToTrade) {
+      float priceTotal       = 0.0f; // total price of quantity traded
+      int   quanPartialTrade = 0;    // quantity to be traded in a particular price quadrant
+
+      // if understocked, enforce a price ceiling
+      if (quanToTrade > 0 && quanOnMarket < quanFloor) {
+         // figure how how much should be sold in this price quadrant
+         if ((quanOnMarket + quanToTrade) <= quanFloor)
+            quanPartialTrade += quanToTrade;
+         else
+            quanPartialTrade += quanFloor - quanOnMarket;
+
+         // trade within the price quadrant
+         priceTotal   += quanPartialTrade * priceNoQuantityEffect * priceCeiling;
+         quanOnMarket += quanPartialTrade;
+         quanToTrade  -= quanPartialTrade;
+      }
+
+      // if below equilibrium, raise the price
+      if (quanToTrade > 0 && quanOnMarket < quanEquilibrium) {
+         // figure how how much should be sold in this price quadrant
+         if ((quanOnMarket + quanToTrade) <= quanEquilibrium)
+            quanPartialTrade = quanToTrade;
+         else
+            quanPartialTrade = quanEquilibrium - quanOnMarket;
+
+         // trade within the price quadrant
+         // price in a price quadrant = (cost of first unit to trade + cost of last unit to trade) / 2 * quantity sold
+         // scarcity price rise percent = price ceiling multiplier - percent distance away from equilibrium toward stock floor
+         priceTotal   += quanPartialTrade * priceNoQuantityEffect * (1.0f + priceCeilingAdjusted * (((quanOnMarket + ((float) (quanPartialTrade + 1) / 2) - quanEquilibrium)) / quanFloorToEquilibrium));
+         quanOnMarket += quanPartialTrade;
+         quanToTrade  -= quanPartialTrade;
+      }
+
+      // if at equilibrium, use balanced price
+      if (quanToTrade > 0 && quanOnMarket == quanEquilibrium) {
+         priceTotal += priceNoQuantityEffect;
+         quanOnMarket++;
+         quanToTrade--;
+      }
+
+      // if above equilibrium, lower the price
+      if (quanToTrade > 0 && quanCeiling > quanOnMarket && quanOnMarket > quanEquilibrium) {
+         // figure how how much should be sold in this price quadrant
+         if ((quanOnMarket + quanToTrade) <= quanCeiling)
+            quanPartialTrade = quanToTrade;
+         else
+            quanPartialTrade = quanCeiling - quanOnMarket;
+
+         // trade within the price quadrant
+         // price in a price quadrant = (cost of first unit to trade + cost of last unit to trade) / 2 * quantity sold
+         // saturation price drop percent = price floor multiplier - percent distance away from equilibrium toward overstocked
+         priceTotal   += quanPartialTrade * priceNoQuantityEffect * (1.0f - priceFloorAdjusted * (((quanOnMarket + ((float) (quanPartialTrade + 1) / 2) - quanEquilibrium)) / quanCeilingFromEquilibrium));
+         quanOnMarket += quanPartialTrade;
+         quanToTrade  -= quanPartialTrade;
+      }
+
+      // if overstocked, enforce a price floor
+      if (quanToTrade > 0 && quanOnMarket >= quanCeiling)
+         priceTotal += quanToTrade * priceNoQuantityEffect * priceFloor;
+
+      return priceTotal;
+   }
+
+   /**
+    * Returns how much of a ware may be purchased with a given budget
+    * by solving each price quadrant's sum using the quadratic formula.
+    * <p>
+    * Complexity: O(1)
+    * @param priceNoQuantityEffect ware's unit price without considering supply and demand
+    * @param quanOnMarket          quantity available for sale
+    * @param moneyAvailable        maximum amount of money to spend
+    * @return amount which can be bought
+    */
+   @Override
+   public int quantityForBudget(float priceNoQuantityEffect, int quanOnMarket, float moneyAvailable) {
+      // initialize variables
+      float priceUnit;               // multiplier for how much supply and demand are affecting price
+      int   quanPartialTrade;        // quantity to be traded in a particular price quadrant
+      int   purchasableQuantity = 0; // how much quantity many be purchased
+
+      // prepare to use quadratic formula to solve for purchasable quantity
+      float quadraticFormulaA;
+      float quadraticFormulaB;
+      float quadraticFormulaC;
+
+      // find price quadrant and grab values
+      // (quad 1) if at or below price floor
+      if (quanOnMarket > quanCeiling) {
+         quanPartialTrade = quanOnMarket - quanCeiling;
+         priceUnit        = priceNoQuantityEffect * priceFloor;
+
+         // find how much quantity until crossing
+         if (priceUnit * quanPartialTrade >= moneyAvailable) {
+            // if not crossing, divide money by constant price
+            purchasableQuantity = (int) (moneyAvailable / priceUnit);
+
+            // zero out money to avoid checking next price quadrants
+            moneyAvailable = 0.0f;
+            quanOnMarket -= quanPartialTrade;
+         } else {
+            // if crossing, multiple constant price by total quantity before crossing
+            purchasableQuantity  = quanPartialTrade;
+            moneyAvailable      -= priceUnit * quanPartialTrade;
+
+            // remove purchased quantity to cross into next price quadrant
+            quanOnMarket -= quanPartialTrade;
+         }
+      }
+
+      // (quad 2) if above equilibrium
+      if (moneyAvailable > 0.0f  && quanOnMarket > quanEquilibrium) {
+         // find the average price of price quadrant's remaining quantity until crossing
+         quanPartialTrade = quanOnMarket - quanEquilibrium - 1;
+         priceUnit        = priceNoQuantityEffect * (1.0f - priceFloorAdjusted * (((quanOnMarket - ((float) quanPartialTrade / 2) - quanEquilibrium)) / quanCeilingFromEquilibrium));
+
+         // find how much quantity until crossing
+         if (priceUnit * quanPartialTrade > moneyAvailable) {
+            // if not crossing, use quadratic formula to solve for purchasable quantity
+            quadraticFormulaA = 0.5f * priceFloorAdjusted;
+            quadraticFormulaB = quanCeilingFromEquilibrium + priceFloorAdjusted * (quanEquilibrium - quanOnMarket - 0.5f);
+            quadraticFormulaC = -moneyAvailable * quanCeilingFromEquilibrium / priceNoQuantityEffect;
+            purchasableQuantity += (int) ((-quadraticFormulaB + Math.sqrt(Math.pow(quadraticFormulaB, 2) - (4 * quadraticFormulaA * quadraticFormulaC))) / (2 * quadraticFormulaA));
+
+            // zero out money to avoid checking next price quadrants
+            moneyAvailable = 0.0f;
+         } else {
+            // if crossing, multiple average price by total quantity before crossing
+            purchasableQuantity += quanPartialTrade;
+            moneyAvailable      -= priceUnit * quanPartialTrade;
+
+            // remove purchased quantity to cross into next price quadrant
+            quanOnMarket -= quanPartialTrade;
+         }
+      }
+
+      // (quad3) if below equilibrium
+      if (moneyAvailable > 0.0f && quanFloor < quanOnMarket) {
+         // find the average price of price quadrant's remaining quantity until crossing
+         quanPartialTrade = quanOnMarket - quanFloor + 1;
+         priceUnit        = priceNoQuantityEffect * (1.0f + priceCeilingAdjusted * (((quanOnMarket - ((float) quanPartialTrade / 2) - quanEquilibrium)) / quanFloorToEquilibrium));
+
+         // find how much quantity until crossing
+         if (priceUnit * quanPartialTrade > moneyAvailable) {
+            // if not crossing, use quadratic formula to solve for purchasable quantity
+            quadraticFormulaA = -0.5f * priceCeilingAdjusted;
+            quadraticFormulaB = quanFloorToEquilibrium + priceCeilingAdjusted * (quanOnMarket - quanEquilibrium + 0.5f);
+            quadraticFormulaC = -moneyAvailable * quanFloorToEquilibrium / priceNoQuantityEffect;
+            purchasableQuantity += (int) ((-quadraticFormulaB + Math.sqrt(Math.pow(quadraticFormulaB, 2) - (4 * quadraticFormulaA * quadraticFormulaC))) / (2 * quadraticFormulaA));
+
+            // zero out money to avoid checking next price quadrants
+            moneyAvailable = 0.0f;
+         } else {
+            // if crossing, multiple average price by total quantity before crossing
+            purchasableQuantity += quanPartialTrade;
+            moneyAvailable      -= priceUnit * quanPartialTrade;
+
+            // remove purchased quantity to cross into next price quadrant
+            quanOnMarket -= quanPartialTrade;
+         }
+      }
+
+      // (quad 4) if at price ceiling
+      if (moneyAvailable > 0.0f && quanOnMarket <= quanFloor + 1) {
+         // divide money by constant price
+         purchasableQuantity += (int) ((moneyAvailable / (priceNoQuantityEffect * priceCeiling)) + 0.5f);
+      }
+
+      return purchasableQuantity;
+   }
+
+   /**
+    * Returns how much of a ware may be traded before reaching a given unit price
+    * by solving the price quadrant containing the price.
+    * <p>
+    * Complexity: O(1)
+    * @param priceNoQuantityEffect ware's unit price without considering supply and demand
+    * @param quanOnMarket          quantity available for sale
+    * @param priceUnit             unit price to be sought
+    * @param isPurchase            <code>true</code> if the price should reflect buying the ware
+    *                              <code>false</code> if the price should reflect selling the ware
+    * @return units until given price is reached
+    */
+   @Override
+   public int quantityUntilUnitPrice(float priceNoQuantityEffect, int quanOnMarket, float priceUnit, boolean isPurchase) {
+      int quantityUntilPrice; // units until given price is reached
+
+      // quad1/quad2, if acceptable price is above equilibrium price
+      if (priceUnit > priceNoQuantityEffect) {
+         // quad1, if price is above ceiling
+         if (priceUnit >= priceNoQuantityEffect * priceCeiling) {
+            // if the highest possible price is acceptable,
+            // everything is acceptable
+            return quanOnMarket;
+         }
+         // quad2, if price is below ceiling and above equilibrium
+         else {
+            // find quantity at acceptable price
+            quantityUntilPrice = (int) -((((-priceUnit / priceNoQuantityEffect + 1.0f) / priceCeilingAdjusted) * quanFloorToEquilibrium) + 1 - quanEquilibrium);
+         }
+      }
+      // quad3/quad4, if acceptable price is below equilibrium price
+      else {
+         // quad4, if price is below price floor
+         if (priceUnit <= priceNoQuantityEffect * priceFloor) {
+            if (isPurchase)
+               // if the lowest possible price is unacceptable,
+               // nothing is acceptable
+               return 0;
+            else
+               // if the lowest possible price is acceptable,
+               // everything is acceptable
+               return quanOnMarket;
+         }
+         // quad3, if price is above floor and below equilibrium
+         else {
+            // find quantity at acceptable price
+            quantityUntilPrice = (int) (((-priceUnit / priceNoQuantityEffect + 1.0f) / priceFloorAdjusted * quanCeilingFromEquilibrium) - 1 + quanEquilibrium);
+         }
+      }
+
+      // find delta between current quantity and acceptable quantity
+      if (isPurchase)
+         return quanOnMarket - quantityUntilPrice;
+      else
+         return quantityUntilPrice - quanOnMarket;
+   }
+}
@@ -0,0 +1,132 @@
+package commandeconomy;
+
+/**
+ * Changes prices along an S-shaped curve, gently near the price ceiling and floor
+ * and most quickly around equilibrium stock.
+ * <p>
+ * The curve is the algebraic sigmoid x / sqrt(1 + x^2) rather than
+ * the logistic function since its integral may be inverted exactly,
+ * letting budgets be solved without iterating. The curve approaches
+ * the price ceiling and floor without reaching them, covering 90% of
+ * the distance between them from deficient to excessive stock, and
+ * is shifted so the multiplier is 1.0 at equilibrium stock.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class LogisticPriceModel extends CurvedPriceModel {
+   // STATIC VARIABLES
+   /** sigmoid input where the sigmoid reaches 0.9, covering 90% of its range across x = [-this, this] */
+   private static final double SIGMOID_SPAN = 2.065;
+   /** furthest the sigmoid's midpoint is allowed to be pushed from equilibrium, in sigmoid outputs */
+   private static final double SIGMOID_LIMIT = 0.999;
+
+   // INSTANCE VARIABLES
+   /** how quickly the sigmoid changes per unit of stock */
+   private final double steepness;
+   /** stock where the multiplier is halfway between the price ceiling and floor */
+   private final double quanMidpoint;
+   /** average of the price ceiling and floor; the antiderivative's linear coefficient */
+   private final double slopeAverage;
+   /** antiderivative's coefficient for the sigmoid's integral */
+   private final double sigmoidScale;
+
+   // INSTANCE METHODS
+   /**
+    * Fits a sigmoid to pricing settings for a hierarchy level.
+    * <p>
+    * Complexity: O(1)
+    * @param pricing pricing settings to be used
+    * @param level   hierarchy level to be priced
+    */
+   LogisticPriceModel(PricingContext pricing, int level) {
+      super(pricing.priceCeiling, pricing.priceFloor);
+
+      final double RANGE     = priceCeiling - priceFloor;
+      final double QUAN_SPAN = pricing.quanCeiling[level] - pricing.quanFloor[level];
+
+      // spread the sigmoid's steep portion across deficient to excessive stock
+      if (QUAN_SPAN > 0.0)
+         steepness = 2.0 * SIGMOID_SPAN / QUAN_SPAN;
+      else
+         steepness = 1.0;
+
+      // shift the sigmoid so equilibrium has a multiplier of 1.0
+      // 1.0 = floor + range * (1 - y) / 2
+      double sigmoidAtEquilibrium = 0.0;
+      if (RANGE > 0.0)
+         sigmoidAtEquilibrium = 1.0 - 2.0 * (1.0 - priceFloor) / RANGE;
+      if (sigmoidAtEquilibrium > SIGMOID_LIMIT)
+         sigmoidAtEquilibrium = SIGMOID_LIMIT;
+      else if (sigmoidAtEquilibrium < -SIGMOID_LIMIT)
+         sigmoidAtEquilibrium = -SIGMOID_LIMIT;
+      quanMidpoint = pricing.quanEquilibrium[level] - sigmoidInverse(sigmoidAtEquilibrium) / steepness;
+
+      slopeAverage = (priceCeiling + priceFloor) / 2.0;
+      sigmoidScale = RANGE / (2.0 * steepness);
+   }
+
+   @Override
+   double multiplier(double quantity) {
+      final double X = steepness * (quantity - quanMidpoint);
+      return slopeAverage - sigmoidScale * steepness * X / Math.sqrt(1.0 + X * X);
+   }
+
+   @Override
+   double integral(double quantity) {
+      // integral of (floor + range * (1 - y) / 2) = average * q - range / 2 * sqrt(1 + x^2) / steepness
+      final double X = steepness * (quantity - quanMidpoint);
+      return slopeAverage * quantity - sigmoidScale * Math.sqrt(1.0 + X * X);
+   }
+
+   @Override
+   double integralInverse(double value) {
+      // where z = stock - midpoint and k = value - average * midpoint:
+      // average * z - k = scale * sqrt(1 + (steepness * z)^2)
+      // squaring gives (ceiling * floor) z^2 - 2 * average * k * z + (k^2 - scale^2) = 0
+      final double K = value - slopeAverage * quanMidpoint;
+      final double A = priceCeiling * priceFloor;
+      final double B = -2.0 * slopeAverage * K;
+      final double C = K * K - sigmoidScale * sigmoidScale;
+
+      // if the price floor is zero, the equation is linear
+      if (A == 0.0) {
+         if (B == 0.0)
+            return quanMidpoint;
+         return quanMidpoint - C / B;
+      }
+
+      // solve the quadratic without subtracting similar numbers
+      final double DISCRIMINANT = Math.max(0.0, B * B - 4.0 * A * C);
+      final double Q            = -0.5 * (B + Math.copySign(Math.sqrt(DISCRIMINANT), B));
+      final double ROOT1        = Q / A;
+      final double ROOT2        = Q != 0.0 ? C / Q : ROOT1;
+
+      // squaring admits a false root, so keep whichever actually reaches the value
+      if (Math.abs(integral(quanMidpoint + ROOT1) - value) <= Math.abs(integral(quanMidpoint + ROOT2) - value))
+         return quanMidpoint + ROOT1;
+      else
+         return quanMidpoint + ROOT2;
+   }
+
+   @Override
+   double multiplierInverse(double multiplier) {
+      // multiplier = floor + range * (1 - y) / 2
+      final double RANGE = priceCeiling - priceFloor;
+      if (RANGE <= 0.0)
+         return quanMidpoint;
+      return quanMidpoint + sigmoidInverse(1.0 - 2.0 * (multiplier - priceFloor) / RANGE) / steepness;
+   }
+
+   /**
+    * Returns the sigmoid input producing a given output.
+    * <p>
+    * Complexity: O(1)
+    * @param y sigmoid output, between -1 and 1
+    * @return x such that x / sqrt(1 + x^2) = y
+    */
+   private static double sigmoidInverse(double y) {
+      return y / Math.sqrt(1.0 - y * y);
+   }
+}
@@ -0,0 +1,348 @@
+package commandeconomy;
+
+import java.util.concurrent.atomic.AtomicLong;      // for claiming places within the queue
+import java.util.concurrent.atomic.AtomicLongArray; // for publishing commands to the market thread
+import java.util.concurrent.atomic.AtomicReferenceArray; // for returning failures to waiting threads
+import java.util.concurrent.locks.LockSupport;     // for waking threads without locks
+
+/**
+ * Optionally makes every change to wares' quantities on a single market thread.
+ * <p>
+ * When enabled, trades, AI trades, random events, rebalancing, and stock changes
+ * are handed to the market thread through a queue of fixed size
+ * rather than competing for the marketplace's mutex on the threads requesting them.
+ * Since only the market thread changes wares, the mutex it acquires is never contended.
+ * Threads handing over changes wait for them to finish, so changes are still
+ * reported to users in order and callers may rely on their effects.
+ * Anything a change throws is rethrown to the thread which handed it over,
+ * just as if the change had been made on that thread.
+ * <p>
+ * The queue is a ring buffer holding many producers' commands for one consumer.
+ * Producers claim places within the queue by incrementing a counter,
+ * then publish commands by recording each place's sequence number.
+ * No locks are used and no objects are allocated for queueing.
+ * Reading prices and other queries remain on the threads requesting them.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class MarketEventLoop {
+   // STATIC VARIABLES
+   /** longest time a waiting thread sleeps before checking whether the market thread stopped, in nanoseconds */
+   private static final long PARK_NANOS_MAX = 10000000L; // 10 ms
+   /** how many times threads yield while waiting before sleeping, since most commands finish within microseconds */
+   private static final int SPINS = 64;
+
+   /** market thread currently running or null if changes are made on threads requesting them */
+   private static volatile MarketEventLoop loop = null;
+
+   // INSTANCE VARIABLES
+   /** commands waiting to be run, indexed by sequence number modulo capacity */
+   private final Runnable[] commands;
+   /** threads waiting for their commands to finish */
+   private final Thread[] waiters;
+   /** whatever each place's failed command threw until its thread takes it or null */
+   private final AtomicReferenceArray<Throwable> failures;
+   /** one more than the sequence number of each place's most recently failed command */
+   private final AtomicLongArray failed;
+   /** one more than the sequence number of each place's most recently published command */
+   private final AtomicLongArray published;
+   /** used to find places within the queue; capacity is a power of two */
+   private final int mask;
+   /** how many commands may wait at once */
+   private final int capacity;
+   /** sequence number to be claimed by the next command */
+   private final AtomicLong claimed = new AtomicLong();
+   /** sequence number of the next command to be run; every earlier command finished */
+   private volatile long consumed = 0L;
+   /** whether the market thread is waiting for commands */
+   private volatile boolean consumerWaiting = false;
+   /** whether the market thread should stop once the queue is empty */
+   private volatile boolean stop = false;
+   /** thread running commands */
+   private final Thread thread;
+
+   // metrics
+   /** most commands waiting at once */
+   private volatile int queueDepthMax = 0;
+
+   // STATIC METHODS
+   /**
+    * Starts, restarts, or stops the market thread according to configuration settings.
+    * <p>
+    * Complexity: O(n), where n is the queue's capacity
+    */
+   public static synchronized void startOrReconfig() {
+      // if necessary, start, reload, or stop the market thread
+      if (Config.marketEventLoop) {
+         final int CAPACITY = roundUpToPowerOfTwo(Config.marketEventLoopCapacity);
+
+         if (loop == null)
+            loop = new MarketEventLoop(CAPACITY);
+
+         // replace the queue after finishing commands already waiting
+         else if (loop.capacity != CAPACITY) {
+            loop.shutdown();
+            loop = new MarketEventLoop(CAPACITY);
+         }
+      }
+
+      // stop the market thread
+      else if (loop != null)
+         end();
+   }
+
+   /**
+    * Finishes any commands waiting for the market thread, then stops the thread.
+    * Afterwards, changes are made on threads requesting them.
+    * <p>
+    * Complexity: O(n), where n is the number of waiting commands
+    */
+   public static synchronized void end() {
+      if (loop == null)
+         return;
+
+      final MarketEventLoop LOOP = loop;
+      loop = null; // send new commands to the threads requesting them
+      LOOP.shutdown();
+   }
+
+   /**
+    * Runs a change to the marketplace on the market thread,
+    * waiting for it to finish. If the market thread isn't running,
+    * the change is made on the current thread instead.
+    * <p>
+    * Changes are also made on the current thread if it is the market thread
+    * or holds the marketplace's mutex, since the market thread might
+    * otherwise wait for the current thread while it waits for the market thread.
+    * <p>
+    * Complexity: O(1), excluding the change and commands queued before it
+    * @param command change to be made
+    */
+   public static void execute(Runnable command) {
+      final MarketEventLoop LOOP = loop;
+      if (LOOP == null || Thread.currentThread() == LOOP.thread || Marketplace.isMutexHeldByCurrentThread()) {
+         command.run();
+         return;
+      }
+
+      LOOP.submit(command);
+   }
+
+   /**
+    * Returns whether changes are made on the market thread.
+    * <p>
+    * Complexity: O(1)
+    * @return true if the market thread is running
+    */
+   public static boolean isRunning() {
+      return loop != null;
+   }
+
+   /**
+    * Returns statistics regarding the market thread.
+    * <p>
+    * Complexity: O(1)
+    * @return {commands run, most commands waiting at once} or zeroes if the market thread isn't running
+    */
+   public static long[] getMetrics() {
+      final MarketEventLoop LOOP = loop;
+      if (LOOP == null)
+         return new long[]{0L, 0L};
+      return new long[]{LOOP.consumed, LOOP.queueDepthMax};
+   }
+
+   /**
+    * Returns the smallest power of two at least as large as a given number.
+    * <p>
+    * Complexity: O(1)
+    * @param number positive number to round up
+    * @return power of two
+    */
+   static int roundUpToPowerOfTwo(int number) {
+      if (number <= 1)
+         return 1;
+      return Integer.highestOneBit(number - 1) << 1;
+   }
+
+   // INSTANCE METHODS
+   /**
+    * Allocates a queue and starts a market thread to empty it.
+    * @param capacity how many commands may wait at once; must be a power of two
+    */
+   private MarketEventLoop(int capacity) {
+      this.capacity = capacity;
+      mask          = capacity - 1;
+      commands      = new Runnable[capacity];
+      waiters       = new Thread[capacity];
+      failures      = new AtomicReferenceArray<Throwable>(capacity);
+      failed        = new AtomicLongArray(capacity);
+      published     = new AtomicLongArray(capacity);
+
+      thread = new Thread(this::consume, "CommandEconomy-market");
+      thread.setDaemon(true); // don't keep the program running
+      thread.start();
+   }
+
+   /**
+    * Queues a command for the market thread and waits for it to finish.
+    * If the command fails, what it threw is rethrown on the current thread.
+    * <p>
+    * Complexity: O(1), excluding the command and commands queued before it
+    * @param command change to be made
+    */
+   private void submit(Runnable command) {
+      // claim a place within the queue
+      final long SEQUENCE = claimed.getAndIncrement();
+      final int  SLOT     = (int) SEQUENCE & mask;
+
+      // if the queue is full, wait for the place to be freed
+      while (SEQUENCE - consumed >= capacity) {
+         if (!thread.isAlive()) { // the market thread stopped before reaching the command
+            command.run();
+            return;
+         }
+         Thread.yield();
+      }
+
+      // if the place's previous command failed, wait for its thread to take the failure
+      while (failures.get(SLOT) != null)
+         Thread.yield();
+
+      // publish the command; writing its sequence number makes earlier writes visible to the market thread
+      commands[SLOT] = command;
+      waiters[SLOT]  = Thread.currentThread();
+      published.set(SLOT, SEQUENCE + 1);
+
+      // record how many commands are waiting
+      final int DEPTH = (int) (SEQUENCE + 1 - consumed);
+      if (DEPTH > queueDepthMax)
+         queueDepthMax = DEPTH; // an approximation is fine, so races are ignored
+
+      // wake the market thread if it is waiting
+      if (consumerWaiting)
+         LockSupport.unpark(thread);
+
+      // wait for the command to finish, briefly yielding before sleeping
+      for (int i = 0; i < SPINS && consumed <= SEQUENCE; i++)
+         Thread.yield();
+      while (consumed <= SEQUENCE) {
+         if (!thread.isAlive() && consumed <= SEQUENCE) { // the market thread stopped before reaching the command
+            command.run();
+            return;
+         }
+         LockSupport.parkNanos(this, PARK_NANOS_MAX);
+      }
+
+      // report the command's failure as if it ran on this thread
+      // the place can't be reused until a failure is taken, but
+      // if this command succeeded, a later command may have failed there
+      final Throwable FAILURE = failures.get(SLOT);
+      if (FAILURE == null || failed.get(SLOT) != SEQUENCE + 1)
+         return;
+      failures.set(SLOT, null);
+      rethrow(FAILURE);
+   }
+
+   /**
+    * Throws a command's failure without wrapping runtime exceptions or errors.
+    * <p>
+    * Complexity: O(1)
+    * @param failure what the command threw
+    */
+   private static void rethrow(Throwable failure) {
+      if (failure instanceof RuntimeException)
+         throw (RuntimeException) failure;
+      if (failure instanceof Error)
+         throw (Error) failure;
+      throw new RuntimeException(failure); // commands are Runnables, so this shouldn't happen
+   }
+
+   /**
+    * Runs queued commands in order until told to stop and the queue is empty.
+    * Only the market thread calls this.
+    * <p>
+    * Complexity: O(n), where n is the number of commands run
+    */
+   private void consume() {
+      long     next  = 0L; // sequence number of the next command to run
+      int      spins = 0;  // how many times the thread yielded waiting for the next command
+      int      slot;
+      Runnable command;
+      Thread   waiter;
+
+      while (true) {
+         slot = (int) next & mask;
+
+         // if the next command hasn't been published, wait for it
+         if (published.get(slot) != next + 1) {
+            // stop once every claimed place has been run
+            if (stop && claimed.get() == next)
+               return;
+
+            // briefly yield before sleeping since commands often arrive in bursts
+            if (spins < SPINS) {
+               spins++;
+               Thread.yield();
+               continue;
+            }
+
+            // announce waiting before checking again so producers can't miss waking this thread
+            consumerWaiting = true;
+            if (published.get(slot) != next + 1) {
+               if (stop)
+                  LockSupport.parkNanos(this, PARK_NANOS_MAX); // a claimed command may still be being published
+               else
+                  LockSupport.park(this);
+            }
+            consumerWaiting = false;
+            continue;
+         }
+
+         // take the command, freeing its place
+         spins          = 0;
+         command        = commands[slot];
+         waiter         = waiters[slot];
+         commands[slot] = null;
+         waiters[slot]  = null;
+
+         // record any failure for the waiting thread to rethrow
+         try {
+            command.run();
+         } catch (Throwable e) {
+            // in case the command failed while holding the mutex,
+            // release every hold it took since the mutex is reentrant
+            while (Marketplace.isMutexHeldByCurrentThread())
+               Marketplace.releaseMutex();
+            failed.set(slot, next + 1);
+            failures.set(slot, e);
+         }
+
+         // report the command finished
+         next++;
+         consumed = next;
+         LockSupport.unpark(waiter);
+      }
+   }
+
+   /**
+    * Finishes commands already queued, then stops the market thread.
+    * <p>
+    * Complexity: O(n), where n is the number of waiting commands
+    */
+   private void shutdown() {
+      stop = true;
+      LockSupport.unpark(thread);
+
+      // the market thread can't wait for itself
+      if (Thread.currentThread() == thread)
+         return;
+
+      try {
+         thread.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+}
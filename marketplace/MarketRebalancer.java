@@ -1,8 +1,5 @@
 package commandeconomy;
 
-import java.util.Timer;               // for handling features relying on timers
-import java.util.TimerTask;           // for disabling features relying on timers mid-execution
-
 /**
  * Periodically moves wares' quantities for sale closer to equilibrium.
  * <p>
@@ -14,25 +11,20 @@ import java.util.TimerTask;           // for disabling features relying on timer
  * @version %I%, %G%
  * @since   2021-09-02
  */
-public class MarketRebalancer extends TimerTask  {
+public class MarketRebalancer {
    // STATIC ATTRIBUTES
+   /** name identifying the scheduled task */
+   static final String TASK_NAME = "market rebalancer";
+
    // thread management
    /** for periodically moving wares' quantities for sale toward equilibrium */
-   private static Timer timerMarketRebalancer = null;
-   /** for stopping the thread gracefully */
-   private static MarketRebalancer timertaskMarketRebalancer = null;
-   /** used to monitor a timer interval for configuration changes */
-   private static int oldAutomaticStockRebalancingFrequency = 0;
+   private static MarketScheduler.Task taskMarketRebalancer = null;
    /** amounts each hierarchy level should periodically adjust by when rebalancing the market */
    private static int[] autoRebalanceAdjustQuantities = null;
 
-   // INSTANCE ATTRIBUTES
-   /** whether the task should continue running */
-   public transient volatile boolean stop = false;
-
    // STATIC METHODS
    /**
-    * Spawns and handles a thread for handling automatically rebalancing wares' quantities for sale within the marketplace.
+    * Schedules, reschedules, or stops automatically rebalancing wares' quantities for sale within the marketplace.
     * <p>
     * Complexity: O(1)
     */
@@ -40,56 +32,34 @@ public class MarketRebalancer extends TimerTask  {
       // if necessary, start, reload, or stop automatic market rebalancing
       if (Config.automaticStockRebalancing && Config.automaticStockRebalancingFrequency > 0) {
          // start automatic market rebalancing
-         if (timerMarketRebalancer == null ) {
+         if (taskMarketRebalancer == null) {
             // calculate how much to adjust wares' quantities for sale
             calcQuantityChanges();
 
-            // initialize timer objects
-            timerMarketRebalancer     = new Timer(true);
-            timertaskMarketRebalancer = new MarketRebalancer();
-
             // initialize periodically rebalancing the marketplace
-            timerMarketRebalancer.scheduleAtFixedRate(timertaskMarketRebalancer, (long) 0, (long) Config.automaticStockRebalancingFrequency * 60000); // 60000 milliseconds per minute
+            taskMarketRebalancer = MarketScheduler.schedule(TASK_NAME, MarketRebalancer::run, 0L, Config.automaticStockRebalancingFrequency, 0.0f);
          }
 
          // reload automatic market rebalancing
-         else if (oldAutomaticStockRebalancingFrequency != Config.automaticStockRebalancingFrequency) {
-            // There's no way to change a task's period.
-            // Therefore, it is necessary to stop the current task
-            // and schedule a new one.
-            timertaskMarketRebalancer.stop = true;
-            timertaskMarketRebalancer.cancel();
-
-            // initialize timertask object
-            timertaskMarketRebalancer = new MarketRebalancer();
-
-            // initialize periodically rebalancing the marketplace
-            timerMarketRebalancer.scheduleAtFixedRate(timertaskMarketRebalancer, (long) 0, (long) Config.automaticStockRebalancingFrequency * 60000); // 60000 milliseconds per minute
-         }
+         else if (taskMarketRebalancer.getPeriod() != Config.automaticStockRebalancingFrequency)
+            taskMarketRebalancer = MarketScheduler.schedule(TASK_NAME, MarketRebalancer::run, 0L, Config.automaticStockRebalancingFrequency, 0.0f);
       }
 
       // stop automatic market rebalancing
-      else if (timerMarketRebalancer != null &&
-               (!Config.automaticStockRebalancing || Config.automaticStockRebalancingFrequency <= 0))
+      else if (taskMarketRebalancer != null)
          end();
-
-      // record timer interval to monitor for changes
-      oldAutomaticStockRebalancingFrequency = Config.automaticStockRebalancingFrequency;
    }
 
    /**
-    * Closes the thread handling moving wares' quantities for sale toward equilibrium.
+    * Stops moving wares' quantities for sale toward equilibrium.
     * <p>
     * Complexity: O(1)
     */
    public static void end() {
       // if necessary, stop automatic marketplace rebalancing
-      if (timerMarketRebalancer != null) {
-         timertaskMarketRebalancer.stop = true;
-         timertaskMarketRebalancer = null;
-         timerMarketRebalancer.cancel();
-         timerMarketRebalancer = null;
-         autoRebalanceAdjustQuantities = null;
+      if (taskMarketRebalancer != null) {
+         taskMarketRebalancer.cancel();
+         taskMarketRebalancer = null;
 
          // deallocate memory
          autoRebalanceAdjustQuantities = null;
@@ -127,6 +97,7 @@ public class MarketRebalancer extends TimerTask  {
       // set up variables
       int quanEquilibrium;
       int quanOnMarket;
+      int quanRebalanced;
       int adjustment;
 
       // prevent other threads from adjusting wares' properties
@@ -149,40 +120,38 @@ public class MarketRebalancer extends TimerTask  {
             continue;
 
          quanEquilibrium = Config.quanEquilibrium[ware.getLevel()];
-         quanOnMarket    = ware.getQuantity();
          adjustment      = autoRebalanceAdjustQuantities[ware.getLevel()];
 
-         // if the ware is overstocked
-         if (quanOnMarket - adjustment > quanEquilibrium) {
-            ware.subtractQuantity(adjustment);
-         }
+         // wares may be traded without the mutex,
+         // so only commit the adjustment if no trade happened since reading the ware's quantity
+         do {
+            quanOnMarket = ware.getQuantity();
 
-         // if ware is understocked
-         else if (quanOnMarket + adjustment < quanEquilibrium) {
-            ware.addQuantity(adjustment);
-         }
+            // if the ware is overstocked
+            if (quanOnMarket - adjustment > quanEquilibrium)
+               quanRebalanced = quanOnMarket - adjustment;
 
-         // if the ware is near equilibrium
-         else {
-            ware.setQuantity(quanEquilibrium);
-         }
+            // if ware is understocked
+            else if (quanOnMarket + adjustment < quanEquilibrium)
+               quanRebalanced = quanOnMarket + adjustment;
+
+            // if the ware is near equilibrium
+            else
+               quanRebalanced = quanEquilibrium;
+         } while (quanRebalanced != quanOnMarket && !ware.compareAndSetQuantity(quanOnMarket, quanRebalanced));
       }
 
       // allow other threads to adjust wares' properties
       Marketplace.releaseMutex();
    }
 
-   // INSTANCE METHODS
    /**
     * Calls on the appropriate function for
     * periodically rebalancing the marketplace.
     */
-   public void run() {
-      if (stop)
-         return;
-
+   private static void run() {
       try {
-         incrementallyRebalanceMarket();
+         MarketEventLoop.execute(MarketRebalancer::incrementallyRebalanceMarket);
       } catch (Exception e) {
          Marketplace.releaseMutex();
          System.err.println("fatal error while automatically rebalancing the marketplace: " + e);
@@ -0,0 +1,386 @@
+package commandeconomy;
+
+import java.util.ArrayList;           // for returning scheduled tasks
+import java.util.Collection;
+import java.util.HashMap;             // for serializing runs of tasks sharing a name
+import java.util.TreeMap;             // for looking up tasks by name
+import java.util.concurrent.ScheduledFuture;           // for cancelling scheduled runs
+import java.util.concurrent.ScheduledThreadPoolExecutor; // for running periodic features on a few shared threads
+import java.util.concurrent.ThreadLocalRandom;         // for randomizing delays
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;      // for naming threads
+import java.util.concurrent.atomic.AtomicLong;         // for tracking run times from several threads
+
+/**
+ * Runs periodic features, such as AI, random events, and automatic saving,
+ * on a small pool of shared threads rather than a thread per feature.
+ * <p>
+ * Each task has a unique name. Scheduling a task using a name
+ * already in use replaces the previous task, so features may be
+ * reconfigured by scheduling themselves again. Tasks may wait a random
+ * amount of time between runs, varying their period by a given fraction.
+ * A task never runs more than once at a time, and a failing run
+ * doesn't prevent later runs. Runs of tasks sharing a name are serialized,
+ * so a replacing task waits for a run of the task it replaced to finish. Threads are started when the first task
+ * is scheduled and stopped once every task is cancelled.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class MarketScheduler {
+   // STATIC VARIABLES
+   /** how many threads run tasks; tasks are infrequent, so a few threads keep one slow task from delaying others */
+   static final int POOL_SIZE = 2;
+
+   /** runs scheduled tasks or null if no tasks are scheduled */
+   private static ScheduledThreadPoolExecutor executor = null;
+   /** tasks currently scheduled, keyed by name */
+   private static final TreeMap<String, Task> tasks = new TreeMap<String, Task>();
+   /** held while running tasks, keyed by name; kept after tasks are cancelled since runs may still be finishing */
+   private static final HashMap<String, Object> runLocks = new HashMap<String, Object>();
+   /** how many threads have been created, for naming them */
+   private static final AtomicInteger threadsCreated = new AtomicInteger();
+
+   /**
+    * A named feature which runs periodically.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   public static final class Task implements Runnable
+   {
+      // INSTANCE VARIABLES
+      /** unique name identifying the task */
+      final String name;
+      /** work to be done each run */
+      private final Runnable action;
+      /** held while running, shared by every task using the same name */
+      private final Object runLock;
+      /** milliseconds between runs, on average */
+      final long period;
+      /** fraction of the period each wait may randomly vary by; 0 waits exactly the period */
+      final float jitter;
+      /** next scheduled run */
+      private volatile ScheduledFuture<?> future = null;
+      /** whether the task should stop running */
+      private volatile boolean cancelled = false;
+
+      // metrics
+      /** how many times the task finished running */
+      private final AtomicLong runs         = new AtomicLong();
+      /** nanoseconds spent running the task */
+      private final AtomicLong runTimeTotal = new AtomicLong();
+      /** nanoseconds spent on the most recent run */
+      private volatile long runTimeLast     = 0L;
+      /** nanoseconds spent on the longest run */
+      private volatile long runTimeMax      = 0L;
+
+      /**
+       * Creates a task to be scheduled.
+       * @param name    unique name identifying the task
+       * @param action  work to be done each run
+       * @param period  milliseconds between runs, on average
+       * @param jitter  fraction of the period each wait may randomly vary by
+       * @param runLock held while running, shared by every task using the same name
+       */
+      private Task(final String name, final Runnable action, final long period, final float jitter, final Object runLock) {
+         this.name    = name;
+         this.action  = action;
+         this.period  = period;
+         this.jitter  = jitter;
+         this.runLock = runLock;
+      }
+
+      /**
+       * Runs the task, recording how long it takes.
+       * If a task this task replaced is still running, waits for it to finish.
+       * Tasks with jitter schedule their next run once finished.
+       */
+      public void run() {
+         if (cancelled)
+            return;
+
+         synchronized (runLock) {
+            // the task may have been replaced while waiting
+            if (cancelled)
+               return;
+
+            final long START = System.nanoTime();
+            try {
+               action.run();
+            } catch (Throwable e) {
+               System.err.println("fatal error while running " + name + ": " + e);
+               e.printStackTrace();
+            } finally {
+               final long RUN_TIME = System.nanoTime() - START;
+               runTimeLast = RUN_TIME;
+               if (RUN_TIME > runTimeMax)
+                  runTimeMax = RUN_TIME;
+               runTimeTotal.addAndGet(RUN_TIME);
+               runs.incrementAndGet();
+            }
+         }
+
+         if (jitter > 0.0f)
+            scheduleNext(this, jitteredDelay(period, jitter));
+      }
+
+      /**
+       * Stops the task from running again.
+       * A run already in progress finishes.
+       * <p>
+       * Complexity: O(log n), where n is the number of scheduled tasks
+       */
+      public void cancel() {
+         MarketScheduler.cancel(this);
+      }
+
+      /**
+       * Returns the task's name.
+       * <p>
+       * Complexity: O(1)
+       * @return unique name identifying the task
+       */
+      public String getName() {
+         return name;
+      }
+
+      /**
+       * Returns how long the task waits between runs, on average.
+       * <p>
+       * Complexity: O(1)
+       * @return milliseconds between runs
+       */
+      public long getPeriod() {
+         return period;
+      }
+
+      /**
+       * Returns how much waits between runs randomly vary.
+       * <p>
+       * Complexity: O(1)
+       * @return fraction of the period each wait may vary by
+       */
+      public float getJitter() {
+         return jitter;
+      }
+
+      /**
+       * Returns whether the task was cancelled or replaced.
+       * <p>
+       * Complexity: O(1)
+       * @return true if the task won't run again
+       */
+      public boolean isCancelled() {
+         return cancelled;
+      }
+
+      /**
+       * Returns how many times the task finished running.
+       * <p>
+       * Complexity: O(1)
+       * @return number of runs
+       */
+      public long getRuns() {
+         return runs.get();
+      }
+
+      /**
+       * Returns how long the task's most recent run took.
+       * <p>
+       * Complexity: O(1)
+       * @return nanoseconds spent on the most recent run
+       */
+      public long getRunTimeLast() {
+         return runTimeLast;
+      }
+
+      /**
+       * Returns how long the task's longest run took.
+       * <p>
+       * Complexity: O(1)
+       * @return nanoseconds spent on the longest run
+       */
+      public long getRunTimeMax() {
+         return runTimeMax;
+      }
+
+      /**
+       * Returns how long the task's runs took on average.
+       * <p>
+       * Complexity: O(1)
+       * @return average nanoseconds per run or 0 if the task hasn't run
+       */
+      public long getRunTimeAverage() {
+         final long RUNS = runs.get();
+         if (RUNS == 0L)
+            return 0L;
+         return runTimeTotal.get() / RUNS;
+      }
+   }
+
+   // STATIC METHODS
+   /**
+    * Prevents instantiation.
+    */
+   private MarketScheduler() { }
+
+   /**
+    * Schedules work to be done periodically, replacing any task using the same name.
+    * <p>
+    * Complexity: O(log n), where n is the number of scheduled tasks
+    * @param name         unique name identifying the task
+    * @param action       work to be done each run
+    * @param initialDelay milliseconds to wait before the first run
+    * @param period       milliseconds between runs, on average
+    * @param jitter       fraction of the period each wait may randomly vary by; 0 waits exactly the period
+    * @return the scheduled task
+    */
+   public static synchronized Task schedule(String name, Runnable action, long initialDelay, long period, float jitter) {
+      // replace any previous task without stopping threads
+      final Task PREVIOUS = tasks.get(name);
+      if (PREVIOUS != null) {
+         PREVIOUS.cancelled = true;
+         if (PREVIOUS.future != null)
+            PREVIOUS.future.cancel(false);
+      }
+
+      if (jitter < 0.0f)
+         jitter = 0.0f;
+      else if (jitter > 1.0f)
+         jitter = 1.0f;
+      Object runLock = runLocks.get(name);
+      if (runLock == null) {
+         runLock = new Object();
+         runLocks.put(name, runLock);
+      }
+      final Task TASK = new Task(name, action, period, jitter, runLock);
+      tasks.put(name, TASK);
+
+      // start threads if necessary
+      if (executor == null) {
+         executor = new ScheduledThreadPoolExecutor(POOL_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "CommandEconomy-scheduler-" + threadsCreated.incrementAndGet());
+            thread.setDaemon(true); // don't keep the program running
+            return thread;
+         });
+         executor.setRemoveOnCancelPolicy(true); // forget cancelled tasks immediately
+      }
+
+      // tasks with jitter schedule each run after finishing the previous one
+      if (jitter > 0.0f)
+         TASK.future = executor.schedule(TASK, Math.max(0L, initialDelay), TimeUnit.MILLISECONDS);
+      else
+         TASK.future = executor.scheduleAtFixedRate(TASK, Math.max(0L, initialDelay), period, TimeUnit.MILLISECONDS);
+      return TASK;
+   }
+
+   /**
+    * Schedules a task's next run.
+    * <p>
+    * Complexity: O(log n), where n is the number of scheduled runs
+    * @param task  task to be run again
+    * @param delay milliseconds to wait before running
+    */
+   private static synchronized void scheduleNext(Task task, long delay) {
+      if (task.cancelled || executor == null)
+         return;
+
+      task.future = executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Returns a random delay within a fraction of a period.
+    * <p>
+    * Complexity: O(1)
+    * @param period milliseconds between runs, on average
+    * @param jitter fraction of the period the delay may vary by
+    * @return milliseconds to wait
+    */
+   static long jitteredDelay(long period, float jitter) {
+      final long LOWEST  = (long) (period * (1.0f - jitter));
+      final long HIGHEST = (long) (period * (1.0f + jitter));
+      if (HIGHEST <= LOWEST)
+         return LOWEST;
+      return ThreadLocalRandom.current().nextLong(LOWEST, HIGHEST + 1);
+   }
+
+   /**
+    * Stops a task from running again.
+    * Once no tasks are scheduled, threads are stopped.
+    * <p>
+    * Complexity: O(log n), where n is the number of scheduled tasks
+    * @param task task to be stopped
+    */
+   private static synchronized void cancel(Task task) {
+      task.cancelled = true;
+      if (task.future != null)
+         task.future.cancel(false);
+
+      // only forget the task if it wasn't already replaced
+      if (tasks.get(task.name) == task)
+         tasks.remove(task.name);
+
+      // stop threads once they have nothing to do
+      if (tasks.isEmpty() && executor != null) {
+         executor.shutdown();
+         executor = null;
+      }
+   }
+
+   /**
+    * Stops a task from running again.
+    * Does nothing if no task uses the given name.
+    * <p>
+    * Complexity: O(log n), where n is the number of scheduled tasks
+    * @param name name of task to be stopped
+    */
+   public static synchronized void cancel(String name) {
+      final Task TASK = tasks.get(name);
+      if (TASK != null)
+         cancel(TASK);
+   }
+
+   /**
+    * Stops every task and the threads running them.
+    * <p>
+    * Complexity: O(n), where n is the number of scheduled tasks
+    */
+   public static synchronized void cancelAll() {
+      for (Task task : new ArrayList<Task>(tasks.values()))
+         cancel(task);
+   }
+
+   /**
+    * Returns a scheduled task.
+    * <p>
+    * Complexity: O(log n), where n is the number of scheduled tasks
+    * @param name name of the task
+    * @return task using the given name or null if none is scheduled
+    */
+   public static synchronized Task getTask(String name) {
+      return tasks.get(name);
+   }
+
+   /**
+    * Returns every scheduled task, such as for reporting their run times.
+    * <p>
+    * Complexity: O(n), where n is the number of scheduled tasks
+    * @return scheduled tasks ordered by name
+    */
+   public static synchronized Collection<Task> getTasks() {
+      return new ArrayList<Task>(tasks.values());
+   }
+
+   /**
+    * Returns whether threads for running tasks exist.
+    * <p>
+    * Complexity: O(1)
+    * @return true if any task is scheduled
+    */
+   public static synchronized boolean isRunning() {
+      return executor != null;
+   }
+}
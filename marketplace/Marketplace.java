@@ -2,20 +2,27 @@ package commandeconomy;
 
 import java.util.TreeMap;             // for storing wares
 import java.util.Map;                 // for iterating through maps
-import java.util.TreeSet;             // for returning all ware aliases and storing IDs of wares changed since last save
 import java.util.Set;                 // for returning all ware aliases
 import java.util.LinkedList;          // for returning properties of wares found in an inventory
 import java.util.List;
+import java.util.ArrayList;           // for gathering wares to be priced together
 import java.util.ArrayDeque;          // for storing ware entries for saving
-import java.io.BufferedWriter;        // for faster saving, so fewer file writes are used
 import java.io.File;                  // for handling files
 import java.util.Scanner;             // for parsing files
-import java.io.FileWriter;            // for writing to files
-import java.io.FileNotFoundException; // for handling missing file errors
+import java.io.Writer;                // for writing generated ware entries
 import java.io.IOException;           // for handling miscellaneous file errors
 import java.util.UUID;                // for more securely tracking users internally
 import java.util.Collection;          // for returning all wares within the marketplace
 import java.util.Arrays;              // for sorting arrays when finding medians
+import java.util.concurrent.locks.ReentrantLock; // for preventing threads from adjusting wares simultaneously
+import java.util.concurrent.ConcurrentSkipListSet; // for marking wares as changed from multiple threads
+import java.util.IdentityHashMap;     // for ordering wares when writing binary snapshots
+import java.util.Collections;
+import java.io.DataOutputStream;      // for writing binary snapshots
+import java.nio.ByteBuffer;           // for reading binary snapshots
+import java.util.HashMap;             // for tracking which wares are waiting for components
+import java.util.PriorityQueue;       // for retrying wares in the order they were parsed
+import java.util.stream.IntStream;    // for parsing ware entries in parallel
 
 /**
  * Manages trading and tracking wares for sale.
@@ -54,13 +61,17 @@ public final class Marketplace {
    /** holds ware entries which failed to load */
    private static ArrayDeque<String> waresErrored = new ArrayDeque<String>();
    /** holds ware IDs whose entries should be regenerated */
-   private static Set<String> waresChangedSinceLastSave = new TreeSet<String>();
-   /** maps ware IDs to ware entries, easing regenerating changed wares' entries for saving */
-   private static TreeMap<String, StringBuilder> wareEntries = new TreeMap<String, StringBuilder>();
-   /** holds ware entries in the order they successfully loaded in; makes reloading faster */
-   private static ArrayDeque<StringBuilder> waresLoadOrder = new ArrayDeque<StringBuilder>();
+   private static ConcurrentSkipListSet<String> waresChangedSinceLastSave = new ConcurrentSkipListSet<String>();
+   /** holds IDs of wares in the order they successfully loaded in; makes reloading faster */
+   private static String[] waresLoadOrder = new String[256];
+   /** how many ware IDs are within the load order */
+   private static int numWaresLoadOrder = 0;
+   /** how many characters of generated ware entries are gathered before being written */
+   private static final int SAVE_BUFFER_SIZE = 8192;
    /** holds alternate ware aliases and tags for saving */
    private static StringBuilder alternateAliasEntries = new StringBuilder(955);
+   /** nanoseconds the most recent save spent capturing wares while holding the mutex */
+   private static volatile long saveCaptureTimeLast = 0;
 
    // miscellaneous
    /** median ware starting quantity */
@@ -71,8 +82,16 @@ public final class Marketplace {
    private static double priceBaseAverage = 0.0;
    /** how many wares should be excluded from statistical calculations */
    private static int numStatisticExcludedWares = 0;
-   /** a loose mutex used to avoid synchronization problems with threads rarely adjusting wares' properties */
-   private static volatile boolean doNotAdjustWares = false;
+   /** mutex used to avoid synchronization problems with threads adjusting wares' properties */
+   private static final ReentrantLock wareLock = new ReentrantLock();
+   /** how many times the mutex has been acquired, excluding reentrant acquisitions */
+   private static volatile long mutexAcquisitions = 0;
+   /** how many times a thread had to wait for another thread to release the mutex */
+   private static volatile long mutexContentions = 0;
+   /** total nanoseconds threads have spent waiting to acquire the mutex */
+   private static volatile long mutexWaitTimeTotal = 0;
+   /** longest time in nanoseconds any thread has waited to acquire the mutex */
+   private static volatile long mutexWaitTimeMax = 0;
 
    // STRUCTS
    /**
@@ -109,6 +128,38 @@ public final class Marketplace {
          this.percentWorth = percentWorth;
       }
    }
+   /**
+    * Holds wares read from a binary snapshot before they are added to the marketplace.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class WaresSnapshot
+   {
+      /** newest journal segment the snapshot contains */
+      final long journalGeneration;
+      /** wares in the order they should be loaded */
+      final ArrayList<Ware> wares;
+      /** entries which could not be loaded when the snapshot was written */
+      final String[] entriesErrored;
+      /** alternate alias entries or null */
+      final String aliases;
+
+      /**
+       * Holds wares read from a snapshot.
+       * @param journalGeneration newest journal segment the snapshot contains
+       * @param wares             wares in the order they should be loaded
+       * @param entriesErrored    entries which could not be loaded
+       * @param aliases           alternate alias entries or null
+       */
+      WaresSnapshot(final long journalGeneration, final ArrayList<Ware> wares, final String[] entriesErrored, final String aliases) {
+         this.journalGeneration = journalGeneration;
+         this.wares             = wares;
+         this.entriesErrored    = entriesErrored;
+         this.aliases           = aliases;
+      }
+   }
 
    // FUNCTIONS
    /**
@@ -119,6 +170,9 @@ public final class Marketplace {
    public static void loadWares() {
       File fileWares; // has market stock information
 
+      // finish writing any save file before choosing which file to load
+      SnapshotWriter.awaitWrites();
+
       // try to load the save file
       fileWares = new File(Config.filenameWaresSave);
       // if the save file doesn't exist, use the local market-starting file
@@ -140,6 +194,9 @@ public final class Marketplace {
     * @param fileWares file containing ware entries
     */
    public static void loadWares(File fileWares) {
+      // finish writing any save file which might be loaded
+      SnapshotWriter.awaitWrites();
+
       // check file existence
       if (!fileWares.isFile()) {
          // don't throw an exception, print a warning to advise user to reload wares
@@ -153,13 +210,20 @@ public final class Marketplace {
       // prevents other threads from adjusting the marketplace's wares
       acquireMutex();
 
+      // don't record setting wares' quantities while loading them
+      WareJournal.pause();
+      final boolean IS_SAVE_FILE = fileWares.getPath().equals(Config.filenameWaresSave);
+      long journalGeneration     = 0L;    // newest journal segment the file contains
+      boolean loadedOtherFile    = false; // whether another file was loaded in this file's place
+
       // if there are already wares in the market, remove them
       // useful for reloading
       if (!wares.isEmpty()) {
          wares.clear();
+         WareColumns.clear();
          wareAliasTranslations.clear();
          waresErrored.clear();
-         waresLoadOrder.clear();
+         clearLoadOrder();
          alternateAliasEntries.setLength(0);
       }
 
@@ -179,42 +243,60 @@ public final class Marketplace {
       // Also, named variables are more readable than data array indices.
 
       // set up variables for adding wares
-      Ware ware               = null;  // current ware being loaded
-      String   wareError      = "";    // current ware's validation error message
-      String   wareID         = "";    // current ware's internal name
-      String   alias          = "";    // holds ware's alternate name
       // holds alternate ware aliases and tags for processing
       ArrayDeque<String> alternateAliasesToBeProcessed = new ArrayDeque<String>();
       // prepare a place to put wares whose components aren't found
       ArrayDeque<Ware> waresWithUnloadedComponents = new ArrayDeque<Ware>();
-      boolean duplicateWare   = false; // flag for preventing repeat entries in the ware load order record
-      String wareIDUsingAlias = "";    // holds the ware ID using the current ware's alias
+
+      // if the save file's binary snapshot is at least as new,
+      // load the snapshot rather than parsing text
+      WaresSnapshot snapshot = null;
+      if (IS_SAVE_FILE && Config.binarySnapshots)
+         snapshot = readWaresSnapshot(fileWares);
 
       // open the file
-      Scanner fileReader;
-      try {
-         fileReader = new Scanner(fileWares);
-      }
-      catch (FileNotFoundException e) {
-         Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_MISSED + Config.filenameWares);
-         e.printStackTrace();
-         releaseMutex();
-         // signal threads to reload their wares when possible
-         if (Config.enableAI)
-            AIHandler.loadWares();
-         if (Config.randomEvents)
-            RandomEvents.loadWares();
-         return;
+      Scanner fileReader = null;
+      if (snapshot != null) {
+         journalGeneration = snapshot.journalGeneration;
+         loadWaresSnapshot(snapshot, alternateAliasesToBeProcessed, waresWithUnloadedComponents, hierarchyLevelTotals);
+      } else {
+         try {
+            fileReader = new Scanner(CompressedFiles.openInput(fileWares));
+         }
+         catch (IOException e) {
+            Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_MISSED + Config.filenameWares);
+            e.printStackTrace();
+            WareJournal.recover(0L, false, wares);
+            PricingContext.publish();
+            releaseMutex();
+            // signal threads to reload their wares when possible
+            if (Config.enableAI)
+               AIHandler.loadWares();
+            if (Config.randomEvents)
+               RandomEvents.loadWares();
+            return;
+         }
       }
 
       // parse the file and add wares
       String line; // line being parsed
-      while (fileReader.hasNextLine()) {
+      // ware entries, parsed together once the file is read
+      ArrayList<String> entriesToParse = new ArrayList<String>();
+      while (fileReader != null && fileReader.hasNextLine()) {
          line = fileReader.nextLine(); // grab line to be parsed
 
          // if the line is a comment or blank, skip it
-         if (line.startsWith("//") || line.isEmpty())
-           continue;
+         if (line.startsWith("//") || line.isEmpty()) {
+            // note which journal segments the file already contains
+            if (line.startsWith(StringTable.FILE_HEADER_JOURNAL)) {
+               try {
+                  journalGeneration = Long.parseLong(line.substring(StringTable.FILE_HEADER_JOURNAL.length()).trim());
+               } catch (NumberFormatException e) {
+                  Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_PARSING + line);
+               }
+            }
+            continue;
+         }
 
          // if the ware entry is for an alternate alias,
          // don't treat it like a ware entry
@@ -227,115 +309,16 @@ public final class Marketplace {
             continue;
          }
 
-         // add new ware to the market
-         try {
-            ware = Ware.fromJSON(line);
-
-            if (ware == null) {
-               Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_PARSING + line);
-               waresErrored.add(line);
-               continue;
-            }
-
-            // check for and correct errors
-            wareError = ware.validate();
-
-            // if there was an uncorrectable error, report it
-            if (!wareError.isEmpty()) {
-               Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_ENTRY_INVALID + wareError + ": " + line);
-               waresErrored.add(line);
-               continue;
-            }
-
-            // grab the ware's ID for processing
-            wareID = ware.getWareID().intern();
-
-            // Check if the ware exists outside of
-            // the marketplace before loading it.
-            // If it doesn't exist, print an error and save
-            // the line entry to the side in case it is part
-            // of a mod which will be added back later.
-            if (!Config.userInterface.doesWareExist(wareID) &&
-                !(ware instanceof WareUntradeable)) {
-               // warn the server
-               Config.userInterface.printErrorToConsole(StringTable.WARN_WARE_NONEXISTENT + wareID);
-
-               // store the line entry for later
-               waresErrored.add(line);
-               continue;
-            }
-
-            // Check for duplicate ware IDs, warn if one is found,
-            // then overwrite the duplicate ware.
-            // Overwriting duplicates may be useful in some situations,
-            // such as making quick changes or tests.
-            // There is no need to grab and delete duplicate ware objects,
-            // since Java's garage collection handles
-            // deleting wares not in the marketplace.
-            duplicateWare = wares.containsKey(wareID);
-            if (duplicateWare)
-               Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_MISSING + wareID);
-               // Note: If a new alias is assigned to this duplicate ware ID,
-               // then until wares are saved and reloaded,
-               // the ware ID will have two aliases: the old one and the new one.
-
-            // if the ware has components, try loading them
-            if (ware.hasComponents())
-               ware.reloadComponents();
-
-            // add ware to the marketplace
-            // or prepare to process it later
-            if (!Float.isNaN(ware.getBasePrice())) {
-               wares.put(wareID, ware);
-
-               // add the ware entry to the load order record
-               // if the ware entry's ID is not a repeat
-               if (!duplicateWare) {
-                  StringBuilder json = new StringBuilder(line).append('\n');
-                  waresLoadOrder.add(json);
-                  wareEntries.put(wareID, json);
-               }
-            } else {
-               waresWithUnloadedComponents.add(ware);
-               continue;
-            }
-
-            // if the current ware's alias is already used,
-            // clear the current ware's alias and send a warning
-            alias = ware.getAlias();
-            if (alias != null && !alias.isEmpty()) {
-               wareIDUsingAlias = wareAliasTranslations.get(alias);
-
-               if (wareIDUsingAlias != null &&
-                   !wareIDUsingAlias.equals(wareID)) {
-                  Config.userInterface.printErrorToConsole(StringTable.WARN_WARE_ALIAS_USED
-                     + alias
-                     + System.lineSeparator() + "   is used by " + wareIDUsingAlias
-                     + System.lineSeparator() + "   failed to assign to " + wareID);
-                  ware.setAlias(null);
-               } else {
-                  wareAliasTranslations.put(alias.intern(), wareID);
-               }
-            }
-
-            // add ware to averages
-            if (ware instanceof WareUntradeable || ware instanceof WareLinked) {
-               numStatisticExcludedWares++;
-            } else {
-               // increment total number of wares in each level
-               hierarchyLevelTotals[ware.getLevel()]++;
-
-               // total price bases for later averaging
-               priceBaseAverage += ware.getBasePrice();
-            }
-         } catch (Exception e) {
-            Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_PARSING_EXCEPT + line);
-            e.printStackTrace();
-         }
+         // store the ware entry for parsing
+         entriesToParse.add(line);
       } // end while loop for parsing lines
 
       // close the file
-      fileReader.close();
+      if (fileReader != null)
+         fileReader.close();
+
+      // add new wares to the market
+      loadWareEntries(entriesToParse, waresWithUnloadedComponents, hierarchyLevelTotals);
 
       // try to load wares whose components were not found
       processWaresWithUnloadedComponents(waresWithUnloadedComponents, hierarchyLevelTotals);
@@ -354,8 +337,10 @@ public final class Marketplace {
 
             // if the file exists, use it
             // otherwise, warn that no wares were added
-            if (fileWares.isFile())
+            if (fileWares.isFile()) {
                loadWares(fileWares);
+               loadedOtherFile = true;
+            }
             else
                Config.userInterface.printErrorToConsole(StringTable.WARN_WARE_NONE_LOADED);
          } else {
@@ -484,6 +469,13 @@ public final class Marketplace {
          priceBaseAverage  = (double) PriceFormatter.truncatePrice((float) priceBaseAverage);
       }
 
+      // restore trades made since the save file was written
+      if (!loadedOtherFile)
+         WareJournal.recover(journalGeneration, IS_SAVE_FILE, wares);
+
+      // price wares using the new median base price
+      PricingContext.publish();
+
       // allow other threads to adjust wares' properties
       releaseMutex();
 
@@ -494,13 +486,267 @@ public final class Marketplace {
          RandomEvents.loadWares();
    }
 
+   /**
+    * Parses ware entries and adds their wares to the marketplace.
+    * <p>
+    * Entries are parsed in parallel since parsing an entry
+    * doesn't depend upon other wares. Parsed wares are then added
+    * in the order their entries were given, so duplicates and aliases
+    * are resolved the same way regardless of how parsing was split.
+    * <p>
+    * Complexity: O(n), where n is the number of entries
+    * @param lines                       JSON entries to be parsed
+    * @param waresWithUnloadedComponents where to put wares whose components aren't found
+    * @param hierarchyLevelTotals        continuing counts for number of wares in each level
+    */
+   private static void loadWareEntries(List<String> lines, ArrayDeque<Ware> waresWithUnloadedComponents, int[] hierarchyLevelTotals) {
+      final Ware[] PARSED = new Ware[lines.size()];
+      IntStream.range(0, PARSED.length).parallel().forEach(i -> PARSED[i] = Ware.fromJSON(lines.get(i)));
+
+      for (int i = 0; i < PARSED.length; i++)
+         loadWareEntry(lines.get(i), PARSED[i], waresWithUnloadedComponents, hierarchyLevelTotals);
+   }
+
+   /**
+    * Parses a ware entry and adds its ware to the marketplace.
+    * <p>
+    * Complexity: O(n), where n is the number of wares used to create the ware
+    * @param line                        JSON entry to be parsed
+    * @param waresWithUnloadedComponents where to put wares whose components aren't found
+    * @param hierarchyLevelTotals        continuing counts for number of wares in each level
+    */
+   private static void loadWareEntry(String line, ArrayDeque<Ware> waresWithUnloadedComponents, int[] hierarchyLevelTotals) {
+      loadWareEntry(line, Ware.fromJSON(line), waresWithUnloadedComponents, hierarchyLevelTotals);
+   }
+
+   /**
+    * Adds a parsed ware entry's ware to the marketplace.
+    * <p>
+    * Complexity: O(n), where n is the number of wares used to create the ware
+    * @param line                        JSON entry which was parsed
+    * @param ware                        ware parsed from the entry or null if parsing failed
+    * @param waresWithUnloadedComponents where to put wares whose components aren't found
+    * @param hierarchyLevelTotals        continuing counts for number of wares in each level
+    */
+   private static void loadWareEntry(String line, Ware ware, ArrayDeque<Ware> waresWithUnloadedComponents, int[] hierarchyLevelTotals) {
+      try {
+         if (ware == null) {
+            Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_PARSING + line);
+            waresErrored.add(line);
+            return;
+         }
+
+         loadWare(ware, line, waresWithUnloadedComponents, hierarchyLevelTotals);
+      } catch (Exception e) {
+         Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_PARSING_EXCEPT + line);
+         e.printStackTrace();
+      }
+   }
+
+   /**
+    * Checks a loaded ware for errors, then adds it to the marketplace
+    * or prepares to process it after its components are loaded.
+    * <p>
+    * Complexity: O(n), where n is the number of wares used to create the ware
+    * @param ware                        ware to be added
+    * @param line                        ware's JSON entry or null if the ware was loaded from a binary snapshot
+    * @param waresWithUnloadedComponents where to put wares whose components aren't found
+    * @param hierarchyLevelTotals        continuing counts for number of wares in each level
+    */
+   private static void loadWare(Ware ware, String line, ArrayDeque<Ware> waresWithUnloadedComponents, int[] hierarchyLevelTotals) {
+      // check for and correct errors
+      final String WARE_ERROR = ware.validate();
+
+      // if there was an uncorrectable error, report it
+      if (!WARE_ERROR.isEmpty()) {
+         if (line == null) // wares from binary snapshots have no entry yet
+            line = ware.toJSON();
+         Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_ENTRY_INVALID + WARE_ERROR + ": " + line);
+         waresErrored.add(line);
+         return;
+      }
+
+      // grab the ware's ID for processing
+      final String WARE_ID = ware.getWareID().intern();
+
+      // Check if the ware exists outside of
+      // the marketplace before loading it.
+      // If it doesn't exist, print an error and save
+      // the line entry to the side in case it is part
+      // of a mod which will be added back later.
+      if (!Config.userInterface.doesWareExist(WARE_ID) &&
+          !(ware instanceof WareUntradeable)) {
+         // warn the server
+         Config.userInterface.printErrorToConsole(StringTable.WARN_WARE_NONEXISTENT + WARE_ID);
+
+         // store the line entry for later
+         if (line == null) // wares from binary snapshots have no entry yet
+            line = ware.toJSON();
+         waresErrored.add(line);
+         return;
+      }
+
+      // Check for duplicate ware IDs, warn if one is found,
+      // then overwrite the duplicate ware.
+      // Overwriting duplicates may be useful in some situations,
+      // such as making quick changes or tests.
+      // There is no need to grab and delete duplicate ware objects,
+      // since Java's garage collection handles
+      // deleting wares not in the marketplace.
+      final boolean DUPLICATE_WARE = wares.containsKey(WARE_ID);
+      if (DUPLICATE_WARE)
+         Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_MISSING + WARE_ID);
+         // Note: If a new alias is assigned to this duplicate ware ID,
+         // then until wares are saved and reloaded,
+         // the ware ID will have two aliases: the old one and the new one.
+
+      // if the ware has components, try loading them
+      if (ware.hasComponents())
+         ware.reloadComponents();
+
+      // add ware to the marketplace
+      // or prepare to process it later
+      if (!Float.isNaN(ware.getBasePrice())) {
+         wares.put(WARE_ID, ware);
+
+         // add the ware to the load order record
+         // if the ware's ID is not a repeat
+         if (!DUPLICATE_WARE)
+            addToLoadOrder(WARE_ID);
+      } else {
+         waresWithUnloadedComponents.add(ware);
+         return;
+      }
+
+      // if the current ware's alias is already used,
+      // clear the current ware's alias and send a warning
+      final String ALIAS = ware.getAlias();
+      if (ALIAS != null && !ALIAS.isEmpty()) {
+         final String WARE_ID_USING_ALIAS = wareAliasTranslations.get(ALIAS);
+
+         if (WARE_ID_USING_ALIAS != null &&
+             !WARE_ID_USING_ALIAS.equals(WARE_ID)) {
+            Config.userInterface.printErrorToConsole(StringTable.WARN_WARE_ALIAS_USED
+               + ALIAS
+               + System.lineSeparator() + "   is used by " + WARE_ID_USING_ALIAS
+               + System.lineSeparator() + "   failed to assign to " + WARE_ID);
+            ware.setAlias(null);
+         } else {
+            wareAliasTranslations.put(ALIAS.intern(), WARE_ID);
+         }
+      }
+
+      // add ware to averages
+      if (ware instanceof WareUntradeable || ware instanceof WareLinked) {
+         numStatisticExcludedWares++;
+      } else {
+         // increment total number of wares in each level
+         hierarchyLevelTotals[ware.getLevel()]++;
+
+         // total price bases for later averaging
+         priceBaseAverage += ware.getBasePrice();
+      }
+   }
+
+   /**
+    * Reads wares from the save file's binary snapshot without adding them to the marketplace,
+    * so an invalid snapshot may be ignored without disrupting loading.
+    * <p>
+    * Complexity: O(n), where n is the size of the snapshot
+    * @param fileWaresSave save file the snapshot belongs to
+    * @return the snapshot's contents or null if the save file should be parsed instead
+    */
+   private static WaresSnapshot readWaresSnapshot(File fileWaresSave) {
+      final BinarySnapshot SNAPSHOT = BinarySnapshot.open(fileWaresSave, BinarySnapshot.KIND_WARES);
+      if (SNAPSHOT == null)
+         return null;
+
+      try {
+         // sections: ware records, component records, other entries
+         final ByteBuffer RECORDS    = SNAPSHOT.getSection(0);
+         final ByteBuffer COMPONENTS = SNAPSHOT.getSection(1);
+         final ByteBuffer OTHERS     = SNAPSHOT.getSection(2);
+         if (RECORDS.remaining() % Ware.RECORD_BYTES != 0)
+            throw new IllegalArgumentException("partial ware record");
+
+         final ArrayList<Ware> WARES = new ArrayList<Ware>(RECORDS.remaining() / Ware.RECORD_BYTES);
+         Ware ware;
+         while (RECORDS.hasRemaining()) {
+            ware = Ware.fromRecord(SNAPSHOT, RECORDS, COMPONENTS);
+            if (ware == null)
+               throw new IllegalArgumentException("unknown ware type");
+            WARES.add(ware);
+         }
+
+         final String[] ENTRIES_ERRORED = new String[OTHERS.getInt()];
+         for (int i = 0; i < ENTRIES_ERRORED.length; i++)
+            ENTRIES_ERRORED[i] = SNAPSHOT.getString(OTHERS.getInt());
+
+         return new WaresSnapshot(SNAPSHOT.getGeneration(), WARES, ENTRIES_ERRORED, SNAPSHOT.getString(OTHERS.getInt()));
+      } catch (RuntimeException e) { // includes reading past a section's end
+         Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_SNAPSHOT_INVALID + fileWaresSave.getPath() + BinarySnapshot.FILE_SUFFIX);
+         return null;
+      }
+   }
+
+   /**
+    * Adds wares read from a binary snapshot to the marketplace,
+    * treating them as if their entries were parsed from the save file.
+    * <p>
+    * Complexity: O(n), where n is the number of wares within the snapshot
+    * @param snapshot                      wares read from the snapshot
+    * @param alternateAliasesToBeProcessed where to put alternate alias entries
+    * @param waresWithUnloadedComponents   where to put wares whose components aren't found
+    * @param hierarchyLevelTotals          continuing counts for number of wares in each level
+    */
+   private static void loadWaresSnapshot(WaresSnapshot snapshot, ArrayDeque<String> alternateAliasesToBeProcessed,
+                                         ArrayDeque<Ware> waresWithUnloadedComponents, int[] hierarchyLevelTotals) {
+      for (Ware ware : snapshot.wares) {
+         try {
+            loadWare(ware, null, waresWithUnloadedComponents, hierarchyLevelTotals);
+         } catch (Exception e) {
+            Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_PARSING_EXCEPT + ware.getWareID());
+            e.printStackTrace();
+         }
+      }
+
+      // retry entries which previously failed to load,
+      // such as those from mods which were removed
+      for (String entry : snapshot.entriesErrored) {
+         entry = entry.trim();
+         if (!entry.isEmpty())
+            loadWareEntry(entry, waresWithUnloadedComponents, hierarchyLevelTotals);
+      }
+
+      // store alternate alias entries for processing and saving later on
+      if (snapshot.aliases != null) {
+         for (String line : snapshot.aliases.split("\n")) {
+            if (line.startsWith("4,")) {
+               alternateAliasesToBeProcessed.add(line);
+               alternateAliasEntries.append(line).append('\n');
+            }
+         }
+      }
+   }
+
    /**
     * Tries to load wares which failed loading after pulling from a file,
     * presumably because at least one component was missing.
     * If the component was found later on or while parsing the unloaded wares,
     * then the ware might load successfully. Otherwise, prints an error.
     * <p>
-    * Complexity: Worst-Case - O(n!)
+    * Wares are tried in passes, up to the maximum crafting depth.
+    * Each pass tries wares in the order they were parsed,
+    * so a ware may use components loaded earlier within the same pass.
+    * Rather than retrying every ware each pass, a ware missing a component
+    * waits until a ware with that component's ID or alias loads,
+    * then is retried within the current pass if it comes after the loaded ware
+    * or within the next pass if it does not. Wares are loaded in
+    * the same order and with the same results as retrying every ware each pass.
+    * Wares never retried are missing components or within a component cycle.
+    * <p>
+    * Complexity: O(n log n + m), where n is the number of unloaded wares
+    * and m is the number of their components
     * @param unloadedWares        wares which failed to load previously
     * @param hierarchyLevelTotals continuing counts for number of wares in each level
     */
@@ -510,25 +756,43 @@ public final class Marketplace {
          return;
 
       // set up variables
-      int    depth              = 0;    // counter for repeatedly trying to load wares
+      final Ware[]    UNLOADED   = unloadedWares.toArray(new Ware[0]);
+      final boolean[] IS_WAITING = new boolean[UNLOADED.length]; // whether a ware is waiting for a component to load
+      final boolean[] IS_LOADED  = new boolean[UNLOADED.length]; // whether a ware was added to the marketplace
+      // wares waiting for components, keyed by the components' IDs, aliases, or variants' base IDs
+      final HashMap<String, ArrayList<Integer>> WAITING_FOR = new HashMap<String, ArrayList<Integer>>();
+      // wares to be tried within the current pass, in the order they were parsed
+      PriorityQueue<Integer> pass     = new PriorityQueue<Integer>(UNLOADED.length);
+      // wares to be tried within the next pass
+      ArrayList<Integer>     nextPass = new ArrayList<Integer>();
+      int    index;                     // position of ware currently being processed
+      Ware   ware;                      // ware currently being processed
       String wareID;                    // ID for ware currently being processed
       String missingComponent;          // tracks which of the current ware's components is missing, if any
-      // prepare a place to put wares who loaded successfully
-      ArrayDeque<Ware> waresSuccessfullyLoaded = new ArrayDeque<Ware>();
+
+      // every ware is tried within the first pass
+      for (index = 0; index < UNLOADED.length; index++)
+         pass.add(index);
 
       // check if the unloaded wares' components have been loaded
       // if possible, try to load the ware
       // loop multiple times in case an unloaded ware's missing component is an unloaded ware
-      for (; depth < Config.maxCraftingDepth; depth++) {
-         for (Ware ware : unloadedWares) {
+      for (int depth = 0; depth < Config.maxCraftingDepth && !pass.isEmpty(); depth++) {
+         while (!pass.isEmpty()) {
+            index  = pass.poll();
+            ware   = UNLOADED[index];
             wareID = ware.getWareID();
 
             // reload ware's components
             missingComponent = ware.reloadComponents();
 
             // don't continue loading an invalid ware
-            if (!missingComponent.isEmpty())
+            // instead, wait for its missing component
+            if (!missingComponent.isEmpty()) {
+               IS_WAITING[index] = true;
+               waitForComponent(WAITING_FOR, missingComponent, index);
                continue;
+            }
 
             // if the ware is valid, add it to the marketplace
             // if there are any wares using the given alias, handle it
@@ -538,18 +802,15 @@ public final class Marketplace {
                ware.setAlias(null);
             }
 
-            // add the ware entry to the load order record
+            // add the ware to the load order record
             // before moving the ware to the marketplace
             // to ease checking for duplicates
-            if (!wares.containsKey(wareID)) {
-               StringBuilder json = new StringBuilder(ware.toJSON() + '\n');
-               waresLoadOrder.add(json);
-               wareEntries.put(wareID, json);
-            }
+            if (!wares.containsKey(wareID))
+               addToLoadOrder(wareID);
 
             // move the ware to the marketplace
             wares.put(wareID, ware);
-            waresSuccessfullyLoaded.add(ware);
+            IS_LOADED[index] = true;
 
             // if the current ware's alias is unique,
             // then record the ware's alias in the translation table
@@ -567,18 +828,23 @@ public final class Marketplace {
                // total price bases for later averaging
                priceBaseAverage += ware.getBasePrice();
             }
-         } // end of unloaded-ware-traversing for loop
 
-         // remove wares which loaded successfully
-         // from the table of unloaded wares
-         for (Ware loadedWare : waresSuccessfullyLoaded) {
-            unloadedWares.remove(loadedWare);
-         }
-         waresSuccessfullyLoaded.clear();
+            // retry wares waiting for the ware just loaded
+            wakeWaresWaitingFor(WAITING_FOR, wareID, index, IS_WAITING, pass, nextPass);
+            if (ware.getAlias() != null)
+               wakeWaresWaitingFor(WAITING_FOR, ware.getAlias(), index, IS_WAITING, pass, nextPass);
+         } // end of current pass
+
+         pass.addAll(nextPass);
+         nextPass.clear();
       } // end of maximum crafting depth for loop
 
       // report errors for any wares which still have not loaded
-      for (Ware ware : unloadedWares) {
+      for (index = 0; index < UNLOADED.length; index++) {
+         if (IS_LOADED[index])
+            continue;
+
+         ware   = UNLOADED[index];
          wareID = ware.getWareID();
 
          // tell the console which ware could not be loaded
@@ -607,6 +873,56 @@ public final class Marketplace {
       }
    }
 
+   /**
+    * Records an unloaded ware as waiting for a missing component.
+    * Since components may be variants of other wares,
+    * a variant's ware also waits for the variant's base ware.
+    * <p>
+    * Complexity: O(1)
+    * @param waitingFor       wares waiting for components, keyed by the components' IDs or aliases
+    * @param missingComponent ID or alias the ware could not find
+    * @param index            position of the waiting ware among unloaded wares
+    */
+   private static void waitForComponent(HashMap<String, ArrayList<Integer>> waitingFor, String missingComponent, int index) {
+      waitingFor.computeIfAbsent(missingComponent, key -> new ArrayList<Integer>()).add(index);
+
+      final int AMPERSAND_POSITION = missingComponent.indexOf('&');
+      if (AMPERSAND_POSITION != -1)
+         waitingFor.computeIfAbsent(missingComponent.substring(0, AMPERSAND_POSITION), key -> new ArrayList<Integer>()).add(index);
+   }
+
+   /**
+    * Schedules wares waiting for a ware which just loaded to be retried.
+    * Wares after the loaded ware are retried within the current pass,
+    * matching when retrying every ware would have reached them.
+    * <p>
+    * Complexity: O(n log n), where n is the number of wares waiting
+    * @param waitingFor   wares waiting for components, keyed by the components' IDs or aliases
+    * @param loadedName   ID or alias of the ware which loaded
+    * @param loadedIndex  position of the loaded ware among unloaded wares
+    * @param isWaiting    whether each unloaded ware is waiting for a component
+    * @param pass         wares to be tried within the current pass
+    * @param nextPass     wares to be tried within the next pass
+    */
+   private static void wakeWaresWaitingFor(HashMap<String, ArrayList<Integer>> waitingFor, String loadedName, int loadedIndex,
+                                           boolean[] isWaiting, PriorityQueue<Integer> pass, ArrayList<Integer> nextPass) {
+      final ArrayList<Integer> WAITING = waitingFor.remove(loadedName);
+      if (WAITING == null)
+         return;
+
+      for (int index : WAITING) {
+         // a ware might wait under several names
+         if (!isWaiting[index])
+            continue;
+         isWaiting[index] = false;
+
+         if (index > loadedIndex)
+            pass.add(index);
+         else
+            nextPass.add(index);
+      }
+   }
+
    /**
     * Loads additional aliases and tags for wares.
     * Assumes all wares which are going to be loaded have been loaded.
@@ -726,6 +1042,10 @@ public final class Marketplace {
          // use price multipliers in Ware.getBasePrice() rather than
          // set their base price using their multiplier.
       }
+
+      // base prices may have changed
+      PriceStatistics.invalidate();
+      WareColumns.updateAll();
    }
 
    /**
@@ -742,13 +1062,56 @@ public final class Marketplace {
       if (wares.containsKey(ware.getWareID()))
          waresChangedSinceLastSave.add(ware.getWareID());
 
+      // mirror changes for pricing many wares at once
+      WareColumns.update(ware);
+
       // recalculate any saved values based on outdated information
       ware.removeSavedCalculations();
    }
 
+   /**
+    * Records a ware as having successfully loaded,
+    * so wares are saved in the order they loaded in.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is the number of wares loaded, when the load order must grow
+    * @param wareID ID of the ware which loaded
+    */
+   static void addToLoadOrder(String wareID) {
+      if (numWaresLoadOrder == waresLoadOrder.length)
+         waresLoadOrder = Arrays.copyOf(waresLoadOrder, waresLoadOrder.length * 2);
+      waresLoadOrder[numWaresLoadOrder++] = wareID;
+   }
+
+   /**
+    * Returns IDs of wares in the order they loaded in,
+    * including wares removed since loading.
+    * <p>
+    * Complexity: O(n), where n is the number of wares loaded
+    * @return IDs of loaded wares
+    */
+   static String[] getLoadOrder() {
+      return Arrays.copyOf(waresLoadOrder, numWaresLoadOrder);
+   }
+
+   /**
+    * Forgets the order wares loaded in, such as when wares are reloaded.
+    * <p>
+    * Complexity: O(n), where n is the number of wares loaded
+    */
+   static void clearLoadOrder() {
+      Arrays.fill(waresLoadOrder, 0, numWaresLoadOrder, null);
+      numWaresLoadOrder = 0;
+   }
+
    /**
     * Writes information for regenerating current wares within the marketplace.
     * <p>
+    * Wares' quantities are captured in load order while briefly holding the mutex,
+    * then entries are generated from the live wares and written on the saving thread,
+    * so trading only pauses while capturing and entries need not be kept between saves.
+    * <p>
     * Complexity: O(n), where n is loaded and errored wares
     */
    public static void saveWares() {
@@ -756,80 +1119,223 @@ public final class Marketplace {
       if (waresChangedSinceLastSave.isEmpty())
          return;
 
-      StringBuilder lineEntry = new StringBuilder();
-      StringBuilder json;
-
       // check if another thread is adjusting wares' properties
       acquireMutex();
+      final long CAPTURE_START = System.nanoTime();
+
+      // start a new journal segment so changes recorded from now on
+      // are replayed on top of the quantities about to be captured
+      final long JOURNAL_STAMP      = WareJournal.beginCut();
+      final long JOURNAL_GENERATION = WareJournal.getGenerationSaved();
+
+      // forget which wares changed before capturing quantities
+      // so wares marked as changed by trades committed during saving are saved next time
+      waresChangedSinceLastSave.clear();
 
-      // ensure the save file and directory exist
+      // capture every ware's quantity in the order wares loaded in
+      Ware[] waresSaved      = new Ware[numWaresLoadOrder];
+      int[]  quantitiesSaved = new int[numWaresLoadOrder];
+      int    numWaresSaved   = 0;
+      Ware   ware;
       try {
-         File fileWaresSave = new File (Config.filenameWaresSave);
-         if (!fileWaresSave.exists()) {
-            fileWaresSave.getParentFile().mkdirs();
-            fileWaresSave.createNewFile();
+         for (int i = 0; i < numWaresLoadOrder; i++) {
+            ware = wares.get(waresLoadOrder[i]);
+
+            // skip wares which were removed after loading
+            if (ware == null)
+               continue;
+
+            waresSaved[numWaresSaved]      = ware;
+            quantitiesSaved[numWaresSaved] = ware.getQuantity();
+            numWaresSaved++;
          }
-      } catch (IOException e) {
-         Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_CREATE_SAVE_WARES);
-         e.printStackTrace();
-         releaseMutex();
-         return;
+      } finally {
+         WareJournal.endCut(JOURNAL_STAMP);
       }
-
-      // regenerate entries for changed wares
-      for (String wareID : waresChangedSinceLastSave) {
-         json = wareEntries.get(wareID);
-         json.setLength(0); // clear the entry without losing the reference nor reallocating memory
-         json.append(wares.get(wareID).toJSON()).append('\n'); // save updated entry
+      if (numWaresSaved != waresSaved.length) {
+         waresSaved      = Arrays.copyOf(waresSaved, numWaresSaved);
+         quantitiesSaved = Arrays.copyOf(quantitiesSaved, numWaresSaved);
       }
-      waresChangedSinceLastSave.clear();
+      final Ware[] WARES_SAVED      = waresSaved;
+      final int[]  QUANTITIES_SAVED = quantitiesSaved;
 
-      BufferedWriter fileWriter = null; // use a handle to ensure the file gets closed
-      try {
-         // open the save file for wares, create it if it doesn't exist
-         fileWriter = new BufferedWriter(new FileWriter(Config.filenameWaresSave, false));
+      // capture what should be written
+      final File     FILE_WARES_SAVE  = new File(Config.filenameWaresSave);
+      final String[] ENTRIES_ERRORED  = waresErrored.toArray(new String[waresErrored.size()]);
+      final String   ALIASES          = alternateAliasEntries.toString();
+      final boolean  BINARY_SNAPSHOTS = Config.binarySnapshots;
 
-         // warn users file may be overwritten
-         fileWriter.write(StringTable.WARN_FILE_OVERWRITE);
+      saveCaptureTimeLast = System.nanoTime() - CAPTURE_START;
+      releaseMutex();
 
-         // save the wares in the order they successfully loaded in
-         // so they will be loaded more smoothly next time
-         for (StringBuilder wareEntry : waresLoadOrder) {
-            // write ware
-            fileWriter.write(wareEntry.toString());
+      SnapshotWriter.submit(() -> {
+         try {
+            SnapshotWriter.write(FILE_WARES_SAVE, fileWriter -> {
+               // warn users file may be overwritten
+               fileWriter.write(StringTable.WARN_FILE_OVERWRITE);
+
+               // note which journal segments the file contains
+               if (JOURNAL_GENERATION > 0L)
+                  fileWriter.write(StringTable.FILE_HEADER_JOURNAL + JOURNAL_GENERATION + "\n\n");
+
+               // save the wares in the order they successfully loaded in
+               // so they will be loaded more smoothly next time
+               // entries are generated within reused buffers rather than one string per ware
+               final StringBuilder ENTRIES = new StringBuilder(SAVE_BUFFER_SIZE + 512);
+               final char[]        CHARS   = new char[SAVE_BUFFER_SIZE + 512];
+               for (int i = 0; i < WARES_SAVED.length; i++) {
+                  WareCodec.append(ENTRIES, WARES_SAVED[i], QUANTITIES_SAVED[i]).append('\n');
+
+                  if (ENTRIES.length() >= SAVE_BUFFER_SIZE || i == WARES_SAVED.length - 1) {
+                     writeEntries(fileWriter, ENTRIES, CHARS);
+                     ENTRIES.setLength(0);
+                  }
+               }
+
+               // write wares which failed to load,
+               // they might be nonexistent until the mod they are from is loaded
+               // or otherwise fixed by a server administrator
+               if (ENTRIES_ERRORED.length != 0) {
+                  fileWriter.write(StringTable.WARN_FILE_WARES_INVALID);
+                  for (String nonexistentWare : ENTRIES_ERRORED) {
+                     fileWriter.write(nonexistentWare);
+                     fileWriter.write('\n');
+                  }
+               }
+
+               // write alternate aliases last so all wares will be loaded
+               // before the aliases are loaded
+               if (!ALIASES.isEmpty()) {
+                  // warn users file may be overwritten
+                  fileWriter.write(StringTable.FILE_HEADER_ALT_ALIASES);
+                  fileWriter.write(ALIASES);
+               }
+            });
+         } catch (IOException e) {
+            Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_SAVE_WARES);
+            e.printStackTrace();
+            return;
          }
 
-         // write wares which failed to load,
-         // they might be nonexistent until the mod they are from is loaded
-         // or otherwise fixed by a server administrator
-         if (!waresErrored.isEmpty()) {
-            fileWriter.write(StringTable.WARN_FILE_WARES_INVALID);
-            for (String nonexistentWare : waresErrored) {
-               lineEntry.append(nonexistentWare).append('\n');
+         // write the binary snapshot after the text so the snapshot is newer
+         // if it fails, the text is loaded instead
+         if (BINARY_SNAPSHOTS) {
+            try {
+               writeWaresSnapshot(FILE_WARES_SAVE, JOURNAL_GENERATION, WARES_SAVED, QUANTITIES_SAVED, ENTRIES_ERRORED, ALIASES);
+            } catch (IOException e) {
+               Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_SNAPSHOT_WRITE + FILE_WARES_SAVE.getPath() + BinarySnapshot.FILE_SUFFIX);
+               e.printStackTrace();
             }
-            fileWriter.write(lineEntry.toString());
-            lineEntry.setLength(0);
          }
 
-         // write alternate aliases last so all wares will be loaded
-         // before the aliases are loaded
-         if (alternateAliasEntries.length() != 0) {
-            // warn users file may be overwritten
-            fileWriter.write(StringTable.FILE_HEADER_ALT_ALIASES);
-            fileWriter.write(alternateAliasEntries.toString());
+         // discard journal segments the file contains
+         if (JOURNAL_GENERATION > 0L)
+            WareJournal.compact(JOURNAL_GENERATION);
+      });
+   }
+
+   /**
+    * Writes generated ware entries to a save file without copying them into a new string.
+    * Should be called on the saving thread.
+    * <p>
+    * Complexity: O(n), where n is the length of the entries
+    * @param fileWriter where to write the entries
+    * @param entries    entries to be written
+    * @param chars      buffer for copying entries, grown if too small
+    * @throws IOException if the entries could not be written
+    */
+   private static void writeEntries(Writer fileWriter, StringBuilder entries, char[] chars) throws IOException {
+      final int LENGTH = entries.length();
+      if (chars.length < LENGTH)
+         chars = new char[LENGTH];
+      entries.getChars(0, LENGTH, chars, 0);
+      fileWriter.write(chars, 0, LENGTH);
+   }
+
+   /**
+    * Writes wares as a binary snapshot beside their save file.
+    * Wares are written after their components so loading them needs no retries.
+    * Should be called on the saving thread.
+    * <p>
+    * Complexity: O(n), where n is the number of wares
+    * @param fileWaresSave     save file the snapshot belongs to
+    * @param journalGeneration newest journal segment the snapshot contains
+    * @param waresSaved        every ware within the marketplace
+    * @param quantities        wares' quantities when saving began
+    * @param entriesErrored    entries which could not be loaded
+    * @param aliases           alternate alias entries
+    * @throws IOException if the snapshot could not be written
+    */
+   private static void writeWaresSnapshot(File fileWaresSave, long journalGeneration, Ware[] waresSaved, int[] quantities,
+                                          String[] entriesErrored, String aliases) throws IOException {
+      final BinarySnapshot.Builder SNAPSHOT   = new BinarySnapshot.Builder();
+      final DataOutputStream       RECORDS    = SNAPSHOT.section();
+      final DataOutputStream       COMPONENTS = SNAPSHOT.section();
+      final DataOutputStream       OTHERS     = SNAPSHOT.section();
+
+      // find each ware's captured quantity
+      final IdentityHashMap<Ware, Integer> POSITIONS = new IdentityHashMap<Ware, Integer>(waresSaved.length * 2);
+      for (int i = 0; i < waresSaved.length; i++)
+         POSITIONS.put(waresSaved[i], i);
+
+      // write wares after their components
+      final Set<Ware> WRITTEN = Collections.newSetFromMap(new IdentityHashMap<Ware, Boolean>(waresSaved.length * 2));
+      final ArrayDeque<Ware> ORDERED = new ArrayDeque<Ware>(waresSaved.length);
+      for (Ware ware : waresSaved)
+         orderAfterComponents(ware, POSITIONS, WRITTEN, ORDERED);
+      for (Ware ware : ORDERED)
+         ware.writeRecord(SNAPSHOT, RECORDS, COMPONENTS, quantities[POSITIONS.get(ware)]);
+
+      OTHERS.writeInt(entriesErrored.length);
+      for (String entry : entriesErrored)
+         OTHERS.writeInt(SNAPSHOT.string(entry));
+      OTHERS.writeInt(SNAPSHOT.string(aliases.isEmpty() ? null : aliases));
+
+      SNAPSHOT.write(fileWaresSave, BinarySnapshot.KIND_WARES, journalGeneration);
+   }
+
+   /**
+    * Appends a ware to an ordering after any of its components which are being ordered.
+    * <p>
+    * Complexity: O(n), where n is the number of wares the ware is created from, directly or indirectly
+    * @param ware      ware to be ordered
+    * @param positions wares being ordered
+    * @param ordered   wares already ordered
+    * @param ordering  wares in order
+    */
+   private static void orderAfterComponents(Ware ware, Map<Ware, Integer> positions, Set<Ware> ordered, ArrayDeque<Ware> ordering) {
+      if (!ordered.add(ware))
+         return;
+
+      // crafting chains are limited by the maximum crafting depth, so recursion is shallow
+      final Ware[] COMPONENTS = ware.components;
+      if (COMPONENTS != null) {
+         for (Ware component : COMPONENTS) {
+            if (component != null && positions.containsKey(component))
+               orderAfterComponents(component, positions, ordered, ordering);
          }
-      } catch (IOException e) {
-         Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_SAVE_WARES);
-         e.printStackTrace();
       }
+      ordering.add(ware);
+   }
 
-      // ensure the file is closed
-      try {
-         if (fileWriter != null)
-            fileWriter.close();
-      } catch (Exception e) { }
+   /**
+    * Returns how many wares changed since wares were last saved.
+    * <p>
+    * Complexity: O(n), where n is the number of wares changed since the last save
+    * @return number of wares waiting to be saved
+    */
+   public static int getNumWaresChanged() {
+      return waresChangedSinceLastSave.size();
+   }
 
-      releaseMutex();
+   /**
+    * Returns how long the most recent save paused trading while capturing wares' properties.
+    * <p>
+    * Complexity: O(1)
+    * @return nanoseconds spent capturing wares for the last save
+    */
+   public static long getSaveCaptureTime() {
+      return saveCaptureTimeLast;
    }
 
    /**
@@ -838,58 +1344,58 @@ public final class Marketplace {
     * Complexity: O(n), where n is loaded wares
     */
    public static void printMarket() {
-      StringBuilder lineEntry = new StringBuilder();
+      // gather tradeable wares so they may be priced together
+      List<Ware> waresPrinted = new ArrayList<Ware>(wares.size());
+      for (Ware ware : wares.values()) {
+         // for paranoia's sake and
+         // don't print untradeable and linked wares
+         if (ware == null || ware instanceof WareUntradeable || ware instanceof WareLinked)
+            continue;
+
+         waresPrinted.add(ware);
+      }
+      int[]   wareIndices = new int[waresPrinted.size()];
+      float[] prices      = new float[waresPrinted.size()];
+      for (int i = 0; i < wareIndices.length; i++)
+         wareIndices[i] = getWareIndex(waresPrinted.get(i));
+      getPrices(wareIndices, null, PriceType.CURRENT_SELL, prices);
 
-      BufferedWriter fileWriter = null; // use a handle to ensure the file gets closed
+      // print to a temporary file and rename it, so a crash never leaves part of the file
+      // compressed files are named differently so they aren't mistaken for text
+      final File FILE_MARKET = new File(Config.compressSaveFiles ? Config.filenameMarket + CompressedFiles.FILE_SUFFIX : Config.filenameMarket);
       try {
-         // open the file for printing wares, create it if it doesn't exist
-         fileWriter = new BufferedWriter(new FileWriter(Config.filenameMarket, false));
-
-         // warn users file may be overwritten and print the header
-         // tabs are used to allow easy pasting into Microsoft Excel spreadsheets
-         fileWriter.write(StringTable.WARN_FILE_OVERWRITE + StringTable.FILE_HEADER_PRINT_MARKET);
-
-         // loop through wares and write data to file
-         String alias;
-         String wareID; // ID of ware being printed
-         Ware   ware;   // ware being printed
-         for (Map.Entry<String, Ware> entry : wares.entrySet()) {
-            // prevents a null pointer exception if wares are being reloaded
-            if (entry == null) {
-               fileWriter.close();
-               return;
+         SnapshotWriter.write(FILE_MARKET, fileWriter -> {
+            StringBuilder lineEntry = new StringBuilder();
+
+            // warn users file may be overwritten and print the header
+            // tabs are used to allow easy pasting into Microsoft Excel spreadsheets
+            fileWriter.write(StringTable.WARN_FILE_OVERWRITE + StringTable.FILE_HEADER_PRINT_MARKET);
+
+            // loop through wares and write data to file
+            String alias;
+            String wareID; // ID of ware being printed
+            Ware   ware;   // ware being printed
+            for (int i = 0; i < wareIndices.length; i++) {
+               ware   = waresPrinted.get(i);
+               wareID = ware.getWareID();
+
+               // only print alias if ware has one
+               alias = ware.getAlias();
+               if (alias != null && !alias.isEmpty())
+                  lineEntry.append(wareID).append('\t').append(alias).append('\t').append(prices[i]).append('\t').append(ware.getQuantity()).append('\t').append(ware.getLevel()).append('\n');
+               else
+                  lineEntry.append(wareID).append("\t\t").append(prices[i]).append('\t').append(ware.getQuantity()).append('\t').append(ware.getLevel()).append('\n');
+
+               // write to file
+               fileWriter.write(lineEntry.toString());
+               lineEntry.setLength(0);
             }
-
-            wareID = entry.getKey();
-            ware   = entry.getValue();
-
-            // for paranoia's sake and
-            // don't print untradeable and linked wares
-            if (ware == null || ware instanceof WareUntradeable || ware instanceof WareLinked)
-               continue;
-
-            // only print alias if ware has one
-            alias = ware.getAlias();
-            if (alias != null && !alias.isEmpty())
-               lineEntry.append(wareID).append('\t').append(alias).append('\t').append(getPrice(null, ware, 1, PriceType.CURRENT_SELL)).append('\t').append(ware.getQuantity()).append('\t').append(ware.getLevel()).append('\n');
-            else
-               lineEntry.append(wareID).append("\t\t").append(getPrice(null, ware, 1, PriceType.CURRENT_SELL)).append('\t').append(ware.getQuantity()).append('\t').append(ware.getLevel()).append('\n');
-
-            // write to file
-            fileWriter.write(lineEntry.toString());
-            lineEntry.setLength(0);
-         }
+         }, Config.compressSaveFiles, 0);
       } catch (IOException e) {
          Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_PRINT_MARKET);
          e.printStackTrace();
       }
 
-      // ensure the file is closed
-      try {
-         if (fileWriter != null)
-            fileWriter.close();
-      } catch (Exception e) { }
-
       Config.userInterface.printToConsole(StringTable.MSG_PRINT_MARKET);
    }
 
@@ -936,27 +1442,15 @@ public final class Marketplace {
       }
 
       // initialize variables
-      final float PRICE_BASE = ware.getBasePrice();
-      float spreadAdjustment = 0.0f; // spread's effect on price
-      float priceNoQuantityEffect;   // ware's price without considering supply and demand
-
-      // if spread is normal or base is 0, make no adjustment
-      if (Config.priceSpread != 1.0f && PRICE_BASE != 0.0f)
-         // spreadAdjustment = distance from median * distance multiplier
-         spreadAdjustment = ((float) priceBaseMedian - PRICE_BASE) * (1.0f - Config.priceSpread);
+      final PricingContext PRICING = PricingContext.get(); // use the same settings throughout the calculation
+      final PriceCurve     CURVE   = PriceCurve.get(ware, PRICING); // ware's saved prices, recalculated only when outdated
+      final float priceNoQuantityEffect; // ware's price without considering supply and demand
 
       // check if purchasing upcharge should be applied
-      if (Config.priceBuyUpchargeMult != 1.0f &&
-          (priceType == PriceType.CURRENT_BUY || priceType == PriceType.EQUILIBRIUM_BUY || priceType == PriceType.FLOOR_BUY || priceType == PriceType.CEILING_BUY))
-         // calculate price with upcharge multiplier
-         priceNoQuantityEffect = (PRICE_BASE + spreadAdjustment) * Config.priceMult * Config.priceBuyUpchargeMult;
+      if (priceType == PriceType.CURRENT_BUY || priceType == PriceType.EQUILIBRIUM_BUY || priceType == PriceType.FLOOR_BUY || priceType == PriceType.CEILING_BUY)
+         priceNoQuantityEffect = CURVE.priceBuy;
       else
-         // calculate price without upcharge multiplier
-         priceNoQuantityEffect = (PRICE_BASE + spreadAdjustment) * Config.priceMult;
-
-      // factor in components' prices affecting manufactured prices
-      if (Config.shouldComponentsCurrentPricesAffectWholesPrice && ware.hasComponents() && !Config.pricesIgnoreSupplyAndDemand)
-         priceNoQuantityEffect *= ware.getLinkedPriceMultiplier();
+         priceNoQuantityEffect = CURVE.priceSell;
 
       // check whether price should be returned
       // without considering supply and demand
@@ -965,29 +1459,41 @@ public final class Marketplace {
 
       // check whether price ceiling should be returned
       else if (priceType == PriceType.CEILING_BUY || priceType == PriceType.CEILING_SELL)
-         return PriceFormatter.truncatePrice(quanToTrade * priceNoQuantityEffect * Config.priceCeiling);
+         return PriceFormatter.truncatePrice(quanToTrade * priceNoQuantityEffect * PRICING.priceCeiling);
 
       // find price floor to be enforced for this purchase
-      final float PRICE_MIN = PriceFormatter.truncatePrice(quanToTrade * priceNoQuantityEffect * Config.priceFloor);
+      final float PRICE_MIN = PriceFormatter.truncatePrice(quanToTrade * priceNoQuantityEffect * PRICING.priceFloor);
 
       // check whether price floor should be returned
       if (priceType == PriceType.FLOOR_BUY || priceType == PriceType.FLOOR_SELL)
          return PRICE_MIN;
 
-      // prepare to calculate current price
-      final int   QUAN_CEILING                  = Config.quanExcessive[ware.getLevel()];
-      final int   QUAN_FLOOR                    = Config.quanDeficient[ware.getLevel()];
-      final int   QUAN_EQUILIBRIUM              = Config.quanEquilibrium[ware.getLevel()];
-      final float QUAN_FLOOR_TO_EQUILIBRIUM     = (float) (QUAN_EQUILIBRIUM - QUAN_FLOOR);   // how much quantity is between the price floor stock and equilibrium stock
-      final float QUAN_CEILING_FROM_EQUILIBRIUM = (float) (QUAN_CEILING - QUAN_EQUILIBRIUM); // cast as a float now since it will only be used as a float
-            int   quanOnMarket                  = ware.getQuantity();
-            float priceTotal                    = 0.0f; // total price of quantity traded
-            int   quanPartialTrade              = 0;    // quantity to be traded in a particular price quadrant
+      return getCurrentPrice(ware, priceNoQuantityEffect, PRICE_MIN, ware.getQuantity(), ware.getLevel(), quanToTrade, priceType == PriceType.CURRENT_BUY, PRICING);
+   }
+
+   /**
+    * Returns a ware's current price, factoring in supply and demand.
+    * Used for pricing wares individually or in batches.
+    * <p>
+    * Complexity: O(1)
+    * @param ware                  ware to be priced; only used if the ware may be manufactured
+    * @param priceNoQuantityEffect ware's unit price without considering supply and demand
+    * @param priceMin              price floor to be enforced for the trade
+    * @param quanOnMarket          ware's quantity available for sale
+    * @param level                 ware's hierarchy level
+    * @param quanToTrade           how much to buy or sell
+    * @param isPurchase            <code>true</code> if the price should reflect buying the ware
+    *                              <code>false</code> if the price should reflect selling the ware
+    * @param pricing               pricing settings to be used
+    * @return ware's price
+    */
+   private static float getCurrentPrice(Ware ware, float priceNoQuantityEffect, float priceMin, int quanOnMarket, byte level, int quanToTrade, boolean isPurchase, PricingContext pricing) {
+      float priceTotal = 0.0f; // total price of quantity traded
 
       // find the total price
       // if buying, adjust the price first
       // so buying and selling are reciprocal
-      if (priceType == PriceType.CURRENT_BUY) {
+      if (isPurchase) {
          quanOnMarket -= quanToTrade;
 
          // if manufacturing wares should be included and
@@ -1010,71 +1516,125 @@ public final class Marketplace {
          }
       }
 
-      // if understocked, enforce a price ceiling
-      if (quanToTrade > 0 && quanOnMarket < QUAN_FLOOR) {
-         // figure how how much should be sold in this price quadrant
-         if ((quanOnMarket + quanToTrade) <= QUAN_FLOOR)
-            quanPartialTrade += quanToTrade;
-         else
-            quanPartialTrade += QUAN_FLOOR - quanOnMarket;
+      // factor in supply and demand
+      priceTotal += pricing.priceModels[level].cost(priceNoQuantityEffect, quanOnMarket, quanToTrade);
 
-         // trade within the price quadrant
-         priceTotal   += quanPartialTrade * priceNoQuantityEffect * Config.priceCeiling;
-         quanOnMarket += quanPartialTrade;
-         quanToTrade  -= quanPartialTrade;
-      }
+      // enforce a price floor
+      if (priceTotal >= priceMin)
+         // truncate the price to avoid rounding and multiplication errors
+         return PriceFormatter.truncatePrice(priceTotal);
+      else
+         return priceMin;
+   }
+
+   /**
+    * Returns a ware's position for pricing many wares at once using getPrices().
+    * The position remains valid until wares are reloaded.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is the number of wares in the market
+    * @param ware ware whose position should be returned
+    * @return ware's index or -1 if no ware is given
+    */
+   public static int getWareIndex(Ware ware) {
+      return WareColumns.indexOf(ware);
+   }
+
+   /**
+    * Calculates prices for many wares at once,
+    * giving the same prices as calling getPrice() for each ware.
+    * <p>
+    * Wares' properties are read from parallel arrays rather than each ware,
+    * keeping the loop tight. Wares whose prices depend on their components'
+    * current prices use their saved price curves rather than base prices.
+    * Untradeable wares and linked wares are priced individually.
+    * <p>
+    * Complexity: O(n), where n is the number of wares to be priced
+    * @param wareIndices wares to be priced, given by getWareIndex()
+    * @param quantities  how much of each ware to buy or sell; null to price single units
+    * @param priceType   which price should be returned
+    * @param out         where to write each ware's price; NaN for invalid indices
+    */
+   public static void getPrices(int[] wareIndices, int[] quantities, PriceType priceType, float[] out) {
+      if (wareIndices == null || out == null || priceType == null)
+         return;
+
+      // if all prices should be fixed, use equilibrium prices
+      // wares priced individually handle this themselves
+      final PriceType PRICE_TYPE_REQUESTED = priceType;
+      if (Config.pricesIgnoreSupplyAndDemand) {
+         if (priceType == PriceType.CURRENT_BUY)
+            priceType = PriceType.EQUILIBRIUM_BUY;
+         else if (priceType == PriceType.CURRENT_SELL)
+            priceType = PriceType.EQUILIBRIUM_SELL;
+      }
+
+      // use the same settings and wares throughout the calculation
+      final PricingContext PRICING = PricingContext.get();
+      final WareColumns    COLUMNS = WareColumns.get();
+
+      // determine which price is being calculated outside of the loop
+      final boolean IS_PURCHASE     = priceType == PriceType.CURRENT_BUY || priceType == PriceType.EQUILIBRIUM_BUY || priceType == PriceType.FLOOR_BUY || priceType == PriceType.CEILING_BUY;
+      final boolean IS_CURRENT      = priceType == PriceType.CURRENT_BUY || priceType == PriceType.CURRENT_SELL;
+      final boolean IS_EQUILIBRIUM  = priceType == PriceType.EQUILIBRIUM_BUY || priceType == PriceType.EQUILIBRIUM_SELL;
+      final boolean IS_CEILING      = priceType == PriceType.CEILING_BUY || priceType == PriceType.CEILING_SELL;
+      final boolean USE_UPCHARGE    = IS_PURCHASE && PRICING.usePriceBuyUpchargeMult;
+
+      int   index;                 // ware's position within columns
+      int   quanToTrade;           // how much of the ware to price
+      float priceBase;             // ware's unmodified price
+      float priceNoQuantityEffect; // ware's price without considering supply and demand
+      float priceMin;              // price floor to be enforced
+      for (int i = 0; i < wareIndices.length; i++) {
+         index       = wareIndices[i];
+         quanToTrade = quantities == null || quantities[i] <= 0 ? 1 : quantities[i];
+
+         // if the ware is unknown, flag the price as invalid
+         if (index < 0 || COLUMNS.size <= index) {
+            out[i] = Float.NaN;
+            continue;
+         }
 
-      // if below equilibrium, raise the price
-      if (quanToTrade > 0 && quanOnMarket < QUAN_EQUILIBRIUM) {
-         // figure how how much should be sold in this price quadrant
-         if ((quanOnMarket + quanToTrade) <= QUAN_EQUILIBRIUM)
-            quanPartialTrade = quanToTrade;
-         else
-            quanPartialTrade = QUAN_EQUILIBRIUM - quanOnMarket;
+         // if the ware is untradeable or linked to other wares, price it individually
+         if (COLUMNS.kinds[index] == WareColumns.KIND_SPECIAL) {
+            out[i] = getPrice(null, COLUMNS.wares[index], quanToTrade, PRICE_TYPE_REQUESTED);
+            continue;
+         }
 
-         // trade within the price quadrant
-         // price in a price quadrant = (cost of first unit to trade + cost of last unit to trade) / 2 * quantity sold
-         // scarcity price rise percent = price ceiling multiplier - percent distance away from equilibrium toward stock floor
-         priceTotal   += quanPartialTrade * priceNoQuantityEffect * (1.0f + Config.priceCeilingAdjusted * (((quanOnMarket + ((float) (quanPartialTrade + 1) / 2) - QUAN_EQUILIBRIUM)) / QUAN_FLOOR_TO_EQUILIBRIUM));
-         quanOnMarket += quanPartialTrade;
-         quanToTrade  -= quanPartialTrade;
-      }
+         // calculate price without considering supply and demand
+         // if the ware's price may depend on its components' prices, use its saved curve
+         if (COLUMNS.kinds[index] == WareColumns.KIND_COMPONENTS) {
+            if (IS_PURCHASE)
+               priceNoQuantityEffect = PriceCurve.get(COLUMNS.wares[index], PRICING).priceBuy;
+            else
+               priceNoQuantityEffect = PriceCurve.get(COLUMNS.wares[index], PRICING).priceSell;
+         }
+         else {
+            priceBase = COLUMNS.basePrices[index];
+            if (PRICING.usePriceSpread && priceBase != 0.0f)
+               priceNoQuantityEffect = (priceBase + (PRICING.priceBaseMedian - priceBase) * PRICING.spreadMult) * PRICING.priceMult;
+            else
+               priceNoQuantityEffect = priceBase * PRICING.priceMult;
+            if (USE_UPCHARGE)
+               priceNoQuantityEffect *= PRICING.priceBuyUpchargeMult;
+         }
 
-      // if at equilibrium, use balanced price
-      if (quanToTrade > 0 && quanOnMarket == QUAN_EQUILIBRIUM) {
-         priceTotal += priceNoQuantityEffect;
-         quanOnMarket++;
-         quanToTrade--;
-      }
+         if (IS_EQUILIBRIUM) {
+            out[i] = PriceFormatter.truncatePrice(quanToTrade * priceNoQuantityEffect);
+            continue;
+         }
+         if (IS_CEILING) {
+            out[i] = PriceFormatter.truncatePrice(quanToTrade * priceNoQuantityEffect * PRICING.priceCeiling);
+            continue;
+         }
 
-      // if above equilibrium, lower the price
-      if (quanToTrade > 0 && QUAN_CEILING > quanOnMarket && quanOnMarket > QUAN_EQUILIBRIUM) {
-         // figure how how much should be sold in this price quadrant
-         if ((quanOnMarket + quanToTrade) <= QUAN_CEILING)
-            quanPartialTrade = quanToTrade;
+         priceMin = PriceFormatter.truncatePrice(quanToTrade * priceNoQuantityEffect * PRICING.priceFloor);
+         if (IS_CURRENT)
+            out[i] = getCurrentPrice(COLUMNS.wares[index], priceNoQuantityEffect, priceMin, COLUMNS.quantities.get(index), COLUMNS.levels[index], quanToTrade, IS_PURCHASE, PRICING);
          else
-            quanPartialTrade = QUAN_CEILING - quanOnMarket;
-
-         // trade within the price quadrant
-         // price in a price quadrant = (cost of first unit to trade + cost of last unit to trade) / 2 * quantity sold
-         // saturation price drop percent = price floor multiplier - percent distance away from equilibrium toward overstocked
-         priceTotal   += quanPartialTrade * priceNoQuantityEffect * (1.0f - Config.priceFloorAdjusted * (((quanOnMarket + ((float) (quanPartialTrade + 1) / 2) - QUAN_EQUILIBRIUM)) / QUAN_CEILING_FROM_EQUILIBRIUM));
-         quanOnMarket += quanPartialTrade;
-         quanToTrade  -= quanPartialTrade;
+            out[i] = priceMin;
       }
-
-      // if overstocked, enforce a price floor
-      if (quanToTrade > 0 && quanOnMarket >= QUAN_CEILING) {
-         priceTotal   += quanToTrade * priceNoQuantityEffect * Config.priceFloor;
-         quanOnMarket += quanToTrade;
-      }
-
-      // enforce a price floor
-      if (priceTotal >= PRICE_MIN)
-         // truncate the price to avoid rounding and multiplication errors
-         return PriceFormatter.truncatePrice(priceTotal);
-      else
-         return PRICE_MIN;
    }
 
    /**
@@ -1088,115 +1648,25 @@ public final class Marketplace {
     */
    public static int getPurchasableQuantity(Ware ware, float moneyAvailable) {
       // get ware information
-      final float PRICE_BASE                    = ware.getBasePrice();
-      final int   QUAN_CEILING                  = Config.quanExcessive[ware.getLevel()];
-      final int   QUAN_FLOOR                    = Config.quanDeficient[ware.getLevel()];
-      final int   QUAN_EQUILIBRIUM              = Config.quanEquilibrium[ware.getLevel()];
-      final float QUAN_FLOOR_TO_EQUILIBRIUM     = (float) (QUAN_EQUILIBRIUM - QUAN_FLOOR);   // how much quantity is between the price floor stock and equilibrium stock
-      final float QUAN_CEILING_FROM_EQUILIBRIUM = (float) (QUAN_CEILING - QUAN_EQUILIBRIUM); // cast as a float now since it will only be used as a float
-            int   quanOnMarket                  = ware.getQuantity();
+      final PricingContext PRICING    = PricingContext.get(); // use the same settings throughout the calculation
+      final byte           LEVEL      = ware.getLevel();
+      final float          PRICE_BASE = ware.getBasePrice();
 
       // initialize variables
-      float spreadAdjustment   = 0.0f; // spread's effect on price
-      float priceNoQuantityEffect;     // ware's price without considering supply and demand
-      float priceUnit;                 // multiplier for how much supply and demand are affecting price
-      int   quanPartialTrade;          // quantity to be traded in a particular price quadrant
-      int   purchasableQuantity = 0;   // how much quantity many be purchased
-
-      // prepare to use quadratic formula to solve for purchasable quantity
-      float quadraticFormulaA;
-      float quadraticFormulaB;
-      float quadraticFormulaC;
+      float spreadAdjustment    = 0.0f; // spread's effect on price
+      float priceNoQuantityEffect;      // ware's price without considering supply and demand
+      int   purchasableQuantity;        // how much quantity many be purchased
 
       // if spread is normal or base is 0, make no adjustment
-      if (Config.priceSpread != 1.0f && PRICE_BASE != 0.0f)
+      if (PRICING.usePriceSpread && PRICE_BASE != 0.0f)
          // spreadAdjustment = distance from median * distance multiplier
-         spreadAdjustment = ((float) priceBaseMedian - PRICE_BASE) * (1.0f - Config.priceSpread);
+         spreadAdjustment = (PRICING.priceBaseMedian - PRICE_BASE) * PRICING.spreadMult;
 
       // calculate price when unaffected by supply and demand
-      priceNoQuantityEffect = (PRICE_BASE + spreadAdjustment) * Config.priceBuyUpchargeMult * Config.priceMult;
-
-      // find price quadrant and grab values
-      // (quad 1) if at or below price floor
-      if (quanOnMarket > QUAN_CEILING) {
-         quanPartialTrade = quanOnMarket - QUAN_CEILING;
-         priceUnit        = priceNoQuantityEffect * Config.priceFloor;
-
-         // find how much quantity until crossing
-         if (priceUnit * quanPartialTrade >= moneyAvailable) {
-            // if not crossing, divide money by constant price
-            purchasableQuantity = (int) (moneyAvailable / priceUnit);
-
-            // zero out money to avoid checking next price quadrants
-            moneyAvailable = 0.0f;
-            quanOnMarket -= quanPartialTrade;
-         } else {
-            // if crossing, multiple constant price by total quantity before crossing
-            purchasableQuantity  = quanPartialTrade;
-            moneyAvailable      -= priceUnit * quanPartialTrade;
-
-            // remove purchased quantity to cross into next price quadrant
-            quanOnMarket -= quanPartialTrade;
-         }
-      }
-
-      // (quad 2) if above equilibrium
-      if (moneyAvailable > 0.0f  && quanOnMarket > QUAN_EQUILIBRIUM) {
-         // find the average price of price quadrant's remaining quantity until crossing
-         quanPartialTrade = quanOnMarket - QUAN_EQUILIBRIUM - 1;
-         priceUnit        = priceNoQuantityEffect * (1.0f - Config.priceFloorAdjusted * (((quanOnMarket - ((float) quanPartialTrade / 2) - QUAN_EQUILIBRIUM)) / QUAN_CEILING_FROM_EQUILIBRIUM));
-
-         // find how much quantity until crossing
-         if (priceUnit * quanPartialTrade > moneyAvailable) {
-            // if not crossing, use quadratic formula to solve for purchasable quantity
-            quadraticFormulaA = 0.5f * Config.priceFloorAdjusted;
-            quadraticFormulaB = QUAN_CEILING_FROM_EQUILIBRIUM + Config.priceFloorAdjusted * (QUAN_EQUILIBRIUM - quanOnMarket - 0.5f);
-            quadraticFormulaC = -moneyAvailable * QUAN_CEILING_FROM_EQUILIBRIUM / priceNoQuantityEffect;
-            purchasableQuantity += (int) ((-quadraticFormulaB + Math.sqrt(Math.pow(quadraticFormulaB, 2) - (4 * quadraticFormulaA * quadraticFormulaC))) / (2 * quadraticFormulaA));
-
-            // zero out money to avoid checking next price quadrants
-            moneyAvailable = 0.0f;
-         } else {
-            // if crossing, multiple average price by total quantity before crossing
-            purchasableQuantity += quanPartialTrade;
-            moneyAvailable      -= priceUnit * quanPartialTrade;
-
-            // remove purchased quantity to cross into next price quadrant
-            quanOnMarket -= quanPartialTrade;
-         }
-      }
-
-      // (quad3) if below equilibrium
-      if (moneyAvailable > 0.0f && QUAN_FLOOR < quanOnMarket) {
-         // find the average price of price quadrant's remaining quantity until crossing
-         quanPartialTrade = quanOnMarket - QUAN_FLOOR + 1;
-         priceUnit        = priceNoQuantityEffect * (1.0f + Config.priceCeilingAdjusted * (((quanOnMarket - ((float) quanPartialTrade / 2) - QUAN_EQUILIBRIUM)) / QUAN_FLOOR_TO_EQUILIBRIUM));
-
-         // find how much quantity until crossing
-         if (priceUnit * quanPartialTrade > moneyAvailable) {
-            // if not crossing, use quadratic formula to solve for purchasable quantity
-            quadraticFormulaA = -0.5f * Config.priceCeilingAdjusted;
-            quadraticFormulaB = QUAN_FLOOR_TO_EQUILIBRIUM + Config.priceCeilingAdjusted * (quanOnMarket - QUAN_EQUILIBRIUM + 0.5f);
-            quadraticFormulaC = -moneyAvailable * QUAN_FLOOR_TO_EQUILIBRIUM / priceNoQuantityEffect;
-            purchasableQuantity += (int) ((-quadraticFormulaB + Math.sqrt(Math.pow(quadraticFormulaB, 2) - (4 * quadraticFormulaA * quadraticFormulaC))) / (2 * quadraticFormulaA));
-
-            // zero out money to avoid checking next price quadrants
-            moneyAvailable = 0.0f;
-         } else {
-            // if crossing, multiple average price by total quantity before crossing
-            purchasableQuantity += quanPartialTrade;
-            moneyAvailable      -= priceUnit * quanPartialTrade;
+      priceNoQuantityEffect = (PRICE_BASE + spreadAdjustment) * PRICING.priceBuyUpchargeMult * PRICING.priceMult;
 
-            // remove purchased quantity to cross into next price quadrant
-            quanOnMarket -= quanPartialTrade;
-         }
-      }
-
-      // (quad 4) if at price ceiling
-      if (moneyAvailable > 0.0f && quanOnMarket <= QUAN_FLOOR + 1) {
-         // divide money by constant price
-         purchasableQuantity += (int) ((moneyAvailable / (priceNoQuantityEffect * Config.priceCeiling)) + 0.5f);
-      }
+      // solve for quantity using the level's price curve
+      purchasableQuantity = PRICING.priceModels[LEVEL].quantityForBudget(priceNoQuantityEffect, ware.getQuantity(), moneyAvailable);
 
       // validate purchasable quantity
       if (purchasableQuantity > 0)
@@ -1218,13 +1688,9 @@ public final class Marketplace {
     */
    public static int getQuantityUntilPrice(Ware ware, float priceUnit, boolean isPurchase) {
       // get ware information
-      final float PRICE_BASE       = ware.getBasePrice();
-      final int   QUAN_CEILING                  = Config.quanExcessive[ware.getLevel()];
-      final int   QUAN_FLOOR                    = Config.quanDeficient[ware.getLevel()];
-      final int   QUAN_EQUILIBRIUM              = Config.quanEquilibrium[ware.getLevel()];
-      final float QUAN_FLOOR_TO_EQUILIBRIUM     = (float) (QUAN_EQUILIBRIUM - QUAN_FLOOR);   // how much quantity is between the price floor stock and equilibrium stock
-      final float QUAN_CEILING_FROM_EQUILIBRIUM = (float) (QUAN_CEILING - QUAN_EQUILIBRIUM); // cast as a float now since it will only be used as a float
-      final int   QUAN_ON_MARKET    = ware.getQuantity();
+      final PricingContext PRICING    = PricingContext.get(); // use the same settings throughout the calculation
+      final byte           LEVEL      = ware.getLevel();
+      final float          PRICE_BASE = ware.getBasePrice();
 
       // initialize variables
       float spreadAdjustment = 0.0f; // spread's effect on price
@@ -1232,58 +1698,15 @@ public final class Marketplace {
       int quantityUntilPrice;        // units until given price is reached
 
       // if spread is normal or base is 0, make no adjustment
-      if (Config.priceSpread != 1.0f && PRICE_BASE != 0.0f)
+      if (PRICING.usePriceSpread && PRICE_BASE != 0.0f)
          // spreadAdjustment = distance from median * distance multiplier
-         spreadAdjustment = ((float) priceBaseMedian - PRICE_BASE) * (1.0f - Config.priceSpread);
+         spreadAdjustment = (PRICING.priceBaseMedian - PRICE_BASE) * PRICING.spreadMult;
 
       // calculate price when unaffected by supply and demand
-      priceNoQuantityEffect = (PRICE_BASE + spreadAdjustment) * Config.priceBuyUpchargeMult * Config.priceMult;
-
-      // quad1/quad2, if acceptable price is above base price
-      if (priceUnit > PRICE_BASE) {
-         // quad1, if price is above ceiling
-         if (priceUnit >= PRICE_BASE * Config.priceCeiling) {
-            // if the highest possible price is acceptable,
-            // everything is acceptable
-            return QUAN_ON_MARKET;
-         }
-         // quad2, if price is below ceiling and above equilibrium
-         else {
-            // find quantity at acceptable price
-            quantityUntilPrice = (int) -((((-priceUnit / priceNoQuantityEffect + 1.0f) / Config.priceCeilingAdjusted) * QUAN_FLOOR_TO_EQUILIBRIUM) + 1 - QUAN_EQUILIBRIUM);
-
-            // find delta between current quantity and acceptable quantity
-            if (isPurchase)
-               quantityUntilPrice = QUAN_ON_MARKET - quantityUntilPrice;
-            else
-               quantityUntilPrice -= QUAN_ON_MARKET;
-         }
-      }
-      // quad3/quad4, if acceptable price is below base price
-      else {
-         // quad4, if price is below price floor
-         if (priceUnit <= PRICE_BASE * Config.priceFloor) {
-            if (isPurchase)
-               // if the lowest possible price is unacceptable,
-               // nothing is acceptable
-               return 0;
-            else
-               // if the lowest possible price is acceptable,
-               // everything is acceptable
-               return QUAN_ON_MARKET;
-         }
-         // quad3, if price is above floor and below equilibrium
-         else {
-            // find quantity at acceptable price
-            quantityUntilPrice = (int) (((-priceUnit / priceNoQuantityEffect + 1.0f) / Config.priceFloorAdjusted * QUAN_CEILING_FROM_EQUILIBRIUM) - 1 + QUAN_EQUILIBRIUM);
+      priceNoQuantityEffect = (PRICE_BASE + spreadAdjustment) * PRICING.priceBuyUpchargeMult * PRICING.priceMult;
 
-            // find delta between current quantity and acceptable quantity
-            if (isPurchase)
-               quantityUntilPrice = QUAN_ON_MARKET - quantityUntilPrice;
-            else
-               quantityUntilPrice -= QUAN_ON_MARKET;
-         }
-      }
+      // solve for quantity using the level's price curve
+      quantityUntilPrice = PRICING.priceModels[LEVEL].quantityUntilUnitPrice(priceNoQuantityEffect, ware.getQuantity(), priceUnit, isPurchase);
 
       // if quantity until the price is negative,
       // then the current price is unacceptable
@@ -1293,6 +1716,15 @@ public final class Marketplace {
          return quantityUntilPrice;
    }
 
+   /**
+    * Returns the median price loaded from the wares configuration file,
+    * before adjusting for configuration settings and market influences.
+    * <p>
+    * Complexity: O(1)
+    * @return median base price of all wares
+    */
+   public static float getPriceBaseMedian() { return priceBaseMedian; }
+
    /**
     * Returns the average price loaded from the wares configuration file,
     * before adjusting for configuration settings and market influences.
@@ -1432,6 +1864,8 @@ public final class Marketplace {
    /**
     * Purchases a ware from the market for a player.
     * <p>
+    * If the market thread is running, the trade is made there.
+    * <p>
     * Complexity: O(log n)
     * @param playerID     user responsible for the trading
     * @param coordinates  where wares may be found
@@ -1441,8 +1875,25 @@ public final class Marketplace {
     * @param maxUnitPrice stop buying if unit price is above this amount
     * @param pricePercent percentage multiplier for ware's price
     */
-   public static void buy(UUID playerID, UserInterface.Coordinates coordinates,
-                          String accountID, String wareID, int quantity, float maxUnitPrice, float pricePercent) {
+   public static void buy(final UUID playerID, final UserInterface.Coordinates coordinates,
+                          final String accountID, final String wareID, final int quantity, final float maxUnitPrice, final float pricePercent) {
+      MarketEventLoop.execute(() -> buyPrivate(playerID, coordinates, accountID, wareID, quantity, maxUnitPrice, pricePercent));
+   }
+
+   /**
+    * Purchases a ware from the market for a player on the current thread.
+    * <p>
+    * Complexity: O(log n)
+    * @param playerID     user responsible for the trading
+    * @param coordinates  where wares may be found
+    * @param accountID    key used to retrieve account information
+    * @param wareID       key used to retrieve ware information
+    * @param quantity     how much of the ware should be purchased
+    * @param maxUnitPrice stop buying if unit price is above this amount
+    * @param pricePercent percentage multiplier for ware's price
+    */
+   private static void buyPrivate(UUID playerID, UserInterface.Coordinates coordinates,
+                                  String accountID, String wareID, int quantity, float maxUnitPrice, float pricePercent) {
       if (quantity <= 0              || // if nothing should be bought, stop
          playerID == null)             // if no player was given, there is no party responsible for the purchase
          return;
@@ -1465,6 +1916,7 @@ public final class Marketplace {
          Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_INVALID + ware.getWareID() + StringTable.WARN_FILE_WARE_INVALID + Config.filenameWaresSave);
          waresErrored.add(ware.toJSON() + '\n');
          wares.remove(ware.getWareID());
+         PriceStatistics.markStale(ware);
          return;
       }
       wareID = ware.getWareID();
@@ -1651,6 +2103,29 @@ public final class Marketplace {
          return; // no message to avoid needless messaging and ease autobuying
 
       // ---Complete Transaction:---
+      // subtract from market's quantity
+      // if possible, commit the order without waiting for other trades
+      // linked wares' components can't be committed together, so they use the mutex
+      if (Config.lockFreeTrading && manufacturedWares == null && !(ware instanceof WareLinked)) {
+         float[] purchase = commitPurchase(playerID, ware, quantityToBuy, maxUnitPrice, moneyAvailable, pricePercent);
+
+         // if the order could not be filled, stop
+         if (purchase == null)
+            return; // an error message has already been sent to the player
+
+         price         = purchase[0];
+         quantityToBuy = (int) purchase[1];
+      }
+      else {
+         acquireMutex(); // prevent other threads from adjusting wares' properties
+         // don't double-count manufactured quantity from marketplace
+         if (manufacturedWares == null)
+            ware.subtractQuantity(quantityToBuy);
+         else
+            ware.subtractQuantity(quantityToBuy - (int) manufacturedWares[1]);
+         releaseMutex(); // allow other threads to adjust wares' properties
+      }
+
       // buy the ware
       // take the money
       account.subtractMoney(price);
@@ -1658,14 +2133,6 @@ public final class Marketplace {
       // give the ware to the player
       Config.userInterface.addToInventory(playerID, coordinates, wareID, quantityToBuy);
 
-      // subtract from market's quantity
-      waitForMutex(); // check if another thread is adjusting wares' properties
-      // don't double-count manufactured quantity from marketplace
-      if (manufacturedWares == null)
-         ware.subtractQuantity(quantityToBuy);
-      else
-         ware.subtractQuantity(quantityToBuy - (int) manufacturedWares[1]);
-
       // report success
       // if the ware has an alias, use it
       if (ware.getAlias() == null || ware.getAlias().isEmpty()) {
@@ -1723,9 +2190,136 @@ public final class Marketplace {
       }
    }
 
+   /**
+    * Removes a purchase from the marketplace without holding the marketplace's mutex.
+    * The order is priced against the ware's current quantity and
+    * committed only if no other thread has changed that quantity in the meantime;
+    * otherwise, the order is re-priced and committed again.
+    * <p>
+    * Complexity: O(1) per attempt
+    * @param playerID       user responsible for the trading
+    * @param ware           ware to be purchased
+    * @param quantity       most quantity which may be purchased
+    * @param maxUnitPrice   stop buying if unit price is above this amount
+    * @param moneyAvailable funds which may be spent on the order
+    * @param pricePercent   percentage multiplier for ware's price
+    * @return [0]: total price and [1]: quantity purchased or null if nothing was purchased
+    */
+   private static float[] commitPurchase(UUID playerID, Ware ware, int quantity,
+                                         float maxUnitPrice, float moneyAvailable, float pricePercent) {
+      int   quanOnMarket;         // quantity the order is priced against
+      int   quantityToBuy;        // how much of the ware to purchase
+      int   quantityUntilPrice;   // how much may be bought before reaching the acceptable price
+      float price;                // total cost of the order
+      boolean isRetry = false;    // whether another thread changed the ware's quantity first
+
+      while (true) {
+         quanOnMarket  = ware.getQuantity();
+         quantityToBuy = quantity;
+
+         // if the market has changed, only buy until the acceptable price is reached
+         // the order was already limited accordingly before the first attempt
+         if (isRetry && !Float.isNaN(maxUnitPrice)) {
+            quantityUntilPrice = getQuantityUntilPrice(ware, maxUnitPrice / pricePercent, true);
+            if (quantityToBuy > quantityUntilPrice)
+               quantityToBuy = quantityUntilPrice;
+         }
+
+         // only buy up to quantity available in the market
+         if (quantityToBuy > quanOnMarket)
+            quantityToBuy = quanOnMarket;
+
+         // if nothing can be bought, buy nothing
+         if (quantityToBuy <= 0) {
+            if (quanOnMarket <= 0)
+               Config.userInterface.printErrorToUser(playerID, StringTable.MSG_BUY_OUT_OF_STOCK + ware.getWareID());
+            return null;
+         }
+
+         // if the ware isn't free, figure out how much is affordable
+         price = getPrice(playerID, ware, quantityToBuy, PriceType.CURRENT_BUY) * pricePercent;
+         if (price > moneyAvailable && price > 0.0f) {
+            quantityToBuy = getPurchasableQuantity(ware, moneyAvailable / pricePercent);
+            if (quantityToBuy > quanOnMarket)
+               quantityToBuy = quanOnMarket;
+
+            // if not enough money to buy one ware, stop
+            if (quantityToBuy <= 0) {
+               Config.userInterface.printErrorToUser(playerID, StringTable.MSG_BUY_NO_MONEY);
+               return null;
+            }
+
+            price = getPrice(playerID, ware, quantityToBuy, PriceType.CURRENT_BUY) * pricePercent;
+         }
+
+         // commit the order unless another thread traded the ware first
+         if (ware.compareAndSetQuantity(quanOnMarket, quanOnMarket - quantityToBuy))
+            return new float[]{price, (float) quantityToBuy};
+
+         isRetry = true;
+      }
+   }
+
+   /**
+    * Adds quantity sold to the marketplace without holding the marketplace's mutex.
+    * The sale is committed only if no other thread has changed the ware's quantity
+    * since the sale was priced; otherwise, the sale is re-priced and committed again.
+    * Linked wares' components are adjusted while holding the mutex,
+    * re-pricing the sale if the ware was traded since it was priced.
+    * <p>
+    * Complexity: O(1) per attempt
+    * @param playerID       user responsible for the trading
+    * @param stock          ware and quality being sold
+    * @param quantityToSell how much of the ware to sell
+    * @param quanOnMarket   quantity the sale was priced against
+    * @param earnings       money the sale was priced at
+    * @return money earned from the sale
+    */
+   private static float commitSale(UUID playerID, Stock stock, int quantityToSell,
+                                   int quanOnMarket, float earnings) {
+      if (stock.ware instanceof WareLinked) {
+         acquireMutex();
+         try {
+            if (stock.ware.getQuantity() != quanOnMarket)
+               earnings = getPrice(playerID, stock.ware, quantityToSell, PriceType.CURRENT_SELL) * stock.percentWorth;
+            stock.ware.addQuantity(quantityToSell);
+         } finally {
+            releaseMutex();
+         }
+         return earnings;
+      }
+
+      while (!stock.ware.compareAndSetQuantity(quanOnMarket, quanOnMarket + quantityToSell)) {
+         quanOnMarket = stock.ware.getQuantity();
+         earnings     = getPrice(playerID, stock.ware, quantityToSell, PriceType.CURRENT_SELL) * stock.percentWorth;
+      }
+      return earnings;
+   }
+
    /**
     * Sells a ware to the market for a player.
     *<p>
+    * If the market thread is running, the trade is made there.
+    * <p>
+    * Complexity: O(n)
+    * @param playerID      user responsible for the trading
+    * @param coordinates   where wares may be found
+    * @param accountID     key used to retrieve account information
+    * @param wareID        key used to retrieve ware information
+    * @param inventorySlot where to begin selling within a container
+    * @param quantity      how much of the ware should be sold; 0 means sell everything
+    * @param minUnitPrice  stop selling if unit price is below this amount
+    * @param pricePercent  percentage multiplier for ware's price
+    */
+   public static void sell(final UUID playerID, final UserInterface.Coordinates coordinates,
+                           final String accountID, final String wareID, final int inventorySlot, final int quantity,
+                           final float minUnitPrice, final float pricePercent) {
+      MarketEventLoop.execute(() -> sellPrivate(playerID, coordinates, accountID, wareID, inventorySlot, quantity, minUnitPrice, pricePercent));
+   }
+
+   /**
+    * Sells a ware to the market for a player on the current thread.
+    *<p>
     * Complexity: O(n)
     * @param playerID      user responsible for the trading
     * @param coordinates   where wares may be found
@@ -1736,9 +2330,9 @@ public final class Marketplace {
     * @param minUnitPrice  stop selling if unit price is below this amount
     * @param pricePercent  percentage multiplier for ware's price
     */
-   public static void sell(UUID playerID, UserInterface.Coordinates coordinates,
-                           String accountID, String wareID, int inventorySlot, int quantity,
-                           float minUnitPrice, float pricePercent) {
+   private static void sellPrivate(UUID playerID, UserInterface.Coordinates coordinates,
+                                   String accountID, String wareID, int inventorySlot, int quantity,
+                                   float minUnitPrice, float pricePercent) {
       if (quantity <  0              || // if nothing should be sold, stop; 0 quantity means sell everything
          playerID == null)             // if no player was given, there is no party responsible for the purchase
          return;
@@ -1765,6 +2359,7 @@ public final class Marketplace {
          Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_INVALID + translatedID + StringTable.WARN_FILE_WARE_INVALID + Config.filenameWaresSave);
          waresErrored.add(ware.toJSON() + '\n');
          wares.remove(translatedID);
+         PriceStatistics.markStale(ware);
          return;
       }
 
@@ -1894,6 +2489,23 @@ public final class Marketplace {
    /**
     * Sells all wares within a given inventory.
     *<p>
+    * If the market thread is running, the trade is made there.
+    * <p>
+    * Complexity: O(n)
+    * @param playerID     user responsible for the trading
+    * @param coordinates  where wares may be found
+    * @param inventory    wares to be sold and their information
+    * @param accountID    key used to retrieve account information
+    * @param pricePercent percentage multiplier for ware's price
+    */
+   public static void sellAll(final UUID playerID, final UserInterface.Coordinates coordinates,
+      final List<Stock> inventory, final String accountID, final float pricePercent) {
+      MarketEventLoop.execute(() -> sellAllPrivate(playerID, coordinates, inventory, accountID, pricePercent));
+   }
+
+   /**
+    * Sells all wares within a given inventory on the current thread.
+    *<p>
     * Complexity: O(n)
     * @param playerID     user responsible for the trading
     * @param coordinates  where wares may be found
@@ -1901,7 +2513,7 @@ public final class Marketplace {
     * @param accountID    key used to retrieve account information
     * @param pricePercent percentage multiplier for ware's price
     */
-   public static void sellAll(UUID playerID, UserInterface.Coordinates coordinates,
+   private static void sellAllPrivate(UUID playerID, UserInterface.Coordinates coordinates,
       List<Stock> inventory, String accountID, float pricePercent) {
       if ((coordinates == null &&                            // if the given inventory is empty and no coordinates are given,
           (inventory   == null || inventory.isEmpty())) || // there is nothing to sell
@@ -2008,8 +2620,13 @@ public final class Marketplace {
 
       // set up variables
       LinkedList<Stock> unsoldStocks = null; // holds wares to be sold if the transaction turns out to be profitable despite paying a flat fee
+      int[]   unsoldQuantities = null;       // how much of each unsold stack should be sold
+      int[]   unsoldQuanPriced = null;       // quantities each unsold stack's sale was priced against
+      float[] unsoldEarnings   = null;       // money each unsold stack's sale was priced at
       float   totalEarnings    = 0.0f;
       float   price;                         // value of the ware being processed
+      float   stockEarnings;                 // value of the current stack being sold
+      int     quanOnMarket;                  // quantity the current stack's sale is priced against
       int     quantityToSell   = 0;          // how much should be sold from the current stack
       int     quantitySold     = 0;          // how much quantity has been sold
       int     quantityDistFromFloor;         // how much quantity may be sold before reaching the price floor
@@ -2021,124 +2638,150 @@ public final class Marketplace {
       if (Config.chargeTransactionFees &&
           !Config.transactionFeeSellingIsMult &&
           Config.transactionFeeSelling > 0.0f) {
-         isProfitable = false;
-         unsoldStocks = new LinkedList<Stock>();
+         isProfitable        = false;
+         unsoldStocks        = new LinkedList<Stock>();
+         unsoldQuantities    = new int[stocks.size()];
+         unsoldQuanPriced    = new int[stocks.size()];
+         unsoldEarnings      = new float[stocks.size()];
       }
 
       // prevents other threads from adjusting the marketplace's wares
-      acquireMutex();
-
-      // loop through wares owned and get prices according to quality
-      for (Stock stock : stocks) {
-         // if ware is not in the market, stop
-         if (stock.ware == null)
-            continue;
-
-         // if the price isn't high enough, stop
-         price = PriceFormatter.truncatePrice(getPrice(playerID, stock.ware, 1, PriceType.CURRENT_SELL) * stock.percentWorth * pricePercent);
-         if (price < minUnitPrice)
-            continue;
-
-         // check whether stock should not be sold past the price floor
-         if (Config.noGarbageDisposing) {
-            // find out if the ware can be sold
-            if (hasReachedPriceFloor(stock.ware))
-               continue; // if nothing may be sold, skip this ware
-
-            // find how much may be sold
-            if (stock.ware instanceof WareLinked)
-               quantityDistFromFloor = ((WareLinked) stock.ware).getQuanWhenReachedPriceFloor() - stock.ware.getQuantity();
-            else
-               quantityDistFromFloor = getQuantityUntilPrice(stock.ware, getPrice(null, stock.ware, 1, PriceType.FLOOR_SELL) + 0.0001f, false) + 1;
+      // unless sales should be committed without waiting for other trades
+      // only release the mutex if it was acquired here, since callers may already hold it
+      final boolean HOLDS_MUTEX = !Config.lockFreeTrading;
+      if (HOLDS_MUTEX)
+         acquireMutex();
+      try {
 
-            // if nothing may be sold, skip this ware
-            if (quantityDistFromFloor <= 0)
+         // loop through wares owned and get prices according to quality
+         for (Stock stock : stocks) {
+            // if ware is not in the market, stop
+            if (stock.ware == null)
                continue;
 
-            // otherwise, sell the most possible
-            if (quantityDistFromFloor < stock.quantity)
-               stock.quantity = quantityDistFromFloor;
-         }
-
-         // try to sell the ware
-         try {
-            // figure how much to sell from the current stack
-            if (quantity == 0 || quantity > quantitySold + stock.quantity)
-               quantityToSell = stock.quantity;
-            else
-               quantityToSell = quantity - quantitySold;
-
-            // get the money
-            totalEarnings += getPrice(playerID, stock.ware, quantityToSell, PriceType.CURRENT_SELL) * stock.percentWorth;
-
-            // if a flat fee should be used,
-            // check whether the transaction became profitable
-            isProfitable = isProfitable || totalEarnings * pricePercent > Config.transactionFeeSelling || minUnitPrice < 0.0f;
-
-            // if the transaction is profitable, sell the ware
-            if (isProfitable) {
-               // take the ware
-               Config.userInterface.removeFromInventory(playerID, coordinates, stock.wareID, inventorySlot, quantityToSell);
-               quantitySold += quantityToSell;
+            // if the price isn't high enough, stop
+            price = PriceFormatter.truncatePrice(getPrice(playerID, stock.ware, 1, PriceType.CURRENT_SELL) * stock.percentWorth * pricePercent);
+            if (price < minUnitPrice)
+               continue;
 
-               // add quantity sold to the marketplace
-               stock.ware.addQuantity(quantityToSell);
+            // check whether stock should not be sold past the price floor
+            if (Config.noGarbageDisposing) {
+               // find out if the ware can be sold
+               if (hasReachedPriceFloor(stock.ware))
+                  continue; // if nothing may be sold, skip this ware
+
+               // find how much may be sold
+               if (stock.ware instanceof WareLinked)
+                  quantityDistFromFloor = ((WareLinked) stock.ware).getQuanWhenReachedPriceFloor() - stock.ware.getQuantity();
+               else
+                  quantityDistFromFloor = getQuantityUntilPrice(stock.ware, getPrice(null, stock.ware, 1, PriceType.FLOOR_SELL) + 0.0001f, false) + 1;
+
+               // if nothing may be sold, skip this ware
+               if (quantityDistFromFloor <= 0)
+                  continue;
+
+               // otherwise, sell the most possible
+               if (quantityDistFromFloor < stock.quantity)
+                  stock.quantity = quantityDistFromFloor;
             }
 
-            // if a flat fee should be used,
-            // hold off taking the ware until it is known
-            // whether the transaction is profitable
-            else
-               unsoldStocks.add(stock);
-
-            // if enough quantity has been sold,
-            // stop searching for more
-            if (quantity == quantitySold)
-               break;
-         } catch (Exception e) {
-            Config.userInterface.printErrorToConsole(StringTable.MSG_SELLALL + stock.wareID);
-            e.printStackTrace();
-            // don't return, keep trying to sell wares and pay the player
-         }
-      }
-
-      // if a flat fee should be used and
-      // the transaction is not profitable,
-      // don't process it
-      if (!isProfitable) {
-         releaseMutex(); // allow other threads to adjust wares' properties
-         Config.userInterface.printErrorToUser(playerID, StringTable.MSG_TRANSACT_FEE_SALES_LOSS);
-         return new float[]{0.0f, 0.0f};
-      }
-
-      // if a flat fee should be used,
-      // check whether any remaining goods should be sold
-      else if (unsoldStocks != null && !unsoldStocks.isEmpty()) {
-         // sell each stack of unsold wares
-         for (Stock stock : unsoldStocks) {
+            // try to sell the ware
             try {
-               // take the ware
-               Config.userInterface.removeFromInventory(playerID, coordinates, stock.wareID, inventorySlot, stock.quantity);
-               quantitySold += stock.quantity;
+               // figure how much to sell from the current stack
+               if (quantity == 0 || quantity > quantitySold + stock.quantity)
+                  quantityToSell = stock.quantity;
+               else
+                  quantityToSell = quantity - quantitySold;
+
+               // get the money
+               quanOnMarket   = stock.ware.getQuantity();
+               stockEarnings  = getPrice(playerID, stock.ware, quantityToSell, PriceType.CURRENT_SELL) * stock.percentWorth;
+               totalEarnings += stockEarnings;
+
+               // if a flat fee should be used,
+               // check whether the transaction became profitable
+               isProfitable = isProfitable || totalEarnings * pricePercent > Config.transactionFeeSelling || minUnitPrice < 0.0f;
+
+               // if the transaction is profitable, sell the ware
+               if (isProfitable) {
+                  // take the ware
+                  Config.userInterface.removeFromInventory(playerID, coordinates, stock.wareID, inventorySlot, quantityToSell);
+                  quantitySold += quantityToSell;
+
+                  // add quantity sold to the marketplace
+                  // if another thread traded the ware first, re-price the sale
+                  if (HOLDS_MUTEX)
+                     stock.ware.addQuantity(quantityToSell);
+                  else
+                     totalEarnings += commitSale(playerID, stock, quantityToSell, quanOnMarket, stockEarnings) - stockEarnings;
+               }
+
+               // if a flat fee should be used,
+               // hold off taking the ware until it is known
+               // whether the transaction is profitable
+               else {
+                  unsoldQuantities[unsoldStocks.size()] = quantityToSell;
+                  unsoldQuanPriced[unsoldStocks.size()] = quanOnMarket;
+                  unsoldEarnings[unsoldStocks.size()]   = stockEarnings;
+                  unsoldStocks.add(stock);
+               }
 
-               // add quantity sold to the marketplace
-               stock.ware.addQuantity(stock.quantity);
+               // if enough quantity has been sold,
+               // stop searching for more
+               if (quantity == quantitySold)
+                  break;
             } catch (Exception e) {
                Config.userInterface.printErrorToConsole(StringTable.MSG_SELLALL + stock.wareID);
                e.printStackTrace();
                // don't return, keep trying to sell wares and pay the player
             }
          }
-      }
 
-      // allow other threads to adjust wares' properties
-      releaseMutex();
+         // if a flat fee should be used and
+         // the transaction is not profitable,
+         // don't process it
+         if (!isProfitable) {
+            Config.userInterface.printErrorToUser(playerID, StringTable.MSG_TRANSACT_FEE_SALES_LOSS);
+            return new float[]{0.0f, 0.0f};
+         }
+
+         // if a flat fee should be used,
+         // check whether any remaining goods should be sold
+         else if (unsoldStocks != null && !unsoldStocks.isEmpty()) {
+            // sell each stack of unsold wares
+            int i = 0;
+            for (Stock stock : unsoldStocks) {
+               try {
+                  // take the ware
+                  quantityToSell = unsoldQuantities[i];
+                  Config.userInterface.removeFromInventory(playerID, coordinates, stock.wareID, inventorySlot, quantityToSell);
+                  quantitySold += quantityToSell;
+
+                  // add quantity sold to the marketplace
+                  // if another thread traded the ware first, re-price the sale
+                  if (HOLDS_MUTEX)
+                     stock.ware.addQuantity(quantityToSell);
+                  else
+                     totalEarnings += commitSale(playerID, stock, quantityToSell, unsoldQuanPriced[i], unsoldEarnings[i]) - unsoldEarnings[i];
+               } catch (Exception e) {
+                  Config.userInterface.printErrorToConsole(StringTable.MSG_SELLALL + stock.wareID);
+                  e.printStackTrace();
+                  // don't return, keep trying to sell wares and pay the player
+               }
+               i++;
+            }
+         }
 
-      // truncate to reduce error
-      totalEarnings = PriceFormatter.truncatePrice(totalEarnings * pricePercent);
+         // truncate to reduce error
+         totalEarnings = PriceFormatter.truncatePrice(totalEarnings * pricePercent);
 
-      // return total money gained and total quantity sold
-      return new float[]{totalEarnings, (float) quantitySold};
+         // return total money gained and total quantity sold
+         return new float[]{totalEarnings, (float) quantitySold};
+      } finally {
+         // allow other threads to adjust wares' properties
+         if (HOLDS_MUTEX)
+            releaseMutex();
+      }
    }
 
    /**
@@ -2179,6 +2822,7 @@ public final class Marketplace {
          Config.userInterface.printErrorToConsole(StringTable.ERROR_WARE_INVALID + wareID + StringTable.WARN_FILE_WARE_INVALID + Config.filenameWaresSave);
          waresErrored.add(ware.toJSON() + '\n');
          wares.remove(wareID);
+         PriceStatistics.markStale(ware);
          return;
       }
 
@@ -2364,60 +3008,77 @@ public final class Marketplace {
    /**
     * Prevents other threads from adjusting the marketplace's wares.
     * If another thread is already adjusting wares, then waits for that thread to finish.
+    * The mutex is reentrant, so a thread holding it may acquire it again;
+    * each acquisition must be matched by a call to releaseMutex().
     * <p>
     * Complexity: O(1)
     */
    public static void acquireMutex() {
-      // wait for permission to adjust ware's properties
-      // check if another thread is adjusting wares' properties
-      if (doNotAdjustWares) {
-         // sleep() may throw an exception
-         try {
-            while (doNotAdjustWares) {
-               Thread.sleep(10); // 10 ms wait for mutex to become available
-            }
-         } catch(Exception ex) {
-            Thread.currentThread().interrupt();
-         }
+      // if the mutex is free, take it without measuring wait time
+      if (wareLock.tryLock()) {
+         if (wareLock.getHoldCount() == 1)
+            mutexAcquisitions++; // only modified while holding the mutex
+         return;
       }
 
-      // prevent other threads from adjusting wares' properties
-      doNotAdjustWares = true;
-      // wait until any other threads finish execution since mutex is loose
-      try {
-         Thread.sleep(5);
-      } catch(Exception ex) {
-         Thread.currentThread().interrupt();
-      }
+      // wait for another thread to finish adjusting wares' properties
+      final long waitStart = System.nanoTime();
+      wareLock.lock();
+      final long waitTime  = System.nanoTime() - waitStart;
+
+      // record how long the wait took
+      mutexAcquisitions++;
+      mutexContentions++;
+      mutexWaitTimeTotal += waitTime;
+      if (mutexWaitTimeMax < waitTime)
+         mutexWaitTimeMax = waitTime;
    }
 
    /**
-    * Checks whether other threads are adjusting the marketplace's wares
-    * and waits for them to finish if they are.
+    * Allows other threads to adjust wares' properties.
+    * Does nothing if the current thread does not hold the mutex,
+    * so error handlers may safely call this function.
     * <p>
     * Complexity: O(1)
     */
-   private static void waitForMutex() {
-      // check if another thread is adjusting wares' properties
-      if (doNotAdjustWares) {
-         // sleep() may throw an exception
-         try {
-            while (doNotAdjustWares) {
-               Thread.sleep(10); // 10 ms wait for mutex to become available
-            }
-         } catch(Exception ex) {
-            Thread.currentThread().interrupt();
-         }
-      }
+   public static void releaseMutex() {
+      if (wareLock.isHeldByCurrentThread())
+         wareLock.unlock();
    }
 
    /**
-    * Allows other threads to adjust wares' properties.
+    * Returns whether the current thread holds the mutex.
     * <p>
     * Complexity: O(1)
+    * @return true if the current thread is adjusting wares' properties
     */
-   public static void releaseMutex() {
-      doNotAdjustWares = false;
+   static boolean isMutexHeldByCurrentThread() {
+      return wareLock.isHeldByCurrentThread();
+   }
+
+   /**
+    * Returns statistics regarding threads waiting to adjust wares' properties.
+    * Times are given in nanoseconds.
+    * <p>
+    * Complexity: O(1)
+    * @return {times mutex was acquired, times threads had to wait, total wait time, longest wait time}
+    */
+   public static long[] getMutexMetrics() {
+      return new long[]{mutexAcquisitions, mutexContentions, mutexWaitTimeTotal, mutexWaitTimeMax};
+   }
+
+   /**
+    * Clears statistics regarding threads waiting to adjust wares' properties.
+    * <p>
+    * Complexity: O(1)
+    */
+   public static void resetMutexMetrics() {
+      acquireMutex();
+      mutexAcquisitions  = 0;
+      mutexContentions   = 0;
+      mutexWaitTimeTotal = 0;
+      mutexWaitTimeMax   = 0;
+      releaseMutex();
    }
 
    /**
@@ -2426,6 +3087,8 @@ public final class Marketplace {
     * Complexity: O(1)
     */
    public static void startOrReconfigPeriodicEvents() {
+      MarketEventLoop.startOrReconfig();  // if necessary, start, reload, or stop making changes on the market thread
+      Autosaver.startOrReconfig();        // if necessary, start, reload, or stop automatic saving
       AIHandler.startOrReconfig();        // if necessary, start, reload, or stop AI
       RandomEvents.startOrReconfig();     // if necessary, start, reload, or stop random events
       MarketRebalancer.startOrReconfig(); // if necessary, start, reload, or stop automatic market rebalancing
@@ -2437,111 +3100,101 @@ public final class Marketplace {
     * Complexity: O(1)
     */
    public static void endPeriodicEvents() {
-      AIHandler.end();        // if necessary, stop AI
-      RandomEvents.end();     // if necessary, stop random events
-      MarketRebalancer.end(); // if necessary, stop automatic marketplace rebalancing
+      AIHandler.end();              // if necessary, stop AI
+      RandomEvents.end();           // if necessary, stop random events
+      MarketRebalancer.end();       // if necessary, stop automatic marketplace rebalancing
+      MarketEventLoop.end();        // if necessary, finish changes waiting for the market thread and stop it
+      Autosaver.end();              // if necessary, stop automatic saving and save any remaining changes
+      SnapshotWriter.awaitWrites(); // finish writing any save files
+      WareJournal.end();            // if necessary, write any buffered changes and close the journal
+      TransactionLedger.end();      // if necessary, write any recorded transactions and close the ledger
    }
 
    /**
     * Averages current prices of all wares available within the marketplace.
     * <p>
-    * Complexity: O(n), where n is the number of wares in the market
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Average-Case: O(m log n), where m is the number of wares changed since the last request
+    * and n is the number of wares in the market
     * @return average price of all wares for sale on the market
     */
    public static float getCurrentPriceAverage() {
-      // initialize variables
-      float currentPriceAverage = 0.0f;
-
-      float spreadAdjustment = 0.0f; // spread's effect on price
-      float priceCurrent     = 0.0f; // ware's price at this moment
-      float priceBase        = 0.0f; // ware's price at equilibrium
-
-      int   quanCeiling      = 0;
-      int   quanFloor        = 0;
-      int   quanEquilibrium  = 0;
-      int   quanOnMarket     = 0;
-      float quanFloorFromEquilibrium   = 0.0f; // how much quantity is between the price floor stock and equilibrium stock
-      float quanCeilingFromEquilibrium = 0.0f; // cast as a float now since it will only be used as a float
-
-      float priceMinimum; // price floor to be enforced
+      // truncate the price to avoid rounding and multiplication errors
+      return PriceFormatter.truncatePrice(PriceStatistics.getAverage());
+   }
 
-      // precalculate repeatedly used information
-      float spreadMult       = 1.0f - Config.priceSpread;
-      boolean usePriceSpread = Config.priceSpread != 1.0f;
-      boolean usePriceBuyUpchargeMult = Config.priceBuyUpchargeMult != 1.0f;
+   /**
+    * Averages current prices of all wares available within the marketplace
+    * within a given hierarchy level.
+    * <p>
+    * Complexity: same as getCurrentPriceAverage()
+    * @param level hierarchy level whose wares should be averaged
+    * @return average price of wares for sale in the hierarchy level or NaN if there are none
+    */
+   public static float getCurrentPriceAverage(int level) {
+      final float PRICE = PriceStatistics.getAverage(level);
+      if (Float.isNaN(PRICE))
+         return PRICE;
+      return PriceFormatter.truncatePrice(PRICE);
+   }
 
-      // loop through all wares to get their prices
-      for (Ware ware : wares.values()) {
-         // prevents a null pointer exception if wares are being reloaded
-         if (ware == null)
-            continue;
+   /**
+    * Returns the lowest current price among wares available within the marketplace.
+    * <p>
+    * Complexity: same as getCurrentPriceAverage()
+    * @return lowest price of any ware for sale on the market or NaN if there are none
+    */
+   public static float getCurrentPriceMinimum() {
+      final float PRICE = PriceStatistics.getMinimum();
+      if (Float.isNaN(PRICE))
+         return PRICE;
+      return PriceFormatter.truncatePrice(PRICE);
+   }
 
-         // if the ware is untradeable or simply a grouping of other wares, skip it
-         if (ware instanceof WareUntradeable || ware instanceof WareLinked)
-            continue;
+   /**
+    * Returns the highest current price among wares available within the marketplace.
+    * <p>
+    * Complexity: same as getCurrentPriceAverage()
+    * @return highest price of any ware for sale on the market or NaN if there are none
+    */
+   public static float getCurrentPriceMaximum() {
+      final float PRICE = PriceStatistics.getMaximum();
+      if (Float.isNaN(PRICE))
+         return PRICE;
+      return PriceFormatter.truncatePrice(PRICE);
+   }
 
-         // find the ware's current price
-         // get ware information
-         priceBase       = ware.getBasePrice();
-         quanCeiling     = Config.quanExcessive[ware.getLevel()];
-         quanFloor       = Config.quanDeficient[ware.getLevel()];
-         quanEquilibrium = Config.quanEquilibrium[ware.getLevel()];
-         quanOnMarket    = ware.getQuantity();
-         quanFloorFromEquilibrium   = (float) (quanEquilibrium - quanFloor);
-         quanCeilingFromEquilibrium = (float) (quanCeiling - quanEquilibrium);
-
-         // if spread is normal or base is 0, make no adjustment
-         if (usePriceSpread && priceBase != 0.0f)
-            // spreadAdjustment = distance from average * distance multiplier
-            spreadAdjustment = ((float) priceBaseMedian - priceBase) * spreadMult;
-
-         // check if purchasing upcharge should be applied
-         if (usePriceBuyUpchargeMult)
-            // calculate price with upcharge multiplier
-            priceCurrent = (priceBase + spreadAdjustment) * Config.priceBuyUpchargeMult * Config.priceMult;
-         else
-            // calculate price without upcharge multiplier
-            priceCurrent = (priceBase + spreadAdjustment) * Config.priceMult;
-
-         // factor in components' prices affecting manufactured prices
-         if (Config.shouldComponentsCurrentPricesAffectWholesPrice && ware.hasComponents() && !Config.pricesIgnoreSupplyAndDemand)
-            priceCurrent *= ware.getLinkedPriceMultiplier();
-
-         // find price floor to be enforced
-         priceMinimum = priceCurrent * Config.priceFloor;
-
-         // calculate scarcity's effect on price
-         // if above equilibrium, lower the price
-         // if below, raise
-         if (quanOnMarket > quanEquilibrium) {
-            // enforce a non-zero price floor
-            if (quanOnMarket >= quanCeiling)
-               priceCurrent *= Config.priceFloor;
-            else
-               // saturation price drop percent = price floor multiplier - percent distance away from equilibrium toward overstocked
-               priceCurrent *= Config.priceFloorAdjusted - (((float) (quanOnMarket - quanEquilibrium)) / quanCeilingFromEquilibrium);
-         }
-         else if (quanOnMarket < quanEquilibrium) {
-            if (quanOnMarket <= quanFloor)
-               priceCurrent *= Config.priceCeiling;
-            else
-               // scarcity price rise percent = price ceiling multiplier - percent distance away from equilibrium toward stock floor
-               priceCurrent *= Config.priceCeilingAdjusted - (((float) (quanOnMarket - quanEquilibrium)) / quanFloorFromEquilibrium);
-         }
+   /**
+    * Calculates a ware's current unit purchasing price for market statistics
+    * using the price model of the ware's hierarchy level, as getPrice() does.
+    * Unlike getPrice(), this does not handle wares linked to other wares,
+    * manufacturing out-of-stock wares, or truncating prices.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is the number of the ware's components
+    * @param ware    ware whose price should be calculated
+    * @param pricing pricing settings to be used
+    * @return ware's current price for a single unit
+    */
+   static float getCurrentUnitPrice(Ware ware, PricingContext pricing) {
+      // get price without considering supply and demand,
+      // including spread, multipliers, and linked prices
+      final float PRICE_NO_QUANTITY_EFFECT = PriceCurve.get(ware, pricing).priceBuy;
 
-         // enforce a price floor
-         if (priceCurrent >= priceMinimum)
-            // add ware's current price to the average
-            currentPriceAverage += priceCurrent;
-         else
-            currentPriceAverage += priceMinimum;
-      }
+      // find price floor to be enforced
+      final float PRICE_MINIMUM = PRICE_NO_QUANTITY_EFFECT * pricing.priceFloor;
 
-      // average the prices
-      currentPriceAverage /= wares.size() - numStatisticExcludedWares;
+      // factor in supply and demand
+      // buying prices the stock remaining after the purchase, as getPrice() does
+      final float PRICE_CURRENT = pricing.priceModels[ware.getLevel()].cost(PRICE_NO_QUANTITY_EFFECT, ware.getQuantity() - 1, 1);
 
-      // truncate the price to avoid rounding and multiplication errors
-      return PriceFormatter.truncatePrice(currentPriceAverage);
+      // enforce a price floor
+      if (PRICE_CURRENT >= PRICE_MINIMUM)
+         return PRICE_CURRENT;
+      else
+         return PRICE_MINIMUM;
    }
 
    /**
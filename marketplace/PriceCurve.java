@@ -0,0 +1,108 @@
+package commandeconomy;
+
+/**
+ * Holds a ware's unit prices when unaffected by supply and demand,
+ * sparing repeatedly recalculating spread, multipliers, and linked prices.
+ * <p>
+ * A curve is never modified after being created. It remains valid
+ * until pricing settings are published, the ware's base price changes, or,
+ * for wares whose prices depend on their components' current prices,
+ * any ware the ware is directly or indirectly made from changes.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class PriceCurve {
+   // INSTANCE VARIABLES
+   /** pricing settings used to create the curve */
+   final PricingContext pricing;
+   /** ware's prices generation when the curve was created */
+   final int generation;
+   /** ware's base price when the curve was created */
+   final float priceBase;
+   /** whether components' current prices affect the curve */
+   final boolean usesLinkedPrices;
+   /** how much components' prices may affect the curve when the curve was created */
+   final float linkedPricesPercent;
+
+   /** selling price without considering supply and demand */
+   final float priceSell;
+   /** purchasing price without considering supply and demand */
+   final float priceBuy;
+
+   // STATIC METHODS
+   /**
+    * Returns a ware's current price curve, creating a new one if necessary.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is the number of the ware's components
+    * @param ware    ware whose price curve should be returned
+    * @param pricing pricing settings to be used
+    * @return ware's unit prices without considering supply and demand
+    */
+   static PriceCurve get(Ware ware, PricingContext pricing) {
+      final float   PRICE_BASE         = ware.getBasePrice();
+      final boolean USES_LINKED_PRICES = Config.shouldComponentsCurrentPricesAffectWholesPrice && ware.hasComponents() && !Config.pricesIgnoreSupplyAndDemand;
+
+      // check whether the saved curve is still accurate
+      PriceCurve curve = ware.priceCurve;
+      if (curve != null &&
+          curve.pricing          == pricing            &&
+          curve.usesLinkedPrices == USES_LINKED_PRICES &&
+          Float.compare(curve.priceBase, PRICE_BASE) == 0 &&
+          (!USES_LINKED_PRICES ||
+           (curve.generation == ware.pricesGeneration && curve.linkedPricesPercent == Config.linkedPricesPercent)))
+         return curve;
+
+      // record the generation before calculating so changes during calculation invalidate the curve
+      curve = new PriceCurve(ware, pricing, PRICE_BASE, USES_LINKED_PRICES, ware.pricesGeneration);
+      ware.priceCurve = curve;
+      return curve;
+   }
+
+   // INSTANCE METHODS
+   /**
+    * Calculates a ware's unit prices without considering supply and demand.
+    * <p>
+    * Complexity: O(n), where n is the number of the ware's components
+    * @param ware             ware whose prices should be calculated
+    * @param pricing          pricing settings to be used
+    * @param priceBase        ware's base price
+    * @param usesLinkedPrices whether components' current prices affect the ware's prices
+    * @param generation       ware's prices generation before calculation began
+    */
+   private PriceCurve(Ware ware, PricingContext pricing, float priceBase, boolean usesLinkedPrices, int generation) {
+      this.pricing             = pricing;
+      this.generation          = generation;
+      this.priceBase           = priceBase;
+      this.usesLinkedPrices    = usesLinkedPrices;
+      this.linkedPricesPercent = Config.linkedPricesPercent;
+
+      float spreadAdjustment = 0.0f; // spread's effect on price
+
+      // if spread is normal or base is 0, make no adjustment
+      if (pricing.usePriceSpread && priceBase != 0.0f)
+         // spreadAdjustment = distance from median * distance multiplier
+         spreadAdjustment = (pricing.priceBaseMedian - priceBase) * pricing.spreadMult;
+
+      // calculate prices with and without upcharge multiplier
+      float sell = (priceBase + spreadAdjustment) * pricing.priceMult;
+      float buy;
+      if (pricing.usePriceBuyUpchargeMult)
+         buy = (priceBase + spreadAdjustment) * pricing.priceMult * pricing.priceBuyUpchargeMult;
+      else
+         buy = sell;
+
+      // factor in components' prices affecting manufactured prices
+      if (usesLinkedPrices) {
+         final float MULTIPLIER = ware.getLinkedPriceMultiplier();
+         sell *= MULTIPLIER;
+         buy  *= MULTIPLIER;
+      }
+
+      priceSell = sell;
+      priceBuy  = buy;
+   }
+}
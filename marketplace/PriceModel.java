@@ -0,0 +1,105 @@
+package commandeconomy;
+
+/**
+ * Describes how wares' prices respond to their quantities available for sale.
+ * <p>
+ * Each model relates stock to a unit price multiplier
+ * ranging from the price ceiling when scarce to the price floor when saturated,
+ * with the multiplier being 1.0 at equilibrium stock.
+ * Models answer every question about trading in constant time:
+ * how much trading some quantity costs, how much a budget affords,
+ * and how much may be traded before reaching some unit price.
+ * <p>
+ * Models are selected for each hierarchy level within the configuration file.
+ * A model is created for each hierarchy level whenever pricing settings are published
+ * and is never modified afterwards, so constants derived from settings are only calculated once.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public interface PriceModel
+{
+   /**
+    * Returns the price of trading a quantity starting from a given stock
+    * and adding one unit of stock at a time.
+    * When purchasing, stock should be the quantity remaining after the purchase.
+    * <p>
+    * Complexity: O(1)
+    * @param priceNoQuantityEffect ware's unit price without considering supply and demand
+    * @param quanOnMarket          quantity available for sale before the first unit is added
+    * @param quanToTrade           how many units to price
+    * @return total price of the quantity, before truncation or enforcing a minimum price
+    */
+   float cost(float priceNoQuantityEffect, int quanOnMarket, int quanToTrade);
+
+   /**
+    * Returns how much of a ware may be purchased with a given budget.
+    * <p>
+    * Complexity: O(1)
+    * @param priceNoQuantityEffect ware's unit price without considering supply and demand
+    * @param quanOnMarket          quantity available for sale
+    * @param moneyAvailable        maximum amount of money to spend
+    * @return amount which can be bought; may be negative if nothing is affordable
+    */
+   int quantityForBudget(float priceNoQuantityEffect, int quanOnMarket, float moneyAvailable);
+
+   /**
+    * Returns how much of a ware may be traded before reaching a given unit price.
+    * <p>
+    * Complexity: O(1)
+    * @param priceNoQuantityEffect ware's unit price without considering supply and demand
+    * @param quanOnMarket          quantity available for sale
+    * @param priceUnit             unit price to be sought
+    * @param isPurchase            <code>true</code> if the price should reflect buying the ware
+    *                              <code>false</code> if the price should reflect selling the ware
+    * @return units until given price is reached; may be negative if the current price is unacceptable
+    */
+   int quantityUntilUnitPrice(float priceNoQuantityEffect, int quanOnMarket, float priceUnit, boolean isPurchase);
+
+   /**
+    * Returns whether a name used within the configuration file corresponds to a price model.
+    * <p>
+    * Complexity: O(1)
+    * @param name name to be checked
+    * @return true if the name is linear, exponential, or logistic
+    */
+   static boolean isValidName(String name) {
+      if (name == null)
+         return false;
+
+      switch (name.trim().toLowerCase()) {
+         case "linear":
+         case "exponential":
+         case "logistic":
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   /**
+    * Creates the price model corresponding to a name used within the configuration file.
+    * <p>
+    * Complexity: O(1)
+    * @param name    linear, exponential, or logistic
+    * @param pricing pricing settings the model should use
+    * @param level   hierarchy level the model should price
+    * @return price model or null if the name is unknown
+    */
+   static PriceModel create(String name, PricingContext pricing, int level) {
+      if (name == null)
+         return null;
+
+      switch (name.trim().toLowerCase()) {
+         case "linear":
+            return new LinearPriceModel(pricing, level);
+         case "exponential":
+            return new ExponentialPriceModel(pricing, level);
+         case "logistic":
+            return new LogisticPriceModel(pricing, level);
+         default:
+            return null;
+      }
+   }
+}
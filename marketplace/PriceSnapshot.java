@@ -0,0 +1,154 @@
+package commandeconomy;
+
+import java.util.Arrays;              // for flagging wares which weren't priced
+
+/**
+ * Holds unit prices of every ware AI may trade, calculated once per trade event.
+ * <p>
+ * Many AI trade the same wares, so rather than each AI pricing
+ * each of its wares, prices are calculated once for each distinct ware
+ * using batch pricing and shared. Prices are kept in primitive arrays
+ * indexed by wares' positions within the marketplace's columns.
+ * Wares not captured are priced individually when requested.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+final class PriceSnapshot {
+   // INSTANCE VARIABLES
+   /** unit prices for buying without considering supply and demand, indexed by ware index */
+   final float[] equilibriumBuy;
+   /** unit prices for buying, indexed by ware index */
+   final float[] currentBuy;
+   /** unit prices for selling without considering supply and demand, indexed by ware index */
+   final float[] equilibriumSell;
+   /** unit prices for selling, indexed by ware index */
+   final float[] currentSell;
+   /** how many distinct wares were priced */
+   final int numWares;
+
+   // STATIC METHODS
+   /**
+    * Prices every ware the given AI may buy or sell.
+    * <p>
+    * Complexity: O(n*m + w)<br>
+    * where n is the number of AI<br>
+    * where m is the number of wares each AI may trade<br>
+    * where w is the number of distinct wares traded
+    * @param ais AI whose wares should be priced
+    * @return prices of wares the AI may trade
+    */
+   static PriceSnapshot capture(AI[] ais) {
+      // find distinct wares
+      boolean[] seen       = new boolean[WareColumns.get().size + 1];
+      int[]     indices    = new int[64];
+      int       numIndices = 0;
+      int       maxIndex   = -1;
+      int       index;
+      if (ais != null) {
+         for (AI ai : ais) {
+            if (ai == null)
+               continue;
+
+            for (int list = 0; list < 2; list++) {
+               final Ware[] WARES = list == 0 ? ai.purchasables : ai.sellables;
+               if (WARES == null)
+                  continue;
+
+               for (Ware ware : WARES) {
+                  index = Marketplace.getWareIndex(ware);
+                  if (index < 0)
+                     continue;
+
+                  // registering a ware may add an index
+                  if (index >= seen.length)
+                     seen = Arrays.copyOf(seen, Math.max(index + 1, seen.length * 2));
+                  if (seen[index])
+                     continue;
+                  seen[index] = true;
+
+                  if (numIndices == indices.length)
+                     indices = Arrays.copyOf(indices, numIndices * 2);
+                  indices[numIndices] = index;
+                  numIndices++;
+                  if (maxIndex < index)
+                     maxIndex = index;
+               }
+            }
+         }
+      }
+
+      return new PriceSnapshot(Arrays.copyOf(indices, numIndices), maxIndex + 1);
+   }
+
+   // INSTANCE METHODS
+   /**
+    * Prices the given wares.
+    * <p>
+    * Complexity: O(n), where n is the number of wares to be priced
+    * @param indices distinct wares to be priced, given by their ware indices
+    * @param size    one more than the largest ware index
+    */
+   private PriceSnapshot(int[] indices, int size) {
+      equilibriumBuy  = new float[size];
+      currentBuy      = new float[size];
+      equilibriumSell = new float[size];
+      currentSell     = new float[size];
+      numWares        = indices.length;
+
+      // flag wares which aren't priced
+      Arrays.fill(equilibriumBuy,  Float.NaN);
+      Arrays.fill(currentBuy,      Float.NaN);
+      Arrays.fill(equilibriumSell, Float.NaN);
+      Arrays.fill(currentSell,     Float.NaN);
+
+      // price wares in batches, then place prices by ware index
+      final float[] PRICES = new float[indices.length];
+      scatter(indices, Marketplace.PriceType.EQUILIBRIUM_BUY,  PRICES, equilibriumBuy);
+      scatter(indices, Marketplace.PriceType.CURRENT_BUY,      PRICES, currentBuy);
+      scatter(indices, Marketplace.PriceType.EQUILIBRIUM_SELL, PRICES, equilibriumSell);
+      scatter(indices, Marketplace.PriceType.CURRENT_SELL,     PRICES, currentSell);
+   }
+
+   /**
+    * Prices wares and places their prices by ware index.
+    * <p>
+    * Complexity: O(n), where n is the number of wares to be priced
+    * @param indices   wares to be priced, given by their ware indices
+    * @param priceType which price should be calculated
+    * @param prices    space for prices in the order wares are given
+    * @param column    where to place prices by ware index
+    */
+   private static void scatter(int[] indices, Marketplace.PriceType priceType, float[] prices, float[] column) {
+      Marketplace.getPrices(indices, null, priceType, prices);
+      for (int i = 0; i < indices.length; i++)
+         column[indices[i]] = prices[i];
+   }
+
+   /**
+    * Returns a ware's unit price, pricing it individually if it wasn't captured.
+    * Gives the same price as Marketplace.getPrice() for a single unit
+    * at the time prices were captured.
+    * <p>
+    * Complexity: O(1)
+    * @param ware      ware whose price should be returned
+    * @param priceType equilibrium or current price for buying or selling
+    * @return ware's unit price
+    */
+   float getPrice(Ware ware, Marketplace.PriceType priceType) {
+      final float[] COLUMN;
+      switch (priceType) {
+         case EQUILIBRIUM_BUY:  COLUMN = equilibriumBuy;  break;
+         case CURRENT_BUY:      COLUMN = currentBuy;      break;
+         case EQUILIBRIUM_SELL: COLUMN = equilibriumSell; break;
+         case CURRENT_SELL:     COLUMN = currentSell;     break;
+         default:               return Marketplace.getPrice(null, ware, 1, priceType);
+      }
+
+      final int INDEX = Marketplace.getWareIndex(ware);
+      if (INDEX < 0 || COLUMN.length <= INDEX || Float.isNaN(COLUMN[INDEX]))
+         return Marketplace.getPrice(null, ware, 1, priceType);
+      return COLUMN[INDEX];
+   }
+}
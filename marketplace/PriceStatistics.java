@@ -0,0 +1,346 @@
+package commandeconomy;
+
+import java.util.Map;                 // for iterating through wares
+import java.util.IdentityHashMap;     // for tracking each ware's contribution
+import java.util.TreeMap;             // for finding the lowest and highest prices
+import java.util.Set;                 // for tracking wares needing recalculation
+import java.util.concurrent.ConcurrentHashMap; // for marking wares as changed from multiple threads
+
+/**
+ * Maintains running statistics for wares' current unit prices,
+ * updating only wares which have changed since statistics were last requested.
+ * <p>
+ * Sums use Neumaier's compensated summation and are periodically recalculated
+ * from scratch so adding and removing prices does not accumulate rounding errors.
+ * Statistics are rebuilt entirely whenever pricing settings are published.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class PriceStatistics {
+   // STATIC VARIABLES
+   /** smallest number of updates between recalculating sums from scratch */
+   private static final int REBASE_INTERVAL_MIN = 4096;
+
+   /** wares whose prices may have changed since statistics were last updated */
+   private static final Set<Ware> waresStale = ConcurrentHashMap.newKeySet();
+   /** whether all statistics must be recalculated */
+   private static volatile boolean rebuildNeeded = true;
+
+   /** each ware's current unit price and hierarchy level used within statistics */
+   private static final Map<Ware, Contribution> contributions = new IdentityHashMap<Ware, Contribution>();
+   /** how many wares have each current unit price */
+   private static final TreeMap<Float, Integer> priceCounts = new TreeMap<Float, Integer>();
+   /** sum of all wares' current unit prices */
+   private static final NeumaierSum sumAll = new NeumaierSum();
+   /** sums of wares' current unit prices, indexed by hierarchy level */
+   private static NeumaierSum[] sumsByLevel = new NeumaierSum[0];
+   /** how many wares are in each hierarchy level, indexed by hierarchy level */
+   private static int[] countsByLevel = new int[0];
+   /** how many updates have been made since sums were last recalculated */
+   private static int updatesSinceRebase = 0;
+
+   /** pricing settings used to calculate current statistics */
+   private static PricingContext pricing = null;
+   /** whether components' prices affected current statistics */
+   private static boolean shouldComponentsCurrentPricesAffectWholesPrice;
+   /** whether supply and demand affected current statistics */
+   private static boolean pricesIgnoreSupplyAndDemand;
+   /** how much components' prices affected current statistics */
+   private static float linkedPricesPercent;
+
+   // STRUCTS
+   /**
+    * Holds a ware's price as currently counted within statistics.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class Contribution
+   {
+      /** ware's current unit price */
+      final float price;
+      /** ware's hierarchy level */
+      final int level;
+
+      /**
+       * Records a ware's price.
+       * @param price ware's current unit price
+       * @param level ware's hierarchy level
+       */
+      Contribution(float price, int level) {
+         this.price = price;
+         this.level = level;
+      }
+   }
+
+   /**
+    * Sums values while compensating for floating-point rounding errors.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class NeumaierSum
+   {
+      /** running total */
+      double sum;
+      /** lost low-order bits to be added back into the total */
+      double compensation;
+
+      /**
+       * Adds a value to the running total.
+       * <p>
+       * Complexity: O(1)
+       * @param value amount to be added; may be negative
+       */
+      void add(double value) {
+         final double TOTAL = sum + value;
+         if (Math.abs(sum) >= Math.abs(value))
+            compensation += (sum - TOTAL) + value;
+         else
+            compensation += (value - TOTAL) + sum;
+         sum = TOTAL;
+      }
+
+      /**
+       * Returns the running total.
+       * <p>
+       * Complexity: O(1)
+       * @return sum of all added values
+       */
+      double get() {
+         return sum + compensation;
+      }
+
+      /**
+       * Empties the running total.
+       * <p>
+       * Complexity: O(1)
+       */
+      void clear() {
+         sum          = 0.0;
+         compensation = 0.0;
+      }
+   }
+
+   // STATIC METHODS
+   /**
+    * Signals a ware's current price may have changed.
+    * Safe to call from any thread.
+    * <p>
+    * Complexity: O(1)
+    * @param ware ware whose price should be recalculated
+    */
+   static void markStale(Ware ware) {
+      if (ware != null)
+         waresStale.add(ware);
+   }
+
+   /**
+    * Signals all statistics should be recalculated,
+    * such as after wares are loaded or reloaded.
+    * <p>
+    * Complexity: O(1)
+    */
+   static void invalidate() {
+      rebuildNeeded = true;
+   }
+
+   /**
+    * Returns the average current unit price of tradeable wares.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Average-Case: O(m log n), where m is the number of wares changed since the last request
+    * and n is the number of wares in the market
+    * @return average current price of wares for sale on the market
+    */
+   static synchronized float getAverage() {
+      update();
+      if (contributions.isEmpty())
+         return Float.NaN;
+      return (float) (sumAll.get() / contributions.size());
+   }
+
+   /**
+    * Returns the average current unit price of tradeable wares in a hierarchy level.
+    * <p>
+    * Complexity: same as getAverage()
+    * @param level hierarchy level whose wares should be averaged
+    * @return average current price of wares in the hierarchy level or NaN if the level has no wares
+    */
+   static synchronized float getAverage(int level) {
+      update();
+      if (level < 0 || countsByLevel.length <= level || countsByLevel[level] == 0)
+         return Float.NaN;
+      return (float) (sumsByLevel[level].get() / countsByLevel[level]);
+   }
+
+   /**
+    * Returns the lowest current unit price among tradeable wares.
+    * <p>
+    * Complexity: same as getAverage()
+    * @return lowest current price or NaN if no wares are for sale
+    */
+   static synchronized float getMinimum() {
+      update();
+      if (priceCounts.isEmpty())
+         return Float.NaN;
+      return priceCounts.firstKey();
+   }
+
+   /**
+    * Returns the highest current unit price among tradeable wares.
+    * <p>
+    * Complexity: same as getAverage()
+    * @return highest current price or NaN if no wares are for sale
+    */
+   static synchronized float getMaximum() {
+      update();
+      if (priceCounts.isEmpty())
+         return Float.NaN;
+      return priceCounts.lastKey();
+   }
+
+   /**
+    * Brings statistics up to date, recalculating only changed wares when possible.
+    * Should only be called while holding the class's lock.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n log n), where n is the number of wares in the market
+    */
+   private static void update() {
+      final PricingContext PRICING = PricingContext.get();
+
+      // if settings affecting every ware's price have changed, start over
+      if (rebuildNeeded || pricing != PRICING ||
+          shouldComponentsCurrentPricesAffectWholesPrice != Config.shouldComponentsCurrentPricesAffectWholesPrice ||
+          pricesIgnoreSupplyAndDemand                    != Config.pricesIgnoreSupplyAndDemand ||
+          linkedPricesPercent                            != Config.linkedPricesPercent) {
+         rebuild(PRICING);
+         return;
+      }
+
+      // recalculate prices for changed wares
+      if (waresStale.isEmpty())
+         return;
+      for (Ware ware : waresStale) {
+         waresStale.remove(ware);
+         recalculate(ware, PRICING);
+      }
+
+      // periodically recalculate sums to discard accumulated rounding errors
+      if (updatesSinceRebase >= Math.max(REBASE_INTERVAL_MIN, contributions.size()))
+         rebase();
+   }
+
+   /**
+    * Recalculates every tradeable ware's current price.
+    * <p>
+    * Complexity: O(n log n), where n is the number of wares in the market
+    * @param pricingNew pricing settings to be used
+    */
+   private static void rebuild(PricingContext pricingNew) {
+      // record settings before calculating so changes during calculation trigger another rebuild
+      rebuildNeeded = false;
+      pricing       = pricingNew;
+      shouldComponentsCurrentPricesAffectWholesPrice = Config.shouldComponentsCurrentPricesAffectWholesPrice;
+      pricesIgnoreSupplyAndDemand                    = Config.pricesIgnoreSupplyAndDemand;
+      linkedPricesPercent                            = Config.linkedPricesPercent;
+      waresStale.clear();
+
+      contributions.clear();
+      priceCounts.clear();
+      sumsByLevel   = new NeumaierSum[pricingNew.quanEquilibrium.length];
+      countsByLevel = new int[pricingNew.quanEquilibrium.length];
+      for (int i = 0; i < sumsByLevel.length; i++)
+         sumsByLevel[i] = new NeumaierSum();
+
+      for (Ware ware : Marketplace.getAllWares()) {
+         // prevents a null pointer exception if wares are being reloaded
+         if (ware != null)
+            recalculate(ware, pricingNew);
+      }
+
+      rebase();
+   }
+
+   /**
+    * Replaces a ware's contribution to statistics using its current price.
+    * <p>
+    * Complexity: O(log n), where n is the number of wares in the market
+    * @param ware       ware whose price should be recalculated
+    * @param pricingNow pricing settings to be used
+    */
+   private static void recalculate(Ware ware, PricingContext pricingNow) {
+      // remove the ware's previous price
+      Contribution contribution = contributions.remove(ware);
+      if (contribution != null)
+         removeContribution(contribution);
+
+      // if the ware is untradeable, simply a grouping of other wares,
+      // or no longer within the market, skip it
+      if (ware instanceof WareUntradeable || ware instanceof WareLinked ||
+          ware.getWareID() == null || Marketplace.translateAndGrab(ware.getWareID()) != ware)
+         return;
+
+      final int LEVEL = ware.getLevel();
+      if (LEVEL < 0 || countsByLevel.length <= LEVEL)
+         return;
+
+      final float PRICE = Marketplace.getCurrentUnitPrice(ware, pricingNow);
+      if (Float.isNaN(PRICE))
+         return;
+
+      contribution = new Contribution(PRICE, LEVEL);
+      contributions.put(ware, contribution);
+      sumAll.add(PRICE);
+      sumsByLevel[LEVEL].add(PRICE);
+      countsByLevel[LEVEL]++;
+      priceCounts.merge(PRICE, 1, Integer::sum);
+      updatesSinceRebase++;
+   }
+
+   /**
+    * Subtracts a ware's previous price from statistics.
+    * <p>
+    * Complexity: O(log n), where n is the number of wares in the market
+    * @param contribution ware's previously counted price
+    */
+   private static void removeContribution(Contribution contribution) {
+      sumAll.add(-contribution.price);
+      sumsByLevel[contribution.level].add(-contribution.price);
+      countsByLevel[contribution.level]--;
+
+      final Integer COUNT = priceCounts.get(contribution.price);
+      if (COUNT != null) {
+         if (COUNT <= 1)
+            priceCounts.remove(contribution.price);
+         else
+            priceCounts.put(contribution.price, COUNT - 1);
+      }
+      updatesSinceRebase++;
+   }
+
+   /**
+    * Recalculates sums using wares' currently counted prices.
+    * <p>
+    * Complexity: O(n), where n is the number of wares counted within statistics
+    */
+   private static void rebase() {
+      sumAll.clear();
+      for (NeumaierSum sum : sumsByLevel)
+         sum.clear();
+
+      for (Contribution contribution : contributions.values()) {
+         sumAll.add(contribution.price);
+         sumsByLevel[contribution.level].add(contribution.price);
+      }
+
+      updatesSinceRebase = 0;
+   }
+}
@@ -0,0 +1,125 @@
+package commandeconomy;
+
+/**
+ * Holds configuration values used for pricing wares,
+ * along with constants derived from them for each hierarchy level.
+ * <p>
+ * A context is never modified after being created.
+ * Whenever pricing settings change, a new context is built and
+ * replaces the current one, so threads calculating prices
+ * during a reload use either entirely old or entirely new settings.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class PricingContext {
+   // STATIC VARIABLES
+   /** settings currently used for pricing wares */
+   private static volatile PricingContext current = new PricingContext();
+
+   // INSTANCE VARIABLES
+   // prices
+   /** scales prices linearly */
+   final float priceMult;
+   /** multiplier for how far prices are pushed from the median base price; 1.0 - priceSpread */
+   final float spreadMult;
+   /** whether prices should be pushed closer together or farther apart */
+   final boolean usePriceSpread;
+   /** multiplies the cost of purchasing a ware, but keeps selling the same */
+   final float priceBuyUpchargeMult;
+   /** whether purchasing prices should differ from selling prices */
+   final boolean usePriceBuyUpchargeMult;
+   /** the highest a ware's price may increase based on stock quantity */
+   final float priceCeiling;
+   /** the lowest a ware's price may decrease based on stock quantity */
+   final float priceFloor;
+   /** 1.0 - priceCeiling */
+   final float priceCeilingAdjusted;
+   /** 1.0 - priceFloor */
+   final float priceFloorAdjusted;
+   /** median ware base price */
+   final float priceBaseMedian;
+
+   // quantities, indexed by hierarchy level
+   /** quantity above which wares are considered saturated */
+   final int[] quanCeiling;
+   /** quantity below which wares are considered scarce */
+   final int[] quanFloor;
+   /** quantity at which wares are considered balanced */
+   final int[] quanEquilibrium;
+   /** how much quantity is between the price floor stock and equilibrium stock */
+   final float[] quanFloorToEquilibrium;
+   /** how much quantity is between equilibrium stock and the price ceiling stock */
+   final float[] quanCeilingFromEquilibrium;
+   /** how prices respond to stock */
+   final PriceModel[] priceModels;
+
+   // STATIC METHODS
+   /**
+    * Returns settings currently used for pricing wares.
+    * Callers should grab the context once per calculation
+    * so every value used comes from the same configuration.
+    * <p>
+    * Complexity: O(1)
+    * @return current pricing settings
+    */
+   public static PricingContext get() {
+      return current;
+   }
+
+   /**
+    * Rebuilds pricing settings using current configuration values
+    * and replaces settings currently used for pricing wares.
+    * Should be called whenever pricing configuration or
+    * the market's median base price changes.
+    * <p>
+    * Complexity: O(n), where n is the number of hierarchy levels
+    */
+   public static void publish() {
+      current = new PricingContext();
+   }
+
+   // INSTANCE METHODS
+   /**
+    * Captures current configuration values and derives per-level constants.
+    * <p>
+    * Complexity: O(n), where n is the number of hierarchy levels
+    */
+   private PricingContext() {
+      priceMult               = Config.priceMult;
+      spreadMult              = 1.0f - Config.priceSpread;
+      usePriceSpread          = Config.priceSpread != 1.0f;
+      priceBuyUpchargeMult    = Config.priceBuyUpchargeMult;
+      usePriceBuyUpchargeMult = Config.priceBuyUpchargeMult != 1.0f;
+      priceCeiling            = Config.priceCeiling;
+      priceFloor              = Config.priceFloor;
+      priceCeilingAdjusted    = Config.priceCeilingAdjusted;
+      priceFloorAdjusted      = Config.priceFloorAdjusted;
+      priceBaseMedian         = Marketplace.getPriceBaseMedian();
+
+      // copy quantities so changing the configuration doesn't alter this context
+      quanCeiling     = Config.quanExcessive.clone();
+      quanFloor       = Config.quanDeficient.clone();
+      quanEquilibrium = Config.quanEquilibrium.clone();
+
+      // find distances between quantities
+      final int NUM_LEVELS       = quanEquilibrium.length;
+      quanFloorToEquilibrium     = new float[NUM_LEVELS];
+      quanCeilingFromEquilibrium = new float[NUM_LEVELS];
+      for (int i = 0; i < NUM_LEVELS; i++) {
+         quanFloorToEquilibrium[i]     = (float) (quanEquilibrium[i] - quanFloor[i]);
+         quanCeilingFromEquilibrium[i] = (float) (quanCeiling[i] - quanEquilibrium[i]);
+      }
+
+      // prepare curves after everything they depend on is set
+      // if a level's model is unknown or unset, use linear pricing
+      priceModels = new PriceModel[NUM_LEVELS];
+      for (int i = 0; i < NUM_LEVELS; i++) {
+         if (Config.priceModels != null && i < Config.priceModels.length)
+            priceModels[i] = PriceModel.create(Config.priceModels[i], this, i);
+         if (priceModels[i] == null)
+            priceModels[i] = new LinearPriceModel(this, i);
+      }
+   }
+}
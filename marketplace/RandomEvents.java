@@ -4,8 +4,6 @@ import com.google.gson.Gson;                    // for saving and loading
 import java.io.File;                            // for handling files
 import java.io.FileReader;
 import com.google.gson.JsonSyntaxException;     // for more specific error messages when parsing files
-import java.util.Timer;                         // for triggering events periodically and on a separate thread
-import java.util.TimerTask;                     // for disabling random events mid-execution
 import java.util.Collections;                   // for communication between the main thread and the thread handling random events
 import java.util.Set;
 import java.util.EnumSet;                       // EnumSets are faster than HashSets, so they are used for inter-thread communication
@@ -23,8 +21,11 @@ import java.util.concurrent.ThreadLocalRandom;  // for randomizing event frequen
  * @version %I%, %G%
  * @since   2021-12-30
  */
-public class RandomEvents extends TimerTask {
+public class RandomEvents implements Runnable {
    // STATIC VARIABLES
+   /** name identifying the scheduled task */
+   static final String TASK_NAME = "random events";
+
    // events
    /** events which might occur */
    static RandomEvent[] randomEvents = null;
@@ -46,12 +47,10 @@ public class RandomEvents extends TimerTask {
    }
 
    // thread management
-   /** manages thread triggering random events */
-   static Timer timerRandomEvents = null;
+   /** periodically triggers random events, waiting a random amount of time between them */
+   static MarketScheduler.Task taskRandomEvents = null;
    /** handles random events */
-   static RandomEvents timerTaskRandomEvents = null;
-   /** used to monitor a timer interval for configuration changes */
-   static long oldFrequency = 0L;
+   static RandomEvents randomEventsHandler = null;
    /** used to monitor changes in quantity change percentages for configuration changes */
    static float[] oldQuantityChangePercents = null;
    /** used to signal what should be reloaded or recalculated */
@@ -70,16 +69,11 @@ public class RandomEvents extends TimerTask {
 
    // STATIC METHODS
    /**
-    * Spawns and handles a thread for handling random events.
+    * Schedules, reschedules, or stops random events.
     * <p>
     * Complexity: O(1)
     */
    public static void startOrReconfig() {
-      // calculate frequency using settings for frequency and variance
-      long newFrequency = ((long) (Config.randomEventsFrequency * (1.0f - Config.randomEventsVariance)));
-      if (newFrequency <= 0.0)
-         newFrequency = 60000L; // 60000 ms per min.
-
       // if necessary, start, reload, or stop random events
       if (Config.randomEvents && Config.randomEventsFrequency > 0) {
          // set up random events if they haven't been already
@@ -108,52 +102,40 @@ public class RandomEvents extends TimerTask {
             calcQuantityChanges();
 
          // start random events
-         if (timerRandomEvents == null) {
-            // initialize timer objects
-            timerRandomEvents     = new Timer(true);
-            timerTaskRandomEvents = new RandomEvents();
-
-            // initialize random events
-            timerRandomEvents.scheduleAtFixedRate(timerTaskRandomEvents, 0L, newFrequency);
+         if (taskRandomEvents == null) {
+            randomEventsHandler = new RandomEvents();
+            taskRandomEvents    = MarketScheduler.schedule(TASK_NAME, randomEventsHandler, 0L, Config.randomEventsFrequency, Config.randomEventsVariance);
          }
 
          // reload random events
-         else if (oldFrequency != newFrequency) {
-            // There's no way to change a task's period.
-            // Therefore, it is necessary to stop the current task
-            // and schedule a new one.
-            timerTaskRandomEvents.stop = true;
-            timerTaskRandomEvents.cancel();
-
-            // initialize timertask object
-            timerTaskRandomEvents = new RandomEvents();
-
-            // initialize random events
-            timerRandomEvents.scheduleAtFixedRate(timerTaskRandomEvents, newFrequency, newFrequency);
+         // scheduling a task using the same name replaces the current task
+         else if (taskRandomEvents.getPeriod() != Config.randomEventsFrequency ||
+                  taskRandomEvents.getJitter() != Config.randomEventsVariance) {
+            randomEventsHandler.stop = true;
+            randomEventsHandler      = new RandomEvents();
+            taskRandomEvents         = MarketScheduler.schedule(TASK_NAME, randomEventsHandler,
+                                                                MarketScheduler.jitteredDelay(Config.randomEventsFrequency, Config.randomEventsVariance),
+                                                                Config.randomEventsFrequency, Config.randomEventsVariance);
          }
       }
 
       // stop random events
-      else if (timerRandomEvents != null &&
-               (!Config.randomEvents || Config.randomEventsFrequency <= 0))
+      else if (taskRandomEvents != null)
          end();
-
-      // record timer interval to monitor for changes
-      oldFrequency = newFrequency;
    }
 
    /**
-    * Closes the thread handling random events.
+    * Stops random events.
     * <p>
     * Complexity: O(1)
     */
    public static void end() {
       // if necessary, stop random events
-      if (timerRandomEvents != null) {
-         timerTaskRandomEvents.stop = true;
-         timerTaskRandomEvents = null;
-         timerRandomEvents.cancel();
-         timerRandomEvents = null;
+      if (taskRandomEvents != null) {
+         randomEventsHandler.stop = true;
+         randomEventsHandler      = null;
+         taskRandomEvents.cancel();
+         taskRandomEvents         = null;
 
          // deallocate memory
          randomEvents              = null;
@@ -713,10 +695,8 @@ public class RandomEvents extends TimerTask {
     */
    public void run() {
       // don't allow more than one singleton
-      if (timerTaskRandomEvents != this) {
-         cancel();
+      if (randomEventsHandler != this)
          return;
-      }
 
       // don't run if random events aren't set up
       if (queue == null)
@@ -765,22 +745,9 @@ public class RandomEvents extends TimerTask {
          return;
 
       // randomly select an event and make it happen
-      randomEvents[ThreadLocalRandom.current().nextInt(randomEvents.length)].fire();
-
-      // determine how long to wait until the next event
-      if (Config.randomEventsVariance != 0.0f) {
-         // randomize wait time based on configured variance
-         long additionalWaitTime = ThreadLocalRandom.current().nextLong(
-            (long) (Config.randomEventsFrequency * (1.0f - Config.randomEventsVariance)),
-            (long) (Config.randomEventsFrequency * (1.0f + Config.randomEventsVariance)));
-
-         // wait a random amount of time before the next event
-         try {
-            Thread.sleep(additionalWaitTime);
-         } catch (Exception e) {
-            Config.userInterface.printErrorToConsole(StringTable.ERROR_RANDOM_EVENTS_SLEEP + e);
-         }
-      }
+      // the scheduler randomizes how long to wait until the next event
+      final RandomEvent EVENT = randomEvents[ThreadLocalRandom.current().nextInt(randomEvents.length)];
+      MarketEventLoop.execute(EVENT::fire);
    }
 
    /**
@@ -0,0 +1,250 @@
+package commandeconomy;
+
+import java.util.Arrays;              // for growing columns
+import java.util.concurrent.atomic.AtomicIntegerArray; // for refreshing quantities without locking
+
+/**
+ * Mirrors wares' pricing inputs in parallel arrays
+ * so many wares may be priced in a single tight loop
+ * without dereferencing each ware.
+ * <p>
+ * Each ware is assigned a fixed index when first registered.
+ * Columns are refreshed whenever the marketplace marks a ware as changed.
+ * Registering and refreshing every ware synchronize on the class,
+ * but refreshing a single ware doesn't, so trades never wait on each other here.
+ * Instead, a refresh rereads the ware's quantity after writing it
+ * and writes again if another thread changed the ware meanwhile,
+ * so columns always settle on wares' latest quantities.
+ * Readers grab the current columns once and may see values
+ * slightly behind wares changed on other threads,
+ * just as they would reading wares directly.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class WareColumns {
+   // STATIC VARIABLES
+   /** how many wares columns may hold before growing when first created */
+   private static final int CAPACITY_INITIAL = 256;
+
+   // kinds of wares, determining how they are priced
+   /** ware's price only depends on its own properties */
+   static final byte KIND_INDEPENDENT = 0;
+   /** ware's price depends on its components' prices if linked prices are enabled */
+   static final byte KIND_COMPONENTS  = 1;
+   /** ware is untradeable or linked to other wares, so it must be priced individually */
+   static final byte KIND_SPECIAL     = 2;
+
+   /** columns currently in use */
+   private static volatile WareColumns current = new WareColumns(CAPACITY_INITIAL, 0);
+
+   // INSTANCE VARIABLES
+   /** wares mirrored by columns, indexed by ware index */
+   final Ware[] wares;
+   /** wares' quantities available for sale */
+   final AtomicIntegerArray quantities;
+   /** wares' hierarchy levels */
+   final byte[] levels;
+   /** wares' unmodified prices */
+   final float[] basePrices;
+   /** how wares should be priced */
+   final byte[] kinds;
+   /** how many indices have been assigned */
+   final int size;
+
+   // STATIC METHODS
+   /**
+    * Returns columns currently in use.
+    * Callers should grab columns once per calculation
+    * so every value used comes from the same arrays.
+    * <p>
+    * Complexity: O(1)
+    * @return current columns
+    */
+   static WareColumns get() {
+      return current;
+   }
+
+   /**
+    * Returns a ware's index within columns, assigning one if necessary.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is the number of wares mirrored, when columns must grow
+    * @param ware ware whose index should be returned
+    * @return ware's index or -1 if no ware is given
+    */
+   static int indexOf(Ware ware) {
+      if (ware == null)
+         return -1;
+
+      // check whether the ware already has an index
+      final int INDEX = ware.columnIndex;
+      final WareColumns COLUMNS = current;
+      if (0 <= INDEX && INDEX < COLUMNS.size && COLUMNS.wares[INDEX] == ware)
+         return INDEX;
+
+      return register(ware);
+   }
+
+   /**
+    * Assigns a ware the next available index.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is the number of wares mirrored, when columns must grow
+    * @param ware ware to be mirrored
+    * @return ware's index
+    */
+   private static synchronized int register(Ware ware) {
+      WareColumns columns = current;
+
+      // check again in case another thread registered the ware
+      final int INDEX = ware.columnIndex;
+      if (0 <= INDEX && INDEX < columns.size && columns.wares[INDEX] == ware)
+         return INDEX;
+
+      // if there's no room, double capacity
+      if (columns.size == columns.wares.length)
+         columns = new WareColumns(columns, columns.wares.length * 2, columns.size + 1);
+      else
+         columns = new WareColumns(columns, columns.wares.length, columns.size + 1);
+
+      final int INDEX_NEW = columns.size - 1;
+      columns.wares[INDEX_NEW] = ware;
+      columns.write(INDEX_NEW, ware);
+      ware.columnIndex = INDEX_NEW;
+      final boolean GREW = columns.quantities != current.quantities;
+      current = columns;
+
+      // if columns were copied, wares refreshed during copying
+      // may have only been written to the previous columns
+      if (GREW) {
+         for (int i = 0; i < INDEX_NEW; i++)
+            columns.write(i, columns.wares[i]);
+      }
+      return INDEX_NEW;
+   }
+
+   /**
+    * Refreshes a ware's columns if the ware is mirrored.
+    * <p>
+    * Complexity: O(1)
+    * @param ware ware whose properties changed
+    */
+   static void update(Ware ware) {
+      final int INDEX = ware.columnIndex;
+      WareColumns columns = current;
+      if (INDEX < 0 || columns.size <= INDEX || columns.wares[INDEX] != ware)
+         return;
+
+      columns.write(INDEX, ware);
+
+      // if columns grew while writing, write to the new columns too
+      while (columns != current) {
+         columns = current;
+         if (columns.size <= INDEX || columns.wares[INDEX] != ware)
+            return;
+         columns.write(INDEX, ware);
+      }
+   }
+
+   /**
+    * Refreshes every mirrored ware's columns,
+    * such as after base prices are recalculated.
+    * <p>
+    * Complexity: O(n), where n is the number of wares mirrored
+    */
+   static synchronized void updateAll() {
+      final WareColumns COLUMNS = current;
+      for (int i = 0; i < COLUMNS.size; i++)
+         COLUMNS.write(i, COLUMNS.wares[i]);
+   }
+
+   /**
+    * Forgets all wares, such as when wares are reloaded.
+    * Previously returned indices become invalid.
+    * <p>
+    * Complexity: O(1)
+    */
+   static synchronized void clear() {
+      current = new WareColumns(CAPACITY_INITIAL, 0);
+   }
+
+   // INSTANCE METHODS
+   /**
+    * Creates empty columns.
+    * <p>
+    * Complexity: O(n), where n is capacity
+    * @param capacity how many wares columns may hold
+    * @param size     how many indices have been assigned
+    */
+   private WareColumns(int capacity, int size) {
+      wares      = new Ware[capacity];
+      quantities = new AtomicIntegerArray(capacity);
+      levels     = new byte[capacity];
+      basePrices = new float[capacity];
+      kinds      = new byte[capacity];
+      this.size  = size;
+   }
+
+   /**
+    * Extends existing columns, copying them only if they must hold more wares.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is capacity
+    * @param columns  columns to be extended
+    * @param capacity how many wares columns may hold
+    * @param size     how many indices have been assigned
+    */
+   private WareColumns(WareColumns columns, int capacity, int size) {
+      // if there is room, share arrays since assigned indices are never moved
+      if (capacity == columns.wares.length) {
+         wares      = columns.wares;
+         quantities = columns.quantities;
+         levels     = columns.levels;
+         basePrices = columns.basePrices;
+         kinds      = columns.kinds;
+      }
+      else {
+         wares      = Arrays.copyOf(columns.wares, capacity);
+         quantities = new AtomicIntegerArray(capacity);
+         for (int i = 0; i < columns.size; i++)
+            quantities.set(i, columns.quantities.get(i));
+         levels     = Arrays.copyOf(columns.levels, capacity);
+         basePrices = Arrays.copyOf(columns.basePrices, capacity);
+         kinds      = Arrays.copyOf(columns.kinds, capacity);
+      }
+      this.size  = size;
+   }
+
+   /**
+    * Copies a ware's pricing inputs into columns.
+    * Since writers don't lock, a writer may read a quantity, then
+    * overwrite a newer quantity written by another thread.
+    * To avoid leaving a stale quantity, the ware is reread
+    * after writing until the written quantity is current.
+    * <p>
+    * Complexity: O(1), excluding retries while other threads change the ware
+    * @param index position within columns
+    * @param ware  ware to be mirrored
+    */
+   private void write(int index, Ware ware) {
+      int quantity = ware.getQuantity();
+      quantities.set(index, quantity);
+      while (quantity != (quantity = ware.getQuantity()))
+         quantities.set(index, quantity);
+
+      levels[index]     = ware.getLevel();
+      basePrices[index] = ware.getBasePrice();
+
+      if (ware instanceof WareUntradeable || ware instanceof WareLinked)
+         kinds[index] = KIND_SPECIAL;
+      else if (ware.hasComponents())
+         kinds[index] = KIND_COMPONENTS;
+      else
+         kinds[index] = KIND_INDEPENDENT;
+   }
+}
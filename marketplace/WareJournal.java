@@ -0,0 +1,756 @@
+package commandeconomy;
+
+import java.io.File;                  // for handling files
+import java.io.IOException;           // for handling miscellaneous file errors
+import java.nio.ByteBuffer;           // for encoding and decoding records
+import java.nio.BufferUnderflowException; // for detecting records cut off by a crash
+import java.nio.channels.FileChannel; // for appending and forcing records to disk
+import java.nio.charset.StandardCharsets; // for encoding ware IDs
+import java.nio.file.Files;           // for reading segments when replaying
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;           // for looking up wares by index when replaying
+import java.util.Arrays;              // for replaying segments in order
+import java.util.HashMap;             // for assigning wares indices within a segment
+import java.util.HashSet;             // for finishing restoring each replayed ware once
+import java.util.Timer;               // for periodically forcing records to disk
+import java.util.TimerTask;           // for disabling periodic syncing mid-execution
+import java.util.Map;                 // for looking up wares when replaying
+import java.util.concurrent.locks.ReentrantLock; // for serializing appends and syncs
+import java.util.concurrent.locks.StampedLock;   // for cutting segments between quantity changes
+
+/**
+ * Records changes to wares' quantities as they happen within an append-only binary file,
+ * so trades made since wares were last saved survive a crash.
+ * <p>
+ * The journal is split into numbered segments. Saving wares cuts the current segment,
+ * writes a snapshot noting the last segment it contains, then deletes segments the snapshot contains.
+ * Loading wares from the save file replays segments newer than the snapshot.
+ * <p>
+ * Each segment starts with a header, then holds two kinds of records:<br>
+ * ware: type (1 byte), ware index (4 bytes), ware ID length (2 bytes), ware ID (UTF-8)<br>
+ * delta: type (1 byte), ware index (4 bytes), quantity change (4 bytes), milliseconds since the epoch (8 bytes)<br>
+ * Ware indices are assigned by ware records within each segment.
+ * Records cut off by a crash are ignored when replaying.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class WareJournal {
+   // STATIC VARIABLES
+   // file format
+   /** marks a file as a journal segment: "CEJ1" */
+   private static final int MAGIC = 0x43454A31;
+   /** bytes used by a segment's header: magic number and generation */
+   private static final int HEADER_SIZE = 12;
+   /** record type assigning an index to a ware ID */
+   private static final byte RECORD_WARE = 1;
+   /** record type for a change to a ware's quantity */
+   private static final byte RECORD_DELTA = 2;
+   /** bytes used by a quantity change record */
+   private static final int RECORD_DELTA_SIZE = 17;
+   /** ending appended to the save file's name to name segments */
+   private static final String SEGMENT_SUFFIX = ".journal";
+   /** bytes held in memory before being written to the current segment */
+   private static final int BUFFER_SIZE = 65536;
+
+   // sync policies
+   /** when records should be forced to disk */
+   enum SyncPolicy {
+      OFF,      // journaling is disabled
+      NEVER,    // records are written for the operating system to store, surviving the server crashing but not losing power
+      PERIODIC, // records are written and forced to disk together every sync interval
+      ALWAYS    // each change waits for its record to be forced to disk, sharing the wait with concurrent changes
+   }
+
+   // appending
+   /** records waiting to be written to the current segment */
+   private static final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+   /** current segment or null if journaling is disabled */
+   private static volatile FileChannel channel = null;
+   /** maps ware IDs to indices within the current segment */
+   private static final HashMap<String, Integer> wareIndices = new HashMap<String, Integer>();
+   /** how many records have been appended */
+   private static long recordsAppended = 0;
+   /** how many records are known to be on disk */
+   private static volatile long recordsSynced = 0;
+   /** when records are forced to disk */
+   private static volatile SyncPolicy syncPolicy = SyncPolicy.OFF;
+
+   // segments
+   /** highest generation of any segment known to exist or to be contained by a snapshot */
+   private static long generation = 0;
+   /** whether segments have been checked since wares were last loaded, so new segments won't shadow older ones */
+   private static boolean recovered = false;
+   /** whether quantity changes should be recorded; false until segments have been checked */
+   private static volatile boolean recording = false;
+
+   // thread management
+   /** held while changing a quantity and recording it so segments are cut between changes */
+   private static final StampedLock cutLock = new StampedLock();
+   /** held while writing to the buffer or segment */
+   private static final ReentrantLock bufferLock = new ReentrantLock();
+   /** held while forcing records to disk so concurrent changes share one sync */
+   private static final ReentrantLock syncLock = new ReentrantLock();
+   /** for periodically forcing records to disk */
+   private static Timer timerSyncer = null;
+   /** for stopping the thread gracefully */
+   private static Syncer timertaskSyncer = null;
+   /** used to monitor a timer interval for configuration changes */
+   private static int oldSyncInterval = 0;
+
+   // STRUCTS
+   /**
+    * Periodically forces records to disk.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class Syncer extends TimerTask
+   {
+      /** whether the task should continue running */
+      transient volatile boolean stop = false;
+
+      /**
+       * Forces any records appended so far to disk.
+       */
+      public void run() {
+         if (stop)
+            return;
+
+         bufferLock.lock();
+         final long RECORDS_APPENDED = recordsAppended;
+         bufferLock.unlock();
+
+         sync(RECORDS_APPENDED);
+      }
+   }
+
+   // STATIC METHODS
+   /**
+    * Prevents instantiation.
+    */
+   private WareJournal() { }
+
+   /**
+    * Returns the sync policy corresponding to a configuration setting.
+    * <p>
+    * Complexity: O(1)
+    * @param name off, never, periodic, or always; case-insensitive
+    * @return corresponding policy or null if the name is unknown
+    */
+   static SyncPolicy parseSyncPolicy(String name) {
+      if (name == null)
+         return null;
+
+      switch (name.trim().toLowerCase()) {
+         case "off":      return SyncPolicy.OFF;
+         case "never":    return SyncPolicy.NEVER;
+         case "periodic": return SyncPolicy.PERIODIC;
+         case "always":   return SyncPolicy.ALWAYS;
+         default:         return null;
+      }
+   }
+
+   /**
+    * Starts, stops, or adjusts journaling according to configuration settings.
+    * Journaling only starts after wares have been loaded,
+    * so new segments are never older than existing ones.
+    * <p>
+    * Complexity: O(1)
+    */
+   public static void startOrReconfig() {
+      SyncPolicy policy = parseSyncPolicy(Config.waresJournalSync);
+      if (policy == null)
+         policy = SyncPolicy.OFF;
+
+      syncLock.lock();
+      try {
+         syncPolicy = policy;
+         recording  = policy != SyncPolicy.OFF && recovered;
+
+         if (policy == SyncPolicy.OFF)
+            close();
+         else if (channel == null && recovered)
+            open(generation + 1);
+      } finally {
+         syncLock.unlock();
+      }
+
+      // if necessary, start, reload, or stop periodically syncing
+      if (policy == SyncPolicy.PERIODIC && Config.waresJournalSyncInterval > 0) {
+         if (timerSyncer == null) {
+            timerSyncer     = new Timer(true);
+            timertaskSyncer = new Syncer();
+            timerSyncer.scheduleAtFixedRate(timertaskSyncer, (long) Config.waresJournalSyncInterval, (long) Config.waresJournalSyncInterval);
+         }
+         else if (oldSyncInterval != Config.waresJournalSyncInterval) {
+            // There's no way to change a task's period.
+            // Therefore, it is necessary to stop the current task
+            // and schedule a new one.
+            timertaskSyncer.stop = true;
+            timertaskSyncer.cancel();
+
+            timertaskSyncer = new Syncer();
+            timerSyncer.scheduleAtFixedRate(timertaskSyncer, (long) Config.waresJournalSyncInterval, (long) Config.waresJournalSyncInterval);
+         }
+      }
+      else if (timerSyncer != null) {
+         timertaskSyncer.stop = true;
+         timertaskSyncer = null;
+         timerSyncer.cancel();
+         timerSyncer = null;
+      }
+
+      // record timer interval to monitor for changes
+      oldSyncInterval = Config.waresJournalSyncInterval;
+   }
+
+   /**
+    * Writes any buffered records, stops journaling, and stops periodically syncing.
+    * <p>
+    * Complexity: O(n), where n is the number of buffered records
+    */
+   public static void end() {
+      syncLock.lock();
+      try {
+         syncPolicy = SyncPolicy.OFF;
+         recording  = false;
+         close();
+      } finally {
+         syncLock.unlock();
+      }
+
+      if (timerSyncer != null) {
+         timertaskSyncer.stop = true;
+         timertaskSyncer = null;
+         timerSyncer.cancel();
+         timerSyncer = null;
+      }
+   }
+
+   /**
+    * Returns whether quantity changes are currently being recorded.
+    * <p>
+    * Complexity: O(1)
+    * @return true if a segment is open
+    */
+   public static boolean isEnabled() {
+      return channel != null;
+   }
+
+   /**
+    * Called before changing a ware's quantity.
+    * Prevents segments from being cut until the change is recorded.
+    * <p>
+    * Complexity: O(1)
+    * @return stamp to pass to endChange() or 0 if journaling is disabled
+    */
+   static long beginChange() {
+      // check a flag rather than the segment since segments are briefly closed when cut
+      if (!recording)
+         return 0L;
+      return cutLock.readLock();
+   }
+
+   /**
+    * Called after changing a ware's quantity.
+    * Records the change, then waits for it to reach disk if the sync policy requires it.
+    * <p>
+    * Complexity: O(1)
+    * @param stamp value returned by beginChange()
+    * @param ware  ware whose quantity changed
+    * @param delta change to the ware's quantity
+    */
+   static void endChange(long stamp, Ware ware, int delta) {
+      if (stamp == 0L)
+         return;
+
+      long record = 0L; // position of the change among appended records
+      try {
+         if (delta != 0 && ware.getWareID() != null)
+            record = append(ware.getWareID(), delta);
+      } finally {
+         cutLock.unlockRead(stamp);
+      }
+
+      // don't hold up cutting segments while waiting for the disk
+      if (record != 0L && syncPolicy == SyncPolicy.ALWAYS)
+         sync(record);
+   }
+
+   /**
+    * Adds a record for a quantity change to the buffer,
+    * first assigning the ware an index if the current segment hasn't seen it.
+    * <p>
+    * Complexity: O(1)
+    * @param wareID ware whose quantity changed
+    * @param delta  change to the ware's quantity
+    * @return position of the change among appended records or 0 if it was not recorded
+    */
+   private static long append(String wareID, int delta) {
+      bufferLock.lock();
+      try {
+         if (channel == null)
+            return 0L;
+
+         Integer index = wareIndices.get(wareID);
+         if (index == null) {
+            final byte[] ID = wareID.getBytes(StandardCharsets.UTF_8);
+            if (ID.length > 0xFFFF)
+               return 0L;
+
+            index = wareIndices.size();
+            reserve(7 + ID.length);
+            buffer.put(RECORD_WARE).putInt(index).putShort((short) ID.length).put(ID);
+            wareIndices.put(wareID, index);
+         }
+
+         reserve(RECORD_DELTA_SIZE);
+         buffer.put(RECORD_DELTA).putInt(index).putInt(delta).putLong(System.currentTimeMillis());
+         recordsAppended++;
+
+         // hand the record to the operating system right away unless it will be written in a batch
+         if (syncPolicy == SyncPolicy.NEVER)
+            drain();
+
+         return recordsAppended;
+      } catch (IOException e) {
+         fail(e);
+         return 0L;
+      } finally {
+         bufferLock.unlock();
+      }
+   }
+
+   /**
+    * Writes buffered records if the buffer lacks space for another record.
+    * Must be called while holding the buffer lock.
+    * <p>
+    * Complexity: O(n), where n is the number of buffered records
+    * @param size bytes needed for the next record
+    * @throws IOException if the segment could not be written to
+    */
+   private static void reserve(int size) throws IOException {
+      if (buffer.remaining() < size)
+         drain();
+   }
+
+   /**
+    * Writes buffered records to the current segment.
+    * Must be called while holding the buffer lock.
+    * <p>
+    * Complexity: O(n), where n is the number of buffered records
+    * @throws IOException if the segment could not be written to
+    */
+   private static void drain() throws IOException {
+      buffer.flip();
+      try {
+         while (buffer.hasRemaining())
+            channel.write(buffer);
+      } finally {
+         buffer.clear();
+      }
+   }
+
+   /**
+    * Ensures records up to a given position are on disk.
+    * Whichever thread syncs first writes and forces every record appended so far,
+    * so threads changing quantities at the same time share one sync.
+    * <p>
+    * Complexity: O(n), where n is the number of buffered records
+    * @param record position of the last record needing to be on disk
+    */
+   static void sync(long record) {
+      if (recordsSynced >= record)
+         return;
+
+      syncLock.lock();
+      try {
+         // another thread may have synced the record while this one waited
+         if (recordsSynced >= record || channel == null)
+            return;
+
+         final long        RECORDS_APPENDED;
+         final FileChannel CHANNEL;
+         bufferLock.lock();
+         try {
+            RECORDS_APPENDED = recordsAppended;
+            CHANNEL          = channel;
+            drain();
+         } finally {
+            bufferLock.unlock();
+         }
+
+         // appending may continue while waiting for the disk
+         CHANNEL.force(false);
+         recordsSynced = RECORDS_APPENDED;
+      } catch (IOException e) {
+         bufferLock.lock();
+         fail(e);
+         bufferLock.unlock();
+      } finally {
+         syncLock.unlock();
+      }
+   }
+
+   /**
+    * Stops journaling after failing to write, reporting the error.
+    * Quantities remain marked as changed, so the next save still stores them.
+    * Must be called while holding the buffer lock.
+    * <p>
+    * Complexity: O(1)
+    * @param e what went wrong
+    */
+   private static void fail(IOException e) {
+      Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_JOURNAL_WRITE + segmentFile(generation).getPath());
+      e.printStackTrace();
+
+      try {
+         if (channel != null)
+            channel.close();
+      } catch (Exception eClose) { }
+      channel = null;
+      buffer.clear();
+   }
+
+   /**
+    * Starts a new segment and records its generation.
+    * Must be called while holding the sync lock.
+    * <p>
+    * Complexity: O(1)
+    * @param segmentGeneration number identifying the new segment
+    */
+   private static void open(long segmentGeneration) {
+      bufferLock.lock();
+      try {
+         final File FILE_SEGMENT = segmentFile(segmentGeneration);
+         if (FILE_SEGMENT.getParentFile() != null)
+            FILE_SEGMENT.getParentFile().mkdirs();
+
+         channel = FileChannel.open(FILE_SEGMENT.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+         generation = segmentGeneration;
+         wareIndices.clear();
+         buffer.clear();
+         buffer.putInt(MAGIC).putLong(segmentGeneration);
+         drain();
+      } catch (IOException e) {
+         fail(e);
+      } finally {
+         bufferLock.unlock();
+      }
+   }
+
+   /**
+    * Forces any records to disk and closes the current segment.
+    * Must be called while holding the sync lock.
+    * <p>
+    * Complexity: O(n), where n is the number of buffered records
+    */
+   private static void close() {
+      bufferLock.lock();
+      try {
+         if (channel == null)
+            return;
+
+         drain();
+         channel.force(false);
+         channel.close();
+         channel = null;
+         recordsSynced = recordsAppended;
+      } catch (IOException e) {
+         fail(e);
+      } finally {
+         bufferLock.unlock();
+      }
+   }
+
+   /**
+    * Waits for quantity changes in progress to be recorded,
+    * then closes the current segment and starts a new one.
+    * Until endCut() is called, quantities cannot change,
+    * so wares' entries regenerated meanwhile contain exactly
+    * the changes recorded within the closed segment and those before it.
+    * <p>
+    * Complexity: O(n), where n is the number of buffered records
+    * @return stamp to pass to endCut()
+    */
+   static long beginCut() {
+      final long STAMP = cutLock.writeLock();
+
+      syncLock.lock();
+      try {
+         if (channel != null) {
+            close();
+            open(generation + 1);
+         }
+      } finally {
+         syncLock.unlock();
+      }
+
+      return STAMP;
+   }
+
+   /**
+    * Allows quantities to change after cutting a segment.
+    * <p>
+    * Complexity: O(1)
+    * @param stamp value returned by beginCut()
+    */
+   static void endCut(long stamp) {
+      cutLock.unlockWrite(stamp);
+   }
+
+   /**
+    * Returns the generation of the newest segment a snapshot taken now would contain.
+    * Should be called between beginCut() and endCut().
+    * <p>
+    * Complexity: O(1)
+    * @return generation to be recorded within the snapshot
+    */
+   static long getGenerationSaved() {
+      if (channel != null)
+         return generation - 1;
+      return generation;
+   }
+
+   /**
+    * Deletes segments contained by a snapshot which has been safely written.
+    * <p>
+    * Complexity: O(n), where n is the number of files in the save directory
+    * @param generationSaved generation of the newest segment contained by the snapshot
+    */
+   static void compact(long generationSaved) {
+      for (File fileSegment : listSegments()) {
+         if (parseGeneration(fileSegment) <= generationSaved)
+            fileSegment.delete();
+      }
+   }
+
+   /**
+    * Deletes every segment, such as after quantities were restored from elsewhere,
+    * so changes the restored quantities include won't be replayed again.
+    * If journaling, continues within a new segment.
+    * Should be called while holding the marketplace's mutex.
+    * <p>
+    * Complexity: O(n), where n is the number of files in the save directory
+    */
+   static void reset() {
+      final long STAMP = cutLock.writeLock();
+
+      syncLock.lock();
+      try {
+         final boolean WAS_OPEN = channel != null;
+         close();
+         for (File fileSegment : listSegments())
+            fileSegment.delete();
+         if (WAS_OPEN)
+            open(generation + 1);
+      } finally {
+         syncLock.unlock();
+         cutLock.unlockWrite(STAMP);
+      }
+   }
+
+   /**
+    * Stops recording quantity changes while wares are loaded,
+    * so setting starting quantities isn't mistaken for trading.
+    * Should be called before loading wares while holding the marketplace's mutex
+    * and followed by recover().
+    * <p>
+    * Complexity: O(n), where n is the number of buffered records
+    */
+   static void pause() {
+      syncLock.lock();
+      try {
+         recording = false;
+         recovered = false;
+         close();
+      } finally {
+         syncLock.unlock();
+      }
+   }
+
+   /**
+    * Replays segments the loaded snapshot does not contain, then resumes journaling.
+    * Should be called after loading wares while holding the marketplace's mutex.
+    * <p>
+    * Complexity: O(n), where n is the number of records within replayed segments
+    * @param generationSaved generation of the newest segment the snapshot contains
+    * @param shouldReplay    false if the wares did not come from the save file, so segments don't apply to them
+    * @param wares           loaded wares, mapped by ware ID
+    * @return number of quantity changes replayed
+    */
+   static int recover(long generationSaved, boolean shouldReplay, Map<String, Ware> wares) {
+      final HashSet<Ware> WARES_REPLAYED = new HashSet<Ware>();
+      int changesReplayed = 0;
+
+      syncLock.lock();
+      try {
+         // stop recording while quantities are restored
+         recording = false;
+         close();
+
+         long generationMax = generationSaved;
+         long segmentGeneration;
+         for (File fileSegment : listSegments()) {
+            segmentGeneration = parseGeneration(fileSegment);
+            if (segmentGeneration > generationMax)
+               generationMax = segmentGeneration;
+
+            if (shouldReplay && segmentGeneration > generationSaved)
+               changesReplayed += replay(fileSegment, wares, WARES_REPLAYED);
+         }
+
+         // changes were restored without being treated as new changes,
+         // so mark each replayed ware for saving and repricing once
+         for (Ware ware : WARES_REPLAYED) {
+            Marketplace.markAsChanged(ware);
+            ware.notifyQuantityChanged();
+         }
+
+         // ensure new segments are newer than existing ones
+         if (generationMax > generation)
+            generation = generationMax;
+         recovered = true;
+
+         if (syncPolicy != SyncPolicy.OFF) {
+            open(generation + 1);
+            recording = true;
+         }
+      } finally {
+         syncLock.unlock();
+      }
+
+      return changesReplayed;
+   }
+
+   /**
+    * Applies quantity changes recorded within a segment.
+    * Stops at the first incomplete or unrecognized record.
+    * Changes are restored without being journaled, recorded by the transaction ledger,
+    * or marking wares as changed, since they were already recorded.
+    * <p>
+    * Complexity: O(n), where n is the number of records within the segment
+    * @param fileSegment   segment to be replayed
+    * @param wares         loaded wares, mapped by ware ID
+    * @param waresReplayed filled with wares whose quantities changed
+    * @return number of quantity changes replayed
+    */
+   private static int replay(File fileSegment, Map<String, Ware> wares, HashSet<Ware> waresReplayed) {
+      final ByteBuffer DATA;
+      try {
+         DATA = ByteBuffer.wrap(Files.readAllBytes(fileSegment.toPath()));
+      } catch (IOException e) {
+         Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_JOURNAL_READ + fileSegment.getPath());
+         e.printStackTrace();
+         return 0;
+      }
+
+      if (DATA.remaining() < HEADER_SIZE || DATA.getInt() != MAGIC) {
+         Config.userInterface.printErrorToConsole(StringTable.ERROR_FILE_JOURNAL_READ + fileSegment.getPath());
+         return 0;
+      }
+      DATA.getLong(); // generation is already known from the file name
+
+      ArrayList<Ware> waresByIndex = new ArrayList<Ware>(); // null for wares no longer in the marketplace
+      int    changesReplayed = 0;
+      int    index;
+      int    delta;
+      byte[] wareID;
+      Ware   ware;
+      try {
+         while (DATA.hasRemaining()) {
+            switch (DATA.get()) {
+               case RECORD_WARE:
+                  index  = DATA.getInt();
+                  wareID = new byte[DATA.getShort() & 0xFFFF];
+                  DATA.get(wareID);
+
+                  // indices are assigned in order
+                  if (index != waresByIndex.size())
+                     throw new BufferUnderflowException();
+                  waresByIndex.add(wares.get(new String(wareID, StandardCharsets.UTF_8)));
+                  break;
+
+               case RECORD_DELTA:
+                  index = DATA.getInt();
+                  delta = DATA.getInt();
+                  DATA.getLong(); // when the change happened
+
+                  ware = index >= 0 && index < waresByIndex.size() ? waresByIndex.get(index) : null;
+                  if (ware != null) {
+                     ware.restoreQuantity(ware.getQuantity() + delta);
+                     waresReplayed.add(ware);
+                     changesReplayed++;
+                  }
+                  break;
+
+               default:
+                  throw new BufferUnderflowException();
+            }
+         }
+      } catch (BufferUnderflowException e) {
+         // the server likely stopped while writing the last record
+         Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_JOURNAL_TRUNCATED + fileSegment.getPath());
+      }
+
+      return changesReplayed;
+   }
+
+   /**
+    * Returns the file holding a segment.
+    * <p>
+    * Complexity: O(1)
+    * @param segmentGeneration number identifying the segment
+    * @return segment's file
+    */
+   private static File segmentFile(long segmentGeneration) {
+      return new File(Config.filenameWaresSave + "." + segmentGeneration + SEGMENT_SUFFIX);
+   }
+
+   /**
+    * Returns the generation of a segment from its file name.
+    * <p>
+    * Complexity: O(1)
+    * @param fileSegment segment's file
+    * @return segment's generation or -1 if the file is not a segment
+    */
+   private static long parseGeneration(File fileSegment) {
+      final String NAME   = fileSegment.getName();
+      final String PREFIX = new File(Config.filenameWaresSave).getName() + ".";
+      if (!NAME.startsWith(PREFIX) || !NAME.endsWith(SEGMENT_SUFFIX))
+         return -1L;
+
+      try {
+         return Long.parseLong(NAME.substring(PREFIX.length(), NAME.length() - SEGMENT_SUFFIX.length()));
+      } catch (NumberFormatException e) {
+         return -1L;
+      }
+   }
+
+   /**
+    * Returns segments belonging to the save file, oldest first.
+    * <p>
+    * Complexity: O(n log n), where n is the number of files in the save directory
+    * @return segments' files
+    */
+   private static File[] listSegments() {
+      File directory = new File(Config.filenameWaresSave).getAbsoluteFile().getParentFile();
+      File[] files   = directory == null ? null : directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+      if (files == null)
+         return new File[0];
+
+      // ignore files not belonging to the save file
+      int size = 0;
+      for (File file : files) {
+         if (parseGeneration(file) >= 0)
+            files[size++] = file;
+      }
+      files = Arrays.copyOf(files, size);
+
+      Arrays.sort(files, (a, b) -> Long.compare(parseGeneration(a), parseGeneration(b)));
+      return files;
+   }
+}
@@ -11,12 +11,12 @@ import java.io.ByteArrayOutputStream; // for controlling console output during t
 import java.util.LinkedList;          // for returning properties of wares found in an inventory
 import java.util.List;
 import java.util.ArrayDeque;          // for accessing stored ware entries for saving
-import java.util.TreeSet;             // for storing IDs of wares changed since last save
 import java.util.Set;
 import java.lang.reflect.*;           // for accessing private fields and methods
-import java.util.Timer;               // for automatically rebalancing the marketplace
 import java.util.UUID;                // for more securely tracking users internally
 import java.util.Arrays;              // for printing string arrays when checking test cases' generated parameters
+import java.util.stream.IntStream;    // for reading ware entries on several threads at once
+import java.util.Scanner;             // for reading compressed files
 
 /**
  * Checks functionality and fault-tolerance of the Terminal Interface.
@@ -75,10 +75,6 @@ public final class TestSuite
    private static ArrayDeque<String> waresErrored;
    /** holds ware IDs whose entries should be regenerated */
    private static Set<String> waresChangedSinceLastSave;
-   /** maps ware IDs to ware entries, easing regenerating changed wares' entries for saving */
-   private static Map<String, StringBuilder> wareEntries;
-   /** holds ware entries in the order they successfully loaded in; makes reloading faster */
-   private static ArrayDeque<StringBuilder> waresLoadOrder;
    /** holds alternate ware aliases and Forge OreDictionary names for saving */
    private static StringBuilder alternateAliasEntries;
    /** reference to average ware starting quantity */
@@ -102,6 +98,9 @@ public final class TestSuite
    /** used for testing applying account interest to all accounts */
    private static Method applyAccountInterest = null;
 
+   /** whether to time operations at scale; enabled by passing "benchmarks" to the test suite */
+   private static boolean runBenchmarks = false;
+
    // repeatedly-used constants
    /** default player's UUID */
    private static final UUID PLAYER_ID = UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername);
@@ -115,10 +114,11 @@ public final class TestSuite
    /**
     * Tests functions throughout the program.
     *
-    * @param args does nothing
+    * @param args "benchmarks" to also time operations at scale
     */
    @SuppressWarnings("unchecked") // for grabbing Marketplace's private variables
    public static void main(final String[] args) {
+      runBenchmarks = Arrays.asList(args).contains("benchmarks");
       Config.userInterface = new UserInterfaceTerminal();
       UserInterfaceTerminal.registerCommands();
 
@@ -159,10 +159,8 @@ public final class TestSuite
          fPriceBaseAverage = Marketplace.class.getDeclaredField("priceBaseAverage");
          Field fWares = Marketplace.class.getDeclaredField("wares");
          Field fWareAliasTranslations     = Marketplace.class.getDeclaredField("wareAliasTranslations");
-         Field fWaresLoadOrder            = Marketplace.class.getDeclaredField("waresLoadOrder");
          Field fWaresErrored              = Marketplace.class.getDeclaredField("waresErrored");
          Field fWaresChangedSinceLastSave = Marketplace.class.getDeclaredField("waresChangedSinceLastSave");
-         Field fWareEntries               = Marketplace.class.getDeclaredField("wareEntries");
          Field fAlternateAliasEntries     = Marketplace.class.getDeclaredField("alternateAliasEntries");
          Field fAccounts                  = Account.class.getDeclaredField("accounts");
          Field fDefaultAccounts           = Account.class.getDeclaredField("defaultAccounts");
@@ -171,20 +169,16 @@ public final class TestSuite
          fPriceBaseAverage.setAccessible(true);
          fWares.setAccessible(true);
          fWareAliasTranslations.setAccessible(true);
-         fWaresLoadOrder.setAccessible(true);
          fWaresErrored.setAccessible(true);
          fWaresChangedSinceLastSave.setAccessible(true);
-         fWareEntries.setAccessible(true);
          fAlternateAliasEntries.setAccessible(true);
          fAccounts.setAccessible(true);
          fDefaultAccounts.setAccessible(true);
 
          wares                     = (TreeMap<String, Ware>) fWares.get(null);
          wareAliasTranslations     = (TreeMap<String, String>) fWareAliasTranslations.get(null);
-         waresLoadOrder            = (ArrayDeque<StringBuilder>) fWaresLoadOrder.get(null);
          waresErrored              = (ArrayDeque<String>) fWaresErrored.get(null);
-         waresChangedSinceLastSave = (TreeSet<String>) fWaresChangedSinceLastSave.get(null);
-         wareEntries               = (TreeMap<String, StringBuilder>) fWareEntries.get(null);
+         waresChangedSinceLastSave = (Set<String>) fWaresChangedSinceLastSave.get(null);
          alternateAliasEntries     = (StringBuilder) fAlternateAliasEntries.get(null);
          accounts                  = (TreeMap<String, Account>) fAccounts.get(null);
          defaultAccounts           = (HashMap<UUID, Account>) fDefaultAccounts.get(null);
@@ -389,6 +383,46 @@ public final class TestSuite
          failedTests.append("   testUnitWareIO()'s saveWares() and loadWares()\n");
       }
 
+      // test journaling changes to wares' quantities
+      if (testUnitWareJournal())
+         TEST_OUTPUT.println("test passed - testUnitWareJournal()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitWareJournal()\n");
+         failedTests.append("   testUnitWareJournal()\n");
+      }
+
+      // test saving captured states on the saving thread
+      if (testUnitSnapshotSaving())
+         TEST_OUTPUT.println("test passed - testUnitSnapshotSaving()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitSnapshotSaving()\n");
+         failedTests.append("   testUnitSnapshotSaving()\n");
+      }
+
+      // test saving and loading binary snapshots
+      if (testUnitBinarySnapshots())
+         TEST_OUTPUT.println("test passed - testUnitBinarySnapshots()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitBinarySnapshots()\n");
+         failedTests.append("   testUnitBinarySnapshots()\n");
+      }
+
+      // test reading and writing ware entries
+      if (testUnitWareCodec())
+         TEST_OUTPUT.println("test passed - testUnitWareCodec()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitWareCodec()\n");
+         failedTests.append("   testUnitWareCodec()\n");
+      }
+
+      // test resolving components while loading wares
+      if (testUnitWareLoadOrder())
+         TEST_OUTPUT.println("test passed - testUnitWareLoadOrder()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitWareLoadOrder()\n");
+         failedTests.append("   testUnitWareLoadOrder()\n");
+      }
+
       // test saving and loading accounts
       if (testUnitAccountIO())
          TEST_OUTPUT.println("test passed - saveAccounts() and loadAccounts()\n");
@@ -397,6 +431,62 @@ public final class TestSuite
          failedTests.append("   testUnitAccountIO()'s saveAccounts() and loadAccounts()\n");
       }
 
+      // test splitting accounts among shards
+      if (testUnitAccountShards())
+         TEST_OUTPUT.println("test passed - testUnitAccountShards()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitAccountShards()\n");
+         failedTests.append("   testUnitAccountShards()\n");
+      }
+
+      // test deciding when to automatically save
+      if (testUnitAutosaver())
+         TEST_OUTPUT.println("test passed - testUnitAutosaver()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitAutosaver()\n");
+         failedTests.append("   testUnitAutosaver()\n");
+      }
+
+      // test compressing save files
+      if (testUnitCompressedSaves())
+         TEST_OUTPUT.println("test passed - testUnitCompressedSaves()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitCompressedSaves()\n");
+         failedTests.append("   testUnitCompressedSaves()\n");
+      }
+
+      // test replacing files without partial files being observed
+      if (testUnitAtomicReplacement())
+         TEST_OUTPUT.println("test passed - testUnitAtomicReplacement()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitAtomicReplacement()\n");
+         failedTests.append("   testUnitAtomicReplacement()\n");
+      }
+
+      // test running periodic features on shared threads
+      if (testUnitMarketScheduler())
+         TEST_OUTPUT.println("test passed - testUnitMarketScheduler()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitMarketScheduler()\n");
+         failedTests.append("   testUnitMarketScheduler()\n");
+      }
+
+      // test recording changes to funds and quantities
+      if (testUnitTransactionLedger())
+         TEST_OUTPUT.println("test passed - testUnitTransactionLedger()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitTransactionLedger()\n");
+         failedTests.append("   testUnitTransactionLedger()\n");
+      }
+
+      // test holding funds as fixed-point numbers
+      if (testUnitFixedPointMoney())
+         TEST_OUTPUT.println("test passed - testUnitFixedPointMoney()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitFixedPointMoney()\n");
+         failedTests.append("   fixed-point money\n");
+      }
+
       // test servicing user requests
       if (testUnitInterfaceServiceRequests())
          TEST_OUTPUT.println("test passed - various serviceRequest() functions\n");
@@ -429,6 +519,22 @@ public final class TestSuite
          failedTests.append("   AI\n");
       }
 
+      // test AI deciding what to trade in parallel
+      if (testUnitParallelAI())
+         TEST_OUTPUT.println("test passed - testUnitParallelAI()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitParallelAI()\n");
+         failedTests.append("   parallel AI\n");
+      }
+
+      // test AI sharing prices each trade event
+      if (testUnitAIPriceSnapshot())
+         TEST_OUTPUT.println("test passed - testUnitAIPriceSnapshot()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitAIPriceSnapshot()\n");
+         failedTests.append("   AI price snapshot\n");
+      }
+
       // test purchasing out-of-stock manufactured wares
       if (testUnitManufacturingContracts())
          TEST_OUTPUT.println("test passed - testUnitManufacturingContracts()\n");
@@ -501,6 +607,86 @@ public final class TestSuite
          failedTests.append("   localized prices\n");
       }
 
+      // test publishing pricing settings
+      if (testUnitPricingContext())
+         TEST_OUTPUT.println("test passed - testUnitPricingContext()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitPricingContext()\n");
+         failedTests.append("   PricingContext\n");
+      }
+
+      // test saving prices unaffected by supply and demand
+      if (testUnitPriceCurve())
+         TEST_OUTPUT.println("test passed - testUnitPriceCurve()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitPriceCurve()\n");
+         failedTests.append("   PriceCurve\n");
+      }
+
+      // test notifying wares of their components' price changes
+      if (testUnitLinkedPriceDependents())
+         TEST_OUTPUT.println("test passed - testUnitLinkedPriceDependents()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitLinkedPriceDependents()\n");
+         failedTests.append("   linked price dependents\n");
+      }
+
+      // test maintaining statistics for current prices
+      if (testUnitPriceStatistics())
+         TEST_OUTPUT.println("test passed - testUnitPriceStatistics()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitPriceStatistics()\n");
+         failedTests.append("   price statistics\n");
+      }
+
+      // test pricing wares using different curves
+      if (testUnitPriceModels())
+         TEST_OUTPUT.println("test passed - testUnitPriceModels()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitPriceModels()\n");
+         failedTests.append("   price models\n");
+      }
+
+      // test pricing many wares at once
+      if (testUnitBatchPricing())
+         TEST_OUTPUT.println("test passed - testUnitBatchPricing()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitBatchPricing()\n");
+         failedTests.append("   batch pricing\n");
+      }
+
+      // test preventing threads from simultaneously adjusting wares
+      if (testUnitMarketMutex())
+         TEST_OUTPUT.println("test passed - testUnitMarketMutex()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitMarketMutex()\n");
+         failedTests.append("   Marketplace's mutex\n");
+      }
+
+      // test trading without holding the marketplace's mutex
+      if (testUnitLockFreeTrading())
+         TEST_OUTPUT.println("test passed - testUnitLockFreeTrading()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitLockFreeTrading()\n");
+         failedTests.append("   lock-free trading\n");
+      }
+
+      // test making changes to wares on a single market thread
+      if (testUnitMarketEventLoop())
+         TEST_OUTPUT.println("test passed - testUnitMarketEventLoop()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitMarketEventLoop()\n");
+         failedTests.append("   market event loop\n");
+      }
+
+      // test tracking linked wares' quantities as components change
+      if (testUnitLinkedQuantity())
+         TEST_OUTPUT.println("test passed - testUnitLinkedQuantity()\n");
+      else {
+         TEST_OUTPUT.println("test failed - testUnitLinkedQuantity()\n");
+         failedTests.append("   linked wares' quantities\n");
+      }
+
       // teardown testing environment
       // restore file names
       Config.filenameWares     = "config" + File.separator + "CommandEconomy" + File.separator + "wares.txt";
@@ -747,16 +933,26 @@ public final class TestSuite
     * </table>
     */
    private static void resetTestEnvironment() {
+      // finish writing any save files before changing what is saved
+      SnapshotWriter.awaitWrites();
+
       // clear everything
       wares.clear();
-      waresLoadOrder.clear();
+      Marketplace.clearLoadOrder();
       waresErrored.clear();
       waresChangedSinceLastSave.clear();
-      wareEntries.clear();
       wareAliasTranslations.clear();
       alternateAliasEntries.setLength(0);
       accounts.clear();
       defaultAccounts.clear();
+      Config.moneyFixedPoint = false;
+      Account.setFixedPointMoney(false);
+      Config.waresJournalSync = "off";
+      Config.binarySnapshots  = false;
+      Config.accountShards    = 0;
+      Autosaver.end();
+      WareJournal.end();
+      TransactionLedger.end();
       UserInterfaceTerminal.inventory.clear();
       UserInterfaceTerminal.inventoryNorth.clear();
       UserInterfaceTerminal.inventoryEast.clear();
@@ -782,6 +978,7 @@ public final class TestSuite
       Config.priceFloorAdjusted   = 1.0f;
       Config.priceCeiling         = 2.0f;
       Config.priceCeilingAdjusted = -1.0f;
+      Config.priceModels          = new String[]{"linear", "linear", "linear", "linear", "linear", "linear"};
 
       Config.researchCostPerHierarchyLevel = 3500.0f;
       Config.researchCostIsAMultOfAvgPrice = false;
@@ -820,39 +1017,17 @@ public final class TestSuite
       wares.put("test:crafted3", new WareCrafted(new String[]{"minecraft:material4"}, "test:crafted3", "", 32, 4, (byte) 3));
 
       // update load order
-      StringBuilder json = new StringBuilder(wares.get("test:material1").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:material1", json);
-      json = new StringBuilder(wares.get("test:material2").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:material2", json);
-      json = new StringBuilder(wares.get("test:material3").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:material3", json);
-      json = new StringBuilder(wares.get("minecraft:material4").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("minecraft:material4", json);
-      json = new StringBuilder(wares.get("test:untradeable1").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:untradeable1", json);
-      json = new StringBuilder(wares.get("test:processed1").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:processed1", json);
-      json = new StringBuilder(wares.get("test:processed2").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:processed2", json);
-      json = new StringBuilder(wares.get("test:processed3").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:processed3", json);
-      json = new StringBuilder(wares.get("test:crafted1").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:crafted1", json);
-      json = new StringBuilder(wares.get("test:crafted2").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:crafted2", json);
-      json = new StringBuilder(wares.get("test:crafted3").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:crafted3", json);
+      Marketplace.addToLoadOrder("test:material1");
+      Marketplace.addToLoadOrder("test:material2");
+      Marketplace.addToLoadOrder("test:material3");
+      Marketplace.addToLoadOrder("minecraft:material4");
+      Marketplace.addToLoadOrder("test:untradeable1");
+      Marketplace.addToLoadOrder("test:processed1");
+      Marketplace.addToLoadOrder("test:processed2");
+      Marketplace.addToLoadOrder("test:processed3");
+      Marketplace.addToLoadOrder("test:crafted1");
+      Marketplace.addToLoadOrder("test:crafted2");
+      Marketplace.addToLoadOrder("test:crafted3");
 
       // alternate aliases
       alternateAliasEntries.append("4,#testName,test:ware,test:material2,test:material1\n" +
@@ -960,6 +1135,9 @@ public final class TestSuite
          TEST_OUTPUT.println("could not set Marketplace statistics");
          e.printStackTrace();
       }
+
+      // price wares using the test environment's settings
+      PricingContext.publish();
    }
 
    /**
@@ -6084,6 +6262,7 @@ public final class TestSuite
 
          TEST_OUTPUT.println("default accounts - loading, entry with nonexistent account");
          // write to accounts file
+         SnapshotWriter.awaitWrites(); // don't let a queued save overwrite the test file
          FileWriter fileWriter = new FileWriter(Config.filenameAccounts);
          fileWriter.write(
             "// warning: this file may be cleared and overwritten by the program\n\n" +
@@ -6535,6 +6714,7 @@ public final class TestSuite
 
          TEST_OUTPUT.println("getPrice() - purchase with buying upcharge");
          Config.priceBuyUpchargeMult = 2.0f;
+         PricingContext.publish();
          currentPrice = Marketplace.getPrice(PLAYER_ID, testWare1, 0, Marketplace.PriceType.CURRENT_BUY);
          if (currentPrice != 2.0f) {
             TEST_OUTPUT.println("   incorrect price (test:material1): " + currentPrice + ", should be 2.0");
@@ -6632,6 +6812,7 @@ public final class TestSuite
          fStartQuanBaseMedian.setFloat(null, 87);
 
          Config.priceSpread = 2.0f;
+         PricingContext.publish();
          TEST_OUTPUT.println("getPrice() - using high spread with inexpensive ware");
          currentPrice = Marketplace.getPrice(PLAYER_ID, testWare3, 0, Marketplace.PriceType.CURRENT_SELL);
          if (currentPrice != 0.0f) {
@@ -6647,6 +6828,7 @@ public final class TestSuite
          }
 
          Config.priceSpread = 1.5f;
+         PricingContext.publish();
          TEST_OUTPUT.println("getPrice() - using fairly high spread with inexpensive ware");
          currentPrice = Marketplace.getPrice(PLAYER_ID, testWare3, 0, Marketplace.PriceType.CURRENT_SELL);
          if (currentPrice != 2.0f) {
@@ -6662,6 +6844,7 @@ public final class TestSuite
          }
 
          Config.priceSpread = 0.75f;
+         PricingContext.publish();
          TEST_OUTPUT.println("getPrice() - using fairly low spread with inexpensive ware");
          currentPrice = Marketplace.getPrice(PLAYER_ID, testWare3, 0, Marketplace.PriceType.CURRENT_SELL);
          if (currentPrice != 5.0f) {
@@ -6677,6 +6860,7 @@ public final class TestSuite
          }
 
          Config.priceSpread = 0.5f;
+         PricingContext.publish();
          TEST_OUTPUT.println("getPrice() - using low spread with inexpensive ware");
          currentPrice = Marketplace.getPrice(PLAYER_ID, testWare3, 0, Marketplace.PriceType.CURRENT_SELL);
          if (currentPrice != 6.0f) {
@@ -6692,6 +6876,7 @@ public final class TestSuite
          }
 
          Config.priceSpread = 0.0f;
+         PricingContext.publish();
          TEST_OUTPUT.println("getPrice() - using zero spread with inexpensive ware");
          currentPrice = Marketplace.getPrice(PLAYER_ID, testWare3, 0, Marketplace.PriceType.CURRENT_SELL);
          if (currentPrice != 8.0f) {
@@ -6710,6 +6895,7 @@ public final class TestSuite
          Config.priceSpread        =  1.0f;
          Config.priceFloor         = -1.0f;
          Config.priceFloorAdjusted =  2.0f;
+         PricingContext.publish();
          double quanCeilingFromEquilibrium = Config.quanExcessive[testWare1.getLevel()] - Config.quanEquilibrium[testWare1.getLevel()];
 
          TEST_OUTPUT.println("getPrice() - negative prices, at -100% cost");
@@ -6881,6 +7067,7 @@ public final class TestSuite
                                    1.0f, 0, false);
 
          Config.priceBuyUpchargeMult = 2.0f;
+         PricingContext.publish();
          TEST_OUTPUT.println("check() - using valid ware ID without alias and with buying upcharge");
          errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareP2, 1, null,
                                    1.0f, 0, false);
@@ -6897,6 +7084,7 @@ public final class TestSuite
          errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare4, 10, null,
                                    1.0f, 0, false);
          Config.priceBuyUpchargeMult = 1.0f;
+         PricingContext.publish();
 
          TEST_OUTPUT.println("check() - using negative quantity");
          errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare4, -1, null,
@@ -6942,6 +7130,7 @@ public final class TestSuite
          resetTestEnvironment();
          Config.priceFloor         = -1.0f;
          Config.priceFloorAdjusted =  2.0f;
+         PricingContext.publish();
          float quanCeilingFromEquilibrium = Config.quanExcessive[testWare1.getLevel()] - Config.quanEquilibrium[testWare1.getLevel()];
 
          TEST_OUTPUT.println("check() - negative prices, at -100% cost");
@@ -7185,6 +7374,7 @@ public final class TestSuite
 
          TEST_OUTPUT.println("buy() - over-ordering, (quad4 to quad4) overstocked to overstocked");
          Config.priceFloor = 0.1f;
+         PricingContext.publish();
          errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", null, null, 10.0f,
                                    Config.quanExcessive[testWare1.getLevel()] * 2, 100, 200, 0, false, true, false);
 
@@ -7203,6 +7393,7 @@ public final class TestSuite
          errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", null, "10.0", Marketplace.getPrice(PLAYER_ID, testWare1, 934, Marketplace.PriceType.CURRENT_BUY) + testWare1.getBasePrice() / 2,
                                    Config.quanExcessive[testWare1.getLevel()] + 10, 934, 999, 0, false, true, false);
          Config.priceFloor = 0.0f;
+         PricingContext.publish();
 
          TEST_OUTPUT.println("buy() - over-ordering, (quad3 to quad3), above equilibrium to above equilibrium");
          errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", null, null, 10.0f,
@@ -7577,6 +7768,7 @@ public final class TestSuite
          resetTestEnvironment();
          Config.priceFloor         = -1.0f;
          Config.priceFloorAdjusted =  2.0f;
+         PricingContext.publish();
          float quanCeilingFromEquilibrium = Config.quanExcessive[testWare1.getLevel()] - Config.quanEquilibrium[testWare1.getLevel()];
 
          TEST_OUTPUT.println("buy() - negative prices, at -100% cost");
@@ -7606,6 +7798,7 @@ public final class TestSuite
          resetTestEnvironment();
          Config.priceFloor         = -1.0f;
          Config.priceFloorAdjusted =  2.0f;
+         PricingContext.publish();
 
          quantityToTrade = 777;
          quantityWare    = Config.quanExcessive[testWare1.getLevel()];
@@ -7958,6 +8151,7 @@ public final class TestSuite
          // prepare for next tests
          Config.priceFloor         = -1.0f;
          Config.priceFloorAdjusted =  2.0f;
+         PricingContext.publish();
          float quanCeilingFromEquilibrium = Config.quanExcessive[testWare1.getLevel()] - Config.quanEquilibrium[testWare1.getLevel()];
 
          TEST_OUTPUT.println("sell() - negative prices, at -100% cost");
@@ -8022,6 +8216,7 @@ public final class TestSuite
          // prepare for next tests
          Config.priceFloor         = 0.0f;
          Config.priceFloorAdjusted = 1.0f;
+         PricingContext.publish();
 
          TEST_OUTPUT.println("sell() - acceptable price, (quad1 to quad1), understocked to understocked");
          errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, null, "2.0", Float.NaN,
@@ -8267,6 +8462,7 @@ public final class TestSuite
          resetTestEnvironment();
          Config.priceFloor         = -1.0f;
          Config.priceFloorAdjusted =  2.0f;
+         PricingContext.publish();
          float quanCeilingFromEquilibrium1 = Config.quanExcessive[testWare1.getLevel()] - Config.quanEquilibrium[testWare1.getLevel()];
          float quanCeilingFromEquilibrium2 = Config.quanExcessive[testWareP1.getLevel()] - Config.quanEquilibrium[testWareP1.getLevel()];
 
@@ -8431,15 +8627,11 @@ public final class TestSuite
       // numerical IDs (such as 1.7.10's IDs)
       wares.put("17", new WareMaterial("17", "wood", 0.5f, 256, (byte) 0));
       wareAliasTranslations.put("wood", "17");
-      StringBuilder json = new StringBuilder(wares.get("17").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("17", json);
+      Marketplace.addToLoadOrder("17");
       waresChangedSinceLastSave.add("17");
       wares.put("58", new WareCrafted(new String[]{"17"}, "58", "crafting_table", 256, 1, (byte) 0));
       wareAliasTranslations.put("crafting_table", "58");
-      json = new StringBuilder(wares.get("58").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("58", json);
+      Marketplace.addToLoadOrder("58");
 
       // prepare to check wares
       Ware testWare; // holds ware currently being checked
@@ -8666,10 +8858,7 @@ public final class TestSuite
       TEST_OUTPUT.println("testUnitWareIO() - saving after removing a ware and creating new ones");
 
       // remove known ware
-      json = wareEntries.get("test:material2");
-      waresLoadOrder.remove(json);
       wares.remove("test:material2");
-      wareEntries.remove("test:material2");
       waresChangedSinceLastSave.remove("test:material2");
 
       // create new wares
@@ -8679,16 +8868,10 @@ public final class TestSuite
       wares.put("test:untradeable2", new WareUntradeable(new String[]{"test:material1", "test:material1", "test:untradeable1"}, "test:untradeable2", "notrade2", 2));
       wareAliasTranslations.put("notrade2", "test:untradeable2");
 
-      json = new StringBuilder(wares.get("test:newWare1").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:newWare1", json);
+      Marketplace.addToLoadOrder("test:newWare1");
       waresChangedSinceLastSave.add("test:newWare1");
-      json = new StringBuilder(wares.get("test:newWare2").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:newWare2", json);
-      json = new StringBuilder(wares.get("test:untradeable2").toJSON()).append('\n');
-      waresLoadOrder.add(json);
-      wareEntries.put("test:untradeable2", json);
+      Marketplace.addToLoadOrder("test:newWare2");
+      Marketplace.addToLoadOrder("test:untradeable2");
 
       if (wares.size() != 15)
          TEST_OUTPUT.println("   warning: total number of wares is expected to be 15, but is " + wares.size());
@@ -8879,316 +9062,787 @@ public final class TestSuite
    }
 
    /**
-    * Tests Account.saveAccounts() and Account.loadAccounts().
+    * Tests recording changes to wares' quantities within the journal,
+    * replaying them after reloading, and discarding them after saving.
     *
-    * @return whether Account.saveAccounts() and Account.loadAccounts() passed all test cases
+    * @return whether the ware journal passed all test cases
     */
-   private static boolean testUnitAccountIO() {
+   private static boolean testUnitWareJournal() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
+      Config.filenameWaresSave = "config" + File.separator + "CommandEconomy" + File.separator + "testWaresSaved.txt"; // save wares to test file, don't overwrite any existing save
+      deleteJournalSegments();
 
-      // make accounts start with some money
-      Config.accountStartingMoney = 10.0f;
-
-      // test handling missing file
-      TEST_OUTPUT.println("testUnitAccountIO() - handling of missing file");
-      Config.filenameAccounts = "no file here";
-      baosOut.reset(); // clear buffer holding console output
-      int numAccounts = accounts.size();
-      try {
-         Account.loadAccounts();
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("   Account.loadAccounts() should not throw any exception, but it did\n   was testing for handling missing file");
-         e.printStackTrace();
-         return false;
-      }
-
-      // check handling of missing file
-      File fileAccounts = new File(Config.filenameAccounts);
-      // check local file
-      if (fileAccounts.exists()){
-         errorFound = true;
-         TEST_OUTPUT.println("   \"no file here\" file should not exist in local/world directory");
-      }
-      // check global file
-      fileAccounts = new File("config" + File.separator + Config.filenameAccounts);
-      if (fileAccounts.exists()){
-         errorFound = true;
-         TEST_OUTPUT.println("   \"no file here\" file should not exist in global/config directory");
-      }
-      if (numAccounts != accounts.size()) {
-         TEST_OUTPUT.println("   unexpected number of accounts: " + accounts.size() + ", should be " + numAccounts);
-         errorFound = true;
-      }
-      Config.filenameAccounts = "config" + File.separator + "CommandEconomy" + File.separator + "testAccounts.txt";
-
-      TEST_OUTPUT.println("testUnitAccountIO() - saving to file");
-      // try to save to the test file
-      try {
-         Account.saveAccounts();
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("   Account.saveAccounts() should not throw any exception, but it did\n   was saving test accounts");
-         e.printStackTrace();
-         return false;
-      }
-
-      TEST_OUTPUT.println("testUnitAccountIO() - loading from file");
-      // try to load the test file
-      try {
-         Account.loadAccounts();
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("testUnitAccountIO() - Account.loadAccounts() should not throw any exception, but it did\n   was loading test accounts");
-         e.printStackTrace();
-         return false;
-      }
+      final HashMap<String, Long>    LEDGER_FUNDS      = new HashMap<String, Long>();
+      final HashMap<String, Integer> LEDGER_QUANTITIES = new HashMap<String, Integer>();
+      Ware testWare;
+      int  quantityExpected;
 
-      // check whether accounts match known values they were set to
       try {
-         // test properties
-         testAccount1  = accounts.get("testAccount1");
-         if (testAccountFields(testAccount1, 10.0f, UserInterfaceTerminal.playername)) {
+         TEST_OUTPUT.println("WareJournal - disabled by default");
+         Config.waresJournalSync = "off";
+         WareJournal.startOrReconfig();
+         waresChangedSinceLastSave.addAll(wares.keySet()); // overwrite any previous test's save file
+         Marketplace.saveWares();
+         Marketplace.loadWares();
+         wares.get("test:material1").addQuantity(1);
+         if (WareJournal.isEnabled() || listJournalSegments().length != 0) {
+            TEST_OUTPUT.println("   journal should not record changes when disabled");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount1 had unexpected values");
          }
-         // test permissions
-         if (testAccount1.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+
+         TEST_OUTPUT.println("WareJournal - recording changes");
+         Config.waresJournalSync = "always";
+         WareJournal.startOrReconfig();
+         Marketplace.saveWares();
+         Marketplace.loadWares();
+         if (!WareJournal.isEnabled() || listJournalSegments().length == 0) {
+            TEST_OUTPUT.println("   journal should have started a segment after loading wares");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount1 allows access to an arbitrary player ID when it shouldn't");
          }
+         testWare         = wares.get("test:material1");
+         quantityExpected = testWare.getQuantity() + 7;
+         testWare.addQuantity(5);
+         testWare.subtractQuantity(2);
+         testWare.compareAndSetQuantity(quantityExpected - 4, quantityExpected);
+         testWare.compareAndSetQuantity(-1, 0); // should fail without being recorded
+         wares.get("test:material2").setQuantity(3);
 
-         // test properties
-         testAccount2  = accounts.get("testAccount2");
-         if (testAccountFields(testAccount2, 20.0f, UserInterfaceTerminal.playername)) {
+         TEST_OUTPUT.println("WareJournal - replaying changes after reloading without saving");
+         Marketplace.loadWares();
+         if (wares.get("test:material1").getQuantity() != quantityExpected) {
+            TEST_OUTPUT.println("   unexpected quantity for test:material1: " + wares.get("test:material1").getQuantity() + ", should be " + quantityExpected);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount2 had unexpected values");
          }
-         // test permissions
-         if (testAccount2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+         if (wares.get("test:material2").getQuantity() != 3) {
+            TEST_OUTPUT.println("   unexpected quantity for test:material2: " + wares.get("test:material2").getQuantity() + ", should be 3");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount2 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         // test properties
-         testAccount3  = accounts.get("testAccount3");
-         if (testAccountFields(testAccount3, 30.0f, "possibleID")) {
+         TEST_OUTPUT.println("WareJournal - compacting into the save file");
+         Marketplace.saveWares();
+         SnapshotWriter.awaitWrites();
+         if (listJournalSegments().length != 1) {
+            TEST_OUTPUT.println("   saving should have discarded all segments except the current one, segments: " + listJournalSegments().length);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount3 had unexpected values");
          }
-         // test permissions
-         if (testAccount3.hasAccess(PLAYER_ID)) {
+         Marketplace.loadWares();
+         if (wares.get("test:material1").getQuantity() != quantityExpected) {
+            TEST_OUTPUT.println("   unexpected quantity for test:material1 after saving: " + wares.get("test:material1").getQuantity() + ", should be " + quantityExpected);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("WareJournal - ignoring incomplete records");
+         wares.get("test:material1").addQuantity(1);
+         quantityExpected++;
+         Config.waresJournalSync = "periodic";
+         WareJournal.startOrReconfig();
+         wares.get("test:material1").addQuantity(1);
+         quantityExpected++;
+         WareJournal.end(); // writes buffered records
+         File[] segments = listJournalSegments();
+         FileWriter fileWriter = new FileWriter(segments[segments.length - 1], true);
+         fileWriter.write(2); // start of a quantity change record
+         fileWriter.close();
+         Config.waresJournalSync = "never";
+         WareJournal.startOrReconfig();
+         Marketplace.loadWares();
+         if (wares.get("test:material1").getQuantity() != quantityExpected) {
+            TEST_OUTPUT.println("   unexpected quantity for test:material1 after a partial record: " + wares.get("test:material1").getQuantity() + ", should be " + quantityExpected);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount3 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
          }
 
-         Account testAccount4  = accounts.get("testAccount4");
-         // test properties
-         if (testAccount4.getMoney() != 6.0f) {
+         TEST_OUTPUT.println("WareJournal - replaying without recording changes again");
+         for (File file : TransactionLedger.listFiles())
+            file.delete();
+         Config.transactionLedger = true;
+         TransactionLedger.startOrReconfig();
+         wares.get("test:material1").addQuantity(4);
+         quantityExpected += 4;
+         Marketplace.loadWares(); // replays every segment, including earlier changes
+         Marketplace.loadWares();
+         TransactionLedger.rebuild(LEDGER_FUNDS, LEDGER_QUANTITIES);
+         if (wares.get("test:material1").getQuantity() != quantityExpected) {
+            TEST_OUTPUT.println("   unexpected quantity for test:material1 after replaying twice: " + wares.get("test:material1").getQuantity() + ", should be " + quantityExpected);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount4's money should be 6.0f, is " + testAccount4.getMoney());
          }
-         // test permissions
-         if (testAccount4.hasAccess(PLAYER_ID)) {
+         if (LEDGER_QUANTITIES.get("test:material1") == null || LEDGER_QUANTITIES.get("test:material1") != quantityExpected) {
+            TEST_OUTPUT.println("   unexpected quantity within the transaction ledger: " + LEDGER_QUANTITIES.get("test:material1") + ", should be " + quantityExpected);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount4 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
          }
-         if (testAccount4.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+
+         TransactionLedger.end();
+         for (File file : TransactionLedger.listFiles())
+            file.delete();
+         WareJournal.end();
+         deleteJournalSegments();
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         TransactionLedger.end();
+         for (File file : TransactionLedger.listFiles())
+            file.delete();
+         WareJournal.end();
+         deleteJournalSegments();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("WareJournal - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+
+      return !errorFound;
+   }
+
+   /**
+    * Tests saving wares and accounts by capturing their states,
+    * then writing them on the saving thread.
+    *
+    * @return whether saving captured states passed all test cases
+    */
+   private static boolean testUnitSnapshotSaving() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.filenameWaresSave = "config" + File.separator + "CommandEconomy" + File.separator + "testWaresSaved.txt"; // save wares to test file, don't overwrite any existing save
+      Config.filenameAccounts  = "config" + File.separator + "CommandEconomy" + File.separator + "testAccounts.txt";
+
+      Ware    testWare;
+      Account testAccount;
+      int     quantitySaved;
+      float   moneySaved;
+
+      try {
+         TEST_OUTPUT.println("SnapshotWriter - saving captured quantities");
+         testWare      = wares.get("test:material1");
+         quantitySaved = testWare.getQuantity() + 11;
+         testWare.setQuantity(quantitySaved);
+         waresChangedSinceLastSave.addAll(wares.keySet());
+         Marketplace.saveWares();
+         testWare.setQuantity(quantitySaved + 5); // changes after capturing should not be saved
+         if (Marketplace.getSaveCaptureTime() <= 0) {
+            TEST_OUTPUT.println("   capturing wares should have been timed");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount4 allows access to an arbitrary player ID when it shouldn't");
          }
-
-         // test properties
-         playerAccount  = accounts.get(UserInterfaceTerminal.playername);
-         if (testAccountFields(playerAccount, 30.0f, UserInterfaceTerminal.playername)) {
+         Marketplace.loadWares();
+         if (wares.get("test:material1").getQuantity() != quantitySaved) {
+            TEST_OUTPUT.println("   unexpected quantity for test:material1: " + wares.get("test:material1").getQuantity() + ", should be " + quantitySaved);
             errorFound = true;
-            TEST_OUTPUT.println("   playerAccount had unexpected values");
          }
-         // test permissions
-         if (playerAccount.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+         if (new File(Config.filenameWaresSave + SnapshotWriter.TEMP_SUFFIX).exists()) {
+            TEST_OUTPUT.println("   temporary wares file should have replaced the save file");
             errorFound = true;
-            TEST_OUTPUT.println("   playerAccount allows access to an arbitrary player ID when it shouldn't");
          }
 
-         // test properties
-         adminAccount  = accounts.get("$admin$");
-         if (testAccountFields(adminAccount, Float.POSITIVE_INFINITY, "$admin$")) {
+         TEST_OUTPUT.println("SnapshotWriter - saving captured funds");
+         testAccount = accounts.get("testAccount1");
+         moneySaved  = testAccount.getMoney() + 7.0f;
+         testAccount.setMoney(moneySaved);
+         Account.saveAccounts();
+         testAccount.setMoney(moneySaved + 3.0f); // changes after capturing should not be saved
+         if (Account.getSaveCaptureTime() <= 0) {
+            TEST_OUTPUT.println("   capturing accounts should have been timed");
             errorFound = true;
-            TEST_OUTPUT.println("   adminAccount had unexpected values");
          }
-         // test permissions
-         if (adminAccount.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") == null || accounts.get("testAccount1").getMoney() != moneySaved) {
+            TEST_OUTPUT.println("   unexpected funds for testAccount1: " + (accounts.get("testAccount1") == null ? "missing" : accounts.get("testAccount1").getMoney()) + ", should be " + moneySaved);
+            errorFound = true;
+         }
+         if (new File(Config.filenameAccounts + SnapshotWriter.TEMP_SUFFIX).exists()) {
+            TEST_OUTPUT.println("   temporary accounts file should have replaced the save file");
             errorFound = true;
-            TEST_OUTPUT.println("   playerAccount allows access to an arbitrary player ID when it shouldn't");
          }
 
-         if (accounts.size() != 6)
-            TEST_OUTPUT.println("   warning: total number of accounts is expected to be 6, but is " + accounts.size());
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("   fatal error while checking accounts: " + e);
+         resetTestEnvironment();
+         TEST_OUTPUT.println("SnapshotWriter - fatal error: " + e);
+         e.printStackTrace();
          return false;
       }
 
-      TEST_OUTPUT.println("testUnitAccountIO() - saving and loading after removing an account and creating new ones");
-
-      // remove known account
-      accounts.remove("testAccount3");
+      return !errorFound;
+   }
 
-      // create new accounts
-      Account.makeAccount("arbitraryAccountID", UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID"));
-      Account.makeAccount("arbitraryID", UserInterfaceTerminal.getPlayerIDStatic("arbitraryID"), 42.0f);
+   /**
+    * Tests writing wares and accounts as binary snapshots
+    * and loading snapshots instead of text save files.
+    *
+    * @return whether binary snapshots passed all test cases
+    */
+   private static boolean testUnitBinarySnapshots() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-      // give multiple users access to one of the accounts
-      Account testAccountNew2 = accounts.get("arbitraryID");
-      testAccountNew2.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID1"), null);
-      testAccountNew2.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID2"), null);
-      testAccountNew2.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID3"), null);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.filenameWaresSave = "config" + File.separator + "CommandEconomy" + File.separator + "testWaresSaved.txt"; // save wares to test file, don't overwrite any existing save
+      Config.filenameAccounts  = "config" + File.separator + "CommandEconomy" + File.separator + "testAccounts.txt";
+      final File FILE_WARES             = new File(Config.filenameWaresSave);
+      final File FILE_ACCOUNTS          = new File(Config.filenameAccounts);
+      final File FILE_WARES_SNAPSHOT    = new File(Config.filenameWaresSave + BinarySnapshot.FILE_SUFFIX);
+      final File FILE_ACCOUNTS_SNAPSHOT = new File(Config.filenameAccounts + BinarySnapshot.FILE_SUFFIX);
+      FILE_WARES_SNAPSHOT.delete();
+      FILE_ACCOUNTS_SNAPSHOT.delete();
+
+      HashMap<String, String> waresExpected = new HashMap<String, String>();
+      FileWriter fileWriter;
+      Ware       testWare;
 
-      if (accounts.size() != 7)
-         TEST_OUTPUT.println("   warning: total number of accounts is expected to be 7, but is " + accounts.size());
-
-      // try to save to the test file
       try {
+         TEST_OUTPUT.println("binary snapshots - writing snapshots");
+         Config.binarySnapshots = true;
+         wares.put("test:linked1", new WareLinked(new String[]{"test:material1", "test:material3"}, new int[]{2, 1}, "test:linked1", "linked1", 1));
+         wareAliasTranslations.put("linked1", "test:linked1");
+         Marketplace.addToLoadOrder("test:linked1");
+         wares.get("test:material1").setQuantity(77);
+         waresChangedSinceLastSave.addAll(wares.keySet());
+         Marketplace.saveWares();
          Account.saveAccounts();
+         SnapshotWriter.awaitWrites();
+         if (!FILE_WARES_SNAPSHOT.isFile() || !FILE_ACCOUNTS_SNAPSHOT.isFile()) {
+            TEST_OUTPUT.println("   snapshots should have been written beside the save files");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("binary snapshots - loading the same wares as the save file");
+         // record wares as loaded from text
+         Config.binarySnapshots = false;
+         Marketplace.loadWares();
+         for (Ware ware : wares.values())
+            waresExpected.put(ware.getWareID(), ware.toJSON());
+
+         // empty the save file so only the snapshot holds wares
+         fileWriter = new FileWriter(FILE_WARES);
+         fileWriter.write(StringTable.WARN_FILE_OVERWRITE);
+         fileWriter.close();
+         FILE_WARES.setLastModified(FILE_WARES_SNAPSHOT.lastModified() - 60000);
+         Config.binarySnapshots = true;
+         Marketplace.loadWares();
+         if (wares.size() != waresExpected.size()) {
+            TEST_OUTPUT.println("   unexpected number of wares: " + wares.size() + ", should be " + waresExpected.size());
+            errorFound = true;
+         }
+         for (Map.Entry<String, String> entry : waresExpected.entrySet()) {
+            testWare = wares.get(entry.getKey());
+            if (testWare == null || !testWare.toJSON().equals(entry.getValue())) {
+               TEST_OUTPUT.println("   unexpected ware: " + (testWare == null ? "missing" : testWare.toJSON()) + ", should be " + entry.getValue());
+               errorFound = true;
+            }
+         }
+         if (Marketplace.translateAndGrab("linked1") == null || Marketplace.translateAndGrab("testAlternateAlias") == null) {
+            TEST_OUTPUT.println("   aliases should have been loaded");
+            errorFound = true;
+         }
+         if (wares.get("test:crafted2") != null && Float.isNaN(wares.get("test:crafted2").getBasePrice())) {
+            TEST_OUTPUT.println("   components should have been loaded");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("binary snapshots - loading accounts");
+         fileWriter = new FileWriter(FILE_ACCOUNTS);
+         fileWriter.write(StringTable.WARN_FILE_OVERWRITE);
+         fileWriter.close();
+         FILE_ACCOUNTS.setLastModified(FILE_ACCOUNTS_SNAPSHOT.lastModified() - 60000);
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") == null || accounts.get("testAccount1").getMoney() != 10.0f ||
+             !accounts.get("testAccount1").hasAccess(PLAYER_ID)) {
+            TEST_OUTPUT.println("   testAccount1 should have been loaded with its funds and permitted player");
+            errorFound = true;
+         }
+         if (accounts.get("testAccount4") == null || accounts.get("testAccount4").getMoney() != 6.0f ||
+             accounts.get("testAccount4").hasAccess(PLAYER_ID)) {
+            TEST_OUTPUT.println("   testAccount4 should have been loaded without permitted players");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("binary snapshots - ignoring outdated snapshots");
+         FILE_ACCOUNTS.setLastModified(FILE_ACCOUNTS_SNAPSHOT.lastModified() + 60000);
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") != null) {
+            TEST_OUTPUT.println("   a newer save file should have been loaded instead of its snapshot");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("binary snapshots - ignoring invalid snapshots");
+         fileWriter = new FileWriter(FILE_ACCOUNTS_SNAPSHOT);
+         fileWriter.write("not a snapshot");
+         fileWriter.close();
+         FILE_ACCOUNTS.setLastModified(FILE_ACCOUNTS_SNAPSHOT.lastModified() - 60000);
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") != null || accounts.get("$admin$") == null) {
+            TEST_OUTPUT.println("   the save file should have been loaded instead of an invalid snapshot");
+            errorFound = true;
+         }
+
+         FILE_WARES_SNAPSHOT.delete();
+         FILE_ACCOUNTS_SNAPSHOT.delete();
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("   Account.saveAccounts() should not throw any exception, but it did\n   was saving changed test accounts");
+         FILE_WARES_SNAPSHOT.delete();
+         FILE_ACCOUNTS_SNAPSHOT.delete();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("binary snapshots - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
 
-      TEST_OUTPUT.println("testUnitAccountIO() - loading from file");
-      // try to load the test file
+      return !errorFound;
+   }
+
+   /**
+    * Tests reading and writing wares' JSON entries.
+    *
+    * @return whether WareCodec passed all test cases
+    */
+   private static boolean testUnitWareCodec() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+
+      // entries as they were written when wares were reflected upon
+      final String[] ENTRIES = new String[]{
+         "{\"wareID\":\"test:m\\\"1&x\\u2028\\u0001<>\",\"priceBase\":1.1,\"quantity\":5,\"level\":2,\"type\":\"material\"}",
+         "{\"wareID\":\"test:m2\",\"alias\":\"al\",\"quantity\":-1,\"level\":0,\"type\":\"material\"}",
+         "{\"wareID\":\"test:u1\",\"priceBase\":16.0,\"type\":\"untradeable\"}",
+         "{\"componentsIDs\":[\"a\",null,\"b\"],\"wareID\":\"test:u2\",\"yield\":2,\"type\":\"untradeable\"}",
+         "{\"componentsIDs\":[\"a\"],\"wareID\":\"test:p\",\"quantity\":-1,\"yield\":1,\"level\":4,\"type\":\"processed\"}",
+         "{\"componentsIDs\":[\"a\",\"b\"],\"wareID\":\"test:c\",\"quantity\":5,\"yield\":1,\"level\":1,\"type\":\"crafted\"}",
+         "{\"componentsAmounts\":[4],\"remainder\":2,\"componentsIDs\":[\"a\"],\"wareID\":\"test:l\",\"yield\":3,\"type\":\"linked\"}"
+      };
+      Ware testWare;
+
       try {
-         Account.loadAccounts();
+         TEST_OUTPUT.println("WareCodec - writing entries as before");
+         for (String entry : ENTRIES) {
+            testWare = Ware.fromJSON(entry);
+            if (testWare == null || !testWare.toJSON().equals(entry)) {
+               TEST_OUTPUT.println("   unexpected entry: " + (testWare == null ? "null" : testWare.toJSON()) + ", should be " + entry);
+               errorFound = true;
+            }
+         }
+         testWare = Ware.fromJSON(ENTRIES[1]);
+         if (!testWare.toJSON(77).equals(ENTRIES[1].replace("-1", "77")) || !Float.isNaN(testWare.priceBase)) {
+            TEST_OUTPUT.println("   unexpected entry using a captured quantity: " + testWare.toJSON(77));
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("WareCodec - reading entries leniently");
+         testWare = Ware.fromJSON("{type:material,wareID:'lenient',priceBase:\"2.5\",level:1,quantity:5.5,components:[1]}");
+         if (testWare == null || !testWare.toJSON().equals("{\"wareID\":\"lenient\",\"priceBase\":2.5,\"quantity\":5,\"level\":1,\"type\":\"material\"}")) {
+            TEST_OUTPUT.println("   unexpected ware: " + (testWare == null ? "null" : testWare.toJSON()));
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("WareCodec - rejecting malformed entries");
+         for (String entry : new String[]{"", "[1]", "{\"wareID\":\"x\"}", "{\"type\":\"unknown\",\"wareID\":\"x\"}",
+                                          "{\"type\":\"material\",\"wareID\":\"x\"} trailing", "{\"type\":\"material\",\"level\":300}",
+                                          "{\"type\":\"linked\",\"componentsAmounts\":[1,null]}", "{\"type\":\"material\",\"wareID\":"}) {
+            if (Ware.fromJSON(entry) != null) {
+               TEST_OUTPUT.println("   entry should not have been read: " + entry);
+               errorFound = true;
+            }
+         }
+
+         TEST_OUTPUT.println("WareCodec - reading and writing on several threads");
+         final boolean[] MISMATCHED = new boolean[]{false};
+         IntStream.range(0, 10000).parallel().forEach(i -> {
+            final String ENTRY = ENTRIES[i % ENTRIES.length];
+            final Ware   WARE  = Ware.fromJSON(ENTRY);
+            if (WARE == null || !WARE.toJSON().equals(ENTRY))
+               MISMATCHED[0] = true;
+         });
+         if (MISMATCHED[0]) {
+            TEST_OUTPUT.println("   entries should have been read and written the same way on every thread");
+            errorFound = true;
+         }
+
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("testUnitAccountIO() - Account.loadAccounts() should not throw any exception, but it did\n   was loading changed test accounts");
+         resetTestEnvironment();
+         TEST_OUTPUT.println("WareCodec - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
 
-      // check whether accounts match known values they were set to
+      return !errorFound;
+   }
+
+   /**
+    * Tests loading wares whose entries come before their components' entries.
+    *
+    * @return whether wares are loaded in the expected order with the expected errors
+    */
+   private static boolean testUnitWareLoadOrder() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      final int  MAX_CRAFTING_DEPTH = Config.maxCraftingDepth;
+      final File FILE_WARES         = new File("config" + File.separator + "CommandEconomy" + File.separator + "testWaresOrder.txt");
+      StringBuilder loadOrder = new StringBuilder();
+      StringBuilder errored   = new StringBuilder();
+      FileWriter    fileWriter;
+
       try {
-         // test properties
-         testAccount1  = accounts.get("testAccount1");
-         if (testAccountFields(testAccount1, 10.0f, UserInterfaceTerminal.playername)) {
+         // entries are listed after wares using them,
+         // including through an alias and a variant of an alias
+         fileWriter = new FileWriter(FILE_WARES);
+         fileWriter.write(
+            "{\"type\":\"crafted\",\"wareID\":\"test:chain3\",\"level\":3,\"yield\":1,\"componentsIDs\":[\"test:chain2\"]}\n" +
+            "{\"type\":\"crafted\",\"wareID\":\"test:chain2\",\"level\":2,\"yield\":1,\"componentsIDs\":[\"chain1\"]}\n" +
+            "{\"type\":\"crafted\",\"wareID\":\"test:cycle1\",\"level\":2,\"yield\":1,\"componentsIDs\":[\"test:cycle2\"]}\n" +
+            "{\"type\":\"crafted\",\"wareID\":\"test:cycle2\",\"level\":2,\"yield\":1,\"componentsIDs\":[\"test:cycle1\"]}\n" +
+            "{\"type\":\"crafted\",\"wareID\":\"test:missing\",\"level\":2,\"yield\":1,\"componentsIDs\":[\"test:nonexistent\"]}\n" +
+            "{\"type\":\"crafted\",\"wareID\":\"test:variant\",\"level\":2,\"yield\":1,\"componentsIDs\":[\"chain1&red\"]}\n" +
+            "{\"type\":\"crafted\",\"alias\":\"chain1\",\"wareID\":\"test:chain1\",\"level\":1,\"yield\":1,\"componentsIDs\":[\"test:base\"]}\n" +
+            "{\"type\":\"material\",\"wareID\":\"test:base\",\"priceBase\":2.0,\"level\":0}\n"
+         );
+         fileWriter.close();
+
+         TEST_OUTPUT.println("ware load order - components listed after wares using them");
+         Marketplace.loadWares(FILE_WARES);
+         for (String wareID : Marketplace.getLoadOrder())
+            loadOrder.append(wareID).append(' ');
+         if (!loadOrder.toString().equals("test:base test:chain1 test:chain2 test:variant test:chain3 ")) {
+            TEST_OUTPUT.println("   unexpected load order: " + loadOrder);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount1 had unexpected values");
          }
-         // test permissions
-         if (testAccount1.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+         for (String entry : waresErrored)
+            errored.append(Ware.fromJSON(entry).getWareID()).append(' ');
+         if (!errored.toString().equals("test:cycle1 test:cycle2 test:missing ")) {
+            TEST_OUTPUT.println("   unexpected wares which failed to load: " + errored);
+            errorFound = true;
+         }
+         if (wares.get("test:chain3") == null || wares.get("test:chain3").getBasePrice() <= 0.0f) {
+            TEST_OUTPUT.println("   test:chain3 should have been loaded with its components");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount1 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         // test properties
-         testAccount2  = accounts.get("testAccount2");
-         if (testAccountFields(testAccount2, 20.0f, UserInterfaceTerminal.playername)) {
+         TEST_OUTPUT.println("ware load order - exceeding maximum crafting depth");
+         Config.maxCraftingDepth = 2;
+         Marketplace.loadWares(FILE_WARES);
+         errored.setLength(0);
+         for (String entry : waresErrored)
+            errored.append(Ware.fromJSON(entry).getWareID()).append(' ');
+         if (!errored.toString().equals("test:chain3 test:cycle1 test:cycle2 test:missing ")) {
+            TEST_OUTPUT.println("   unexpected wares which failed to load: " + errored);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount2 had unexpected values");
-            // set up accounts appropriately for other tests
-            testAccount2.setMoney(20.0f);
-            testAccount2.grantAccess(PLAYER_ID, PLAYER_ID, UserInterfaceTerminal.playername);
          }
-         // test permissions
-         if (testAccount2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+         if (wares.get("test:chain2") == null || wares.containsKey("test:chain3")) {
+            TEST_OUTPUT.println("   only wares within the maximum crafting depth should have been loaded");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount2 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         // check whether the deleted account exists
-         if (accounts.containsKey("testAccount3")) {
+         Config.maxCraftingDepth = MAX_CRAFTING_DEPTH;
+         FILE_WARES.delete();
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         Config.maxCraftingDepth = MAX_CRAFTING_DEPTH;
+         FILE_WARES.delete();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("ware load order - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+
+      return !errorFound;
+   }
+
+   /**
+    * Returns journal segments belonging to the wares save file.
+    *
+    * @return segments' files
+    */
+   private static File[] listJournalSegments() {
+      final String PREFIX = new File(Config.filenameWaresSave).getName() + ".";
+      File[] segments = new File(Config.filenameWaresSave).getAbsoluteFile().getParentFile().listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(".journal"));
+      if (segments == null)
+         return new File[0];
+      Arrays.sort(segments);
+      return segments;
+   }
+
+   /**
+    * Deletes journal segments belonging to the wares save file.
+    */
+   private static void deleteJournalSegments() {
+      for (File segment : listJournalSegments())
+         segment.delete();
+   }
+
+   /**
+    * Tests splitting accounts among several files
+    * and only rewriting files holding changed accounts.
+    *
+    * @return whether account shards passed all test cases
+    */
+   private static boolean testUnitAccountShards() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      final File   FILE_ACCOUNTS = new File(Config.filenameAccounts);
+      final String MARKER        = "// unchanged since marked\n";
+      final int    NUM_SHARDS    = 4;
+      final int    SHARD_CHANGED = Math.floorMod("testAccount1".hashCode(), NUM_SHARDS);
+      FileWriter   fileWriter;
+      String       contents;
+
+      try {
+         TEST_OUTPUT.println("account shards - splitting accounts among shards");
+         Config.accountShards = NUM_SHARDS;
+         Account.saveAccounts();
+         SnapshotWriter.awaitWrites();
+         contents = new String(java.nio.file.Files.readAllBytes(FILE_ACCOUNTS.toPath()));
+         if (!contents.contains(StringTable.FILE_HEADER_ACCOUNT_SHARDS + NUM_SHARDS) || contents.contains("testAccount1,")) {
+            TEST_OUTPUT.println("   accounts file should refer to shards rather than hold accounts: " + contents);
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount3 was deleted, but still exists");
+         }
+         for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            if (!Account.getShardFile(shard).isFile()) {
+               TEST_OUTPUT.println("   missing shard " + shard);
+               errorFound = true;
+            }
          }
 
-         // test properties
-         testAccount4 = accounts.get("testAccount4");
-         if (testAccount4.getMoney() != 6.0f) {
+         TEST_OUTPUT.println("account shards - only rewriting shards holding changed accounts");
+         // mark every file so rewritten files may be told apart
+         for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            fileWriter = new FileWriter(Account.getShardFile(shard), true);
+            fileWriter.write(MARKER);
+            fileWriter.close();
+         }
+         fileWriter = new FileWriter(FILE_ACCOUNTS, true);
+         fileWriter.write(MARKER);
+         fileWriter.close();
+
+         accounts.get("testAccount1").setMoney(123.0f);
+         Account.saveAccounts();
+         SnapshotWriter.awaitWrites();
+         for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            contents = new String(java.nio.file.Files.readAllBytes(Account.getShardFile(shard).toPath()));
+            if (contents.contains(MARKER) == (shard == SHARD_CHANGED)) {
+               TEST_OUTPUT.println("   shard " + shard + (shard == SHARD_CHANGED ? " should have" : " should not have") + " been rewritten");
+               errorFound = true;
+            }
+         }
+         if (!new String(java.nio.file.Files.readAllBytes(FILE_ACCOUNTS.toPath())).contains(MARKER)) {
+            TEST_OUTPUT.println("   accounts file should not have been rewritten");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount4's money should be 6.0f, is " + testAccount4.getMoney());
          }
-         // test permissions
-         if (testAccount4.hasAccess(PLAYER_ID)) {
+
+         TEST_OUTPUT.println("account shards - loading accounts from shards");
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") == null || accounts.get("testAccount1").getMoney() != 123.0f ||
+             accounts.get("testAccount3") == null || accounts.get("testAccount3").getMoney() != 30.0f ||
+             accounts.get("testAccount4") == null) {
+            TEST_OUTPUT.println("   accounts should have been loaded from every shard");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount4 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
          }
-         if (testAccount4.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+
+         TEST_OUTPUT.println("account shards - deleting accounts");
+         Account.deleteAccount("testAccount2", PLAYER_ID);
+         Account.saveAccounts();
+         Account.loadAccounts();
+         if (accounts.containsKey("testAccount2") || !accounts.containsKey("testAccount1")) {
+            TEST_OUTPUT.println("   only the deleted account should have been removed");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccount4 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         // test properties
-         playerAccount = accounts.get(UserInterfaceTerminal.playername);
-         if (testAccountFields(playerAccount, 30.0f, UserInterfaceTerminal.playername)) {
+         TEST_OUTPUT.println("account shards - merging shards into the accounts file");
+         Config.accountShards = 0;
+         Account.saveAccounts();
+         SnapshotWriter.awaitWrites();
+         for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            if (Account.getShardFile(shard).exists()) {
+               TEST_OUTPUT.println("   shard " + shard + " should have been deleted");
+               errorFound = true;
+            }
+         }
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") == null || accounts.get("testAccount1").getMoney() != 123.0f ||
+             accounts.containsKey("testAccount2")) {
+            TEST_OUTPUT.println("   accounts should have been loaded from the accounts file");
             errorFound = true;
-            TEST_OUTPUT.println("   playerAccount had unexpected values");
          }
-         // test permissions
-         if (playerAccount.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         for (int shard = 0; shard < NUM_SHARDS; shard++)
+            Account.getShardFile(shard).delete();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("account shards - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+
+      return !errorFound;
+   }
+
+   /**
+    * Tests deciding when to automatically save wares and accounts.
+    *
+    * @return whether the autosaver passed all test cases
+    */
+   private static boolean testUnitAutosaver() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      final long START = 1000000L;
+      final java.util.concurrent.CountDownLatch SAVE_IN_FLIGHT = new java.util.concurrent.CountDownLatch(1);
+      int  savesBefore;
+      int  checksDeferredBefore;
+      long now = START;
+
+      try {
+         // begin without unsaved changes
+         Marketplace.saveWares();
+         Account.saveAccounts();
+         SnapshotWriter.awaitWrites();
+         Config.autosaveChangedThreshold = 3;
+         Config.autosaveBytesThreshold   = 0;
+         Config.autosaveMaxAge           = 0;
+
+         TEST_OUTPUT.println("autosaver - nothing changed");
+         if (Autosaver.check(now) || Autosaver.getSaveLag() != 0) {
+            TEST_OUTPUT.println("   should not save when nothing changed");
             errorFound = true;
-            TEST_OUTPUT.println("   playerAccount allows access to an arbitrary player ID when it shouldn't");
          }
 
-         Account testAccountNew1 = accounts.get("arbitraryAccountID");
-         // test properties
-         if (testAccountFields(testAccountNew1, 10.0f, "arbitraryPlayerID")) {
+         TEST_OUTPUT.println("autosaver - saving after enough changes and coalescing bursts");
+         savesBefore = Autosaver.getSavesCompleted();
+         testWare1.addQuantity(1);
+         testWare2.addQuantity(1);
+         if (Autosaver.check(now++)) {
+            TEST_OUTPUT.println("   should not save before enough has changed");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccountNew1 had unexpected values");
          }
-         // test permissions
-         if (testAccountNew1.hasAccess(PLAYER_ID)) {
+         testWare3.addQuantity(1);
+         if (Autosaver.check(now++)) {
+            TEST_OUTPUT.println("   should wait for trading to quiet down before saving");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccountNew1 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
          }
-         if (testAccountNew1.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+         if (!Autosaver.check(now) || Marketplace.getNumWaresChanged() != 0 || Autosaver.getSavesCompleted() != savesBefore + 1) {
+            TEST_OUTPUT.println("   should have saved once trading quieted down, wares changed: " + Marketplace.getNumWaresChanged());
             errorFound = true;
-            TEST_OUTPUT.println("   testAccountNew1 allows access to an arbitrary player ID when it shouldn't");
          }
+         if (Autosaver.getSaveLagLast() != 2) {
+            TEST_OUTPUT.println("   unexpected save lag: " + Autosaver.getSaveLagLast() + ", should be 2");
+            errorFound = true;
+         }
+         SnapshotWriter.awaitWrites();
 
-         testAccountNew2 = accounts.get("arbitraryID");
-         // test properties
-         if (testAccountFields(testAccountNew2, 42.0f, "arbitraryID")) {
+         TEST_OUTPUT.println("autosaver - saving old changes despite ongoing trading");
+         Config.autosaveChangedThreshold = 0;
+         Config.autosaveMaxAge           = 10;
+         now = START;
+         testWare1.addQuantity(1);
+         Autosaver.check(now);
+         testWare2.addQuantity(1);
+         if (Autosaver.check(now + 5000)) {
+            TEST_OUTPUT.println("   should not save before changes are old enough");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccountNew2 had unexpected values");
          }
-         // test permissions
-         if (testAccountNew2.hasAccess(PLAYER_ID)) {
+         testWare3.addQuantity(1);
+         if (!Autosaver.check(now + 10000)) {
+            TEST_OUTPUT.println("   should have saved once changes were old enough");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccountNew2 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
          }
-         if (testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+         SnapshotWriter.awaitWrites();
+
+         TEST_OUTPUT.println("autosaver - backing off while a save is being written");
+         Config.autosaveChangedThreshold = 1;
+         Config.autosaveMaxAge           = 0;
+         checksDeferredBefore = Autosaver.getChecksDeferred();
+         SnapshotWriter.submit(() -> {
+            try {
+               SAVE_IN_FLIGHT.await();
+            } catch (InterruptedException e) { }
+         });
+         testWare1.addQuantity(1);
+         if (Autosaver.check(now++) || Autosaver.check(now++) || Autosaver.check(now++)) {
+            TEST_OUTPUT.println("   should not save while a previous save is being written");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccountNew2 allows access to an arbitrary player ID when it shouldn't");
          }
-         if (!testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID1")) ||
-             !testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID2")) ||
-             !testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID3"))) {
+         if (Autosaver.getChecksDeferred() != checksDeferredBefore + 3) {
+            TEST_OUTPUT.println("   unexpected checks deferred: " + (Autosaver.getChecksDeferred() - checksDeferredBefore) + ", should be 3");
+            errorFound = true;
+         }
+         SAVE_IN_FLIGHT.countDown();
+         SnapshotWriter.awaitWrites();
+         savesBefore = Autosaver.getSavesCompleted();
+         for (int i = 0; i < 10 && Autosaver.getSavesCompleted() == savesBefore; i++)
+            Autosaver.check(now++);
+         if (Autosaver.getSavesCompleted() != savesBefore + 1) {
+            TEST_OUTPUT.println("   should have saved after the previous save was written");
             errorFound = true;
-            TEST_OUTPUT.println("   testAccountNew2 does not allow shared access when it should");
          }
+         SnapshotWriter.awaitWrites();
 
-         // check account creation counts
-         if (Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID")) != 1) {
+         TEST_OUTPUT.println("autosaver - requesting saves");
+         Config.autosaveChangedThreshold = 0;
+         Autosaver.requestSave();
+         testWare1.addQuantity(1);
+         Autosaver.check(now++);
+         if (Autosaver.check(now++)) {
+            TEST_OUTPUT.println("   requests should be ignored while automatic saving is disabled");
             errorFound = true;
-            TEST_OUTPUT.println("   arbitraryPlayerID's account creation count is " + Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID")) + ", should be 1");
          }
-         if (Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryID")) != 0) {
+         Config.disableAutoSaving     = false;
+         Config.autosaveCheckInterval = 3600; // don't check on the timer's thread
+         Autosaver.startOrReconfig();
+         Autosaver.requestSave();
+         Autosaver.requestSave();
+         savesBefore = Autosaver.getSavesCompleted();
+         if (!Autosaver.check(now++) || Autosaver.check(now++) || Autosaver.getSavesCompleted() != savesBefore + 1) {
+            TEST_OUTPUT.println("   repeated requests should have been saved once");
             errorFound = true;
-            TEST_OUTPUT.println("   arbitraryID's account creation count is " + Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryID")) + ", should be 0");
          }
+         SnapshotWriter.awaitWrites();
 
-         if (accounts.size() != 7)
-            TEST_OUTPUT.println("   warning: total number of accounts is expected to be 7, but is " + accounts.size());
+         TEST_OUTPUT.println("autosaver - stopping saves remaining changes");
+         Config.autosaveChangedThreshold = 0;
+         testWare1.addQuantity(1);
+         testWare2.addQuantity(1);
+         Autosaver.check(now++);
+         savesBefore = Autosaver.getSavesCompleted();
+         Autosaver.end();
+         if (Marketplace.getNumWaresChanged() != 0 || Autosaver.getSavesCompleted() != savesBefore + 1) {
+            TEST_OUTPUT.println("   changes should have been saved when stopping, wares changed: " + Marketplace.getNumWaresChanged());
+            errorFound = true;
+         }
+         SnapshotWriter.awaitWrites();
+         savesBefore = Autosaver.getSavesCompleted();
+         Autosaver.end();
+         if (Autosaver.getSavesCompleted() != savesBefore) {
+            TEST_OUTPUT.println("   stopping again should not have saved");
+            errorFound = true;
+         }
+
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("   fatal error while checking changed accounts: " + e);
+         SAVE_IN_FLIGHT.countDown();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("autosaver - fatal error: " + e);
+         e.printStackTrace();
          return false;
       }
 
@@ -9196,675 +9850,1072 @@ public final class TestSuite
    }
 
    /**
-    * Tests various serviceRequest() functions.
+    * Tests compressing save files and printed market files,
+    * then compares how long saving takes with and without compression.
     *
-    * @return whether all tested serviceRequest() functions passed all of their test cases
+    * @return whether compressed save files passed all test cases
     */
-   private static boolean testUnitInterfaceServiceRequests() {
+   private static boolean testUnitCompressedSaves() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
+      final File FILE_WARES          = new File(Config.filenameWaresSave);
+      final File FILE_ACCOUNTS       = new File(Config.filenameAccounts);
+      final File FILE_MARKET         = new File(Config.filenameMarket);
+      final File FILE_MARKET_GZ      = new File(Config.filenameMarket + CompressedFiles.FILE_SUFFIX);
+      final int  NUM_WARES_BENCHMARK = runBenchmarks ? 20000 : 200; // how many wares to add when comparing save latency
+      final int  NUM_SAVES_BENCHMARK = runBenchmarks ? 5 : 1;       // how many times to save using each format
+      long timeUncompressed;
+      long timeCompressed;
+      long sizeUncompressed;
+      long sizeCompressed;
 
       try {
-         // money [account_id]
-         TEST_OUTPUT.println("serviceRequests() - money: null input / minimum args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/money");
-         errorFound |= testConsoleOutput("Your account: $30.00" + System.lineSeparator());
+         TEST_OUTPUT.println("compressed saves - writing compressed save files");
+         Config.compressSaveFiles = true;
+         wares.get("test:material1").setQuantity(77);
+         waresChangedSinceLastSave.addAll(wares.keySet());
+         Marketplace.saveWares();
+         Account.saveAccounts();
+         SnapshotWriter.awaitWrites();
+         if (!CompressedFiles.isCompressed(FILE_WARES) || !CompressedFiles.isCompressed(FILE_ACCOUNTS)) {
+            TEST_OUTPUT.println("   save files should have been compressed");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - money: empty input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/money   ");
-         errorFound |= testConsoleOutput("Your account: $30.00" + System.lineSeparator());
+         TEST_OUTPUT.println("compressed saves - loading compressed save files");
+         Config.compressSaveFiles = false;
+         Marketplace.loadWares();
+         Account.loadAccounts();
+         if (wares.size() != 11 || wares.get("test:material1") == null || wares.get("test:material1").getQuantity() != 77) {
+            TEST_OUTPUT.println("   wares should have been loaded from the compressed save file, loaded " + wares.size());
+            errorFound = true;
+         }
+         if (Marketplace.translateAndGrab("testAlternateAlias") == null) {
+            TEST_OUTPUT.println("   alternate aliases should have been loaded from the compressed save file");
+            errorFound = true;
+         }
+         if (accounts.get("testAccount1") == null || accounts.get("testAccount1").getMoney() != 10.0f ||
+             !accounts.get("testAccount1").hasAccess(PLAYER_ID)) {
+            TEST_OUTPUT.println("   testAccount1 should have been loaded from the compressed save file");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - money: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/money " + UserInterfaceTerminal.playername + " testAccount2 excessArgument");
-         errorFound |= testConsoleOutput("testAccount2: $");
+         TEST_OUTPUT.println("compressed saves - replacing compressed save files with text");
+         waresChangedSinceLastSave.addAll(wares.keySet());
+         Marketplace.saveWares();
+         Account.saveAccounts();
+         SnapshotWriter.awaitWrites();
+         if (CompressedFiles.isCompressed(FILE_WARES) || CompressedFiles.isCompressed(FILE_ACCOUNTS)) {
+            TEST_OUTPUT.println("   save files should not have been compressed");
+            errorFound = true;
+         }
+         Marketplace.loadWares();
+         if (wares.size() != 11 || wares.get("test:material1").getQuantity() != 77) {
+            TEST_OUTPUT.println("   wares should have been loaded from the text save file, loaded " + wares.size());
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - money: invalid account ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/money invalidAccount");
-         errorFound |= testConsoleOutput("error - account not found: invalidAccount");
+         TEST_OUTPUT.println("compressed saves - printing the market");
+         FILE_MARKET.delete();
+         FILE_MARKET_GZ.delete();
+         Config.compressSaveFiles = true;
+         Marketplace.printMarket();
+         if (FILE_MARKET.exists() || !CompressedFiles.isCompressed(FILE_MARKET_GZ)) {
+            TEST_OUTPUT.println("   printed market should have been compressed beside the uncompressed file's name");
+            errorFound = true;
+         }
+         else {
+            Scanner fileReader = new Scanner(CompressedFiles.openInput(FILE_MARKET_GZ));
+            boolean found = false;
+            while (fileReader.hasNextLine()) {
+               if (fileReader.nextLine().startsWith("test:material1\t"))
+                  found = true;
+            }
+            fileReader.close();
+            if (!found) {
+               TEST_OUTPUT.println("   printed market should list wares");
+               errorFound = true;
+            }
+         }
+         FILE_MARKET_GZ.delete();
+
+         TEST_OUTPUT.println("compressed saves - comparing save latency");
+         for (int i = 0; i < NUM_WARES_BENCHMARK; i++) {
+            wares.put("test:benchmark" + i, new WareMaterial("test:benchmark" + i, "", 1.0f + i % 97, 256 + i, (byte) (i % 6)));
+            Marketplace.addToLoadOrder("test:benchmark" + i);
+         }
+         timeUncompressed = 0L;
+         timeCompressed   = 0L;
+         sizeUncompressed = 0L;
+         sizeCompressed   = 0L;
+         for (int i = 0; i < NUM_SAVES_BENCHMARK * 2; i++) {
+            // alternate so both formats warm up alike
+            Config.compressSaveFiles = i % 2 == 1;
+            waresChangedSinceLastSave.add("test:material1");
+            final long START = System.nanoTime();
+            Marketplace.saveWares();
+            SnapshotWriter.awaitWrites();
+            if (Config.compressSaveFiles) {
+               timeCompressed   += System.nanoTime() - START;
+               sizeCompressed    = FILE_WARES.length();
+            } else {
+               timeUncompressed += System.nanoTime() - START;
+               sizeUncompressed  = FILE_WARES.length();
+            }
+         }
+         if (runBenchmarks) {
+            TEST_OUTPUT.println("   saving " + wares.size() + " wares, average of " + NUM_SAVES_BENCHMARK + " saves:");
+            TEST_OUTPUT.println("   uncompressed: " + (timeUncompressed / NUM_SAVES_BENCHMARK / 1000L) + " microseconds, " + sizeUncompressed + " bytes");
+            TEST_OUTPUT.println("   compressed:   " + (timeCompressed   / NUM_SAVES_BENCHMARK / 1000L) + " microseconds, " + sizeCompressed + " bytes");
+         }
+         if (sizeCompressed <= 0L || sizeCompressed >= sizeUncompressed) {
+            TEST_OUTPUT.println("   compressed save file should be smaller than the uncompressed one");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - money: valid account ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/money testAccount2");
-         errorFound |= testConsoleOutput("testAccount2: $");
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         resetTestEnvironment();
+         TEST_OUTPUT.println("compressed saves - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - money: empty username");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/money  testAccount2");
-         errorFound |= testConsoleOutput("error - zero-length arguments");
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("serviceRequests() - money: different username");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/money possibleID testAccount3");
-         errorFound |= testConsoleOutput("(for possibleID) testAccount3: $");
+   /**
+    * Tests replacing files through a temporary file and keeping their previous versions,
+    * injecting faults while writing and reading files while they are replaced.
+    *
+    * @return whether replacing files passed all test cases
+    */
+   private static boolean testUnitAtomicReplacement() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         // grantAccess player_id account_id
-         TEST_OUTPUT.println("serviceRequests() - grantAccess: no input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/grantAccess");
-         errorFound |= testConsoleOutput("/grantAccess <player_name> <account_id>" + System.lineSeparator());
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      final File   FILE        = new File("config" + File.separator + "CommandEconomy" + File.separator + "testAtomic.txt");
+      final File   FILE_TEMP   = new File(FILE.getPath() + SnapshotWriter.TEMP_SUFFIX);
+      final String PATH_BACKUP = FILE.getPath() + SnapshotWriter.BACKUP_SUFFIX;
+      final int    NUM_LINES   = 2000; // lines per version, so writing a version takes several writes
+      final int    NUM_WRITES  = runBenchmarks ? 200 : 20; // versions written while the file is being read
+      final java.util.concurrent.atomic.AtomicBoolean WRITING       = new java.util.concurrent.atomic.AtomicBoolean(true);
+      final java.util.concurrent.atomic.AtomicInteger READS         = new java.util.concurrent.atomic.AtomicInteger();
+      final java.util.concurrent.atomic.AtomicInteger READS_PARTIAL = new java.util.concurrent.atomic.AtomicInteger();
+      final java.util.concurrent.atomic.AtomicInteger READS_MISSING = new java.util.concurrent.atomic.AtomicInteger();
+      FileWriter tempWriter;
+      Thread     reader = null;
+      long       time;
 
-         TEST_OUTPUT.println("serviceRequests() - grantAccess: too few args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+      try {
+         for (int i = 1; i <= 4; i++)
+            new File(PATH_BACKUP + i).delete();
+         FILE.delete();
+         FILE_TEMP.delete();
 
-         TEST_OUTPUT.println("serviceRequests() - grantAccess: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID testAccount1 excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+         TEST_OUTPUT.println("atomic replacement - keeping previous versions");
+         Config.saveBackups = 2;
+         for (int version = 1; version <= 4; version++)
+            writeVersion(FILE, version, 1);
+         if (readVersion(FILE) != 4 || readVersion(new File(PATH_BACKUP + 1)) != 3 ||
+             readVersion(new File(PATH_BACKUP + 2)) != 2 || new File(PATH_BACKUP + 3).exists()) {
+            TEST_OUTPUT.println("   unexpected versions: " + readVersion(FILE) + ", " + readVersion(new File(PATH_BACKUP + 1)) + ", " + readVersion(new File(PATH_BACKUP + 2)));
+            errorFound = true;
+         }
+         if (FILE_TEMP.exists()) {
+            TEST_OUTPUT.println("   temporary file should have been renamed");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - grantAccess: invalid account ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID invalidAccount");
-         errorFound |= testConsoleOutput("error - account not found");
+         TEST_OUTPUT.println("atomic replacement - failing while writing");
+         try {
+            SnapshotWriter.write(FILE, fileWriter -> {
+               fileWriter.write("5\n");
+               for (int i = 0; i < NUM_LINES / 2; i++)
+                  fileWriter.write("partial line " + i + "\n");
+               throw new IOException("injected fault");
+            });
+            TEST_OUTPUT.println("   the injected fault should have been thrown");
+            errorFound = true;
+         } catch (IOException e) { }
+         if (readVersion(FILE) != 4 || readVersion(new File(PATH_BACKUP + 1)) != 3 || FILE_TEMP.exists()) {
+            TEST_OUTPUT.println("   a failed write should leave the file and its previous versions untouched");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("atomic replacement - replacing a temporary file left by a crash");
+         tempWriter = new FileWriter(FILE_TEMP);
+         tempWriter.write("9\npartial");
+         tempWriter.close();
+         writeVersion(FILE, 5, NUM_LINES);
+         if (readVersion(FILE) != 5 || readVersion(new File(PATH_BACKUP + 1)) != 4 || FILE_TEMP.exists()) {
+            TEST_OUTPUT.println("   a leftover temporary file should have been replaced");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("atomic replacement - reading while replacing");
+         reader = new Thread(() -> {
+            int version;
+            while (WRITING.get()) {
+               READS.incrementAndGet();
+               version = readVersion(FILE);
+               if (version == 0)
+                  READS_MISSING.incrementAndGet();
+               else if (version == -1)
+                  READS_PARTIAL.incrementAndGet();
+            }
+         });
+         reader.start();
+         time = System.nanoTime();
+         for (int version = 6; version < 6 + NUM_WRITES; version++)
+            writeVersion(FILE, version, NUM_LINES);
+         time = System.nanoTime() - time;
+         WRITING.set(false);
+         reader.join();
+         if (runBenchmarks)
+            TEST_OUTPUT.println("   " + NUM_WRITES + " replacements averaged " + (time / NUM_WRITES / 1000L) + " microseconds while the file was read " + READS.get() + " times");
+         if (READS_PARTIAL.get() != 0 || READS_MISSING.get() != 0) {
+            TEST_OUTPUT.println("   readers should only see complete files, saw " + READS_PARTIAL.get() + " partial files and " + READS_MISSING.get() + " missing files");
+            errorFound = true;
+         }
+         if (readVersion(FILE) != 5 + NUM_WRITES || readVersion(new File(PATH_BACKUP + 2)) != 4 + NUM_WRITES - 1) {
+            TEST_OUTPUT.println("   unexpected versions after replacing while reading");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - grantAccess: valid account ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID testAccount1");
-         errorFound |= testConsoleOutput("possibleID may now access testAccount1");
+         for (int i = 1; i <= 4; i++)
+            new File(PATH_BACKUP + i).delete();
+         FILE.delete();
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         WRITING.set(false);
+         resetTestEnvironment();
+         TEST_OUTPUT.println("atomic replacement - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         // revokeAccess player_id account_id
-         TEST_OUTPUT.println("serviceRequests() - revokeAccess: no input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/revokeAccess");
-         errorFound |= testConsoleOutput("/revokeAccess <player_name> <account_id>" + System.lineSeparator());
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("serviceRequests() - revokeAccess: too few args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+   /**
+    * Replaces a file with a numbered version of its contents, ending with a marker
+    * so readers may tell whether they read the whole file.
+    *
+    * @param file     file to be replaced
+    * @param version  number identifying the contents
+    * @param numLines how many lines to write
+    * @throws IOException if the file could not be replaced
+    */
+   private static void writeVersion(File file, int version, int numLines) throws IOException {
+      SnapshotWriter.write(file, fileWriter -> {
+         fileWriter.write(version + "\n");
+         for (int i = 0; i < numLines; i++)
+            fileWriter.write("line " + i + " of version " + version + "\n");
+         fileWriter.write("end " + version + "\n");
+      }, false, Config.saveBackups);
+   }
 
-         TEST_OUTPUT.println("serviceRequests() - revokeAccess: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID testAccount1 excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+   /**
+    * Reads a file written by writeVersion().
+    *
+    * @param file file to be read
+    * @return the file's version, -1 if the file is incomplete, or 0 if it could not be read
+    */
+   private static int readVersion(File file) {
+      try {
+         final List<String> LINES = java.nio.file.Files.readAllLines(file.toPath());
+         if (LINES.isEmpty())
+            return -1;
+         final int VERSION = Integer.parseInt(LINES.get(0));
+         if (!LINES.get(LINES.size() - 1).equals("end " + VERSION))
+            return -1;
+         return VERSION;
+      } catch (NumberFormatException e) {
+         return -1;
+      } catch (IOException e) {
+         return 0;
+      }
+   }
 
-         TEST_OUTPUT.println("serviceRequests() - revokeAccess: invalid account ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID invalidAccount");
-         errorFound |= testConsoleOutput("error - account not found");
+   /**
+    * Tests running periodic features on shared threads,
+    * including replacing, randomly delaying, and measuring tasks.
+    *
+    * @return whether the scheduler passed all test cases
+    */
+   private static boolean testUnitMarketScheduler() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("serviceRequests() - revokeAccess: valid account ID");
-         testAccount1.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("possibleID"), null);
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID testAccount1");
-         errorFound |= testConsoleOutput("possibleID may no longer access testAccount1");
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      final java.util.concurrent.atomic.AtomicInteger RUNS_FIRST  = new java.util.concurrent.atomic.AtomicInteger();
+      final java.util.concurrent.atomic.AtomicInteger RUNS_SECOND = new java.util.concurrent.atomic.AtomicInteger();
+      final java.util.concurrent.atomic.AtomicInteger RUNS_FAILED = new java.util.concurrent.atomic.AtomicInteger();
+      MarketScheduler.Task task;
+      MarketScheduler.Task taskReplaced;
+      long delay;
+      int  runs;
 
-         // save
-         // don't overwrite user saves
-         Config.filenameWaresSave = "config" + File.separator + "CommandEconomy" + File.separator + "testWaresSaved.txt";
-         Config.filenameAccounts = "config" + File.separator + "CommandEconomy" + File.separator + "testAccounts.txt";
+      try {
+         TEST_OUTPUT.println("market scheduler - only periodic features are scheduled");
+         if (MarketScheduler.getTasks().size() != 0) {
+            TEST_OUTPUT.println("   unexpected tasks: " + MarketScheduler.getTasks().size() + ", should be 0");
+            errorFound = true;
+            MarketScheduler.cancelAll();
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - save: no input");
-         baosOut.reset(); // clear buffer holding console output
-         baosErr.reset();
-         UserInterfaceTerminal.serviceRequest("/save");
-         errorFound |= testConsoleOutput("Saved the economy" + System.lineSeparator());
-         if (!baosErr.toString().isEmpty()) {
-            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+         TEST_OUTPUT.println("market scheduler - delays stay within their variance");
+         for (int i = 0; i < 1000; i++) {
+            delay = MarketScheduler.jitteredDelay(1000L, 0.25f);
+            if (delay < 750L || 1250L < delay) {
+               TEST_OUTPUT.println("   unexpected delay: " + delay + ", should be within 750 and 1250");
+               errorFound = true;
+               break;
+            }
+         }
+         delay = MarketScheduler.jitteredDelay(1000L, 0.0f);
+         if (delay != 1000L) {
+            TEST_OUTPUT.println("   unexpected delay without variance: " + delay + ", should be 1000");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("serviceRequests() - save: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         baosErr.reset();
-         UserInterfaceTerminal.serviceRequest("/save excessArgument");
-         errorFound |= testConsoleOutput("Saved the economy" + System.lineSeparator());
-         if (!baosErr.toString().isEmpty()) {
-            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+         TEST_OUTPUT.println("market scheduler - running tasks periodically");
+         task = MarketScheduler.schedule("testFirst", () -> RUNS_FIRST.incrementAndGet(), 0L, 5L, 0.0f);
+         if (!MarketScheduler.isRunning()) {
+            TEST_OUTPUT.println("   threads were not started when a task was scheduled");
+            errorFound = true;
+         }
+         Thread.sleep(100);
+         if (RUNS_FIRST.get() < 3) {
+            TEST_OUTPUT.println("   unexpected runs: " + RUNS_FIRST.get() + ", should be at least 3");
+            errorFound = true;
+         }
+         if (task.getRuns() < 3 || task.getRunTimeMax() < task.getRunTimeLast() || task.getRunTimeMax() < task.getRunTimeAverage()) {
+            TEST_OUTPUT.println("   unexpected metrics: runs " + task.getRuns() + ", last " + task.getRunTimeLast() + " ns, max " + task.getRunTimeMax() + " ns, average " + task.getRunTimeAverage() + " ns");
             errorFound = true;
          }
 
-         // reload (config || wares || accounts || all)
-         TEST_OUTPUT.println("serviceRequests() - reload: no input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/reload");
-         errorFound |= testConsoleOutput("/commandeconomy reload (config | wares | accounts | all)" + System.lineSeparator());
+         TEST_OUTPUT.println("market scheduler - replacing tasks using the same name");
+         taskReplaced = task;
+         task = MarketScheduler.schedule("testFirst", () -> RUNS_SECOND.incrementAndGet(), 0L, 5L, 0.5f);
+         Thread.sleep(20); // allow a run in progress to finish
+         runs = RUNS_FIRST.get();
+         Thread.sleep(100);
+         if (!taskReplaced.isCancelled() || RUNS_FIRST.get() != runs) {
+            TEST_OUTPUT.println("   replaced task kept running: " + runs + " runs became " + RUNS_FIRST.get());
+            errorFound = true;
+         }
+         if (RUNS_SECOND.get() < 3) {
+            TEST_OUTPUT.println("   unexpected runs for replacing task: " + RUNS_SECOND.get() + ", should be at least 3");
+            errorFound = true;
+         }
+         if (MarketScheduler.getTask("testFirst") != task || MarketScheduler.getTasks().size() != 1) {
+            TEST_OUTPUT.println("   unexpected tasks: " + MarketScheduler.getTasks().size() + ", should be 1");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - reload: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/reload wares excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+         TEST_OUTPUT.println("market scheduler - replacing tasks while they run");
+         final java.util.concurrent.atomic.AtomicInteger RUNNING     = new java.util.concurrent.atomic.AtomicInteger();
+         final java.util.concurrent.atomic.AtomicInteger RUNNING_MAX = new java.util.concurrent.atomic.AtomicInteger();
+         final java.util.concurrent.CountDownLatch       STARTED     = new java.util.concurrent.CountDownLatch(1);
+         final Runnable SLOW_RUN = () -> {
+            RUNNING_MAX.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+            STARTED.countDown();
+            try {
+               Thread.sleep(50);
+            } catch (InterruptedException e) { }
+            RUNNING.decrementAndGet();
+         };
+         MarketScheduler.schedule("testSlow", SLOW_RUN, 0L, 1000L, 0.0f);
+         STARTED.await();
+         taskReplaced = MarketScheduler.schedule("testSlow", SLOW_RUN, 0L, 1000L, 0.0f);
+         MarketScheduler.cancel("testSlow");
+         MarketScheduler.schedule("testSlow", SLOW_RUN, 0L, 1000L, 0.0f);
+         Thread.sleep(200);
+         if (RUNNING_MAX.get() != 1) {
+            TEST_OUTPUT.println("   tasks sharing a name ran simultaneously: " + RUNNING_MAX.get() + " at once");
+            errorFound = true;
+         }
+         if (taskReplaced.getRuns() != 0) {
+            TEST_OUTPUT.println("   a task replaced before its first run still ran");
+            errorFound = true;
+         }
+         MarketScheduler.cancel("testSlow");
 
-         TEST_OUTPUT.println("serviceRequests() - reload: invalid arg");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/reload invalidArgument");
-         errorFound |= testConsoleOutput("error - invalid argument");
+         TEST_OUTPUT.println("market scheduler - failing runs don't stop later runs");
+         MarketScheduler.schedule("testFailing", () -> {
+            RUNS_FAILED.incrementAndGet();
+            throw new IllegalStateException("intentional failure");
+         }, 0L, 5L, 0.0f);
+         Thread.sleep(100);
+         if (RUNS_FAILED.get() < 3) {
+            TEST_OUTPUT.println("   unexpected runs for failing task: " + RUNS_FAILED.get() + ", should be at least 3");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - reload: config");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         errorFound |= testConsoleOutput("Reloaded config." + System.lineSeparator());
+         TEST_OUTPUT.println("market scheduler - cancelling tasks stops threads");
+         MarketScheduler.cancel("testFailing");
+         if (MarketScheduler.getTask("testFailing") != null || !MarketScheduler.isRunning()) {
+            TEST_OUTPUT.println("   cancelling one task affected threads or remaining tasks");
+            errorFound = true;
+         }
+         MarketScheduler.cancelAll();
+         if (MarketScheduler.isRunning() || MarketScheduler.getTasks().size() != 0 || !task.isCancelled()) {
+            TEST_OUTPUT.println("   threads or tasks remained after cancelling every task");
+            errorFound = true;
+         }
+         Thread.sleep(20); // allow a run in progress to finish
+         runs = RUNS_SECOND.get();
+         Thread.sleep(50);
+         if (RUNS_SECOND.get() != runs) {
+            TEST_OUTPUT.println("   cancelled task kept running: " + runs + " runs became " + RUNS_SECOND.get());
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - reload: wares");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/reload wares");
-         errorFound |= testConsoleOutput("Reloaded wares." + System.lineSeparator());
+         TEST_OUTPUT.println("market scheduler - periodic features share threads");
+         Config.disableAutoSaving = false;
+         Autosaver.startOrReconfig();
+         Config.automaticStockRebalancing          = true;
+         Config.automaticStockRebalancingFrequency = 2700000;
+         MarketRebalancer.startOrReconfig();
+         if (MarketScheduler.getTask(Autosaver.TASK_NAME) == null || MarketScheduler.getTask(MarketRebalancer.TASK_NAME) == null) {
+            TEST_OUTPUT.println("   periodic features were not scheduled");
+            errorFound = true;
+         }
+         Config.autosaveCheckInterval = 7;
+         Autosaver.startOrReconfig();
+         if (MarketScheduler.getTask(Autosaver.TASK_NAME) == null || MarketScheduler.getTask(Autosaver.TASK_NAME).getPeriod() != 7000L) {
+            TEST_OUTPUT.println("   reconfiguring did not reschedule the autosaver");
+            errorFound = true;
+         }
+         Autosaver.end();
+         MarketRebalancer.end();
+         if (MarketScheduler.isRunning()) {
+            TEST_OUTPUT.println("   threads remained after stopping periodic features");
+            errorFound = true;
+         }
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         MarketScheduler.cancelAll();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("market scheduler - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - reload: accounts");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/reload accounts");
-         errorFound |= testConsoleOutput("Reloaded accounts." + System.lineSeparator());
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("serviceRequests() - reload: total reload");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/reload all");
-         errorFound |= testConsoleOutput("Reloaded config, wares, and accounts." + System.lineSeparator());
+   /**
+    * Tests recording changes to accounts' funds and wares' quantities
+    * within the transaction ledger and rebuilding them from the ledger.
+    *
+    * @return whether the transaction ledger passed all test cases
+    */
+   private static boolean testUnitTransactionLedger() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         // for paranoia's sake, reload the testing environment
-         // to avoid any possibility of interfering with other tests
-         resetTestEnvironment();
-
-         // add quantity [account_id]
-         TEST_OUTPUT.println("serviceRequests() - add: null input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/add");
-         errorFound |= testConsoleOutput("/add <quantity> [account_id]" + System.lineSeparator());
-
-         TEST_OUTPUT.println("serviceRequests() - add: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/add 10.0 testAccount2 excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
-
-         TEST_OUTPUT.println("serviceRequests() - add: invalid quantity");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/add invalidQuantity");
-         errorFound |= testConsoleOutput("error - invalid quantity");
-
-         TEST_OUTPUT.println("serviceRequests() - add: invalid account ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/add 10.0 invalidAccount");
-         errorFound |= testConsoleOutput("error - account not found");
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      for (File file : TransactionLedger.listFiles())
+         file.delete();
+      final HashMap<String, Long>    FUNDS      = new HashMap<String, Long>();
+      final HashMap<String, Integer> QUANTITIES = new HashMap<String, Integer>();
+      FileWriter fileWriter;
+      long fundsExpected;
+      int  recordsBefore;
 
-         TEST_OUTPUT.println("serviceRequests() - add: minimum args");
-         playerAccount.setMoney(30.0f);
-         UserInterfaceTerminal.serviceRequest("/add 10.0");
-         if (testAccountFields(playerAccount, 40.0f, UserInterfaceTerminal.playername)) {
+      try {
+         TEST_OUTPUT.println("transaction ledger - disabled by default");
+         testAccount1.addMoney(5.0f);
+         TransactionLedger.rebuild(FUNDS, QUANTITIES);
+         if (TransactionLedger.isEnabled() || TransactionLedger.listFiles().length != 0 || !FUNDS.isEmpty()) {
+            TEST_OUTPUT.println("   changes should not have been recorded");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("transaction ledger - recording funds and quantities");
+         Config.transactionLedger = true;
+         TransactionLedger.startOrReconfig();
+         testAccount1.addMoney(5.0f);
+         testAccount2.subtractMoney(2.5f);
+         testAccount3.multiplyMoney(1.5f);
+         testAccount2.sendMoney(PLAYER_ID, 4.0f, "testAccount2", "testAccount4");
+         testWare1.addQuantity(10);
+         testWare1.subtractQuantity(4);
+         testWare3.setQuantity(7);
+
+         FUNDS.clear();
+         QUANTITIES.clear();
+         if (TransactionLedger.rebuild(FUNDS, QUANTITIES) != 8) {
+            TEST_OUTPUT.println("   unexpected number of records: " + TransactionLedger.rebuild(new HashMap<String, Long>(), new HashMap<String, Integer>()));
+            errorFound = true;
+         }
+         for (String accountID : new String[]{"testAccount1", "testAccount2", "testAccount3", "testAccount4"}) {
+            if (FUNDS.get(accountID) == null || FUNDS.get(accountID) != accounts.get(accountID).getMoneyUnits()) {
+               TEST_OUTPUT.println("   rebuilt funds for " + accountID + " should be " + accounts.get(accountID).getMoneyUnits() + ": " + FUNDS.get(accountID));
+               errorFound = true;
+            }
+         }
+         if (QUANTITIES.get(testWare1.getWareID()) == null || QUANTITIES.get(testWare1.getWareID()) != testWare1.getQuantity() ||
+             QUANTITIES.get(testWare3.getWareID()) == null || QUANTITIES.get(testWare3.getWareID()) != 7) {
+            TEST_OUTPUT.println("   rebuilt quantities differ from wares' quantities: " + QUANTITIES);
             errorFound = true;
-            resetTestEnvironment();
          }
 
-         TEST_OUTPUT.println("serviceRequests() - add: valid account ID");
-         testAccount2.setMoney(20.0f);
-         UserInterfaceTerminal.serviceRequest("/add 10.0 testAccount2");
-         if (testAccountFields(testAccount2, 30.0f, UserInterfaceTerminal.playername)) {
+         TEST_OUTPUT.println("transaction ledger - deleting accounts");
+         Account.deleteAccount("testAccount2", PLAYER_ID);
+         FUNDS.clear();
+         TransactionLedger.rebuild(FUNDS, QUANTITIES);
+         if (FUNDS.containsKey("testAccount2")) {
+            TEST_OUTPUT.println("   deleted account should not have been rebuilt");
             errorFound = true;
-            resetTestEnvironment();
          }
 
-         // set quantity [account_id]
-         TEST_OUTPUT.println("serviceRequests() - set: null input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/set");
-         errorFound |= testConsoleOutput("/set <quantity> [account_id]" + System.lineSeparator());
-
-         TEST_OUTPUT.println("serviceRequests() - set: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/set 10.0 testAccount2 excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
-
-         TEST_OUTPUT.println("serviceRequests() - set: invalid quantity");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/set invalidQuantity");
-         errorFound |= testConsoleOutput("error - invalid quantity");
-
-         TEST_OUTPUT.println("serviceRequests() - set: invalid account ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/set 10.0 invalidAccount");
-         errorFound |= testConsoleOutput("error - account not found");
-
-         TEST_OUTPUT.println("serviceRequests() - set: minimum args");
-         playerAccount.setMoney(30.0f);
-         UserInterfaceTerminal.serviceRequest("/set 10.0");
-         if (testAccountFields(playerAccount, 10.0f, UserInterfaceTerminal.playername)) {
+         TEST_OUTPUT.println("transaction ledger - compressing and starting new files");
+         Config.transactionLedgerCompress = true;
+         Config.transactionLedgerFileSize = 1;
+         final int FILES_BEFORE = TransactionLedger.listFiles().length;
+         for (int i = 0; i < 100; i++)
+            testAccount1.addMoney(1.0f);
+         FUNDS.clear();
+         TransactionLedger.rebuild(FUNDS, QUANTITIES);
+         if (TransactionLedger.listFiles().length < FILES_BEFORE + 2 ||
+             !TransactionLedger.listFiles()[TransactionLedger.listFiles().length - 1].getName().endsWith(".gz")) {
+            TEST_OUTPUT.println("   expected several compressed files, found " + Arrays.toString(TransactionLedger.listFiles()));
             errorFound = true;
-            resetTestEnvironment();
          }
-
-         TEST_OUTPUT.println("serviceRequests() - set: valid account ID");
-         testAccount2.setMoney(20.0f);
-         UserInterfaceTerminal.serviceRequest("/set 10.0 testAccount2");
-         if (testAccountFields(testAccount2, 10.0f, UserInterfaceTerminal.playername)) {
+         if (FUNDS.get("testAccount1") == null || FUNDS.get("testAccount1") != testAccount1.getMoneyUnits()) {
+            TEST_OUTPUT.println("   rebuilt funds should include compressed files: " + FUNDS.get("testAccount1") + ", should be " + testAccount1.getMoneyUnits());
             errorFound = true;
-            resetTestEnvironment();
          }
 
-         // printMarket
-         // don't worry about changing the file written to since its data is meant to be temporary
-         TEST_OUTPUT.println("serviceRequests() - printMarket: null input");
-         baosOut.reset(); // clear buffer holding console output
-         baosErr.reset();
-         UserInterfaceTerminal.serviceRequest("/printMarket");
-         if (baosOut.toString().isEmpty()) {
-            TEST_OUTPUT.println("   expected console output and received none");
+         TEST_OUTPUT.println("transaction ledger - rebuilding records written out of order");
+         // simultaneous changes may place records in a different order than their changes
+         fileWriter = new FileWriter(Config.filenameAccounts + ".999999.ledger");
+         fileWriter.write(StringTable.FILE_HEADER_LEDGER);
+         fileWriter.write("1,w,10,10,test:outOfOrder\n");
+         fileWriter.write("2,w,3,18,test:outOfOrder\n"); // changed 15 to 18
+         fileWriter.write("2,w,5,15,test:outOfOrder\n"); // changed 10 to 15
+         fileWriter.close();
+         FUNDS.clear();
+         QUANTITIES.clear();
+         TransactionLedger.rebuild(FUNDS, QUANTITIES);
+         if (QUANTITIES.get("test:outOfOrder") == null || QUANTITIES.get("test:outOfOrder") != 18) {
+            TEST_OUTPUT.println("   unexpected quantity rebuilt from records out of order: " + QUANTITIES.get("test:outOfOrder") + ", should be 18");
             errorFound = true;
          }
-         if (!baosErr.toString().isEmpty()) {
-            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+
+         TEST_OUTPUT.println("transaction ledger - replaying");
+         fundsExpected = testAccount1.getMoneyUnits();
+         TransactionLedger.end();
+         testAccount1.setMoney(0.0f);
+         testWare1.setQuantity(0);
+         recordsBefore = TransactionLedger.rebuild(new HashMap<String, Long>(), new HashMap<String, Integer>());
+         TransactionLedger.replay();
+         if (testAccount1.getMoneyUnits() != fundsExpected || testWare1.getQuantity() != QUANTITIES.get(testWare1.getWareID())) {
+            TEST_OUTPUT.println("   replaying should have restored funds and quantities: " + testAccount1.getMoneyUnits() + ", should be " + fundsExpected);
             errorFound = true;
          }
-
-         TEST_OUTPUT.println("serviceRequests() - printMarket: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         baosErr.reset();
-         UserInterfaceTerminal.serviceRequest("/printMarket excessArgument");
-         if (baosOut.toString().isEmpty()) {
-            TEST_OUTPUT.println("   expected console output and received none");
+         if (TransactionLedger.rebuild(new HashMap<String, Long>(), new HashMap<String, Integer>()) != recordsBefore) {
+            TEST_OUTPUT.println("   replaying should not have been recorded");
             errorFound = true;
          }
-         if (!baosErr.toString().isEmpty()) {
-            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+         if (!waresChangedSinceLastSave.contains(testWare1.getWareID())) {
+            TEST_OUTPUT.println("   restored wares should be saved");
             errorFound = true;
          }
 
-         // inventory
-         TEST_OUTPUT.println("serviceRequests() - inventory: null input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestInventory(null);
-         errorFound |= testConsoleOutput("Your inventory: ");
+         TransactionLedger.end();
+         for (File file : TransactionLedger.listFiles())
+            file.delete();
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         TransactionLedger.end();
+         for (File file : TransactionLedger.listFiles())
+            file.delete();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("transaction ledger - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: empty input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{});
-         errorFound |= testConsoleOutput("Your inventory: ");
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: blank input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{""});
-         errorFound |= testConsoleOutput("Your inventory: ");
+   /**
+    * Tests Account.saveAccounts() and Account.loadAccounts().
+    *
+    * @return whether Account.saveAccounts() and Account.loadAccounts() passed all test cases
+    */
+   private static boolean testUnitAccountIO() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"", "excessArgument"});
-         errorFound |= testConsoleOutput("Your inventory: ");
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: expected usage");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{});
-         errorFound |= testConsoleOutput("Your inventory: ");
+      // make accounts start with some money
+      Config.accountStartingMoney = 10.0f;
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: invalid coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventory.put("test:material1", 10);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"invalidCoordinates"});
-         errorFound |= testConsoleOutput("error - invalid inventory direction");
+      // test handling missing file
+      TEST_OUTPUT.println("testUnitAccountIO() - handling of missing file");
+      Config.filenameAccounts = "no file here";
+      baosOut.reset(); // clear buffer holding console output
+      int numAccounts = accounts.size();
+      try {
+         Account.loadAccounts();
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("   Account.loadAccounts() should not throw any exception, but it did\n   was testing for handling missing file");
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: zeroed coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventory.put("test:material1", 15);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"none"});
-         if (!baosOut.toString().startsWith("Your inventory: ") ||
-             !baosOut.toString().contains(" 1. test:material1: 15")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+      // check handling of missing file
+      File fileAccounts = new File(Config.filenameAccounts);
+      // check local file
+      if (fileAccounts.exists()){
+         errorFound = true;
+         TEST_OUTPUT.println("   \"no file here\" file should not exist in local/world directory");
+      }
+      // check global file
+      fileAccounts = new File("config" + File.separator + Config.filenameAccounts);
+      if (fileAccounts.exists()){
+         errorFound = true;
+         TEST_OUTPUT.println("   \"no file here\" file should not exist in global/config directory");
+      }
+      if (numAccounts != accounts.size()) {
+         TEST_OUTPUT.println("   unexpected number of accounts: " + accounts.size() + ", should be " + numAccounts);
+         errorFound = true;
+      }
+      Config.filenameAccounts = "config" + File.separator + "CommandEconomy" + File.separator + "testAccounts.txt";
+
+      TEST_OUTPUT.println("testUnitAccountIO() - saving to file");
+      // try to save to the test file
+      try {
+         Account.saveAccounts();
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("   Account.saveAccounts() should not throw any exception, but it did\n   was saving test accounts");
+         e.printStackTrace();
+         return false;
+      }
+
+      TEST_OUTPUT.println("testUnitAccountIO() - loading from file");
+      // try to load the test file
+      try {
+         Account.loadAccounts();
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("testUnitAccountIO() - Account.loadAccounts() should not throw any exception, but it did\n   was loading test accounts");
+         e.printStackTrace();
+         return false;
+      }
+
+      // check whether accounts match known values they were set to
+      try {
+         // test properties
+         testAccount1  = accounts.get("testAccount1");
+         if (testAccountFields(testAccount1, 10.0f, UserInterfaceTerminal.playername)) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount1 had unexpected values");
          }
-
-         TEST_OUTPUT.println("serviceRequests() - inventory: northward coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventoryNorth.put("test:material3", 10);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"north"});
-         if (!baosOut.toString().startsWith("Northward inventory: ") ||
-             !baosOut.toString().contains(" 1. test:material3: 10")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         // test permissions
+         if (testAccount1.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount1 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: eastward coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventoryEast.put("minecraft:material4", 10);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"east"});
-         if (!baosOut.toString().startsWith("Eastward inventory: ") ||
-             !baosOut.toString().contains(" 1. minecraft:material4: 10")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         // test properties
+         testAccount2  = accounts.get("testAccount2");
+         if (testAccountFields(testAccount2, 20.0f, UserInterfaceTerminal.playername)) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount2 had unexpected values");
          }
-
-         TEST_OUTPUT.println("serviceRequests() - inventory: westward coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventoryWest.put("test:material1", 5);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"west"});
-         if (!baosOut.toString().startsWith("Westward inventory: ") ||
-             !baosOut.toString().contains(" 1. test:material1: 5")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         // test permissions
+         if (testAccount2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount2 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: southward coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventorySouth.put("test:material2", 5);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"south"});
-         if (!baosOut.toString().startsWith("Southward inventory: ") ||
-             !baosOut.toString().contains(" 1. test:material2: 5")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         // test properties
+         testAccount3  = accounts.get("testAccount3");
+         if (testAccountFields(testAccount3, 30.0f, "possibleID")) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount3 had unexpected values");
+         }
+         // test permissions
+         if (testAccount3.hasAccess(PLAYER_ID)) {
+            errorFound = true;
+            TEST_OUTPUT.println("   testAccount3 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: upward coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventoryUp.put("test:material3", 5);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"up"});
-         if (!baosOut.toString().startsWith("Upward inventory: ") ||
-             !baosOut.toString().contains(" 1. test:material3: 5")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         Account testAccount4  = accounts.get("testAccount4");
+         // test properties
+         if (testAccount4.getMoney() != 6.0f) {
+            errorFound = true;
+            TEST_OUTPUT.println("   testAccount4's money should be 6.0f, is " + testAccount4.getMoney());
+         }
+         // test permissions
+         if (testAccount4.hasAccess(PLAYER_ID)) {
+            errorFound = true;
+            TEST_OUTPUT.println("   testAccount4 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
+         }
+         if (testAccount4.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount4 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - inventory: downward coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventoryDown.put("test:material2", 10);
-         UserInterfaceTerminal.serviceRequestInventory(new String[]{"down"});
-         if (!baosOut.toString().startsWith("Downward inventory: ") ||
-             !baosOut.toString().contains(" 1. test:material2: 10")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         // test properties
+         playerAccount  = accounts.get(UserInterfaceTerminal.playername);
+         if (testAccountFields(playerAccount, 30.0f, UserInterfaceTerminal.playername)) {
+            errorFound = true;
+            TEST_OUTPUT.println("   playerAccount had unexpected values");
+         }
+         // test permissions
+         if (playerAccount.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   playerAccount allows access to an arbitrary player ID when it shouldn't");
          }
 
-         // give <ware_id> [quantity] [inventory_direction]
-         TEST_OUTPUT.println("serviceRequests() - give: null input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(null);
-         errorFound |= testConsoleOutput("/give <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
+         // test properties
+         adminAccount  = accounts.get("$admin$");
+         if (testAccountFields(adminAccount, Float.POSITIVE_INFINITY, "$admin$")) {
+            errorFound = true;
+            TEST_OUTPUT.println("   adminAccount had unexpected values");
+         }
+         // test permissions
+         if (adminAccount.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+            errorFound = true;
+            TEST_OUTPUT.println("   playerAccount allows access to an arbitrary player ID when it shouldn't");
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - give: empty input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{});
-         errorFound |= testConsoleOutput("/give <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
+         if (accounts.size() != 6)
+            TEST_OUTPUT.println("   warning: total number of accounts is expected to be 6, but is " + accounts.size());
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("   fatal error while checking accounts: " + e);
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - give: blank input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{""});
-         errorFound |= testConsoleOutput("error - zero-length arguments");
+      TEST_OUTPUT.println("testUnitAccountIO() - saving and loading after removing an account and creating new ones");
 
-         TEST_OUTPUT.println("serviceRequests() - give: too few args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{});
-         errorFound |= testConsoleOutput("/give <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
+      // remove known account
+      accounts.remove("testAccount3");
 
-         TEST_OUTPUT.println("serviceRequests() - give: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "10", "excessArgument", "excessArgument"});
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+      // create new accounts
+      Account.makeAccount("arbitraryAccountID", UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID"));
+      Account.makeAccount("arbitraryID", UserInterfaceTerminal.getPlayerIDStatic("arbitraryID"), 42.0f);
 
-         TEST_OUTPUT.println("serviceRequests() - give: invalid quantity");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "invalidQuantity"});
-         errorFound |= testConsoleOutput("error - invalid quantity: wrong type");
+      // give multiple users access to one of the accounts
+      Account testAccountNew2 = accounts.get("arbitraryID");
+      testAccountNew2.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID1"), null);
+      testAccountNew2.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID2"), null);
+      testAccountNew2.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID3"), null);
 
-         TEST_OUTPUT.println("serviceRequests() - give: zero quantity");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "0"});
-         errorFound |= testConsoleOutput("error - invalid quantity: must be greater than zero");
+      if (accounts.size() != 7)
+         TEST_OUTPUT.println("   warning: total number of accounts is expected to be 7, but is " + accounts.size());
 
-         TEST_OUTPUT.println("serviceRequests() - give: negative quantity");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "-1"});
-         errorFound |= testConsoleOutput("error - invalid quantity: must be greater than zero");
+      // try to save to the test file
+      try {
+         Account.saveAccounts();
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("   Account.saveAccounts() should not throw any exception, but it did\n   was saving changed test accounts");
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - give: with insufficient inventory space");
-         baosOut.reset(); // clear buffer holding console output
-         int inventorySpaceOrig = UserInterfaceTerminal.inventorySpace;
-         UserInterfaceTerminal.inventorySpace = 0; // maximum inventory space is no inventory
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "100"});
-         UserInterfaceTerminal.inventorySpace = inventorySpaceOrig;
-         errorFound |= testConsoleOutput("You don't have enough inventory space");
+      TEST_OUTPUT.println("testUnitAccountIO() - loading from file");
+      // try to load the test file
+      try {
+         Account.loadAccounts();
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("testUnitAccountIO() - Account.loadAccounts() should not throw any exception, but it did\n   was loading changed test accounts");
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - give: invalid ware ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:invalidWareID", "10"});
-         errorFound |= testConsoleOutput("You have been given 10 test:invalidWareID" + System.lineSeparator() + "warning - test:invalidWareID is not usable within the marketplace" + System.lineSeparator());
-         if (!UserInterfaceTerminal.inventory.containsKey("test:invalidWareID")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+      // check whether accounts match known values they were set to
+      try {
+         // test properties
+         testAccount1  = accounts.get("testAccount1");
+         if (testAccountFields(testAccount1, 10.0f, UserInterfaceTerminal.playername)) {
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventory.get("test:invalidWareID") != 10) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:invalidWareID") + " test:invalidWareID, should contain 10");
+            TEST_OUTPUT.println("   testAccount1 had unexpected values");
+         }
+         // test permissions
+         if (testAccount1.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount1 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - give: invalid ware alias");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"invalidWareAlias", "5"});
-         errorFound |= testConsoleOutput("You have been given 5 invalidWareAlias" + System.lineSeparator() + "warning - invalidWareAlias is not usable within the marketplace" + System.lineSeparator());
-         if (!UserInterfaceTerminal.inventory.containsKey("invalidWareAlias")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+         // test properties
+         testAccount2  = accounts.get("testAccount2");
+         if (testAccountFields(testAccount2, 20.0f, UserInterfaceTerminal.playername)) {
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventory.get("invalidWareAlias") != 5) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("invalidWareAlias") + " invalidWareAlias, should contain 5");
+            TEST_OUTPUT.println("   testAccount2 had unexpected values");
+            // set up accounts appropriately for other tests
+            testAccount2.setMoney(20.0f);
+            testAccount2.grantAccess(PLAYER_ID, PLAYER_ID, UserInterfaceTerminal.playername);
+         }
+         // test permissions
+         if (testAccount2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount2 allows access to an arbitrary player ID when it shouldn't");
          }
-         resetTestEnvironment();
 
-         TEST_OUTPUT.println("serviceRequests() - give: valid ware ID");
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1"});
-         if (!UserInterfaceTerminal.inventory.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
-            errorFound = true;
-         } else if (UserInterfaceTerminal.inventory.get("test:material1") != 1) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material1") + " test:material1, should contain 1");
+         // check whether the deleted account exists
+         if (accounts.containsKey("testAccount3")) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount3 was deleted, but still exists");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - give: valid ware alias");
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"mat3"});
-         if (!UserInterfaceTerminal.inventory.containsKey("test:material3")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+         // test properties
+         testAccount4 = accounts.get("testAccount4");
+         if (testAccount4.getMoney() != 6.0f) {
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventory.get("test:material3") != 1) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material3") + " test:material3, should contain 1");
+            TEST_OUTPUT.println("   testAccount4's money should be 6.0f, is " + testAccount4.getMoney());
+         }
+         // test permissions
+         if (testAccount4.hasAccess(PLAYER_ID)) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccount4 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
+         }
+         if (testAccount4.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+            errorFound = true;
+            TEST_OUTPUT.println("   testAccount4 allows access to an arbitrary player ID when it shouldn't");
          }
-         resetTestEnvironment();
-
-         TEST_OUTPUT.println("serviceRequests() - give: invalid coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "invalidCoordinates"});
-         errorFound |= testConsoleOutput("error - invalid quantity");
 
-         TEST_OUTPUT.println("serviceRequests() - give: valid coordinates");
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "down"});
-         if (!UserInterfaceTerminal.inventoryDown.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+         // test properties
+         playerAccount = accounts.get(UserInterfaceTerminal.playername);
+         if (testAccountFields(playerAccount, 30.0f, UserInterfaceTerminal.playername)) {
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventoryDown.get("test:material1") != 1) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryDown.get("test:material1") + " test:material1, should contain 1");
+            TEST_OUTPUT.println("   playerAccount had unexpected values");
+         }
+         // test permissions
+         if (playerAccount.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   playerAccount allows access to an arbitrary player ID when it shouldn't");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - give: zeroed coordinates");
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "none"});
-         if (!UserInterfaceTerminal.inventory.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+         Account testAccountNew1 = accounts.get("arbitraryAccountID");
+         // test properties
+         if (testAccountFields(testAccountNew1, 10.0f, "arbitraryPlayerID")) {
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventory.get("test:material1") != 1) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material1") + " test:material1, should contain 1");
+            TEST_OUTPUT.println("   testAccountNew1 had unexpected values");
+         }
+         // test permissions
+         if (testAccountNew1.hasAccess(PLAYER_ID)) {
+            errorFound = true;
+            TEST_OUTPUT.println("   testAccountNew1 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
+         }
+         if (testAccountNew1.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccountNew1 allows access to an arbitrary player ID when it shouldn't");
          }
 
-         TEST_OUTPUT.println("serviceRequests() - give: quantity and coordinates");
-         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "10", "up"});
-         if (!UserInterfaceTerminal.inventoryUp.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+         testAccountNew2 = accounts.get("arbitraryID");
+         // test properties
+         if (testAccountFields(testAccountNew2, 42.0f, "arbitraryID")) {
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventoryUp.get("test:material1") != 10) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryUp.get("test:material1") + " test:material1, should contain 10");
+            TEST_OUTPUT.println("   testAccountNew2 had unexpected values");
+         }
+         // test permissions
+         if (testAccountNew2.hasAccess(PLAYER_ID)) {
             errorFound = true;
+            TEST_OUTPUT.println("   testAccountNew2 allows access to the player " + UserInterfaceTerminal.playername + " when it shouldn't");
+         }
+         if (testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("possibleID"))) {
+            errorFound = true;
+            TEST_OUTPUT.println("   testAccountNew2 allows access to an arbitrary player ID when it shouldn't");
+         }
+         if (!testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID1")) ||
+             !testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID2")) ||
+             !testAccountNew2.hasAccess(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID3"))) {
+            errorFound = true;
+            TEST_OUTPUT.println("   testAccountNew2 does not allow shared access when it should");
          }
 
-         // to avoid interfering with other tests,
-         // reset the testing environment
-         resetTestEnvironment();
-
-         // take <ware_id> [quantity] [inventory_direction]
-         TEST_OUTPUT.println("serviceRequests() - take: null input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(null);
-         errorFound |= testConsoleOutput("/take <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
+         // check account creation counts
+         if (Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID")) != 1) {
+            errorFound = true;
+            TEST_OUTPUT.println("   arbitraryPlayerID's account creation count is " + Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryPlayerID")) + ", should be 1");
+         }
+         if (Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryID")) != 0) {
+            errorFound = true;
+            TEST_OUTPUT.println("   arbitraryID's account creation count is " + Account.getNumAccountsCreatedByUser(UserInterfaceTerminal.getPlayerIDStatic("arbitraryID")) + ", should be 0");
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - take: empty input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(new String[]{});
-         errorFound |= testConsoleOutput("/take <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
+         if (accounts.size() != 7)
+            TEST_OUTPUT.println("   warning: total number of accounts is expected to be 7, but is " + accounts.size());
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("   fatal error while checking changed accounts: " + e);
+         return false;
+      }
 
-         TEST_OUTPUT.println("serviceRequests() - take: blank input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(new String[]{""});
-         errorFound |= testConsoleOutput("error - zero-length arguments");
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("serviceRequests() - take: too few args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(new String[]{});
-         errorFound |= testConsoleOutput("/take <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
+   /**
+    * Tests converting, parsing, and writing fixed-point money
+    * and accounts holding funds as fixed-point numbers.
+    *
+    * @return whether fixed-point money passed all test cases
+    */
+   private static boolean testUnitFixedPointMoney() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("serviceRequests() - take: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "10", "excessArgument", "excessArgument"});
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         TEST_OUTPUT.println("serviceRequests() - take: invalid quantity");
-         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "invalidQuantity"});
-         errorFound |= testConsoleOutput("error - invalid quantity: wrong type");
+      final String[] AMOUNTS_WRITTEN  = {"0.1", "-12.34567", "1.0E7", "5", "+3.", "0.0005", "922337203685477.5807"};
+      final long[]   AMOUNTS_EXPECTED = {1000L, -123456L, 100000000000L, 50000L, 30000L, 5L, Long.MAX_VALUE};
+      StringBuilder  written          = new StringBuilder();
+      long           units;
 
-         TEST_OUTPUT.println("serviceRequests() - take: zero quantity");
-         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "0"});
-         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory contains ware when it should not");
-            errorFound = true;
+      try {
+         TEST_OUTPUT.println("Money - parsing amounts");
+         for (int i = 0; i < AMOUNTS_WRITTEN.length; i++) {
+            units = Money.parse(AMOUNTS_WRITTEN[i]);
+            if (units != AMOUNTS_EXPECTED[i]) {
+               TEST_OUTPUT.println("   unexpected amount for " + AMOUNTS_WRITTEN[i] + ": " + units + ", should be " + AMOUNTS_EXPECTED[i]);
+               errorFound = true;
+            }
          }
-
-         TEST_OUTPUT.println("serviceRequests() - take: negative quantity");
-         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "-1"});
-         errorFound |= testConsoleOutput("error - invalid quantity: must be greater than zero");
-
-         TEST_OUTPUT.println("serviceRequests() - take: excessive quantity");
-         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "100"});
-         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory contains ware when it should not");
-            errorFound = true;
+         for (String invalid : new String[]{"", "-", "abc", "1.2.3", "99999999999999999999"}) {
+            try {
+               Money.parse(invalid);
+               TEST_OUTPUT.println("   parsing \"" + invalid + "\" should have failed");
+               errorFound = true;
+            } catch (NumberFormatException e) {}
          }
 
-         TEST_OUTPUT.println("serviceRequests() - take: unowned ware ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"unownedWareID"});
-         errorFound |= testConsoleOutput("error - ware not found");
-
-         TEST_OUTPUT.println("serviceRequests() - take: invalid ware ID");
-         UserInterfaceTerminal.inventory.put("test:invalidWareID", 100); // give the player some non-marketplace-compatible wares
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:invalidWareID", "10"});
-         if (!UserInterfaceTerminal.inventory.containsKey("test:invalidWareID")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
-            errorFound = true;
-         } else if (UserInterfaceTerminal.inventory.get("test:invalidWareID") != 90) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:invalidWareID") + " test:invalidWareID, should contain 90");
+         TEST_OUTPUT.println("Money - writing amounts");
+         for (long amount : new long[]{0L, 1000L, -123456L, 5L, 50000L, 123456789012L}) {
+            written.setLength(0);
+            Money.append(written, amount);
+            if (Money.parse(written.toString()) != amount || Money.fromFloat(Float.parseFloat(written.toString())) != Money.fromFloat(Money.toFloat(amount))) {
+               TEST_OUTPUT.println("   unexpected text for " + amount + ": " + written);
+               errorFound = true;
+            }
+         }
+         written.setLength(0);
+         if (!Money.append(written, -5L).toString().equals("-0.0005")) {
+            TEST_OUTPUT.println("   unexpected text for -5: " + written + ", should be -0.0005");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("serviceRequests() - take: invalid ware alias");
-         UserInterfaceTerminal.inventory.put("invalidWareAlias", 10); // give the player some non-marketplace-compatible wares
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"invalidWareAlias", "5"});
-         if (!UserInterfaceTerminal.inventory.containsKey("invalidWareAlias")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+         TEST_OUTPUT.println("Money - converting and saturating");
+         if (Money.fromFloat(0.01f) != 100L || Money.fromFloat(Float.NaN) != 0L || Money.fromFloat(-2.5f) != -25000L) {
+            TEST_OUTPUT.println("   unexpected conversion from floats: " + Money.fromFloat(0.01f) + ", " + Money.fromFloat(Float.NaN) + ", " + Money.fromFloat(-2.5f));
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventory.get("invalidWareAlias") != 5) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("invalidWareAlias") + " invalidWareAlias, should contain 5");
+         }
+         if (Money.add(Long.MAX_VALUE - 1, 10L) != Long.MAX_VALUE || Money.add(Long.MAX_VALUE, -10L) != Long.MAX_VALUE || Money.add(-5L, 3L) != -2L) {
+            TEST_OUTPUT.println("   sums should saturate and infinite funds should stay infinite");
             errorFound = true;
          }
-
-         TEST_OUTPUT.println("serviceRequests() - take: valid ware ID");
-         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1"});
-         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory contains ware when it should not");
+         if (Money.multiply(10000L, 1.5f) != 15000L || Money.toFloat(Money.fromFloat(Float.POSITIVE_INFINITY)) != Float.POSITIVE_INFINITY) {
+            TEST_OUTPUT.println("   unexpected multiplication or infinite conversion");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("serviceRequests() - take: valid ware alias");
-         UserInterfaceTerminal.inventory.put("test:material3", 10); // give the player some wares
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"mat3"});
-         if (UserInterfaceTerminal.inventory.containsKey("test:material3")) {
-            TEST_OUTPUT.println("   inventory contains ware when it should not");
+         TEST_OUTPUT.println("Account - converting to fixed-point money");
+         Config.moneyFixedPoint = true;
+         Account.setFixedPointMoney(true);
+         if (!Account.isFixedPointMoney() || testAccount1.getMoneyUnits() != 100000L || testAccount1.getMoney() != 10.0f) {
+            TEST_OUTPUT.println("   unexpected funds after converting: " + testAccount1.getMoneyUnits() + ", should be 100000");
             errorFound = true;
          }
-         resetTestEnvironment();
-
-         TEST_OUTPUT.println("serviceRequests() - take: invalid coordinates");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "invalidCoordinates"});
-         errorFound |= testConsoleOutput("error - invalid quantity");
 
-         TEST_OUTPUT.println("serviceRequests() - take: valid coordinates");
-         UserInterfaceTerminal.inventoryDown.put("test:material1", 10);
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "down"});
-         if (UserInterfaceTerminal.inventoryDown.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryDown.get("test:material1") + " test:material1, should contain 0");
+         TEST_OUTPUT.println("Account - large balances keep cents");
+         testAccount1.setMoney(100000000.0f);
+         for (int i = 0; i < 100; i++)
+            testAccount1.addMoney(0.01f);
+         testAccount1.subtractMoney(0.25f);
+         if (testAccount1.getMoneyUnits() != 1000000007500L) {
+            TEST_OUTPUT.println("   unexpected funds: " + testAccount1.getMoneyUnits() + ", should be 1000000007500");
             errorFound = true;
          }
-
-         TEST_OUTPUT.println("serviceRequests() - take: zeroed coordinates");
-         UserInterfaceTerminal.inventory.put("test:material1", 10);
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "none"});
-         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material1") + " test:material1, should contain 0");
+         testAccount1.addMoneyUnits(1L);
+         testAccount1.subtractMoneyUnits(2L);
+         if (testAccount1.getMoneyUnits() != 1000000007499L) {
+            TEST_OUTPUT.println("   unexpected funds after exact adjustments: " + testAccount1.getMoneyUnits() + ", should be 1000000007499");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("serviceRequests() - take: quantity and coordinates");
-         UserInterfaceTerminal.inventoryUp.put("test:material1", 10);
-         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "5", "up"});
-         if (!UserInterfaceTerminal.inventoryUp.containsKey("test:material1")) {
-            TEST_OUTPUT.println("   inventory does not contain expected ware");
+         TEST_OUTPUT.println("Account - infinite funds and interest");
+         adminAccount.subtractMoney(1000.0f);
+         if (adminAccount.getMoney() != Float.POSITIVE_INFINITY) {
+            TEST_OUTPUT.println("   unexpected admin funds: " + adminAccount.getMoney() + ", should be infinite");
             errorFound = true;
-         } else if (UserInterfaceTerminal.inventoryUp.get("test:material1") != 5) {
-            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryUp.get("test:material1") + " test:material1, should contain 5");
+         }
+         testAccount2.multiplyMoney(1.05f);
+         if (testAccount2.getMoneyUnits() != 210000L) {
+            TEST_OUTPUT.println("   unexpected funds after interest: " + testAccount2.getMoneyUnits() + ", should be 210000");
             errorFound = true;
          }
 
-         // changeName playername
-         TEST_OUTPUT.println("serviceRequests() - changeName: null input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestChangeName(null);
-         errorFound |= testConsoleOutput("/changeName <player_name>" + System.lineSeparator());
-
-         TEST_OUTPUT.println("serviceRequests() - changeName: empty input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestChangeName(new String[]{});
-         errorFound |= testConsoleOutput("/changeName <player_name>" + System.lineSeparator());
+         TEST_OUTPUT.println("Account - sending fixed-point money");
+         testAccount2.sendMoney(PLAYER_ID, 0.1f, "testAccount2", "testAccount4");
+         if (testAccount2.getMoneyUnits() != 209000L || testAccount4.getMoneyUnits() != 61000L) {
+            TEST_OUTPUT.println("   unexpected funds after sending: " + testAccount2.getMoneyUnits() + " and " + testAccount4.getMoneyUnits() + ", should be 209000 and 61000");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - changeName: blank input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestChangeName(new String[]{""});
-         errorFound |= testConsoleOutput("error - must provide name or ID");
+         TEST_OUTPUT.println("Account - saving and loading fixed-point money");
+         Account.saveAccounts();
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") == null || accounts.get("testAccount1").getMoneyUnits() != 1000000007499L) {
+            TEST_OUTPUT.println("   unexpected funds after reloading: " + (accounts.get("testAccount1") == null ? "missing" : accounts.get("testAccount1").getMoneyUnits()) + ", should be 1000000007499");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - changeName: too few args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestChangeName(new String[]{});
-         errorFound |= testConsoleOutput("/changeName <player_name>" + System.lineSeparator());
+         TEST_OUTPUT.println("Account - migrating floating-point save files");
+         SnapshotWriter.awaitWrites(); // don't let a queued save overwrite the test file
+         FileWriter fileWriter = new FileWriter(Config.filenameAccounts);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "testAccount1,1.2345679E7,9973aa2b-a115-38e1-862e-edb22f969f78\n" +
+            "testAccount4,33.333332\n"
+         );
+         fileWriter.close();
+         Account.loadAccounts();
+         if (accounts.get("testAccount1") == null || accounts.get("testAccount1").getMoneyUnits() != 123456790000L ||
+             accounts.get("testAccount4") == null || accounts.get("testAccount4").getMoneyUnits() != 333333L) {
+            TEST_OUTPUT.println("   floating-point funds were not converted");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - changeName: too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestChangeName(new String[]{"possibleID", "excessArgument"});
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+         TEST_OUTPUT.println("Account - converting back to floating-point money");
+         Config.moneyFixedPoint = false;
+         Account.setFixedPointMoney(false);
+         if (Account.isFixedPointMoney() || accounts.get("testAccount4").getMoney() != 33.3333f) {
+            TEST_OUTPUT.println("   unexpected funds after converting back: " + accounts.get("testAccount4").getMoney() + ", should be 33.3333");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("serviceRequests() - changeName: valid args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequestChangeName(new String[]{"John Doe"});
-         errorFound |= testConsoleOutput("Your name is now John Doe.\nYour old name was John_Doe." + System.lineSeparator());
-         UserInterfaceTerminal.playername = "John_Doe";
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("serviceRequests() - fatal error: " + e);
+         resetTestEnvironment();
+         TEST_OUTPUT.println("Money - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
@@ -9873,11 +10924,11 @@ public final class TestSuite
    }
 
    /**
-    * Tests the command /create for the terminal interface.
+    * Tests various serviceRequest() functions.
     *
-    * @return whether the /create request handler passed all test cases
+    * @return whether all tested serviceRequest() functions passed all of their test cases
     */
-   private static boolean testUnitCreate() {
+   private static boolean testUnitInterfaceServiceRequests() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
@@ -9885,1187 +10936,979 @@ public final class TestSuite
       resetTestEnvironment();
 
       try {
-         // create account_id
-         TEST_OUTPUT.println("create() - no input");
+         // money [account_id]
+         TEST_OUTPUT.println("serviceRequests() - money: null input / minimum args");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/create");
-         errorFound |= testConsoleOutput("/create <account_id>" + System.lineSeparator());
+         UserInterfaceTerminal.serviceRequest("/money");
+         errorFound |= testConsoleOutput("Your account: $30.00" + System.lineSeparator());
 
-         TEST_OUTPUT.println("create() - too many args");
+         TEST_OUTPUT.println("serviceRequests() - money: empty input");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/create possibleAccount excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+         UserInterfaceTerminal.serviceRequest("/money   ");
+         errorFound |= testConsoleOutput("Your account: $30.00" + System.lineSeparator());
 
-         TEST_OUTPUT.println("create() - existing account ID");
+         TEST_OUTPUT.println("serviceRequests() - money: too many args");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/create testAccount1");
-         errorFound |= testConsoleOutput("error - account already exists");
-
-         TEST_OUTPUT.println("create() - valid account ID");
-         UserInterfaceTerminal.serviceRequest("/create possibleAccount");
-         if (!accounts.containsKey("possibleAccount")) {
-            TEST_OUTPUT.println("   failed to create account");
-            errorFound = true;
-            resetTestEnvironment();
-         }
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("create() - fatal error: " + e);
-         e.printStackTrace();
-         return false;
-      }
-
-      return !errorFound;
-   }
-
-   /**
-    * Tests the command /changeStock for the terminal interface.
-    *
-    * @return whether the /changeStock request handler passed all test cases
-    */
-   private static boolean testUnitChangeStock() {
-      // use a flag to signal at least one error being found
-      boolean errorFound = false;
-
-      // ensure testing environment is properly set up
-      resetTestEnvironment();
-
-      // /changeStock <ware_ID> (quantity | equilibrium | overstocked | understocked)
-      try {
-         UserInterfaceTerminal.ops.add(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername));
+         UserInterfaceTerminal.serviceRequest("/money " + UserInterfaceTerminal.playername + " testAccount2 excessArgument");
+         errorFound |= testConsoleOutput("testAccount2: $");
 
-         TEST_OUTPUT.println("changeStock() - null input");
+         TEST_OUTPUT.println("serviceRequests() - money: invalid account ID");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/changeStock");
-         errorFound |= testConsoleOutput("/changeStock <ware_id> (<quantity> | equilibrium | overstocked | understocked)");
+         UserInterfaceTerminal.serviceRequest("/money invalidAccount");
+         errorFound |= testConsoleOutput("error - account not found: invalidAccount");
 
-         TEST_OUTPUT.println("changeStock() - too few args");
+         TEST_OUTPUT.println("serviceRequests() - money: valid account ID");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/changeStock testWare1");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+         UserInterfaceTerminal.serviceRequest("/money testAccount2");
+         errorFound |= testConsoleOutput("testAccount2: $");
 
-         TEST_OUTPUT.println("changeStock() - too many args");
+         TEST_OUTPUT.println("serviceRequests() - money: empty username");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/changeStock testWare1 100 excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+         UserInterfaceTerminal.serviceRequest("/money  testAccount2");
+         errorFound |= testConsoleOutput("error - zero-length arguments");
 
-         TEST_OUTPUT.println("changeStock() - invalid ware ID");
+         TEST_OUTPUT.println("serviceRequests() - money: different username");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/changeStock invalidWare 0");
-         errorFound |= testConsoleOutput("error - ware not found");
+         UserInterfaceTerminal.serviceRequest("/money possibleID testAccount3");
+         errorFound |= testConsoleOutput("(for possibleID) testAccount3: $");
 
-         TEST_OUTPUT.println("changeStock() - invalid quantity");
+         // grantAccess player_id account_id
+         TEST_OUTPUT.println("serviceRequests() - grantAccess: no input");
          baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/changeStock test:material1 invalidQuantity");
-         errorFound |= testConsoleOutput("error - invalid quantity");
+         UserInterfaceTerminal.serviceRequest("/grantAccess");
+         errorFound |= testConsoleOutput("/grantAccess <player_name> <account_id>" + System.lineSeparator());
 
-         TEST_OUTPUT.println("changeStock() - zero quantity");
-         errorFound |= testerChangeStock(testWare1, testWare1.getQuantity(), "0");
+         TEST_OUTPUT.println("serviceRequests() - grantAccess: too few args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-         TEST_OUTPUT.println("changeStock() - negative quantity");
-         errorFound |= testerChangeStock(testWare3, testWare3.getQuantity() - 10, "-10");
+         TEST_OUTPUT.println("serviceRequests() - grantAccess: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID testAccount1 excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-         TEST_OUTPUT.println("changeStock() - positive quantity");
-         errorFound |= testerChangeStock(testWareP1, testWareP1.getQuantity() + 100, "100");
+         TEST_OUTPUT.println("serviceRequests() - grantAccess: invalid account ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID invalidAccount");
+         errorFound |= testConsoleOutput("error - account not found");
 
-         TEST_OUTPUT.println("changeStock() - equilibrium");
-         errorFound |= testerChangeStock(testWare4, Config.quanEquilibrium[testWare4.getLevel()], "equilibrium");
+         TEST_OUTPUT.println("serviceRequests() - grantAccess: valid account ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/grantAccess possibleID testAccount1");
+         errorFound |= testConsoleOutput("possibleID may now access testAccount1");
 
-         TEST_OUTPUT.println("changeStock() - overstocked");
-         errorFound |= testerChangeStock(testWare1, Config.quanExcessive[testWare1.getLevel()], "overstocked");
+         // revokeAccess player_id account_id
+         TEST_OUTPUT.println("serviceRequests() - revokeAccess: no input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/revokeAccess");
+         errorFound |= testConsoleOutput("/revokeAccess <player_name> <account_id>" + System.lineSeparator());
 
-         TEST_OUTPUT.println("changeStock() - understocked");
-         errorFound |= testerChangeStock(testWare3, Config.quanDeficient[testWare3.getLevel()], "understocked");
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("changeStock() - fatal error: " + e);
-         e.printStackTrace();
-         return false;
-      }
+         TEST_OUTPUT.println("serviceRequests() - revokeAccess: too few args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-      return !errorFound;
-   }
+         TEST_OUTPUT.println("serviceRequests() - revokeAccess: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID testAccount1 excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-   /**
-    * Tests AI's trading, configuration, and handling.
-    *
-    * @return whether AI passed all test cases
-    */
-   @SuppressWarnings("unchecked") // for grabbing private variables
-   private static boolean testUnitAI() {
-      // use a flag to signal at least one error being found
-      boolean errorFound = false;
+         TEST_OUTPUT.println("serviceRequests() - revokeAccess: invalid account ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID invalidAccount");
+         errorFound |= testConsoleOutput("error - account not found");
 
-      // ensure testing environment is properly set up
-      resetTestEnvironment();
-      Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-      Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
-      File       fileAIProfessions       = new File(Config.filenameAIProfessions);
-      FileWriter fileWriter;
+         TEST_OUTPUT.println("serviceRequests() - revokeAccess: valid account ID");
+         testAccount1.grantAccess(null, UserInterfaceTerminal.getPlayerIDStatic("possibleID"), null);
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/revokeAccess possibleID testAccount1");
+         errorFound |= testConsoleOutput("possibleID may no longer access testAccount1");
 
-      Config.enableAI         = true;
-      Config.aiTradeFrequency = 999999999;
-      Config.aiRandomness     = 0.0f;
+         // save
+         // don't overwrite user saves
+         Config.filenameWaresSave = "config" + File.separator + "CommandEconomy" + File.separator + "testWaresSaved.txt";
+         Config.filenameAccounts = "config" + File.separator + "CommandEconomy" + File.separator + "testAccounts.txt";
 
-      // prepare to set up test AI
-      AI testAI1;
-      AI testAI2;
-      AI testAI3;
-      String[] purchasablesIDs;           // IDs for wares the AI may buy
-      String[] sellablesIDs;              // IDs for wares the AI may sell
-      HashMap<String, Float> preferences; // biases the AI carries toward wares and trade decisions
-      HashMap<Ware, Integer> tradesPending = new HashMap<Ware, Integer>(); // contains AI trade decisions before finalization
+         TEST_OUTPUT.println("serviceRequests() - save: no input");
+         baosOut.reset(); // clear buffer holding console output
+         baosErr.reset();
+         UserInterfaceTerminal.serviceRequest("/save");
+         errorFound |= testConsoleOutput("Saved the economy" + System.lineSeparator());
+         if (!baosErr.toString().isEmpty()) {
+            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+            errorFound = true;
+         }
 
-      // prepare to grab internal variables
-      Field     fTimer;           // used to check whether feature is running
-      Timer     timerAIHandler;
-      Field     fTimerTask;
-      AIHandler aiHandler;
-      Field     fTradeFrequency;  // how often AI make trading decisions
-      long      tradeFrequency;
-      Field     fProfessions;     // used to check loaded AI professions
-      HashMap<String, AI> professions;
-      Field     fActiveAI;        // used to check AI currently running
-      AI[]      activeAI;
-      Field     fPurchasablesIDs; // used to check loading wares from file
-      Field     fSellablesIDs;    // used to check loading wares from file
-      Field     fPurchasables;    // wares the AI may buy
-      Object[]  purchasables;
+         TEST_OUTPUT.println("serviceRequests() - save: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         baosErr.reset();
+         UserInterfaceTerminal.serviceRequest("/save excessArgument");
+         errorFound |= testConsoleOutput("Saved the economy" + System.lineSeparator());
+         if (!baosErr.toString().isEmpty()) {
+            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+            errorFound = true;
+         }
 
-      // track changes to variables
-      AI  ai;               // AI currently being checked
-      int quantityToTrade1; // how many units AI should trade at once for the test case's first ware
-      int quantityToTrade2; // how many units AI should trade at once for the test case's second ware
-      int quantityToTrade3; // how many units AI should trade at once for the test case's third ware
-      int quantityWare1;    // ware's quantity available for sale for the test case's first ware
-      int quantityWare2;    // ware's quantity available for sale for the test case's second ware
-      int quantityWare3;    // ware's quantity available for sale for the test case's third ware
+         // reload (config || wares || accounts || all)
+         TEST_OUTPUT.println("serviceRequests() - reload: no input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/reload");
+         errorFound |= testConsoleOutput("/commandeconomy reload (config | wares | accounts | all)" + System.lineSeparator());
 
-      // ensure professions file doesn't affect next test run
-      if (fileAIProfessions.exists())
-         fileAIProfessions.delete();
+         TEST_OUTPUT.println("serviceRequests() - reload: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/reload wares excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-      try {
-         // set up test AI
-         // testAI1: simple as possible
-         // buys testWare1
-         purchasablesIDs = new String[]{"test:material1"};
-         testAI1         = new AI("testAI1", purchasablesIDs, null, null);
+         TEST_OUTPUT.println("serviceRequests() - reload: invalid arg");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/reload invalidArgument");
+         errorFound |= testConsoleOutput("error - invalid argument");
 
-         // testAI2: simple + buys and sells
-         // buys testWare2
-         // sells testWareC1
-         purchasablesIDs = new String[]{"test:material2"};
-         sellablesIDs    = new String[]{"test:crafted1"};
-         testAI2         = new AI("testAI2", purchasablesIDs, sellablesIDs, null);
+         TEST_OUTPUT.println("serviceRequests() - reload: config");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         errorFound |= testConsoleOutput("Reloaded config." + System.lineSeparator());
 
-         // testAI3: has preferences
-         // buys testWare1, testWare3
-         // sells testWareC2
-         // prefers testWare3 by +10%
-         purchasablesIDs = new String[]{"test:material1", "test:material3"};
-         sellablesIDs    = new String[]{"test:crafted2"};
-         preferences     = new HashMap<String, Float>(1, 1.0f);
-         preferences.put("test:crafted2", 1.10f);
-         testAI3         = new AI("testAI3", purchasablesIDs, sellablesIDs, preferences);
+         TEST_OUTPUT.println("serviceRequests() - reload: wares");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/reload wares");
+         errorFound |= testConsoleOutput("Reloaded wares." + System.lineSeparator());
 
-         // grab references to AI handler attributes
-         fProfessions    = AIHandler.class.getDeclaredField("professions");
-         fActiveAI       = AIHandler.class.getDeclaredField("activeAI");
-         fTimer          = AIHandler.class.getDeclaredField("timerAIHandler");
-         fTimerTask      = AIHandler.class.getDeclaredField("timerTaskAIHandler");
-         fTradeFrequency = AIHandler.class.getDeclaredField("oldFrequency");
-         fProfessions.setAccessible(true);
-         fActiveAI.setAccessible(true);
-         fTimer.setAccessible(true);
-         fTimerTask.setAccessible(true);
-         fTradeFrequency.setAccessible(true);
+         TEST_OUTPUT.println("serviceRequests() - reload: accounts");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/reload accounts");
+         errorFound |= testConsoleOutput("Reloaded accounts." + System.lineSeparator());
 
-         // grab references to AI attributes
-         fPurchasablesIDs = AI.class.getDeclaredField("purchasablesIDs");
-         fSellablesIDs    = AI.class.getDeclaredField("sellablesIDs");
-         fPurchasables    = AI.class.getDeclaredField("purchasables");
-         fPurchasablesIDs.setAccessible(true);
-         fSellablesIDs.setAccessible(true);
-         fPurchasables.setAccessible(true);
+         TEST_OUTPUT.println("serviceRequests() - reload: total reload");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/reload all");
+         errorFound |= testConsoleOutput("Reloaded config, wares, and accounts." + System.lineSeparator());
 
-         // ensure config file supports AI
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "enableAI              = true\n" +
-            "aiTradeFrequency      = 999999999\n" +
-            "aiRandomness          = 0.0\n" +
-            "disableAutoSaving     = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
+         // for paranoia's sake, reload the testing environment
+         // to avoid any possibility of interfering with other tests
+         resetTestEnvironment();
 
-         // set up AI thread
-         AIHandler.startOrReconfig();                  // create thread
-         timerAIHandler = (Timer) fTimer.get(null);     // grab references to thread
-         aiHandler      = (AIHandler) fTimerTask.get(null);
+         // add quantity [account_id]
+         TEST_OUTPUT.println("serviceRequests() - add: null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/add");
+         errorFound |= testConsoleOutput("/add <quantity> [account_id]" + System.lineSeparator());
 
-         TEST_OUTPUT.println("AI - missing file");
-         // initialize AI
-         try {
-            aiHandler.run(); // process command to load
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   startOrReconfig() should not throw any exception, but it did while loading missing AI professions file");
-            e.printStackTrace();
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("serviceRequests() - add: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/add 10.0 testAccount2 excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-         // check loaded AI information
-         professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (professions != null) {
-            TEST_OUTPUT.println("   professions were loaded when they shouldn't have been");
-            professions = null;
-            errorFound = true;
-         }
-         activeAI = (AI[]) fActiveAI.get(null);
-         if (activeAI != null) {
-            TEST_OUTPUT.println("   activeAI were loaded when they shouldn't have been");
-            activeAI = null;
+         TEST_OUTPUT.println("serviceRequests() - add: invalid quantity");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/add invalidQuantity");
+         errorFound |= testConsoleOutput("error - invalid quantity");
+
+         TEST_OUTPUT.println("serviceRequests() - add: invalid account ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/add 10.0 invalidAccount");
+         errorFound |= testConsoleOutput("error - account not found");
+
+         TEST_OUTPUT.println("serviceRequests() - add: minimum args");
+         playerAccount.setMoney(30.0f);
+         UserInterfaceTerminal.serviceRequest("/add 10.0");
+         if (testAccountFields(playerAccount, 40.0f, UserInterfaceTerminal.playername)) {
             errorFound = true;
+            resetTestEnvironment();
          }
 
+         TEST_OUTPUT.println("serviceRequests() - add: valid account ID");
+         testAccount2.setMoney(20.0f);
+         UserInterfaceTerminal.serviceRequest("/add 10.0 testAccount2");
+         if (testAccountFields(testAccount2, 30.0f, UserInterfaceTerminal.playername)) {
+            errorFound = true;
+            resetTestEnvironment();
+         }
 
-         TEST_OUTPUT.println("AI - empty file");
-         // create test AI professions file
-         try {
-            // open the config file for AI professions, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameAIProfessions);
+         // set quantity [account_id]
+         TEST_OUTPUT.println("serviceRequests() - set: null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/set");
+         errorFound |= testConsoleOutput("/set <quantity> [account_id]" + System.lineSeparator());
 
-            // write test events file
-            fileWriter.write(
-               ""
-            );
+         TEST_OUTPUT.println("serviceRequests() - set: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/set 10.0 testAccount2 excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test AI professions file");
-            e.printStackTrace();
-            return false;
+         TEST_OUTPUT.println("serviceRequests() - set: invalid quantity");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/set invalidQuantity");
+         errorFound |= testConsoleOutput("error - invalid quantity");
+
+         TEST_OUTPUT.println("serviceRequests() - set: invalid account ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/set 10.0 invalidAccount");
+         errorFound |= testConsoleOutput("error - account not found");
+
+         TEST_OUTPUT.println("serviceRequests() - set: minimum args");
+         playerAccount.setMoney(30.0f);
+         UserInterfaceTerminal.serviceRequest("/set 10.0");
+         if (testAccountFields(playerAccount, 10.0f, UserInterfaceTerminal.playername)) {
+            errorFound = true;
+            resetTestEnvironment();
          }
 
-         // try to load the test file
-         try {
-            AIHandler.load();
-            aiHandler.run();
+         TEST_OUTPUT.println("serviceRequests() - set: valid account ID");
+         testAccount2.setMoney(20.0f);
+         UserInterfaceTerminal.serviceRequest("/set 10.0 testAccount2");
+         if (testAccountFields(testAccount2, 10.0f, UserInterfaceTerminal.playername)) {
+            errorFound = true;
+            resetTestEnvironment();
          }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   load() should not throw any exception, but it did while loading test professions file");
-            e.printStackTrace();
+
+         // printMarket
+         // don't worry about changing the file written to since its data is meant to be temporary
+         TEST_OUTPUT.println("serviceRequests() - printMarket: null input");
+         baosOut.reset(); // clear buffer holding console output
+         baosErr.reset();
+         UserInterfaceTerminal.serviceRequest("/printMarket");
+         if (baosOut.toString().isEmpty()) {
+            TEST_OUTPUT.println("   expected console output and received none");
+            errorFound = true;
+         }
+         if (!baosErr.toString().isEmpty()) {
+            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
             errorFound = true;
          }
 
-         // check loaded AI information
-         professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (professions != null) {
-            TEST_OUTPUT.println("   professions were loaded when they shouldn't have been");
-            professions = null;
+         TEST_OUTPUT.println("serviceRequests() - printMarket: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         baosErr.reset();
+         UserInterfaceTerminal.serviceRequest("/printMarket excessArgument");
+         if (baosOut.toString().isEmpty()) {
+            TEST_OUTPUT.println("   expected console output and received none");
             errorFound = true;
          }
-         activeAI = (AI[]) fActiveAI.get(null);
-         if (activeAI != null) {
-            TEST_OUTPUT.println("   activeAI were loaded when they shouldn't have been");
-            activeAI = null;
+         if (!baosErr.toString().isEmpty()) {
+            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
             errorFound = true;
          }
 
+         // inventory
+         TEST_OUTPUT.println("serviceRequests() - inventory: null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestInventory(null);
+         errorFound |= testConsoleOutput("Your inventory: ");
 
-         TEST_OUTPUT.println("AI - loading valid and invalid professions");
-         Config.activeAI = new String[]{"validAIProfession", "invalidAIProfession"}; // prevents feature from shutting down due to lack of work
+         TEST_OUTPUT.println("serviceRequests() - inventory: empty input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{});
+         errorFound |= testConsoleOutput("Your inventory: ");
 
-         // create test AI professions file
-         try {
-            // open the config file for AI professions, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameAIProfessions);
+         TEST_OUTPUT.println("serviceRequests() - inventory: blank input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{""});
+         errorFound |= testConsoleOutput("Your inventory: ");
 
-            // write test professions file
-            fileWriter.write(
-               "{\n" +
-               "\"validAIProfession\": {\n" +
-               "\"purchasablesIDs\": [\"test:material1\",\"test:crafted1\"],\n" +
-               "\"sellablesIDs\": [\"test:material1\"],\n" +
-               "\"preferences\": { \"test:crafted1\": 0.15 }\n" +
-               "},\n" +
-               "\"invalidAIProfession\": {\n" +
-               "\"purchasablesIDs\": [\"test:material1\",\"test:crafted1\"],\n" +
-               "\"sellablesIDs\": [\"test:material1\"],\n" +
-               "\"preferences\": { \"test:crafted2\": 0.15 }\n" +
-               "}\n" +
-               "}\n"
-            );
+         TEST_OUTPUT.println("serviceRequests() - inventory: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"", "excessArgument"});
+         errorFound |= testConsoleOutput("Your inventory: ");
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test AI professions file");
-            e.printStackTrace();
-            return false;
-         }
+         TEST_OUTPUT.println("serviceRequests() - inventory: expected usage");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{});
+         errorFound |= testConsoleOutput("Your inventory: ");
 
-         // prepare to check for printed error messages
-         baosErr.reset();
+         TEST_OUTPUT.println("serviceRequests() - inventory: invalid coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventory.put("test:material1", 10);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"invalidCoordinates"});
+         errorFound |= testConsoleOutput("error - invalid inventory direction");
 
-         // try to load the test file
-         try {
-            AIHandler.load();
-            aiHandler.run();
+         TEST_OUTPUT.println("serviceRequests() - inventory: zeroed coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventory.put("test:material1", 15);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"none"});
+         if (!baosOut.toString().startsWith("Your inventory: ") ||
+             !baosOut.toString().contains(" 1. test:material1: 15")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+            errorFound = true;
          }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   load() should not throw any exception, but it did while loading test professions file");
-            e.printStackTrace();
+
+         TEST_OUTPUT.println("serviceRequests() - inventory: northward coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventoryNorth.put("test:material3", 10);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"north"});
+         if (!baosOut.toString().startsWith("Northward inventory: ") ||
+             !baosOut.toString().contains(" 1. test:material3: 10")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
             errorFound = true;
          }
 
-         // stop checking for printed error messages
-         streamErrorsProgram.flush();
+         TEST_OUTPUT.println("serviceRequests() - inventory: eastward coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventoryEast.put("minecraft:material4", 10);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"east"});
+         if (!baosOut.toString().startsWith("Eastward inventory: ") ||
+             !baosOut.toString().contains(" 1. minecraft:material4: 10")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+            errorFound = true;
+         }
 
-         // check loaded AI information
-         professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (professions == null) {
-            TEST_OUTPUT.println("   AI professions should have loaded, but professions is null");
+         TEST_OUTPUT.println("serviceRequests() - inventory: westward coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventoryWest.put("test:material1", 5);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"west"});
+         if (!baosOut.toString().startsWith("Westward inventory: ") ||
+             !baosOut.toString().contains(" 1. test:material1: 5")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
             errorFound = true;
-         } else if (professions.size() != 2) {
-            TEST_OUTPUT.println("   AI professions loaded: " + professions.size() + ", should be 2");
+         }
+
+         TEST_OUTPUT.println("serviceRequests() - inventory: southward coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventorySouth.put("test:material2", 5);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"south"});
+         if (!baosOut.toString().startsWith("Southward inventory: ") ||
+             !baosOut.toString().contains(" 1. test:material2: 5")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
             errorFound = true;
          }
 
-         // check error messages
-         if (!baosErr.toString().startsWith(StringTable.ERROR_AI_PREFS_MISMATCH_PRO) ||
-            !baosErr.toString().contains("test:crafted2")) {
-            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+         TEST_OUTPUT.println("serviceRequests() - inventory: upward coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventoryUp.put("test:material3", 5);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"up"});
+         if (!baosOut.toString().startsWith("Upward inventory: ") ||
+             !baosOut.toString().contains(" 1. test:material3: 5")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("AI - loading professions with invalid wares");
-         Config.activeAI = new String[]{"hasPreferences", "hasNoPreferences"}; // prevents feature from shutting down due to lack of work
+         TEST_OUTPUT.println("serviceRequests() - inventory: downward coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventoryDown.put("test:material2", 10);
+         UserInterfaceTerminal.serviceRequestInventory(new String[]{"down"});
+         if (!baosOut.toString().startsWith("Downward inventory: ") ||
+             !baosOut.toString().contains(" 1. test:material2: 10")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+            errorFound = true;
+         }
 
-         // create test AI professions file
-         try {
-            // open the config file for AI professions, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameAIProfessions);
+         // give <ware_id> [quantity] [inventory_direction]
+         TEST_OUTPUT.println("serviceRequests() - give: null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(null);
+         errorFound |= testConsoleOutput("/give <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
 
-            // write test professions file
-            fileWriter.write(
-               "{\n" +
-               "\"hasPreferences\": {\n" +
-               "\"purchasablesIDs\": [\"test:material1\",\"invalidWareAlias\"],\n" +
-               "\"sellablesIDs\": [\"test:material1\"],\n" +
-               "\"preferences\": { \"invalidWareAlias\": 0.15 }\n" +
-               "},\n" +
-               "\"hasNoPreferences\": {\n" +
-               "\"purchasablesIDs\": [\"test:material1\",\"test:invalidWareID\"],\n" +
-               "\"sellablesIDs\": [\"test:material1\"]\n" +
-               "}\n" +
-               "}\n"
-            );
-
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test AI professions file");
-            e.printStackTrace();
-            return false;
-         }
-
-         // try to load the test file
-         try {
-            AIHandler.load();
-            aiHandler.run();
-            aiHandler.stop = true; // prevent any unintentional trading
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   load() should not throw any exception, but it did while loading test professions file");
-            e.printStackTrace();
-            errorFound = true;
-         }
-
-         // check loaded AI information
-         professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (professions == null) {
-            TEST_OUTPUT.println("   AI professions should have loaded, but professions is null");
-            errorFound = true;
-         } else {
-            // check total size
-            if (professions.size() != 2) {
-               TEST_OUTPUT.println("   AI professions loaded: " + professions.size() + ", should be 2");
-               errorFound = true;
-            }
+         TEST_OUTPUT.println("serviceRequests() - give: empty input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{});
+         errorFound |= testConsoleOutput("/give <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
 
-            // check AI profession with preferences
-            ai = professions.get("hasPreferences");
-            if (ai != null) {
-               // grab data
-               purchasablesIDs = (String[]) fPurchasablesIDs.get(ai);
-               purchasables    = (Object[]) fPurchasables.get(ai);
+         TEST_OUTPUT.println("serviceRequests() - give: blank input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{""});
+         errorFound |= testConsoleOutput("error - zero-length arguments");
 
-               // check saved ware IDs
-               if (purchasablesIDs == null) {
-                  TEST_OUTPUT.println("   AI profession with preferences - purchasablesIDs were not loaded");
-                  errorFound = true;
-               }
-               else {
-                  if (purchasablesIDs.length > 0) {
-                     if (!purchasablesIDs[0].equals("test:material1")) {
-                        TEST_OUTPUT.println("   AI profession with preferences - unexpected purchasablesIDs[0]: " + purchasablesIDs[0] + ", should be test:material1");
-                        errorFound = true;
-                     }
+         TEST_OUTPUT.println("serviceRequests() - give: too few args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{});
+         errorFound |= testConsoleOutput("/give <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
 
-                     if (purchasablesIDs.length > 1) {
-                        if (!purchasablesIDs[1].equals("invalidWareAlias")) {
-                           TEST_OUTPUT.println("   AI profession with preferences - unexpected purchasablesIDs[1]: " + purchasablesIDs[1] + ", should be invalidWareAlias");
-                           errorFound = true;
-                        }
-                     }
-                     else {
-                        TEST_OUTPUT.println("   AI profession with preferences - purchasablesIDs length is 1, should be 2");
-                        errorFound = true;
-                     }
-                  }
-                  else {
-                     TEST_OUTPUT.println("   AI profession with preferences - purchasablesIDs length is 0, should be 2");
-                     errorFound = true;
-                  }
-               }
+         TEST_OUTPUT.println("serviceRequests() - give: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "10", "excessArgument", "excessArgument"});
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-               // check loaded wares
-               if (purchasables == null) {
-                  TEST_OUTPUT.println("   AI profession with preferences - purchasables were not loaded");
-                  errorFound = true;
-               }
-               else {
-                  if (purchasables.length == 1) {
-                     if (!purchasablesIDs[0].equals(testWare1.getWareID())) {
-                        TEST_OUTPUT.println("   AI profession with preferences - unexpected purchasables[0]: " + purchasablesIDs[0] + ", should be test:material1");
-                        errorFound = true;
-                     }
-                  }
-                  else {
-                     TEST_OUTPUT.println("   AI profession with preferences - purchasables length is " + purchasables.length + ", should be 1");
-                     errorFound = true;
-                  }
-               }
-            }
-         }
+         TEST_OUTPUT.println("serviceRequests() - give: invalid quantity");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "invalidQuantity"});
+         errorFound |= testConsoleOutput("error - invalid quantity: wrong type");
 
+         TEST_OUTPUT.println("serviceRequests() - give: zero quantity");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "0"});
+         errorFound |= testConsoleOutput("error - invalid quantity: must be greater than zero");
 
-         TEST_OUTPUT.println("AI - purchases");
-         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare1.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
-         testWare1.setQuantity(quantityWare1);
+         TEST_OUTPUT.println("serviceRequests() - give: negative quantity");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "-1"});
+         errorFound |= testConsoleOutput("error - invalid quantity: must be greater than zero");
 
-         testAI1.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         TEST_OUTPUT.println("serviceRequests() - give: with insufficient inventory space");
+         baosOut.reset(); // clear buffer holding console output
+         int inventorySpaceOrig = UserInterfaceTerminal.inventorySpace;
+         UserInterfaceTerminal.inventorySpace = 0; // maximum inventory space is no inventory
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "100"});
+         UserInterfaceTerminal.inventorySpace = inventorySpaceOrig;
+         errorFound |= testConsoleOutput("You don't have enough inventory space");
 
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - give: invalid ware ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:invalidWareID", "10"});
+         errorFound |= testConsoleOutput("You have been given 10 test:invalidWareID" + System.lineSeparator() + "warning - test:invalidWareID is not usable within the marketplace" + System.lineSeparator());
+         if (!UserInterfaceTerminal.inventory.containsKey("test:invalidWareID")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
+            errorFound = true;
+         } else if (UserInterfaceTerminal.inventory.get("test:invalidWareID") != 10) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:invalidWareID") + " test:invalidWareID, should contain 10");
             errorFound = true;
          }
 
-
-         // testAI2 buys testWare2 and sells testWareC1
-         // Since both are at equilibrium, testAI2 should buy before selling.
-         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare2.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityToTrade2 = 0;
-         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()];
-         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()];
-         testWare2.setQuantity(quantityWare1);
-         testWareC1.setQuantity(quantityWare2);
-
-         testAI2.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #2): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - give: invalid ware alias");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"invalidWareAlias", "5"});
+         errorFound |= testConsoleOutput("You have been given 5 invalidWareAlias" + System.lineSeparator() + "warning - invalidWareAlias is not usable within the marketplace" + System.lineSeparator());
+         if (!UserInterfaceTerminal.inventory.containsKey("invalidWareAlias")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
             errorFound = true;
-         }
-         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #2): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+         } else if (UserInterfaceTerminal.inventory.get("invalidWareAlias") != 5) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("invalidWareAlias") + " invalidWareAlias, should contain 5");
             errorFound = true;
          }
+         resetTestEnvironment();
 
-         TEST_OUTPUT.println("AI - sales");
-         quantityToTrade1 = 0;
-         quantityToTrade2 = (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = 0; // overstock to avoid selling anything
-         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()];
-         testWare2.setQuantity(quantityWare1);
-         testWareC1.setQuantity(quantityWare2);
-
-         testAI2.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #1): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - give: valid ware ID");
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1"});
+         if (!UserInterfaceTerminal.inventory.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
             errorFound = true;
-         }
-         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #1): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+         } else if (UserInterfaceTerminal.inventory.get("test:material1") != 1) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material1") + " test:material1, should contain 1");
             errorFound = true;
          }
 
-         quantityToTrade1 = 0;
-         quantityToTrade2 = 0;
-         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = 0; // nothing to buy means don't buy anything
-         quantityWare2    = 0;
-         quantityWare3    = Config.quanEquilibrium[testWareC2.getLevel()];
-         testWare1.setQuantity(quantityWare1);
-         testWare3.setQuantity(quantityWare2);
-         testWareC2.setQuantity(quantityWare3);
-
-         testAI3.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
-            errorFound = true;
-         }
-         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #2): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
+         TEST_OUTPUT.println("serviceRequests() - give: valid ware alias");
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"mat3"});
+         if (!UserInterfaceTerminal.inventory.containsKey("test:material3")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
             errorFound = true;
-         }
-         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #2): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
+         } else if (UserInterfaceTerminal.inventory.get("test:material3") != 1) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material3") + " test:material3, should contain 1");
             errorFound = true;
          }
+         resetTestEnvironment();
 
-         TEST_OUTPUT.println("AI - trade decisions, supply and demand");
-         quantityToTrade1 = 0;
-         quantityToTrade2 = (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()];
-         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()] - quantityToTrade2; // lower supply to encourage selling
-         testWare2.setQuantity(quantityWare1);
-         testWareC1.setQuantity(quantityWare2);
-
-         testAI2.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         TEST_OUTPUT.println("serviceRequests() - give: invalid coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "invalidCoordinates"});
+         errorFound |= testConsoleOutput("error - invalid quantity");
 
-         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #1): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - give: valid coordinates");
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "down"});
+         if (!UserInterfaceTerminal.inventoryDown.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
             errorFound = true;
-         }
-         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #1): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+         } else if (UserInterfaceTerminal.inventoryDown.get("test:material1") != 1) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryDown.get("test:material1") + " test:material1, should contain 1");
             errorFound = true;
          }
 
-         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare2.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityToTrade2 = 0;
-         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()] + (quantityToTrade1 * 5); // raise supply to increase demand
-         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()] - (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent); // lower supply, but not enough to encourage selling; comparatively, scarity raises prices more than surplus lowers them
-         testWare2.setQuantity(quantityWare1);
-         testWareC1.setQuantity(quantityWare2);
-
-         testAI2.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #2): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - give: zeroed coordinates");
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "none"});
+         if (!UserInterfaceTerminal.inventory.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
             errorFound = true;
-         }
-         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #2): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+         } else if (UserInterfaceTerminal.inventory.get("test:material1") != 1) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material1") + " test:material1, should contain 1");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("AI - trade decisions, preferences");
-         // when everything is at equilibrium, choose the most preferred ware
-         quantityToTrade1 = 0;
-         quantityToTrade2 = 0;
-         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
-         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()];
-         quantityWare3    = Config.quanEquilibrium[testWareC2.getLevel()];
-         testWare1.setQuantity(quantityWare1);
-         testWare3.setQuantity(quantityWare2);
-         testWareC2.setQuantity(quantityWare3);
-
-         testAI3.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
-            errorFound = true;
-         }
-         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #1): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
+         TEST_OUTPUT.println("serviceRequests() - give: quantity and coordinates");
+         UserInterfaceTerminal.serviceRequestGive(new String[]{"test:material1", "10", "up"});
+         if (!UserInterfaceTerminal.inventoryUp.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
             errorFound = true;
-         }
-         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #1): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
+         } else if (UserInterfaceTerminal.inventoryUp.get("test:material1") != 10) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryUp.get("test:material1") + " test:material1, should contain 10");
             errorFound = true;
          }
 
-         // despite prices being better by 5%, choose the ware preferred more by 10%
-         quantityToTrade1 = 0;
-         quantityToTrade2 = 0;
-         quantityToTrade3 = (int) (Config.quanEquilibrium[testWare3.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.05f);
-         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()];
-         quantityWare3    = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * 0.95f);
-         testWare1.setQuantity(quantityWare1);
-         testWare3.setQuantity(quantityWare2);
-         testWareC2.setQuantity(quantityWare3);
+         // to avoid interfering with other tests,
+         // reset the testing environment
+         resetTestEnvironment();
 
-         testAI3.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         // take <ware_id> [quantity] [inventory_direction]
+         TEST_OUTPUT.println("serviceRequests() - take: null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(null);
+         errorFound |= testConsoleOutput("/take <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
 
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
-            errorFound = true;
-         }
-         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #2): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
-            errorFound = true;
-         }
-         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #2): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("serviceRequests() - take: empty input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(new String[]{});
+         errorFound |= testConsoleOutput("/take <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
 
+         TEST_OUTPUT.println("serviceRequests() - take: blank input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(new String[]{""});
+         errorFound |= testConsoleOutput("error - zero-length arguments");
 
-         // when prices are too good to pass up, choose the best deal
-         quantityToTrade1 = 0;
-         quantityToTrade2 = 0;
-         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.05f);
-         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()];
-         quantityWare3    = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * 0.85f);
-         testWare1.setQuantity(quantityWare1);
-         testWare3.setQuantity(quantityWare2);
-         testWareC2.setQuantity(quantityWare3);
+         TEST_OUTPUT.println("serviceRequests() - take: too few args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(new String[]{});
+         errorFound |= testConsoleOutput("/take <ware_id> [quantity] [inventory_direction]" + System.lineSeparator());
 
-         testAI3.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         TEST_OUTPUT.println("serviceRequests() - take: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "10", "excessArgument", "excessArgument"});
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #3): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
-            errorFound = true;
-         }
-         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #3): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
+         TEST_OUTPUT.println("serviceRequests() - take: invalid quantity");
+         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "invalidQuantity"});
+         errorFound |= testConsoleOutput("error - invalid quantity: wrong type");
+
+         TEST_OUTPUT.println("serviceRequests() - take: zero quantity");
+         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "0"});
+         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory contains ware when it should not");
             errorFound = true;
          }
-         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #3): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
+
+         TEST_OUTPUT.println("serviceRequests() - take: negative quantity");
+         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "-1"});
+         errorFound |= testConsoleOutput("error - invalid quantity: must be greater than zero");
+
+         TEST_OUTPUT.println("serviceRequests() - take: excessive quantity");
+         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "100"});
+         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory contains ware when it should not");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("AI - trade decisions, multiple, one ware");
-         quantityToTrade1 = ((int) (Config.quanEquilibrium[testWare1.getLevel()] * Config.aiTradeQuantityPercent)) * 5;
-         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
-         testWare1.setQuantity(quantityWare1);
-
-         testAI1.resetDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         TEST_OUTPUT.println("serviceRequests() - take: unowned ware ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"unownedWareID"});
+         errorFound |= testConsoleOutput("error - ware not found");
 
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - take: invalid ware ID");
+         UserInterfaceTerminal.inventory.put("test:invalidWareID", 100); // give the player some non-marketplace-compatible wares
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:invalidWareID", "10"});
+         if (!UserInterfaceTerminal.inventory.containsKey("test:invalidWareID")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
+            errorFound = true;
+         } else if (UserInterfaceTerminal.inventory.get("test:invalidWareID") != 90) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:invalidWareID") + " test:invalidWareID, should contain 90");
             errorFound = true;
          }
 
+         TEST_OUTPUT.println("serviceRequests() - take: invalid ware alias");
+         UserInterfaceTerminal.inventory.put("invalidWareAlias", 10); // give the player some non-marketplace-compatible wares
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"invalidWareAlias", "5"});
+         if (!UserInterfaceTerminal.inventory.containsKey("invalidWareAlias")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
+            errorFound = true;
+         } else if (UserInterfaceTerminal.inventory.get("invalidWareAlias") != 5) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("invalidWareAlias") + " invalidWareAlias, should contain 5");
+            errorFound = true;
+         }
 
-         quantityToTrade1 = ((int) (Config.quanEquilibrium[testWare1.getLevel()] * Config.aiTradeQuantityPercent)) * 16;
-         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
-         testWare1.setQuantity(quantityWare1);
-
-         testAI1.resetDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.incrementDecisionsPerTradeEvent();
-         testAI1.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         TEST_OUTPUT.println("serviceRequests() - take: valid ware ID");
+         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1"});
+         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory contains ware when it should not");
+            errorFound = true;
+         }
 
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - take: valid ware alias");
+         UserInterfaceTerminal.inventory.put("test:material3", 10); // give the player some wares
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"mat3"});
+         if (UserInterfaceTerminal.inventory.containsKey("test:material3")) {
+            TEST_OUTPUT.println("   inventory contains ware when it should not");
             errorFound = true;
          }
+         resetTestEnvironment();
 
-         TEST_OUTPUT.println("AI - trade decisions, multiple, multiple wares");
-         // testAI2 buys testWare2 and sells testWareC1
-         // Since both are at equilibrium and testAI2 should make three trade decisions,
-         // testAI2 should buy twice and sell once.
-         quantityToTrade1 = ((int) (Config.quanEquilibrium[testWare2.getLevel()] * Config.aiTradeQuantityPercent)) * 2;
-         quantityToTrade2 = (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()];
-         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()];
-         testWare2.setQuantity(quantityWare1);
-         testWareC1.setQuantity(quantityWare2);
+         TEST_OUTPUT.println("serviceRequests() - take: invalid coordinates");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.inventory.put("test:material1", 10); // give the player some wares
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "invalidCoordinates"});
+         errorFound |= testConsoleOutput("error - invalid quantity");
 
-         testAI2.resetDecisionsPerTradeEvent();
-         testAI2.incrementDecisionsPerTradeEvent();
-         testAI2.incrementDecisionsPerTradeEvent();
-         testAI2.incrementDecisionsPerTradeEvent();
-         testAI2.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         TEST_OUTPUT.println("serviceRequests() - take: valid coordinates");
+         UserInterfaceTerminal.inventoryDown.put("test:material1", 10);
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "down"});
+         if (UserInterfaceTerminal.inventoryDown.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryDown.get("test:material1") + " test:material1, should contain 0");
+            errorFound = true;
+         }
 
-         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #1): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         TEST_OUTPUT.println("serviceRequests() - take: zeroed coordinates");
+         UserInterfaceTerminal.inventory.put("test:material1", 10);
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "none"});
+         if (UserInterfaceTerminal.inventory.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventory.get("test:material1") + " test:material1, should contain 0");
             errorFound = true;
          }
-         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #1): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+
+         TEST_OUTPUT.println("serviceRequests() - take: quantity and coordinates");
+         UserInterfaceTerminal.inventoryUp.put("test:material1", 10);
+         UserInterfaceTerminal.serviceRequestTake(new String[]{"test:material1", "5", "up"});
+         if (!UserInterfaceTerminal.inventoryUp.containsKey("test:material1")) {
+            TEST_OUTPUT.println("   inventory does not contain expected ware");
+            errorFound = true;
+         } else if (UserInterfaceTerminal.inventoryUp.get("test:material1") != 5) {
+            TEST_OUTPUT.println("   inventory contains " + UserInterfaceTerminal.inventoryUp.get("test:material1") + " test:material1, should contain 5");
             errorFound = true;
          }
 
-         // when making two trade decisions, choose the two best deals
-         quantityToTrade1 = 0;
-         quantityToTrade2 = (int) (Config.quanEquilibrium[testWare3.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
-         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
-         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()] + quantityToTrade2 + quantityToTrade2;
-         quantityWare3    = Config.quanEquilibrium[testWareC2.getLevel()] - quantityToTrade3 - quantityToTrade3 - quantityToTrade3;
-         testWare1.setQuantity(quantityWare1);
-         testWare3.setQuantity(quantityWare2);
-         testWareC2.setQuantity(quantityWare3);
+         // changeName playername
+         TEST_OUTPUT.println("serviceRequests() - changeName: null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestChangeName(null);
+         errorFound |= testConsoleOutput("/changeName <player_name>" + System.lineSeparator());
 
-         testAI3.resetDecisionsPerTradeEvent();
-         testAI3.incrementDecisionsPerTradeEvent();
-         testAI3.incrementDecisionsPerTradeEvent();
-         testAI3.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+         TEST_OUTPUT.println("serviceRequests() - changeName: empty input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestChangeName(new String[]{});
+         errorFound |= testConsoleOutput("/changeName <player_name>" + System.lineSeparator());
 
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
-            errorFound = true;
-         }
-         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #2): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
-            errorFound = true;
-         }
-         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #2): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("serviceRequests() - changeName: blank input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestChangeName(new String[]{""});
+         errorFound |= testConsoleOutput("error - must provide name or ID");
 
-         TEST_OUTPUT.println("AI - reloading professions");
-         // set state to known values
-         // create test AI professions file
-         try {
-            // open the config file for AI professions, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameAIProfessions);
+         TEST_OUTPUT.println("serviceRequests() - changeName: too few args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestChangeName(new String[]{});
+         errorFound |= testConsoleOutput("/changeName <player_name>" + System.lineSeparator());
 
-            // write test professions file
-            fileWriter.write(
-               "{\n" +
-               "\"possibleAI\": {\n" +
-               "\"purchasablesIDs\": [\"test:material1\"],\n" +
-               "\"sellablesIDs\": [\"test:material2\"]\n" +
-               "}\n" +
-               "}\n"
-            );
+         TEST_OUTPUT.println("serviceRequests() - changeName: too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestChangeName(new String[]{"possibleID", "excessArgument"});
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   (initial setup) unable to create test AI professions file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return false;
-         }
+         TEST_OUTPUT.println("serviceRequests() - changeName: valid args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequestChangeName(new String[]{"John Doe"});
+         errorFound |= testConsoleOutput("Your name is now John Doe.\nYour old name was John_Doe." + System.lineSeparator());
+         UserInterfaceTerminal.playername = "John_Doe";
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("serviceRequests() - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         // try to load the test file
-         try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+      return !errorFound;
+   }
 
-            // grab new references to threads in case it closed during earlier testing
-            timerAIHandler = (Timer) fTimer.get(null);     // grab references to thread
-            aiHandler      = (AIHandler) fTimerTask.get(null);
+   /**
+    * Tests the command /create for the terminal interface.
+    *
+    * @return whether the /create request handler passed all test cases
+    */
+   private static boolean testUnitCreate() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-            Config.activeAI = new String[]{"possibleAI"}; // ensure there are AI to be run so thread doesn't close
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-            aiHandler.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   (initial setup) load() should not throw any exception, but it did while loading test professions file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            errorFound = true;
-         }
+      try {
+         // create account_id
+         TEST_OUTPUT.println("create() - no input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/create");
+         errorFound |= testConsoleOutput("/create <account_id>" + System.lineSeparator());
 
-         // check loaded AI information
-         professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (professions == null) {
-            TEST_OUTPUT.println("   (initial setup) AI profession should have loaded, but professions is null");
-            errorFound = true;
-         } else {
-            // check AI profession's wares
-            ai = professions.get("possibleAI");
-            if (ai != null) {
-               // grab data
-               purchasablesIDs = (String[]) fPurchasablesIDs.get(ai);
-               sellablesIDs    = (String[]) fSellablesIDs.get(ai);
+         TEST_OUTPUT.println("create() - too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/create possibleAccount excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-               // check saved ware IDs for buying
-               if (purchasablesIDs == null) {
-                  TEST_OUTPUT.println("   (initial setup) purchasablesIDs were not loaded");
-                  errorFound = true;
-               }
-               else {
-                  if (purchasablesIDs.length == 1) {
-                     if (!purchasablesIDs[0].equals("test:material1")) {
-                        TEST_OUTPUT.println("   (initial setup) unexpected purchasablesIDs[0]: " + purchasablesIDs[0] + ", should be test:material1");
-                        errorFound = true;
-                     }
-                  }
-                  else {
-                     TEST_OUTPUT.println("   (initial setup) purchasablesIDs length is " + purchasablesIDs.length + ", should be 1");
-                     errorFound = true;
-                  }
-               }
+         TEST_OUTPUT.println("create() - existing account ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/create testAccount1");
+         errorFound |= testConsoleOutput("error - account already exists");
 
-               // check saved ware IDs for selling
-               if (sellablesIDs == null) {
-                  TEST_OUTPUT.println("   (initial setup) sellablesIDs were not loaded");
-                  errorFound = true;
-               }
-               else {
-                  if (sellablesIDs.length == 1) {
-                     if (!sellablesIDs[0].equals("test:material2")) {
-                        TEST_OUTPUT.println("   (initial setup) unexpected sellablesIDs[0]: " + sellablesIDs[0] + ", should be test:material2");
-                        errorFound = true;
-                     }
-                  }
-                  else {
-                     TEST_OUTPUT.println("   (initial setup) sellablesIDs length is " + sellablesIDs.length + ", should be 1");
-                     errorFound = true;
-                  }
-               }
-            } else {
-               TEST_OUTPUT.println("   (initial setup) AI profession was not loaded when it should have been");
-               errorFound = true;
-            }
+         TEST_OUTPUT.println("create() - valid account ID");
+         UserInterfaceTerminal.serviceRequest("/create possibleAccount");
+         if (!accounts.containsKey("possibleAccount")) {
+            TEST_OUTPUT.println("   failed to create account");
+            errorFound = true;
+            resetTestEnvironment();
          }
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("create() - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
+      return !errorFound;
+   }
 
-         // change state to new values
-         // create test AI professions file
-         try {
-            // open the config file for AI professions, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameAIProfessions);
+   /**
+    * Tests the command /changeStock for the terminal interface.
+    *
+    * @return whether the /changeStock request handler passed all test cases
+    */
+   private static boolean testUnitChangeStock() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-            // write test professions file
-            fileWriter.write(
-               "{\n" +
-               "\"possibleAI\": {\n" +
-               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"],\n" +
-               "\"sellablesIDs\": [\"test:crafted3\", \"test:material1\", \"test:processed1\"]\n" +
-               "}\n" +
-               "}\n"
-            );
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   (changed values) unable to create test AI professions file");
-            e.printStackTrace();
-            return false;
-         }
+      // /changeStock <ware_ID> (quantity | equilibrium | overstocked | understocked)
+      try {
+         UserInterfaceTerminal.ops.add(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername));
 
-         // try to load the test file
-         try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+         TEST_OUTPUT.println("changeStock() - null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/changeStock");
+         errorFound |= testConsoleOutput("/changeStock <ware_id> (<quantity> | equilibrium | overstocked | understocked)");
 
-            // grab new references to threads in case it closed during earlier testing
-            timerAIHandler = (Timer) fTimer.get(null);     // grab references to thread
-            aiHandler      = (AIHandler) fTimerTask.get(null);
+         TEST_OUTPUT.println("changeStock() - too few args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/changeStock testWare1");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-            Config.activeAI = new String[]{"possibleAI"}; // ensure there are AI to be run so thread doesn't close
+         TEST_OUTPUT.println("changeStock() - too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/changeStock testWare1 100 excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-            aiHandler.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   (changed values) load() should not throw any exception, but it did while loading test professions file");
-            e.printStackTrace();
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("changeStock() - invalid ware ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/changeStock invalidWare 0");
+         errorFound |= testConsoleOutput("error - ware not found");
 
-         // check loaded AI information
-         professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (professions == null) {
-            TEST_OUTPUT.println("   (changed values) AI profession should have loaded, but professions is null");
-            errorFound = true;
-         } else {
-            // check AI profession's wares
-            ai = professions.get("possibleAI");
-            if (ai != null) {
-               // grab data
-               purchasablesIDs = (String[]) fPurchasablesIDs.get(ai);
-               sellablesIDs    = (String[]) fSellablesIDs.get(ai);
+         TEST_OUTPUT.println("changeStock() - invalid quantity");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/changeStock test:material1 invalidQuantity");
+         errorFound |= testConsoleOutput("error - invalid quantity");
 
-               // check saved ware IDs for buying
-               if (purchasablesIDs == null) {
-                  TEST_OUTPUT.println("   (changed values) purchasablesIDs were not loaded");
-                  errorFound = true;
-               }
-               else {
-                  if (purchasablesIDs.length == 2) {
-                     if (!purchasablesIDs[0].equals("test:processed1")) {
-                        TEST_OUTPUT.println("   (changed values) unexpected purchasablesIDs[0]: " + purchasablesIDs[0] + ", should be test:processed1");
-                        errorFound = true;
-                     }
-                     if (!purchasablesIDs[1].equals("material4")) {
-                        TEST_OUTPUT.println("   (changed values) unexpected purchasablesIDs[1]: " + purchasablesIDs[1] + ", should be material4");
-                        errorFound = true;
-                     }
-                  }
-                  else {
-                     TEST_OUTPUT.println("   (changed values) purchasablesIDs length is " + purchasablesIDs.length + ", should be 2");
-                     errorFound = true;
-                  }
-               }
+         TEST_OUTPUT.println("changeStock() - zero quantity");
+         errorFound |= testerChangeStock(testWare1, testWare1.getQuantity(), "0");
 
-               // check saved ware IDs for selling
-               if (sellablesIDs == null) {
-                  TEST_OUTPUT.println("   (changed values) sellablesIDs were not loaded");
-                  errorFound = true;
-               }
-               else {
-                  if (sellablesIDs.length == 3) {
-                     if (!sellablesIDs[0].equals("test:crafted3")) {
-                        TEST_OUTPUT.println("   (changed values) unexpected sellablesIDs[0]: " + sellablesIDs[0] + ", should be test:crafted3");
-                        errorFound = true;
-                     }
-                     if (!sellablesIDs[1].equals("test:material1")) {
-                        TEST_OUTPUT.println("   (changed values) unexpected sellablesIDs[1]: " + sellablesIDs[1] + ", should be test:material1");
-                        errorFound = true;
-                     }
-                     if (!sellablesIDs[2].equals("test:processed1")) {
-                        TEST_OUTPUT.println("   (changed values) unexpected sellablesIDs[2]: " + sellablesIDs[2] + ", should be test:processed1");
-                        errorFound = true;
-                     }
-                  }
-                  else {
-                     TEST_OUTPUT.println("   (changed values) sellablesIDs length is " + sellablesIDs.length + ", should be 3");
-                     errorFound = true;
-                  }
-               }
-            } else {
-               TEST_OUTPUT.println("   (changed values) AI profession was not loaded when it should have been");
-               errorFound = true;
-            }
-         }
+         TEST_OUTPUT.println("changeStock() - negative quantity");
+         errorFound |= testerChangeStock(testWare3, testWare3.getQuantity() - 10, "-10");
 
-         TEST_OUTPUT.println("AI - reloading trading frequency");
-         // set up config file to known value
+         TEST_OUTPUT.println("changeStock() - positive quantity");
+         errorFound |= testerChangeStock(testWareP1, testWareP1.getQuantity() + 100, "100");
+
+         TEST_OUTPUT.println("changeStock() - equilibrium");
+         errorFound |= testerChangeStock(testWare4, Config.quanEquilibrium[testWare4.getLevel()], "equilibrium");
+
+         TEST_OUTPUT.println("changeStock() - overstocked");
+         errorFound |= testerChangeStock(testWare1, Config.quanExcessive[testWare1.getLevel()], "overstocked");
+
+         TEST_OUTPUT.println("changeStock() - understocked");
+         errorFound |= testerChangeStock(testWare3, Config.quanDeficient[testWare3.getLevel()], "understocked");
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("changeStock() - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+
+      return !errorFound;
+   }
+
+   /**
+    * Tests AI's trading, configuration, and handling.
+    *
+    * @return whether AI passed all test cases
+    */
+   @SuppressWarnings("unchecked") // for grabbing private variables
+   private static boolean testUnitAI() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+      Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+      File       fileAIProfessions       = new File(Config.filenameAIProfessions);
+      FileWriter fileWriter;
+
+      Config.enableAI         = true;
+      Config.aiTradeFrequency = 999999999;
+      Config.aiRandomness     = 0.0f;
+
+      // prepare to set up test AI
+      AI testAI1;
+      AI testAI2;
+      AI testAI3;
+      String[] purchasablesIDs;           // IDs for wares the AI may buy
+      String[] sellablesIDs;              // IDs for wares the AI may sell
+      HashMap<String, Float> preferences; // biases the AI carries toward wares and trade decisions
+      HashMap<Ware, Integer> tradesPending = new HashMap<Ware, Integer>(); // contains AI trade decisions before finalization
+
+      // prepare to grab internal variables
+      Field     fTimer;           // used to check whether feature is running
+      MarketScheduler.Task taskAIHandler;
+      Field     fTimerTask;
+      AIHandler aiHandler;
+      Field     fTradeFrequency;  // how often AI make trading decisions
+      long      tradeFrequency;
+      Field     fProfessions;     // used to check loaded AI professions
+      HashMap<String, AI> professions;
+      Field     fActiveAI;        // used to check AI currently running
+      AI[]      activeAI;
+      Field     fPurchasablesIDs; // used to check loading wares from file
+      Field     fSellablesIDs;    // used to check loading wares from file
+      Field     fPurchasables;    // wares the AI may buy
+      Object[]  purchasables;
+
+      // track changes to variables
+      AI  ai;               // AI currently being checked
+      int quantityToTrade1; // how many units AI should trade at once for the test case's first ware
+      int quantityToTrade2; // how many units AI should trade at once for the test case's second ware
+      int quantityToTrade3; // how many units AI should trade at once for the test case's third ware
+      int quantityWare1;    // ware's quantity available for sale for the test case's first ware
+      int quantityWare2;    // ware's quantity available for sale for the test case's second ware
+      int quantityWare3;    // ware's quantity available for sale for the test case's third ware
+
+      // ensure professions file doesn't affect next test run
+      if (fileAIProfessions.exists())
+         fileAIProfessions.delete();
+
+      try {
+         // set up test AI
+         // testAI1: simple as possible
+         // buys testWare1
+         purchasablesIDs = new String[]{"test:material1"};
+         testAI1         = new AI("testAI1", purchasablesIDs, null, null);
+
+         // testAI2: simple + buys and sells
+         // buys testWare2
+         // sells testWareC1
+         purchasablesIDs = new String[]{"test:material2"};
+         sellablesIDs    = new String[]{"test:crafted1"};
+         testAI2         = new AI("testAI2", purchasablesIDs, sellablesIDs, null);
+
+         // testAI3: has preferences
+         // buys testWare1, testWare3
+         // sells testWareC2
+         // prefers testWare3 by +10%
+         purchasablesIDs = new String[]{"test:material1", "test:material3"};
+         sellablesIDs    = new String[]{"test:crafted2"};
+         preferences     = new HashMap<String, Float>(1, 1.0f);
+         preferences.put("test:crafted2", 1.10f);
+         testAI3         = new AI("testAI3", purchasablesIDs, sellablesIDs, preferences);
+
+         // grab references to AI handler attributes
+         fProfessions    = AIHandler.class.getDeclaredField("professions");
+         fActiveAI       = AIHandler.class.getDeclaredField("activeAI");
+         fTimer          = AIHandler.class.getDeclaredField("taskAIHandler");
+         fTimerTask      = AIHandler.class.getDeclaredField("aiHandler");
+         fTradeFrequency = AIHandler.class.getDeclaredField("oldFrequency");
+         fProfessions.setAccessible(true);
+         fActiveAI.setAccessible(true);
+         fTimer.setAccessible(true);
+         fTimerTask.setAccessible(true);
+         fTradeFrequency.setAccessible(true);
+
+         // grab references to AI attributes
+         fPurchasablesIDs = AI.class.getDeclaredField("purchasablesIDs");
+         fSellablesIDs    = AI.class.getDeclaredField("sellablesIDs");
+         fPurchasables    = AI.class.getDeclaredField("purchasables");
+         fPurchasablesIDs.setAccessible(true);
+         fSellablesIDs.setAccessible(true);
+         fPurchasables.setAccessible(true);
+
+         // ensure config file supports AI
          fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
          fileWriter.write(
             "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "aiTradeFrequency       = 100\n" +
-            "enableAI               = true\n" +
-            "aiRandomness           = 0.0\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
+            "enableAI              = true\n" +
+            "aiTradeFrequency      = 999999999\n" +
+            "aiRandomness          = 0.0\n" +
+            "disableAutoSaving     = true\n" +
+            "crossWorldMarketplace = true\n"
          );
          fileWriter.close();
 
-         // try to reload configuration
+         // set up AI thread
+         AIHandler.startOrReconfig();                  // create thread
+         taskAIHandler  = (MarketScheduler.Task) fTimer.get(null);     // grab references to thread
+         aiHandler      = (AIHandler) fTimerTask.get(null);
+
+         TEST_OUTPUT.println("AI - missing file");
+         // initialize AI
          try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+            aiHandler.run(); // process command to load
          }
          catch (Exception e) {
-            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
+            TEST_OUTPUT.println("   startOrReconfig() should not throw any exception, but it did while loading missing AI professions file");
             e.printStackTrace();
             errorFound = true;
          }
 
-         // check trade frequency
-         tradeFrequency = (long) fTradeFrequency.get(null);
-         if (tradeFrequency != 6000000L) { // 60000 ms per min.
-            TEST_OUTPUT.println("   unexpected frequency (test #1): " + tradeFrequency + ", should be 6000000");
+         // check loaded AI information
+         professions = (HashMap<String, AI>) fProfessions.get(null);
+         if (professions != null) {
+            TEST_OUTPUT.println("   professions were loaded when they shouldn't have been");
+            professions = null;
             errorFound = true;
          }
-
-         // set up config file to new value
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "aiTradeFrequency       = 123456\n" + // beyond maximum value
-            "enableAI               = true\n" +
-            "aiRandomness           = 0.0\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
-         );
-         fileWriter.close();
-
-         // try to reload configuration
-         try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
-         } 
-         catch (Exception e) {
-            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
-            e.printStackTrace();
+         activeAI = (AI[]) fActiveAI.get(null);
+         if (activeAI != null) {
+            TEST_OUTPUT.println("   activeAI were loaded when they shouldn't have been");
+            activeAI = null;
             errorFound = true;
          }
 
-         // check trade frequency
-         tradeFrequency = (long) fTradeFrequency.get(null);
-         if (tradeFrequency != 2147460000L) { // 60000 ms per min.
-            TEST_OUTPUT.println("   unexpected frequency (test #2): " + tradeFrequency + ", should be 2147460000");
-            errorFound = true;
-         }
 
-         TEST_OUTPUT.println("AI - reloading trading quantity");
-         // create a dummy AI so the thread does not shut down due to a lack of active AI
+         TEST_OUTPUT.println("AI - empty file");
+         // create test AI professions file
          try {
             // open the config file for AI professions, create it if it doesn't exist
             fileWriter = new FileWriter(Config.filenameAIProfessions);
 
-            // write test professions file
+            // write test events file
             fileWriter.write(
-               "{\n" +
-               "\"possibleAI\": {\n" +
-               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"],\n" +
-               "\"sellablesIDs\": [\"test:crafted3\", \"test:processed1\"]\n" +
-               "}\n" +
-               "}\n"
+               ""
             );
 
             // close the file
             fileWriter.close();
          } catch (Exception e) {
-            TEST_OUTPUT.println("   (changed values) unable to create test AI professions file");
+            TEST_OUTPUT.println("   unable to create test AI professions file");
             e.printStackTrace();
             return false;
          }
 
-         // ensure trade decisions are set to 1
-         testAI1.resetDecisionsPerTradeEvent(); // set trade decisions to 1
-         testAI1.incrementDecisionsPerTradeEvent();
-
-         // predict trade quantity with new setting
-         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.5f);
-         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
-         testWare1.setQuantity(quantityWare1);
-
-         // set up config file
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "aiTradeQuantityPercent = 0.5\n" +
-            "activeAI               = possibleAI\n" +
-            "enableAI               = true\n" +
-            "aiTradeFrequency       = 999999999\n" +
-            "aiRandomness           = 0.0\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
-         );
-         fileWriter.close();
-
-         // try to reload configuration
+         // try to load the test file
          try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
-
-            // grab new reference to thread since reloading frequency (the previous test case) should have restarted it
-            aiHandler.stop = true; // prevent any unintentional trading
-            aiHandler = (AIHandler) fTimerTask.get(null);
-
-            aiHandler.run(); // preliminary setup from previous test case
-            aiHandler.run(); // preliminary setup from current test case
-            aiHandler.run(); // recalculation
+            AIHandler.load();
+            aiHandler.run();
          }
          catch (Exception e) {
-            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
+            TEST_OUTPUT.println("   load() should not throw any exception, but it did while loading test professions file");
             e.printStackTrace();
             errorFound = true;
          }
 
-         // run the test
-         testAI1.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+         // check loaded AI information
+         professions = (HashMap<String, AI>) fProfessions.get(null);
+         if (professions != null) {
+            TEST_OUTPUT.println("   professions were loaded when they shouldn't have been");
+            professions = null;
             errorFound = true;
          }
-
-         // predict trade quantity with another new setting
-         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.25f);
-         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
-         testWare1.setQuantity(quantityWare1);
-
-         // set up config file
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "aiTradeQuantityPercent = 0.25\n" +
-            "activeAI               = possibleAI\n" +
-            "enableAI               = true\n" +
-            "aiTradeFrequency       = 999999999\n" +
-            "aiRandomness           = 0.0\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
-         );
-         fileWriter.close();
-
-         // try to reload configuration
-         try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
-
-            // grab new references to thread in case it was closed for whatever reason
-            timerAIHandler = (Timer) fTimer.get(null);     // grab references to thread
-            aiHandler      = (AIHandler) fTimerTask.get(null);
-
-            aiHandler.run(); // preliminary setup
-            aiHandler.run(); // recalculation
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
-            e.printStackTrace();
+         activeAI = (AI[]) fActiveAI.get(null);
+         if (activeAI != null) {
+            TEST_OUTPUT.println("   activeAI were loaded when they shouldn't have been");
+            activeAI = null;
             errorFound = true;
          }
 
-         // run the test
-         testAI1.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
 
-         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
-            TEST_OUTPUT.println("   unexpected quantity (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("AI - loading valid and invalid professions");
+         Config.activeAI = new String[]{"validAIProfession", "invalidAIProfession"}; // prevents feature from shutting down due to lack of work
 
-         TEST_OUTPUT.println("AI - reloading active AI");
-         // create several different professions to choose from
+         // create test AI professions file
          try {
             // open the config file for AI professions, create it if it doesn't exist
             fileWriter = new FileWriter(Config.filenameAIProfessions);
@@ -11073,15 +11916,15 @@ public final class TestSuite
             // write test professions file
             fileWriter.write(
                "{\n" +
-               "\"possibleAI1\": {\n" +
-               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"],\n" +
-               "\"sellablesIDs\": [\"test:crafted3\", \"test:processed1\"]\n" +
-               "},\n" +
-               "\"possibleAI2\": {\n" +
-               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"]\n" +
+               "\"validAIProfession\": {\n" +
+               "\"purchasablesIDs\": [\"test:material1\",\"test:crafted1\"],\n" +
+               "\"sellablesIDs\": [\"test:material1\"],\n" +
+               "\"preferences\": { \"test:crafted1\": 0.15 }\n" +
                "},\n" +
-               "\"possibleAI3\": {\n" +
-               "\"sellablesIDs\": [\"test:crafted3\", \"test:processed1\"]\n" +
+               "\"invalidAIProfession\": {\n" +
+               "\"purchasablesIDs\": [\"test:material1\",\"test:crafted1\"],\n" +
+               "\"sellablesIDs\": [\"test:material1\"],\n" +
+               "\"preferences\": { \"test:crafted2\": 0.15 }\n" +
                "}\n" +
                "}\n"
             );
@@ -11089,768 +11932,1167 @@ public final class TestSuite
             // close the file
             fileWriter.close();
          } catch (Exception e) {
-            TEST_OUTPUT.println("   (changed values) unable to create test AI professions file");
+            TEST_OUTPUT.println("   unable to create test AI professions file");
             e.printStackTrace();
             return false;
          }
 
-         // set up config file
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "activeAI               = possibleAI1,possibleAI1,possibleAI2\n" +
-            "enableAI               = true\n" +
-            "aiTradeFrequency       = 999999999\n" +
-            "aiRandomness           = 0.0\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
-         );
-         fileWriter.close();
+         // prepare to check for printed error messages
+         baosErr.reset();
 
-         // try to reload configuration
+         // try to load the test file
          try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+            AIHandler.load();
             aiHandler.run();
          }
          catch (Exception e) {
-            TEST_OUTPUT.println("   run() should not throw any exception, but it did");
+            TEST_OUTPUT.println("   load() should not throw any exception, but it did while loading test professions file");
             e.printStackTrace();
             errorFound = true;
          }
 
-         // grab and check active AI
-         activeAI = (AI[]) fActiveAI.get(null);
+         // stop checking for printed error messages
+         streamErrorsProgram.flush();
+
+         // check loaded AI information
          professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (activeAI == null) {
-            TEST_OUTPUT.println("   AI should have been activated, but activeAI is null");
+         if (professions == null) {
+            TEST_OUTPUT.println("   AI professions should have loaded, but professions is null");
             errorFound = true;
-         } else if (activeAI.length != 2) {
-            TEST_OUTPUT.println("   AI activated loaded: " + activeAI.length + ", should be 2");
+         } else if (professions.size() != 2) {
+            TEST_OUTPUT.println("   AI professions loaded: " + professions.size() + ", should be 2");
             errorFound = true;
-         } else {
-            // check whether first AI is active
-            ai = professions.get("possibleAI1"); // grab AI reference to compare against
-            if (activeAI[0] != ai && activeAI[1] != ai) {
-               TEST_OUTPUT.println("   possibleAI1 is not active when it should be");
-               errorFound = true;
-            }
+         }
 
-            // check whether second AI is active
-            ai = professions.get("possibleAI2"); // grab AI reference to compare against
-            if (activeAI[0] != ai && activeAI[1] != ai) {
-               TEST_OUTPUT.println("   possibleAI2 is not active when it should be");
-               errorFound = true;
-            }
+         // check error messages
+         if (!baosErr.toString().startsWith(StringTable.ERROR_AI_PREFS_MISMATCH_PRO) ||
+            !baosErr.toString().contains("test:crafted2")) {
+            TEST_OUTPUT.println("   unexpected error output: " + baosErr.toString());
+            errorFound = true;
          }
 
-         // change to using only the third AI profession to test changing active AI mid-game
-         // set up config file
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "activeAI               = possibleAI3\n" +
-            "enableAI               = true\n" +
-            "aiTradeFrequency       = 999999999\n" +
-            "aiRandomness           = 0.0\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
-         );
-         fileWriter.close();
+         TEST_OUTPUT.println("AI - loading professions with invalid wares");
+         Config.activeAI = new String[]{"hasPreferences", "hasNoPreferences"}; // prevents feature from shutting down due to lack of work
 
-         // try to reload configuration
+         // create test AI professions file
          try {
-            UserInterfaceTerminal.serviceRequest("/reload config");
-            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+            // open the config file for AI professions, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameAIProfessions);
+
+            // write test professions file
+            fileWriter.write(
+               "{\n" +
+               "\"hasPreferences\": {\n" +
+               "\"purchasablesIDs\": [\"test:material1\",\"invalidWareAlias\"],\n" +
+               "\"sellablesIDs\": [\"test:material1\"],\n" +
+               "\"preferences\": { \"invalidWareAlias\": 0.15 }\n" +
+               "},\n" +
+               "\"hasNoPreferences\": {\n" +
+               "\"purchasablesIDs\": [\"test:material1\",\"test:invalidWareID\"],\n" +
+               "\"sellablesIDs\": [\"test:material1\"]\n" +
+               "}\n" +
+               "}\n"
+            );
+
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to create test AI professions file");
+            e.printStackTrace();
+            return false;
+         }
+
+         // try to load the test file
+         try {
+            AIHandler.load();
             aiHandler.run();
+            aiHandler.stop = true; // prevent any unintentional trading
          }
          catch (Exception e) {
-            TEST_OUTPUT.println("   run() should not throw any exception, but it did");
+            TEST_OUTPUT.println("   load() should not throw any exception, but it did while loading test professions file");
             e.printStackTrace();
             errorFound = true;
          }
 
-         // grab and check active AI
-         activeAI = (AI[]) fActiveAI.get(null);
+         // check loaded AI information
          professions = (HashMap<String, AI>) fProfessions.get(null);
-         if (activeAI == null) {
-            TEST_OUTPUT.println("   AI should have been activated, but activeAI is null");
-            errorFound = true;
-         } else if (activeAI.length != 1) {
-            TEST_OUTPUT.println("   AI activated loaded: " + activeAI.length + ", should be 1");
+         if (professions == null) {
+            TEST_OUTPUT.println("   AI professions should have loaded, but professions is null");
             errorFound = true;
          } else {
-            // check whether first AI is active
-            ai = professions.get("possibleAI3"); // grab AI reference to compare against
-            if (activeAI[0] != ai) {
-               TEST_OUTPUT.println("   possibleAI3 is not active when it should be");
+            // check total size
+            if (professions.size() != 2) {
+               TEST_OUTPUT.println("   AI professions loaded: " + professions.size() + ", should be 2");
                errorFound = true;
             }
-         }
 
-         TEST_OUTPUT.println("AI - toggling feature by reloading configuration");
-         // write to config file to turn off feature
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "enableAI               = false\n" +
-            "aiTradeFrequency       = 999999999\n" +
-            "aiRandomness           = 0.0\n" +
-            "activeAI               = possibleAI1, possibleAI2\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
-         );
-         fileWriter.close();
+            // check AI profession with preferences
+            ai = professions.get("hasPreferences");
+            if (ai != null) {
+               // grab data
+               purchasablesIDs = (String[]) fPurchasablesIDs.get(ai);
+               purchasables    = (Object[]) fPurchasables.get(ai);
 
-         // attempt to turn off the feature by reloading config
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-         Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+               // check saved ware IDs
+               if (purchasablesIDs == null) {
+                  TEST_OUTPUT.println("   AI profession with preferences - purchasablesIDs were not loaded");
+                  errorFound = true;
+               }
+               else {
+                  if (purchasablesIDs.length > 0) {
+                     if (!purchasablesIDs[0].equals("test:material1")) {
+                        TEST_OUTPUT.println("   AI profession with preferences - unexpected purchasablesIDs[0]: " + purchasablesIDs[0] + ", should be test:material1");
+                        errorFound = true;
+                     }
 
-         // check whether the feature is disabled
-         timerAIHandler = (Timer) fTimer.get(null);
-         if (timerAIHandler != null) {
-            TEST_OUTPUT.println("   feature did not turn off when it should have");
-            errorFound = true;
+                     if (purchasablesIDs.length > 1) {
+                        if (!purchasablesIDs[1].equals("invalidWareAlias")) {
+                           TEST_OUTPUT.println("   AI profession with preferences - unexpected purchasablesIDs[1]: " + purchasablesIDs[1] + ", should be invalidWareAlias");
+                           errorFound = true;
+                        }
+                     }
+                     else {
+                        TEST_OUTPUT.println("   AI profession with preferences - purchasablesIDs length is 1, should be 2");
+                        errorFound = true;
+                     }
+                  }
+                  else {
+                     TEST_OUTPUT.println("   AI profession with preferences - purchasablesIDs length is 0, should be 2");
+                     errorFound = true;
+                  }
+               }
+
+               // check loaded wares
+               if (purchasables == null) {
+                  TEST_OUTPUT.println("   AI profession with preferences - purchasables were not loaded");
+                  errorFound = true;
+               }
+               else {
+                  if (purchasables.length == 1) {
+                     if (!purchasablesIDs[0].equals(testWare1.getWareID())) {
+                        TEST_OUTPUT.println("   AI profession with preferences - unexpected purchasables[0]: " + purchasablesIDs[0] + ", should be test:material1");
+                        errorFound = true;
+                     }
+                  }
+                  else {
+                     TEST_OUTPUT.println("   AI profession with preferences - purchasables length is " + purchasables.length + ", should be 1");
+                     errorFound = true;
+                  }
+               }
+            }
          }
 
-         // write to config file to turn on feature
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "enableAI               = true\n" +
-            "aiTradeFrequency       = 999999999\n" +
-            "aiRandomness           = 0.0\n" +
-            "activeAI               = possibleAI1, possibleAI2\n" +
-            "disableAutoSaving      = true\n" +
-            "crossWorldMarketplace  = true\n"
-         );
-         fileWriter.close();
 
-         // attempt to turn on the feature by reloading config
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         Config.filenameNoPathAIProfessions = "testAIProfessions.json";
-         Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+         TEST_OUTPUT.println("AI - purchases");
+         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare1.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
+         testWare1.setQuantity(quantityWare1);
 
-         // check whether the feature is enabled
-         timerAIHandler = (Timer) fTimer.get(null);
-         if (timerAIHandler == null) {
-            TEST_OUTPUT.println("   feature did not turn on when it should have");
+         testAI1.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
+
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
             errorFound = true;
          }
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("AI - fatal error: " + e);
-         e.printStackTrace();
-         return false;
-      }
-
-      return !errorFound;
-   }
-
-   /**
-    * Tests /research.
-    *
-    * @return whether /research passed all test cases
-    */
-   private static boolean testUnitResearch() {
-      // use a flag to signal at least one error being found
-      boolean errorFound = false;
-
-      // ensure testing environment is properly set up
-      resetTestEnvironment();
 
-      // track changes to variables
-      byte  wareLevel;
-      int   wareQuantity;
-      float price;
-      float money;
 
-      try {
-         // /research <ware_id> [max_unit_price] [account_id] - spends to increase a ware's supply and demand
+         // testAI2 buys testWare2 and sells testWareC1
+         // Since both are at equilibrium, testAI2 should buy before selling.
+         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare2.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityToTrade2 = 0;
+         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()];
+         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()];
+         testWare2.setQuantity(quantityWare1);
+         testWareC1.setQuantity(quantityWare2);
 
-         // researchCostIsAMultOfAvgPrice == false; cost per hierarchy level = current market price * hierarchy level * Config.researchCostPerHierarchyLevel
+         testAI2.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         TEST_OUTPUT.println("research() - when disabled");
-         Config.researchCostPerHierarchyLevel = 0.0f;
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research test:material2");
-         errorFound |= testConsoleOutput("error - industrial research is disabled" + System.lineSeparator());
-         resetTestEnvironment();
+         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #2): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #2): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("research() - null input");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research");
-         errorFound |= testConsoleOutput("/research <ware_id> [max_price_acceptable] [account_id]" + System.lineSeparator());
+         TEST_OUTPUT.println("AI - sales");
+         quantityToTrade1 = 0;
+         quantityToTrade2 = (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = 0; // overstock to avoid selling anything
+         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()];
+         testWare2.setQuantity(quantityWare1);
+         testWareC1.setQuantity(quantityWare2);
 
-         TEST_OUTPUT.println("research() - too many args");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research test:material1 excessArgument excessArgument excessArgument");
-         errorFound |= testConsoleOutput("error - wrong number of arguments");
+         testAI2.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         TEST_OUTPUT.println("research() - invalid ware ID");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research invalidWareID");
-         errorFound |= testConsoleOutput("error - ware not found: invalidWareID" + System.lineSeparator());
+         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #1): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #1): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("research() - insufficient funds");
-         wareLevel    = testWare2.getLevel();
-         wareQuantity = testWare2.getQuantity();
-         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWare2, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
-         price        = PriceFormatter.truncatePrice(price);
-         money        = 1.0f;
-         playerAccount.setMoney(money);
+         quantityToTrade1 = 0;
+         quantityToTrade2 = 0;
+         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = 0; // nothing to buy means don't buy anything
+         quantityWare2    = 0;
+         quantityWare3    = Config.quanEquilibrium[testWareC2.getLevel()];
+         testWare1.setQuantity(quantityWare1);
+         testWare3.setQuantity(quantityWare2);
+         testWareC2.setQuantity(quantityWare3);
 
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research test:material2");
-         UserInterfaceTerminal.serviceRequest("/research yes");
+         testAI3.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         if (!baosOut.toString().contains("test:material2 research price is " + PriceFormatter.truncatePrice(price) + "; to accept, use /research yes [max_price_acceptable] [account_id]") ||
-             !baosOut.toString().contains("You do not have enough money" + System.lineSeparator())) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
             errorFound = true;
          }
-         if (testWareFields(testWare2, WareMaterial.class, "", wareLevel, 27.6f, wareQuantity)) {
+         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #2): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
             errorFound = true;
          }
-         if (testAccountFields(playerAccount, money, UserInterfaceTerminal.playername)) {
+         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #2): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
             errorFound = true;
          }
-         resetTestEnvironment();
 
-         TEST_OUTPUT.println("research() - ware at lowest level");
-         errorFound |= testerResearch(testWare1, testWare1.getQuantity(), 0);
+         TEST_OUTPUT.println("AI - trade decisions, supply and demand");
+         quantityToTrade1 = 0;
+         quantityToTrade2 = (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()];
+         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()] - quantityToTrade2; // lower supply to encourage selling
+         testWare2.setQuantity(quantityWare1);
+         testWareC1.setQuantity(quantityWare2);
 
-         TEST_OUTPUT.println("research() - equilibrium: raw material");
-         errorFound |= testerResearch(testWare2, Config.startQuanBase[testWare2.getLevel()], 0);
+         testAI2.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         TEST_OUTPUT.println("research() - equilibrium: processed ware");
-         errorFound |= testerResearch(testWareP1, Config.startQuanBase[testWareP1.getLevel()], 0);
+         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #1): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #1): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("research() - understocked");
-         errorFound |= testerResearch(testWareP1, 1, 0);
+         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare2.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityToTrade2 = 0;
+         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()] + (quantityToTrade1 * 5); // raise supply to increase demand
+         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()] - (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent); // lower supply, but not enough to encourage selling; comparatively, scarity raises prices more than surplus lowers them
+         testWare2.setQuantity(quantityWare1);
+         testWareC1.setQuantity(quantityWare2);
 
-         TEST_OUTPUT.println("research() - overstocked");
-         errorFound |= testerResearch(testWare4, Config.startQuanBase[testWare4.getLevel() - 1] + 10, 0);
+         testAI2.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         TEST_OUTPUT.println("research() - excessively overstocked");
-         errorFound |= testerResearch(testWare4, 999999999, 0);
-
-         TEST_OUTPUT.println("research() - non-personal account: generating proposal");
-         errorFound |= testerResearch(testWareP1, Config.startQuanBase[testWareP1.getLevel() - 1], "testAccount1", null, 0, 0);
-
-         TEST_OUTPUT.println("research() - non-personal account: accepting proposal");
-         errorFound |= testerResearch(testWare3, Config.startQuanBase[testWare3.getLevel() - 1], null, "testAccount1", 0, 0);
-
-         TEST_OUTPUT.println("research() - non-personal account: generating and accepting proposal");
-         errorFound |= testerResearch(testWare2, Config.startQuanBase[testWare2.getLevel() - 1], "testAccount1", "testAccount2", 0, 0);
-
-         resetTestEnvironment();
-
-         TEST_OUTPUT.println("research() - non-personal account: inaccessible");
-         money        = 1000000.0f;
-         testAccount4.setMoney(money);
-         wareLevel    = testWare2.getLevel();
-         wareQuantity = testWare2.getQuantity();
-
-         UserInterfaceTerminal.serviceRequest("/research test:material2 testAccount4");
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research yes");
-
-         if (testWareFields(testWare2, WareMaterial.class, "", (byte) wareLevel, 27.6f, wareQuantity)) {
+         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #2): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
             errorFound = true;
          }
-         if (testAccountFields(testAccount4, money, null)) {
+         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #2): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
             errorFound = true;
          }
-         errorFound |= testConsoleOutput("You don't have permission to access testAccount4" + System.lineSeparator());
 
-         TEST_OUTPUT.println("research() - maximum price acceptable: insufficient");
-         wareLevel    = testWareP1.getLevel();
-         wareQuantity = Config.startQuanBase[testWareP1.getLevel()];
-         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWareP1, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
-         price        = PriceFormatter.truncatePrice(price);
-         money        = 1000000.0f;
-         playerAccount.setMoney(money);
+         TEST_OUTPUT.println("AI - trade decisions, preferences");
+         // when everything is at equilibrium, choose the most preferred ware
+         quantityToTrade1 = 0;
+         quantityToTrade2 = 0;
+         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
+         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()];
+         quantityWare3    = Config.quanEquilibrium[testWareC2.getLevel()];
+         testWare1.setQuantity(quantityWare1);
+         testWare3.setQuantity(quantityWare2);
+         testWareC2.setQuantity(quantityWare3);
 
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research test:processed1 " + String.valueOf(price - 100.0f));
+         testAI3.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         if (!baosOut.toString().contains("test:processed1 research price is " + PriceFormatter.truncatePrice(price) + "; to accept, use /research yes [max_price_acceptable] [account_id]")) {
-            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
             errorFound = true;
          }
-         if (testWareFields(testWareP1, WareProcessed.class, "", (byte) wareLevel, 1.1f, wareQuantity)) {
+         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #1): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
             errorFound = true;
          }
-         if (testAccountFields(playerAccount, money, UserInterfaceTerminal.playername)) {
+         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #1): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
             errorFound = true;
          }
 
-         resetTestEnvironment();
-
-         TEST_OUTPUT.println("research() - maximum price acceptable: sufficient");
-         wareLevel    = testWareP1.getLevel();
-         wareQuantity = Config.startQuanBase[testWareP1.getLevel() - 1];
-         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWareP1, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
-         price        = PriceFormatter.truncatePrice(price);
-         money        = 1000000.0f;
-         playerAccount.setMoney(money);
+         // despite prices being better by 5%, choose the ware preferred more by 10%
+         quantityToTrade1 = 0;
+         quantityToTrade2 = 0;
+         quantityToTrade3 = (int) (Config.quanEquilibrium[testWare3.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.05f);
+         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()];
+         quantityWare3    = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * 0.95f);
+         testWare1.setQuantity(quantityWare1);
+         testWare3.setQuantity(quantityWare2);
+         testWareC2.setQuantity(quantityWare3);
 
-         UserInterfaceTerminal.serviceRequest("/research test:processed1 " + String.valueOf(price + 100.0f));
+         testAI3.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         if (testWareFields(testWareP1, WareProcessed.class, "", (byte) (wareLevel - 1), 1.1f, wareQuantity)) {
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
             errorFound = true;
          }
-         if (testAccountFields(playerAccount, money - price, UserInterfaceTerminal.playername)) {
+         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #2): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
+            errorFound = true;
+         }
+         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #2): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
             errorFound = true;
          }
 
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research yes");
-
-         errorFound |= testConsoleOutput("You don't have any pending research proposals" + System.lineSeparator());
-
-         resetTestEnvironment();
 
-         TEST_OUTPUT.println("research() - charging according to market's current average price");
-         Config.researchCostIsAMultOfAvgPrice = true;
-         Config.researchCostPerHierarchyLevel = 2.0f;
-         wareLevel    = testWare4.getLevel();
-         wareQuantity = Config.startQuanBase[testWare4.getLevel() - 1];
-         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWare4, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel * Marketplace.getCurrentPriceAverage();
-         price        = PriceFormatter.truncatePrice(price);
-         money        = 1000000.0f;
-         playerAccount.setMoney(money);
+         // when prices are too good to pass up, choose the best deal
+         quantityToTrade1 = 0;
+         quantityToTrade2 = 0;
+         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.05f);
+         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()];
+         quantityWare3    = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * 0.85f);
+         testWare1.setQuantity(quantityWare1);
+         testWare3.setQuantity(quantityWare2);
+         testWareC2.setQuantity(quantityWare3);
 
-         UserInterfaceTerminal.serviceRequest("/research minecraft:material4");
-         UserInterfaceTerminal.serviceRequest("/research yes");
+         testAI3.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         if (testWareFields(testWare4, WareMaterial.class, "material4", (byte) (wareLevel - 1), 8.0f, wareQuantity)) {
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #3): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
             errorFound = true;
          }
-         if (testAccountFields(playerAccount, money - price, UserInterfaceTerminal.playername)) {
+         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #3): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
+            errorFound = true;
+         }
+         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #3): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("research() - accepting nonexistent proposal");
-
-         baosOut.reset(); // clear buffer holding console output
-         UserInterfaceTerminal.serviceRequest("/research yes");
+         TEST_OUTPUT.println("AI - trade decisions, multiple, one ware");
+         quantityToTrade1 = ((int) (Config.quanEquilibrium[testWare1.getLevel()] * Config.aiTradeQuantityPercent)) * 5;
+         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
+         testWare1.setQuantity(quantityWare1);
 
-         errorFound |= testConsoleOutput("You don't have any pending research proposals" + System.lineSeparator());
+         testAI1.resetDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         resetTestEnvironment();
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("research() - accepting proposal after price lowered");
-         errorFound |= testerResearch(testWare4, Config.quanDeficient[testWare4.getLevel() - 1], null, null,
-                                      Config.startQuanBase[testWare4.getLevel() - 1] - 1, 0);
 
-         TEST_OUTPUT.println("research() - accepting proposal after price rose slightly");
-         errorFound |= testerResearch(testWare4, Config.startQuanBase[testWare4.getLevel()], null, null,
-                                      (int) (testWare4.getQuantity() * 1.04), 0);
+         quantityToTrade1 = ((int) (Config.quanEquilibrium[testWare1.getLevel()] * Config.aiTradeQuantityPercent)) * 16;
+         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
+         testWare1.setQuantity(quantityWare1);
 
-         TEST_OUTPUT.println("research() - accepting proposal after price rose greatly");
-         wareLevel    = testWare4.getLevel();
-         wareQuantity = Config.quanDeficient[testWare4.getLevel()];
-         testWare4.setQuantity(Config.startQuanBase[testWare4.getLevel()]); // ensure ware's stock is normal so price is normal
-         money        = 1000000.0f;
-         playerAccount.setMoney(money);
+         testAI1.resetDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.incrementDecisionsPerTradeEvent();
+         testAI1.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         UserInterfaceTerminal.serviceRequest("/research minecraft:material4");
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
 
-         testWare4.setQuantity(wareQuantity);
-         price              = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWare4, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
-         price              = PriceFormatter.truncatePrice(price);
+         TEST_OUTPUT.println("AI - trade decisions, multiple, multiple wares");
+         // testAI2 buys testWare2 and sells testWareC1
+         // Since both are at equilibrium and testAI2 should make three trade decisions,
+         // testAI2 should buy twice and sell once.
+         quantityToTrade1 = ((int) (Config.quanEquilibrium[testWare2.getLevel()] * Config.aiTradeQuantityPercent)) * 2;
+         quantityToTrade2 = (int) (Config.quanEquilibrium[testWareC1.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = Config.quanEquilibrium[testWare2.getLevel()];
+         quantityWare2    = Config.quanEquilibrium[testWareC1.getLevel()];
+         testWare2.setQuantity(quantityWare1);
+         testWareC1.setQuantity(quantityWare2);
 
-         UserInterfaceTerminal.serviceRequest("/research yes");
+         testAI2.resetDecisionsPerTradeEvent();
+         testAI2.incrementDecisionsPerTradeEvent();
+         testAI2.incrementDecisionsPerTradeEvent();
+         testAI2.incrementDecisionsPerTradeEvent();
+         testAI2.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         if (testWareFields(testWare4, WareMaterial.class, "material4", wareLevel, 8.0f, wareQuantity)) {
+         if (testWare2.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2 (test #1): " + testWare2.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
             errorFound = true;
          }
-         if (testAccountFields(playerAccount, money, UserInterfaceTerminal.playername)) {
+         if (testWareC1.getQuantity() != quantityWare2 + quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1 (test #1): " + testWareC1.getQuantity() + ", should be " + (quantityWare2 + quantityToTrade2));
             errorFound = true;
          }
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("research() - fatal error: " + e);
-         e.printStackTrace();
-         return false;
-      }
-
-      return !errorFound;
-   }
 
-   /**
-    * Tests adjusting manufactured wares' prices based on components' prices.
-    *
-    * @return whether Ware.getLinkedPriceMultiplier() and Marketplace.getPrice() passed all test cases
-    */
-   private static boolean testUnitLinkedPrices() {
-      // use a flag to signal at least one error being found
-      boolean errorFound = false;
+         // when making two trade decisions, choose the two best deals
+         quantityToTrade1 = 0;
+         quantityToTrade2 = (int) (Config.quanEquilibrium[testWare3.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityToTrade3 = (int) (Config.quanEquilibrium[testWareC2.getLevel()] * Config.aiTradeQuantityPercent);
+         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
+         quantityWare2    = Config.quanEquilibrium[testWare3.getLevel()] + quantityToTrade2 + quantityToTrade2;
+         quantityWare3    = Config.quanEquilibrium[testWareC2.getLevel()] - quantityToTrade3 - quantityToTrade3 - quantityToTrade3;
+         testWare1.setQuantity(quantityWare1);
+         testWare3.setQuantity(quantityWare2);
+         testWareC2.setQuantity(quantityWare3);
 
-      // ensure testing environment is properly set up
-      resetTestEnvironment();
-      Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
-      Config.linkedPricesPercent = 0.75f;
+         testAI3.resetDecisionsPerTradeEvent();
+         testAI3.incrementDecisionsPerTradeEvent();
+         testAI3.incrementDecisionsPerTradeEvent();
+         testAI3.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-      // track changes to variables
-      float priceMult;
-      float price;
-      int   quantityWare;
-      int   quantityComponent1;
-      int   quantityComponent2;
-      int   quantityComponent3;
-      Ware  testWare;
-      Ware  testComponent1;
-      Ware  testComponent2;
-      Ware  testComponent3;
-
-      try {
-         TEST_OUTPUT.println("linked prices - lowering price at equilibrium");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.625f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 640, 1);
-
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.8125f,
-            Config.quanEquilibrium[testWareC3.getLevel()] - 1, 56, 2);
-
-         TEST_OUTPUT.println("linked prices - lowering price when above equilibrium");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.625f,
-            Config.quanEquilibrium[testWareP1.getLevel()] * 2 - 1, 640, 1);
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1 (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
+         if (testWare3.getQuantity() != quantityWare2 - quantityToTrade2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare3 (test #2): " + testWare3.getQuantity() + ", should be " + (quantityWare2 - quantityToTrade2));
+            errorFound = true;
+         }
+         if (testWareC2.getQuantity() != quantityWare3 + quantityToTrade3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC2 (test #2): " + testWareC2.getQuantity() + ", should be " + (quantityWare3 + quantityToTrade3));
+            errorFound = true;
+         }
 
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.8125f,
-            Config.quanEquilibrium[testWareC3.getLevel()] * 2 - 1, 56, 2);
+         TEST_OUTPUT.println("AI - reloading professions");
+         // set state to known values
+         // create test AI professions file
+         try {
+            // open the config file for AI professions, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameAIProfessions);
 
-         TEST_OUTPUT.println("linked prices - lowering price when below equilibrium");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.625f,
-            (int) (Config.quanEquilibrium[testWareP1.getLevel()] * 0.75f) - 1, 640, 1);
+            // write test professions file
+            fileWriter.write(
+               "{\n" +
+               "\"possibleAI\": {\n" +
+               "\"purchasablesIDs\": [\"test:material1\"],\n" +
+               "\"sellablesIDs\": [\"test:material2\"]\n" +
+               "}\n" +
+               "}\n"
+            );
 
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.8125f,
-            (int) (Config.quanEquilibrium[testWareC3.getLevel()] * 0.75f) - 1, 56, 2);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   (initial setup) unable to create test AI professions file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return false;
+         }
 
-         TEST_OUTPUT.println("linked prices - raising price at equilibrium");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.375f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 192, 1);
+         // try to load the test file
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
 
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.5625f,
-            Config.quanEquilibrium[testWareC3.getLevel()] - 1, 20, 2);
+            // grab new references to threads in case it closed during earlier testing
+            taskAIHandler  = (MarketScheduler.Task) fTimer.get(null);     // grab references to thread
+            aiHandler      = (AIHandler) fTimerTask.get(null);
 
-         TEST_OUTPUT.println("linked prices - raising price when above equilibrium");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.375f,
-            Config.quanEquilibrium[testWareP1.getLevel()] * 2 - 1, 192, 1);
+            Config.activeAI = new String[]{"possibleAI"}; // ensure there are AI to be run so thread doesn't close
 
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.5625f,
-            Config.quanEquilibrium[testWareC3.getLevel()] * 2 - 1, 20, 2);
+            aiHandler.run();
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   (initial setup) load() should not throw any exception, but it did while loading test professions file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("linked prices - raising price when below equilibrium");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.375f,
-            (int) (Config.quanEquilibrium[testWareP1.getLevel()] * 0.75f) - 1, 192, 1);
+         // check loaded AI information
+         professions = (HashMap<String, AI>) fProfessions.get(null);
+         if (professions == null) {
+            TEST_OUTPUT.println("   (initial setup) AI profession should have loaded, but professions is null");
+            errorFound = true;
+         } else {
+            // check AI profession's wares
+            ai = professions.get("possibleAI");
+            if (ai != null) {
+               // grab data
+               purchasablesIDs = (String[]) fPurchasablesIDs.get(ai);
+               sellablesIDs    = (String[]) fSellablesIDs.get(ai);
 
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.5625f,
-            (int) (Config.quanEquilibrium[testWareC3.getLevel()] * 0.75f) - 1, 20, 2);
+               // check saved ware IDs for buying
+               if (purchasablesIDs == null) {
+                  TEST_OUTPUT.println("   (initial setup) purchasablesIDs were not loaded");
+                  errorFound = true;
+               }
+               else {
+                  if (purchasablesIDs.length == 1) {
+                     if (!purchasablesIDs[0].equals("test:material1")) {
+                        TEST_OUTPUT.println("   (initial setup) unexpected purchasablesIDs[0]: " + purchasablesIDs[0] + ", should be test:material1");
+                        errorFound = true;
+                     }
+                  }
+                  else {
+                     TEST_OUTPUT.println("   (initial setup) purchasablesIDs length is " + purchasablesIDs.length + ", should be 1");
+                     errorFound = true;
+                  }
+               }
 
-         TEST_OUTPUT.println("linked prices - free components");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.25f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 9999, 1);
+               // check saved ware IDs for selling
+               if (sellablesIDs == null) {
+                  TEST_OUTPUT.println("   (initial setup) sellablesIDs were not loaded");
+                  errorFound = true;
+               }
+               else {
+                  if (sellablesIDs.length == 1) {
+                     if (!sellablesIDs[0].equals("test:material2")) {
+                        TEST_OUTPUT.println("   (initial setup) unexpected sellablesIDs[0]: " + sellablesIDs[0] + ", should be test:material2");
+                        errorFound = true;
+                     }
+                  }
+                  else {
+                     TEST_OUTPUT.println("   (initial setup) sellablesIDs length is " + sellablesIDs.length + ", should be 1");
+                     errorFound = true;
+                  }
+               }
+            } else {
+               TEST_OUTPUT.println("   (initial setup) AI profession was not loaded when it should have been");
+               errorFound = true;
+            }
+         }
 
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.25f,
-             Config.quanEquilibrium[testWareC3.getLevel()] - 1, 9999, 2);
 
-         TEST_OUTPUT.println("linked prices - expensive components");
-         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.75f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 0, 1);
+         // change state to new values
+         // create test AI professions file
+         try {
+            // open the config file for AI professions, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameAIProfessions);
 
-         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.75f,
-             Config.quanEquilibrium[testWareC3.getLevel()] - 1, 0, 2);
+            // write test professions file
+            fileWriter.write(
+               "{\n" +
+               "\"possibleAI\": {\n" +
+               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"],\n" +
+               "\"sellablesIDs\": [\"test:crafted3\", \"test:material1\", \"test:processed1\"]\n" +
+               "}\n" +
+               "}\n"
+            );
 
-         TEST_OUTPUT.println("linked prices - one free component");
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.7692308f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 9999,
-            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   (changed values) unable to create test AI professions file");
+            e.printStackTrace();
+            return false;
+         }
 
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.53846157f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()],
-            Config.quanEquilibrium[testWare3.getLevel()], 9999, 0, 2);
+         // try to load the test file
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.28712872f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 9999, 0, 0, 3);
+            // grab new references to threads in case it closed during earlier testing
+            taskAIHandler  = (MarketScheduler.Task) fTimer.get(null);     // grab references to thread
+            aiHandler      = (AIHandler) fTimerTask.get(null);
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.9628713f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
-            9999, Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 4);
+            Config.activeAI = new String[]{"possibleAI"}; // ensure there are AI to be run so thread doesn't close
 
-         TEST_OUTPUT.println("linked prices - one expensive component");
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 1.2307692f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 0,
-            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
+            aiHandler.run();
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   (changed values) load() should not throw any exception, but it did while loading test professions file");
+            e.printStackTrace();
+            errorFound = true;
+         }
 
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 1.0576923f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 0,
-            Config.quanEquilibrium[testWare3.getLevel()],
-            Config.quanEquilibrium[testWare4.getLevel()], 0, 2);
+         // check loaded AI information
+         professions = (HashMap<String, AI>) fProfessions.get(null);
+         if (professions == null) {
+            TEST_OUTPUT.println("   (changed values) AI profession should have loaded, but professions is null");
+            errorFound = true;
+         } else {
+            // check AI profession's wares
+            ai = professions.get("possibleAI");
+            if (ai != null) {
+               // grab data
+               purchasablesIDs = (String[]) fPurchasablesIDs.get(ai);
+               sellablesIDs    = (String[]) fSellablesIDs.get(ai);
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 1.7128713f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 0, 0, 0, 3);
+               // check saved ware IDs for buying
+               if (purchasablesIDs == null) {
+                  TEST_OUTPUT.println("   (changed values) purchasablesIDs were not loaded");
+                  errorFound = true;
+               }
+               else {
+                  if (purchasablesIDs.length == 2) {
+                     if (!purchasablesIDs[0].equals("test:processed1")) {
+                        TEST_OUTPUT.println("   (changed values) unexpected purchasablesIDs[0]: " + purchasablesIDs[0] + ", should be test:processed1");
+                        errorFound = true;
+                     }
+                     if (!purchasablesIDs[1].equals("material4")) {
+                        TEST_OUTPUT.println("   (changed values) unexpected purchasablesIDs[1]: " + purchasablesIDs[1] + ", should be material4");
+                        errorFound = true;
+                     }
+                  }
+                  else {
+                     TEST_OUTPUT.println("   (changed values) purchasablesIDs length is " + purchasablesIDs.length + ", should be 2");
+                     errorFound = true;
+                  }
+               }
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 1.0371287f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1, 0,
-            Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 4);
+               // check saved ware IDs for selling
+               if (sellablesIDs == null) {
+                  TEST_OUTPUT.println("   (changed values) sellablesIDs were not loaded");
+                  errorFound = true;
+               }
+               else {
+                  if (sellablesIDs.length == 3) {
+                     if (!sellablesIDs[0].equals("test:crafted3")) {
+                        TEST_OUTPUT.println("   (changed values) unexpected sellablesIDs[0]: " + sellablesIDs[0] + ", should be test:crafted3");
+                        errorFound = true;
+                     }
+                     if (!sellablesIDs[1].equals("test:material1")) {
+                        TEST_OUTPUT.println("   (changed values) unexpected sellablesIDs[1]: " + sellablesIDs[1] + ", should be test:material1");
+                        errorFound = true;
+                     }
+                     if (!sellablesIDs[2].equals("test:processed1")) {
+                        TEST_OUTPUT.println("   (changed values) unexpected sellablesIDs[2]: " + sellablesIDs[2] + ", should be test:processed1");
+                        errorFound = true;
+                     }
+                  }
+                  else {
+                     TEST_OUTPUT.println("   (changed values) sellablesIDs length is " + sellablesIDs.length + ", should be 3");
+                     errorFound = true;
+                  }
+               }
+            } else {
+               TEST_OUTPUT.println("   (changed values) AI profession was not loaded when it should have been");
+               errorFound = true;
+            }
+         }
 
-         TEST_OUTPUT.println("linked prices - equilibrium price smaller than base price");
-         Config.priceMult = 0.5f; // lowers all prices
+         TEST_OUTPUT.println("AI - reloading trading frequency");
+         // set up config file to known value
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "aiTradeFrequency       = 100\n" +
+            "enableAI               = true\n" +
+            "aiRandomness           = 0.0\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.7692308f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 9999,
-            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
+         // try to reload configuration
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
+            e.printStackTrace();
+            errorFound = true;
+         }
 
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.53846157f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()],
-            Config.quanEquilibrium[testWare3.getLevel()], 9999, 0, 2);
+         // check trade frequency
+         tradeFrequency = (long) fTradeFrequency.get(null);
+         if (tradeFrequency != 6000000L) { // 60000 ms per min.
+            TEST_OUTPUT.println("   unexpected frequency (test #1): " + tradeFrequency + ", should be 6000000");
+            errorFound = true;
+         }
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.28712872f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 9999, 0, 0, 3);
+         // set up config file to new value
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "aiTradeFrequency       = 123456\n" + // beyond maximum value
+            "enableAI               = true\n" +
+            "aiRandomness           = 0.0\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.9628713f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1, 9999,
-            Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 3);
+         // try to reload configuration
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+         } 
+         catch (Exception e) {
+            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
+            e.printStackTrace();
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("linked prices - equilibrium price larger than base price");
-         Config.priceMult = 2.0f; // raises all prices
+         // check trade frequency
+         tradeFrequency = (long) fTradeFrequency.get(null);
+         if (tradeFrequency != 2147460000L) { // 60000 ms per min.
+            TEST_OUTPUT.println("   unexpected frequency (test #2): " + tradeFrequency + ", should be 2147460000");
+            errorFound = true;
+         }
 
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.7692308f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 9999,
-            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
+         TEST_OUTPUT.println("AI - reloading trading quantity");
+         // create a dummy AI so the thread does not shut down due to a lack of active AI
+         try {
+            // open the config file for AI professions, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameAIProfessions);
 
-         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.53846157f,
-            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()],
-            Config.quanEquilibrium[testWare3.getLevel()], 9999, 0, 2);
+            // write test professions file
+            fileWriter.write(
+               "{\n" +
+               "\"possibleAI\": {\n" +
+               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"],\n" +
+               "\"sellablesIDs\": [\"test:crafted3\", \"test:processed1\"]\n" +
+               "}\n" +
+               "}\n"
+            );
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.28712872f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
-            Config.quanEquilibrium[testWare1.getLevel()], 9999, 0, 0, 3);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   (changed values) unable to create test AI professions file");
+            e.printStackTrace();
+            return false;
+         }
 
-         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.9628713f,
-            Config.quanEquilibrium[testWareC2.getLevel()] - 1, 9999,
-            Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 3);
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("linked prices - fatal error: " + e);
-         e.printStackTrace();
-         return false;
-      }
+         // ensure trade decisions are set to 1
+         testAI1.resetDecisionsPerTradeEvent(); // set trade decisions to 1
+         testAI1.incrementDecisionsPerTradeEvent();
 
-      return !errorFound;
-   }
+         // predict trade quantity with new setting
+         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.5f);
+         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
+         testWare1.setQuantity(quantityWare1);
 
-   /**
-    * Tests purchasing out-of-stock manufactured wares
-    * if their components are for sale.
-    *
-    * @return whether buy() passed all manufacturing contract test cases
-    */
-   private static boolean testUnitManufacturingContracts() {
-      // use a flag to signal at least one error being found
-      boolean errorFound = false;
+         // set up config file
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "aiTradeQuantityPercent = 0.5\n" +
+            "activeAI               = possibleAI\n" +
+            "enableAI               = true\n" +
+            "aiTradeFrequency       = 999999999\n" +
+            "aiRandomness           = 0.0\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-      // ensure testing environment is properly set up
-      resetTestEnvironment();
+         // try to reload configuration
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
 
-      try {
-         // manufactured wares:
-         // testWareP1: testWare1
-         // testWareP2: testWare1, testWare2, testWare4
-         // testWareC1: testWareU1
-         // testWareC2: testWare1, testWareC1
-         // testWareC3: testWare4
+            // grab new reference to thread since reloading frequency (the previous test case) should have restarted it
+            aiHandler.stop = true; // prevent any unintentional trading
+            aiHandler = (AIHandler) fTimerTask.get(null);
 
-         TEST_OUTPUT.println("manufacturing contracts - when disabled and out-of-stock, untradeable component");
-         errorFound |= testerBuyManufacturing(testWareC1, null, null, null, null, Float.NaN, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, false);
+            aiHandler.run(); // preliminary setup from previous test case
+            aiHandler.run(); // preliminary setup from current test case
+            aiHandler.run(); // recalculation
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
+            e.printStackTrace();
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - when disabled and out-of-stock, material component");
-         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN, 0, testWare4.getQuantity(), 0, 0, 0, 0, 0, 0, 1, 0, false);
+         // run the test
+         testAI1.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         // enable manufacturing contracts
-         Config.buyingOutOfStockWaresAllowed   = true;
-         Config.buyingOutOfStockWaresPriceMult = 1.10f; // explicitly set to known value
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity (test #1): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - untradeable ware");
-         errorFound |= testerBuyManufacturing(testWareU1, null, null, null, null, Float.NaN, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, false);
+         // predict trade quantity with another new setting
+         quantityToTrade1 = (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.25f);
+         quantityWare1    = Config.quanEquilibrium[testWare1.getLevel()];
+         testWare1.setQuantity(quantityWare1);
 
-         TEST_OUTPUT.println("manufacturing contracts - non-manufactured ware, out-of-stock");
-         errorFound |= testerBuyManufacturing(testWare1, null, null, null, null, Float.NaN, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, false);
+         // set up config file
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "aiTradeQuantityPercent = 0.25\n" +
+            "activeAI               = possibleAI\n" +
+            "enableAI               = true\n" +
+            "aiTradeFrequency       = 999999999\n" +
+            "aiRandomness           = 0.0\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: untradeable component");
-         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 0, 0, 0, 0, 1, 1, 0, 0, 1, 0, false);
+         // try to reload configuration
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: material components");
-         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
-                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
-                                              1, 1, 1, 1, 1, 0, false);
+            // grab new references to thread in case it was closed for whatever reason
+            taskAIHandler  = (MarketScheduler.Task) fTimer.get(null);     // grab references to thread
+            aiHandler      = (AIHandler) fTimerTask.get(null);
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: manufactured component");
-         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
-                                                 0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                                 1, 1, 1, 0, 1, 0, false);
-
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock, varying order sizes: untradeable component");
-         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 0, 0, 0, 0, 32, 32, 0, 0, 32, 1, false);
-
-         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
-         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 0, 0, 0, 0, 192, 192, 0, 0, 192, 2, false);
+            aiHandler.run(); // preliminary setup
+            aiHandler.run(); // recalculation
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   load() should not throw any exception, but it did");
+            e.printStackTrace();
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock, varying order sizes: material components");
-         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
-                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
-                                              16, 16, 16, 16, 16, 1, false);
+         // run the test
+         testAI1.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
 
-         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
-         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
-                                              0, Config.quanExcessive[testWare4.getLevel()], 0, 0,
-                                              96, 24, 0, 0, 96, 2, false);
+         if (testWare1.getQuantity() != quantityWare1 - quantityToTrade1) {
+            TEST_OUTPUT.println("   unexpected quantity (test #2): " + testWare1.getQuantity() + ", should be " + (quantityWare1 - quantityToTrade1));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock, varying order sizes: manufactured components");
-         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
-                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              4, 4, 4, 0, 4, 1, false);
+         TEST_OUTPUT.println("AI - reloading active AI");
+         // create several different professions to choose from
+         try {
+            // open the config file for AI professions, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameAIProfessions);
 
-         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
-         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
-                                              0, Config.quanExcessive[testWare1.getLevel()], Config.quanExcessive[testWareC1.getLevel()], 0,
-                                              187, 187, 187, 0, 256, 2, false);
+            // write test professions file
+            fileWriter.write(
+               "{\n" +
+               "\"possibleAI1\": {\n" +
+               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"],\n" +
+               "\"sellablesIDs\": [\"test:crafted3\", \"test:processed1\"]\n" +
+               "},\n" +
+               "\"possibleAI2\": {\n" +
+               "\"purchasablesIDs\": [\"test:processed1\", \"material4\"]\n" +
+               "},\n" +
+               "\"possibleAI3\": {\n" +
+               "\"sellablesIDs\": [\"test:crafted3\", \"test:processed1\"]\n" +
+               "}\n" +
+               "}\n"
+            );
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, low in stock: untradeable component");
-         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 5, 0, 0, 0, 10, 5, 0, 0, 10, 0, false);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   (changed values) unable to create test AI professions file");
+            e.printStackTrace();
+            return false;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, low in stock: material components");
-         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
-                                              4, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
-                                              16, 12, 12, 12, 16, 1, false);
+         // set up config file
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "activeAI               = possibleAI1,possibleAI1,possibleAI2\n" +
+            "enableAI               = true\n" +
+            "aiTradeFrequency       = 999999999\n" +
+            "aiRandomness           = 0.0\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, low in stock: manufactured component");
-         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
-                                              24, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              32, 8, 8, 0, 32, 0, false);
+         // try to reload configuration
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+            aiHandler.run();
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   run() should not throw any exception, but it did");
+            e.printStackTrace();
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: components low in stock");
-         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
-                                              0, 8, Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
-                                              8, 8, 8, 8, 16, 1, false);
+         // grab and check active AI
+         activeAI = (AI[]) fActiveAI.get(null);
+         professions = (HashMap<String, AI>) fProfessions.get(null);
+         if (activeAI == null) {
+            TEST_OUTPUT.println("   AI should have been activated, but activeAI is null");
+            errorFound = true;
+         } else if (activeAI.length != 2) {
+            TEST_OUTPUT.println("   AI activated loaded: " + activeAI.length + ", should be 2");
+            errorFound = true;
+         } else {
+            // check whether first AI is active
+            ai = professions.get("possibleAI1"); // grab AI reference to compare against
+            if (activeAI[0] != ai && activeAI[1] != ai) {
+               TEST_OUTPUT.println("   possibleAI1 is not active when it should be");
+               errorFound = true;
+            }
 
-         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
-                                              0, 10, 0, 0,
-                                              40, 10, 0, 0, 80, 2, false);
+            // check whether second AI is active
+            ai = professions.get("possibleAI2"); // grab AI reference to compare against
+            if (activeAI[0] != ai && activeAI[1] != ai) {
+               TEST_OUTPUT.println("   possibleAI2 is not active when it should be");
+               errorFound = true;
+            }
+         }
 
-         // create a new ware with a component whose component has limited stock
-         Ware testWareC4 = new WareCrafted(new String[]{"test:crafted3"}, "test:crafted4", "", 32, 2, (byte) 3);
-         wares.put("test:crafted4", testWareC4);
+         // change to using only the third AI profession to test changing active AI mid-game
+         // set up config file
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "activeAI               = possibleAI3\n" +
+            "enableAI               = true\n" +
+            "aiTradeFrequency       = 999999999\n" +
+            "aiRandomness           = 0.0\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-         errorFound |= testerBuyManufacturing(testWareC4, testWareC3, null, null, null, Float.NaN,
-                                              0, 5, 0, 0,
-                                              10, 5, 0, 0, 20, 3, false);
+         // try to reload configuration
+         try {
+            UserInterfaceTerminal.serviceRequest("/reload config");
+            Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+            Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
+            aiHandler.run();
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   run() should not throw any exception, but it did");
+            e.printStackTrace();
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: same component used multiple times");
-         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
-         // create a new ware with a component whose component has limited stock
-         Ware testWareC5 = new WareCrafted(new String[]{"test:material1", "test:material1", "test:material1", "test:material2"}, "test:crafted5", "", 32, 4, (byte) 3);
-         wares.put("test:crafted5", testWareC5);
+         // grab and check active AI
+         activeAI = (AI[]) fActiveAI.get(null);
+         professions = (HashMap<String, AI>) fProfessions.get(null);
+         if (activeAI == null) {
+            TEST_OUTPUT.println("   AI should have been activated, but activeAI is null");
+            errorFound = true;
+         } else if (activeAI.length != 1) {
+            TEST_OUTPUT.println("   AI activated loaded: " + activeAI.length + ", should be 1");
+            errorFound = true;
+         } else {
+            // check whether first AI is active
+            ai = professions.get("possibleAI3"); // grab AI reference to compare against
+            if (activeAI[0] != ai) {
+               TEST_OUTPUT.println("   possibleAI3 is not active when it should be");
+               errorFound = true;
+            }
+         }
 
-         errorFound |= testerBuyManufacturing(testWareC5, testWare1, testWare2, null, null, Float.NaN,
-                                              0, 30, 20, 0,
-                                              40, 30, 10, 0, 80, 0, false);
+         TEST_OUTPUT.println("AI - toggling feature by reloading configuration");
+         // write to config file to turn off feature
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "enableAI               = false\n" +
+            "aiTradeFrequency       = 999999999\n" +
+            "aiRandomness           = 0.0\n" +
+            "activeAI               = possibleAI1, possibleAI2\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-         TEST_OUTPUT.println("manufacturing contracts - manufactured ware and components out-of-stock");
-         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
-                                              0, Config.quanEquilibrium[testWare1.getLevel()], 0, 0,
-                                              0, 0, 0, 0, 10, 0, false);
+         // attempt to turn off the feature by reloading config
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+         Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: minimum args");
-         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
-                                              0, Config.quanEquilibrium[testWare4.getLevel()], 0, 0,
-                                              1, 1, 0, 0, 1, 0, true);
+         // check whether the feature is disabled
+         taskAIHandler  = (MarketScheduler.Task) fTimer.get(null);
+         if (taskAIHandler != null) {
+            TEST_OUTPUT.println("   feature did not turn off when it should have");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: no inventory space");
-         int inventorySpaceOrig = UserInterfaceTerminal.inventorySpace;
-         UserInterfaceTerminal.inventorySpace = 0; // maximum inventory space is no inventory
-         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
-                                              0, Config.quanEquilibrium[testWare4.getLevel()], 0, 0,
-                                              1, 1, 0, 0, 1, 0, true);
+         // write to config file to turn on feature
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "enableAI               = true\n" +
+            "aiTradeFrequency       = 999999999\n" +
+            "aiRandomness           = 0.0\n" +
+            "activeAI               = possibleAI1, possibleAI2\n" +
+            "disableAutoSaving      = true\n" +
+            "crossWorldMarketplace  = true\n"
+         );
+         fileWriter.close();
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: low in inventory space");
-         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
-         UserInterfaceTerminal.inventorySpace = 1; // maximum inventory space is 64 items
+         // attempt to turn on the feature by reloading config
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         Config.filenameNoPathAIProfessions = "testAIProfessions.json";
+         Config.filenameAIProfessions       = "config" + File.separator + "CommandEconomy" + File.separator + "testAIProfessions.json";
 
-         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
-                                              0, Config.quanExcessive[testWare4.getLevel()], 0, 0,
-                                              64, 16, 0, 0, 128, 0, true);
+         // check whether the feature is enabled
+         taskAIHandler  = (MarketScheduler.Task) fTimer.get(null);
+         if (taskAIHandler == null) {
+            TEST_OUTPUT.println("   feature did not turn on when it should have");
+            errorFound = true;
+         }
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("AI - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         UserInterfaceTerminal.inventorySpace = inventorySpaceOrig; // reset maximum inventory space
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: non-manufactured ware");
-         errorFound |= testerBuyManufacturing(testWare1, null, null, null, null, Float.NaN,
-                                              Config.quanEquilibrium[testWare1.getLevel()], 0, 0, 0,
-                                              1, 0, 0, 0, 1, 0, true);
+   /**
+    * Tests AI deciding what to trade in parallel,
+    * including whether decisions stay repeatable, and compares throughput.
+    *
+    * @return whether parallel AI decisions passed all test cases
+    */
+   private static boolean testUnitParallelAI() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: max price acceptable, too low");
-         errorFound |= testerBuyManufacturing(testWareC3, null, null, null, null, 0.01f,
-                                              Config.quanEquilibrium[testWareC3.getLevel()], 0, 0, 0,
-                                              0, 0, 0, 0, 1, 0, true);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: max price acceptable, sufficient");
-         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, 999999.00f,
-                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              1, 1, 1, 0, 1, 0, true);
+      final String[] WARE_IDS    = {"test:material1", "test:material2", "test:material3", "minecraft:material4",
+                                    "test:processed1", "test:processed2", "test:crafted1", "test:crafted2", "test:crafted3"};
+      final int[]    POPULATIONS = {10, 100, 1000}; // how many AI to benchmark
+      final int      REPETITIONS = 20;              // trade events per benchmark
+      final long     SEED        = 20261017L;
+      AI[]                   ais;
+      HashMap<String, Float> preferences;
+      HashMap<Ware, Integer> decisionsSequential = new HashMap<Ware, Integer>();
+      HashMap<Ware, Integer> decisionsRepeated   = new HashMap<Ware, Integer>();
+      HashMap<Ware, Integer> decisionsParallel   = new HashMap<Ware, Integer>();
+      long timeSequential;
+      long timeParallel;
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: account ID");
-         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, "testAccount1", Float.NaN,
-                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
-                                              1, 1, 1, 1, 1, 0, true);
+      try {
+         Config.aiRandomness = 0.5f; // make pseudorandomness matter
+         AI.calcTradeQuantities();
 
-         TEST_OUTPUT.println("manufacturing contracts - buy: max price acceptable and account ID");
-         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, "testAccount1", 999999.00f,
-                                              0, 0, 0, 0,
-                                              1, 1, 0, 0, 1, 0, true);
+         // create AI trading overlapping wares with varying preferences and decisions per trade
+         ais = new AI[POPULATIONS[POPULATIONS.length - 1]];
+         for (int i = 0; i < ais.length; i++) {
+            preferences = new HashMap<String, Float>();
+            preferences.put(WARE_IDS[i % WARE_IDS.length], 1.0f + (i % 7) * 0.1f);
+            ais[i] = new AI("testParallelAI" + i,
+                            new String[]{WARE_IDS[i % WARE_IDS.length], WARE_IDS[(i + 3) % WARE_IDS.length], WARE_IDS[(i + 5) % WARE_IDS.length]},
+                            new String[]{WARE_IDS[(i + 1) % WARE_IDS.length], WARE_IDS[(i + 4) % WARE_IDS.length]},
+                            preferences);
+            ais[i].resetDecisionsPerTradeEvent();
+            for (int j = 0; j <= i % 3; j++)
+               ais[i].incrementDecisionsPerTradeEvent();
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - check: non-manufactured ware");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 1, null,
-                                   1.0f, 0, true);
+         TEST_OUTPUT.println("parallel AI - same seed, same decisions");
+         AIHandler.decideTrades(ais, SEED, null, decisionsSequential, false);
+         AIHandler.decideTrades(ais, SEED, null, decisionsRepeated, false);
+         if (decisionsSequential.isEmpty() || !decisionsSequential.equals(decisionsRepeated)) {
+            TEST_OUTPUT.println("   unexpected decisions: " + decisionsRepeated + ", should be " + decisionsSequential);
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - check: minimum args");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareP1, 1, null,
-                                   1.0f, 0, true);
+         TEST_OUTPUT.println("parallel AI - deciding in parallel matches deciding one at a time");
+         AIHandler.decideTrades(ais, SEED, null, decisionsParallel, true);
+         if (!decisionsSequential.equals(decisionsParallel)) {
+            TEST_OUTPUT.println("   unexpected decisions: " + decisionsParallel + ", should be " + decisionsSequential);
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - check: minimum args, ware out of stock");
-         testWareP1.setQuantity(0);
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareP1, 0, null,
-                                   1.0f, 0, true);
+         TEST_OUTPUT.println("parallel AI - decisions add to pending trades");
+         AIHandler.decideTrades(ais, SEED, null, decisionsParallel, true);
+         for (Map.Entry<Ware, Integer> entry : decisionsSequential.entrySet()) {
+            if (decisionsParallel.getOrDefault(entry.getKey(), 0) != entry.getValue() * 2) {
+               TEST_OUTPUT.println("   unexpected pending trade for " + entry.getKey().getWareID() + ": " + decisionsParallel.get(entry.getKey()) + ", should be " + (entry.getValue() * 2));
+               errorFound = true;
+            }
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - check: specified quantity, ware out of stock");
-         testWareC1.setQuantity(0);
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareC1, 0, null,
-                                   1.0f, 0, true);
+         TEST_OUTPUT.println("parallel AI - different seeds, different decisions");
+         decisionsRepeated.clear();
+         AIHandler.decideTrades(ais, SEED + 1, null, decisionsRepeated, true);
+         if (decisionsSequential.equals(decisionsRepeated)) {
+            TEST_OUTPUT.println("   decisions did not change when the seed changed");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("manufacturing contracts - check: specified quantity, ware low in stock");
-         testWareC1.setQuantity(5);
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareC1, 10, null,
-                                   1.0f, 0, true);
+         if (runBenchmarks) {
+            TEST_OUTPUT.println("parallel AI - throughput");
+            for (int population : POPULATIONS) {
+               final AI[] POPULATION = Arrays.copyOf(ais, population);
+
+               // warm up
+               for (int i = 0; i < REPETITIONS; i++) {
+                  AIHandler.decideTrades(POPULATION, SEED + i, null, decisionsSequential, false);
+                  AIHandler.decideTrades(POPULATION, SEED + i, null, decisionsParallel, true);
+               }
+
+               timeSequential = System.nanoTime();
+               for (int i = 0; i < REPETITIONS; i++) {
+                  decisionsSequential.clear();
+                  AIHandler.decideTrades(POPULATION, SEED + i, null, decisionsSequential, false);
+               }
+               timeSequential = (System.nanoTime() - timeSequential) / REPETITIONS;
+
+               timeParallel = System.nanoTime();
+               for (int i = 0; i < REPETITIONS; i++) {
+                  decisionsParallel.clear();
+                  AIHandler.decideTrades(POPULATION, SEED + i, null, decisionsParallel, true);
+               }
+               timeParallel = (System.nanoTime() - timeParallel) / REPETITIONS;
+
+               TEST_OUTPUT.println("   " + population + " AI: one at a time " + (timeSequential / 1000) + " microseconds, parallel " + (timeParallel / 1000) + " microseconds per trade event");
+               if (!decisionsSequential.equals(decisionsParallel)) {
+                  TEST_OUTPUT.println("   decisions differed for " + population + " AI");
+                  errorFound = true;
+               }
+            }
+         }
+
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("testUnitManufacturingContracts() - fatal error: " + e);
-         baosErr.reset();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("parallel AI - fatal error: " + e);
          e.printStackTrace();
-         TEST_OUTPUT.println(baosErr.toString());
          return false;
       }
 
@@ -11858,734 +13100,935 @@ public final class TestSuite
    }
 
    /**
-    * Tests paying transaction fees when buying, selling, or sending money.
+    * Tests AI sharing one set of prices each trade event
+    * and compares throughput against each AI pricing wares itself.
     *
-    * @return whether handling transaction fees passed all test cases
+    * @return whether AI price snapshots passed all test cases
     */
-   private static boolean testUnitTransactionFees() {
+   private static boolean testUnitAIPriceSnapshot() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
-      Config.chargeTransactionFees = true;
-      FileWriter fileWriter;
-      // add a ware with a negative price
-      Ware wareWithNegativePrice = new WareMaterial("minecraft:rotten_flesh", "rotten_flesh", -1.0f, 1000, (byte) 0);
-      wares.put("minecraft:rotten_flesh", wareWithNegativePrice);
-      wareAliasTranslations.put("rotten_flesh", "minecraft:rotten_flesh");
-
-      // track changes to variables
-      Account accountFeeCollection;
-      Account account1;
-      Account account2;
 
-      // ensure fee collection account exists and has sufficient wealth to pay negative fees
-      accountFeeCollection = Account.getAccount(Config.transactionFeesAccount);
-      if (accountFeeCollection == null)
-         accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
-      accountFeeCollection.setMoney(Float.POSITIVE_INFINITY);
+      final String[] WARE_IDS    = {"test:material1", "test:material2", "test:material3", "minecraft:material4",
+                                    "test:processed1", "test:processed2", "test:crafted1", "test:crafted2", "test:crafted3"};
+      final Marketplace.PriceType[] PRICE_TYPES = {Marketplace.PriceType.EQUILIBRIUM_BUY, Marketplace.PriceType.CURRENT_BUY,
+                                                   Marketplace.PriceType.EQUILIBRIUM_SELL, Marketplace.PriceType.CURRENT_SELL};
+      final int[]    POPULATIONS = {10, 100, 1000}; // how many AI to benchmark
+      final int      REPETITIONS = 20;              // trade events per benchmark
+      final long     SEED        = 20261017L;
+      AI[]                   ais;
+      HashMap<String, Float> preferences;
+      HashMap<Ware, Integer> decisionsIndividual = new HashMap<Ware, Integer>();
+      HashMap<Ware, Integer> decisionsShared     = new HashMap<Ware, Integer>();
+      PriceSnapshot          prices;
+      Ware                   ware;
+      float                  priceExpected;
+      long timeIndividual;
+      long timeShared;
 
       try {
-         TEST_OUTPUT.println("transaction fees - buy(): when disabled");
-         Config.transactionFeeSelling = 1.10f;
-         Config.transactionFeeSending = 0.10f;
-         errorFound |= testerBuyTransActFee(testWare1, 16, 0.00f, 0);
+         Config.aiRandomness = 0.5f; // make pseudorandomness matter
+         AI.calcTradeQuantities();
 
-         TEST_OUTPUT.println("transaction fees - buy(): when enabled");
-         errorFound |= testerBuyTransActFee(testWare2, 8, 1.10f, 0);
+         // create AI trading overlapping wares
+         ais = new AI[POPULATIONS[POPULATIONS.length - 1]];
+         for (int i = 0; i < ais.length; i++) {
+            preferences = new HashMap<String, Float>();
+            preferences.put(WARE_IDS[i % WARE_IDS.length], 1.0f + (i % 7) * 0.1f);
+            ais[i] = new AI("testPriceSnapshot" + i,
+                            new String[]{WARE_IDS[i % WARE_IDS.length], WARE_IDS[(i + 3) % WARE_IDS.length]},
+                            new String[]{WARE_IDS[(i + 1) % WARE_IDS.length], WARE_IDS[(i + 4) % WARE_IDS.length]},
+                            preferences);
+         }
 
-         TEST_OUTPUT.println("transaction fees - buy(): zero rates");
-         Config.transactionFeeBuyingIsMult = true;
-         errorFound |= testerTradeTransActFee(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 0,
-                                              16, 0.0f, 17.0f, 1, false, true);
+         TEST_OUTPUT.println("AI price snapshot - null or empty input");
+         prices = PriceSnapshot.capture(null);
+         if (prices.numWares != 0) {
+            TEST_OUTPUT.println("   unexpected number of wares priced: " + prices.numWares + ", should be 0");
+            errorFound = true;
+         }
+         ware          = wares.get("test:material1");
+         priceExpected = Marketplace.getPrice(null, ware, 1, Marketplace.PriceType.CURRENT_BUY);
+         if (prices.getPrice(ware, Marketplace.PriceType.CURRENT_BUY) != priceExpected) {
+            TEST_OUTPUT.println("   unexpected price for uncaptured ware: " + prices.getPrice(ware, Marketplace.PriceType.CURRENT_BUY) + ", should be " + priceExpected);
+            errorFound = true;
+         }
 
-         Config.transactionFeeBuyingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWare4, Config.quanEquilibrium[testWare4.getLevel()], 0,
-                                              1, 0.0f, testWare4.getBasePrice(), 2, false, true);
+         TEST_OUTPUT.println("AI price snapshot - each distinct ware is priced once");
+         prices = PriceSnapshot.capture(ais);
+         if (prices.numWares != WARE_IDS.length) {
+            TEST_OUTPUT.println("   unexpected number of wares priced: " + prices.numWares + ", should be " + WARE_IDS.length);
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("transaction fees - buy(): flat rates, positive");
-         errorFound |= testerBuyTransActFee(testWare2, 48, 10.00f, 1);
+         TEST_OUTPUT.println("AI price snapshot - prices match individual pricing");
+         for (String wareID : WARE_IDS) {
+            ware = wares.get(wareID);
+            for (Marketplace.PriceType priceType : PRICE_TYPES) {
+               priceExpected = Marketplace.getPrice(null, ware, 1, priceType);
+               if (prices.getPrice(ware, priceType) != priceExpected) {
+                  TEST_OUTPUT.println("   unexpected " + priceType + " price for " + wareID + ": " + prices.getPrice(ware, priceType) + ", should be " + priceExpected);
+                  errorFound = true;
+               }
+            }
+         }
 
-         errorFound |= testerBuyTransActFee(testWare3, 4, 100.00f, 2);
+         TEST_OUTPUT.println("AI price snapshot - shared prices give the same decisions");
+         AIHandler.decideTrades(ais, SEED, null, decisionsIndividual, false);
+         AIHandler.decideTrades(ais, SEED, prices, decisionsShared, false);
+         if (decisionsIndividual.isEmpty() || !decisionsIndividual.equals(decisionsShared)) {
+            TEST_OUTPUT.println("   unexpected decisions: " + decisionsShared + ", should be " + decisionsIndividual);
+            errorFound = true;
+         }
+         decisionsShared.clear();
+         AIHandler.decideTrades(ais, SEED, prices, decisionsShared, true);
+         if (!decisionsIndividual.equals(decisionsShared)) {
+            TEST_OUTPUT.println("   unexpected decisions in parallel: " + decisionsShared + ", should be " + decisionsIndividual);
+            errorFound = true;
+         }
 
-         errorFound |= testerBuyTransActFee(testWareC1, 12, 128.00f, 3);
+         if (runBenchmarks) {
+            TEST_OUTPUT.println("AI price snapshot - throughput");
+            for (int population : POPULATIONS) {
+               final AI[] POPULATION = Arrays.copyOf(ais, population);
 
-         TEST_OUTPUT.println("transaction fees - buy(): flat rates, negative");
-         errorFound |= testerBuyTransActFee(testWareC2, 12, -50.00f, 1);
+               // warm up
+               for (int i = 0; i < REPETITIONS; i++) {
+                  AIHandler.decideTrades(POPULATION, SEED + i, null, decisionsIndividual, false);
+                  AIHandler.decideTrades(POPULATION, SEED + i, PriceSnapshot.capture(POPULATION), decisionsShared, false);
+               }
 
-         errorFound |= testerBuyTransActFee(testWareC2, 24, -124.50f, 2);
+               timeIndividual = System.nanoTime();
+               for (int i = 0; i < REPETITIONS; i++) {
+                  decisionsIndividual.clear();
+                  AIHandler.decideTrades(POPULATION, SEED + i, null, decisionsIndividual, false);
+               }
+               timeIndividual = (System.nanoTime() - timeIndividual) / REPETITIONS;
 
-         errorFound |= testerBuyTransActFee(testWareP2, 7, -0.86f, 3);
+               // include capturing prices since trade events do so each time
+               timeShared = System.nanoTime();
+               for (int i = 0; i < REPETITIONS; i++) {
+                  decisionsShared.clear();
+                  AIHandler.decideTrades(POPULATION, SEED + i, PriceSnapshot.capture(POPULATION), decisionsShared, false);
+               }
+               timeShared = (System.nanoTime() - timeShared) / REPETITIONS;
 
-         TEST_OUTPUT.println("transaction fees - buy(): flat rates, positive, negative prices");
-         // enable negative prices
-         Config.priceFloor         = 1.0f;
-         Config.priceFloorAdjusted = 0.0f;
+               TEST_OUTPUT.println("   " + population + " AI: individual pricing " + (timeIndividual / 1000) + " microseconds, shared prices " + (timeShared / 1000) + " microseconds per trade event");
+               if (!decisionsIndividual.equals(decisionsShared)) {
+                  TEST_OUTPUT.println("   decisions differed for " + population + " AI");
+                  errorFound = true;
+               }
+            }
+         }
 
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10,  10.00f, 1);
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         resetTestEnvironment();
+         TEST_OUTPUT.println("AI price snapshot - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100,   5.00f, 2);
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("transaction fees - buy(): flat rates, negative, negative prices");
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10, -10.00f, 1);
+   /**
+    * Tests /research.
+    *
+    * @return whether /research passed all test cases
+    */
+   private static boolean testUnitResearch() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100,  -5.00f, 2);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         // disable negative prices
-         Config.priceFloor         =  0.0f;
-         Config.priceFloorAdjusted =  1.0f;
+      // track changes to variables
+      byte  wareLevel;
+      int   wareQuantity;
+      float price;
+      float money;
 
-         TEST_OUTPUT.println("transaction fees - buy(): percent rates, positive");
-         Config.transactionFeeBuyingIsMult = true;
-         errorFound |= testerBuyTransActFee(testWareP1, 14, 0.10f, 1);
+      try {
+         // /research <ware_id> [max_unit_price] [account_id] - spends to increase a ware's supply and demand
 
-         errorFound |= testerBuyTransActFee(testWare3, 13, 0.50f, 2);
+         // researchCostIsAMultOfAvgPrice == false; cost per hierarchy level = current market price * hierarchy level * Config.researchCostPerHierarchyLevel
 
-         errorFound |= testerBuyTransActFee(testWare1, 5, 1.00f, 3);
+         TEST_OUTPUT.println("research() - when disabled");
+         Config.researchCostPerHierarchyLevel = 0.0f;
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research test:material2");
+         errorFound |= testConsoleOutput("error - industrial research is disabled" + System.lineSeparator());
+         resetTestEnvironment();
 
-         TEST_OUTPUT.println("transaction fees - buy(): percent rates, negative");
-         errorFound |= testerBuyTransActFee(testWareP1, 5, -0.10f, 1);
+         TEST_OUTPUT.println("research() - null input");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research");
+         errorFound |= testConsoleOutput("/research <ware_id> [max_price_acceptable] [account_id]" + System.lineSeparator());
 
-         errorFound |= testerBuyTransActFee(testWare2, 6, -0.50f, 2);
+         TEST_OUTPUT.println("research() - too many args");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research test:material1 excessArgument excessArgument excessArgument");
+         errorFound |= testConsoleOutput("error - wrong number of arguments");
 
-         errorFound |= testerBuyTransActFee(testWareC1, 74, -0.24f, 3);
+         TEST_OUTPUT.println("research() - invalid ware ID");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research invalidWareID");
+         errorFound |= testConsoleOutput("error - ware not found: invalidWareID" + System.lineSeparator());
 
-         TEST_OUTPUT.println("transaction fees - buy(): percent rates, positive, negative prices");
-         // enable negative prices
-         Config.priceFloor         = 1.0f;
-         Config.priceFloorAdjusted = 0.0f;
+         TEST_OUTPUT.println("research() - insufficient funds");
+         wareLevel    = testWare2.getLevel();
+         wareQuantity = testWare2.getQuantity();
+         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWare2, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
+         price        = PriceFormatter.truncatePrice(price);
+         money        = 1.0f;
+         playerAccount.setMoney(money);
 
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10,  1.00f, 1);
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research test:material2");
+         UserInterfaceTerminal.serviceRequest("/research yes");
 
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100,  0.50f, 2);
+         if (!baosOut.toString().contains("test:material2 research price is " + PriceFormatter.truncatePrice(price) + "; to accept, use /research yes [max_price_acceptable] [account_id]") ||
+             !baosOut.toString().contains("You do not have enough money" + System.lineSeparator())) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
+            errorFound = true;
+         }
+         if (testWareFields(testWare2, WareMaterial.class, "", wareLevel, 27.6f, wareQuantity)) {
+            errorFound = true;
+         }
+         if (testAccountFields(playerAccount, money, UserInterfaceTerminal.playername)) {
+            errorFound = true;
+         }
+         resetTestEnvironment();
 
-         TEST_OUTPUT.println("transaction fees - buy(): percent rates, negative, negative prices");
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10, -1.00f, 1);
+         TEST_OUTPUT.println("research() - ware at lowest level");
+         errorFound |= testerResearch(testWare1, testWare1.getQuantity(), 0);
 
-         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100, -0.50f, 2);
+         TEST_OUTPUT.println("research() - equilibrium: raw material");
+         errorFound |= testerResearch(testWare2, Config.startQuanBase[testWare2.getLevel()], 0);
 
-         // disable negative prices
-         Config.priceFloor         =  0.0f;
-         Config.priceFloorAdjusted =  1.0f;
+         TEST_OUTPUT.println("research() - equilibrium: processed ware");
+         errorFound |= testerResearch(testWareP1, Config.startQuanBase[testWareP1.getLevel()], 0);
 
-         TEST_OUTPUT.println("transaction fees - buy(): funds checking includes fees, positive");
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              10, 1.00f, 0.0f, 1, true, true);
+         TEST_OUTPUT.println("research() - understocked");
+         errorFound |= testerResearch(testWareP1, 1, 0);
 
-         Config.transactionFeeBuyingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              10, 10.00f, 0.0f, 2, true, true);
+         TEST_OUTPUT.println("research() - overstocked");
+         errorFound |= testerResearch(testWare4, Config.startQuanBase[testWare4.getLevel() - 1] + 10, 0);
 
-         TEST_OUTPUT.println("transaction fees - buy(): funds checking includes fees, negative");
-         Config.transactionFeeBuyingIsMult = true;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              10, -0.10f, 0.0f, 1, true, true);
-
-         Config.transactionFeeBuyingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              10, -5.00f, 0.0f, 2, true, true);
-
-         TEST_OUTPUT.println("transaction fees - buy(): funds checking includes fees, extremely negative");
-         Config.transactionFeeBuyingIsMult = true;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              64, -1.00f, 0.0f, 1, false, true);
-
-         Config.transactionFeeBuyingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
-                                              10, testWareC1.getBasePrice() * -11.0f, 0.0f, 2, false, true);
-
-         TEST_OUTPUT.println("transaction fees - buy(): changing fee applied message");
-         // create test config file
-         try {
-            // open the save file for config, create it if it doesn't exist
-            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-
-            // write test wares file
-            fileWriter.write(
-               "// warning: this file may be cleared and overwritten by the program\n\n" +
-               "chargeTransactionFees      = true\n" +
-               "transactionFeeBuyingIsMult = true\n" +
-               "transactionFeeBuyingMsg    = Sales tax: \n" +
-               "disableAutoSaving          = true\n" +
-               "crossWorldMarketplace      = true\n"
-            );
-
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to change test config file");
-            e.printStackTrace();
-         }
-
-         // reload config
-         Config.loadConfig();
-
-         errorFound |= testerBuyTransActFee(testWareP1, 14, 0.10f, 1);
-
-         errorFound |= testerBuyTransActFee(testWare3, 13, 0.50f, 2);
-
-         errorFound |= testerBuyTransActFee(testWare1, 5, 1.00f, 3);
-
-         TEST_OUTPUT.println("transaction fees - buy(): restoring fee applied message");
-         Config.transactionFeeBuyingMsg    = "   Transaction fee applied: ";
-         errorFound |= testerBuyTransActFee(testWareP1, 14, 0.10f, 1);
+         TEST_OUTPUT.println("research() - excessively overstocked");
+         errorFound |= testerResearch(testWare4, 999999999, 0);
 
-         errorFound |= testerBuyTransActFee(testWare3, 13, 0.50f, 2);
+         TEST_OUTPUT.println("research() - non-personal account: generating proposal");
+         errorFound |= testerResearch(testWareP1, Config.startQuanBase[testWareP1.getLevel() - 1], "testAccount1", null, 0, 0);
 
-         errorFound |= testerBuyTransActFee(testWare1, 5, 1.00f, 3);
+         TEST_OUTPUT.println("research() - non-personal account: accepting proposal");
+         errorFound |= testerResearch(testWare3, Config.startQuanBase[testWare3.getLevel() - 1], null, "testAccount1", 0, 0);
 
-         TEST_OUTPUT.println("transaction fees - buy(): fee account doesn't exist");
-         Config.transactionFeesAccount = "transactionFeeCollectionBuy";
+         TEST_OUTPUT.println("research() - non-personal account: generating and accepting proposal");
+         errorFound |= testerResearch(testWare2, Config.startQuanBase[testWare2.getLevel() - 1], "testAccount1", "testAccount2", 0, 0);
 
-         // ensure account does not exist
-         account1 = Account.getAccount(Config.transactionFeesAccount);
-         if (account1 != null)
-            Account.deleteAccount(Config.transactionFeesAccount, account1.getOwner());
+         resetTestEnvironment();
 
-         // create test config file
-         try {
-            // open the save file for config, create it if it doesn't exist
-            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         TEST_OUTPUT.println("research() - non-personal account: inaccessible");
+         money        = 1000000.0f;
+         testAccount4.setMoney(money);
+         wareLevel    = testWare2.getLevel();
+         wareQuantity = testWare2.getQuantity();
 
-            // write test wares file
-            fileWriter.write(
-               "// warning: this file may be cleared and overwritten by the program\n\n" +
-               "chargeTransactionFees  = true\n" +
-               "transactionFeesShouldPutFeesIntoAccount = true\n" +
-               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
-               "accountStartingMoney   = 0.0\n"  +
-               "disableAutoSaving      = true\n" +
-               "crossWorldMarketplace  = true\n"
-            );
+         UserInterfaceTerminal.serviceRequest("/research test:material2 testAccount4");
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research yes");
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to change test config file");
-            e.printStackTrace();
+         if (testWareFields(testWare2, WareMaterial.class, "", (byte) wareLevel, 27.6f, wareQuantity)) {
+            errorFound = true;
+         }
+         if (testAccountFields(testAccount4, money, null)) {
+            errorFound = true;
          }
+         errorFound |= testConsoleOutput("You don't have permission to access testAccount4" + System.lineSeparator());
 
-         // reload config
-         Config.loadConfig();
+         TEST_OUTPUT.println("research() - maximum price acceptable: insufficient");
+         wareLevel    = testWareP1.getLevel();
+         wareQuantity = Config.startQuanBase[testWareP1.getLevel()];
+         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWareP1, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
+         price        = PriceFormatter.truncatePrice(price);
+         money        = 1000000.0f;
+         playerAccount.setMoney(money);
 
-         // run test
-         errorFound |= testerBuyTransActFee(testWare1, 10, 0.10f, 0);
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research test:processed1 " + String.valueOf(price - 100.0f));
 
-         // check account existence
-         account1 = Account.getAccount(Config.transactionFeesAccount);
-         if (account1 == null) {
-            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
+         if (!baosOut.toString().contains("test:processed1 research price is " + PriceFormatter.truncatePrice(price) + "; to accept, use /research yes [max_price_acceptable] [account_id]")) {
+            TEST_OUTPUT.println("   unexpected console output: " + baosOut.toString());
             errorFound = true;
          }
-
-         // check account properties
-         else {
-            if (account1.getOwner() != null) {
-               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account1.getOwner().toString());
-               errorFound = true;
-            }
+         if (testWareFields(testWareP1, WareProcessed.class, "", (byte) wareLevel, 1.1f, wareQuantity)) {
+            errorFound = true;
+         }
+         if (testAccountFields(playerAccount, money, UserInterfaceTerminal.playername)) {
+            errorFound = true;
          }
 
-         TEST_OUTPUT.println("transaction fees - buy(): fee account changed");
-         Config.transactionFeesShouldPutFeesIntoAccount = true;
-         account1 = Account.getAccount(Config.transactionFeesAccount);
-         Config.transactionFeesAccount                  = "newTransactionFeeCollectionBuy";
-         account2 = Account.getAccount(Config.transactionFeesAccount);
-
-         // ensure account does not exist
-         if (account2 != null)
-            Account.deleteAccount(Config.transactionFeesAccount, account2.getOwner());
+         resetTestEnvironment();
 
-         // create test config file
-         try {
-            // open the save file for config, create it if it doesn't exist
-            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         TEST_OUTPUT.println("research() - maximum price acceptable: sufficient");
+         wareLevel    = testWareP1.getLevel();
+         wareQuantity = Config.startQuanBase[testWareP1.getLevel() - 1];
+         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWareP1, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
+         price        = PriceFormatter.truncatePrice(price);
+         money        = 1000000.0f;
+         playerAccount.setMoney(money);
 
-            // write test wares file
-            fileWriter.write(
-               "// warning: this file may be cleared and overwritten by the program\n\n" +
-               "chargeTransactionFees  = true\n" +
-               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
-               "accountStartingMoney   = 0.0\n"  +
-               "disableAutoSaving      = true\n" +
-               "crossWorldMarketplace  = true\n"
-            );
+         UserInterfaceTerminal.serviceRequest("/research test:processed1 " + String.valueOf(price + 100.0f));
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to change test config file");
-            e.printStackTrace();
+         if (testWareFields(testWareP1, WareProcessed.class, "", (byte) (wareLevel - 1), 1.1f, wareQuantity)) {
+            errorFound = true;
          }
-
-         // reload config
-         Config.loadConfig();
-
-         // run test
-         errorFound |= testerBuyTransActFee(testWare1, 10, 0.10f, 0);
-
-         // check account existence
-         account2 = Account.getAccount(Config.transactionFeesAccount);
-         if (account2 == null) {
-            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
+         if (testAccountFields(playerAccount, money - price, UserInterfaceTerminal.playername)) {
             errorFound = true;
          }
 
-         // check account properties
-         else {
-            if (account2.getOwner() != null) {
-               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account2.getOwner().toString());
-               errorFound = true;
-            }
-         }
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research yes");
+
+         errorFound |= testConsoleOutput("You don't have any pending research proposals" + System.lineSeparator());
 
-         // reset test environment in case
-         // reloading configuration made unexpected changes
          resetTestEnvironment();
-         Config.chargeTransactionFees                   = true;
-         Config.transactionFeesShouldPutFeesIntoAccount = true;
 
-         // ensure fee collection account exists
-         accountFeeCollection = Account.getAccount(Config.transactionFeesAccount);
-         if (accountFeeCollection == null)
-            accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
+         TEST_OUTPUT.println("research() - charging according to market's current average price");
+         Config.researchCostIsAMultOfAvgPrice = true;
+         Config.researchCostPerHierarchyLevel = 2.0f;
+         wareLevel    = testWare4.getLevel();
+         wareQuantity = Config.startQuanBase[testWare4.getLevel() - 1];
+         price        = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWare4, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel * Marketplace.getCurrentPriceAverage();
+         price        = PriceFormatter.truncatePrice(price);
+         money        = 1000000.0f;
+         playerAccount.setMoney(money);
 
-         // add a ware with a negative price
-         wares.put("minecraft:rotten_flesh", wareWithNegativePrice);
-         wareAliasTranslations.put("rotten_flesh", "minecraft:rotten_flesh");
+         UserInterfaceTerminal.serviceRequest("/research minecraft:material4");
+         UserInterfaceTerminal.serviceRequest("/research yes");
 
-         TEST_OUTPUT.println("transaction fees - buy(): fee account, positive rates");
-         errorFound |= testerBuyAccountTransActFee(testWare4,   10, 0.87f,    0.0f, 1, true);
+         if (testWareFields(testWare4, WareMaterial.class, "material4", (byte) (wareLevel - 1), 8.0f, wareQuantity)) {
+            errorFound = true;
+         }
+         if (testAccountFields(playerAccount, money - price, UserInterfaceTerminal.playername)) {
+            errorFound = true;
+         }
 
-         errorFound |= testerBuyAccountTransActFee(testWare1,   99, 1.00f,  1000.0f, 2, true);
+         TEST_OUTPUT.println("research() - accepting nonexistent proposal");
 
-         errorFound |= testerBuyAccountTransActFee(testWare1, 256, 2.14f, 10000.0f, 3, true);
+         baosOut.reset(); // clear buffer holding console output
+         UserInterfaceTerminal.serviceRequest("/research yes");
 
-         TEST_OUTPUT.println("transaction fees - buy(): fee account, negative rates");
-         errorFound |= testerBuyAccountTransActFee(testWare3,    2, -0.12f,   100.0f, 1, true);
+         errorFound |= testConsoleOutput("You don't have any pending research proposals" + System.lineSeparator());
 
-         errorFound |= testerBuyAccountTransActFee(testWare1,   17, -0.23f,   100.0f, 2, true);
+         resetTestEnvironment();
 
-         errorFound |= testerBuyAccountTransActFee(testWareC2, 64, -1.50f, 10000.0f, 3, true);
+         TEST_OUTPUT.println("research() - accepting proposal after price lowered");
+         errorFound |= testerResearch(testWare4, Config.quanDeficient[testWare4.getLevel() - 1], null, null,
+                                      Config.startQuanBase[testWare4.getLevel() - 1] - 1, 0);
 
-         TEST_OUTPUT.println("transaction fees - buy(): fee account funds too low to pay negative rate");
-         errorFound |= testerBuyAccountTransActFee(testWareC1, 10, -0.10f, 10.0f, 1, true);
+         TEST_OUTPUT.println("research() - accepting proposal after price rose slightly");
+         errorFound |= testerResearch(testWare4, Config.startQuanBase[testWare4.getLevel()], null, null,
+                                      (int) (testWare4.getQuantity() * 1.04), 0);
 
-         Config.transactionFeeBuyingIsMult = false;
-         errorFound |= testerBuyAccountTransActFee(testWareC1, 10, -11.0f, 10.0f, 2, true);
+         TEST_OUTPUT.println("research() - accepting proposal after price rose greatly");
+         wareLevel    = testWare4.getLevel();
+         wareQuantity = Config.quanDeficient[testWare4.getLevel()];
+         testWare4.setQuantity(Config.startQuanBase[testWare4.getLevel()]); // ensure ware's stock is normal so price is normal
+         money        = 1000000.0f;
+         playerAccount.setMoney(money);
 
-         Config.transactionFeesShouldPutFeesIntoAccount = false;
+         UserInterfaceTerminal.serviceRequest("/research minecraft:material4");
 
+         testWare4.setQuantity(wareQuantity);
+         price              = Marketplace.getPrice(UserInterfaceTerminal.getPlayerIDStatic(UserInterfaceTerminal.playername), testWare4, 0, Marketplace.PriceType.CURRENT_SELL) * wareLevel * Config.researchCostPerHierarchyLevel;
+         price              = PriceFormatter.truncatePrice(price);
 
-         // ensure fee collection account has sufficient wealth to pay negative fees
-         accountFeeCollection.setMoney(Float.POSITIVE_INFINITY);
+         UserInterfaceTerminal.serviceRequest("/research yes");
 
-         TEST_OUTPUT.println("transaction fees - sell(): when disabled");
-         Config.transactionFeeSellingIsMult = true;
-         Config.transactionFeeBuying        = 0.05f;
-         Config.transactionFeeSending       = 0.02f;
-         errorFound |= testerSellTransActFee(testWare3, 15, 0.00f, 0);
-
-         TEST_OUTPUT.println("transaction fees - sell(): when enabled");
-         errorFound |= testerSellTransActFee(testWare3, 15, 0.75f, 0);
+         if (testWareFields(testWare4, WareMaterial.class, "material4", wareLevel, 8.0f, wareQuantity)) {
+            errorFound = true;
+         }
+         if (testAccountFields(playerAccount, money, UserInterfaceTerminal.playername)) {
+            errorFound = true;
+         }
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("research() - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("transaction fees - sell(): zero rates");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerTradeTransActFee(testWare1, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare1.getLevel()],
-                                              16, 0.0f, 0.0f, 1, false, false);
+      return !errorFound;
+   }
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWare4, Config.quanEquilibrium[testWare4.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
-                                              Config.quanEquilibrium[testWare4.getLevel()], 0.0f, 0.0f, 2, false, false);
+   /**
+    * Tests adjusting manufactured wares' prices based on components' prices.
+    *
+    * @return whether Ware.getLinkedPriceMultiplier() and Marketplace.getPrice() passed all test cases
+    */
+   private static boolean testUnitLinkedPrices() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("transaction fees - sell(): flat rates, positive");
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerSellTransActFee(testWare2, 48, 10.00f, 1);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
+      Config.linkedPricesPercent = 0.75f;
 
-         errorFound |= testerSellTransActFee(testWare3, 4, 5.00f, 2);
+      // track changes to variables
+      float priceMult;
+      float price;
+      int   quantityWare;
+      int   quantityComponent1;
+      int   quantityComponent2;
+      int   quantityComponent3;
+      Ware  testWare;
+      Ware  testComponent1;
+      Ware  testComponent2;
+      Ware  testComponent3;
 
-         errorFound |= testerSellTransActFee(testWareC1, 12, 128.00f, 3);
+      try {
+         TEST_OUTPUT.println("linked prices - lowering price at equilibrium");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.625f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 640, 1);
 
-         TEST_OUTPUT.println("transaction fees - sell(): flat rates, negative");
-         errorFound |= testerSellTransActFee(testWareC2, 12, -50.00f, 1);
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.8125f,
+            Config.quanEquilibrium[testWareC3.getLevel()] - 1, 56, 2);
 
-         errorFound |= testerSellTransActFee(testWareC2, 24, -124.50f, 2);
+         TEST_OUTPUT.println("linked prices - lowering price when above equilibrium");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.625f,
+            Config.quanEquilibrium[testWareP1.getLevel()] * 2 - 1, 640, 1);
 
-         errorFound |= testerSellTransActFee(testWareP2, 7, -0.86f, 3);
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.8125f,
+            Config.quanEquilibrium[testWareC3.getLevel()] * 2 - 1, 56, 2);
 
-         TEST_OUTPUT.println("transaction fees - sell(): percent rates, positive");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerSellTransActFee(testWareP1, 14, 0.10f, 1);
+         TEST_OUTPUT.println("linked prices - lowering price when below equilibrium");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.625f,
+            (int) (Config.quanEquilibrium[testWareP1.getLevel()] * 0.75f) - 1, 640, 1);
 
-         errorFound |= testerSellTransActFee(testWare3, 13, 0.50f, 2);
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.8125f,
+            (int) (Config.quanEquilibrium[testWareC3.getLevel()] * 0.75f) - 1, 56, 2);
 
-         errorFound |= testerSellTransActFee(testWare1, 5, 0.95f, 3);
+         TEST_OUTPUT.println("linked prices - raising price at equilibrium");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.375f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 192, 1);
 
-         TEST_OUTPUT.println("transaction fees - sell(): percent rates, negative");
-         errorFound |= testerSellTransActFee(testWareP1, 5, -0.10f, 1);
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.5625f,
+            Config.quanEquilibrium[testWareC3.getLevel()] - 1, 20, 2);
 
-         errorFound |= testerSellTransActFee(testWare2, 6, -0.50f, 2);
+         TEST_OUTPUT.println("linked prices - raising price when above equilibrium");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.375f,
+            Config.quanEquilibrium[testWareP1.getLevel()] * 2 - 1, 192, 1);
 
-         errorFound |= testerSellTransActFee(testWareC1, 74, -0.24f, 3);
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.5625f,
+            Config.quanEquilibrium[testWareC3.getLevel()] * 2 - 1, 20, 2);
 
-         TEST_OUTPUT.println("transaction fees - sell(): percent rates, positive, negative prices");
-         // enable negative prices
-         Config.priceFloor         = 1.0f;
-         Config.priceFloorAdjusted = 0.0f;
+         TEST_OUTPUT.println("linked prices - raising price when below equilibrium");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.375f,
+            (int) (Config.quanEquilibrium[testWareP1.getLevel()] * 0.75f) - 1, 192, 1);
 
-         errorFound |= testerSellTransActFee(wareWithNegativePrice,  10,  0.10f, 1);
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.5625f,
+            (int) (Config.quanEquilibrium[testWareC3.getLevel()] * 0.75f) - 1, 20, 2);
 
-         errorFound |= testerSellTransActFee(wareWithNegativePrice, 100,  0.50f, 2);
+         TEST_OUTPUT.println("linked prices - free components");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 0.25f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 9999, 1);
 
-         TEST_OUTPUT.println("transaction fees - sell(): percent rates, negative, negative prices");
-         errorFound |= testerSellTransActFee(wareWithNegativePrice,  10, -0.10f, 1);
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 0.25f,
+             Config.quanEquilibrium[testWareC3.getLevel()] - 1, 9999, 2);
 
-         errorFound |= testerSellTransActFee(wareWithNegativePrice, 100, -0.50f, 2);
+         TEST_OUTPUT.println("linked prices - expensive components");
+         errorFound |= testerLinkedPrices(testWareP1, testWare1, 1.75f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 0, 1);
 
-         // disable negative prices
-         Config.priceFloor         =  0.0f;
-         Config.priceFloorAdjusted =  1.0f;
+         errorFound |= testerLinkedPrices(testWareC3, testWare4, 1.75f,
+             Config.quanEquilibrium[testWareC3.getLevel()] - 1, 0, 2);
 
-         TEST_OUTPUT.println("transaction fees - sell(): funds checking includes fees, positive");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
-                                              Config.quanEquilibrium[testWareC1.getLevel()] / 2,
-                                              1.10f, 0.0f, 1, true, false);
+         TEST_OUTPUT.println("linked prices - one free component");
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.7692308f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 9999,
+            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
 
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
-                                              Config.quanEquilibrium[testWareC1.getLevel()] / 2,
-                                              1.00f, 0.0f, 2, true, false);
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.53846157f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()],
+            Config.quanEquilibrium[testWare3.getLevel()], 9999, 0, 2);
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
-                                              Config.quanEquilibrium[testWareC1.getLevel()] / 2,
-                                              10000.00f, 0.0f, 3, true, false);
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.28712872f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 9999, 0, 0, 3);
 
-         TEST_OUTPUT.println("transaction fees - sell(): funds checking includes fees, negative");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 300, 300,
-                                              -0.10f, 0.0f, 1, false, false);
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.9628713f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
+            9999, Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 4);
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 300, 300,
-                                              -10.00f, 0.0f, 2, false, false);
+         TEST_OUTPUT.println("linked prices - one expensive component");
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 1.2307692f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 0,
+            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
 
-         TEST_OUTPUT.println("transaction fees - sell(): funds checking includes fees, extremely negative");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
-                                              64, -1.00f, 0.0f, 1, false, false);
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 1.0576923f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1, 0,
+            Config.quanEquilibrium[testWare3.getLevel()],
+            Config.quanEquilibrium[testWare4.getLevel()], 0, 2);
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
-                                              64, -(testWareC1.getBasePrice() * 2.0f), 0.0f, 2, false, false);
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 1.7128713f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 0, 0, 0, 3);
 
-         TEST_OUTPUT.println("transaction fees - sell(): changing fee applied message");
-         // create test config file
-         try {
-            // open the save file for config, create it if it doesn't exist
-            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 1.0371287f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1, 0,
+            Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 4);
 
-            // write test wares file
-            fileWriter.write(
-               "// warning: this file may be cleared and overwritten by the program\n\n" +
-               "chargeTransactionFees       = true\n" +
-               "transactionFeeSellingIsMult = true\n" +
-               "transactionFeeSellingMsg    = Income tax: \n" +
-               "disableAutoSaving           = true\n" +
-               "crossWorldMarketplace       = true\n"
-            );
+         TEST_OUTPUT.println("linked prices - equilibrium price smaller than base price");
+         Config.priceMult = 0.5f; // lowers all prices
+         PricingContext.publish();
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to change test config file");
-            e.printStackTrace();
-         }
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.7692308f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 9999,
+            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
 
-         // reload config
-         Config.loadConfig();
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.53846157f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()],
+            Config.quanEquilibrium[testWare3.getLevel()], 9999, 0, 2);
 
-         errorFound |= testerSellTransActFee(testWareP1, 14, 0.10f, 1);
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.28712872f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 9999, 0, 0, 3);
 
-         errorFound |= testerSellTransActFee(testWare3, 13, 0.50f, 2);
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.9628713f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1, 9999,
+            Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 3);
 
-         errorFound |= testerSellTransActFee(testWare1, 5, 0.95f, 3);
+         TEST_OUTPUT.println("linked prices - equilibrium price larger than base price");
+         Config.priceMult = 2.0f; // raises all prices
+         PricingContext.publish();
 
-         TEST_OUTPUT.println("transaction fees - sell(): restoring fee applied message");
-         Config.transactionFeeSellingMsg    = "   Transaction fee applied: ";
-         errorFound |= testerSellTransActFee(testWareP1, 14, 0.10f, 1);
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.7692308f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 9999,
+            Config.quanEquilibrium[testWare4.getLevel()], 0, 1);
 
-         errorFound |= testerSellTransActFee(testWare3, 13, 0.50f, 2);
+         errorFound |= testerLinkedPrices(testWareP2, testWare1, testWare3, testWare4, null, 0.53846157f,
+            Config.quanEquilibrium[testWareP1.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()],
+            Config.quanEquilibrium[testWare3.getLevel()], 9999, 0, 2);
 
-         errorFound |= testerSellTransActFee(testWare1, 5, 0.95f, 3);
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.28712872f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1,
+            Config.quanEquilibrium[testWare1.getLevel()], 9999, 0, 0, 3);
 
-         TEST_OUTPUT.println("transaction fees - sell(): fee account doesn't exist");
-         Config.transactionFeesAccount = "transactionFeeCollectionSell";
+         errorFound |= testerLinkedPrices(testWareC2, testWare1, testWareC1, null, null, 0.9628713f,
+            Config.quanEquilibrium[testWareC2.getLevel()] - 1, 9999,
+            Config.quanEquilibrium[testWareC1.getLevel()], 0, 0, 3);
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("linked prices - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         // ensure account does not exist
-         account1 = Account.getAccount(Config.transactionFeesAccount);
-         if (account1 != null)
-            Account.deleteAccount(Config.transactionFeesAccount, account1.getOwner());
+      return !errorFound;
+   }
 
-         // create test config file
-         try {
-            // open the save file for config, create it if it doesn't exist
-            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-
-            // write test wares file
-            fileWriter.write(
-               "// warning: this file may be cleared and overwritten by the program\n\n" +
-               "chargeTransactionFees  = true\n" +
-               "transactionFeesShouldPutFeesIntoAccount = true\n" +
-               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
-               "accountStartingMoney   = 0.0\n"  +
-               "disableAutoSaving      = true\n" +
-               "crossWorldMarketplace  = true\n"
-            );
+   /**
+    * Tests purchasing out-of-stock manufactured wares
+    * if their components are for sale.
+    *
+    * @return whether buy() passed all manufacturing contract test cases
+    */
+   private static boolean testUnitManufacturingContracts() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to change test config file");
-            e.printStackTrace();
-         }
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         // reload config
-         Config.loadConfig();
+      try {
+         // manufactured wares:
+         // testWareP1: testWare1
+         // testWareP2: testWare1, testWare2, testWare4
+         // testWareC1: testWareU1
+         // testWareC2: testWare1, testWareC1
+         // testWareC3: testWare4
 
-         // run test
-         errorFound |= testerSellTransActFee(testWare1, 10, 0.10f, 0);
+         TEST_OUTPUT.println("manufacturing contracts - when disabled and out-of-stock, untradeable component");
+         errorFound |= testerBuyManufacturing(testWareC1, null, null, null, null, Float.NaN, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, false);
 
-         // check account existence
-         account1 = Account.getAccount(Config.transactionFeesAccount);
-         if (account1 == null) {
-            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("manufacturing contracts - when disabled and out-of-stock, material component");
+         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN, 0, testWare4.getQuantity(), 0, 0, 0, 0, 0, 0, 1, 0, false);
 
-         // check account properties
-         else {
-            if (account1.getOwner() != null) {
-               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account1.getOwner().toString());
-               errorFound = true;
-            }
-         }
+         // enable manufacturing contracts
+         Config.buyingOutOfStockWaresAllowed   = true;
+         Config.buyingOutOfStockWaresPriceMult = 1.10f; // explicitly set to known value
 
-         TEST_OUTPUT.println("transaction fees - sell(): fee account changed");
-         Config.transactionFeesShouldPutFeesIntoAccount = true;
-         account1 = Account.getAccount(Config.transactionFeesAccount);
-         Config.transactionFeesAccount                  = "newTransactionFeeCollectionSell";
-         account2 = Account.getAccount(Config.transactionFeesAccount);
+         TEST_OUTPUT.println("manufacturing contracts - untradeable ware");
+         errorFound |= testerBuyManufacturing(testWareU1, null, null, null, null, Float.NaN, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, false);
 
-         // ensure account does not exist
-         if (account2 != null)
-            Account.deleteAccount(Config.transactionFeesAccount, account2.getOwner());
+         TEST_OUTPUT.println("manufacturing contracts - non-manufactured ware, out-of-stock");
+         errorFound |= testerBuyManufacturing(testWare1, null, null, null, null, Float.NaN, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, false);
 
-         // create test config file
-         try {
-            // open the save file for config, create it if it doesn't exist
-            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: untradeable component");
+         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 0, 0, 0, 0, 1, 1, 0, 0, 1, 0, false);
 
-            // write test wares file
-            fileWriter.write(
-               "// warning: this file may be cleared and overwritten by the program\n\n" +
-               "chargeTransactionFees  = true\n" +
-               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
-               "accountStartingMoney   = 0.0\n"  +
-               "disableAutoSaving      = true\n" +
-               "crossWorldMarketplace  = true\n"
-            );
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: material components");
+         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
+                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
+                                              1, 1, 1, 1, 1, 0, false);
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to change test config file");
-            e.printStackTrace();
-         }
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: manufactured component");
+         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
+                                                 0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                                 1, 1, 1, 0, 1, 0, false);
 
-         // reload config
-         Config.loadConfig();
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock, varying order sizes: untradeable component");
+         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 0, 0, 0, 0, 32, 32, 0, 0, 32, 1, false);
 
-         // run test
-         errorFound |= testerSellTransActFee(testWare1, 10, 0.10f, 0);
+         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
+         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 0, 0, 0, 0, 192, 192, 0, 0, 192, 2, false);
 
-         // check account existence
-         account2 = Account.getAccount(Config.transactionFeesAccount);
-         if (account2 == null) {
-            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock, varying order sizes: material components");
+         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
+                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
+                                              16, 16, 16, 16, 16, 1, false);
 
-         // check account properties
-         else {
-            if (account2.getOwner() != null) {
-               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account2.getOwner().toString());
-               errorFound = true;
-            }
-         }
+         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
+         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
+                                              0, Config.quanExcessive[testWare4.getLevel()], 0, 0,
+                                              96, 24, 0, 0, 96, 2, false);
 
-         // reset test environment in case
-         // reloading configuration made unexpected changes
-         resetTestEnvironment();
-         Config.chargeTransactionFees                   = true;
-         Config.transactionFeesShouldPutFeesIntoAccount = true;
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock, varying order sizes: manufactured components");
+         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
+                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              4, 4, 4, 0, 4, 1, false);
 
-         // ensure fee collection account exists
-         accountFeeCollection = Account.getAccount(Config.transactionFeesAccount);
-         if (accountFeeCollection == null)
-            accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
+         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
+         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
+                                              0, Config.quanExcessive[testWare1.getLevel()], Config.quanExcessive[testWareC1.getLevel()], 0,
+                                              187, 187, 187, 0, 256, 2, false);
 
-         TEST_OUTPUT.println("transaction fees - sell(): fee account, positive rates");
-         errorFound |= testerSellAccountTransActFee(testWare4,   10, 0.87f,    0.0f, 1, true);
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, low in stock: untradeable component");
+         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, null, Float.NaN, 5, 0, 0, 0, 10, 5, 0, 0, 10, 0, false);
 
-         errorFound |= testerSellAccountTransActFee(testWare1,   99, 0.95f,  1000.0f, 2, true);
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, low in stock: material components");
+         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
+                                              4, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
+                                              16, 12, 12, 12, 16, 1, false);
 
-         errorFound |= testerSellAccountTransActFee(testWare1, 256, 0.14f, 10000.0f, 3, true);
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, low in stock: manufactured component");
+         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
+                                              24, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              32, 8, 8, 0, 32, 0, false);
 
-         TEST_OUTPUT.println("transaction fees - sell(): fee account, negative rates");
-         errorFound |= testerSellAccountTransActFee(testWare3,    2, -0.12f,   100.0f, 1, true);
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: components low in stock");
+         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, null, Float.NaN,
+                                              0, 8, Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
+                                              8, 8, 8, 8, 16, 1, false);
 
-         errorFound |= testerSellAccountTransActFee(testWare1,   17, -0.23f,   100.0f, 2, true);
+         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
+                                              0, 10, 0, 0,
+                                              40, 10, 0, 0, 80, 2, false);
 
-         errorFound |= testerSellAccountTransActFee(testWareC2, 147, -1.50f, 10000.0f, 3, true);
+         // create a new ware with a component whose component has limited stock
+         Ware testWareC4 = new WareCrafted(new String[]{"test:crafted3"}, "test:crafted4", "", 32, 2, (byte) 3);
+         wares.put("test:crafted4", testWareC4);
 
-         TEST_OUTPUT.println("transaction fees - sell(): fee account funds too low to pay negative rate");
-         errorFound |= testerSellAccountTransActFee(testWareC1, 10, -0.10f, 10.0f, 1, true);
+         errorFound |= testerBuyManufacturing(testWareC4, testWareC3, null, null, null, Float.NaN,
+                                              0, 5, 0, 0,
+                                              10, 5, 0, 0, 20, 3, false);
 
-         Config.transactionFeeSellingIsMult= false;
-         errorFound |= testerSellAccountTransActFee(testWareC1, 10, -11.0f, 10.0f, 2, true);
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware, out-of-stock: same component used multiple times");
+         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
+         // create a new ware with a component whose component has limited stock
+         Ware testWareC5 = new WareCrafted(new String[]{"test:material1", "test:material1", "test:material1", "test:material2"}, "test:crafted5", "", 32, 4, (byte) 3);
+         wares.put("test:crafted5", testWareC5);
 
-         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, percent rates, positive rates");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, Float.NaN, 0.90f, 1, true);
+         errorFound |= testerBuyManufacturing(testWareC5, testWare1, testWare2, null, null, Float.NaN,
+                                              0, 30, 20, 0,
+                                              40, 30, 10, 0, 80, 0, false);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, Float.NaN, 1.20f, 2, true);
+         TEST_OUTPUT.println("manufacturing contracts - manufactured ware and components out-of-stock");
+         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, Float.NaN,
+                                              0, Config.quanEquilibrium[testWare1.getLevel()], 0, 0,
+                                              0, 0, 0, 0, 10, 0, false);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, Float.NaN, 0.10f, 3, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: minimum args");
+         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
+                                              0, Config.quanEquilibrium[testWare4.getLevel()], 0, 0,
+                                              1, 1, 0, 0, 1, 0, true);
 
-         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, percent rates, negative rates");
-         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, Float.NaN, -0.90f, 1, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: no inventory space");
+         int inventorySpaceOrig = UserInterfaceTerminal.inventorySpace;
+         UserInterfaceTerminal.inventorySpace = 0; // maximum inventory space is no inventory
+         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
+                                              0, Config.quanEquilibrium[testWare4.getLevel()], 0, 0,
+                                              1, 1, 0, 0, 1, 0, true);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, Float.NaN, -1.20f, 2, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: low in inventory space");
+         UserInterfaceTerminal.inventory.clear(); // just in case inventory space is insufficient
+         UserInterfaceTerminal.inventorySpace = 1; // maximum inventory space is 64 items
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, Float.NaN, -0.10f, 3, true);
+         errorFound |= testerBuyManufacturing(testWareC3, testWare4, null, null, null, Float.NaN,
+                                              0, Config.quanExcessive[testWare4.getLevel()], 0, 0,
+                                              64, 16, 0, 0, 128, 0, true);
 
-         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, flat rates, positive rates");
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   0,   1, Float.NaN, 0.90f, 1, true);
+         UserInterfaceTerminal.inventorySpace = inventorySpaceOrig; // reset maximum inventory space
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,   0,  10, Float.NaN, 1.20f, 2, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: non-manufactured ware");
+         errorFound |= testerBuyManufacturing(testWare1, null, null, null, null, Float.NaN,
+                                              Config.quanEquilibrium[testWare1.getLevel()], 0, 0, 0,
+                                              1, 0, 0, 0, 1, 0, true);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000,   0, 100, Float.NaN, 0.10f, 3, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: max price acceptable, too low");
+         errorFound |= testerBuyManufacturing(testWareC3, null, null, null, null, 0.01f,
+                                              Config.quanEquilibrium[testWareC3.getLevel()], 0, 0, 0,
+                                              0, 0, 0, 0, 1, 0, true);
 
-         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, flat rates, positive rates, negative acceptable price");
-         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, -100.0f, 0.90f, 1, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: max price acceptable, sufficient");
+         errorFound |= testerBuyManufacturing(testWareC2, testWare1, testWareC1, null, null, 999999.00f,
+                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              1, 1, 1, 0, 1, 0, true);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, -100.0f, 1.20f, 2, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: account ID");
+         errorFound |= testerBuyManufacturing(testWareP2, testWare1, testWare3, testWare4, "testAccount1", Float.NaN,
+                                              0, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare3.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
+                                              1, 1, 1, 1, 1, 0, true);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, -100.0f, 0.10f, 3, true);
+         TEST_OUTPUT.println("manufacturing contracts - buy: max price acceptable and account ID");
+         errorFound |= testerBuyManufacturing(testWareC1, testWareU1, null, null, "testAccount1", 999999.00f,
+                                              0, 0, 0, 0,
+                                              1, 1, 0, 0, 1, 0, true);
 
-         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, flat rates, negative rates");
-         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, Float.NaN, -0.90f, 1, true);
+         TEST_OUTPUT.println("manufacturing contracts - check: non-manufactured ware");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 1, null,
+                                   1.0f, 0, true);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, Float.NaN, -1.20f, 2, true);
+         TEST_OUTPUT.println("manufacturing contracts - check: minimum args");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareP1, 1, null,
+                                   1.0f, 0, true);
 
-         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, Float.NaN, -0.10f, 3, true);
+         TEST_OUTPUT.println("manufacturing contracts - check: minimum args, ware out of stock");
+         testWareP1.setQuantity(0);
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareP1, 0, null,
+                                   1.0f, 0, true);
 
+         TEST_OUTPUT.println("manufacturing contracts - check: specified quantity, ware out of stock");
+         testWareC1.setQuantity(0);
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareC1, 0, null,
+                                   1.0f, 0, true);
 
-         // ensure fee collection account has sufficient wealth to pay negative fees
-         accountFeeCollection.setMoney(Float.POSITIVE_INFINITY);
+         TEST_OUTPUT.println("manufacturing contracts - check: specified quantity, ware low in stock");
+         testWareC1.setQuantity(5);
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareC1, 10, null,
+                                   1.0f, 0, true);
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("testUnitManufacturingContracts() - fatal error: " + e);
+         baosErr.reset();
+         e.printStackTrace();
+         TEST_OUTPUT.println(baosErr.toString());
+         return false;
+      }
 
-         TEST_OUTPUT.println("transaction fees - sellall(): when disabled");
-         Config.transactionFeeSellingIsMult = true;
-         Config.transactionFeeBuying        = 0.05f;
-         Config.transactionFeeSending       = 0.02f;
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                100, 10, 1, 0.00f, 0, false);
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("transaction fees - sellall(): when enabled");
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                100, 10, 1, 0.10f, 0, false);
+   /**
+    * Tests paying transaction fees when buying, selling, or sending money.
+    *
+    * @return whether handling transaction fees passed all test cases
+    */
+   private static boolean testUnitTransactionFees() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("transaction fees - sellall(): zero rates");
-         errorFound |= testerSellTransActFeeAll(testWareC1, testWare4, testWareP1,
-                                                32, 16, 8, 0.0f, 1, true);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.chargeTransactionFees = true;
+      FileWriter fileWriter;
+      // add a ware with a negative price
+      Ware wareWithNegativePrice = new WareMaterial("minecraft:rotten_flesh", "rotten_flesh", -1.0f, 1000, (byte) 0);
+      wares.put("minecraft:rotten_flesh", wareWithNegativePrice);
+      wareAliasTranslations.put("rotten_flesh", "minecraft:rotten_flesh");
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerSellTransActFeeAll(testWareC1, testWare4, testWareP1,
-                                                32, 16, 8, 0.0f, 2, true);
+      // track changes to variables
+      Account accountFeeCollection;
+      Account account1;
+      Account account2;
 
-         TEST_OUTPUT.println("transaction fees - sellall(): flat rates, positive");
-         errorFound |= testerSellTransActFeeAll(testWare2, testWareP2, null,
-                                                50, 25, 0, 10.0f, 1, true);
+      // ensure fee collection account exists and has sufficient wealth to pay negative fees
+      accountFeeCollection = Account.getAccount(Config.transactionFeesAccount);
+      if (accountFeeCollection == null)
+         accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
+      accountFeeCollection.setMoney(Float.POSITIVE_INFINITY);
 
-         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
-                                                10, 5, 0, 100.0f, 2, true);
+      try {
+         TEST_OUTPUT.println("transaction fees - buy(): when disabled");
+         Config.transactionFeeSelling = 1.10f;
+         Config.transactionFeeSending = 0.10f;
+         errorFound |= testerBuyTransActFee(testWare1, 16, 0.00f, 0);
 
-         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
-                                                4, 2, 1, 5.0f, 3, true);
+         TEST_OUTPUT.println("transaction fees - buy(): when enabled");
+         errorFound |= testerBuyTransActFee(testWare2, 8, 1.10f, 0);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): flat rates, negative");
-         errorFound |= testerSellTransActFeeAll(testWareC3, testWareP1, null,
-                                                32, 16, 8, -10.0f, 1, true);
+         TEST_OUTPUT.println("transaction fees - buy(): zero rates");
+         Config.transactionFeeBuyingIsMult = true;
+         errorFound |= testerTradeTransActFee(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 0,
+                                              16, 0.0f, 17.0f, 1, false, true);
 
-         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
-                                                3, 5, 11, -2.75f, 2, true);
+         Config.transactionFeeBuyingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWare4, Config.quanEquilibrium[testWare4.getLevel()], 0,
+                                              1, 0.0f, testWare4.getBasePrice(), 2, false, true);
 
-         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
-                                                20, 10, 40, -123.456f, 3, true);
+         TEST_OUTPUT.println("transaction fees - buy(): flat rates, positive");
+         errorFound |= testerBuyTransActFee(testWare2, 48, 10.00f, 1);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): percent rates, positive");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerSellTransActFeeAll(testWare2, testWareP2, null,
-                                                50, 25, 0, 0.50f, 1, true);
+         errorFound |= testerBuyTransActFee(testWare3, 4, 100.00f, 2);
 
-         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
-                                                10, 5, 0, 0.10f, 2, true);
+         errorFound |= testerBuyTransActFee(testWareC1, 12, 128.00f, 3);
 
-         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
-                                                4, 2, 1, 0.16f, 3, true);
+         TEST_OUTPUT.println("transaction fees - buy(): flat rates, negative");
+         errorFound |= testerBuyTransActFee(testWareC2, 12, -50.00f, 1);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): percent rates, negative");
-         errorFound |= testerSellTransActFeeAll(testWareC3, testWareP1, null,
-                                                32, 16, 8, -0.10f, 1, true);
+         errorFound |= testerBuyTransActFee(testWareC2, 24, -124.50f, 2);
 
-         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
-                                                3, 5, 11, -0.875f, 2, true);
+         errorFound |= testerBuyTransActFee(testWareP2, 7, -0.86f, 3);
 
-         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
-                                                20, 10, 40, -0.25f, 3, true);
+         TEST_OUTPUT.println("transaction fees - buy(): flat rates, positive, negative prices");
+         // enable negative prices
+         Config.priceFloor         = 1.0f;
+         Config.priceFloorAdjusted = 0.0f;
+         PricingContext.publish();
 
-         TEST_OUTPUT.println("transaction fees - sellall(): funds checking includes fees, positive");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                300, 200, 100, 1.10f, 1, true);
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10,  10.00f, 1);
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                300, 200, 100, 10.0f, 2, true);
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100,   5.00f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): funds checking includes fees, negative");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                300, 200, 100, -0.10f, 1, true);
+         TEST_OUTPUT.println("transaction fees - buy(): flat rates, negative, negative prices");
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10, -10.00f, 1);
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                300, 200, 100, -10.0f, 2, true);
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100,  -5.00f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): funds checking includes fees, extremely negative");
-         Config.transactionFeeSellingIsMult = true;
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                300, 200, 100, -1.00f, 1, true);
+         // disable negative prices
+         Config.priceFloor         =  0.0f;
+         Config.priceFloorAdjusted =  1.0f;
+         PricingContext.publish();
 
-         Config.transactionFeeSellingIsMult = false;
-         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
-                                                300, 200, 100, -100.0f, 2, true);
+         TEST_OUTPUT.println("transaction fees - buy(): percent rates, positive");
+         Config.transactionFeeBuyingIsMult = true;
+         errorFound |= testerBuyTransActFee(testWareP1, 14, 0.10f, 1);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): fee account doesn't exist");
-         Config.transactionFeesAccount = "transactionFeeCollectionSellAll";
+         errorFound |= testerBuyTransActFee(testWare3, 13, 0.50f, 2);
+
+         errorFound |= testerBuyTransActFee(testWare1, 5, 1.00f, 3);
+
+         TEST_OUTPUT.println("transaction fees - buy(): percent rates, negative");
+         errorFound |= testerBuyTransActFee(testWareP1, 5, -0.10f, 1);
+
+         errorFound |= testerBuyTransActFee(testWare2, 6, -0.50f, 2);
+
+         errorFound |= testerBuyTransActFee(testWareC1, 74, -0.24f, 3);
+
+         TEST_OUTPUT.println("transaction fees - buy(): percent rates, positive, negative prices");
+         // enable negative prices
+         Config.priceFloor         = 1.0f;
+         Config.priceFloorAdjusted = 0.0f;
+         PricingContext.publish();
+
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10,  1.00f, 1);
+
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100,  0.50f, 2);
+
+         TEST_OUTPUT.println("transaction fees - buy(): percent rates, negative, negative prices");
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice,  10, -1.00f, 1);
+
+         errorFound |= testerBuyTransActFee(wareWithNegativePrice, 100, -0.50f, 2);
+
+         // disable negative prices
+         Config.priceFloor         =  0.0f;
+         Config.priceFloorAdjusted =  1.0f;
+         PricingContext.publish();
+
+         TEST_OUTPUT.println("transaction fees - buy(): funds checking includes fees, positive");
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              10, 1.00f, 0.0f, 1, true, true);
+
+         Config.transactionFeeBuyingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              10, 10.00f, 0.0f, 2, true, true);
+
+         TEST_OUTPUT.println("transaction fees - buy(): funds checking includes fees, negative");
+         Config.transactionFeeBuyingIsMult = true;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              10, -0.10f, 0.0f, 1, true, true);
+
+         Config.transactionFeeBuyingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              10, -5.00f, 0.0f, 2, true, true);
+
+         TEST_OUTPUT.println("transaction fees - buy(): funds checking includes fees, extremely negative");
+         Config.transactionFeeBuyingIsMult = true;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              64, -1.00f, 0.0f, 1, false, true);
+
+         Config.transactionFeeBuyingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 0,
+                                              10, testWareC1.getBasePrice() * -11.0f, 0.0f, 2, false, true);
+
+         TEST_OUTPUT.println("transaction fees - buy(): changing fee applied message");
+         // create test config file
+         try {
+            // open the save file for config, create it if it doesn't exist
+            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+
+            // write test wares file
+            fileWriter.write(
+               "// warning: this file may be cleared and overwritten by the program\n\n" +
+               "chargeTransactionFees      = true\n" +
+               "transactionFeeBuyingIsMult = true\n" +
+               "transactionFeeBuyingMsg    = Sales tax: \n" +
+               "disableAutoSaving          = true\n" +
+               "crossWorldMarketplace      = true\n"
+            );
+
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to change test config file");
+            e.printStackTrace();
+         }
+
+         // reload config
+         Config.loadConfig();
+
+         errorFound |= testerBuyTransActFee(testWareP1, 14, 0.10f, 1);
+
+         errorFound |= testerBuyTransActFee(testWare3, 13, 0.50f, 2);
+
+         errorFound |= testerBuyTransActFee(testWare1, 5, 1.00f, 3);
+
+         TEST_OUTPUT.println("transaction fees - buy(): restoring fee applied message");
+         Config.transactionFeeBuyingMsg    = "   Transaction fee applied: ";
+         errorFound |= testerBuyTransActFee(testWareP1, 14, 0.10f, 1);
+
+         errorFound |= testerBuyTransActFee(testWare3, 13, 0.50f, 2);
+
+         errorFound |= testerBuyTransActFee(testWare1, 5, 1.00f, 3);
+
+         TEST_OUTPUT.println("transaction fees - buy(): fee account doesn't exist");
+         Config.transactionFeesAccount = "transactionFeeCollectionBuy";
 
          // ensure account does not exist
          account1 = Account.getAccount(Config.transactionFeesAccount);
@@ -12619,8 +14062,7 @@ public final class TestSuite
          Config.loadConfig();
 
          // run test
-         errorFound |= testerSellTransActFeeAllAccount(testWareC1, testWareP2, 10, 1,
-                                                     0.10f, 0.0f, 0, false);
+         errorFound |= testerBuyTransActFee(testWare1, 10, 0.10f, 0);
 
          // check account existence
          account1 = Account.getAccount(Config.transactionFeesAccount);
@@ -12637,9 +14079,10 @@ public final class TestSuite
             }
          }
 
-         TEST_OUTPUT.println("transaction fees - sellall(): fee account changed");
+         TEST_OUTPUT.println("transaction fees - buy(): fee account changed");
+         Config.transactionFeesShouldPutFeesIntoAccount = true;
          account1 = Account.getAccount(Config.transactionFeesAccount);
-         Config.transactionFeesAccount = "newTransactionFeeCollectionSellAll";
+         Config.transactionFeesAccount                  = "newTransactionFeeCollectionBuy";
          account2 = Account.getAccount(Config.transactionFeesAccount);
 
          // ensure account does not exist
@@ -12655,7 +14098,6 @@ public final class TestSuite
             fileWriter.write(
                "// warning: this file may be cleared and overwritten by the program\n\n" +
                "chargeTransactionFees  = true\n" +
-               "transactionFeesShouldPutFeesIntoAccount = true\n" +
                "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
                "accountStartingMoney   = 0.0\n"  +
                "disableAutoSaving      = true\n" +
@@ -12673,8 +14115,7 @@ public final class TestSuite
          Config.loadConfig();
 
          // run test
-         errorFound |= testerSellTransActFeeAllAccount(testWareC2, testWareP1, 10, 10,
-                                                     0.10f, 0.0f, 0, false);
+         errorFound |= testerBuyTransActFee(testWare1, 10, 0.10f, 0);
 
          // check account existence
          account2 = Account.getAccount(Config.transactionFeesAccount);
@@ -12702,128 +14143,138 @@ public final class TestSuite
          if (accountFeeCollection == null)
             accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): fee account, positive rates");
-         errorFound |= testerSellTransActFeeAllAccount(testWareC3, testWare2, 20, 200,
-                                                     0.10f, 0.0f, 1, true);
+         // add a ware with a negative price
+         wares.put("minecraft:rotten_flesh", wareWithNegativePrice);
+         wareAliasTranslations.put("rotten_flesh", "minecraft:rotten_flesh");
 
-         errorFound |= testerSellTransActFeeAllAccount(testWare1, testWare4, 200, 5,
-                                                     0.40f, 100.0f, 2, true);
+         TEST_OUTPUT.println("transaction fees - buy(): fee account, positive rates");
+         errorFound |= testerBuyAccountTransActFee(testWare4,   10, 0.87f,    0.0f, 1, true);
 
-         errorFound |= testerSellTransActFeeAllAccount(testWare3, testWareP2, 64, 12,
-                                                     0.015f, 1.0f, 3, true);
+         errorFound |= testerBuyAccountTransActFee(testWare1,   99, 1.00f,  1000.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): fee account, negative rates");
-         errorFound |= testerSellTransActFeeAllAccount(testWareC1, testWareP2, 8, 12,
-                                                     -0.24f, 1000.0f, 1, true);
+         errorFound |= testerBuyAccountTransActFee(testWare1, 256, 2.14f, 10000.0f, 3, true);
 
-         errorFound |= testerSellTransActFeeAllAccount(testWare1, testWare2, 114, 36,
-                                                     -0.50f, 10000.0f, 2, true);
+         TEST_OUTPUT.println("transaction fees - buy(): fee account, negative rates");
+         errorFound |= testerBuyAccountTransActFee(testWare3,    2, -0.12f,   100.0f, 1, true);
 
-         errorFound |= testerSellTransActFeeAllAccount(testWareP1, testWare4, 3, 4,
-                                                     -0.95f, 100.0f, 3, true);
+         errorFound |= testerBuyAccountTransActFee(testWare1,   17, -0.23f,   100.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - sellall(): fee account funds too low to pay negative rate");
-         errorFound |= testerSellTransActFeeAllAccount(testWare1, null, 100, 0,
-                                                     -0.10f, 5.0f, 1, true);
+         errorFound |= testerBuyAccountTransActFee(testWareC2, 64, -1.50f, 10000.0f, 3, true);
 
-         errorFound |= testerSellTransActFeeAllAccount(testWare1, testWare3, 10, 32,
-                                                     -0.50f, 60.0f, 2, true);
+         TEST_OUTPUT.println("transaction fees - buy(): fee account funds too low to pay negative rate");
+         errorFound |= testerBuyAccountTransActFee(testWareC1, 10, -0.10f, 10.0f, 1, true);
 
-         errorFound |= testerSellTransActFeeAllAccount(testWareC3, testWareP1, 16, 8,
-                                                     -0.50f, 10.0f, 3, true);
+         Config.transactionFeeBuyingIsMult = false;
+         errorFound |= testerBuyAccountTransActFee(testWareC1, 10, -11.0f, 10.0f, 2, true);
+
+         Config.transactionFeesShouldPutFeesIntoAccount = false;
 
 
          // ensure fee collection account has sufficient wealth to pay negative fees
          accountFeeCollection.setMoney(Float.POSITIVE_INFINITY);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): when disabled");
-         Config.transactionFeeSendingIsMult = true;
+         TEST_OUTPUT.println("transaction fees - sell(): when disabled");
+         Config.transactionFeeSellingIsMult = true;
          Config.transactionFeeBuying        = 0.05f;
-         Config.transactionFeeSelling       = 1.00f;
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       100.0f, 0.0f, 100.0f, 0.00f, 0);
+         Config.transactionFeeSending       = 0.02f;
+         errorFound |= testerSellTransActFee(testWare3, 15, 0.00f, 0);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): when enabled");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       1000.0f, 0.0f, 100.0f, 0.10f, 0);
+         TEST_OUTPUT.println("transaction fees - sell(): when enabled");
+         errorFound |= testerSellTransActFee(testWare3, 15, 0.75f, 0);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): zero rates");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       100.0f, 0.0f, 100.0f, 0.0f, 0);
+         TEST_OUTPUT.println("transaction fees - sell(): zero rates");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerTradeTransActFee(testWare1, Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare1.getLevel()],
+                                              16, 0.0f, 0.0f, 1, false, false);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): flat rates, positive");
-         Config.transactionFeeSendingIsMult = false;
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       1000.0f, 0.0f, 100.0f, 100.0f, 1);
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWare4, Config.quanEquilibrium[testWare4.getLevel()], Config.quanEquilibrium[testWare4.getLevel()],
+                                              Config.quanEquilibrium[testWare4.getLevel()], 0.0f, 0.0f, 2, false, false);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
-                                       128.0f, 0.0f, 64.0f, 32.0f, 2);
+         TEST_OUTPUT.println("transaction fees - sell(): flat rates, positive");
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellTransActFee(testWare2, 48, 10.00f, 1);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
-                                       20.0f, 0.0f, 10.0f, 1.0f, 3);
+         errorFound |= testerSellTransActFee(testWare3, 4, 5.00f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): flat rates, negative");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       1000.0f, 1000.0f, 100.0f, -100.0f, 1);
+         errorFound |= testerSellTransActFee(testWareC1, 12, 128.00f, 3);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
-                                       128.0f, 1000.0f, 64.0f, -32.0f, 2);
+         TEST_OUTPUT.println("transaction fees - sell(): flat rates, negative");
+         errorFound |= testerSellTransActFee(testWareC2, 12, -50.00f, 1);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
-                                       20.0f, 1000.0f, 10.0f, -1.0f, 3);
+         errorFound |= testerSellTransActFee(testWareC2, 24, -124.50f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): percent rates, positive");
-         Config.transactionFeeSendingIsMult = true;
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       1000.0f, 0.0f, 100.0f, 1.0f, 1);
+         errorFound |= testerSellTransActFee(testWareP2, 7, -0.86f, 3);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
-                                       128.0f, 0.0f, 64.0f, 0.5f, 2);
+         TEST_OUTPUT.println("transaction fees - sell(): percent rates, positive");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerSellTransActFee(testWareP1, 14, 0.10f, 1);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
-                                       20.0f, 0.0f, 10.0f, 0.1f, 3);
+         errorFound |= testerSellTransActFee(testWare3, 13, 0.50f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): percent rates, negative");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       1000.0f, 1000.0f, 100.0f, -1.0f, 1);
+         errorFound |= testerSellTransActFee(testWare1, 5, 0.95f, 3);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
-                                       128.0f, 1000.0f, 64.0f, -0.5f, 2);
+         TEST_OUTPUT.println("transaction fees - sell(): percent rates, negative");
+         errorFound |= testerSellTransActFee(testWareP1, 5, -0.10f, 1);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
-                                       20.0f, 1000.0f, 10.0f, -0.1f, 3);
+         errorFound |= testerSellTransActFee(testWare2, 6, -0.50f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): funds checking includes fees, positive");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       100.0f, 0.0f, 100.0f, 0.10f, 1);
+         errorFound |= testerSellTransActFee(testWareC1, 74, -0.24f, 3);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
-                                       19.0f, 0.0f, 10.0f, 1.00f, 2);
+         TEST_OUTPUT.println("transaction fees - sell(): percent rates, positive, negative prices");
+         // enable negative prices
+         Config.priceFloor         = 1.0f;
+         Config.priceFloorAdjusted = 0.0f;
+         PricingContext.publish();
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
-                                       1199.0f, 0.0f, 1000.0f, 0.20f, 3);
+         errorFound |= testerSellTransActFee(wareWithNegativePrice,  10,  0.10f, 1);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): funds checking includes fees, negative");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount4",
-                                       50.0f, 1000.0f, 100.0f, -1.00f, 1);
+         errorFound |= testerSellTransActFee(wareWithNegativePrice, 100,  0.50f, 2);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
-                                       9.0f, 1000.0f, 10.0f, -0.25f, 2);
+         TEST_OUTPUT.println("transaction fees - sell(): percent rates, negative, negative prices");
+         errorFound |= testerSellTransActFee(wareWithNegativePrice,  10, -0.10f, 1);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
-                                       950.0f, 1000.0f, 1000.0f, -0.20f, 3);
+         errorFound |= testerSellTransActFee(wareWithNegativePrice, 100, -0.50f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): funds checking includes fees, extremely negative");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       0.0f, 10000.0f, 1000.0f, -1.00f, 1);
+         // disable negative prices
+         Config.priceFloor         =  0.0f;
+         Config.priceFloorAdjusted =  1.0f;
+         PricingContext.publish();
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount3",
-                                       0.0f, 10000.0f, 100.0f, -10.00f, 2);
+         TEST_OUTPUT.println("transaction fees - sell(): funds checking includes fees, positive");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
+                                              Config.quanEquilibrium[testWareC1.getLevel()] / 2,
+                                              1.10f, 0.0f, 1, true, false);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", UserInterfaceTerminal.playername,
-                                       10000.0f, 10000.0f, 10.0f, -100.00f, 3);
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
+                                              Config.quanEquilibrium[testWareC1.getLevel()] / 2,
+                                              1.00f, 0.0f, 2, true, false);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): changing fee applied message");
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
+                                              Config.quanEquilibrium[testWareC1.getLevel()] / 2,
+                                              10000.00f, 0.0f, 3, true, false);
+
+         TEST_OUTPUT.println("transaction fees - sell(): funds checking includes fees, negative");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 300, 300,
+                                              -0.10f, 0.0f, 1, false, false);
+
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], 300, 300,
+                                              -10.00f, 0.0f, 2, false, false);
+
+         TEST_OUTPUT.println("transaction fees - sell(): funds checking includes fees, extremely negative");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
+                                              64, -1.00f, 0.0f, 1, false, false);
+
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerTradeTransActFee(testWareC1, Config.quanEquilibrium[testWareC1.getLevel()], Config.quanEquilibrium[testWareC1.getLevel()],
+                                              64, -(testWareC1.getBasePrice() * 2.0f), 0.0f, 2, false, false);
+
+         TEST_OUTPUT.println("transaction fees - sell(): changing fee applied message");
          // create test config file
          try {
             // open the save file for config, create it if it doesn't exist
@@ -12833,8 +14284,8 @@ public final class TestSuite
             fileWriter.write(
                "// warning: this file may be cleared and overwritten by the program\n\n" +
                "chargeTransactionFees       = true\n" +
-               "transactionFeeSendingIsMult = true\n" +
-               "transactionFeeSendingMsg    = Transfer fee: \n" +
+               "transactionFeeSellingIsMult = true\n" +
+               "transactionFeeSellingMsg    = Income tax: \n" +
                "disableAutoSaving           = true\n" +
                "crossWorldMarketplace       = true\n"
             );
@@ -12849,29 +14300,22 @@ public final class TestSuite
          // reload config
          Config.loadConfig();
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       1000.0f, 0.0f, 100.0f, 1.0f, 1);
-
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
-                                       128.0f, 0.0f, 64.0f, 0.5f, 2);
+         errorFound |= testerSellTransActFee(testWareP1, 14, 0.10f, 1);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
-                                       20.0f, 0.0f, 10.0f, 0.1f, 3);
+         errorFound |= testerSellTransActFee(testWare3, 13, 0.50f, 2);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): restoring fee applied message");
-         Config.transactionFeeSendingMsg    = "   Transaction fee applied: ";
+         errorFound |= testerSellTransActFee(testWare1, 5, 0.95f, 3);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       1000.0f, 0.0f, 100.0f, 1.0f, 1);
+         TEST_OUTPUT.println("transaction fees - sell(): restoring fee applied message");
+         Config.transactionFeeSellingMsg    = "   Transaction fee applied: ";
+         errorFound |= testerSellTransActFee(testWareP1, 14, 0.10f, 1);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
-                                       128.0f, 0.0f, 64.0f, 0.5f, 2);
+         errorFound |= testerSellTransActFee(testWare3, 13, 0.50f, 2);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
-                                       20.0f, 0.0f, 10.0f, 0.1f, 3);
+         errorFound |= testerSellTransActFee(testWare1, 5, 0.95f, 3);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account doesn't exist");
-         Config.transactionFeesAccount = "transactionFeeCollectionSend";
+         TEST_OUTPUT.println("transaction fees - sell(): fee account doesn't exist");
+         Config.transactionFeesAccount = "transactionFeeCollectionSell";
 
          // ensure account does not exist
          account1 = Account.getAccount(Config.transactionFeesAccount);
@@ -12905,8 +14349,7 @@ public final class TestSuite
          Config.loadConfig();
 
          // run test
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       100.0f, 0.0f, 10.0f, 1.00f, 0);
+         errorFound |= testerSellTransActFee(testWare1, 10, 0.10f, 0);
 
          // check account existence
          account1 = Account.getAccount(Config.transactionFeesAccount);
@@ -12923,10 +14366,10 @@ public final class TestSuite
             }
          }
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account changed");
+         TEST_OUTPUT.println("transaction fees - sell(): fee account changed");
          Config.transactionFeesShouldPutFeesIntoAccount = true;
          account1 = Account.getAccount(Config.transactionFeesAccount);
-         Config.transactionFeesAccount                  = "newTransactionFeeCollectionSend";
+         Config.transactionFeesAccount                  = "newTransactionFeeCollectionSell";
          account2 = Account.getAccount(Config.transactionFeesAccount);
 
          // ensure account does not exist
@@ -12959,8 +14402,7 @@ public final class TestSuite
          Config.loadConfig();
 
          // run test
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
-                                       100.0f, 0.0f, 10.0f, 1.00f, 0);
+         errorFound |= testerSellTransActFee(testWare1, 10, 0.10f, 0);
 
          // check account existence
          account2 = Account.getAccount(Config.transactionFeesAccount);
@@ -12988,1291 +14430,2684 @@ public final class TestSuite
          if (accountFeeCollection == null)
             accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account, positive rates");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
-                                       1000000.0f, 0.0f, 128.0f, 0.50f, 1);
+         TEST_OUTPUT.println("transaction fees - sell(): fee account, positive rates");
+         errorFound |= testerSellAccountTransActFee(testWare4,   10, 0.87f,    0.0f, 1, true);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
-                                       1000000.0f, 100.0f, 100.0f, 0.75f, 2);
+         errorFound |= testerSellAccountTransActFee(testWare1,   99, 0.95f,  1000.0f, 2, true);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount3",
-                                       1000000.0f, 1000.0f, 10.0f, 1.00f, 3);
+         errorFound |= testerSellAccountTransActFee(testWare1, 256, 0.14f, 10000.0f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account, negative rates");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
-                                       1000000.0f, 128.0f, 128.0f, -0.50f, 1);
+         TEST_OUTPUT.println("transaction fees - sell(): fee account, negative rates");
+         errorFound |= testerSellAccountTransActFee(testWare3,    2, -0.12f,   100.0f, 1, true);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
-                                       1000000.0f, 80.0f, 100.0f, -0.75f, 2);
+         errorFound |= testerSellAccountTransActFee(testWare1,   17, -0.23f,   100.0f, 2, true);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount3",
-                                       1000000.0f, 100.0f, 10.0f, -1.00f, 3);
+         errorFound |= testerSellAccountTransActFee(testWareC2, 147, -1.50f, 10000.0f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account funds too low to pay negative rate");
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
-                                       1000000.0f, 32.0f, 128.0f, -0.50f, 1);
+         TEST_OUTPUT.println("transaction fees - sell(): fee account funds too low to pay negative rate");
+         errorFound |= testerSellAccountTransActFee(testWareC1, 10, -0.10f, 10.0f, 1, true);
 
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
-                                       1000000.0f, 74.9f, 100.0f, -0.75f, 2);
-
-         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount3",
-                                       1000000.0f, 9.0f, 10.0f, -1.00f, 3);
+         Config.transactionFeeSellingIsMult= false;
+         errorFound |= testerSellAccountTransActFee(testWareC1, 10, -11.0f, 10.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled, without alias, singular quantity");
-         Config.transactionFeeBuyingIsMult  = true;
+         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, percent rates, positive rates");
          Config.transactionFeeSellingIsMult = true;
-         Config.transactionFeeSendingIsMult = true;
-         Config.transactionFeeSending       = 0.02f;
-
-         errorFound |= testTransActFeeCheck(testWare1, 0, 0.00f, 0.00f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, Float.NaN, 0.90f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, 0.00f, 0.00f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, Float.NaN, 1.20f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 0.00f, 0.00f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, Float.NaN, 0.10f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, 0.00f, 0.00f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, percent rates, negative rates");
+         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, Float.NaN, -0.90f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when enabled, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, 0.10f, 0.10f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, Float.NaN, -1.20f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when enabled, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, 0.10f, 0.10f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, Float.NaN, -0.10f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when enabled, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 0.10f, 0.10f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, flat rates, positive rates");
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   0,   1, Float.NaN, 0.90f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when enabled, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, 0.10f, 0.10f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,   0,  10, Float.NaN, 1.20f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, 0.00f, 0.10f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000,   0, 100, Float.NaN, 0.10f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, 0.00f, 0.10f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, flat rates, positive rates, negative acceptable price");
+         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, -100.0f, 0.90f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 0.00f, 0.10f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, -100.0f, 1.20f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, 0.00f, 0.10f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, -100.0f, 0.10f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, 0.10f, 0.00f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sell(): $0.00 wares, flat rates, negative rates");
+         errorFound |= testerSellErrorMsgsTransActFee(testWare1,  10000,   1,   1, Float.NaN, -0.90f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, 0.10f, 0.00f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareC1, 10000,  10,  10, Float.NaN, -1.20f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 0.10f, 0.00f, 1.00f, 0, false);
+         errorFound |= testerSellErrorMsgsTransActFee(testWareP1, 10000, 100, 100, Float.NaN, -0.10f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, 0.10f, 0.00f, 1.00f, 0, false);
 
-         TEST_OUTPUT.println("transaction fees - check(): zero rates, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, 0.0f, 0.0f, 1.00f, 0, false);
+         // ensure fee collection account has sufficient wealth to pay negative fees
+         accountFeeCollection.setMoney(Float.POSITIVE_INFINITY);
 
-         TEST_OUTPUT.println("transaction fees - check(): zero rates, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, 0.0f, 0.0f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): when disabled");
+         Config.transactionFeeSellingIsMult = true;
+         Config.transactionFeeBuying        = 0.05f;
+         Config.transactionFeeSending       = 0.02f;
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                100, 10, 1, 0.00f, 0, false);
 
-         TEST_OUTPUT.println("transaction fees - check(): zero rates, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 0.0f, 0.0f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): when enabled");
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                100, 10, 1, 0.10f, 0, false);
 
-         TEST_OUTPUT.println("transaction fees - check(): zero rates, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, 0.0f, 0.0f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): zero rates");
+         errorFound |= testerSellTransActFeeAll(testWareC1, testWare4, testWareP1,
+                                                32, 16, 8, 0.0f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, without alias, singular quantity");
-         Config.transactionFeeBuyingIsMult  = false;
          Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellTransActFeeAll(testWareC1, testWare4, testWareP1,
+                                                32, 16, 8, 0.0f, 2, true);
 
-         errorFound |= testTransActFeeCheck(testWare1, 0, 1.00f, 1.00f, 1.00f, 0, false);
-
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, 10.10f, 10.10f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): flat rates, positive");
+         errorFound |= testerSellTransActFeeAll(testWare2, testWareP2, null,
+                                                50, 25, 0, 10.0f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 100.00f, 100.00f, 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
+                                                10, 5, 0, 100.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, 123.456f, 123.456f, 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
+                                                4, 2, 1, 5.0f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, -0.10f, -0.10f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): flat rates, negative");
+         errorFound |= testerSellTransActFeeAll(testWareC3, testWareP1, null,
+                                                32, 16, 8, -10.0f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, -10.10f, -10.10f, 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
+                                                3, 5, 11, -2.75f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, -100.00f, -100.00f, 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
+                                                20, 10, 40, -123.456f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, -123.456f, -123.456f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): percent rates, positive");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerSellTransActFeeAll(testWare2, testWareP2, null,
+                                                50, 25, 0, 0.50f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, -1.00f, -1.00f, 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
+                                                10, 5, 0, 0.10f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, -(testWare2.getBasePrice() * 20.0f), -(testWare2.getBasePrice() * 20.0f), 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
+                                                4, 2, 1, 0.16f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, -100.00f, -100.00f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): percent rates, negative");
+         errorFound |= testerSellTransActFeeAll(testWareC3, testWareP1, null,
+                                                32, 16, 8, -0.10f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, -655.36f, -655.36f, 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
+                                                3, 5, 11, -0.875f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, without alias, singular quantity");
-         Config.transactionFeeBuyingIsMult  = false;
-         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
+                                                20, 10, 40, -0.25f, 3, true);
 
-         errorFound |= testTransActFeeCheck(testWare1, 0, 0.10f, 0.10f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): funds checking includes fees, positive");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                300, 200, 100, 1.10f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, 1.28f, 1.28f, 1.00f, 0, false);
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                300, 200, 100, 10.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 1.00f, 1.00f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): funds checking includes fees, negative");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                300, 200, 100, -0.10f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, 10.00f, 10.00f, 1.00f, 0, false);
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                300, 200, 100, -10.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, -0.10f, -0.10f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): funds checking includes fees, extremely negative");
+         Config.transactionFeeSellingIsMult = true;
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                300, 200, 100, -1.00f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, -0.128f, -0.128f, 1.00f, 0, false);
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellTransActFeeAll(testWare1, testWare2, testWare3,
+                                                300, 200, 100, -100.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, -0.10f, -0.10f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): fee account doesn't exist");
+         Config.transactionFeesAccount = "transactionFeeCollectionSellAll";
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, -0.50f, -0.50f, 1.00f, 0, false);
+         // ensure account does not exist
+         account1 = Account.getAccount(Config.transactionFeesAccount);
+         if (account1 != null)
+            Account.deleteAccount(Config.transactionFeesAccount, account1.getOwner());
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, -2.56f, -2.56f, 1.00f, 0, false);
+         // create test config file
+         try {
+            // open the save file for config, create it if it doesn't exist
+            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 10, -1.00f, -1.00f, 1.00f, 0, false);
+            // write test wares file
+            fileWriter.write(
+               "// warning: this file may be cleared and overwritten by the program\n\n" +
+               "chargeTransactionFees  = true\n" +
+               "transactionFeesShouldPutFeesIntoAccount = true\n" +
+               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
+               "accountStartingMoney   = 0.0\n"  +
+               "disableAutoSaving      = true\n" +
+               "crossWorldMarketplace  = true\n"
+            );
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, -2.00f, -2.00f, 1.00f, 0, false);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to change test config file");
+            e.printStackTrace();
+         }
 
-         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 10, -11.00f, -11.00f, 1.00f, 0, false);
+         // reload config
+         Config.loadConfig();
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, no quantity specified, without alias, singular quantity");
-         Config.priceBuyUpchargeMult = 2.0f;
+         // run test
+         errorFound |= testerSellTransActFeeAllAccount(testWareC1, testWareP2, 10, 1,
+                                                     0.10f, 0.0f, 0, false);
 
-         errorFound |= testTransActFeeCheck(testWare1, 0, 1.00f, 1.00f, 1.00f, 0, false);
+         // check account existence
+         account1 = Account.getAccount(Config.transactionFeesAccount);
+         if (account1 == null) {
+            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 0, 1.00f, 1.00f, 1.00f, 0, false);
+         // check account properties
+         else {
+            if (account1.getOwner() != null) {
+               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account1.getOwner().toString());
+               errorFound = true;
+            }
+         }
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, without alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 1, -0.50f, -0.50f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): fee account changed");
+         account1 = Account.getAccount(Config.transactionFeesAccount);
+         Config.transactionFeesAccount = "newTransactionFeeCollectionSellAll";
+         account2 = Account.getAccount(Config.transactionFeesAccount);
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 0, 1.00f, 1.00f, 1.00f, 1, true);
+         // ensure account does not exist
+         if (account2 != null)
+            Account.deleteAccount(Config.transactionFeesAccount, account2.getOwner());
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, with alias, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 1, -11.00f, -11.00f, 1.00f, 2, true);
+         // create test config file
+         try {
+            // open the save file for config, create it if it doesn't exist
+            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 10, 1.00f, 1.00f, 1.00f, 0, false);
+            // write test wares file
+            fileWriter.write(
+               "// warning: this file may be cleared and overwritten by the program\n\n" +
+               "chargeTransactionFees  = true\n" +
+               "transactionFeesShouldPutFeesIntoAccount = true\n" +
+               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
+               "accountStartingMoney   = 0.0\n"  +
+               "disableAutoSaving      = true\n" +
+               "crossWorldMarketplace  = true\n"
+            );
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, without alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare2, 100, -0.50f, -0.50f, 1.00f, 0, false);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to change test config file");
+            e.printStackTrace();
+         }
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare3, 10, 1.00f, 1.00f, 1.00f, 0, false);
+         // reload config
+         Config.loadConfig();
 
-         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, with alias, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare4, 100, -11.00f, -11.00f, 1.00f, 0, false);
+         // run test
+         errorFound |= testerSellTransActFeeAllAccount(testWareC2, testWareP1, 10, 10,
+                                                     0.10f, 0.0f, 0, false);
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, zero rate, singular quantity");
-         Config.priceBuyUpchargeMult = 1.0f;
-         errorFound |= testTransActFeeCheck(testWareU1, 1, 0.00f, 0.00f, 1.00f, 0, false);
+         // check account existence
+         account2 = Account.getAccount(Config.transactionFeesAccount);
+         if (account2 == null) {
+            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, positive rate, singular quantity");
-         errorFound |= testTransActFeeCheck(testWareU1, 1, 1.00f, 1.00f, 1.00f, 0, false);
+         // check account properties
+         else {
+            if (account2.getOwner() != null) {
+               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account2.getOwner().toString());
+               errorFound = true;
+            }
+         }
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, negative rate, singular quantity");
-         errorFound |= testTransActFeeCheck(testWareU1, 1, -0.50f, -0.50f, 1.00f, 0, false);
+         // reset test environment in case
+         // reloading configuration made unexpected changes
+         resetTestEnvironment();
+         Config.chargeTransactionFees                   = true;
+         Config.transactionFeesShouldPutFeesIntoAccount = true;
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, zero rate, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWareU1, 100, 0.00f, 0.00f, 1.00f, 0, false);
+         // ensure fee collection account exists
+         accountFeeCollection = Account.getAccount(Config.transactionFeesAccount);
+         if (accountFeeCollection == null)
+            accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, positive rate, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWareU1, 100, 1.00f, 1.00f, 1.00f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): fee account, positive rates");
+         errorFound |= testerSellTransActFeeAllAccount(testWareC3, testWare2, 20, 200,
+                                                     0.10f, 0.0f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, negative rate, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWareU1, 100, -0.50f, -0.50f, 1.00f, 0, false);
+         errorFound |= testerSellTransActFeeAllAccount(testWare1, testWare4, 200, 5,
+                                                     0.40f, 100.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, damaged, singular quantity");
-         errorFound |= testTransActFeeCheck(testWareU1, 1, 1.00f, 1.00f, 0.10f, 0, false);
+         errorFound |= testerSellTransActFeeAllAccount(testWare3, testWareP2, 64, 12,
+                                                     0.015f, 1.0f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, damaged, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWareU1, 100, -0.50f, -0.50f, 0.10f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): fee account, negative rates");
+         errorFound |= testerSellTransActFeeAllAccount(testWareC1, testWareP2, 8, 12,
+                                                     -0.24f, 1000.0f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): damaged ware, zero rate, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 1, 0.00f, 0.00f, 0.10f, 0, false);
+         errorFound |= testerSellTransActFeeAllAccount(testWare1, testWare2, 114, 36,
+                                                     -0.50f, 10000.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): damaged ware, positive rate, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 1, 1.00f, 1.00f, 0.50f, 0, false);
+         errorFound |= testerSellTransActFeeAllAccount(testWareP1, testWare4, 3, 4,
+                                                     -0.95f, 100.0f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): damaged ware, negative rate, singular quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 1, -0.50f, -0.50f, 0.50f, 0, false);
+         TEST_OUTPUT.println("transaction fees - sellall(): fee account funds too low to pay negative rate");
+         errorFound |= testerSellTransActFeeAllAccount(testWare1, null, 100, 0,
+                                                     -0.10f, 5.0f, 1, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): damaged ware, zero rate, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 1000, 0.00f, 0.00f, 0.25f, 0, false);
+         errorFound |= testerSellTransActFeeAllAccount(testWare1, testWare3, 10, 32,
+                                                     -0.50f, 60.0f, 2, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): damaged ware, positive rate, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 100, 9.00f, 9.00f, 0.01f, 0, false);
+         errorFound |= testerSellTransActFeeAllAccount(testWareC3, testWareP1, 16, 8,
+                                                     -0.50f, 10.0f, 3, true);
 
-         TEST_OUTPUT.println("transaction fees - check(): damaged ware, negative rate, multiple quantity");
-         errorFound |= testTransActFeeCheck(testWare1, 10, -11.00f, -11.00f, 0.10f, 0, false);
-      }
-      catch (Exception e) {
-         Config.chargeTransactionFees = false;
-         TEST_OUTPUT.println("testUnitTransactionFees() - fatal error: " + e);
-         e.printStackTrace();
-         return false;
-      }
-      Config.chargeTransactionFees = false;
 
-      return !errorFound;
-   }
+         // ensure fee collection account has sufficient wealth to pay negative fees
+         accountFeeCollection.setMoney(Float.POSITIVE_INFINITY);
 
-   /**
-    * Tests events which affect wares' quantities for sale.
-    *
-    * @return whether random events passed all test cases
-    */
-   private static boolean testUnitRandomEvents() {
-      // use a flag to signal at least one error being found
-      boolean errorFound = false;
+         TEST_OUTPUT.println("transaction fees - sendMoney(): when disabled");
+         Config.transactionFeeSendingIsMult = true;
+         Config.transactionFeeBuying        = 0.05f;
+         Config.transactionFeeSelling       = 1.00f;
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       100.0f, 0.0f, 100.0f, 0.00f, 0);
 
-      // ensure testing environment is properly set up
-      resetTestEnvironment();
-      Config.randomEvents          = true;
-      Config.randomEventsFrequency = 999999999;
-      Config.randomEventsVariance  = 0.0f;
-      Config.filenameRandomEvents  = "config" + File.separator + "CommandEconomy" + File.separator + "testRandomEvents.json";
-      File       fileRandomEvents  = new File(Config.filenameRandomEvents);
-      FileWriter fileWriter;
+         TEST_OUTPUT.println("transaction fees - sendMoney(): when enabled");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       1000.0f, 0.0f, 100.0f, 0.10f, 0);
 
-      // prepare to grab private methods
-      Method         randomEventsLoadWares;
-      Method         randomEventFire;
-      Class<?>       randomEventClass;
-      Constructor<?> constructor;
+         TEST_OUTPUT.println("transaction fees - sendMoney(): zero rates");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       100.0f, 0.0f, 100.0f, 0.0f, 0);
 
-      // prepare to grab internal variables
-      Field fRandomEvents;
-      Field fTimer;
-      Field fTimerTask;
-      // for accessing event properties
-      Field fDescription;
-      Field fChangedWaresIDs;
-      Field fChangedMagnitudes;
-      Field fChangeMagnitudesCurrent;
+         TEST_OUTPUT.println("transaction fees - sendMoney(): flat rates, positive");
+         Config.transactionFeeSendingIsMult = false;
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       1000.0f, 0.0f, 100.0f, 100.0f, 1);
 
-      // track changes to variables
-      Timer        timerRandomEvents;
-      RandomEvents timerTaskRandomEvents;
-      Object[]     randomEvents;
-      Object       testEvent1;
-      Object       testEvent2;
-      Object       testEvent3;
-      String       descriptionScenario1;
-      String       descriptionScenario2;
-      String       descriptionScenario3;
-      String       descriptionWareChanges1;
-      String       descriptionWareChanges2;
-      String       descriptionWareChanges3;
-      int          quantityWare1;
-      int          quantityWare2;
-      int          quantityWare3;
-      int          quantityWare4;
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
+                                       128.0f, 0.0f, 64.0f, 32.0f, 2);
 
-      // repeatedly-used information
-      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_1 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_MEDIUM};
-      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_2 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NEGATIVE_SMALL};
-      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_3 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_LARGE};
-      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_4 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_LARGE, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_MEDIUM};
-      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_5 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NEGATIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.NEGATIVE_SMALL};
-      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_6 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL};
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
+                                       20.0f, 0.0f, 10.0f, 1.0f, 3);
 
-      // ensure events file doesn't affect next test run
-      if (fileRandomEvents.exists())
-         fileRandomEvents.delete();
+         TEST_OUTPUT.println("transaction fees - sendMoney(): flat rates, negative");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       1000.0f, 1000.0f, 100.0f, -100.0f, 1);
 
-      try {
-         // grab references to attributes
-         fRandomEvents = RandomEvents.class.getDeclaredField("randomEvents");
-         fRandomEvents.setAccessible(true);
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
+                                       128.0f, 1000.0f, 64.0f, -32.0f, 2);
 
-         fTimerTask = RandomEvents.class.getDeclaredField("timerTaskRandomEvents");
-         fTimerTask.setAccessible(true);
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
+                                       20.0f, 1000.0f, 10.0f, -1.0f, 3);
 
-         // first call performs preliminary set up
-         RandomEvents.startOrReconfig();
+         TEST_OUTPUT.println("transaction fees - sendMoney(): percent rates, positive");
+         Config.transactionFeeSendingIsMult = true;
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       1000.0f, 0.0f, 100.0f, 1.0f, 1);
 
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
+                                       128.0f, 0.0f, 64.0f, 0.5f, 2);
 
-         TEST_OUTPUT.println("random events - handling missing events file");
-         // initialize random events
-         try {
-            RandomEvents.startOrReconfig();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   startOrReconfig() should not throw any exception, but it did while loading missing events file");
-            e.printStackTrace();
-            errorFound = true;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
+                                       20.0f, 0.0f, 10.0f, 0.1f, 3);
 
-         // run once to finish configuration
-         timerTaskRandomEvents = (RandomEvents) fTimerTask.get(null);
-         timerTaskRandomEvents.run();
+         TEST_OUTPUT.println("transaction fees - sendMoney(): percent rates, negative");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       1000.0f, 1000.0f, 100.0f, -1.0f, 1);
 
-         // check loaded random events
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         if (randomEvents != null) {
-            TEST_OUTPUT.println("   randomEvents were loaded when they shouldn't have been");
-            randomEvents = null;
-            errorFound = true;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
+                                       128.0f, 1000.0f, 64.0f, -0.5f, 2);
 
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
+                                       20.0f, 1000.0f, 10.0f, -0.1f, 3);
 
-         TEST_OUTPUT.println("random events - handling misformatted file");
-         // create test events file
-         try {
-            // open the save file for events, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameRandomEvents);
+         TEST_OUTPUT.println("transaction fees - sendMoney(): funds checking includes fees, positive");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       100.0f, 0.0f, 100.0f, 0.10f, 1);
 
-            // write test events file
-            fileWriter.write(
-               "The formatting of this file isn't even close to JSON formatting."
-            );
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
+                                       19.0f, 0.0f, 10.0f, 1.00f, 2);
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return false;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
+                                       1199.0f, 0.0f, 1000.0f, 0.20f, 3);
 
-         // try to load the test file
-         try {
-            RandomEvents.load();
-            timerTaskRandomEvents.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
-            e.printStackTrace();
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - sendMoney(): funds checking includes fees, negative");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount4",
+                                       50.0f, 1000.0f, 100.0f, -1.00f, 1);
 
-         // check loaded random events
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         if (randomEvents != null) {
-            TEST_OUTPUT.println("   randomEvents were loaded when they shouldn't have been");
-            randomEvents = null;
-            errorFound = true;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
+                                       9.0f, 1000.0f, 10.0f, -0.25f, 2);
 
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
+                                       950.0f, 1000.0f, 1000.0f, -0.20f, 3);
 
-         TEST_OUTPUT.println("random events - handling when no events are loaded");
-         // create test events file
+         TEST_OUTPUT.println("transaction fees - sendMoney(): funds checking includes fees, extremely negative");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       0.0f, 10000.0f, 1000.0f, -1.00f, 1);
+
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount3",
+                                       0.0f, 10000.0f, 100.0f, -10.00f, 2);
+
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", UserInterfaceTerminal.playername,
+                                       10000.0f, 10000.0f, 10.0f, -100.00f, 3);
+
+         TEST_OUTPUT.println("transaction fees - sendMoney(): changing fee applied message");
+         // create test config file
          try {
-            // open the save file for events, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameRandomEvents);
+            // open the save file for config, create it if it doesn't exist
+            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
 
-            // write test events file
+            // write test wares file
             fileWriter.write(
-               ""
+               "// warning: this file may be cleared and overwritten by the program\n\n" +
+               "chargeTransactionFees       = true\n" +
+               "transactionFeeSendingIsMult = true\n" +
+               "transactionFeeSendingMsg    = Transfer fee: \n" +
+               "disableAutoSaving           = true\n" +
+               "crossWorldMarketplace       = true\n"
             );
 
             // close the file
             fileWriter.close();
          } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test events file");
-            baosErr.reset();
+            TEST_OUTPUT.println("   unable to change test config file");
             e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return false;
          }
 
-         // ensure thread reference is current
-         RandomEvents.startOrReconfig();
-         timerTaskRandomEvents = (RandomEvents) fTimerTask.get(null);
+         // reload config
+         Config.loadConfig();
 
-         // try to load the test file
-         try {
-            RandomEvents.load();
-            timerTaskRandomEvents.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            errorFound = true;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       1000.0f, 0.0f, 100.0f, 1.0f, 1);
 
-         // check loaded random events
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         if (randomEvents != null) {
-            TEST_OUTPUT.println("   randomEvents were loaded when they shouldn't have been");
-            randomEvents = null;
-            errorFound = true;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
+                                       128.0f, 0.0f, 64.0f, 0.5f, 2);
 
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
+                                       20.0f, 0.0f, 10.0f, 0.1f, 3);
 
-         TEST_OUTPUT.println("random events - loading valid and invalid random events");
-         // create test events file
+         TEST_OUTPUT.println("transaction fees - sendMoney(): restoring fee applied message");
+         Config.transactionFeeSendingMsg    = "   Transaction fee applied: ";
+
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       1000.0f, 0.0f, 100.0f, 1.0f, 1);
+
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount2",
+                                       128.0f, 0.0f, 64.0f, 0.5f, 2);
+
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount3",
+                                       20.0f, 0.0f, 10.0f, 0.1f, 3);
+
+         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account doesn't exist");
+         Config.transactionFeesAccount = "transactionFeeCollectionSend";
+
+         // ensure account does not exist
+         account1 = Account.getAccount(Config.transactionFeesAccount);
+         if (account1 != null)
+            Account.deleteAccount(Config.transactionFeesAccount, account1.getOwner());
+
+         // create test config file
          try {
-            // open the save file for events, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameRandomEvents);
+            // open the save file for config, create it if it doesn't exist
+            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
 
-            // write test events file
+            // write test wares file
             fileWriter.write(
-               "[{\n" +
-               "\"description\": \"This test event is perfectly fine.\",\n" +
-               "\"changedWaresIDs\": [\"test:material3\", \"test:crafted2\"],\n" +
-               "\"changeMagnitudes\": [POSITIVE_LARGE, NEGATIVE_MEDIUM]},{\n" +
-               "\"description\": \"This test event has too few magnitudes.\",\n" +
-               "\"changedWaresIDs\": [\"test:material1\", \"test:material2\"],\n" +
-               "\"changeMagnitudes\": [POSITIVE_SMALL]},{\n" +
-               "\"description\": \"This test event has too many magnitudes.\",\n" +
-               "\"changedWaresIDs\": [\"test:crafted1\"],\n" +
-               "\"changeMagnitudes\": [NEGATIVE_SMALL, POSITIVE_MEDIUM]},{\n" +
-               "\"description\": \"This test event doesn't have any magnitudes.\",\n" +
-               "\"changedWaresIDs\": [\"test:processed2\"]},{\n" +
-               "\"description\": \"This test event doesn't affect any wares, yet has magnitudes.\",\n" +
-               "\"changeMagnitudes\": [POSITIVE_LARGE, POSITIVE_LARGE]},{\n" +
-               "\"description\": \"This test event is also perfectly fine.\",\n" +
-               "\"changedWaresIDs\": [\"test:processed1\"],\n" +
-               "\"changeMagnitudes\": [NEGATIVE_SMALL]}]\n"
+               "// warning: this file may be cleared and overwritten by the program\n\n" +
+               "chargeTransactionFees  = true\n" +
+               "transactionFeesShouldPutFeesIntoAccount = true\n" +
+               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
+               "accountStartingMoney   = 0.0\n"  +
+               "disableAutoSaving      = true\n" +
+               "crossWorldMarketplace  = true\n"
             );
 
             // close the file
             fileWriter.close();
          } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test events file");
-            baosErr.reset();
+            TEST_OUTPUT.println("   unable to change test config file");
             e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return false;
          }
 
-         // ensure thread reference is current
-         RandomEvents.startOrReconfig();
-         timerTaskRandomEvents = (RandomEvents) fTimerTask.get(null);
+         // reload config
+         Config.loadConfig();
 
-         // try to load the test file
-         try {
-            RandomEvents.load();
-            timerTaskRandomEvents.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
+         // run test
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       100.0f, 0.0f, 10.0f, 1.00f, 0);
+
+         // check account existence
+         account1 = Account.getAccount(Config.transactionFeesAccount);
+         if (account1 == null) {
+            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
             errorFound = true;
          }
 
-         // check loaded random events
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         if (randomEvents == null) {
-            TEST_OUTPUT.println("   random events should have loaded, but randomEvents is null");
-            errorFound = true;
-         } else if (randomEvents.length != 2) {
-            TEST_OUTPUT.println("   random events loaded: " + randomEvents.length + ", should be 2");
-            errorFound = true;
+         // check account properties
+         else {
+            if (account1.getOwner() != null) {
+               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account1.getOwner().toString());
+               errorFound = true;
+            }
          }
 
+         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account changed");
+         Config.transactionFeesShouldPutFeesIntoAccount = true;
+         account1 = Account.getAccount(Config.transactionFeesAccount);
+         Config.transactionFeesAccount                  = "newTransactionFeeCollectionSend";
+         account2 = Account.getAccount(Config.transactionFeesAccount);
+
+         // ensure account does not exist
+         if (account2 != null)
+            Account.deleteAccount(Config.transactionFeesAccount, account2.getOwner());
 
-         TEST_OUTPUT.println("random events - loading random events referring to invalid ware IDs");
-         // create test events file
+         // create test config file
          try {
-            // open the save file for events, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameRandomEvents);
+            // open the save file for config, create it if it doesn't exist
+            fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
 
-            // write test events file
+            // write test wares file
             fileWriter.write(
-               "[\n" +
-               "  {\"description\":\"This is a test event.\",\"changedWaresIDs\":[\"test:material3\",\"test:invalidWareID\"],\"changeMagnitudes\":[POSITIVE_LARGE,NEGATIVE_MEDIUM]},\n" +
-               "  {\"description\":\"This is also a test event.\",\"changedWaresIDs\":[\"test:anotherInvalidWareID\"],\"changeMagnitudes\":[NEGATIVE_SMALL]},\n" +
-               "  {\"description\":\"This is yet another test event.\",\"changedWaresIDs\":[\"test:yetAnotherInvalidWareID\",\"minecraft:material4\"],\"changeMagnitudes\":[POSITIVE_SMALL,NEGATIVE_MEDIUM]},\n" +
-               "  {\"description\":\"This is the third-to-last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:secondToLastInvalidWareID\",\"test:crafted2\"],\"changeMagnitudes\":[POSITIVE_MEDIUM,NEGATIVE_LARGE]},\n" +
-               "  {\"description\":\"This test event was included to ensure untradeable wares are being checked for.\",\"changedWaresIDs\":[\"test:untradeable1\"],\"changeMagnitudes\":[POSITIVE_MEDIUM]},\n" +
-               "  {\"description\":\"This is the last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:lastInvalidWareID\",\"test:untradeable1\",\"test:material1\"],\"changeMagnitudes\":[POSITIVE_SMALL,NEGATIVE_SMALL,POSITIVE_MEDIUM]}\n" +
-               "]"
+               "// warning: this file may be cleared and overwritten by the program\n\n" +
+               "chargeTransactionFees  = true\n" +
+               "transactionFeesAccount = " + Config.transactionFeesAccount + "\n" +
+               "accountStartingMoney   = 0.0\n"  +
+               "disableAutoSaving      = true\n" +
+               "crossWorldMarketplace  = true\n"
             );
 
             // close the file
             fileWriter.close();
          } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test events file");
-            baosErr.reset();
+            TEST_OUTPUT.println("   unable to change test config file");
             e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return false;
          }
 
-         // try to load the test file
-         try {
-            RandomEvents.load();
-            timerTaskRandomEvents.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
+         // reload config
+         Config.loadConfig();
+
+         // run test
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, UserInterfaceTerminal.playername, "testAccount1",
+                                       100.0f, 0.0f, 10.0f, 1.00f, 0);
+
+         // check account existence
+         account2 = Account.getAccount(Config.transactionFeesAccount);
+         if (account2 == null) {
+            TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should exist when it does not");
             errorFound = true;
          }
 
-         // check loaded random events
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         if (randomEvents == null) {
-            TEST_OUTPUT.println("   random events should have loaded, but randomEvents is null");
-            errorFound = true;
-         } else if (randomEvents.length != 4) {
-            TEST_OUTPUT.println("   random events loaded: " + randomEvents.length + ", should be 4");
-            errorFound = true;
+         // check account properties
+         else {
+            if (account2.getOwner() != null) {
+               TEST_OUTPUT.println("   account " + Config.transactionFeesAccount + " should be inaccessible, is owned by " + account2.getOwner().toString());
+               errorFound = true;
+            }
          }
 
+         // reset test environment in case
+         // reloading configuration made unexpected changes
+         resetTestEnvironment();
+         Config.chargeTransactionFees                   = true;
+         Config.transactionFeesShouldPutFeesIntoAccount = true;
 
-         TEST_OUTPUT.println("random events - loading random events with invalid change magnitudes");
-         // create test events file
-         try {
-            // open the save file for events, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameRandomEvents);
+         // ensure fee collection account exists
+         accountFeeCollection = Account.getAccount(Config.transactionFeesAccount);
+         if (accountFeeCollection == null)
+            accountFeeCollection = Account.makeAccount(Config.transactionFeesAccount, null);
 
-            // write test events file
-            fileWriter.write(
-               "[\n" +
-               "  {\"description\":\"This is a test event.\",\"changedWaresIDs\":[\"test:material3\",\"test:invalidWareID\"],\"changeMagnitudes\":[3,-2]},\n" +
-               "  {\"description\":\"This is also a test event.\",\"changedWaresIDs\":[\"test:anotherInvalidWareID\"],\"changeMagnitudes\":[-1]},\n" +
-               "  {\"description\":\"This is yet another test event.\",\"changedWaresIDs\":[\"test:yetAnotherInvalidWareID\",\"minecraft:material4\"],\"changeMagnitudes\":[1,-2]},\n" +
-               "  {\"description\":\"This is the third-to-last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:secondToLastInvalidWareID\",\"test:crafted2\"],\"changeMagnitudes\":[2,-3]},\n" +
-               "  {\"description\":\"This test event was included to ensure untradeable wares are being checked for.\",\"changedWaresIDs\":[\"test:untradeable1\"],\"changeMagnitudes\":[2]},\n" +
-               "  {\"description\":\"This is the last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:lastInvalidWareID\",\"test:untradeable1\",\"test:material1\"],\"changeMagnitudes\":[1,-1,2]}\n" +
-               "]"
-            );
+         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account, positive rates");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
+                                       1000000.0f, 0.0f, 128.0f, 0.50f, 1);
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return false;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
+                                       1000000.0f, 100.0f, 100.0f, 0.75f, 2);
 
-         // try to load the test file
-         try {
-            RandomEvents.load();
-            timerTaskRandomEvents.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            errorFound = true;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount3",
+                                       1000000.0f, 1000.0f, 10.0f, 1.00f, 3);
 
-         // check loaded random events
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         if (randomEvents != null) {
-            TEST_OUTPUT.println("   random events should not have been loaded, but randomEvents has " + randomEvents.length + " entries");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account, negative rates");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
+                                       1000000.0f, 128.0f, 128.0f, -0.50f, 1);
 
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
+                                       1000000.0f, 80.0f, 100.0f, -0.75f, 2);
 
-         TEST_OUTPUT.println("random events - loading only valid random events");
-         // create test events file
-         try {
-            // open the save file for events, create it if it doesn't exist
-            fileWriter = new FileWriter(Config.filenameRandomEvents);
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount3",
+                                       1000000.0f, 100.0f, 10.0f, -1.00f, 3);
 
-            // write test events file
-            fileWriter.write(
-               "[\n" +
-               "  {\"description\":\"This is the first test event description.\",\"changedWaresIDs\":[\"test:material1\",\"test:material2\"],\"changeMagnitudes\":[POSITIVE_SMALL,POSITIVE_MEDIUM]},\n" +
-               "  {\"description\":\"This is the second test event description.\",\"changedWaresIDs\":[\"test:crafted1\"],\"changeMagnitudes\":[NEGATIVE_SMALL]},\n" +
-               "  {\"description\":\"This is the third test event description.\",\"changedWaresIDs\":[\"test:processed2\"],\"changeMagnitudes\":[NEGATIVE_LARGE]}\n" +
-               "]"
-            );
+         TEST_OUTPUT.println("transaction fees - sendMoney(): fee account funds too low to pay negative rate");
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount2",
+                                       1000000.0f, 32.0f, 128.0f, -0.50f, 1);
 
-            // close the file
-            fileWriter.close();
-         } catch (Exception e) {
-            TEST_OUTPUT.println("   unable to create test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return false;
-         }
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount2", "testAccount1",
+                                       1000000.0f, 74.9f, 100.0f, -0.75f, 2);
 
-         // ensure thread reference is current
-         RandomEvents.startOrReconfig();
-         timerTaskRandomEvents = (RandomEvents) fTimerTask.get(null);
+         errorFound |= testerSendMoney(UserInterfaceTerminal.playername, "testAccount1", "testAccount3",
+                                       1000000.0f, 9.0f, 10.0f, -1.00f, 3);
 
-         // try to load the test file
-         try {
-            RandomEvents.load();
-            timerTaskRandomEvents.run();
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): when disabled, without alias, singular quantity");
+         Config.transactionFeeBuyingIsMult  = true;
+         Config.transactionFeeSellingIsMult = true;
+         Config.transactionFeeSendingIsMult = true;
+         Config.transactionFeeSending       = 0.02f;
 
-         // check loaded random events
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         if (randomEvents == null) {
-            TEST_OUTPUT.println("   random events should have loaded, but randomEvents is null");
-            errorFound = true;
-         } else if (randomEvents.length != 3) {
-            TEST_OUTPUT.println("   random events loaded: " + randomEvents.length + ", should be 3");
-            errorFound = true;
-         }
+         errorFound |= testTransActFeeCheck(testWare1, 0, 0.00f, 0.00f, 1.00f, 0, false);
 
-         // set up test environment
-         // grab the RandomEvent constructor
-         randomEventClass = RandomEvents.class.getDeclaredClasses()[0];
-         constructor = randomEventClass.getDeclaredConstructors()[0];
-         constructor.setAccessible(true);
+         TEST_OUTPUT.println("transaction fees - check(): when disabled, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, 0.00f, 0.00f, 1.00f, 0, false);
 
-         // initialize events
-         testEvent1 = constructor.newInstance(timerTaskRandomEvents);
-         testEvent2 = constructor.newInstance(timerTaskRandomEvents);
-         testEvent3 = constructor.newInstance(timerTaskRandomEvents);
+         TEST_OUTPUT.println("transaction fees - check(): when disabled, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 0.00f, 0.00f, 1.00f, 0, false);
 
-         // access event properties
-         fDescription       = randomEventClass.getDeclaredField("description");
-         fChangedWaresIDs   = randomEventClass.getDeclaredField("changedWaresIDs");
-         fChangedMagnitudes = randomEventClass.getDeclaredField("changeMagnitudes");
-         fDescription.setAccessible(true);
-         fChangedWaresIDs.setAccessible(true);
-         fChangedMagnitudes.setAccessible(true);
+         TEST_OUTPUT.println("transaction fees - check(): when disabled, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, 0.00f, 0.00f, 1.00f, 0, false);
 
-         // set event properties
-         fDescription.set(testEvent1, "This is the first test event description.");
-         fDescription.set(testEvent2, "This is the second test event description.");
-         fDescription.set(testEvent3, "This is the third test event description.");
-         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
-         fChangedWaresIDs.set(testEvent2, new String[]{"test:crafted1"});
-         fChangedWaresIDs.set(testEvent3, new String[]{"test:processed2"});
-         fChangedMagnitudes.set(testEvent1, MAGNITUDES_1);
-         fChangedMagnitudes.set(testEvent2, MAGNITUDES_2);
-         fChangedMagnitudes.set(testEvent3, MAGNITUDES_3);
+         TEST_OUTPUT.println("transaction fees - check(): when enabled, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, 0.10f, 0.10f, 1.00f, 0, false);
 
-         // grab the random event loader/validator
-         randomEventsLoadWares = RandomEvents.class.getDeclaredMethod("loadWaresPrivate");
-         randomEventsLoadWares.setAccessible(true);
+         TEST_OUTPUT.println("transaction fees - check(): when enabled, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, 0.10f, 0.10f, 1.00f, 0, false);
 
-         // add test events to random events array
-         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 3));
-         randomEvents    = (Object[]) fRandomEvents.get(null);
-         randomEvents[0] = testEvent1;
-         randomEvents[1] = testEvent2;
-         randomEvents[2] = testEvent3;
+         TEST_OUTPUT.println("transaction fees - check(): when enabled, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 0.10f, 0.10f, 1.00f, 0, false);
 
-         // finish setting up events
-         randomEventsLoadWares.invoke(NULL_OBJECT, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): when enabled, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, 0.10f, 0.10f, 1.00f, 0, false);
 
-         // grab the RandomEvent event firer
-         randomEventFire = randomEventClass.getDeclaredMethod("fire");
-         randomEventFire.setAccessible(true);
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, 0.00f, 0.10f, 1.00f, 0, false);
 
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, 0.00f, 0.10f, 1.00f, 0, false);
 
-         TEST_OUTPUT.println("random events - printing scenarios only");
-         Config.randomEventsPrintChanges = false;
-         descriptionScenario1 = "This is the first test event description." + System.lineSeparator();
-         descriptionScenario2 = "This is the second test event description." + System.lineSeparator();
-         descriptionScenario3 = "This is the third test event description." + System.lineSeparator();
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 0.00f, 0.10f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for buying, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, 0.00f, 0.10f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1)) {
-            TEST_OUTPUT.println("    unexpected scenario for test event 1: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, 0.10f, 0.00f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, 0.10f, 0.00f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2)) {
-            TEST_OUTPUT.println("    unexpected scenario for test event 2: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 0.10f, 0.00f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): when disabled for selling, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, 0.10f, 0.00f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3)) {
-            TEST_OUTPUT.println("    unexpected scenario for test event 3: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): zero rates, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, 0.0f, 0.0f, 1.00f, 0, false);
 
-         TEST_OUTPUT.println("random events - printing scenarios and ware changes");
-         Config.randomEventsPrintChanges = true; // enable printing ware changes
+         TEST_OUTPUT.println("transaction fees - check(): zero rates, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, 0.0f, 0.0f, 1.00f, 0, false);
 
-         // grab events from thread
-         randomEvents = (Object[]) fRandomEvents.get(null);
-         testEvent1 = randomEvents[0];
-         testEvent2 = randomEvents[1];
-         testEvent3 = randomEvents[2];
+         TEST_OUTPUT.println("transaction fees - check(): zero rates, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 0.0f, 0.0f, 1.00f, 0, false);
 
-         // set event properties
-         fDescription.set(testEvent1, "This is the first test event description.");
-         fDescription.set(testEvent2, "This is the second test event description.");
-         fDescription.set(testEvent3, "This is the third test event description.");
-         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
-         fChangedWaresIDs.set(testEvent2, new String[]{"test:crafted1", "test:material3"});
-         fChangedWaresIDs.set(testEvent3, new String[]{"test:processed2", "minecraft:material4"});
-         fChangedMagnitudes.set(testEvent1, MAGNITUDES_4);
-         fChangedMagnitudes.set(testEvent2, MAGNITUDES_5);
-         fChangedMagnitudes.set(testEvent3, MAGNITUDES_6);
+         TEST_OUTPUT.println("transaction fees - check(): zero rates, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, 0.0f, 0.0f, 1.00f, 0, false);
 
-         // generate messages for ware changes
-         RandomEvents.loadWares();
-         RandomEvents.generateWareChangeDescriptions();
-         timerTaskRandomEvents.run();
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, without alias, singular quantity");
+         Config.transactionFeeBuyingIsMult  = false;
+         Config.transactionFeeSellingIsMult = false;
 
-         //   +++ --> \u001b[1m\u001b[32m
-         //    ++ --> \u001b[32m
-         //     + --> \u001b[32;1m
-         //     - --> \u001b[31;1m
-         //    -- --> \u001b[31m
-         //   --- --> \u001b[1m\u001b[31m
-         // reset --> \u001b[0m\n
+         errorFound |= testTransActFeeCheck(testWare1, 0, 1.00f, 1.00f, 1.00f, 0, false);
 
-         descriptionWareChanges1 = "\u001b[1m\u001b[32m+++test:material1\u001b[0m\n\u001b[32m++test:material2\u001b[0m\n" + System.lineSeparator();
-         descriptionWareChanges2 = "\u001b[31;1m-craft1, mat3\u001b[0m\n" + System.lineSeparator();
-         descriptionWareChanges3 = "\u001b[32;1m+test:processed2, material4\u001b[0m\n" + System.lineSeparator();
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, 10.10f, 10.10f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 100.00f, 100.00f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1 + descriptionWareChanges1)) {
-            TEST_OUTPUT.println("    unexpected descriptions for test event 1: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, positive, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, 123.456f, 123.456f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, -0.10f, -0.10f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2 + descriptionWareChanges2)) {
-            TEST_OUTPUT.println("    unexpected descriptions for test event 2: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, -10.10f, -10.10f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, -100.00f, -100.00f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3 + descriptionWareChanges3)) {
-            TEST_OUTPUT.println("    unexpected descriptions for test event 3: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, negative, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, -123.456f, -123.456f, 1.00f, 0, false);
 
-         TEST_OUTPUT.println("random events - toggling printing scenarios only by reloading configuration");
-         // turn printing changes off
-         Config.randomEventsPrintChanges = true;
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, -1.00f, -1.00f, 1.00f, 0, false);
 
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEventsPrintChanges = false\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 99999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
-         UserInterfaceTerminal.serviceRequest("/reload config");
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, -(testWare2.getBasePrice() * 20.0f), -(testWare2.getBasePrice() * 20.0f), 1.00f, 0, false);
 
-         // grab the new timertask since frequency was changed
-         timerTaskRandomEvents = (RandomEvents) fTimerTask.get(null);
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, -100.00f, -100.00f, 1.00f, 0, false);
 
-         // test printing after disabling printing changes
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): flat rates, extremely negative, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, -655.36f, -655.36f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1)) {
-            TEST_OUTPUT.println("    unexpected scenario for test event 1: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, without alias, singular quantity");
+         Config.transactionFeeBuyingIsMult  = false;
+         Config.transactionFeeSellingIsMult = false;
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         errorFound |= testTransActFeeCheck(testWare1, 0, 0.10f, 0.10f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2)) {
-            TEST_OUTPUT.println("    unexpected scenario for test event 2: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, 1.28f, 1.28f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 1.00f, 1.00f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3)) {
-            TEST_OUTPUT.println("    unexpected scenario for test event 3: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, positive, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, 10.00f, 10.00f, 1.00f, 0, false);
 
-         // turn printing changes on
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEventsPrintChanges = true\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 99999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
-         UserInterfaceTerminal.serviceRequest("/reload config");
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, -0.10f, -0.10f, 1.00f, 0, false);
 
-         // test printing after enabling printing changes
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, -0.128f, -0.128f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1 + descriptionWareChanges1)) {
-            TEST_OUTPUT.println("    unexpected descriptions for test event 1: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, -0.10f, -0.10f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, negative, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, -0.50f, -0.50f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2 + descriptionWareChanges2)) {
-            TEST_OUTPUT.println("    unexpected descriptions for test event 2: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, -2.56f, -2.56f, 1.00f, 0, false);
 
-         baosOut.reset(); // clear buffer holding console output
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 10, -1.00f, -1.00f, 1.00f, 0, false);
 
-         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3 + descriptionWareChanges3)) {
-            TEST_OUTPUT.println("    unexpected descriptions for test event 3: " + baosOut.toString());
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, -2.00f, -2.00f, 1.00f, 0, false);
 
-         // set events to known values
-         testEvent1 = constructor.newInstance(timerTaskRandomEvents);
-         testEvent2 = constructor.newInstance(timerTaskRandomEvents);
-         testEvent3 = constructor.newInstance(timerTaskRandomEvents);
+         TEST_OUTPUT.println("transaction fees - check(): percent rates, extremely negative, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 10, -11.00f, -11.00f, 1.00f, 0, false);
 
-         // set event properties
-         fDescription.set(testEvent1, "This is the first test event description.");
-         fDescription.set(testEvent2, "This is the second test event description.");
-         fDescription.set(testEvent3, "This is the third test event description.");
-         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
-         fChangedWaresIDs.set(testEvent2, new String[]{"test:crafted1"});
-         fChangedWaresIDs.set(testEvent3, new String[]{"test:processed2"});
-         fChangedMagnitudes.set(testEvent1, MAGNITUDES_1);
-         fChangedMagnitudes.set(testEvent2, MAGNITUDES_2);
-         fChangedMagnitudes.set(testEvent3, MAGNITUDES_3);
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, no quantity specified, without alias, singular quantity");
+         Config.priceBuyUpchargeMult = 2.0f;
+         PricingContext.publish();
 
-         // add test events to random events array
-         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 3));
-         randomEvents    = (Object[]) fRandomEvents.get(null);
-         randomEvents[0] = testEvent1;
-         randomEvents[1] = testEvent2;
-         randomEvents[2] = testEvent3;
+         errorFound |= testTransActFeeCheck(testWare1, 0, 1.00f, 1.00f, 1.00f, 0, false);
 
-         // finish setting up events
-         randomEventsLoadWares.invoke(NULL_OBJECT, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 0, 1.00f, 1.00f, 1.00f, 0, false);
 
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, without alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 1, -0.50f, -0.50f, 1.00f, 0, false);
 
-         TEST_OUTPUT.println("random events - positive flat rate for ware changes");
-         // set up ware changes
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEventsAreChangesPercents = false\n" +
-            "randomEventsLargeChange = 15\n" +
-            "randomEventsMediumChange = 10\n" +
-            "randomEventsSmallChange = 5\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 99999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         fRandomEvents.set(NULL_OBJECT, null); // prevent firing an event immediately, then hanging while waiting for randomEventsFrequency minutes to pass
-         timerTaskRandomEvents.run();
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 0, 1.00f, 1.00f, 1.00f, 1, true);
 
-         // set up expected results
-         quantityWare1 = testWare1.getQuantity() + (int) (5.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare1.getLevel()]);
-         quantityWare2 = testWare2.getQuantity() + (int) (10.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare2.getLevel()]);
-         quantityWare3 = testWareC1.getQuantity() - (int) (5.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareC1.getLevel()]);
-         quantityWare4 = testWareP2.getQuantity() + (int) (15.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareP2.getLevel()]);
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, with alias, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 1, -11.00f, -11.00f, 1.00f, 2, true);
 
-         // fire events
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 10, 1.00f, 1.00f, 1.00f, 0, false);
 
-         // test quantities
-         if (testWare1.getQuantity() != quantityWare1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
-            errorFound = true;
-         }
-         if (testWare2.getQuantity() != quantityWare2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
-            errorFound = true;
-         }
-         if (testWareC1.getQuantity() != quantityWare3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
-            errorFound = true;
-         }
-         if (testWareP2.getQuantity() != quantityWare4) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, without alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare2, 100, -0.50f, -0.50f, 1.00f, 0, false);
 
-         TEST_OUTPUT.println("random events - negative flat rate for ware changes");
-         // set up ware changes
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEventsAreChangesPercents = false\n" +
-            "randomEventsLargeChange = -4\n" +
-            "randomEventsMediumChange = -8\n" +
-            "randomEventsSmallChange = -16\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 99999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         timerTaskRandomEvents.run();
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, positive rate, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare3, 10, 1.00f, 1.00f, 1.00f, 0, false);
 
-         // set up expected results
-         quantityWare1 = testWare1.getQuantity() - (int) (16.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare1.getLevel()]);
-         quantityWare2 = testWare2.getQuantity() - (int) (8.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare2.getLevel()]);
-         quantityWare3 = testWareC1.getQuantity() + (int) (16.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareC1.getLevel()]);
-         quantityWare4 = testWareP2.getQuantity() - (int) (4.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareP2.getLevel()]);
+         TEST_OUTPUT.println("transaction fees - check(): buying upcharge, negative rate, with alias, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare4, 100, -11.00f, -11.00f, 1.00f, 0, false);
 
-         // fire events
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, zero rate, singular quantity");
+         Config.priceBuyUpchargeMult = 1.0f;
+         PricingContext.publish();
+         errorFound |= testTransActFeeCheck(testWareU1, 1, 0.00f, 0.00f, 1.00f, 0, false);
 
-         // test quantities
-         if (testWare1.getQuantity() != quantityWare1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
-            errorFound = true;
-         }
-         if (testWare2.getQuantity() != quantityWare2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
-            errorFound = true;
-         }
-         if (testWareC1.getQuantity() != quantityWare3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
-            errorFound = true;
-         }
-         if (testWareP2.getQuantity() != quantityWare4) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, positive rate, singular quantity");
+         errorFound |= testTransActFeeCheck(testWareU1, 1, 1.00f, 1.00f, 1.00f, 0, false);
 
-         TEST_OUTPUT.println("random events - positive percentage rate for ware changes");
-         // set up ware changes
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEventsAreChangesPercents = true\n" +
-            "randomEventsLargeChange = 0.30\n" +
-            "randomEventsMediumChange = 0.20\n" +
-            "randomEventsSmallChange = 0.10\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 99999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         timerTaskRandomEvents.run();
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, negative rate, singular quantity");
+         errorFound |= testTransActFeeCheck(testWareU1, 1, -0.50f, -0.50f, 1.00f, 0, false);
 
-         // set up expected results
-         quantityWare1 = testWare1.getQuantity() + (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.10f);
-         quantityWare2 = testWare2.getQuantity() + (int) (Config.quanEquilibrium[testWare2.getLevel()] * 0.20f);
-         quantityWare3 = testWareC1.getQuantity() - (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.10f);
-         quantityWare4 = testWareP2.getQuantity() + (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.30f);
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, zero rate, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWareU1, 100, 0.00f, 0.00f, 1.00f, 0, false);
 
-         // fire events
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, positive rate, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWareU1, 100, 1.00f, 1.00f, 1.00f, 0, false);
 
-         // test quantities
-         if (testWare1.getQuantity() != quantityWare1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
-            errorFound = true;
-         }
-         if (testWare2.getQuantity() != quantityWare2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
-            errorFound = true;
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, negative rate, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWareU1, 100, -0.50f, -0.50f, 1.00f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, damaged, singular quantity");
+         errorFound |= testTransActFeeCheck(testWareU1, 1, 1.00f, 1.00f, 0.10f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): untradeable ware, damaged, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWareU1, 100, -0.50f, -0.50f, 0.10f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): damaged ware, zero rate, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 1, 0.00f, 0.00f, 0.10f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): damaged ware, positive rate, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 1, 1.00f, 1.00f, 0.50f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): damaged ware, negative rate, singular quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 1, -0.50f, -0.50f, 0.50f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): damaged ware, zero rate, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 1000, 0.00f, 0.00f, 0.25f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): damaged ware, positive rate, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 100, 9.00f, 9.00f, 0.01f, 0, false);
+
+         TEST_OUTPUT.println("transaction fees - check(): damaged ware, negative rate, multiple quantity");
+         errorFound |= testTransActFeeCheck(testWare1, 10, -11.00f, -11.00f, 0.10f, 0, false);
+      }
+      catch (Exception e) {
+         Config.chargeTransactionFees = false;
+         TEST_OUTPUT.println("testUnitTransactionFees() - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+      Config.chargeTransactionFees = false;
+
+      return !errorFound;
+   }
+
+   /**
+    * Tests events which affect wares' quantities for sale.
+    *
+    * @return whether random events passed all test cases
+    */
+   private static boolean testUnitRandomEvents() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.randomEvents          = true;
+      Config.randomEventsFrequency = 999999999;
+      Config.randomEventsVariance  = 0.0f;
+      Config.filenameRandomEvents  = "config" + File.separator + "CommandEconomy" + File.separator + "testRandomEvents.json";
+      File       fileRandomEvents  = new File(Config.filenameRandomEvents);
+      FileWriter fileWriter;
+
+      // prepare to grab private methods
+      Method         randomEventsLoadWares;
+      Method         randomEventFire;
+      Class<?>       randomEventClass;
+      Constructor<?> constructor;
+
+      // prepare to grab internal variables
+      Field fRandomEvents;
+      Field fTimer;
+      Field fTimerTask;
+      // for accessing event properties
+      Field fDescription;
+      Field fChangedWaresIDs;
+      Field fChangedMagnitudes;
+      Field fChangeMagnitudesCurrent;
+
+      // track changes to variables
+      MarketScheduler.Task taskRandomEvents;
+      RandomEvents randomEventsHandler;
+      Object[]     randomEvents;
+      Object       testEvent1;
+      Object       testEvent2;
+      Object       testEvent3;
+      String       descriptionScenario1;
+      String       descriptionScenario2;
+      String       descriptionScenario3;
+      String       descriptionWareChanges1;
+      String       descriptionWareChanges2;
+      String       descriptionWareChanges3;
+      int          quantityWare1;
+      int          quantityWare2;
+      int          quantityWare3;
+      int          quantityWare4;
+
+      // repeatedly-used information
+      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_1 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_MEDIUM};
+      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_2 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NEGATIVE_SMALL};
+      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_3 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_LARGE};
+      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_4 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_LARGE, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_MEDIUM};
+      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_5 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NEGATIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.NEGATIVE_SMALL};
+      final RandomEvents.QuantityForSaleChangeMagnitudes[] MAGNITUDES_6 = new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL};
+
+      // ensure events file doesn't affect next test run
+      if (fileRandomEvents.exists())
+         fileRandomEvents.delete();
+
+      try {
+         // grab references to attributes
+         fRandomEvents = RandomEvents.class.getDeclaredField("randomEvents");
+         fRandomEvents.setAccessible(true);
+
+         fTimerTask = RandomEvents.class.getDeclaredField("randomEventsHandler");
+         fTimerTask.setAccessible(true);
+
+         // first call performs preliminary set up
+         RandomEvents.startOrReconfig();
+
+
+         TEST_OUTPUT.println("random events - handling missing events file");
+         // initialize random events
+         try {
+            RandomEvents.startOrReconfig();
          }
-         if (testWareC1.getQuantity() != quantityWare3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+         catch (Exception e) {
+            TEST_OUTPUT.println("   startOrReconfig() should not throw any exception, but it did while loading missing events file");
+            e.printStackTrace();
             errorFound = true;
          }
-         if (testWareP2.getQuantity() != quantityWare4) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+
+         // run once to finish configuration
+         randomEventsHandler = (RandomEvents) fTimerTask.get(null);
+         randomEventsHandler.run();
+
+         // check loaded random events
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         if (randomEvents != null) {
+            TEST_OUTPUT.println("   randomEvents were loaded when they shouldn't have been");
+            randomEvents = null;
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("random events - negative percentage rate for ware changes");
-         // set up ware changes
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEventsAreChangesPercents = true\n" +
-            "randomEventsLargeChange = -0.08\n" +
-            "randomEventsMediumChange = -0.16\n" +
-            "randomEventsSmallChange = -0.32\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 99999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         timerTaskRandomEvents.run();
 
-         // set up expected results
-         quantityWare1 = testWare1.getQuantity()  - (int) (Config.quanEquilibrium[testWare1.getLevel()]  * 0.32f);
-         quantityWare2 = testWare2.getQuantity()  - (int) (Config.quanEquilibrium[testWare2.getLevel()]  * 0.16f);
-         quantityWare3 = testWareC1.getQuantity() + (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.32);
-         quantityWare4 = testWareP2.getQuantity() - (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.08f);
+         TEST_OUTPUT.println("random events - handling misformatted file");
+         // create test events file
+         try {
+            // open the save file for events, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameRandomEvents);
 
-         // fire events
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+            // write test events file
+            fileWriter.write(
+               "The formatting of this file isn't even close to JSON formatting."
+            );
 
-         // test quantities
-         if (testWare1.getQuantity() != quantityWare1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
-            errorFound = true;
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to create test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return false;
          }
-         if (testWare2.getQuantity() != quantityWare2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
-            errorFound = true;
+
+         // try to load the test file
+         try {
+            RandomEvents.load();
+            randomEventsHandler.run();
          }
-         if (testWareC1.getQuantity() != quantityWare3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+         catch (Exception e) {
+            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
+            e.printStackTrace();
             errorFound = true;
          }
-         if (testWareP2.getQuantity() != quantityWare4) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+
+         // check loaded random events
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         if (randomEvents != null) {
+            TEST_OUTPUT.println("   randomEvents were loaded when they shouldn't have been");
+            randomEvents = null;
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("random events - reloading wares");
-         // set test wares to equilibrium
-         testWare1.setQuantity(Config.quanEquilibrium[testWare1.getLevel()]);
-         testWare2.setQuantity(Config.quanEquilibrium[testWare2.getLevel()]);
-         testWareC1.setQuantity(Config.quanEquilibrium[testWareC1.getLevel()]);
-         testWareP2.setQuantity(Config.quanEquilibrium[testWareP2.getLevel()]);
 
-         // save wares to write current state to file
-         Config.filenameWaresSave = "config" + File.separator + "CommandEconomy" + File.separator + "testWaresSaved.txt"; // don't overwrite user saves
-         Marketplace.saveWares();
+         TEST_OUTPUT.println("random events - handling when no events are loaded");
+         // create test events file
+         try {
+            // open the save file for events, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameRandomEvents);
 
-         // set up expected end results
-         quantityWare1 = testWare1.getQuantity()  - (int) (Config.quanEquilibrium[testWare1.getLevel()]  * 0.32f);
-         quantityWare2 = testWare2.getQuantity()  - (int) (Config.quanEquilibrium[testWare2.getLevel()]  * 0.16f);
-         quantityWare3 = testWareC1.getQuantity() + (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.32);
-         quantityWare4 = testWareP2.getQuantity() - (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.08f);
+            // write test events file
+            fileWriter.write(
+               ""
+            );
 
-         // add test events to random events array
-         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 3));
-         randomEvents    = (Object[]) fRandomEvents.get(null);
-         randomEvents[0] = testEvent1;
-         randomEvents[1] = testEvent2;
-         randomEvents[2] = testEvent3;
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to create test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return false;
+         }
 
-         // trigger events twice to greatly change current state
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         // ensure thread reference is current
+         RandomEvents.startOrReconfig();
+         randomEventsHandler = (RandomEvents) fTimerTask.get(null);
 
-         // ensure ware quantities have changed
-         if (testWare1.getQuantity() >= quantityWare1) {
-            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be less than " + quantityWare1);
-            errorFound = true;
-         }
-         if (testWare2.getQuantity() >= quantityWare2) {
-            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be less than " + quantityWare2);
-            errorFound = true;
+         // try to load the test file
+         try {
+            RandomEvents.load();
+            randomEventsHandler.run();
          }
-         if (testWareC1.getQuantity() <= quantityWare3) {
-            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be greater than " + quantityWare3);
+         catch (Exception e) {
+            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
             errorFound = true;
          }
-         if (testWareP2.getQuantity() >= quantityWare4) {
-            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be less than " + quantityWare4);
+
+         // check loaded random events
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         if (randomEvents != null) {
+            TEST_OUTPUT.println("   randomEvents were loaded when they shouldn't have been");
+            randomEvents = null;
             errorFound = true;
          }
 
-         // prevent any randomly selected random events from messing up data
-         fChangedMagnitudes.set(testEvent1, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NONE, RandomEvents.QuantityForSaleChangeMagnitudes.NONE});
-         fChangedMagnitudes.set(testEvent2, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NONE});
-         fChangedMagnitudes.set(testEvent3, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NONE});
 
-         // reload wares to reset to equilibrium
-         Marketplace.loadWares();
-         Config.randomEventsFrequency = 1; // prevent hanging
-         timerTaskRandomEvents.run();
-         Config.randomEventsFrequency = 99999; // prevent thread from interfering
+         TEST_OUTPUT.println("random events - loading valid and invalid random events");
+         // create test events file
+         try {
+            // open the save file for events, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameRandomEvents);
 
-         // restore event magnitudes
-         fChangeMagnitudesCurrent = randomEventClass.getDeclaredField("changeMagnitudesCurrent");
-         fChangeMagnitudesCurrent.set(testEvent1, MAGNITUDES_1);
-         fChangeMagnitudesCurrent.set(testEvent2, MAGNITUDES_2);
-         fChangeMagnitudesCurrent.set(testEvent3, MAGNITUDES_3);
+            // write test events file
+            fileWriter.write(
+               "[{\n" +
+               "\"description\": \"This test event is perfectly fine.\",\n" +
+               "\"changedWaresIDs\": [\"test:material3\", \"test:crafted2\"],\n" +
+               "\"changeMagnitudes\": [POSITIVE_LARGE, NEGATIVE_MEDIUM]},{\n" +
+               "\"description\": \"This test event has too few magnitudes.\",\n" +
+               "\"changedWaresIDs\": [\"test:material1\", \"test:material2\"],\n" +
+               "\"changeMagnitudes\": [POSITIVE_SMALL]},{\n" +
+               "\"description\": \"This test event has too many magnitudes.\",\n" +
+               "\"changedWaresIDs\": [\"test:crafted1\"],\n" +
+               "\"changeMagnitudes\": [NEGATIVE_SMALL, POSITIVE_MEDIUM]},{\n" +
+               "\"description\": \"This test event doesn't have any magnitudes.\",\n" +
+               "\"changedWaresIDs\": [\"test:processed2\"]},{\n" +
+               "\"description\": \"This test event doesn't affect any wares, yet has magnitudes.\",\n" +
+               "\"changeMagnitudes\": [POSITIVE_LARGE, POSITIVE_LARGE]},{\n" +
+               "\"description\": \"This test event is also perfectly fine.\",\n" +
+               "\"changedWaresIDs\": [\"test:processed1\"],\n" +
+               "\"changeMagnitudes\": [NEGATIVE_SMALL]}]\n"
+            );
 
-         // trigger events once to test relinking
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to create test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return false;
+         }
 
-         // relink wares
-         testWare1  = wares.get("test:material1");
-         testWare2  = wares.get("test:material2");
-         testWareC1 = wares.get("test:crafted1");
-         testWareP2 = wares.get("test:processed2");
+         // ensure thread reference is current
+         RandomEvents.startOrReconfig();
+         randomEventsHandler = (RandomEvents) fTimerTask.get(null);
 
-         // check ware quantities
-         if (testWare1.getQuantity() != quantityWare1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
-            errorFound = true;
+         // try to load the test file
+         try {
+            RandomEvents.load();
+            randomEventsHandler.run();
          }
-         if (testWare2.getQuantity() != quantityWare2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+         catch (Exception e) {
+            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
             errorFound = true;
          }
-         if (testWareC1.getQuantity() != quantityWare3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+
+         // check loaded random events
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         if (randomEvents == null) {
+            TEST_OUTPUT.println("   random events should have loaded, but randomEvents is null");
             errorFound = true;
-         }
-         if (testWareP2.getQuantity() != quantityWare4) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+         } else if (randomEvents.length != 2) {
+            TEST_OUTPUT.println("   random events loaded: " + randomEvents.length + ", should be 2");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("random events - reloading with changed marketplace settings");
-         // set up ware changes
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "quanEquilibrium = 192, 96, 48, 24,12, 6\n" +
-            "randomEventsAreChangesPercents = true\n" +
-            "randomEventsLargeChange = 0.30\n" +
-            "randomEventsMediumChange = 0.20\n" +
-            "randomEventsSmallChange = 0.10\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 99999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
-         UserInterfaceTerminal.serviceRequest("/reload config");
-         Config.randomEventsFrequency = 1; // prevent hanging
-         timerTaskRandomEvents.run();
-         Config.randomEventsFrequency = 99999; // prevent thread from interfering
 
-         // paranoidly check changing equilibrium quantity
-         if (Config.quanEquilibrium[0] != 192 || Config.quanEquilibrium[1] != 96 || Config.quanEquilibrium[2] != 48 ||
-            Config.quanEquilibrium[3] != 24 || Config.quanEquilibrium[4] != 12 || Config.quanEquilibrium[5] != 6) {
-            TEST_OUTPUT.println("   failed to change configuration settings!");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("random events - loading random events referring to invalid ware IDs");
+         // create test events file
+         try {
+            // open the save file for events, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameRandomEvents);
 
-         // set up expected results
-         quantityWare1 = testWare1.getQuantity() + (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.10f);
-         quantityWare2 = testWare2.getQuantity() + (int) (Config.quanEquilibrium[testWare2.getLevel()] * 0.20f);
-         quantityWare3 = testWareC1.getQuantity() - (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.10f);
-         quantityWare4 = testWareP2.getQuantity() + (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.30f);
+            // write test events file
+            fileWriter.write(
+               "[\n" +
+               "  {\"description\":\"This is a test event.\",\"changedWaresIDs\":[\"test:material3\",\"test:invalidWareID\"],\"changeMagnitudes\":[POSITIVE_LARGE,NEGATIVE_MEDIUM]},\n" +
+               "  {\"description\":\"This is also a test event.\",\"changedWaresIDs\":[\"test:anotherInvalidWareID\"],\"changeMagnitudes\":[NEGATIVE_SMALL]},\n" +
+               "  {\"description\":\"This is yet another test event.\",\"changedWaresIDs\":[\"test:yetAnotherInvalidWareID\",\"minecraft:material4\"],\"changeMagnitudes\":[POSITIVE_SMALL,NEGATIVE_MEDIUM]},\n" +
+               "  {\"description\":\"This is the third-to-last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:secondToLastInvalidWareID\",\"test:crafted2\"],\"changeMagnitudes\":[POSITIVE_MEDIUM,NEGATIVE_LARGE]},\n" +
+               "  {\"description\":\"This test event was included to ensure untradeable wares are being checked for.\",\"changedWaresIDs\":[\"test:untradeable1\"],\"changeMagnitudes\":[POSITIVE_MEDIUM]},\n" +
+               "  {\"description\":\"This is the last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:lastInvalidWareID\",\"test:untradeable1\",\"test:material1\"],\"changeMagnitudes\":[POSITIVE_SMALL,NEGATIVE_SMALL,POSITIVE_MEDIUM]}\n" +
+               "]"
+            );
 
-         // fire events
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
-         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to create test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return false;
+         }
 
-         // test quantities
-         if (testWare1.getQuantity() != quantityWare1) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
-            errorFound = true;
+         // try to load the test file
+         try {
+            RandomEvents.load();
+            randomEventsHandler.run();
          }
-         if (testWare2.getQuantity() != quantityWare2) {
-            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+         catch (Exception e) {
+            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
             errorFound = true;
          }
-         if (testWareC1.getQuantity() != quantityWare3) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+
+         // check loaded random events
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         if (randomEvents == null) {
+            TEST_OUTPUT.println("   random events should have loaded, but randomEvents is null");
             errorFound = true;
-         }
-         if (testWareP2.getQuantity() != quantityWare4) {
-            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+         } else if (randomEvents.length != 4) {
+            TEST_OUTPUT.println("   random events loaded: " + randomEvents.length + ", should be 4");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("random events - toggling feature by reloading configuration");
-         fTimer = RandomEvents.class.getDeclaredField("timerRandomEvents");
-         fTimer.setAccessible(true);
-         timerRandomEvents = (Timer) fTimer.get(null);
 
-         // write to config file to turn off feature
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEvents = false\n" +
-            "randomEventsFrequency = 9999\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
+         TEST_OUTPUT.println("random events - loading random events with invalid change magnitudes");
+         // create test events file
+         try {
+            // open the save file for events, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameRandomEvents);
+
+            // write test events file
+            fileWriter.write(
+               "[\n" +
+               "  {\"description\":\"This is a test event.\",\"changedWaresIDs\":[\"test:material3\",\"test:invalidWareID\"],\"changeMagnitudes\":[3,-2]},\n" +
+               "  {\"description\":\"This is also a test event.\",\"changedWaresIDs\":[\"test:anotherInvalidWareID\"],\"changeMagnitudes\":[-1]},\n" +
+               "  {\"description\":\"This is yet another test event.\",\"changedWaresIDs\":[\"test:yetAnotherInvalidWareID\",\"minecraft:material4\"],\"changeMagnitudes\":[1,-2]},\n" +
+               "  {\"description\":\"This is the third-to-last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:secondToLastInvalidWareID\",\"test:crafted2\"],\"changeMagnitudes\":[2,-3]},\n" +
+               "  {\"description\":\"This test event was included to ensure untradeable wares are being checked for.\",\"changedWaresIDs\":[\"test:untradeable1\"],\"changeMagnitudes\":[2]},\n" +
+               "  {\"description\":\"This is the last test event. It makes it so four test events should be loaded, instead of two, like the previous test.\",\"changedWaresIDs\":[\"test:lastInvalidWareID\",\"test:untradeable1\",\"test:material1\"],\"changeMagnitudes\":[1,-1,2]}\n" +
+               "]"
+            );
+
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to create test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return false;
+         }
+
+         // try to load the test file
+         try {
+            RandomEvents.load();
+            randomEventsHandler.run();
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            errorFound = true;
+         }
+
+         // check loaded random events
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         if (randomEvents != null) {
+            TEST_OUTPUT.println("   random events should not have been loaded, but randomEvents has " + randomEvents.length + " entries");
+            errorFound = true;
+         }
+
+
+         TEST_OUTPUT.println("random events - loading only valid random events");
+         // create test events file
+         try {
+            // open the save file for events, create it if it doesn't exist
+            fileWriter = new FileWriter(Config.filenameRandomEvents);
+
+            // write test events file
+            fileWriter.write(
+               "[\n" +
+               "  {\"description\":\"This is the first test event description.\",\"changedWaresIDs\":[\"test:material1\",\"test:material2\"],\"changeMagnitudes\":[POSITIVE_SMALL,POSITIVE_MEDIUM]},\n" +
+               "  {\"description\":\"This is the second test event description.\",\"changedWaresIDs\":[\"test:crafted1\"],\"changeMagnitudes\":[NEGATIVE_SMALL]},\n" +
+               "  {\"description\":\"This is the third test event description.\",\"changedWaresIDs\":[\"test:processed2\"],\"changeMagnitudes\":[NEGATIVE_LARGE]}\n" +
+               "]"
+            );
+
+            // close the file
+            fileWriter.close();
+         } catch (Exception e) {
+            TEST_OUTPUT.println("   unable to create test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return false;
+         }
+
+         // ensure thread reference is current
+         RandomEvents.startOrReconfig();
+         randomEventsHandler = (RandomEvents) fTimerTask.get(null);
+
+         // try to load the test file
+         try {
+            RandomEvents.load();
+            randomEventsHandler.run();
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   loadRandomEvents() should not throw any exception, but it did while loading test events file");
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            errorFound = true;
+         }
+
+         // check loaded random events
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         if (randomEvents == null) {
+            TEST_OUTPUT.println("   random events should have loaded, but randomEvents is null");
+            errorFound = true;
+         } else if (randomEvents.length != 3) {
+            TEST_OUTPUT.println("   random events loaded: " + randomEvents.length + ", should be 3");
+            errorFound = true;
+         }
+
+         // set up test environment
+         // grab the RandomEvent constructor
+         randomEventClass = RandomEvents.class.getDeclaredClasses()[0];
+         constructor = randomEventClass.getDeclaredConstructors()[0];
+         constructor.setAccessible(true);
+
+         // initialize events
+         testEvent1 = constructor.newInstance(randomEventsHandler);
+         testEvent2 = constructor.newInstance(randomEventsHandler);
+         testEvent3 = constructor.newInstance(randomEventsHandler);
+
+         // access event properties
+         fDescription       = randomEventClass.getDeclaredField("description");
+         fChangedWaresIDs   = randomEventClass.getDeclaredField("changedWaresIDs");
+         fChangedMagnitudes = randomEventClass.getDeclaredField("changeMagnitudes");
+         fDescription.setAccessible(true);
+         fChangedWaresIDs.setAccessible(true);
+         fChangedMagnitudes.setAccessible(true);
+
+         // set event properties
+         fDescription.set(testEvent1, "This is the first test event description.");
+         fDescription.set(testEvent2, "This is the second test event description.");
+         fDescription.set(testEvent3, "This is the third test event description.");
+         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
+         fChangedWaresIDs.set(testEvent2, new String[]{"test:crafted1"});
+         fChangedWaresIDs.set(testEvent3, new String[]{"test:processed2"});
+         fChangedMagnitudes.set(testEvent1, MAGNITUDES_1);
+         fChangedMagnitudes.set(testEvent2, MAGNITUDES_2);
+         fChangedMagnitudes.set(testEvent3, MAGNITUDES_3);
+
+         // grab the random event loader/validator
+         randomEventsLoadWares = RandomEvents.class.getDeclaredMethod("loadWaresPrivate");
+         randomEventsLoadWares.setAccessible(true);
+
+         // add test events to random events array
+         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 3));
+         randomEvents    = (Object[]) fRandomEvents.get(null);
+         randomEvents[0] = testEvent1;
+         randomEvents[1] = testEvent2;
+         randomEvents[2] = testEvent3;
+
+         // finish setting up events
+         randomEventsLoadWares.invoke(NULL_OBJECT, NULL_OBJECTS);
+
+         // grab the RandomEvent event firer
+         randomEventFire = randomEventClass.getDeclaredMethod("fire");
+         randomEventFire.setAccessible(true);
+
+
+         TEST_OUTPUT.println("random events - printing scenarios only");
+         Config.randomEventsPrintChanges = false;
+         descriptionScenario1 = "This is the first test event description." + System.lineSeparator();
+         descriptionScenario2 = "This is the second test event description." + System.lineSeparator();
+         descriptionScenario3 = "This is the third test event description." + System.lineSeparator();
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1)) {
+            TEST_OUTPUT.println("    unexpected scenario for test event 1: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2)) {
+            TEST_OUTPUT.println("    unexpected scenario for test event 2: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3)) {
+            TEST_OUTPUT.println("    unexpected scenario for test event 3: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - printing scenarios and ware changes");
+         Config.randomEventsPrintChanges = true; // enable printing ware changes
+
+         // grab events from thread
+         randomEvents = (Object[]) fRandomEvents.get(null);
+         testEvent1 = randomEvents[0];
+         testEvent2 = randomEvents[1];
+         testEvent3 = randomEvents[2];
+
+         // set event properties
+         fDescription.set(testEvent1, "This is the first test event description.");
+         fDescription.set(testEvent2, "This is the second test event description.");
+         fDescription.set(testEvent3, "This is the third test event description.");
+         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
+         fChangedWaresIDs.set(testEvent2, new String[]{"test:crafted1", "test:material3"});
+         fChangedWaresIDs.set(testEvent3, new String[]{"test:processed2", "minecraft:material4"});
+         fChangedMagnitudes.set(testEvent1, MAGNITUDES_4);
+         fChangedMagnitudes.set(testEvent2, MAGNITUDES_5);
+         fChangedMagnitudes.set(testEvent3, MAGNITUDES_6);
+
+         // generate messages for ware changes
+         RandomEvents.loadWares();
+         RandomEvents.generateWareChangeDescriptions();
+         randomEventsHandler.run();
+
+         //   +++ --> \u001b[1m\u001b[32m
+         //    ++ --> \u001b[32m
+         //     + --> \u001b[32;1m
+         //     - --> \u001b[31;1m
+         //    -- --> \u001b[31m
+         //   --- --> \u001b[1m\u001b[31m
+         // reset --> \u001b[0m\n
+
+         descriptionWareChanges1 = "\u001b[1m\u001b[32m+++test:material1\u001b[0m\n\u001b[32m++test:material2\u001b[0m\n" + System.lineSeparator();
+         descriptionWareChanges2 = "\u001b[31;1m-craft1, mat3\u001b[0m\n" + System.lineSeparator();
+         descriptionWareChanges3 = "\u001b[32;1m+test:processed2, material4\u001b[0m\n" + System.lineSeparator();
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1 + descriptionWareChanges1)) {
+            TEST_OUTPUT.println("    unexpected descriptions for test event 1: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2 + descriptionWareChanges2)) {
+            TEST_OUTPUT.println("    unexpected descriptions for test event 2: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3 + descriptionWareChanges3)) {
+            TEST_OUTPUT.println("    unexpected descriptions for test event 3: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - toggling printing scenarios only by reloading configuration");
+         // turn printing changes off
+         Config.randomEventsPrintChanges = true;
+
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEventsPrintChanges = false\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 99999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+
+         // grab the new timertask since frequency was changed
+         randomEventsHandler = (RandomEvents) fTimerTask.get(null);
+
+         // test printing after disabling printing changes
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1)) {
+            TEST_OUTPUT.println("    unexpected scenario for test event 1: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2)) {
+            TEST_OUTPUT.println("    unexpected scenario for test event 2: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3)) {
+            TEST_OUTPUT.println("    unexpected scenario for test event 3: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         // turn printing changes on
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEventsPrintChanges = true\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 99999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+
+         // test printing after enabling printing changes
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario1 + descriptionWareChanges1)) {
+            TEST_OUTPUT.println("    unexpected descriptions for test event 1: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario2 + descriptionWareChanges2)) {
+            TEST_OUTPUT.println("    unexpected descriptions for test event 2: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         baosOut.reset(); // clear buffer holding console output
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         if (!baosOut.toString().equals(StringTable.MSG_RANDOM_EVENT_OCCURRED + descriptionScenario3 + descriptionWareChanges3)) {
+            TEST_OUTPUT.println("    unexpected descriptions for test event 3: " + baosOut.toString());
+            errorFound = true;
+         }
+
+         // set events to known values
+         testEvent1 = constructor.newInstance(randomEventsHandler);
+         testEvent2 = constructor.newInstance(randomEventsHandler);
+         testEvent3 = constructor.newInstance(randomEventsHandler);
+
+         // set event properties
+         fDescription.set(testEvent1, "This is the first test event description.");
+         fDescription.set(testEvent2, "This is the second test event description.");
+         fDescription.set(testEvent3, "This is the third test event description.");
+         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
+         fChangedWaresIDs.set(testEvent2, new String[]{"test:crafted1"});
+         fChangedWaresIDs.set(testEvent3, new String[]{"test:processed2"});
+         fChangedMagnitudes.set(testEvent1, MAGNITUDES_1);
+         fChangedMagnitudes.set(testEvent2, MAGNITUDES_2);
+         fChangedMagnitudes.set(testEvent3, MAGNITUDES_3);
+
+         // add test events to random events array
+         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 3));
+         randomEvents    = (Object[]) fRandomEvents.get(null);
+         randomEvents[0] = testEvent1;
+         randomEvents[1] = testEvent2;
+         randomEvents[2] = testEvent3;
+
+         // finish setting up events
+         randomEventsLoadWares.invoke(NULL_OBJECT, NULL_OBJECTS);
+
+
+         TEST_OUTPUT.println("random events - positive flat rate for ware changes");
+         // set up ware changes
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEventsAreChangesPercents = false\n" +
+            "randomEventsLargeChange = 15\n" +
+            "randomEventsMediumChange = 10\n" +
+            "randomEventsSmallChange = 5\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 99999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         fRandomEvents.set(NULL_OBJECT, null); // prevent firing an event immediately, then hanging while waiting for randomEventsFrequency minutes to pass
+         randomEventsHandler.run();
+
+         // set up expected results
+         quantityWare1 = testWare1.getQuantity() + (int) (5.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare1.getLevel()]);
+         quantityWare2 = testWare2.getQuantity() + (int) (10.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare2.getLevel()]);
+         quantityWare3 = testWareC1.getQuantity() - (int) (5.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareC1.getLevel()]);
+         quantityWare4 = testWareP2.getQuantity() + (int) (15.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareP2.getLevel()]);
+
+         // fire events
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         // test quantities
+         if (testWare1.getQuantity() != quantityWare1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityWare2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+            errorFound = true;
+         }
+         if (testWareP2.getQuantity() != quantityWare4) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - negative flat rate for ware changes");
+         // set up ware changes
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEventsAreChangesPercents = false\n" +
+            "randomEventsLargeChange = -4\n" +
+            "randomEventsMediumChange = -8\n" +
+            "randomEventsSmallChange = -16\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 99999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         randomEventsHandler.run();
+
+         // set up expected results
+         quantityWare1 = testWare1.getQuantity() - (int) (16.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare1.getLevel()]);
+         quantityWare2 = testWare2.getQuantity() - (int) (8.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWare2.getLevel()]);
+         quantityWare3 = testWareC1.getQuantity() + (int) (16.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareC1.getLevel()]);
+         quantityWare4 = testWareP2.getQuantity() - (int) (4.0f / Config.quanEquilibrium[2] * Config.quanEquilibrium[testWareP2.getLevel()]);
+
+         // fire events
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         // test quantities
+         if (testWare1.getQuantity() != quantityWare1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityWare2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+            errorFound = true;
+         }
+         if (testWareP2.getQuantity() != quantityWare4) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - positive percentage rate for ware changes");
+         // set up ware changes
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEventsAreChangesPercents = true\n" +
+            "randomEventsLargeChange = 0.30\n" +
+            "randomEventsMediumChange = 0.20\n" +
+            "randomEventsSmallChange = 0.10\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 99999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         randomEventsHandler.run();
+
+         // set up expected results
+         quantityWare1 = testWare1.getQuantity() + (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.10f);
+         quantityWare2 = testWare2.getQuantity() + (int) (Config.quanEquilibrium[testWare2.getLevel()] * 0.20f);
+         quantityWare3 = testWareC1.getQuantity() - (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.10f);
+         quantityWare4 = testWareP2.getQuantity() + (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.30f);
+
+         // fire events
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         // test quantities
+         if (testWare1.getQuantity() != quantityWare1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityWare2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+            errorFound = true;
+         }
+         if (testWareP2.getQuantity() != quantityWare4) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - negative percentage rate for ware changes");
+         // set up ware changes
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEventsAreChangesPercents = true\n" +
+            "randomEventsLargeChange = -0.08\n" +
+            "randomEventsMediumChange = -0.16\n" +
+            "randomEventsSmallChange = -0.32\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 99999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         randomEventsHandler.run();
+
+         // set up expected results
+         quantityWare1 = testWare1.getQuantity()  - (int) (Config.quanEquilibrium[testWare1.getLevel()]  * 0.32f);
+         quantityWare2 = testWare2.getQuantity()  - (int) (Config.quanEquilibrium[testWare2.getLevel()]  * 0.16f);
+         quantityWare3 = testWareC1.getQuantity() + (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.32);
+         quantityWare4 = testWareP2.getQuantity() - (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.08f);
+
+         // fire events
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         // test quantities
+         if (testWare1.getQuantity() != quantityWare1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityWare2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+            errorFound = true;
+         }
+         if (testWareP2.getQuantity() != quantityWare4) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - reloading wares");
+         // set test wares to equilibrium
+         testWare1.setQuantity(Config.quanEquilibrium[testWare1.getLevel()]);
+         testWare2.setQuantity(Config.quanEquilibrium[testWare2.getLevel()]);
+         testWareC1.setQuantity(Config.quanEquilibrium[testWareC1.getLevel()]);
+         testWareP2.setQuantity(Config.quanEquilibrium[testWareP2.getLevel()]);
+
+         // save wares to write current state to file
+         Config.filenameWaresSave = "config" + File.separator + "CommandEconomy" + File.separator + "testWaresSaved.txt"; // don't overwrite user saves
+         Marketplace.saveWares();
+
+         // set up expected end results
+         quantityWare1 = testWare1.getQuantity()  - (int) (Config.quanEquilibrium[testWare1.getLevel()]  * 0.32f);
+         quantityWare2 = testWare2.getQuantity()  - (int) (Config.quanEquilibrium[testWare2.getLevel()]  * 0.16f);
+         quantityWare3 = testWareC1.getQuantity() + (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.32);
+         quantityWare4 = testWareP2.getQuantity() - (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.08f);
+
+         // add test events to random events array
+         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 3));
+         randomEvents    = (Object[]) fRandomEvents.get(null);
+         randomEvents[0] = testEvent1;
+         randomEvents[1] = testEvent2;
+         randomEvents[2] = testEvent3;
+
+         // trigger events twice to greatly change current state
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         // ensure ware quantities have changed
+         if (testWare1.getQuantity() >= quantityWare1) {
+            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be less than " + quantityWare1);
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() >= quantityWare2) {
+            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be less than " + quantityWare2);
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() <= quantityWare3) {
+            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be greater than " + quantityWare3);
+            errorFound = true;
+         }
+         if (testWareP2.getQuantity() >= quantityWare4) {
+            TEST_OUTPUT.println("   (before reload) unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be less than " + quantityWare4);
+            errorFound = true;
+         }
+
+         // prevent any randomly selected random events from messing up data
+         fChangedMagnitudes.set(testEvent1, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NONE, RandomEvents.QuantityForSaleChangeMagnitudes.NONE});
+         fChangedMagnitudes.set(testEvent2, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NONE});
+         fChangedMagnitudes.set(testEvent3, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.NONE});
+
+         // reload wares to reset to equilibrium
+         Marketplace.loadWares();
+         Config.randomEventsFrequency = 1; // prevent hanging
+         randomEventsHandler.run();
+         Config.randomEventsFrequency = 99999; // prevent thread from interfering
+
+         // restore event magnitudes
+         fChangeMagnitudesCurrent = randomEventClass.getDeclaredField("changeMagnitudesCurrent");
+         fChangeMagnitudesCurrent.set(testEvent1, MAGNITUDES_1);
+         fChangeMagnitudesCurrent.set(testEvent2, MAGNITUDES_2);
+         fChangeMagnitudesCurrent.set(testEvent3, MAGNITUDES_3);
+
+         // trigger events once to test relinking
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         // relink wares
+         testWare1  = wares.get("test:material1");
+         testWare2  = wares.get("test:material2");
+         testWareC1 = wares.get("test:crafted1");
+         testWareP2 = wares.get("test:processed2");
+
+         // check ware quantities
+         if (testWare1.getQuantity() != quantityWare1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityWare2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+            errorFound = true;
+         }
+         if (testWareP2.getQuantity() != quantityWare4) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - reloading with changed marketplace settings");
+         // set up ware changes
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "quanEquilibrium = 192, 96, 48, 24,12, 6\n" +
+            "randomEventsAreChangesPercents = true\n" +
+            "randomEventsLargeChange = 0.30\n" +
+            "randomEventsMediumChange = 0.20\n" +
+            "randomEventsSmallChange = 0.10\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 99999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+         Config.randomEventsFrequency = 1; // prevent hanging
+         randomEventsHandler.run();
+         Config.randomEventsFrequency = 99999; // prevent thread from interfering
+
+         // paranoidly check changing equilibrium quantity
+         if (Config.quanEquilibrium[0] != 192 || Config.quanEquilibrium[1] != 96 || Config.quanEquilibrium[2] != 48 ||
+            Config.quanEquilibrium[3] != 24 || Config.quanEquilibrium[4] != 12 || Config.quanEquilibrium[5] != 6) {
+            TEST_OUTPUT.println("   failed to change configuration settings!");
+            errorFound = true;
+         }
+
+         // set up expected results
+         quantityWare1 = testWare1.getQuantity() + (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.10f);
+         quantityWare2 = testWare2.getQuantity() + (int) (Config.quanEquilibrium[testWare2.getLevel()] * 0.20f);
+         quantityWare3 = testWareC1.getQuantity() - (int) (Config.quanEquilibrium[testWareC1.getLevel()] * 0.10f);
+         quantityWare4 = testWareP2.getQuantity() + (int) (Config.quanEquilibrium[testWareP2.getLevel()] * 0.30f);
+
+         // fire events
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent2, NULL_OBJECTS);
+         randomEventFire.invoke(testEvent3, NULL_OBJECTS);
+
+         // test quantities
+         if (testWare1.getQuantity() != quantityWare1) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare1: " + testWare1.getQuantity() + ", should be " + quantityWare1);
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityWare2) {
+            TEST_OUTPUT.println("   unexpected quantity for testWare2: " + testWare2.getQuantity() + ", should be " + quantityWare2);
+            errorFound = true;
+         }
+         if (testWareC1.getQuantity() != quantityWare3) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareC1: " + testWareC1.getQuantity() + ", should be " + quantityWare3);
+            errorFound = true;
+         }
+         if (testWareP2.getQuantity() != quantityWare4) {
+            TEST_OUTPUT.println("   unexpected quantity for testWareP2: " + testWareP2.getQuantity() + ", should be " + quantityWare4);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("random events - toggling feature by reloading configuration");
+         fTimer = RandomEvents.class.getDeclaredField("taskRandomEvents");
+         fTimer.setAccessible(true);
+         taskRandomEvents = (MarketScheduler.Task) fTimer.get(null);
+
+         // write to config file to turn off feature
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEvents = false\n" +
+            "randomEventsFrequency = 9999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+
+         // attempt to turn off the feature by reloading config
+         UserInterfaceTerminal.serviceRequest("/reload config");
+
+         // check whether the feature is disabled
+         taskRandomEvents = (MarketScheduler.Task) fTimer.get(null);
+         if (taskRandomEvents != null) {
+            TEST_OUTPUT.println("   feature did not turn off when it should have");
+            errorFound = true;
+         }
+
+         // write to config file to turn on feature
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEvents = true\n" +
+            "randomEventsFrequency = 9999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+
+         // attempt to turn on the feature by reloading config
+         UserInterfaceTerminal.serviceRequest("/reload config");
+
+         // check whether the feature is enabled
+         taskRandomEvents = (MarketScheduler.Task) fTimer.get(null);
+         if (taskRandomEvents == null) {
+            TEST_OUTPUT.println("   feature did not turn on when it should have");
+            errorFound = true;
+         }
+
+         // turn off feature before exiting
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "randomEvents = false\n" +
+            "randomEventsFrequency = 9999\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
+         UserInterfaceTerminal.serviceRequest("/reload config");
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("random events - fatal error: " + e);
+         baosErr.reset();
+         e.printStackTrace();
+         TEST_OUTPUT.println(baosErr.toString());
+         return false;
+      }
+
+      return !errorFound;
+   }
+
+   /**
+    * Tests specific cross-interactions between features.
+    *
+    * @return whether cross-interactions passed all test cases
+    */
+   private static boolean testUnitCrossInteractions() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+
+      // prepare to grab private methods
+      Method randomEventsLoadWares;
+      Method randomEventFire;
+
+      // prepare to grab internal variables
+      Field fRandomEvents;
+      Field fQuanChangeMedium;
+      Field fQuanChangeSmall;
+
+      // track changes to variables
+      Object[] randomEvents;
+
+      // set up testing variables
+      Account  feeCollectionAccount;
+
+      AI       ai;
+      String[] tradeablesIDs; // IDS for wares an AI may buy or sell
+      HashMap<Ware, Integer> tradesPending = new HashMap<Ware, Integer>(); // contains AI trade decisions before finalization
+
+      int[]    quanChangeMedium;
+      int[]    quanChangeSmall;
+
+      Ware     ware1;
+      Ware     ware2;
+      int      quantityToTrade;
+      int      quantityToOffer;
+      int      quantityWare1;
+      int      quantityWare2;
+      float    price1;
+      float    price2;
+      float    money;
+      byte     level;
+
+      try {
+         // enable transaction fees and set to known values
+         Config.chargeTransactionFees       = true;
+         Config.transactionFeeBuying        = 0.10f;
+         Config.transactionFeeSelling       = 0.50f;
+         Config.transactionFeeBuyingIsMult  = true;
+         Config.transactionFeeSellingIsMult = true;
+
+         // grab the fee collection account
+         feeCollectionAccount = Account.getAccount(Config.transactionFeesAccount);
+         if (feeCollectionAccount == null)
+            feeCollectionAccount = Account.makeAccount(Config.transactionFeesAccount, null);
+
+         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: AI, positive fees");
+         // set up test variables
+         ware1 = testWare1;
+         Config.aiTradeQuantityPercent = 0.10f;
+         AI.calcTradeQuantities();
+
+         // enable AI and set to known values
+         tradeablesIDs = new String[]{ware1.getWareID()};
+         ai = new AI("testAI", tradeablesIDs, null, null);
+         quantityToTrade = (int) (Config.aiTradeQuantityPercent * Config.quanEquilibrium[ware1.getLevel()]);
+
+         // set up test conditions
+         feeCollectionAccount.setMoney(0.0f);
+         ware1.setQuantity(Config.quanEquilibrium[ware1.getLevel()]);
+
+         // set up test oracles
+         Config.chargeTransactionFees = false;
+         price1 = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY) * Config.transactionFeeBuying;
+         Config.chargeTransactionFees = true;
+
+         // perform action
+         ai.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
+
+         // check fees
+         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
+
+         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: AI, negative fees");
+         // set up test conditions
+         Config.transactionFeeBuying = -0.10f;
+         feeCollectionAccount.setMoney(10000.0f);
+         ware1.setQuantity(Config.quanEquilibrium[ware1.getLevel()]);
+
+         // set up test oracles
+         Config.chargeTransactionFees = false;
+         price1 = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY) * Config.transactionFeeBuying;
+         Config.chargeTransactionFees = true;
+
+         // perform action
+         ai.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
+
+         // check fees
+         errorFound |= testPrice(feeCollectionAccount.getMoney() - 10000.0f, price1, "fee");
+
+         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Manufacturing Contracts, positive fees");
+         Config.transactionFeeBuying = 0.10f;
+         // enable manufacturing contracts and set to known values
+         Config.buyingOutOfStockWaresAllowed   = true;
+         Config.buyingOutOfStockWaresPriceMult = 1.10f;
+
+         // set up test conditions
+         quantityToTrade = 10;
+         ware1           = testWareP1;
+         ware2           = testWare1;
+         quantityWare1   = 0;
+         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
+         ware1.setQuantity(quantityWare1);
+         ware2.setQuantity(quantityWare2);
+         feeCollectionAccount.setMoney(0.0f);
+         playerAccount.setMoney(10000.0f);
+
+         // set up test oracles
+         Config.chargeTransactionFees = false;
+         price1 = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY)
+                  * Config.transactionFeeBuying;
+         Config.chargeTransactionFees = true;
+
+         // perform action
+         Marketplace.buy(PLAYER_ID, null, null, ware1.getWareID(), quantityToTrade, Float.NaN, 1.0f);
+
+         // check fee
+         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
+
+         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Manufacturing Contracts, negative fees");
+         Config.transactionFeeBuying = -0.10f;
+
+         // set up test conditions
+         quantityToTrade = 10;
+         ware1           = testWareP1;
+         ware2           = testWare1;
+         quantityWare1   = 0;
+         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
+         ware1.setQuantity(quantityWare1);
+         ware2.setQuantity(quantityWare2);
+         feeCollectionAccount.setMoney(10000.0f);
+         playerAccount.setMoney(10000.0f);
+
+         // set up test oracles
+         Config.chargeTransactionFees = false;
+         price1 = feeCollectionAccount.getMoney() + // plus since fee multiplier is negative, so fee collection account should pay out money
+                  (Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY)
+                   * Config.transactionFeeBuying);
+         Config.chargeTransactionFees = true;
+
+         // perform action
+         Marketplace.buy(PLAYER_ID, null, null, ware1.getWareID(), quantityToTrade, Float.NaN, 1.0f);
+
+         // check fee
+         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
+
+         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Research, positive fees");
+         Config.transactionFeeBuying      = 0.10f;
+         Config.transactionFeeResearching = 0.10f;
+
+         // enable industrial research and set to known values
+         Config.researchCostPerHierarchyLevel = 1000.0f;
+         Config.researchCostIsAMultOfAvgPrice = false;
+
+         // set up test conditions
+         ware1         = testWare2;
+         quantityWare1 = Config.quanEquilibrium[ware1.getLevel()];
+         ware1.setQuantity(quantityWare1);
+         feeCollectionAccount.setMoney(0.0f);
+         playerAccount.setMoney(100000.0f);
+
+         // set up test oracles
+         price1 = Marketplace.getPrice(PLAYER_ID, ware1, 1, Marketplace.PriceType.CURRENT_SELL)
+                  * ware1.getLevel()
+                  * Config.researchCostPerHierarchyLevel
+                  * Config.transactionFeeResearching;
+
+         // perform action
+         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
+         UserInterfaceTerminal.serviceRequest("/research yes");
+
+         // check fee
+         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
+
+         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Research, negative fees");
+         Config.transactionFeeResearching = -0.10f;
+
+         // set up test conditions
+         ware1         = testWare2;
+         quantityWare1 = Config.quanEquilibrium[ware1.getLevel()];
+         ware1.setQuantity(quantityWare1);
+         feeCollectionAccount.setMoney(0.0f);
+         playerAccount.setMoney(10000.0f);
+
+         // set up test oracles
+         price1 = Marketplace.getPrice(PLAYER_ID, ware1, 1, Marketplace.PriceType.CURRENT_SELL)
+                  * ware1.getLevel()
+                  * Config.researchCostPerHierarchyLevel
+                  * Config.transactionFeeResearching;
+
+         // perform action
+         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
+         UserInterfaceTerminal.serviceRequest("/research yes");
+
+         // check fee
+         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
+
+         // disable transaction fees to avoid possible interference
+         Config.chargeTransactionFees = false;
+
+         // enable linked prices and set to known values
+         Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
+         Config.linkedPricesPercent   = 0.50f;
+
+         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Research, surplus");
+         // enable industrial research and set to known values
+         Config.researchCostPerHierarchyLevel = 1000.0f;
+         Config.researchCostIsAMultOfAvgPrice = false;
+
+         // set up test conditions for equilibrium
+         quantityToTrade = 10;
+         ware1           = testWareP1;
+         ware2           = testWare1;
+         quantityWare1   = 0;
+         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
+
+         money           = 100000.0f;
+         level           = ware1.getLevel(); // for resetting the ware's level later on
+         ware1.setQuantity(quantityWare1);
+         ware2.setQuantity(quantityWare2);
+         playerAccount.setMoney(money);
+
+         // perform action
+         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
+         UserInterfaceTerminal.serviceRequest("/research yes");
+
+         // get the price when component is at equilibrium
+         price1 = money - playerAccount.getMoney();
+
+         // set up test conditions for surplus
+         quantityWare2 = Config.quanExcessive[ware2.getLevel()];
+         ware1.setLevel(level);
+         ware1.setQuantity(quantityWare1);
+         ware2.setQuantity(quantityWare2);
+         playerAccount.setMoney(money);
+
+         // perform action
+         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
+         UserInterfaceTerminal.serviceRequest("/research yes");
+
+         // get the price when component is in surplus
+         price2 = money - playerAccount.getMoney();
+
+         // compare prices
+         if (price1 <= price2) {
+            TEST_OUTPUT.println("   unexpected price comparison: price during surplus should be lower than price during equilibrium" +
+                               "\n      surplus:     " + price2 +
+                               "\n      equilibrium: " + price1 +
+                               "\n      diff:        " + (price2 - price1));
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Research, scarcity");
+         // set up test conditions for scarcity
+         quantityWare2 = Config.quanDeficient[ware2.getLevel()];
+         ware1.setLevel(level);
+         ware1.setQuantity(quantityWare1);
+         ware2.setQuantity(quantityWare2);
+         playerAccount.setMoney(money);
+
+         // perform action
+         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
+         UserInterfaceTerminal.serviceRequest("/research yes");
+
+         // get the price when component has scarcity
+         price2 = money - playerAccount.getMoney();
+
+         // compare prices
+         if (price1 >= price2) {
+            TEST_OUTPUT.println("   unexpected price comparison: price during scarcity should be higher than price during equilibrium" +
+                               "\n      scarcity:    " + price2 +
+                               "\n      equilibrium: " + price1 +
+                               "\n      diff:        " + (price2 - price1));
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Planned Economy, surplus");
+         Config.pricesIgnoreSupplyAndDemand = true; // enable planned economy
+
+         // testWareP1 is made from testWare1
+         // set both wares to surplus, then store their price
+         testWareP1.setQuantity(Config.quanExcessive[testWareP1.getLevel()] / 2);
+         testWare1.setQuantity(Config.quanExcessive[testWare1.getLevel()]);
+         price1 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+
+         // test selling some testWareP1 and checking its price
+         errorFound |= testPETrade(testWareP1, Config.quanExcessive[testWareP1.getLevel()] / 2, 10,
+                                   1.0f, 1.0f, 0, false, true);
+
+         // grab testWareP1's price after selling some
+         price2 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+
+         // the prices before the quantity changes should be equal to the prices after
+         if (price1 != price2) {
+            TEST_OUTPUT.println("   unexpected price after quantity changes: " + price2 + ", should be " + price1);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Planned Economy, scarcity");
+
+         // testWareP1 is made from testWare1
+         // set both wares to surplus, then store their price
+         testWareP1.setQuantity(Config.quanDeficient[testWareP1.getLevel()]);
+         testWare1.setQuantity(Config.quanDeficient[testWare1.getLevel()]);
+         price1 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+
+         // test selling some testWareP1 and checking its price
+         errorFound |= testPETrade(testWareP1, Config.quanDeficient[testWareP1.getLevel()], 8,
+                                   1.0f, 1.0f, 0, false, true);
+
+         // grab testWareP1's price after selling some
+         price2 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+
+         // the prices before the quantity changes should be equal to the prices after
+         if (price1 != price2) {
+            TEST_OUTPUT.println("   unexpected price after quantity changes: " + price2 + ", should be " + price1);
+            errorFound = true;
+         }
+
+         // disable features to avoid possible interference
+         Config.shouldComponentsCurrentPricesAffectWholesPrice = false;
+         Config.pricesIgnoreSupplyAndDemand = false;
+
+         // enable no garbage disposing for testing
+         Config.noGarbageDisposing = true;
+
+         // set up AI for testing
+         tradeablesIDs = new String[]{testWare1.getWareID()};
+         ai = new AI("testAI", null, tradeablesIDs, null);
+
+         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: AI, selling past price floor");
+         // set up test conditions
+         ware1           = testWare1;
+         quantityToOffer = (int) (Config.aiTradeQuantityPercent * Config.quanEquilibrium[ware1.getLevel()]);
+         quantityToTrade = quantityToOffer / 2;
+         quantityWare1   = Config.quanExcessive[ware1.getLevel()] - quantityToTrade - 1;
+         ware1.setQuantity(quantityWare1);
+
+         // perform action
+         ai.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
+
+         // check ware properties
+         if (ware1.getQuantity() != quantityWare1 + quantityToTrade) {
+            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
+                                ", should be " + (quantityWare1 + quantityToTrade) +
+                                "\n   quantity traded:  " + (ware1.getQuantity() - quantityWare1) +
+                                "\n   trade expected:   " + quantityToTrade +
+                                "\n   quantity before trade: " + quantityWare1);
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: AI, selling at price floor");
+         // set up test conditions
+         quantityToTrade =  0;
+         quantityToOffer = 20;
+         quantityWare1   = Config.quanExcessive[ware1.getLevel()] - 1;
+         ware1.setQuantity(quantityWare1);
+
+         // perform action
+         ai.trade(tradesPending);
+         AI.finalizeTrades(tradesPending);
+
+         // check ware properties
+         if (ware1.getQuantity() != quantityWare1 + quantityToTrade) {
+            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
+                                ", should be " + (quantityWare1 + quantityToTrade) +
+                                "\n   quantity traded:  " + (ware1.getQuantity() - quantityWare1) +
+                                "\n   trade expected:   " + quantityToTrade +
+                                "\n   quantity before trade: " + quantityWare1);
+            errorFound = true;
+         }
+
+         // set up random events for testing
+         // grab the RandomEvent constructor
+         Class<?> randomEventClass = RandomEvents.class.getDeclaredClasses()[0];
+         Constructor<?> randomEvent = randomEventClass.getDeclaredConstructors()[0];
+         randomEvent.setAccessible(true);
+
+         // initialize event
+         Object testEvent1 = randomEvent.newInstance(NULL_OBJECT);
+
+         // make event properties accessible
+         Field fDescription       = randomEventClass.getDeclaredField("description"); // description is needed to appease event loader/validator
+         Field fChangedWaresIDs   = randomEventClass.getDeclaredField("changedWaresIDs");
+         Field fChangedMagnitudes = randomEventClass.getDeclaredField("changeMagnitudes");
+         fDescription.setAccessible(true);
+         fChangedWaresIDs.setAccessible(true);
+         fChangedMagnitudes.setAccessible(true);
+
+         // set event properties
+         fDescription.set(testEvent1, "This is the first test event description.");
+         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
+         fChangedMagnitudes.set(testEvent1, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_MEDIUM});
+
+         // grab the random event loader/validator
+         randomEventsLoadWares = RandomEvents.class.getDeclaredMethod("loadWaresPrivate");
+         randomEventsLoadWares.setAccessible(true);
+
+         // add test events to random events array
+         fRandomEvents = RandomEvents.class.getDeclaredField("randomEvents");
+         fRandomEvents.setAccessible(true);
+         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 1));
+         randomEvents    = (Object[]) fRandomEvents.get(null);
+         randomEvents[0] = testEvent1;
+
+         // finish setting up event
+         randomEventsLoadWares.invoke(NULL_OBJECT, NULL_OBJECTS);
+
+         // grab the RandomEvent event firer
+         randomEventFire = randomEventClass.getDeclaredMethod("fire");
+         randomEventFire.setAccessible(true);
+
+         // grab references to RandomEvent variables
+         fQuanChangeMedium = RandomEvents.class.getDeclaredField("quanChangeMedium");
+         fQuanChangeSmall  = RandomEvents.class.getDeclaredField("quanChangeSmall");
+         fQuanChangeMedium.setAccessible(true);
+         fQuanChangeSmall.setAccessible(true);
+
+         // set up RandomEvent variables
+         quanChangeMedium = new int[]{100, 200, 300, 400, 500, 600};
+         quanChangeSmall  = new int[]{10, 20, 30, 40, 50, 60};
+         fQuanChangeMedium.set(null, quanChangeMedium);
+         fQuanChangeSmall.set(null, quanChangeSmall);
+
+         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: Random Events, selling past price floor");
+         // set up test conditions
+         quantityToTrade = 5;
+         ware1           = testWare1;
+         ware2           = testWare2;
+         quantityWare1   = Config.quanExcessive[ware1.getLevel()] - quantityToTrade - 1;
+         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
+         ware1.setQuantity(quantityWare1);
+         ware2.setQuantity(quantityWare2);
+
+         // perform action
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+
+         // check ware properties
+         if (ware1.getQuantity() != quantityWare1 + quantityToTrade) { // limited to price floor
+            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
+                               ", should be " + (quantityWare1 + quantityToTrade));
+            errorFound = true;
+         }
+         if (ware2.getQuantity() != quantityWare2 + quanChangeMedium[ware2.getLevel()]) { // not limited at all
+            TEST_OUTPUT.println("   unexpected quantity: " + ware2.getQuantity() +
+                               ", should be " + (quantityWare2 + quanChangeMedium[ware2.getLevel()]));
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: Random Events, selling at price floor");
+         // set up test conditions
+         ware1           = testWare1;
+         ware2           = testWare2;
+         quantityWare1   = Config.quanEquilibrium[ware1.getLevel()];
+         quantityWare2   = Config.quanExcessive[ware2.getLevel()] - 1;
+         ware1.setQuantity(quantityWare1);
+         ware2.setQuantity(quantityWare2);
+
+         // perform action
+         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+
+         // check ware properties
+         if (ware1.getQuantity() != quantityWare1 + quanChangeSmall[ware1.getLevel()]) { // not limited at all
+            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
+                               ", should be " + (quantityWare1 + quanChangeSmall[ware1.getLevel()]));
+            errorFound = true;
+         }
+         if (ware2.getQuantity() != quantityWare2) { // prevented from selling anything
+            TEST_OUTPUT.println("   unexpected quantity: " + ware2.getQuantity() +
+                               ", should be " + quantityWare2);
+            errorFound = true;
+         }
+      }
+      catch (Exception e) {
+         Config.chargeTransactionFees           = false;
+         Config.buyingOutOfStockWaresAllowed    = false;
+         Config.researchCostPerHierarchyLevel = 0.0f;
+         Config.pricesIgnoreSupplyAndDemand     = false;
+         Config.noGarbageDisposing              = false;
+
+         TEST_OUTPUT.println("Cross Interactions - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+      Config.chargeTransactionFees           = false;
+      Config.buyingOutOfStockWaresAllowed    = false;
+      Config.researchCostPerHierarchyLevel = 0.0f;
+      Config.pricesIgnoreSupplyAndDemand     = false;
+      Config.noGarbageDisposing              = false;
+
+      return !errorFound;
+   }
+
+   /**
+    * Predicts how much a ware's quantity available for sale should change if its rebalanced correctly
+    * for a typical case when rebalancing the marketplace.
+    * Prints errors, if found.
+    * <p>
+    * Complexity: O(1)
+    * @param ware the ware to be adjusted
+    * @return true if an error was discovered
+    */
+   private static int predictRebalancingWareAdjustment(Ware ware) {
+      if (ware == null ||                                        // ware doesn't exist
+          ware instanceof WareUntradeable ||                     // ware cannot be traded
+          ware.getQuantity() == Config.quanEquilibrium[ware.getLevel()]) // ware is at equilibrium
+         return 0;
+
+      // find the maximum amount that quantity may move
+      int adjustment = (int) (Config.automaticStockRebalancingPercent * Config.quanEquilibrium[ware.getLevel()]);
+
+      // predict how much quantity should be changed
+      // too much quantity
+      if (ware.getQuantity() > Config.quanEquilibrium[ware.getLevel()]) {
+         // above maximum adjustment
+         if (ware.getQuantity() - adjustment >= Config.quanEquilibrium[ware.getLevel()])
+            return -adjustment;
+
+         // within range of adjustment
+         else
+            return Config.quanEquilibrium[ware.getLevel()] - ware.getQuantity();
+      }
+
+      // too little quantity
+      else {
+         // above maximum adjustment
+         if (ware.getQuantity() + adjustment <= Config.quanEquilibrium[ware.getLevel()])
+            return adjustment;
+
+         // within range of adjustment
+         else
+            return Config.quanEquilibrium[ware.getLevel()] - ware.getQuantity();
+      }
+   }
+
+   /**
+    * Evaluates whether several wares' quantities available for sale were rebalanced correctly
+    * for a typical case when rebalancing the marketplace.
+    * Prints errors, if found.
+    * <p>
+    * Complexity: O(1)
+    * @param ware1                 the first ware to be adjusted
+    * @param ware2                 the second ware to be adjusted
+    * @param ware3                 the third ware to be adjusted
+    * @param ware4                 the fourth ware to be adjusted
+    * @param ware5                 the fifth ware to be adjusted
+    * @param ware6                 the sixth ware to be adjusted
+    * @param quantityWare1         what to set the first ware's quantity available for sale to
+    * @param quantityWare2         what to set the second ware's quantity available for sale to
+    * @param quantityWare3         what to set the third ware's quantity available for sale to
+    * @param quantityWare4         what to set the fourth ware's quantity available for sale to
+    * @param quantityWare5         what to set the fifth ware's quantity available for sale to
+    * @param quantityWare6         what to set the sixth ware's quantity available for sale to
+    * @param testNumber            test number to use when printing errors
+    * @param printTestNumber       whether to print test numbers
+    * @return true if an error was discovered
+    */
+   private static boolean testRebalanceMarket(Ware ware1, Ware ware2, Ware ware3, Ware ware4, Ware ware5, Ware ware6,
+                                              int quantityWare1, int quantityWare2, int quantityWare3,
+                                              int quantityWare4, int quantityWare5, int quantityWare6,
+                                              int testNumber, boolean printTestNumber) {
+      String  testIdentifier;     // can be added to printed errors to differentiate between tests
+      boolean errorFound = false; // assume innocence until proven guilty
+
+      int adjustment1 = 0; // how much ware 1's stock should move
+      int adjustment2 = 0; // how much ware 2's stock should move
+      int adjustment3 = 0; // how much ware 3's stock should move
+      int adjustment4 = 0; // how much ware 4's stock should move
+      int adjustment5 = 0; // how much ware 5's stock should move
+      int adjustment6 = 0; // how much ware 6's stock should move
+
+      if (printTestNumber)
+         testIdentifier = " (#" + testNumber + ")";
+      else
+         testIdentifier = "";
+
+      // grab the method to be tested
+      if (incrementallyRebalanceMarket == null) {
+         try {
+            incrementallyRebalanceMarket = MarketRebalancer.class.getDeclaredMethod("incrementallyRebalanceMarket");
+            incrementallyRebalanceMarket.setAccessible(true);
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   failed to retrieve rebalancing method: " + e);
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return true;
+         }
+      }
+
+      // set up test conditions and test oracles
+      if (ware1 != null) {
+         ware1.setQuantity(quantityWare1);
+         adjustment1 = predictRebalancingWareAdjustment(ware1);
+      }
+      if (ware2 != null) {
+         ware2.setQuantity(quantityWare2);
+         adjustment2 = predictRebalancingWareAdjustment(ware2);
+      }
+      if (ware3 != null) {
+         ware3.setQuantity(quantityWare3);
+         adjustment3 = predictRebalancingWareAdjustment(ware3);
+      }
+      if (ware4 != null) {
+         ware4.setQuantity(quantityWare4);
+         adjustment4 = predictRebalancingWareAdjustment(ware4);
+      }
+      if (ware5 != null) {
+         ware5.setQuantity(quantityWare5);
+         adjustment5 = predictRebalancingWareAdjustment(ware5);
+      }
+      if (ware6 != null) {
+         ware6.setQuantity(quantityWare6);
+         adjustment6 = predictRebalancingWareAdjustment(ware6);
+      }
+
+      // test as normal
+      try {
+         incrementallyRebalanceMarket.invoke(NULL_OBJECT, NULL_OBJECTS);
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("   failed to invoke rebalancing method: " + e);
+         baosErr.reset();
+         e.printStackTrace();
+         TEST_OUTPUT.println(baosErr.toString());
+         return true;
+      }
+
+      // check ware properties
+      if (ware1 != null && ware1.getQuantity() != quantityWare1 + adjustment1) {
+            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware1:   " + ware1.getQuantity() + ", should be " + (quantityWare1 + adjustment1) +
+                                "\n   unexpected adjustment" + testIdentifier + " for ware1: " + (ware1.getQuantity() - quantityWare1) + ", should be " + adjustment1 +
+                                "\n   equilibrium" + testIdentifier + " for ware1:           " + Config.quanEquilibrium[ware1.getLevel()]);
+         errorFound = true;
+      }
+      if (ware2 != null && ware2.getQuantity() != quantityWare2 + adjustment2) {
+            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware2: " + ware2.getQuantity() + ", should be " + (quantityWare2 + adjustment2) +
+                                "\n   unexpected adjustment" + testIdentifier + " for ware2: " + (ware2.getQuantity() - quantityWare2) + ", should be " + adjustment2);
+         errorFound = true;
+      }
+      if (ware3 != null && ware3.getQuantity() != quantityWare3 + adjustment3) {
+            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware3: " + ware3.getQuantity() + ", should be " + (quantityWare3 + adjustment3) +
+                                "\n   unexpected adjustment" + testIdentifier + " for ware3: " + (ware3.getQuantity() - quantityWare3) + ", should be " + adjustment3);
+         errorFound = true;
+      }
+      if (ware4 != null && ware4.getQuantity() != quantityWare4 + adjustment4) {
+            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware4: " + ware4.getQuantity() + ", should be " + (quantityWare4 + adjustment4) +
+                                "\n   unexpected adjustment" + testIdentifier + " for ware4: " + (ware4.getQuantity() - quantityWare4) + ", should be " + adjustment4);
+         errorFound = true;
+      }
+      if (ware5 != null && ware5.getQuantity() != quantityWare5 + adjustment5) {
+            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware5: " + ware5.getQuantity() + ", should be " + (quantityWare5 + adjustment5) +
+                                "\n   unexpected adjustment" + testIdentifier + " for ware5: " + (ware5.getQuantity() - quantityWare5) + ", should be " + adjustment5);
+         errorFound = true;
+      }
+      if (ware6 != null && ware6.getQuantity() != quantityWare6 + adjustment6) {
+            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware6: " + ware6.getQuantity() + ", should be " + (quantityWare6 + adjustment6) +
+                                "\n   unexpected adjustment" + testIdentifier + " for ware6: " + (ware6.getQuantity() - quantityWare6) + ", should be " + adjustment6);
+         errorFound = true;
+      }
+
+      return errorFound;
+   }
+
+   /**
+    * Evaluates whether a ware's quantity available for sale was rebalanced correctly
+    * for a typical case when rebalancing the marketplace.
+    * Prints errors, if found.
+    * <p>
+    * Complexity: O(1)
+    * @param ware                  the ware to be adjusted
+    * @param quantityWare          what to set the ware's quantity available for sale to
+    * @param testNumber            test number to use when printing errors
+    * @param printTestNumber       whether to print test numbers
+    * @return true if an error was discovered
+    */
+   private static boolean testRebalanceMarket(Ware ware, int quantityWare,
+                                              int testNumber, boolean printTestNumber) {
+      return testRebalanceMarket(ware, null, null, null, null, null,
+                                 quantityWare, 0, 0, 0, 0, 0,
+                                 testNumber, printTestNumber);
+   }
+
+   /**
+    * Tests automatically rebalancing quantities for sale within the marketplace.
+    *
+    * @return whether automatically rebalancing supply and demand passed all test cases
+    */
+   private static boolean testUnitIncrementallyRebalanceMarket() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.automaticStockRebalancingPercent = 0.10f;
+      MarketRebalancer.calcQuantityChanges();
+      FileWriter fileWriter;
+
+      try {
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - overstocked");
+         errorFound |= testRebalanceMarket(testWare1, Config.quanExcessive[testWare1.getLevel()], 0, false);
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - above equilibrium");
+         errorFound |= testRebalanceMarket(testWareC1, (int) (Config.quanEquilibrium[testWareC1.getLevel()] * (1.0f + (Config.automaticStockRebalancingPercent / 2.0f))), 0, false);
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - equilibrium");
+         errorFound |= testRebalanceMarket(testWareP1, Config.quanEquilibrium[testWareP1.getLevel()], 0, false);
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - below equilibrium");
+         errorFound |= testRebalanceMarket(testWareC2, (int) (Config.quanEquilibrium[testWareC2.getLevel()] * (1.0f - (Config.automaticStockRebalancingPercent / 2.0f))), 0, false);
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - understocked");
+         errorFound |= testRebalanceMarket(testWare3, Config.quanDeficient[testWare3.getLevel()], 0, false);
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - untradeable ware");
+         errorFound |= testRebalanceMarket(testWareU1, 10, 0, false);
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - ware traded while being rebalanced");
+         // another trade lands right after the rebalancer reads the ware's quantity
+         final Runnable[] interference = new Runnable[1];
+         Ware wareTraded = new WareMaterial("test:rebalanced", "rebalanced", 1.0f, 256, (byte) 0) {
+            @Override
+            public int getQuantity() {
+               final int QUANTITY = super.getQuantity();
+               if (interference[0] != null) {
+                  final Runnable INTERFERENCE = interference[0];
+                  interference[0] = null;
+                  INTERFERENCE.run();
+               }
+               return QUANTITY;
+            }
+         };
+         wares.put("test:rebalanced", wareTraded);
+         wareTraded.setQuantity(Config.quanEquilibrium[0] - 1);
+         interference[0] = () -> wareTraded.addQuantity(Config.quanExcessive[0]);
+         incrementallyRebalanceMarket.invoke(NULL_OBJECT, NULL_OBJECTS);
+         // the trade should be kept and the now overstocked ware rebalanced
+         final int QUANTITY_EXPECTED = Config.quanEquilibrium[0] - 1 + Config.quanExcessive[0] - (int) (Config.automaticStockRebalancingPercent * Config.quanEquilibrium[0]);
+         if (wareTraded.getQuantity() != QUANTITY_EXPECTED) {
+            TEST_OUTPUT.println("   unexpected quantity: " + wareTraded.getQuantity() + ", should be " + QUANTITY_EXPECTED);
+            errorFound = true;
+         }
+         wares.remove("test:rebalanced");
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - scaling based on each level's equilibrium stock: overstocked");
+         errorFound |= testRebalanceMarket(testWare1,  // level 0
+                             testWare2,  // level 1
+                             testWareC1, // level 2
+                             testWare4,  // level 3
+                             testWareP1, // level 4
+                             testWareP2, // level 5
+                             Config.quanExcessive[0], Config.quanExcessive[1], Config.quanExcessive[2],
+                             Config.quanExcessive[3], Config.quanExcessive[4], Config.quanExcessive[5],
+                             0, false);
+
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - scaling based on each level's equilibrium stock: understocked");
+         errorFound |= testRebalanceMarket(testWare1,  // level 0
+                             testWare2,  // level 1
+                             testWareC1, // level 2
+                             testWare4,  // level 3
+                             testWareP1, // level 4
+                             testWareP2, // level 5
+                             Config.quanDeficient[0], Config.quanDeficient[1], Config.quanDeficient[2],
+                             Config.quanDeficient[3], Config.quanDeficient[4], Config.quanDeficient[5],
+                             0, false);
 
-         // attempt to turn off the feature by reloading config
-         UserInterfaceTerminal.serviceRequest("/reload config");
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - toggling feature and changing values by reloading configuration");
+         // grab the variables used for rebalancing the marketplace
+         Field testTimer = MarketRebalancer.class.getDeclaredField("taskMarketRebalancer");
+         testTimer.setAccessible(true);
+         MarketScheduler.Task taskMarketRebalancer = (MarketScheduler.Task) testTimer.get(null);
 
-         // check whether the feature is disabled
-         timerRandomEvents = (Timer) fTimer.get(null);
-         if (timerRandomEvents != null) {
-            TEST_OUTPUT.println("   feature did not turn off when it should have");
-            errorFound = true;
+         // Make sure the feature is off.
+         if (taskMarketRebalancer != null) {
+            taskMarketRebalancer.cancel();
+            taskMarketRebalancer = null;
+            TEST_OUTPUT.println("   warning - timer was not null when it should have been");
          }
 
          // write to config file to turn on feature
          fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
          fileWriter.write(
             "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEvents = true\n" +
-            "randomEventsFrequency = 9999\n" +
+            "automaticStockRebalancing = true\n" +
+            "automaticStockRebalancingFrequency = 10\n" +
+            "automaticStockRebalancingPercent = 0.05\n" +
             "disableAutoSaving = true\n" +
             "crossWorldMarketplace = true\n"
          );
@@ -14282,29 +17117,59 @@ public final class TestSuite
          UserInterfaceTerminal.serviceRequest("/reload config");
 
          // check whether the feature is enabled
-         timerRandomEvents = (Timer) fTimer.get(null);
-         if (timerRandomEvents == null) {
+         taskMarketRebalancer = (MarketScheduler.Task) testTimer.get(null);
+         if (taskMarketRebalancer == null) {
             TEST_OUTPUT.println("   feature did not turn on when it should have");
             errorFound = true;
          }
 
-         // turn off feature before exiting
+         // check frequency and percent
+         if (Config.automaticStockRebalancingFrequency != 600000) {
+            TEST_OUTPUT.println("   unexpected frequency: " + Config.automaticStockRebalancingFrequency + ", should be 600000");
+            errorFound = true;
+         }
+
+         if (Config.automaticStockRebalancingPercent != 0.05f) {
+            TEST_OUTPUT.println("   unexpected percent: " + Config.automaticStockRebalancingPercent + ", should be 0.05");
+            errorFound = true;
+         }
+
+         // write to config file to turn off feature
          fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
          fileWriter.write(
             "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "randomEvents = false\n" +
-            "randomEventsFrequency = 9999\n" +
+            "automaticStockRebalancing = false\n" +
+            "automaticStockRebalancingFrequency = 15\n" +
+            "automaticStockRebalancingPercent = 0.30\n" +
             "disableAutoSaving = true\n" +
             "crossWorldMarketplace = true\n"
          );
          fileWriter.close();
+
+         // attempt to turn on the feature by reloading config
          UserInterfaceTerminal.serviceRequest("/reload config");
+
+         // check whether the feature is disabled
+         taskMarketRebalancer = (MarketScheduler.Task) testTimer.get(null);
+         if (taskMarketRebalancer != null) {
+            TEST_OUTPUT.println("   feature did not turn off when it should have");
+            errorFound = true;
+         }
+
+         // check frequency and percent
+         if (Config.automaticStockRebalancingFrequency != 900000) {
+            TEST_OUTPUT.println("   unexpected frequency: " + Config.automaticStockRebalancingFrequency + ", should be 900000");
+            errorFound = true;
+         }
+
+         if (Config.automaticStockRebalancingPercent != 0.30f) {
+            TEST_OUTPUT.println("   unexpected percent: " + Config.automaticStockRebalancingPercent + ", should be 0.30");
+            errorFound = true;
+         }
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("random events - fatal error: " + e);
-         baosErr.reset();
+         TEST_OUTPUT.println("incrementallyRebalanceMarket() - fatal error: " + e);
          e.printStackTrace();
-         TEST_OUTPUT.println(baosErr.toString());
          return false;
       }
 
@@ -14312,678 +17177,629 @@ public final class TestSuite
    }
 
    /**
-    * Tests specific cross-interactions between features.
-    *
-    * @return whether cross-interactions passed all test cases
+    * Evaluates whether several wares' quantities available for sale were rebalanced correctly
+    * for a typical case when rebalancing the marketplace.
+    * Prints errors, if found.
+    * <p>
+    * Complexity: O(1)
+    * @param money1                how much money the first account should start with
+    * @param money2                how much money the second account should start with
+    * @param money3                how much money the third account should start with
+    * @param interestRate          the percentage of compound interest to be applied
+    * @param numIterations         how many times interest should be applied
+    * @param testNumber            test number to use when printing errors
+    * @param printTestNumber       whether to print test numbers
+    * @return true if an error was discovered
     */
-   private static boolean testUnitCrossInteractions() {
-      // use a flag to signal at least one error being found
-      boolean errorFound = false;
-
-      // ensure testing environment is properly set up
-      resetTestEnvironment();
-
-      // prepare to grab private methods
-      Method randomEventsLoadWares;
-      Method randomEventFire;
-
-      // prepare to grab internal variables
-      Field fRandomEvents;
-      Field fQuanChangeMedium;
-      Field fQuanChangeSmall;
-
-      // track changes to variables
-      Object[] randomEvents;
-
-      // set up testing variables
-      Account  feeCollectionAccount;
-
-      AI       ai;
-      String[] tradeablesIDs; // IDS for wares an AI may buy or sell
-      HashMap<Ware, Integer> tradesPending = new HashMap<Ware, Integer>(); // contains AI trade decisions before finalization
-
-      int[]    quanChangeMedium;
-      int[]    quanChangeSmall;
-
-      Ware     ware1;
-      Ware     ware2;
-      int      quantityToTrade;
-      int      quantityToOffer;
-      int      quantityWare1;
-      int      quantityWare2;
-      float    price1;
-      float    price2;
-      float    money;
-      byte     level;
-
-      try {
-         // enable transaction fees and set to known values
-         Config.chargeTransactionFees       = true;
-         Config.transactionFeeBuying        = 0.10f;
-         Config.transactionFeeSelling       = 0.50f;
-         Config.transactionFeeBuyingIsMult  = true;
-         Config.transactionFeeSellingIsMult = true;
-
-         // grab the fee collection account
-         feeCollectionAccount = Account.getAccount(Config.transactionFeesAccount);
-         if (feeCollectionAccount == null)
-            feeCollectionAccount = Account.makeAccount(Config.transactionFeesAccount, null);
-
-         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: AI, positive fees");
-         // set up test variables
-         ware1 = testWare1;
-         Config.aiTradeQuantityPercent = 0.10f;
-         AI.calcTradeQuantities();
-
-         // enable AI and set to known values
-         tradeablesIDs = new String[]{ware1.getWareID()};
-         ai = new AI("testAI", tradeablesIDs, null, null);
-         quantityToTrade = (int) (Config.aiTradeQuantityPercent * Config.quanEquilibrium[ware1.getLevel()]);
-
-         // set up test conditions
-         feeCollectionAccount.setMoney(0.0f);
-         ware1.setQuantity(Config.quanEquilibrium[ware1.getLevel()]);
-
-         // set up test oracles
-         Config.chargeTransactionFees = false;
-         price1 = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY) * Config.transactionFeeBuying;
-         Config.chargeTransactionFees = true;
-
-         // perform action
-         ai.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         // check fees
-         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
-
-         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: AI, negative fees");
-         // set up test conditions
-         Config.transactionFeeBuying = -0.10f;
-         feeCollectionAccount.setMoney(10000.0f);
-         ware1.setQuantity(Config.quanEquilibrium[ware1.getLevel()]);
-
-         // set up test oracles
-         Config.chargeTransactionFees = false;
-         price1 = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY) * Config.transactionFeeBuying;
-         Config.chargeTransactionFees = true;
-
-         // perform action
-         ai.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         // check fees
-         errorFound |= testPrice(feeCollectionAccount.getMoney() - 10000.0f, price1, "fee");
-
-         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Manufacturing Contracts, positive fees");
-         Config.transactionFeeBuying = 0.10f;
-         // enable manufacturing contracts and set to known values
-         Config.buyingOutOfStockWaresAllowed   = true;
-         Config.buyingOutOfStockWaresPriceMult = 1.10f;
-
-         // set up test conditions
-         quantityToTrade = 10;
-         ware1           = testWareP1;
-         ware2           = testWare1;
-         quantityWare1   = 0;
-         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
-         ware1.setQuantity(quantityWare1);
-         ware2.setQuantity(quantityWare2);
-         feeCollectionAccount.setMoney(0.0f);
-         playerAccount.setMoney(10000.0f);
-
-         // set up test oracles
-         Config.chargeTransactionFees = false;
-         price1 = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY)
-                  * Config.transactionFeeBuying;
-         Config.chargeTransactionFees = true;
-
-         // perform action
-         Marketplace.buy(PLAYER_ID, null, null, ware1.getWareID(), quantityToTrade, Float.NaN, 1.0f);
-
-         // check fee
-         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
-
-         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Manufacturing Contracts, negative fees");
-         Config.transactionFeeBuying = -0.10f;
-
-         // set up test conditions
-         quantityToTrade = 10;
-         ware1           = testWareP1;
-         ware2           = testWare1;
-         quantityWare1   = 0;
-         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
-         ware1.setQuantity(quantityWare1);
-         ware2.setQuantity(quantityWare2);
-         feeCollectionAccount.setMoney(10000.0f);
-         playerAccount.setMoney(10000.0f);
-
-         // set up test oracles
-         Config.chargeTransactionFees = false;
-         price1 = feeCollectionAccount.getMoney() + // plus since fee multiplier is negative, so fee collection account should pay out money
-                  (Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade, Marketplace.PriceType.CURRENT_BUY)
-                   * Config.transactionFeeBuying);
-         Config.chargeTransactionFees = true;
-
-         // perform action
-         Marketplace.buy(PLAYER_ID, null, null, ware1.getWareID(), quantityToTrade, Float.NaN, 1.0f);
-
-         // check fee
-         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
-
-         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Research, positive fees");
-         Config.transactionFeeBuying      = 0.10f;
-         Config.transactionFeeResearching = 0.10f;
-
-         // enable industrial research and set to known values
-         Config.researchCostPerHierarchyLevel = 1000.0f;
-         Config.researchCostIsAMultOfAvgPrice = false;
+   private static boolean testerAccountInterest(float money1, float money2, float money3,
+                                                float interestRate, int numIterations,
+                                                int testNumber, boolean printTestNumber) {
+      String  testIdentifier;     // can be added to printed errors to differentiate between tests
+      boolean errorFound = false; // assume innocence until proven guilty
 
-         // set up test conditions
-         ware1         = testWare2;
-         quantityWare1 = Config.quanEquilibrium[ware1.getLevel()];
-         ware1.setQuantity(quantityWare1);
-         feeCollectionAccount.setMoney(0.0f);
-         playerAccount.setMoney(100000.0f);
+      float expectedMoney1 = money1; // how much money the account should have after interest is applied
+      float expectedMoney2 = money2;
+      float expectedMoney3 = money3;
 
-         // set up test oracles
-         price1 = Marketplace.getPrice(PLAYER_ID, ware1, 1, Marketplace.PriceType.CURRENT_SELL)
-                  * ware1.getLevel()
-                  * Config.researchCostPerHierarchyLevel
-                  * Config.transactionFeeResearching;
+      // grab the method to be tested
+      if (applyAccountInterest == null) {
+         try {
+            applyAccountInterest = AccountInterestApplier.class.getDeclaredMethod("applyAccountInterest");
+            applyAccountInterest.setAccessible(true);
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   failed to retrieve interest-applying method: " + e);
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return true;
+         }
+      }
 
-         // perform action
-         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
-         UserInterfaceTerminal.serviceRequest("/research yes");
+      if (printTestNumber)
+         testIdentifier = " (#" + testNumber + ")";
+      else
+         testIdentifier = "";
 
-         // check fee
-         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
+      // set up test conditions
+      Config.accountPeriodicInterestPercent = interestRate;
+      testAccount1.setMoney(money1);
+      testAccount2.setMoney(money2);
+      testAccount3.setMoney(money3);
 
-         TEST_OUTPUT.println("Cross Interactions - Transaction Fees: Research, negative fees");
-         Config.transactionFeeResearching = -0.10f;
+      // set up test oracles and test as normal
+      for (int i = 0; i < numIterations; i++) {
+         expectedMoney1 *= Config.accountPeriodicInterestPercent;
+         expectedMoney2 *= Config.accountPeriodicInterestPercent;
+         expectedMoney3 *= Config.accountPeriodicInterestPercent;
 
-         // set up test conditions
-         ware1         = testWare2;
-         quantityWare1 = Config.quanEquilibrium[ware1.getLevel()];
-         ware1.setQuantity(quantityWare1);
-         feeCollectionAccount.setMoney(0.0f);
-         playerAccount.setMoney(10000.0f);
+         // test as normal
+         try {
+            applyAccountInterest.invoke(NULL_OBJECT, NULL_OBJECTS);
+         }
+         catch (Exception e) {
+            TEST_OUTPUT.println("   failed to invoke interest-applying method: " + e);
+            baosErr.reset();
+            e.printStackTrace();
+            TEST_OUTPUT.println(baosErr.toString());
+            return true;
+         }
+      }
 
-         // set up test oracles
-         price1 = Marketplace.getPrice(PLAYER_ID, ware1, 1, Marketplace.PriceType.CURRENT_SELL)
-                  * ware1.getLevel()
-                  * Config.researchCostPerHierarchyLevel
-                  * Config.transactionFeeResearching;
+      // if interest should only be applied if players are online,
+      // unapply interest where necessary
+      if (Config.accountPeriodicInterestOnlyWhenPlaying) {
+         if (UserInterfaceTerminal.playername.equals("possibleID")) {
+            expectedMoney1 = money1;
+            expectedMoney2 = money2;
+         } else
+            expectedMoney3 = money3;
+      }
 
-         // perform action
-         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
-         UserInterfaceTerminal.serviceRequest("/research yes");
+      // check account properties
+      if (testAccount1.getMoney() != expectedMoney1) {
+         TEST_OUTPUT.println("   unexpected funds" + testIdentifier + " for testAccount1: " + testAccount1.getMoney() + ", should be " + expectedMoney1);
+         errorFound = true;
+      }
 
-         // check fee
-         errorFound |= testPrice(feeCollectionAccount.getMoney(), price1, "fee");
+      if (testAccount2.getMoney() != expectedMoney2) {
+         TEST_OUTPUT.println("   unexpected funds" + testIdentifier + " for testAccount2: " + testAccount2.getMoney() + ", should be " + expectedMoney2);
+         errorFound = true;
+      }
+      if (testAccount3.getMoney() != expectedMoney3) {
+         TEST_OUTPUT.println("   unexpected funds" + testIdentifier + " for testAccount3: " + testAccount3.getMoney() + ", should be " + expectedMoney3);
+         errorFound = true;
+      }
 
-         // disable transaction fees to avoid possible interference
-         Config.chargeTransactionFees = false;
+      return errorFound;
+   }
 
-         // enable linked prices and set to known values
-         Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
-         Config.linkedPricesPercent   = 0.50f;
+   /**
+    * Tests periodically growing account with compound interest.
+    *
+    * @return whether growing accounts with interest passed all test cases
+    */
+   private static boolean testUnitAccountInterest() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Research, surplus");
-         // enable industrial research and set to known values
-         Config.researchCostPerHierarchyLevel = 1000.0f;
-         Config.researchCostIsAMultOfAvgPrice = false;
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.accountPeriodicInterestEnabled   = true;
+      Config.accountPeriodicInterestPercent   = 1.015f;
+      Config.accountPeriodicInterestFrequency = 7200000; // 2 hours
+      FileWriter fileWriter;
 
-         // set up test conditions for equilibrium
-         quantityToTrade = 10;
-         ware1           = testWareP1;
-         ware2           = testWare1;
-         quantityWare1   = 0;
-         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
+      try {
+         TEST_OUTPUT.println("applyAccountInterest() - compounding once");
+         errorFound |= testerAccountInterest(1000.0f, 100.0f, 10.0f,
+                                             1.015f, 1, 0, false);
 
-         money           = 100000.0f;
-         level           = ware1.getLevel(); // for resetting the ware's level later on
-         ware1.setQuantity(quantityWare1);
-         ware2.setQuantity(quantityWare2);
-         playerAccount.setMoney(money);
+         TEST_OUTPUT.println("applyAccountInterest() - compounding 5 times");
+         errorFound |= testerAccountInterest(1000.0f, 100.0f, 10.0f,
+                                             1.015f, 5, 0, false);
 
-         // perform action
-         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
-         UserInterfaceTerminal.serviceRequest("/research yes");
+         TEST_OUTPUT.println("applyAccountInterest() - compounding 10 times");
+         errorFound |= testerAccountInterest(-1000.0f, -100.0f, -10.0f,
+                                             1.015f, 1, 0, false);
 
-         // get the price when component is at equilibrium
-         price1 = money - playerAccount.getMoney();
+         TEST_OUTPUT.println("applyAccountInterest() - compounding 25 times");
+         errorFound |= testerAccountInterest(2.0f, 4.0f, 8.0f,
+                                             1.015f, 1, 0, false);
 
-         // set up test conditions for surplus
-         quantityWare2 = Config.quanExcessive[ware2.getLevel()];
-         ware1.setLevel(level);
-         ware1.setQuantity(quantityWare1);
-         ware2.setQuantity(quantityWare2);
-         playerAccount.setMoney(money);
+         TEST_OUTPUT.println("applyAccountInterest() - negative interest");
+         errorFound |= testerAccountInterest(-1000.0f, 100.0f, 4.0f,
+                                             0.985f, 1, 1, true); // -1.5% interest rate
 
-         // perform action
-         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
-         UserInterfaceTerminal.serviceRequest("/research yes");
+         errorFound |= testerAccountInterest(-1000.0f, 100.0f, 4.0f,
+                                             0.985f, 10, 2, true); // -1.5% interest rate
 
-         // get the price when component is in surplus
-         price2 = money - playerAccount.getMoney();
+         TEST_OUTPUT.println("applyAccountInterest() - applying only when online");
+         Config.accountPeriodicInterestOnlyWhenPlaying = true;
+         errorFound |= testerAccountInterest(100.0f, 100.0f, 100.0f,
+                                             1.015f, 1, 0, false);
 
-         // compare prices
-         if (price1 <= price2) {
-            TEST_OUTPUT.println("   unexpected price comparison: price during surplus should be lower than price during equilibrium" +
-                               "\n      surplus:     " + price2 +
-                               "\n      equilibrium: " + price1 +
-                               "\n      diff:        " + (price2 - price1));
-            errorFound = true;
-         }
+         String playernameOrig = UserInterfaceTerminal.playername;
+         UserInterfaceTerminal.playername = "possibleID";
 
-         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Research, scarcity");
-         // set up test conditions for scarcity
-         quantityWare2 = Config.quanDeficient[ware2.getLevel()];
-         ware1.setLevel(level);
-         ware1.setQuantity(quantityWare1);
-         ware2.setQuantity(quantityWare2);
-         playerAccount.setMoney(money);
+         errorFound |= testerAccountInterest(100.0f, 100.0f, 100.0f,
+                                             1.015f, 1, 0, false);
 
-         // perform action
-         UserInterfaceTerminal.serviceRequest("/research " + ware1.getWareID());
-         UserInterfaceTerminal.serviceRequest("/research yes");
+         UserInterfaceTerminal.playername = playernameOrig;
 
-         // get the price when component has scarcity
-         price2 = money - playerAccount.getMoney();
+         TEST_OUTPUT.println("applyAccountInterest() - toggling feature and changing values by reloading configuration");
+         // grab the timer for applying account interest
+         Field testTimer = AccountInterestApplier.class.getDeclaredField("taskAccountInterestApplier");
+         testTimer.setAccessible(true);
+         MarketScheduler.Task taskAccountInterestApplier = (MarketScheduler.Task) testTimer.get(null);
 
-         // compare prices
-         if (price1 >= price2) {
-            TEST_OUTPUT.println("   unexpected price comparison: price during scarcity should be higher than price during equilibrium" +
-                               "\n      scarcity:    " + price2 +
-                               "\n      equilibrium: " + price1 +
-                               "\n      diff:        " + (price2 - price1));
-            errorFound = true;
+         // Make sure the feature is off.
+         if (taskAccountInterestApplier != null) {
+            taskAccountInterestApplier.cancel();
+            taskAccountInterestApplier = null;
+            TEST_OUTPUT.println("   warning - Terminal Interface timer was not null when it should have been");
          }
 
-         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Planned Economy, surplus");
-         Config.pricesIgnoreSupplyAndDemand = true; // enable planned economy
+         // write to config file to turn on feature
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "accountPeriodicInterestEnabled = true\n" +
+            "accountPeriodicInterestFrequency = 15\n" +
+            "accountPeriodicInterestPercent = 5.0\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
 
-         // testWareP1 is made from testWare1
-         // set both wares to surplus, then store their price
-         testWareP1.setQuantity(Config.quanExcessive[testWareP1.getLevel()] / 2);
-         testWare1.setQuantity(Config.quanExcessive[testWare1.getLevel()]);
-         price1 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+         // attempt to turn on the feature by reloading config
+         UserInterfaceTerminal.serviceRequest("/reload config");
 
-         // test selling some testWareP1 and checking its price
-         errorFound |= testPETrade(testWareP1, Config.quanExcessive[testWareP1.getLevel()] / 2, 10,
-                                   1.0f, 1.0f, 0, false, true);
+         // check whether the feature is enabled
+         taskAccountInterestApplier = (MarketScheduler.Task) testTimer.get(null);
+         if (taskAccountInterestApplier == null) {
+            TEST_OUTPUT.println("   feature did not turn on when it should have");
+            errorFound = true;
+         }
 
-         // grab testWareP1's price after selling some
-         price2 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+         // check frequency and percent
+         if (Config.accountPeriodicInterestFrequency != 900000) { // 15 minutes * 60000 milliseconds per minute
+            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestFrequency + ", should be 900000");
+            errorFound = true;
+         }
 
-         // the prices before the quantity changes should be equal to the prices after
-         if (price1 != price2) {
-            TEST_OUTPUT.println("   unexpected price after quantity changes: " + price2 + ", should be " + price1);
+         if (Config.accountPeriodicInterestPercent != 1.05f) { // 1 + (5 / 100)
+            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestPercent + ", should be 1.05");
             errorFound = true;
          }
 
-         TEST_OUTPUT.println("Cross Interactions - Linked Prices: Planned Economy, scarcity");
+         // write to config file to turn off feature
+         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
+         fileWriter.write(
+            "// warning: this file may be cleared and overwritten by the program\n\n" +
+            "accountPeriodicInterestEnabled = false\n" +
+            "accountPeriodicInterestFrequency = 4\n" +
+            "accountPeriodicInterestPercent = 85.0\n" +
+            "disableAutoSaving = true\n" +
+            "crossWorldMarketplace = true\n"
+         );
+         fileWriter.close();
 
-         // testWareP1 is made from testWare1
-         // set both wares to surplus, then store their price
-         testWareP1.setQuantity(Config.quanDeficient[testWareP1.getLevel()]);
-         testWare1.setQuantity(Config.quanDeficient[testWare1.getLevel()]);
-         price1 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+         // attempt to turn on the feature by reloading config
+         UserInterfaceTerminal.serviceRequest("/reload config");
 
-         // test selling some testWareP1 and checking its price
-         errorFound |= testPETrade(testWareP1, Config.quanDeficient[testWareP1.getLevel()], 8,
-                                   1.0f, 1.0f, 0, false, true);
+         // check whether the feature is disabled
+         taskAccountInterestApplier = (MarketScheduler.Task) testTimer.get(null);
+         if (taskAccountInterestApplier != null) {
+            TEST_OUTPUT.println("   feature did not turn off when it should have");
+            errorFound = true;
+         }
 
-         // grab testWareP1's price after selling some
-         price2 = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+         // check frequency and percent
+         if (Config.accountPeriodicInterestFrequency != 240000) {
+            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestFrequency + ", should be 240000");
+            errorFound = true;
+         }
 
-         // the prices before the quantity changes should be equal to the prices after
-         if (price1 != price2) {
-            TEST_OUTPUT.println("   unexpected price after quantity changes: " + price2 + ", should be " + price1);
+         if (Config.accountPeriodicInterestPercent != 1.85f) {
+            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestPercent + ", should be 1.85");
             errorFound = true;
          }
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("applyAccountInterest() - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         // disable features to avoid possible interference
-         Config.shouldComponentsCurrentPricesAffectWholesPrice = false;
-         Config.pricesIgnoreSupplyAndDemand = false;
+      return !errorFound;
+   }
 
-         // enable no garbage disposing for testing
-         Config.noGarbageDisposing = true;
+   /**
+    * Evaluates whether restricting sales at or below the price floor
+    * was handled correctly for a typical case of selling something.
+    * Prints errors, if found.
+    * <p>
+    * Complexity: O(1)
+    * @param ware                  the ware to be sold
+    * @param wareDistFromFloor     how much quantity available for sale away from
+                                   lowering price to the floor the ware should be set to
+    * @param quantityToOffer       how much of the ware to attempt to sell
+    * @param testNumber            test number to use when printing errors
+    * @param printTestNumber       whether to print test numbers
+    * @return true if an error was discovered
+    */
+   private static boolean testNGDSell(Ware ware, int wareDistFromFloor, int quantityToOffer,
+                                      int testNumber, boolean printTestNumber) {
+      String  testIdentifier;     // can be added to printed errors to differentiate between tests
+      boolean errorFound = false; // assume innocence until proven guilty
 
-         // set up AI for testing
-         tradeablesIDs = new String[]{testWare1.getWareID()};
-         ai = new AI("testAI", null, tradeablesIDs, null);
+      float   price;           // how much traded wares should cost
+      int     quantityToTrade; // how much of the ware should be traded
+      int     quantityWare;    // ware's quantity available for sale
 
-         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: AI, selling past price floor");
-         // set up test conditions
-         ware1           = testWare1;
-         quantityToOffer = (int) (Config.aiTradeQuantityPercent * Config.quanEquilibrium[ware1.getLevel()]);
-         quantityToTrade = quantityToOffer / 2;
-         quantityWare1   = Config.quanExcessive[ware1.getLevel()] - quantityToTrade - 1;
-         ware1.setQuantity(quantityWare1);
+      boolean displayErrorFloorBelow   = false; // whether a message about not selling past the price floor should be displayed
 
-         // perform action
-         ai.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
+      if (printTestNumber)
+         testIdentifier = " (#" + testNumber + ")";
+      else
+         testIdentifier = "";
 
-         // check ware properties
-         if (ware1.getQuantity() != quantityWare1 + quantityToTrade) {
-            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
-                                ", should be " + (quantityWare1 + quantityToTrade) +
-                                "\n   quantity traded:  " + (ware1.getQuantity() - quantityWare1) +
-                                "\n   trade expected:   " + quantityToTrade +
-                                "\n   quantity before trade: " + quantityWare1);
-            errorFound = true;
+      // set up test conditions
+      if (wareDistFromFloor < quantityToOffer) {
+         // only sell to the price floor
+         if (wareDistFromFloor > 0) {
+            quantityToTrade          = wareDistFromFloor - 1;
          }
 
-         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: AI, selling at price floor");
-         // set up test conditions
-         quantityToTrade =  0;
-         quantityToOffer = 20;
-         quantityWare1   = Config.quanExcessive[ware1.getLevel()] - 1;
-         ware1.setQuantity(quantityWare1);
-
-         // perform action
-         ai.trade(tradesPending);
-         AI.finalizeTrades(tradesPending);
-
-         // check ware properties
-         if (ware1.getQuantity() != quantityWare1 + quantityToTrade) {
-            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
-                                ", should be " + (quantityWare1 + quantityToTrade) +
-                                "\n   quantity traded:  " + (ware1.getQuantity() - quantityWare1) +
-                                "\n   trade expected:   " + quantityToTrade +
-                                "\n   quantity before trade: " + quantityWare1);
-            errorFound = true;
+         // do not sell past the price floor
+         else {
+            quantityToTrade        = 0;
+            displayErrorFloorBelow = true;
          }
+      }
+      else
+         quantityToTrade = quantityToOffer;
+      quantityWare       = Config.quanExcessive[ware.getLevel()] - wareDistFromFloor - 1;
+      ware.setQuantity(quantityWare);
+      playerAccount.setMoney(0.0f);
+      UserInterfaceTerminal.inventory.clear();
+      UserInterfaceTerminal.inventory.put(ware.getWareID(), quantityToTrade);
 
-         // set up random events for testing
-         // grab the RandomEvent constructor
-         Class<?> randomEventClass = RandomEvents.class.getDeclaredClasses()[0];
-         Constructor<?> randomEvent = randomEventClass.getDeclaredConstructors()[0];
-         randomEvent.setAccessible(true);
-
-         // initialize event
-         Object testEvent1 = randomEvent.newInstance(NULL_OBJECT);
+      // set up test oracles
+      if (quantityToTrade <= 0)
+         price = 0.0f;
+      else
+         price = Marketplace.getPrice(PLAYER_ID, ware, quantityToTrade, Marketplace.PriceType.CURRENT_SELL);
 
-         // make event properties accessible
-         Field fDescription       = randomEventClass.getDeclaredField("description"); // description is needed to appease event loader/validator
-         Field fChangedWaresIDs   = randomEventClass.getDeclaredField("changedWaresIDs");
-         Field fChangedMagnitudes = randomEventClass.getDeclaredField("changeMagnitudes");
-         fDescription.setAccessible(true);
-         fChangedWaresIDs.setAccessible(true);
-         fChangedMagnitudes.setAccessible(true);
+      // test as normal
+      baosOut.reset(); // clear buffer holding console output
+      Marketplace.sell(PLAYER_ID, null, null, ware.getWareID(), 0, quantityToOffer, 0.0f, 1.0f);
 
-         // set event properties
-         fDescription.set(testEvent1, "This is the first test event description.");
-         fChangedWaresIDs.set(testEvent1, new String[]{"test:material1", "test:material2"});
-         fChangedMagnitudes.set(testEvent1, new RandomEvents.QuantityForSaleChangeMagnitudes[]{RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_SMALL, RandomEvents.QuantityForSaleChangeMagnitudes.POSITIVE_MEDIUM});
+      // check ware properties
+      if (ware.getQuantity() != quantityWare + quantityToTrade) {
+         TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + ": " + ware.getQuantity() +
+                            ", should be " + (quantityWare + quantityToTrade));
+         errorFound = true;
+      }
+      // check account funds
+         errorFound |= testPrice(playerAccount.getMoney(), price, "price", testIdentifier);
 
-         // grab the random event loader/validator
-         randomEventsLoadWares = RandomEvents.class.getDeclaredMethod("loadWaresPrivate");
-         randomEventsLoadWares.setAccessible(true);
+      // check console output
+      /*if (displayErrorFloorReached && !baosOut.toString().contains("Cannot sell at or below the price floor")) {
+         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString());
+         errorFound = true;
+      } else*/ if (displayErrorFloorBelow && !baosOut.toString().contains("Cannot sell at or below the price floor")) {
+         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString() +
+                            "   ware quantity: " + ware.getQuantity());
+         errorFound = true;
+      }
 
-         // add test events to random events array
-         fRandomEvents = RandomEvents.class.getDeclaredField("randomEvents");
-         fRandomEvents.setAccessible(true);
-         fRandomEvents.set(NULL_OBJECT, Array.newInstance(fRandomEvents.getType().getComponentType(), 1));
-         randomEvents    = (Object[]) fRandomEvents.get(null);
-         randomEvents[0] = testEvent1;
+      return errorFound;
+   }
 
-         // finish setting up event
-         randomEventsLoadWares.invoke(NULL_OBJECT, NULL_OBJECTS);
+   /**
+    * Evaluates whether restricting sales at or below the price floor
+    * was handled correctly for a typical case of selling all of an inventory.
+    * Prints errors, if found.
+    * <p>
+    * Complexity: O(1)
+    * @param ware1                 ware to be sold or null
+    * @param ware2                 ware to be sold or null
+    * @param ware3                 ware to be sold or null
+    * @param quantityToOffer1      how much of the first ware to sell
+    * @param quantityToOffer2      how much of the second ware to sell
+    * @param quantityToOffer3      how much of the third ware to sell
+    * @param wareDistFromFloor1    how much quantity available for sale away from
+                                   lowering price to the floor the first ware should be set to
+    * @param wareDistFromFloor2    quantity available for sale away from floor for second ware
+    * @param wareDistFromFloor3    quantity available for sale away from floor for third ware
+    * @param testNumber            test number to use when printing errors
+    * @param printTestNumber       whether to print test numbers
+    * @return true if an error was discovered
+    */
+   private static boolean testNGDSellAll(Ware ware1, Ware ware2, Ware ware3,
+                                         int quantityToOffer1, int quantityToOffer2, int quantityToOffer3,
+                                         int wareDistFromFloor1, int wareDistFromFloor2, int wareDistFromFloor3,
+                                         int testNumber, boolean printTestNumber) {
+      String  testIdentifier;        // can be added to printed errors to differentiate between tests
+      boolean errorFound    = false; // assume innocence until proven guilty
 
-         // grab the RandomEvent event firer
-         randomEventFire = randomEventClass.getDeclaredMethod("fire");
-         randomEventFire.setAccessible(true);
+      float   price1           = 0.0f;  // profits from each ware
+      float   price2           = 0.0f;
+      float   price3           = 0.0f;
+      int     quantityWare1    = 0;     // wares' quantities available for sale
+      int     quantityWare2    = 0;
+      int     quantityWare3    = 0;
+      int     quantityToTrade1 = 0;     // how much of the ware should be traded
+      int     quantityToTrade2 = 0;
+      int     quantityToTrade3 = 0;
+      boolean sellWare1        = true;  // don't sell if it will not make money
+      boolean sellWare2        = true;
+      boolean sellWare3        = true;
+      float   priceTotal;               // transaction's income
 
-         // grab references to RandomEvent variables
-         fQuanChangeMedium = RandomEvents.class.getDeclaredField("quanChangeMedium");
-         fQuanChangeSmall  = RandomEvents.class.getDeclaredField("quanChangeSmall");
-         fQuanChangeMedium.setAccessible(true);
-         fQuanChangeSmall.setAccessible(true);
+      if (printTestNumber)
+         testIdentifier = " (#" + testNumber + ")";
+      else
+         testIdentifier = "";
 
-         // set up RandomEvent variables
-         quanChangeMedium = new int[]{100, 200, 300, 400, 500, 600};
-         quanChangeSmall  = new int[]{10, 20, 30, 40, 50, 60};
-         fQuanChangeMedium.set(null, quanChangeMedium);
-         fQuanChangeSmall.set(null, quanChangeSmall);
+      // set up test conditions
+      playerAccount.setMoney(0.0f);
+      UserInterfaceTerminal.inventory.clear();
 
-         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: Random Events, selling past price floor");
-         // set up test conditions
-         quantityToTrade = 5;
-         ware1           = testWare1;
-         ware2           = testWare2;
-         quantityWare1   = Config.quanExcessive[ware1.getLevel()] - quantityToTrade - 1;
-         quantityWare2   = Config.quanEquilibrium[ware2.getLevel()];
+      // set up wares
+      if (ware1 != null) {
+         quantityWare1 = Config.quanExcessive[ware1.getLevel()] - wareDistFromFloor1;
          ware1.setQuantity(quantityWare1);
-         ware2.setQuantity(quantityWare2);
+         UserInterfaceTerminal.inventory.put(ware1.getWareID(), quantityToOffer1);
 
-         // perform action
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         // find quantity to sell
+         if (wareDistFromFloor1 < quantityToOffer1) {
+            // only sell to the price floor
+            if (wareDistFromFloor1 > 0)
+               quantityToTrade1 = wareDistFromFloor1 - 1;
 
-         // check ware properties
-         if (ware1.getQuantity() != quantityWare1 + quantityToTrade) { // limited to price floor
-            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
-                               ", should be " + (quantityWare1 + quantityToTrade));
-            errorFound = true;
-         }
-         if (ware2.getQuantity() != quantityWare2 + quanChangeMedium[ware2.getLevel()]) { // not limited at all
-            TEST_OUTPUT.println("   unexpected quantity: " + ware2.getQuantity() +
-                               ", should be " + (quantityWare2 + quanChangeMedium[ware2.getLevel()]));
-            errorFound = true;
+            // do not sell past the price floor
+            else {
+               quantityToTrade1 = 0;
+               sellWare1        = false;
+            }
          }
+         else
+            quantityToTrade1 = quantityToOffer1;
 
-         TEST_OUTPUT.println("Cross Interactions - No Garbage Disposing: Random Events, selling at price floor");
-         // set up test conditions
-         ware1           = testWare1;
-         ware2           = testWare2;
-         quantityWare1   = Config.quanEquilibrium[ware1.getLevel()];
-         quantityWare2   = Config.quanExcessive[ware2.getLevel()] - 1;
-         ware1.setQuantity(quantityWare1);
+         // don't sell if there is no profit to be made
+         price1       = Marketplace.getPrice(PLAYER_ID, ware1, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (price1 > 0.0001f)
+            price1    = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade1, Marketplace.PriceType.CURRENT_SELL);
+         else {
+            price1    = 0.0f;
+            sellWare1 = false;
+         }
+      }
+      if (ware2 != null) {
+         quantityWare2 = Config.quanExcessive[ware2.getLevel()] - wareDistFromFloor2;
          ware2.setQuantity(quantityWare2);
+         UserInterfaceTerminal.inventory.put(ware2.getWareID(), quantityToOffer2);
 
-         // perform action
-         randomEventFire.invoke(testEvent1, NULL_OBJECTS);
+         // find quantity to sell
+         if (wareDistFromFloor2 < quantityToOffer2) {
+            // only sell to the price floor
+            if (wareDistFromFloor2 > 0)
+               quantityToTrade2 = wareDistFromFloor2 - 1;
 
-         // check ware properties
-         if (ware1.getQuantity() != quantityWare1 + quanChangeSmall[ware1.getLevel()]) { // not limited at all
-            TEST_OUTPUT.println("   unexpected quantity: " + ware1.getQuantity() +
-                               ", should be " + (quantityWare1 + quanChangeSmall[ware1.getLevel()]));
-            errorFound = true;
+            // do not sell past the price floor
+            else {
+               quantityToTrade2 = 0;
+               sellWare2        = false;
+            }
          }
-         if (ware2.getQuantity() != quantityWare2) { // prevented from selling anything
-            TEST_OUTPUT.println("   unexpected quantity: " + ware2.getQuantity() +
-                               ", should be " + quantityWare2);
-            errorFound = true;
+         else
+            quantityToTrade2 = quantityToOffer2;
+
+         // don't sell if there is no profit to be made
+         price2       = Marketplace.getPrice(PLAYER_ID, ware2, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (price2 > 0.0001f)
+            price2    = Marketplace.getPrice(PLAYER_ID, ware2, quantityToTrade2, Marketplace.PriceType.CURRENT_SELL);
+         else {
+            price2    = 0.0f;
+            sellWare2 = false;
          }
       }
-      catch (Exception e) {
-         Config.chargeTransactionFees           = false;
-         Config.buyingOutOfStockWaresAllowed    = false;
-         Config.researchCostPerHierarchyLevel = 0.0f;
-         Config.pricesIgnoreSupplyAndDemand     = false;
-         Config.noGarbageDisposing              = false;
+      if (ware3 != null) {
+         quantityWare3 = Config.quanExcessive[ware3.getLevel()] - wareDistFromFloor3;
+         ware3.setQuantity(quantityWare3);
+         UserInterfaceTerminal.inventory.put(ware3.getWareID(), quantityToOffer3);
 
-         TEST_OUTPUT.println("Cross Interactions - fatal error: " + e);
-         e.printStackTrace();
-         return false;
-      }
-      Config.chargeTransactionFees           = false;
-      Config.buyingOutOfStockWaresAllowed    = false;
-      Config.researchCostPerHierarchyLevel = 0.0f;
-      Config.pricesIgnoreSupplyAndDemand     = false;
-      Config.noGarbageDisposing              = false;
+         // find quantity to sell
+         if (wareDistFromFloor3 < quantityToOffer3) {
+            // only sell to the price floor
+            if (wareDistFromFloor3 > 0)
+               quantityToTrade3 = wareDistFromFloor3 - 1;
 
-      return !errorFound;
-   }
+            // do not sell past the price floor
+            else {
+               quantityToTrade3 = 0;
+               sellWare3        = false;
+            }
+         }
+         else
+            quantityToTrade3 = quantityToOffer3;
 
-   /**
-    * Predicts how much a ware's quantity available for sale should change if its rebalanced correctly
-    * for a typical case when rebalancing the marketplace.
-    * Prints errors, if found.
-    * <p>
-    * Complexity: O(1)
-    * @param ware the ware to be adjusted
-    * @return true if an error was discovered
-    */
-   private static int predictRebalancingWareAdjustment(Ware ware) {
-      if (ware == null ||                                        // ware doesn't exist
-          ware instanceof WareUntradeable ||                     // ware cannot be traded
-          ware.getQuantity() == Config.quanEquilibrium[ware.getLevel()]) // ware is at equilibrium
-         return 0;
+         // don't sell if there is no profit to be made
+         price3       = Marketplace.getPrice(PLAYER_ID, ware3, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (price3 > 0.0001f)
+            price3    = Marketplace.getPrice(PLAYER_ID, ware3, quantityToTrade3, Marketplace.PriceType.CURRENT_SELL);
+         else {
+            price3    = 0.0f;
+            sellWare3 = false;
+         }
+      }
 
-      // find the maximum amount that quantity may move
-      int adjustment = (int) (Config.automaticStockRebalancingPercent * Config.quanEquilibrium[ware.getLevel()]);
+      // set up test oracles
+      priceTotal = PriceFormatter.truncatePrice(price1 + price2 + price3); // avoid precision errors using truncation
 
-      // predict how much quantity should be changed
-      // too much quantity
-      if (ware.getQuantity() > Config.quanEquilibrium[ware.getLevel()]) {
-         // above maximum adjustment
-         if (ware.getQuantity() - adjustment >= Config.quanEquilibrium[ware.getLevel()])
-            return -adjustment;
+      // run the test
+      baosOut.reset(); // clear buffer holding console output
+      Marketplace.sellAll(PLAYER_ID, null, getFormattedInventory(), null, 1.0f);
 
-         // within range of adjustment
-         else
-            return Config.quanEquilibrium[ware.getLevel()] - ware.getQuantity();
+      // check ware properties
+      if (quantityWare1 != 0) {
+         if (sellWare1) {
+            if (ware1.getQuantity() != quantityWare1 + quantityToTrade1) {
+               TEST_OUTPUT.println("   unexpected quantity for " + ware1.getWareID() + testIdentifier + ": " + ware1.getQuantity() +
+                                  ", should be " + (quantityWare1 + quantityToTrade1));
+               errorFound = true;
+            }
+         } else {
+            if (ware1.getQuantity() != quantityWare1) {
+               TEST_OUTPUT.println("   unexpected quantity for " + ware1.getWareID() + testIdentifier + ": " + ware1.getQuantity() +
+                                  ", should be " + quantityWare1);
+               errorFound = true;
+            }
+         }
       }
-
-      // too little quantity
-      else {
-         // above maximum adjustment
-         if (ware.getQuantity() + adjustment <= Config.quanEquilibrium[ware.getLevel()])
-            return adjustment;
-
-         // within range of adjustment
-         else
-            return Config.quanEquilibrium[ware.getLevel()] - ware.getQuantity();
+      if (quantityWare2 != 0) {
+         if (sellWare2) {
+            if (ware2.getQuantity() != quantityWare2 + quantityToTrade2) {
+               TEST_OUTPUT.println("   unexpected quantity for " + ware2.getWareID() + testIdentifier + ": " + ware2.getQuantity() +
+                                  ", should be " + (quantityWare2 + quantityToTrade2));
+               errorFound = true;
+            }
+         } else {
+            if (ware2.getQuantity() != quantityWare2) {
+               TEST_OUTPUT.println("   unexpected quantity for " + ware2.getWareID() + testIdentifier + ": " + ware2.getQuantity() +
+                                  ", should be " + quantityWare2);
+               errorFound = true;
+            }
+         }
+      }
+      if (quantityWare3 != 0) {
+         if (sellWare3) {
+            if (ware3.getQuantity() != quantityWare3 + quantityToTrade3) {
+               TEST_OUTPUT.println("   unexpected quantity for " + ware3.getWareID() + testIdentifier + ": " + ware3.getQuantity() +
+                                  ", should be " + (quantityWare3 + quantityToTrade3));
+               errorFound = true;
+            }
+         } else {
+            if (ware3.getQuantity() != quantityWare3) {
+               TEST_OUTPUT.println("   unexpected quantity for " + ware3.getWareID() + testIdentifier + ": " + ware3.getQuantity() +
+                                  ", should be " + quantityWare3);
+               errorFound = true;
+            }
+         }
+      }
+      // check account funds
+         errorFound |= testPrice(playerAccount.getMoney(), priceTotal, "price", testIdentifier);
+      // check console output
+      if (baosOut.toString().contains("   Sales upon reaching the ware's price floor")) {
+         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString());
+         errorFound = true;
+      } else if (baosOut.toString().contains("   error - unable to sell beyond the ware's price floor")) {
+         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString());
+         errorFound = true;
       }
+
+      return errorFound;
    }
 
    /**
-    * Evaluates whether several wares' quantities available for sale were rebalanced correctly
-    * for a typical case when rebalancing the marketplace.
+    * Evaluates whether restricting sales at or below the price floor
+    * was handled correctly for cases of selling a linked ware.
     * Prints errors, if found.
     * <p>
     * Complexity: O(1)
-    * @param ware1                 the first ware to be adjusted
-    * @param ware2                 the second ware to be adjusted
-    * @param ware3                 the third ware to be adjusted
-    * @param ware4                 the fourth ware to be adjusted
-    * @param ware5                 the fifth ware to be adjusted
-    * @param ware6                 the sixth ware to be adjusted
-    * @param quantityWare1         what to set the first ware's quantity available for sale to
-    * @param quantityWare2         what to set the second ware's quantity available for sale to
-    * @param quantityWare3         what to set the third ware's quantity available for sale to
-    * @param quantityWare4         what to set the fourth ware's quantity available for sale to
-    * @param quantityWare5         what to set the fifth ware's quantity available for sale to
-    * @param quantityWare6         what to set the sixth ware's quantity available for sale to
-    * @param testNumber            test number to use when printing errors
-    * @param printTestNumber       whether to print test numbers
+    * @param ware                   ware to be sold
+    * @param component              ware to be sold's sole component
+    * @param yieldOrComponentAmount if positive, ware to be sold's yield per unit of components,
+    *                               if negative, ware to be sold's amount of components required per unit
+    * @param wareDistFromFloor      how much quantity available for sale away from
+    *                               lowering price to the floor the ware should be set to
+    * @param quantityToOffer        how much of the ware to attempt to sell
+    * @param testNumber             test number to use when printing errors
+    * @param printTestNumber        whether to print test numbers
+    * @param isNotSellAll           if true, call on Marketplace.sell() rather than Marketplace.sellAll()
     * @return true if an error was discovered
     */
-   private static boolean testRebalanceMarket(Ware ware1, Ware ware2, Ware ware3, Ware ware4, Ware ware5, Ware ware6,
-                                              int quantityWare1, int quantityWare2, int quantityWare3,
-                                              int quantityWare4, int quantityWare5, int quantityWare6,
-                                              int testNumber, boolean printTestNumber) {
+   private static boolean testNGDLinkedWares(WareLinked ware, Ware component, int yieldOrComponentAmount,
+                                             int wareDistFromFloor, int quantityToOffer,
+                                             int testNumber, boolean printTestNumber, boolean isNotSellAll) {
       String  testIdentifier;     // can be added to printed errors to differentiate between tests
       boolean errorFound = false; // assume innocence until proven guilty
 
-      int adjustment1 = 0; // how much ware 1's stock should move
-      int adjustment2 = 0; // how much ware 2's stock should move
-      int adjustment3 = 0; // how much ware 3's stock should move
-      int adjustment4 = 0; // how much ware 4's stock should move
-      int adjustment5 = 0; // how much ware 5's stock should move
-      int adjustment6 = 0; // how much ware 6's stock should move
+      int     quantityToTrade;         // how much of the ware should be traded
+      int     quantityWare;            // ware's quantity available for sale
+      int     quantityComponent;       // ware's component's quantity available for sale
+      int     yield           = 1;     // how many wares are created per recipe iteration using 1 component unit
+      int     componentAmount = 1;     // how many components are needed per recipe iteration creating 1 ware unit
+      boolean displayError    = false; // whether a message about not selling at or past at the price floor should be displayed
 
       if (printTestNumber)
-         testIdentifier = " (#" + testNumber + ")";
-      else
-         testIdentifier = "";
-
-      // grab the method to be tested
-      if (incrementallyRebalanceMarket == null) {
-         try {
-            incrementallyRebalanceMarket = MarketRebalancer.class.getDeclaredMethod("incrementallyRebalanceMarket");
-            incrementallyRebalanceMarket.setAccessible(true);
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   failed to retrieve rebalancing method: " + e);
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return true;
+         testIdentifier = " (#" + testNumber + ")";
+      else
+         testIdentifier = "";
+
+      // set up test conditions and oracles
+      if (wareDistFromFloor < quantityToOffer) {
+         // only sell to the price floor
+         if (wareDistFromFloor > 0) {
+            quantityToTrade = wareDistFromFloor - 1;
          }
-      }
 
-      // set up test conditions and test oracles
-      if (ware1 != null) {
-         ware1.setQuantity(quantityWare1);
-         adjustment1 = predictRebalancingWareAdjustment(ware1);
-      }
-      if (ware2 != null) {
-         ware2.setQuantity(quantityWare2);
-         adjustment2 = predictRebalancingWareAdjustment(ware2);
-      }
-      if (ware3 != null) {
-         ware3.setQuantity(quantityWare3);
-         adjustment3 = predictRebalancingWareAdjustment(ware3);
-      }
-      if (ware4 != null) {
-         ware4.setQuantity(quantityWare4);
-         adjustment4 = predictRebalancingWareAdjustment(ware4);
+         // do not sell past the price floor
+         else {
+            quantityToTrade = 0;
+            displayError    = isNotSellAll;
+         }
       }
-      if (ware5 != null) {
-         ware5.setQuantity(quantityWare5);
-         adjustment5 = predictRebalancingWareAdjustment(ware5);
+      else
+         quantityToTrade = quantityToOffer;
+      quantityComponent  = Config.quanExcessive[component.getLevel()];
+      if (yieldOrComponentAmount > 0) {
+         yield              = yieldOrComponentAmount;
+         quantityComponent -= wareDistFromFloor / yield;           // adjust by wares created per component unit
       }
-      if (ware6 != null) {
-         ware6.setQuantity(quantityWare6);
-         adjustment6 = predictRebalancingWareAdjustment(ware6);
+      else {
+         componentAmount    = -yieldOrComponentAmount;
+         quantityComponent -= wareDistFromFloor * componentAmount; // adjust by components required to make a ware unit
       }
+      quantityComponent -= componentAmount;
+      component.setQuantity(quantityComponent);
+      quantityWare = ware.getQuantity();
+      playerAccount.setMoney(0.0f);
+      UserInterfaceTerminal.inventory.clear();
+      UserInterfaceTerminal.inventory.put(ware.getWareID(), quantityToTrade);
 
       // test as normal
-      try {
-         incrementallyRebalanceMarket.invoke(NULL_OBJECT, NULL_OBJECTS);
-      }
-      catch (Exception e) {
-         TEST_OUTPUT.println("   failed to invoke rebalancing method: " + e);
-         baosErr.reset();
-         e.printStackTrace();
-         TEST_OUTPUT.println(baosErr.toString());
-         return true;
-      }
+      baosOut.reset(); // clear buffer holding console output
+      if (isNotSellAll)
+         Marketplace.sell(PLAYER_ID, null, null, ware.getWareID(), 0, quantityToOffer, Float.NaN, 1.0f);
+      else
+         Marketplace.sellAll(PLAYER_ID, null, getFormattedInventory(), null, 1.0f);
 
       // check ware properties
-      if (ware1 != null && ware1.getQuantity() != quantityWare1 + adjustment1) {
-            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware1:   " + ware1.getQuantity() + ", should be " + (quantityWare1 + adjustment1) +
-                                "\n   unexpected adjustment" + testIdentifier + " for ware1: " + (ware1.getQuantity() - quantityWare1) + ", should be " + adjustment1 +
-                                "\n   equilibrium" + testIdentifier + " for ware1:           " + Config.quanEquilibrium[ware1.getLevel()]);
-         errorFound = true;
-      }
-      if (ware2 != null && ware2.getQuantity() != quantityWare2 + adjustment2) {
-            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware2: " + ware2.getQuantity() + ", should be " + (quantityWare2 + adjustment2) +
-                                "\n   unexpected adjustment" + testIdentifier + " for ware2: " + (ware2.getQuantity() - quantityWare2) + ", should be " + adjustment2);
-         errorFound = true;
-      }
-      if (ware3 != null && ware3.getQuantity() != quantityWare3 + adjustment3) {
-            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware3: " + ware3.getQuantity() + ", should be " + (quantityWare3 + adjustment3) +
-                                "\n   unexpected adjustment" + testIdentifier + " for ware3: " + (ware3.getQuantity() - quantityWare3) + ", should be " + adjustment3);
-         errorFound = true;
-      }
-      if (ware4 != null && ware4.getQuantity() != quantityWare4 + adjustment4) {
-            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware4: " + ware4.getQuantity() + ", should be " + (quantityWare4 + adjustment4) +
-                                "\n   unexpected adjustment" + testIdentifier + " for ware4: " + (ware4.getQuantity() - quantityWare4) + ", should be " + adjustment4);
-         errorFound = true;
-      }
-      if (ware5 != null && ware5.getQuantity() != quantityWare5 + adjustment5) {
-            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware5: " + ware5.getQuantity() + ", should be " + (quantityWare5 + adjustment5) +
-                                "\n   unexpected adjustment" + testIdentifier + " for ware5: " + (ware5.getQuantity() - quantityWare5) + ", should be " + adjustment5);
+      if (ware.getQuantity() != quantityWare + quantityToTrade) {
+         TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + ": " + ware.getQuantity() +
+                            ", should be " + (quantityWare + quantityToTrade) +
+                            "\n      limit:              " + (((Config.quanExcessive[component.getLevel()] - 1) / componentAmount) * yield) +
+                            "\n      diff:               " + (ware.getQuantity() - (quantityWare + quantityToTrade)) +
+                            "\n      component limit:    " + (Config.quanExcessive[component.getLevel()] - 1) +
+                            "\n      component quantity: " + component.getQuantity() +
+                            "\n      component expected: " + quantityComponent +
+                            "\n      component diff:     " + (component.getQuantity() - (quantityComponent + (quantityToTrade / componentAmount) * yield)));
          errorFound = true;
       }
-      if (ware6 != null && ware6.getQuantity() != quantityWare6 + adjustment6) {
-            TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + " for ware6: " + ware6.getQuantity() + ", should be " + (quantityWare6 + adjustment6) +
-                                "\n   unexpected adjustment" + testIdentifier + " for ware6: " + (ware6.getQuantity() - quantityWare6) + ", should be " + adjustment6);
+      // check console output
+      if ((displayError && !baosOut.toString().contains("Cannot sell at or below the price floor")) ||
+          (!displayError && baosOut.toString().contains("Cannot sell at or below the price floor"))) {
+         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString() +
+                            "\n      limit:              " + (((Config.quanExcessive[component.getLevel()] - 1) / componentAmount) * yield) +
+                            "\n      diff:               " + (ware.getQuantity() - (quantityWare + quantityToTrade)) +
+                            "\n      component limit:    " + (Config.quanExcessive[component.getLevel()] - 1) +
+                            "\n      component quantity: " + component.getQuantity() +
+                            "\n      component expected: " + quantityComponent +
+                            "\n      component diff:     " + (component.getQuantity() - (quantityComponent + (quantityToTrade / componentAmount) * yield)));
          errorFound = true;
       }
 
@@ -14991,207 +17807,148 @@ public final class TestSuite
    }
 
    /**
-    * Evaluates whether a ware's quantity available for sale was rebalanced correctly
-    * for a typical case when rebalancing the marketplace.
-    * Prints errors, if found.
-    * <p>
-    * Complexity: O(1)
-    * @param ware                  the ware to be adjusted
-    * @param quantityWare          what to set the ware's quantity available for sale to
-    * @param testNumber            test number to use when printing errors
-    * @param printTestNumber       whether to print test numbers
-    * @return true if an error was discovered
-    */
-   private static boolean testRebalanceMarket(Ware ware, int quantityWare,
-                                              int testNumber, boolean printTestNumber) {
-      return testRebalanceMarket(ware, null, null, null, null, null,
-                                 quantityWare, 0, 0, 0, 0, 0,
-                                 testNumber, printTestNumber);
-   }
-
-   /**
-    * Tests automatically rebalancing quantities for sale within the marketplace.
+    * Tests the configuration option to restrict selling
+    * when prices are at or below the price floor.
     *
-    * @return whether automatically rebalancing supply and demand passed all test cases
+    * @return whether restricting sales passed all test cases
     */
-   private static boolean testUnitIncrementallyRebalanceMarket() {
+   private static boolean testUnitNoGarbageDisposing() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
-      Config.automaticStockRebalancingPercent = 0.10f;
-      MarketRebalancer.calcQuantityChanges();
-      FileWriter fileWriter;
+      Config.noGarbageDisposing = true;
 
-      try {
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - overstocked");
-         errorFound |= testRebalanceMarket(testWare1, Config.quanExcessive[testWare1.getLevel()], 0, false);
+      // test up test variables
+      // linked ware with high yield
+      Ware wood = new WareMaterial("minecraft:log", "wood", 0.5f, 10, (byte) 0);
+      wares.put("minecraft:log", wood);
+      wareAliasTranslations.put("wood", "minecraft:log");
+      WareLinked planks = new WareLinked(new String[]{"wood"}, new int[]{1}, "minecraft:planks", "planks", 2);
+      wares.put("minecraft:planks", planks);
+      wareAliasTranslations.put("planks", "minecraft:planks");
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - above equilibrium");
-         errorFound |= testRebalanceMarket(testWareC1, (int) (Config.quanEquilibrium[testWareC1.getLevel()] * (1.0f + (Config.automaticStockRebalancingPercent / 2.0f))), 0, false);
+      // linked ware with low yield
+      Ware gold_ingot = new WareMaterial("minecraft:gold_ingot", "gold_ingot", 12.0f, 26, (byte) 3);
+      wares.put("minecraft:gold_ingot", gold_ingot);
+      wareAliasTranslations.put("gold_ingot", "minecraft:gold_ingot");
+      WareLinked gold_block = new WareLinked(new String[]{"gold_ingot"}, new int[]{9}, "minecraft:gold_block", "gold_block", 1);
+      wares.put("minecraft:gold_block", gold_block);
+      wareAliasTranslations.put("gold_block", "minecraft:gold_block");
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - equilibrium");
-         errorFound |= testRebalanceMarket(testWareP1, Config.quanEquilibrium[testWareP1.getLevel()], 0, false);
+      // ensure linked wares are not flagged as invalid
+      String validationError = planks.validate();
+      if (validationError != null && !validationError.isEmpty())
+         TEST_OUTPUT.println("failed to set up linked wares - planks: " + validationError);
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - below equilibrium");
-         errorFound |= testRebalanceMarket(testWareC2, (int) (Config.quanEquilibrium[testWareC2.getLevel()] * (1.0f - (Config.automaticStockRebalancingPercent / 2.0f))), 0, false);
+      validationError = gold_block.validate();
+      if (validationError != null && !validationError.isEmpty())
+         TEST_OUTPUT.println("failed to set up linked wares - gold_block: " + validationError);
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - understocked");
-         errorFound |= testRebalanceMarket(testWare3, Config.quanDeficient[testWare3.getLevel()], 0, false);
+      try {
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): above price floor, ending above");
+         errorFound |= testNGDSell(testWare1, 100, 10, 0, false);
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - untradeable ware");
-         errorFound |= testRebalanceMarket(testWareU1, 10, 0, false);
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): above price floor, ending at floor");
+         errorFound |= testNGDSell(testWare1, 100, 99, 0, false);
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - scaling based on each level's equilibrium stock: overstocked");
-         errorFound |= testRebalanceMarket(testWare1,  // level 0
-                             testWare2,  // level 1
-                             testWareC1, // level 2
-                             testWare4,  // level 3
-                             testWareP1, // level 4
-                             testWareP2, // level 5
-                             Config.quanExcessive[0], Config.quanExcessive[1], Config.quanExcessive[2],
-                             Config.quanExcessive[3], Config.quanExcessive[4], Config.quanExcessive[5],
-                             0, false);
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): above price floor, ending past");
+         errorFound |= testNGDSell(testWare1, 100, 100, 0, false);
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - scaling based on each level's equilibrium stock: understocked");
-         errorFound |= testRebalanceMarket(testWare1,  // level 0
-                             testWare2,  // level 1
-                             testWareC1, // level 2
-                             testWare4,  // level 3
-                             testWareP1, // level 4
-                             testWareP2, // level 5
-                             Config.quanDeficient[0], Config.quanDeficient[1], Config.quanDeficient[2],
-                             Config.quanDeficient[3], Config.quanDeficient[4], Config.quanDeficient[5],
-                             0, false);
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): at price floor");
+         errorFound |= testNGDSell(testWare1, 0, 1, 0, false);
 
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - toggling feature and changing values by reloading configuration");
-         // grab the variables used for rebalancing the marketplace
-         Field testTimer = MarketRebalancer.class.getDeclaredField("timerMarketRebalancer");
-         testTimer.setAccessible(true);
-         Timer timerMarketRebalancer = (Timer) testTimer.get(null);
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): below price floor");
+         errorFound |= testNGDSell(testWare1, -10, 1, 0, false);
 
-         // Make sure the feature is off.
-         if (timerMarketRebalancer != null) {
-            timerMarketRebalancer.cancel();
-            timerMarketRebalancer = null;
-            TEST_OUTPUT.println("   warning - timer was not null when it should have been");
-         }
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, high yield, ending past price floor");
+         errorFound |= testNGDLinkedWares(planks, wood, 2,
+                                          10, 10, 0, false, true);
 
-         // write to config file to turn on feature
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "automaticStockRebalancing = true\n" +
-            "automaticStockRebalancingFrequency = 10\n" +
-            "automaticStockRebalancingPercent = 0.05\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, high yield, below price floor");
+         errorFound |= testNGDLinkedWares(planks, wood, 2,
+                                          -1, 10, 0, false, true);
 
-         // attempt to turn on the feature by reloading config
-         UserInterfaceTerminal.serviceRequest("/reload config");
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, low yield, ending past price floor");
+         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
+                                          10, 10, 0, false, true);
 
-         // check whether the feature is enabled
-         timerMarketRebalancer = (Timer) testTimer.get(null);
-         if (timerMarketRebalancer == null) {
-            TEST_OUTPUT.println("   feature did not turn on when it should have");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, low yield, below price floor");
+         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
+                                          -1, 10, 0, false, true);
 
-         // check frequency and percent
-         if (Config.automaticStockRebalancingFrequency != 600000) {
-            TEST_OUTPUT.println("   unexpected frequency: " + Config.automaticStockRebalancingFrequency + ", should be 600000");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): above price floor, ending above");
+         errorFound |= testNGDSellAll(testWare1, testWare2, null, 100, 10, 1,
+                                      200, 20, 0, 0, false);
+
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): above price floor, ending at floor");
+         errorFound |= testNGDSellAll(testWare1, testWare2, null, 100, 10, 1,
+                                      101, 11, 0, 0, false);
 
-         if (Config.automaticStockRebalancingPercent != 0.05f) {
-            TEST_OUTPUT.println("   unexpected percent: " + Config.automaticStockRebalancingPercent + ", should be 0.05");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): above price floor, ending past");
+         errorFound |= testNGDSellAll(testWare1, testWare2, null, 100, 10, 1,
+                                      10, 1, 0, 0, false);
 
-         // write to config file to turn off feature
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "automaticStockRebalancing = false\n" +
-            "automaticStockRebalancingFrequency = 15\n" +
-            "automaticStockRebalancingPercent = 0.30\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): at price floor");
+         errorFound |= testNGDSellAll(testWareP1, testWareC2, testWare4, 10, 1, 1,
+                                      0, 0, 0, 0, false);
 
-         // attempt to turn on the feature by reloading config
-         UserInterfaceTerminal.serviceRequest("/reload config");
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): below price floor");
+         errorFound |= testNGDSellAll(testWareP1, testWareC2, testWare4, 10, 1, 1,
+                                      -10, -1, -1, 0, false);
 
-         // check whether the feature is disabled
-         timerMarketRebalancer = (Timer) testTimer.get(null);
-         if (timerMarketRebalancer != null) {
-            TEST_OUTPUT.println("   feature did not turn off when it should have");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, high yield, ending past price floor");
+         errorFound |= testNGDLinkedWares(planks, wood, 2,
+                                          10, 10, 0, false, false);
 
-         // check frequency and percent
-         if (Config.automaticStockRebalancingFrequency != 900000) {
-            TEST_OUTPUT.println("   unexpected frequency: " + Config.automaticStockRebalancingFrequency + ", should be 900000");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, high yield, below price floor");
+         errorFound |= testNGDLinkedWares(planks, wood, 2,
+                                          -1, 10, 0, false, false);
 
-         if (Config.automaticStockRebalancingPercent != 0.30f) {
-            TEST_OUTPUT.println("   unexpected percent: " + Config.automaticStockRebalancingPercent + ", should be 0.30");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, low yield, ending past price floor");
+         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
+                                          10, 10, 0, false, false);
+
+         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, low yield, below price floor");
+         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
+                                          -1, 10, 0, false, false);
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("incrementallyRebalanceMarket() - fatal error: " + e);
+         Config.noGarbageDisposing = false;
+         TEST_OUTPUT.println("No Garbage Disposing - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
+      Config.noGarbageDisposing = false;
 
       return !errorFound;
    }
 
    /**
-    * Evaluates whether several wares' quantities available for sale were rebalanced correctly
-    * for a typical case when rebalancing the marketplace.
+    * Evaluates whether fixing wares' prices
+    * was handled correctly for a typical case of selling something.
     * Prints errors, if found.
     * <p>
     * Complexity: O(1)
-    * @param money1                how much money the first account should start with
-    * @param money2                how much money the second account should start with
-    * @param money3                how much money the third account should start with
-    * @param interestRate          the percentage of compound interest to be applied
-    * @param numIterations         how many times interest should be applied
+    * @param ware                  the ware to be sold
+    * @param quantityWare          how much quantity available for sale the ware should be set to
+    * @param quantityToTrade       how much of the ware to sell
+    * @param priceBuyUpchargeMult  what to set the purchasing upcharge to
+    * @param priceMult             what to set the marketplace price multiplier
     * @param testNumber            test number to use when printing errors
     * @param printTestNumber       whether to print test numbers
+    * @param isPurchase            whether the transaction should buy wares
     * @return true if an error was discovered
     */
-   private static boolean testerAccountInterest(float money1, float money2, float money3,
-                                                float interestRate, int numIterations,
-                                                int testNumber, boolean printTestNumber) {
+   private static boolean testPETrade(Ware ware, int quantityWare, int quantityToTrade,
+                                      float priceBuyUpchargeMult, float priceMult,
+                                      int testNumber, boolean printTestNumber, boolean isPurchase) {
       String  testIdentifier;     // can be added to printed errors to differentiate between tests
       boolean errorFound = false; // assume innocence until proven guilty
 
-      float expectedMoney1 = money1; // how much money the account should have after interest is applied
-      float expectedMoney2 = money2;
-      float expectedMoney3 = money3;
-
-      // grab the method to be tested
-      if (applyAccountInterest == null) {
-         try {
-            applyAccountInterest = AccountInterestApplier.class.getDeclaredMethod("applyAccountInterest");
-            applyAccountInterest.setAccessible(true);
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   failed to retrieve interest-applying method: " + e);
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return true;
-         }
-      }
+      float priceUnitBefore; // ware's price per unit before trading
+      float priceUnitAfter;  // ware's price per unit after trading
 
       if (printTestNumber)
          testIdentifier = " (#" + testNumber + ")";
@@ -15199,192 +17956,382 @@ public final class TestSuite
          testIdentifier = "";
 
       // set up test conditions
-      Config.accountPeriodicInterestPercent = interestRate;
-      testAccount1.setMoney(money1);
-      testAccount2.setMoney(money2);
-      testAccount3.setMoney(money3);
-
-      // set up test oracles and test as normal
-      for (int i = 0; i < numIterations; i++) {
-         expectedMoney1 *= Config.accountPeriodicInterestPercent;
-         expectedMoney2 *= Config.accountPeriodicInterestPercent;
-         expectedMoney3 *= Config.accountPeriodicInterestPercent;
+      playerAccount.setMoney(10000.0f);
+      ware.setQuantity(quantityWare);
+      UserInterfaceTerminal.inventory.clear();
+      UserInterfaceTerminal.inventory.put(ware.getWareID(), quantityToTrade);
 
-         // test as normal
-         try {
-            applyAccountInterest.invoke(NULL_OBJECT, NULL_OBJECTS);
-         }
-         catch (Exception e) {
-            TEST_OUTPUT.println("   failed to invoke interest-applying method: " + e);
-            baosErr.reset();
-            e.printStackTrace();
-            TEST_OUTPUT.println(baosErr.toString());
-            return true;
-         }
+      // set up test oracles
+      if (isPurchase)
+         priceUnitBefore = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_BUY);
+      else
+         priceUnitBefore = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_SELL);
+      if (priceBuyUpchargeMult != Config.priceBuyUpchargeMult && isPurchase) {
+         priceUnitBefore /= Config.priceBuyUpchargeMult;
+         priceUnitBefore *= priceBuyUpchargeMult;
+      }
+      if (priceMult != Config.priceMult) {
+         priceUnitBefore /= Config.priceMult;
+         priceUnitBefore *= priceMult;
       }
 
-      // if interest should only be applied if players are online,
-      // unapply interest where necessary
-      if (Config.accountPeriodicInterestOnlyWhenPlaying) {
-         if (UserInterfaceTerminal.playername.equals("possibleID")) {
-            expectedMoney1 = money1;
-            expectedMoney2 = money2;
-         } else
-            expectedMoney3 = money3;
+      // set up rest of test conditions
+      Config.priceBuyUpchargeMult = priceBuyUpchargeMult;
+      Config.priceMult            = priceMult;
+      PricingContext.publish();
+
+      // test as normal
+      baosOut.reset(); // clear buffer holding console output
+      if (isPurchase) {
+         Marketplace.buy(PLAYER_ID, null, null, ware.getWareID(), quantityToTrade, 1000.0f, 1.0f);
+         priceUnitAfter  = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_BUY);
+         quantityToTrade = -quantityToTrade; // to ease checking ware's quantity available for sale
+      }
+      else {
+         Marketplace.sell(PLAYER_ID, null, null, ware.getWareID(), 0, quantityToTrade, 0.0f, 1.0f);
+         priceUnitAfter = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_SELL);
       }
 
-      // check account properties
-      if (testAccount1.getMoney() != expectedMoney1) {
-         TEST_OUTPUT.println("   unexpected funds" + testIdentifier + " for testAccount1: " + testAccount1.getMoney() + ", should be " + expectedMoney1);
+      // check ware properties
+      if (ware.getQuantity() != quantityWare + quantityToTrade) {
+         TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + ": " + ware.getQuantity() +
+                            ", should be " + (quantityWare + quantityToTrade));
          errorFound = true;
       }
+      // check price
+      errorFound |= testPrice(priceUnitAfter, priceUnitBefore, "price", testIdentifier);
 
-      if (testAccount2.getMoney() != expectedMoney2) {
-         TEST_OUTPUT.println("   unexpected funds" + testIdentifier + " for testAccount2: " + testAccount2.getMoney() + ", should be " + expectedMoney2);
-         errorFound = true;
+      return errorFound;
+   }
+
+   /**
+    * Tests the configuration option to fix all prices.
+    *
+    * @return whether price-setting passed all test cases
+    */
+   private static boolean testUnitPlannedEconomy() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+      Config.pricesIgnoreSupplyAndDemand = true;
+
+      try {
+         TEST_OUTPUT.println("Planned Economy - buying: excessive surplus");
+         errorFound |= testPETrade(testWare1, Config.quanExcessive[testWare1.getLevel()], 10,
+                                   1.0f, 1.0f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - buying: mild surplus");
+         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.1f), 10,
+                                   1.0f, 1.0f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - buying: at equilibrium");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   1.0f, 1.0f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - buying: mild shortage");
+         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.9f), 10,
+                                   1.0f, 1.0f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - buying: severe shortage");
+         errorFound |= testPETrade(testWare1, Config.quanDeficient[testWare1.getLevel()], 10,
+                                   1.0f, 1.0f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - buying: buying upcharge");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   2.0f, 1.0f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - buying: price multiplier, high");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   1.0f, 2.0f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - buying: price multiplier, low");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   1.0f, 0.5f, 0, false, true);
+
+         TEST_OUTPUT.println("Planned Economy - selling: excessive surplus");
+         errorFound |= testPETrade(testWare1, Config.quanExcessive[testWare1.getLevel()], 10,
+                                   1.0f, 1.0f, 0, false, false);
+
+         TEST_OUTPUT.println("Planned Economy - selling: mild surplus");
+         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.1f), 10,
+                                   1.0f, 1.0f, 0, false, false);
+
+         TEST_OUTPUT.println("Planned Economy - selling: at equilibrium");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   1.0f, 1.0f, 0, false, false);
+
+         TEST_OUTPUT.println("Planned Economy - selling: mild shortage");
+         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.9f), 10,
+                                   1.0f, 1.0f, 0, false, false);
+
+         TEST_OUTPUT.println("Planned Economy - selling: severe shortage");
+         errorFound |= testPETrade(testWare1, Config.quanDeficient[testWare1.getLevel()], 10,
+                                   1.0f, 1.0f, 0, false, false);
+
+         TEST_OUTPUT.println("Planned Economy - selling: buying upcharge");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   2.0f, 1.0f, 0, false, false);
+
+         TEST_OUTPUT.println("Planned Economy - selling: price multiplier, high");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   1.0f, 2.0f, 0, false, false);
+
+         TEST_OUTPUT.println("Planned Economy - selling: price multiplier, low");
+         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
+                                   1.0f, 0.5f, 0, false, false);
       }
-      if (testAccount3.getMoney() != expectedMoney3) {
-         TEST_OUTPUT.println("   unexpected funds" + testIdentifier + " for testAccount3: " + testAccount3.getMoney() + ", should be " + expectedMoney3);
-         errorFound = true;
+      catch (Exception e) {
+         Config.pricesIgnoreSupplyAndDemand = false;
+         TEST_OUTPUT.println("Planned Economy - fatal error: " + e);
+         e.printStackTrace();
+         return false;
       }
+      Config.pricesIgnoreSupplyAndDemand = false;
 
-      return errorFound;
+      return !errorFound;
    }
 
    /**
-    * Tests periodically growing account with compound interest.
+    * Tests whether passing price multipliers as part of the parameters of trade commands is handled correctly.
     *
-    * @return whether growing accounts with interest passed all test cases
+    * @return whether the trade command price multiplier parameters passed all test cases
     */
-   private static boolean testUnitAccountInterest() {
+   private static boolean testUnitLocalizedPrices() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
-      Config.accountPeriodicInterestEnabled   = true;
-      Config.accountPeriodicInterestPercent   = 1.015f;
-      Config.accountPeriodicInterestFrequency = 7200000; // 2 hours
-      FileWriter fileWriter;
 
       try {
-         TEST_OUTPUT.println("applyAccountInterest() - compounding once");
-         errorFound |= testerAccountInterest(1000.0f, 100.0f, 10.0f,
-                                             1.015f, 1, 0, false);
+         TEST_OUTPUT.println("buy() - no multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, null, null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         TEST_OUTPUT.println("applyAccountInterest() - compounding 5 times");
-         errorFound |= testerAccountInterest(1000.0f, 100.0f, 10.0f,
-                                             1.015f, 5, 0, false);
+         TEST_OUTPUT.println("buy() - invalid multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         TEST_OUTPUT.println("applyAccountInterest() - compounding 10 times");
-         errorFound |= testerAccountInterest(-1000.0f, -100.0f, -10.0f,
-                                             1.015f, 1, 0, false);
+         TEST_OUTPUT.println("buy() - zero multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         TEST_OUTPUT.println("applyAccountInterest() - compounding 25 times");
-         errorFound |= testerAccountInterest(2.0f, 4.0f, 8.0f,
-                                             1.015f, 1, 0, false);
+         TEST_OUTPUT.println("buy() - 100% multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%1", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         TEST_OUTPUT.println("applyAccountInterest() - negative interest");
-         errorFound |= testerAccountInterest(-1000.0f, 100.0f, 4.0f,
-                                             0.985f, 1, 1, true); // -1.5% interest rate
+         TEST_OUTPUT.println("buy() - high multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%10.00", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         errorFound |= testerAccountInterest(-1000.0f, 100.0f, 4.0f,
-                                             0.985f, 10, 2, true); // -1.5% interest rate
+         TEST_OUTPUT.println("buy() - low multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         TEST_OUTPUT.println("applyAccountInterest() - applying only when online");
-         Config.accountPeriodicInterestOnlyWhenPlaying = true;
-         errorFound |= testerAccountInterest(100.0f, 100.0f, 100.0f,
-                                             1.015f, 1, 0, false);
+         TEST_OUTPUT.println("buy() - no admin permissions");
+         errorFound |= testerTrade("possibleID", null, testWare1, "testAccount3", "%1.00", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         String playernameOrig = UserInterfaceTerminal.playername;
-         UserInterfaceTerminal.playername = "possibleID";
+         TEST_OUTPUT.println("buy() - specified quantity");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 100, 100, 0, false, true, true);
 
-         errorFound |= testerAccountInterest(100.0f, 100.0f, 100.0f,
-                                             1.015f, 1, 0, false);
+         TEST_OUTPUT.println("buy() - specified unit price");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.75", "1.1", Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 61, 100, 0, false, true, true);
 
-         UserInterfaceTerminal.playername = playernameOrig;
+         TEST_OUTPUT.println("buy() - specified account");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", "%0.50", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
 
-         TEST_OUTPUT.println("applyAccountInterest() - toggling feature and changing values by reloading configuration");
-         // grab the timer for applying account interest
-         Field testTimer = AccountInterestApplier.class.getDeclaredField("timerAccountInterestApplier");
-         testTimer.setAccessible(true);
-         Timer timerAccountInterestApplier = (Timer) testTimer.get(null);
+         TEST_OUTPUT.println("buy() - specified unit price and account");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount2", "%0.75", "1.1", Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 61, 100, 0, false, true, true);
 
-         // Make sure the feature is off.
-         if (timerAccountInterestApplier != null) {
-            timerAccountInterestApplier.cancel();
-            timerAccountInterestApplier = null;
-            TEST_OUTPUT.println("   warning - Terminal Interface timer was not null when it should have been");
-         }
+         TEST_OUTPUT.println("sell() - no multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, null, null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
 
-         // write to config file to turn on feature
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "accountPeriodicInterestEnabled = true\n" +
-            "accountPeriodicInterestFrequency = 15\n" +
-            "accountPeriodicInterestPercent = 5.0\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
+         TEST_OUTPUT.println("sell() - invalid multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 0, 10, 0, false, false, true);
 
-         // attempt to turn on the feature by reloading config
-         UserInterfaceTerminal.serviceRequest("/reload config");
+         TEST_OUTPUT.println("sell() - zero multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
 
-         // check whether the feature is enabled
-         timerAccountInterestApplier = (Timer) testTimer.get(null);
-         if (timerAccountInterestApplier == null) {
-            TEST_OUTPUT.println("   feature did not turn on when it should have");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("sell() - 100% multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%1", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
 
-         // check frequency and percent
-         if (Config.accountPeriodicInterestFrequency != 900000) { // 15 minutes * 60000 milliseconds per minute
-            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestFrequency + ", should be 900000");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("sell() - high multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%10.00", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
 
-         if (Config.accountPeriodicInterestPercent != 1.05f) { // 1 + (5 / 100)
-            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestPercent + ", should be 1.05");
-            errorFound = true;
-         }
+         TEST_OUTPUT.println("sell() - low multiplier");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
 
-         // write to config file to turn off feature
-         fileWriter = new FileWriter("config" + File.separator + Config.filenameConfig);
-         fileWriter.write(
-            "// warning: this file may be cleared and overwritten by the program\n\n" +
-            "accountPeriodicInterestEnabled = false\n" +
-            "accountPeriodicInterestFrequency = 4\n" +
-            "accountPeriodicInterestPercent = 85.0\n" +
-            "disableAutoSaving = true\n" +
-            "crossWorldMarketplace = true\n"
-         );
-         fileWriter.close();
+         TEST_OUTPUT.println("sell() - no admin permissions");
+         errorFound |= testerTrade("possibleID", null, testWare1, "testAccount3", "%1.00", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
 
-         // attempt to turn on the feature by reloading config
-         UserInterfaceTerminal.serviceRequest("/reload config");
+         TEST_OUTPUT.println("sell() - no specified quantity");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 0, 0, false, false, true);
 
-         // check whether the feature is disabled
-         timerAccountInterestApplier = (Timer) testTimer.get(null);
-         if (timerAccountInterestApplier != null) {
-            TEST_OUTPUT.println("   feature did not turn off when it should have");
+         TEST_OUTPUT.println("sell() - specified quantity");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
+
+         TEST_OUTPUT.println("sell() - specified unit price");
+         testWare1.setQuantity(Config.quanEquilibrium[testWare1.getLevel()]);
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.75", "0.50", Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], Marketplace.getQuantityUntilPrice(testWare1, 0.6666667f, false), 1000, 0, false, false, true);
+
+         TEST_OUTPUT.println("sell() - specified account");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", "%0.10", null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
+
+         TEST_OUTPUT.println("sell() - specified unit price and account");
+         testWare1.setQuantity(Config.quanEquilibrium[testWare1.getLevel()]);
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount2", "%0.75", "0.50", Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], Marketplace.getQuantityUntilPrice(testWare1, 0.6666667f, false), 1000, 0, false, false, true);
+
+         TEST_OUTPUT.println("check() - no multiplier");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
+                                   null, 1.0f, 0, true);
+
+         TEST_OUTPUT.println("check() - invalid multiplier");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
+                                   "%", 1.0f, 0, true);
+
+         TEST_OUTPUT.println("check() - zero multiplier");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
+                                   "%0", 1.0f, 0, true);
+
+         TEST_OUTPUT.println("check() - 100% multiplier");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
+                                   "%1.00", 1.0f, 0, true);
+
+         TEST_OUTPUT.println("check() - high multiplier");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
+                                   "%100.00", 1.0f, 0, false);
+
+         TEST_OUTPUT.println("check() - low multiplier");
+         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareU1, 0,
+                                   "%0.01", 1.0f, 0, true);
+
+         TEST_OUTPUT.println("check() - no admin permissions");
+         errorFound |= testerCheck("possibleID", testWare1, 0,
+                                   "%10.00", 1.0f, 0, true);
+
+         TEST_OUTPUT.println("check() - no specified quantity");
+         errorFound |= testerCheck("possibleID", testWare1, 0,
+                                   "%10.00", 1.0f, 0, true);
+
+         TEST_OUTPUT.println("check() - specified quantity");
+         errorFound |= testerCheck("possibleID", testWare1, 10,
+                                   "%10.00", 1.0f, 0, true);
+
+         TEST_OUTPUT.println("sellall() - no multiplier");
+         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, null,
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+
+         TEST_OUTPUT.println("sellall() - invalid multiplier");
+         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%",
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+
+         TEST_OUTPUT.println("sellall() - zero multiplier");
+         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%0",
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+
+         TEST_OUTPUT.println("sellall() - 100% multiplier");
+         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%1.0",
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+
+         TEST_OUTPUT.println("sellall() - high multiplier");
+         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%10",
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+
+         TEST_OUTPUT.println("sellall() - low multiplier");
+         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%0.1",
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+
+         TEST_OUTPUT.println("sellall() - no admin permissions");
+         errorFound |= testerSellAll("possibleID", null, "testAccount3", "%0.1",
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+
+         TEST_OUTPUT.println("sellall() - specified account");
+         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, "testAccount1", "%10",
+                                     testWare1, testWare3, null,
+                                     5, 10, 0, 0, true);
+      }
+      catch (Exception e) {
+         TEST_OUTPUT.println("localized prices - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+
+      return !errorFound;
+   }
+
+   /**
+    * Tests whether prices only reflect configuration changes
+    * after pricing settings are published.
+    *
+    * @return whether PricingContext passed all test cases
+    */
+   private static boolean testUnitPricingContext() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
+
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
+
+      final float PRICE_ORIGINAL = Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_SELL);
+      float       price;
+
+      try {
+         TEST_OUTPUT.println("PricingContext - changing settings without publishing");
+         Config.priceMult          = 2.0f;
+         Config.quanEquilibrium[0] = Config.quanEquilibrium[0] * 2;
+         price = Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (price != PRICE_ORIGINAL) {
+            TEST_OUTPUT.println("   unexpected price: " + price + ", should be " + PRICE_ORIGINAL);
             errorFound = true;
          }
 
-         // check frequency and percent
-         if (Config.accountPeriodicInterestFrequency != 240000) {
-            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestFrequency + ", should be 240000");
+         TEST_OUTPUT.println("PricingContext - publishing changed settings");
+         PricingContext.publish();
+         Config.quanEquilibrium[0] = Config.quanEquilibrium[0] / 2; // the published context should keep its own copy
+         price = Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (price <= PRICE_ORIGINAL * 2.0f) {
+            TEST_OUTPUT.println("   unexpected price: " + price + ", should be greater than " + (PRICE_ORIGINAL * 2.0f));
             errorFound = true;
          }
 
-         if (Config.accountPeriodicInterestPercent != 1.85f) {
-            TEST_OUTPUT.println("   unexpected frequency: " + Config.accountPeriodicInterestPercent + ", should be 1.85");
+         TEST_OUTPUT.println("PricingContext - resetting settings");
+         Config.resetConfig();
+         resetTestEnvironment();
+         price = Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (price != PRICE_ORIGINAL) {
+            TEST_OUTPUT.println("   unexpected price: " + price + ", should be " + PRICE_ORIGINAL);
             errorFound = true;
          }
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("applyAccountInterest() - fatal error: " + e);
+         resetTestEnvironment();
+         TEST_OUTPUT.println("PricingContext - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
@@ -15393,867 +18340,1346 @@ public final class TestSuite
    }
 
    /**
-    * Evaluates whether restricting sales at or below the price floor
-    * was handled correctly for a typical case of selling something.
-    * Prints errors, if found.
-    * <p>
-    * Complexity: O(1)
-    * @param ware                  the ware to be sold
-    * @param wareDistFromFloor     how much quantity available for sale away from
-                                   lowering price to the floor the ware should be set to
-    * @param quantityToOffer       how much of the ware to attempt to sell
-    * @param testNumber            test number to use when printing errors
-    * @param printTestNumber       whether to print test numbers
-    * @return true if an error was discovered
+    * Tests whether wares' saved prices are reused until
+    * pricing settings or wares they depend on change.
+    *
+    * @return whether PriceCurve passed all test cases
     */
-   private static boolean testNGDSell(Ware ware, int wareDistFromFloor, int quantityToOffer,
-                                      int testNumber, boolean printTestNumber) {
-      String  testIdentifier;     // can be added to printed errors to differentiate between tests
-      boolean errorFound = false; // assume innocence until proven guilty
+   private static boolean testUnitPriceCurve() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-      float   price;           // how much traded wares should cost
-      int     quantityToTrade; // how much of the ware should be traded
-      int     quantityWare;    // ware's quantity available for sale
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-      boolean displayErrorFloorBelow   = false; // whether a message about not selling past the price floor should be displayed
+      PriceCurve curve;
+      float      price;
+      float      priceExpected;
 
-      if (printTestNumber)
-         testIdentifier = " (#" + testNumber + ")";
-      else
-         testIdentifier = "";
+      try {
+         TEST_OUTPUT.println("PriceCurve - reusing saved prices");
+         Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_SELL);
+         curve = testWare1.priceCurve;
+         Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_BUY);
+         if (curve == null || curve != testWare1.priceCurve) {
+            TEST_OUTPUT.println("   saved prices were not reused");
+            errorFound = true;
+         }
 
-      // set up test conditions
-      if (wareDistFromFloor < quantityToOffer) {
-         // only sell to the price floor
-         if (wareDistFromFloor > 0) {
-            quantityToTrade          = wareDistFromFloor - 1;
+         TEST_OUTPUT.println("PriceCurve - publishing pricing settings");
+         PricingContext.publish();
+         Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (curve == testWare1.priceCurve) {
+            TEST_OUTPUT.println("   saved prices were not recalculated");
+            errorFound = true;
          }
 
-         // do not sell past the price floor
-         else {
-            quantityToTrade        = 0;
-            displayErrorFloorBelow = true;
+         TEST_OUTPUT.println("PriceCurve - changing base price");
+         curve = testWare1.priceCurve;
+         priceExpected = Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.EQUILIBRIUM_SELL) * 2.0f;
+         testWare1.priceBase = testWare1.priceBase * 2.0f;
+         price = Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.EQUILIBRIUM_SELL);
+         if (curve == testWare1.priceCurve || Math.abs(price - priceExpected) > FLOAT_COMPARE_PRECISION) {
+            TEST_OUTPUT.println("   unexpected price: " + price + ", should be " + priceExpected);
+            errorFound = true;
          }
-      }
-      else
-         quantityToTrade = quantityToOffer;
-      quantityWare       = Config.quanExcessive[ware.getLevel()] - wareDistFromFloor - 1;
-      ware.setQuantity(quantityWare);
-      playerAccount.setMoney(0.0f);
-      UserInterfaceTerminal.inventory.clear();
-      UserInterfaceTerminal.inventory.put(ware.getWareID(), quantityToTrade);
+         resetTestEnvironment();
 
-      // set up test oracles
-      if (quantityToTrade <= 0)
-         price = 0.0f;
-      else
-         price = Marketplace.getPrice(PLAYER_ID, ware, quantityToTrade, Marketplace.PriceType.CURRENT_SELL);
+         TEST_OUTPUT.println("PriceCurve - changing components' quantities with linked prices");
+         Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
+         Config.linkedPricesPercent = 0.75f;
+         Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+         curve = testWareP1.priceCurve;
+         testWare1.setQuantity(testWare1.getQuantity() / 4);
+         price = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+         testWareP1.priceCurve = null;
+         priceExpected = Marketplace.getPrice(PLAYER_ID, testWareP1, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (curve == null || price != priceExpected) {
+            TEST_OUTPUT.println("   unexpected price: " + price + ", should be " + priceExpected);
+            errorFound = true;
+         }
 
-      // test as normal
-      baosOut.reset(); // clear buffer holding console output
-      Marketplace.sell(PLAYER_ID, null, null, ware.getWareID(), 0, quantityToOffer, 0.0f, 1.0f);
+         TEST_OUTPUT.println("PriceCurve - changing unrelated wares without linked prices");
+         Config.shouldComponentsCurrentPricesAffectWholesPrice = false;
+         Marketplace.getPrice(PLAYER_ID, testWare2, 1, Marketplace.PriceType.CURRENT_SELL);
+         curve = testWare2.priceCurve;
+         testWare1.setQuantity(testWare1.getQuantity() * 2);
+         Marketplace.getPrice(PLAYER_ID, testWare2, 1, Marketplace.PriceType.CURRENT_SELL);
+         if (curve != testWare2.priceCurve) {
+            TEST_OUTPUT.println("   saved prices were recalculated unnecessarily");
+            errorFound = true;
+         }
 
-      // check ware properties
-      if (ware.getQuantity() != quantityWare + quantityToTrade) {
-         TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + ": " + ware.getQuantity() +
-                            ", should be " + (quantityWare + quantityToTrade));
-         errorFound = true;
+         resetTestEnvironment();
       }
-      // check account funds
-         errorFound |= testPrice(playerAccount.getMoney(), price, "price", testIdentifier);
-
-      // check console output
-      /*if (displayErrorFloorReached && !baosOut.toString().contains("Cannot sell at or below the price floor")) {
-         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString());
-         errorFound = true;
-      } else*/ if (displayErrorFloorBelow && !baosOut.toString().contains("Cannot sell at or below the price floor")) {
-         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString() +
-                            "   ware quantity: " + ware.getQuantity());
-         errorFound = true;
+      catch (Exception e) {
+         resetTestEnvironment();
+         TEST_OUTPUT.println("PriceCurve - fatal error: " + e);
+         e.printStackTrace();
+         return false;
       }
 
-      return errorFound;
+      return !errorFound;
    }
 
    /**
-    * Evaluates whether restricting sales at or below the price floor
-    * was handled correctly for a typical case of selling all of an inventory.
-    * Prints errors, if found.
-    * <p>
-    * Complexity: O(1)
-    * @param ware1                 ware to be sold or null
-    * @param ware2                 ware to be sold or null
-    * @param ware3                 ware to be sold or null
-    * @param quantityToOffer1      how much of the first ware to sell
-    * @param quantityToOffer2      how much of the second ware to sell
-    * @param quantityToOffer3      how much of the third ware to sell
-    * @param wareDistFromFloor1    how much quantity available for sale away from
-                                   lowering price to the floor the first ware should be set to
-    * @param wareDistFromFloor2    quantity available for sale away from floor for second ware
-    * @param wareDistFromFloor3    quantity available for sale away from floor for third ware
-    * @param testNumber            test number to use when printing errors
-    * @param printTestNumber       whether to print test numbers
-    * @return true if an error was discovered
+    * Tests whether wares' price changes invalidate saved calculations
+    * for every ware directly or indirectly made from them.
+    *
+    * @return whether linked price dependents passed all test cases
     */
-   private static boolean testNGDSellAll(Ware ware1, Ware ware2, Ware ware3,
-                                         int quantityToOffer1, int quantityToOffer2, int quantityToOffer3,
-                                         int wareDistFromFloor1, int wareDistFromFloor2, int wareDistFromFloor3,
-                                         int testNumber, boolean printTestNumber) {
-      String  testIdentifier;        // can be added to printed errors to differentiate between tests
-      boolean errorFound    = false; // assume innocence until proven guilty
-
-      float   price1           = 0.0f;  // profits from each ware
-      float   price2           = 0.0f;
-      float   price3           = 0.0f;
-      int     quantityWare1    = 0;     // wares' quantities available for sale
-      int     quantityWare2    = 0;
-      int     quantityWare3    = 0;
-      int     quantityToTrade1 = 0;     // how much of the ware should be traded
-      int     quantityToTrade2 = 0;
-      int     quantityToTrade3 = 0;
-      boolean sellWare1        = true;  // don't sell if it will not make money
-      boolean sellWare2        = true;
-      boolean sellWare3        = true;
-      float   priceTotal;               // transaction's income
-
-      if (printTestNumber)
-         testIdentifier = " (#" + testNumber + ")";
-      else
-         testIdentifier = "";
-
-      // set up test conditions
-      playerAccount.setMoney(0.0f);
-      UserInterfaceTerminal.inventory.clear();
-
-      // set up wares
-      if (ware1 != null) {
-         quantityWare1 = Config.quanExcessive[ware1.getLevel()] - wareDistFromFloor1;
-         ware1.setQuantity(quantityWare1);
-         UserInterfaceTerminal.inventory.put(ware1.getWareID(), quantityToOffer1);
-
-         // find quantity to sell
-         if (wareDistFromFloor1 < quantityToOffer1) {
-            // only sell to the price floor
-            if (wareDistFromFloor1 > 0)
-               quantityToTrade1 = wareDistFromFloor1 - 1;
-
-            // do not sell past the price floor
-            else {
-               quantityToTrade1 = 0;
-               sellWare1        = false;
-            }
-         }
-         else
-            quantityToTrade1 = quantityToOffer1;
+   private static boolean testUnitLinkedPriceDependents() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         // don't sell if there is no profit to be made
-         price1       = Marketplace.getPrice(PLAYER_ID, ware1, 1, Marketplace.PriceType.CURRENT_SELL);
-         if (price1 > 0.0001f)
-            price1    = Marketplace.getPrice(PLAYER_ID, ware1, quantityToTrade1, Marketplace.PriceType.CURRENT_SELL);
-         else {
-            price1    = 0.0f;
-            sellWare1 = false;
-         }
-      }
-      if (ware2 != null) {
-         quantityWare2 = Config.quanExcessive[ware2.getLevel()] - wareDistFromFloor2;
-         ware2.setQuantity(quantityWare2);
-         UserInterfaceTerminal.inventory.put(ware2.getWareID(), quantityToOffer2);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         // find quantity to sell
-         if (wareDistFromFloor2 < quantityToOffer2) {
-            // only sell to the price floor
-            if (wareDistFromFloor2 > 0)
-               quantityToTrade2 = wareDistFromFloor2 - 1;
+      Ware[] dependents;
+      int    generation;
+      float  multiplier;
+      float  multiplierExpected;
 
-            // do not sell past the price floor
-            else {
-               quantityToTrade2 = 0;
-               sellWare2        = false;
-            }
+      try {
+         TEST_OUTPUT.println("linked price dependents - registering dependents");
+         dependents = testWare1.getDependents();
+         if (!Arrays.asList(dependents).contains(testWareP1) || !Arrays.asList(dependents).contains(testWareC2)) {
+            TEST_OUTPUT.println("   unexpected dependents for " + testWare1.getWareID() + ": " + dependents.length);
+            errorFound = true;
          }
-         else
-            quantityToTrade2 = quantityToOffer2;
-
-         // don't sell if there is no profit to be made
-         price2       = Marketplace.getPrice(PLAYER_ID, ware2, 1, Marketplace.PriceType.CURRENT_SELL);
-         if (price2 > 0.0001f)
-            price2    = Marketplace.getPrice(PLAYER_ID, ware2, quantityToTrade2, Marketplace.PriceType.CURRENT_SELL);
-         else {
-            price2    = 0.0f;
-            sellWare2 = false;
+         if (testWare2.getDependents().length != 0) {
+            TEST_OUTPUT.println("   unexpected dependents for " + testWare2.getWareID() + ": " + testWare2.getDependents().length + ", should be 0");
+            errorFound = true;
          }
-      }
-      if (ware3 != null) {
-         quantityWare3 = Config.quanExcessive[ware3.getLevel()] - wareDistFromFloor3;
-         ware3.setQuantity(quantityWare3);
-         UserInterfaceTerminal.inventory.put(ware3.getWareID(), quantityToOffer3);
-
-         // find quantity to sell
-         if (wareDistFromFloor3 < quantityToOffer3) {
-            // only sell to the price floor
-            if (wareDistFromFloor3 > 0)
-               quantityToTrade3 = wareDistFromFloor3 - 1;
 
-            // do not sell past the price floor
-            else {
-               quantityToTrade3 = 0;
-               sellWare3        = false;
-            }
+         TEST_OUTPUT.println("linked price dependents - reloading components");
+         dependents = testWare1.getDependents();
+         testWareP1.reloadComponents();
+         testWareC2.reloadComponents();
+         if (testWare1.getDependents().length != dependents.length) {
+            TEST_OUTPUT.println("   unexpected dependents for " + testWare1.getWareID() + ": " + testWare1.getDependents().length + ", should be " + dependents.length);
+            errorFound = true;
          }
-         else
-            quantityToTrade3 = quantityToOffer3;
 
-         // don't sell if there is no profit to be made
-         price3       = Marketplace.getPrice(PLAYER_ID, ware3, 1, Marketplace.PriceType.CURRENT_SELL);
-         if (price3 > 0.0001f)
-            price3    = Marketplace.getPrice(PLAYER_ID, ware3, quantityToTrade3, Marketplace.PriceType.CURRENT_SELL);
-         else {
-            price3    = 0.0f;
-            sellWare3 = false;
+         TEST_OUTPUT.println("linked price dependents - indirect dependents");
+         generation = testWareC2.pricesGeneration;
+         testWareU1.removeSavedCalculations(); // untradeable1 -> crafted1 -> crafted2
+         if (testWareC2.pricesGeneration == generation) {
+            TEST_OUTPUT.println("   " + testWareC2.getWareID() + "'s saved calculations were not invalidated");
+            errorFound = true;
          }
-      }
-
-      // set up test oracles
-      priceTotal = PriceFormatter.truncatePrice(price1 + price2 + price3); // avoid precision errors using truncation
-
-      // run the test
-      baosOut.reset(); // clear buffer holding console output
-      Marketplace.sellAll(PLAYER_ID, null, getFormattedInventory(), null, 1.0f);
 
-      // check ware properties
-      if (quantityWare1 != 0) {
-         if (sellWare1) {
-            if (ware1.getQuantity() != quantityWare1 + quantityToTrade1) {
-               TEST_OUTPUT.println("   unexpected quantity for " + ware1.getWareID() + testIdentifier + ": " + ware1.getQuantity() +
-                                  ", should be " + (quantityWare1 + quantityToTrade1));
-               errorFound = true;
-            }
-         } else {
-            if (ware1.getQuantity() != quantityWare1) {
-               TEST_OUTPUT.println("   unexpected quantity for " + ware1.getWareID() + testIdentifier + ": " + ware1.getQuantity() +
-                                  ", should be " + quantityWare1);
-               errorFound = true;
-            }
+         TEST_OUTPUT.println("linked price dependents - repeated invalidations");
+         generation = testWareC2.pricesGeneration;
+         testWareU1.removeSavedCalculations();
+         testWareU1.removeSavedCalculations();
+         if (testWareC2.pricesGeneration - generation != 2) {
+            TEST_OUTPUT.println("   " + testWareC2.getWareID() + "'s saved calculations were invalidated " + (testWareC2.pricesGeneration - generation) + " times, should be 2");
+            errorFound = true;
          }
-      }
-      if (quantityWare2 != 0) {
-         if (sellWare2) {
-            if (ware2.getQuantity() != quantityWare2 + quantityToTrade2) {
-               TEST_OUTPUT.println("   unexpected quantity for " + ware2.getWareID() + testIdentifier + ": " + ware2.getQuantity() +
-                                  ", should be " + (quantityWare2 + quantityToTrade2));
-               errorFound = true;
-            }
-         } else {
-            if (ware2.getQuantity() != quantityWare2) {
-               TEST_OUTPUT.println("   unexpected quantity for " + ware2.getWareID() + testIdentifier + ": " + ware2.getQuantity() +
-                                  ", should be " + quantityWare2);
-               errorFound = true;
-            }
+
+         TEST_OUTPUT.println("linked price dependents - unrelated wares");
+         generation = testWareP1.pricesGeneration;
+         testWare2.addQuantity(1);
+         if (testWareP1.pricesGeneration != generation) {
+            TEST_OUTPUT.println("   " + testWareP1.getWareID() + "'s saved calculations were invalidated unnecessarily");
+            errorFound = true;
          }
-      }
-      if (quantityWare3 != 0) {
-         if (sellWare3) {
-            if (ware3.getQuantity() != quantityWare3 + quantityToTrade3) {
-               TEST_OUTPUT.println("   unexpected quantity for " + ware3.getWareID() + testIdentifier + ": " + ware3.getQuantity() +
-                                  ", should be " + (quantityWare3 + quantityToTrade3));
-               errorFound = true;
-            }
-         } else {
-            if (ware3.getQuantity() != quantityWare3) {
-               TEST_OUTPUT.println("   unexpected quantity for " + ware3.getWareID() + testIdentifier + ": " + ware3.getQuantity() +
-                                  ", should be " + quantityWare3);
-               errorFound = true;
-            }
+
+         TEST_OUTPUT.println("linked price dependents - recalculating multipliers");
+         Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
+         testWareC2.getLinkedPriceMultiplier();
+         testWare1.setQuantity(testWare1.getQuantity() / 8);
+         multiplier = testWareC2.getLinkedPriceMultiplier();
+         multiplierExpected = ((Config.linkedPricesPercent * (Marketplace.getPrice(null, testWare1, 1, Marketplace.PriceType.CURRENT_BUY) + Marketplace.getPrice(null, testWareC1, 1, Marketplace.PriceType.CURRENT_BUY)))
+                               / (Marketplace.getPrice(null, testWare1, 1, Marketplace.PriceType.EQUILIBRIUM_BUY) + Marketplace.getPrice(null, testWareC1, 1, Marketplace.PriceType.EQUILIBRIUM_BUY)))
+                              + (1 - Config.linkedPricesPercent);
+         if (Math.abs(multiplier - multiplierExpected) > FLOAT_COMPARE_PRECISION) {
+            TEST_OUTPUT.println("   unexpected multiplier: " + multiplier + ", should be " + multiplierExpected);
+            errorFound = true;
          }
+
+         resetTestEnvironment();
       }
-      // check account funds
-         errorFound |= testPrice(playerAccount.getMoney(), priceTotal, "price", testIdentifier);
-      // check console output
-      if (baosOut.toString().contains("   Sales upon reaching the ware's price floor")) {
-         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString());
-         errorFound = true;
-      } else if (baosOut.toString().contains("   error - unable to sell beyond the ware's price floor")) {
-         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString());
-         errorFound = true;
+      catch (Exception e) {
+         resetTestEnvironment();
+         TEST_OUTPUT.println("linked price dependents - fatal error: " + e);
+         e.printStackTrace();
+         return false;
       }
 
-      return errorFound;
+      return !errorFound;
    }
 
    /**
-    * Evaluates whether restricting sales at or below the price floor
-    * was handled correctly for cases of selling a linked ware.
-    * Prints errors, if found.
-    * <p>
-    * Complexity: O(1)
-    * @param ware                   ware to be sold
-    * @param component              ware to be sold's sole component
-    * @param yieldOrComponentAmount if positive, ware to be sold's yield per unit of components,
-    *                               if negative, ware to be sold's amount of components required per unit
-    * @param wareDistFromFloor      how much quantity available for sale away from
-    *                               lowering price to the floor the ware should be set to
-    * @param quantityToOffer        how much of the ware to attempt to sell
-    * @param testNumber             test number to use when printing errors
-    * @param printTestNumber        whether to print test numbers
-    * @param isNotSellAll           if true, call on Marketplace.sell() rather than Marketplace.sellAll()
-    * @return true if an error was discovered
+    * Tests whether statistics for wares' current prices
+    * match recalculating every ware's price.
+    *
+    * @return whether price statistics passed all test cases
     */
-   private static boolean testNGDLinkedWares(WareLinked ware, Ware component, int yieldOrComponentAmount,
-                                             int wareDistFromFloor, int quantityToOffer,
-                                             int testNumber, boolean printTestNumber, boolean isNotSellAll) {
-      String  testIdentifier;     // can be added to printed errors to differentiate between tests
-      boolean errorFound = false; // assume innocence until proven guilty
+   private static boolean testUnitPriceStatistics() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-      int     quantityToTrade;         // how much of the ware should be traded
-      int     quantityWare;            // ware's quantity available for sale
-      int     quantityComponent;       // ware's component's quantity available for sale
-      int     yield           = 1;     // how many wares are created per recipe iteration using 1 component unit
-      int     componentAmount = 1;     // how many components are needed per recipe iteration creating 1 ware unit
-      boolean displayError    = false; // whether a message about not selling at or past at the price floor should be displayed
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-      if (printTestNumber)
-         testIdentifier = " (#" + testNumber + ")";
-      else
-         testIdentifier = "";
+      try {
+         TEST_OUTPUT.println("price statistics - initial prices");
+         errorFound |= comparePriceStatistics();
 
-      // set up test conditions and oracles
-      if (wareDistFromFloor < quantityToOffer) {
-         // only sell to the price floor
-         if (wareDistFromFloor > 0) {
-            quantityToTrade = wareDistFromFloor - 1;
-         }
+         TEST_OUTPUT.println("price statistics - changing quantities");
+         testWare1.setQuantity(testWare1.getQuantity() / 4);
+         testWareC1.addQuantity(500);
+         errorFound |= comparePriceStatistics();
 
-         // do not sell past the price floor
-         else {
-            quantityToTrade = 0;
-            displayError    = isNotSellAll;
+         TEST_OUTPUT.println("price statistics - changing levels");
+         testWare3.setLevel((byte) 0);
+         errorFound |= comparePriceStatistics();
+
+         TEST_OUTPUT.println("price statistics - changing components' prices with linked prices");
+         Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
+         errorFound |= comparePriceStatistics();
+         testWare1.setQuantity(1);
+         errorFound |= comparePriceStatistics();
+
+         TEST_OUTPUT.println("price statistics - publishing pricing settings");
+         Config.priceMult = 2.0f;
+         PricingContext.publish();
+         errorFound |= comparePriceStatistics();
+
+         TEST_OUTPUT.println("price statistics - many changes");
+         for (int i = 0; i < 10000; i++) {
+            testWare2.setQuantity(i % 97);
+            testWare4.setQuantity(i % 331);
+            Marketplace.getCurrentPriceAverage();
          }
+         errorFound |= comparePriceStatistics();
+
+         resetTestEnvironment();
       }
-      else
-         quantityToTrade = quantityToOffer;
-      quantityComponent  = Config.quanExcessive[component.getLevel()];
-      if (yieldOrComponentAmount > 0) {
-         yield              = yieldOrComponentAmount;
-         quantityComponent -= wareDistFromFloor / yield;           // adjust by wares created per component unit
-      }
-      else {
-         componentAmount    = -yieldOrComponentAmount;
-         quantityComponent -= wareDistFromFloor * componentAmount; // adjust by components required to make a ware unit
+      catch (Exception e) {
+         resetTestEnvironment();
+         TEST_OUTPUT.println("price statistics - fatal error: " + e);
+         e.printStackTrace();
+         return false;
       }
-      quantityComponent -= componentAmount;
-      component.setQuantity(quantityComponent);
-      quantityWare = ware.getQuantity();
-      playerAccount.setMoney(0.0f);
-      UserInterfaceTerminal.inventory.clear();
-      UserInterfaceTerminal.inventory.put(ware.getWareID(), quantityToTrade);
 
-      // test as normal
-      baosOut.reset(); // clear buffer holding console output
-      if (isNotSellAll)
-         Marketplace.sell(PLAYER_ID, null, null, ware.getWareID(), 0, quantityToOffer, Float.NaN, 1.0f);
-      else
-         Marketplace.sellAll(PLAYER_ID, null, getFormattedInventory(), null, 1.0f);
+      return !errorFound;
+   }
 
-      // check ware properties
-      if (ware.getQuantity() != quantityWare + quantityToTrade) {
-         TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + ": " + ware.getQuantity() +
-                            ", should be " + (quantityWare + quantityToTrade) +
-                            "\n      limit:              " + (((Config.quanExcessive[component.getLevel()] - 1) / componentAmount) * yield) +
-                            "\n      diff:               " + (ware.getQuantity() - (quantityWare + quantityToTrade)) +
-                            "\n      component limit:    " + (Config.quanExcessive[component.getLevel()] - 1) +
-                            "\n      component quantity: " + component.getQuantity() +
-                            "\n      component expected: " + quantityComponent +
-                            "\n      component diff:     " + (component.getQuantity() - (quantityComponent + (quantityToTrade / componentAmount) * yield)));
+   /**
+    * Compares maintained price statistics against
+    * statistics calculated by looping through all wares.
+    *
+    * @return <code>true</code> if an error was found
+    *         <code>false</code> if statistics are accurate
+    */
+   private static boolean comparePriceStatistics() {
+      final PricingContext PRICING = PricingContext.get();
+      final int NUM_LEVELS = Config.quanEquilibrium.length;
+      boolean errorFound   = false;
+      float   priceSum     = 0.0f;
+      float   priceMin     = Float.POSITIVE_INFINITY;
+      float   priceMax     = Float.NEGATIVE_INFINITY;
+      int     numWares     = 0;
+      float[] levelSums    = new float[NUM_LEVELS];
+      int[]   levelCounts  = new int[NUM_LEVELS];
+      float   price;
+
+      for (Ware ware : wares.values()) {
+         if (ware instanceof WareUntradeable || ware instanceof WareLinked)
+            continue;
+
+         price     = Marketplace.getCurrentUnitPrice(ware, PRICING);
+         priceSum += price;
+         priceMin  = Math.min(priceMin, price);
+         priceMax  = Math.max(priceMax, price);
+         numWares++;
+         levelSums[ware.getLevel()] += price;
+         levelCounts[ware.getLevel()]++;
+      }
+
+      price = PriceFormatter.truncatePrice(priceSum / numWares);
+      if (Math.abs(Marketplace.getCurrentPriceAverage() - price) > FLOAT_COMPARE_PRECISION) {
+         TEST_OUTPUT.println("   unexpected average: " + Marketplace.getCurrentPriceAverage() + ", should be " + price);
          errorFound = true;
       }
-      // check console output
-      if ((displayError && !baosOut.toString().contains("Cannot sell at or below the price floor")) ||
-          (!displayError && baosOut.toString().contains("Cannot sell at or below the price floor"))) {
-         TEST_OUTPUT.println("   unexpected console output" + testIdentifier + ": " + baosOut.toString() +
-                            "\n      limit:              " + (((Config.quanExcessive[component.getLevel()] - 1) / componentAmount) * yield) +
-                            "\n      diff:               " + (ware.getQuantity() - (quantityWare + quantityToTrade)) +
-                            "\n      component limit:    " + (Config.quanExcessive[component.getLevel()] - 1) +
-                            "\n      component quantity: " + component.getQuantity() +
-                            "\n      component expected: " + quantityComponent +
-                            "\n      component diff:     " + (component.getQuantity() - (quantityComponent + (quantityToTrade / componentAmount) * yield)));
+      if (Math.abs(Marketplace.getCurrentPriceMinimum() - PriceFormatter.truncatePrice(priceMin)) > FLOAT_COMPARE_PRECISION) {
+         TEST_OUTPUT.println("   unexpected minimum: " + Marketplace.getCurrentPriceMinimum() + ", should be " + priceMin);
+         errorFound = true;
+      }
+      if (Math.abs(Marketplace.getCurrentPriceMaximum() - PriceFormatter.truncatePrice(priceMax)) > FLOAT_COMPARE_PRECISION) {
+         TEST_OUTPUT.println("   unexpected maximum: " + Marketplace.getCurrentPriceMaximum() + ", should be " + priceMax);
          errorFound = true;
       }
+      for (int i = 0; i < NUM_LEVELS; i++) {
+         if (levelCounts[i] == 0) {
+            if (!Float.isNaN(Marketplace.getCurrentPriceAverage(i))) {
+               TEST_OUTPUT.println("   unexpected average for level " + i + ": " + Marketplace.getCurrentPriceAverage(i) + ", should be NaN");
+               errorFound = true;
+            }
+            continue;
+         }
+
+         price = PriceFormatter.truncatePrice(levelSums[i] / levelCounts[i]);
+         if (Math.abs(Marketplace.getCurrentPriceAverage(i) - price) > FLOAT_COMPARE_PRECISION) {
+            TEST_OUTPUT.println("   unexpected average for level " + i + ": " + Marketplace.getCurrentPriceAverage(i) + ", should be " + price);
+            errorFound = true;
+         }
+      }
 
       return errorFound;
    }
 
    /**
-    * Tests the configuration option to restrict selling
-    * when prices are at or below the price floor.
+    * Tests selecting price models for hierarchy levels and
+    * whether each model's costs, budgets, and unit prices agree.
     *
-    * @return whether restricting sales passed all test cases
+    * @return whether price models passed all test cases
     */
-   private static boolean testUnitNoGarbageDisposing() {
+   private static boolean testUnitPriceModels() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
-      Config.noGarbageDisposing = true;
 
-      // test up test variables
-      // linked ware with high yield
-      Ware wood = new WareMaterial("minecraft:log", "wood", 0.5f, 10, (byte) 0);
-      wares.put("minecraft:log", wood);
-      wareAliasTranslations.put("wood", "minecraft:log");
-      WareLinked planks = new WareLinked(new String[]{"wood"}, new int[]{1}, "minecraft:planks", "planks", 2);
-      wares.put("minecraft:planks", planks);
-      wareAliasTranslations.put("planks", "minecraft:planks");
+      PriceModel[] models;
 
-      // linked ware with low yield
-      Ware gold_ingot = new WareMaterial("minecraft:gold_ingot", "gold_ingot", 12.0f, 26, (byte) 3);
-      wares.put("minecraft:gold_ingot", gold_ingot);
-      wareAliasTranslations.put("gold_ingot", "minecraft:gold_ingot");
-      WareLinked gold_block = new WareLinked(new String[]{"gold_ingot"}, new int[]{9}, "minecraft:gold_block", "gold_block", 1);
-      wares.put("minecraft:gold_block", gold_block);
-      wareAliasTranslations.put("gold_block", "minecraft:gold_block");
+      try {
+         TEST_OUTPUT.println("PriceModel - default models");
+         models = PricingContext.get().priceModels;
+         for (int i = 0; i < models.length; i++) {
+            if (!(models[i] instanceof LinearPriceModel)) {
+               TEST_OUTPUT.println("   unexpected model for level " + i + ": " + models[i] + ", should be linear");
+               errorFound = true;
+            }
+         }
 
-      // ensure linked wares are not flagged as invalid
-      String validationError = planks.validate();
-      if (validationError != null && !validationError.isEmpty())
-         TEST_OUTPUT.println("failed to set up linked wares - planks: " + validationError);
+         TEST_OUTPUT.println("PriceModel - selecting models per level");
+         Config.priceModels = new String[]{"exponential", "logistic", "linear", "Exponential", "LOGISTIC", "linear"};
+         PricingContext.publish();
+         models = PricingContext.get().priceModels;
+         if (!(models[0] instanceof ExponentialPriceModel) || !(models[1] instanceof LogisticPriceModel) || !(models[2] instanceof LinearPriceModel) ||
+             !(models[3] instanceof ExponentialPriceModel) || !(models[4] instanceof LogisticPriceModel) || !(models[5] instanceof LinearPriceModel)) {
+            TEST_OUTPUT.println("   unexpected models: " + Arrays.toString(models));
+            errorFound = true;
+         }
 
-      validationError = gold_block.validate();
-      if (validationError != null && !validationError.isEmpty())
-         TEST_OUTPUT.println("failed to set up linked wares - gold_block: " + validationError);
+         TEST_OUTPUT.println("PriceModel - unknown models");
+         if (PriceModel.isValidName("quadratic") || PriceModel.isValidName(null) || !PriceModel.isValidName(" logistic")) {
+            TEST_OUTPUT.println("   model names were validated incorrectly");
+            errorFound = true;
+         }
+         Config.priceModels = new String[]{"quadratic", null, "linear", "linear", "linear", "linear"};
+         PricingContext.publish();
+         models = PricingContext.get().priceModels;
+         if (!(models[0] instanceof LinearPriceModel) || !(models[1] instanceof LinearPriceModel)) {
+            TEST_OUTPUT.println("   unknown models should fall back to linear: " + Arrays.toString(models));
+            errorFound = true;
+         }
 
-      try {
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): above price floor, ending above");
-         errorFound |= testNGDSell(testWare1, 100, 10, 0, false);
+         TEST_OUTPUT.println("PriceModel - exponential");
+         Config.priceModels = new String[]{"exponential", "exponential", "exponential", "exponential", "exponential", "exponential"};
+         PricingContext.publish();
+         errorFound |= comparePriceModel((CurvedPriceModel) PricingContext.get().priceModels[testWare1.getLevel()], testWare1);
+         if (Math.abs(((CurvedPriceModel) PricingContext.get().priceModels[testWare1.getLevel()]).multiplier(Config.quanDeficient[testWare1.getLevel()]) - Config.priceCeiling) > FLOAT_COMPARE_PRECISION) {
+            TEST_OUTPUT.println("   multiplier at deficient stock should be the price ceiling");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): above price floor, ending at floor");
-         errorFound |= testNGDSell(testWare1, 100, 99, 0, false);
+         TEST_OUTPUT.println("PriceModel - exponential with price floor");
+         Config.priceFloor         = 0.5f;
+         Config.priceFloorAdjusted = 0.5f;
+         PricingContext.publish();
+         errorFound |= comparePriceModel((CurvedPriceModel) PricingContext.get().priceModels[testWare1.getLevel()], testWare1);
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): above price floor, ending past");
-         errorFound |= testNGDSell(testWare1, 100, 100, 0, false);
+         TEST_OUTPUT.println("PriceModel - logistic with price floor");
+         Config.priceModels = new String[]{"logistic", "logistic", "logistic", "logistic", "logistic", "logistic"};
+         PricingContext.publish();
+         errorFound |= comparePriceModel((CurvedPriceModel) PricingContext.get().priceModels[testWare1.getLevel()], testWare1);
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): at price floor");
-         errorFound |= testNGDSell(testWare1, 0, 1, 0, false);
+         TEST_OUTPUT.println("PriceModel - logistic");
+         Config.priceFloor         = 0.0f;
+         Config.priceFloorAdjusted = 1.0f;
+         PricingContext.publish();
+         errorFound |= comparePriceModel((CurvedPriceModel) PricingContext.get().priceModels[testWare1.getLevel()], testWare1);
+
+         TEST_OUTPUT.println("PriceModel - market statistics match charged prices");
+         for (String model : new String[]{"linear", "exponential", "logistic"}) {
+            Config.priceModels = new String[]{model, model, model, model, model, model};
+            PricingContext.publish();
+            for (int quantity : new int[]{1, Config.quanDeficient[testWare1.getLevel()], 200, Config.quanEquilibrium[testWare1.getLevel()], 600, Config.quanExcessive[testWare1.getLevel()] + 10}) {
+               testWare1.setQuantity(quantity);
+               float priceStatistic = PriceFormatter.truncatePrice(Marketplace.getCurrentUnitPrice(testWare1, PricingContext.get()));
+               float priceCharged   = Marketplace.getPrice(PLAYER_ID, testWare1, 1, Marketplace.PriceType.CURRENT_BUY);
+               if (Math.abs(priceStatistic - priceCharged) > FLOAT_COMPARE_PRECISION) {
+                  TEST_OUTPUT.println("   unexpected " + model + " unit price at " + quantity + ": " + priceStatistic + ", should be " + priceCharged);
+                  errorFound = true;
+               }
+            }
+            errorFound |= comparePriceStatistics();
+         }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): below price floor");
-         errorFound |= testNGDSell(testWare1, -10, 1, 0, false);
+         TEST_OUTPUT.println("PriceModel - marketplace using curves");
+         testWare1.setQuantity(200);
+         final CurvedPriceModel MODEL = (CurvedPriceModel) PricingContext.get().priceModels[testWare1.getLevel()];
+         final float PRICE_BASE       = testWare1.getBasePrice();
+         float price         = Marketplace.getPrice(PLAYER_ID, testWare1, 10, Marketplace.PriceType.CURRENT_SELL);
+         float priceExpected = PriceFormatter.truncatePrice(MODEL.cost(PRICE_BASE, 200, 10));
+         if (Math.abs(price - priceExpected) > FLOAT_COMPARE_PRECISION) {
+            TEST_OUTPUT.println("   unexpected selling price: " + price + ", should be " + priceExpected);
+            errorFound = true;
+         }
+         price         = Marketplace.getPrice(PLAYER_ID, testWare1, 10, Marketplace.PriceType.CURRENT_BUY);
+         priceExpected = PriceFormatter.truncatePrice(MODEL.cost(PRICE_BASE, 190, 10));
+         if (Math.abs(price - priceExpected) > FLOAT_COMPARE_PRECISION) {
+            TEST_OUTPUT.println("   unexpected purchasing price: " + price + ", should be " + priceExpected);
+            errorFound = true;
+         }
+         if (Marketplace.getPurchasableQuantity(testWare1, 50.0f) != MODEL.quantityForBudget(PRICE_BASE, 200, 50.0f)) {
+            TEST_OUTPUT.println("   unexpected purchasable quantity: " + Marketplace.getPurchasableQuantity(testWare1, 50.0f) + ", should be " + MODEL.quantityForBudget(PRICE_BASE, 200, 50.0f));
+            errorFound = true;
+         }
+         if (Marketplace.getQuantityUntilPrice(testWare1, PRICE_BASE * 1.5f, true) != MODEL.quantityUntilUnitPrice(PRICE_BASE, 200, PRICE_BASE * 1.5f, true)) {
+            TEST_OUTPUT.println("   unexpected quantity until price: " + Marketplace.getQuantityUntilPrice(testWare1, PRICE_BASE * 1.5f, true) + ", should be " + MODEL.quantityUntilUnitPrice(PRICE_BASE, 200, PRICE_BASE * 1.5f, true));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, high yield, ending past price floor");
-         errorFound |= testNGDLinkedWares(planks, wood, 2,
-                                          10, 10, 0, false, true);
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         resetTestEnvironment();
+         TEST_OUTPUT.println("PriceModel - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
+
+      return !errorFound;
+   }
+
+   /**
+    * Checks a curved price model's multipliers, costs,
+    * and solutions for budgets and unit prices agree with each other.
+    *
+    * @param model model to be checked
+    * @param ware  ware whose hierarchy level the model prices
+    * @return <code>true</code> if an error was found
+    *         <code>false</code> if the model is consistent
+    */
+   private static boolean comparePriceModel(CurvedPriceModel model, Ware ware) {
+      final int     LEVEL              = ware.getLevel();
+      final float   PRICE              = ware.getBasePrice();
+      final int[]   QUANTITIES         = {-50, 0, Config.quanDeficient[LEVEL], 200, Config.quanEquilibrium[LEVEL], 600, Config.quanExcessive[LEVEL], 5000};
+      final float[] BUDGETS            = {0.5f, 10.0f, 100.0f, 1000.0f, 100000.0f};
+      final float[] UNIT_PRICES        = {PRICE * 0.75f, PRICE * 0.999f, PRICE * 1.001f, PRICE * 1.5f, PRICE * 1.9f};
+      boolean       errorFound         = false;
+      double        multiplierPrevious = Double.POSITIVE_INFINITY;
+      double        multiplier;
+      float         cost;
+      float         tolerance;
+      int           quantity;
+
+      // equilibrium should use the ware's normal price
+      if (Math.abs(model.multiplier(Config.quanEquilibrium[LEVEL]) - 1.0) > FLOAT_COMPARE_PRECISION) {
+         TEST_OUTPUT.println("   unexpected multiplier at equilibrium: " + model.multiplier(Config.quanEquilibrium[LEVEL]) + ", should be 1.0");
+         errorFound = true;
+      }
+
+      // prices should never rise as stock rises
+      for (int i = -100; i <= Config.quanExcessive[LEVEL] + 100; i += 4) {
+         multiplier = model.multiplier(i);
+         if (multiplier > multiplierPrevious + 1.0e-9 || multiplier < Config.priceFloor - 1.0e-9 || multiplier > Config.priceCeiling + 1.0e-9) {
+            TEST_OUTPUT.println("   unexpected multiplier at " + i + ": " + multiplier + ", previous was " + multiplierPrevious);
+            return true;
+         }
+         multiplierPrevious = multiplier;
+      }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, high yield, below price floor");
-         errorFound |= testNGDLinkedWares(planks, wood, 2,
-                                          -1, 10, 0, false, true);
+      for (int quanOnMarket : QUANTITIES) {
+         // costs should match the area beneath the curve
+         cost = model.cost(PRICE, quanOnMarket, 1);
+         if (Math.abs(cost - PRICE * model.multiplier(quanOnMarket + 0.5)) > PRICE * 0.01f) {
+            TEST_OUTPUT.println("   unexpected cost for one unit at " + quanOnMarket + ": " + cost + ", should be near " + (PRICE * model.multiplier(quanOnMarket + 0.5)));
+            errorFound = true;
+         }
+         if (model.cost(PRICE, quanOnMarket, 0) != 0.0f) {
+            TEST_OUTPUT.println("   trading nothing should cost nothing");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, low yield, ending past price floor");
-         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
-                                          10, 10, 0, false, true);
+         // budgets should buy as much as possible without overspending
+         for (float budget : BUDGETS) {
+            quantity  = model.quantityForBudget(PRICE, quanOnMarket, budget);
+            tolerance = budget * 1.0e-4f + FLOAT_COMPARE_PRECISION;
+            if (quantity < 0 ||
+                model.cost(PRICE, quanOnMarket - quantity, quantity) > budget + tolerance ||
+                model.cost(PRICE, quanOnMarket - quantity - 1, quantity + 1) < budget - tolerance) {
+               TEST_OUTPUT.println("   unexpected quantity for budget of " + budget + " at " + quanOnMarket + ": " + quantity +
+                                   ", costing " + model.cost(PRICE, quanOnMarket - quantity, quantity) + " and " + model.cost(PRICE, quanOnMarket - quantity - 1, quantity + 1) + " for one more");
+               errorFound = true;
+            }
+         }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sell(): linked wares, low yield, below price floor");
-         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
-                                          -1, 10, 0, false, true);
+         // trading until a unit price should stop where the curve crosses the price
+         for (float priceUnit : UNIT_PRICES) {
+            if (priceUnit <= PRICE * Math.max(Config.priceFloor, ExponentialPriceModel.PRICE_FLOOR_MIN))
+               continue;
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): above price floor, ending above");
-         errorFound |= testNGDSellAll(testWare1, testWare2, null, 100, 10, 1,
-                                      200, 20, 0, 0, false);
+            quantity = model.quantityUntilUnitPrice(PRICE, quanOnMarket, priceUnit, true);
+            if (quantity >= 0 && (PRICE * model.multiplier(quanOnMarket - quantity) > priceUnit + FLOAT_COMPARE_PRECISION ||
+                                  PRICE * model.multiplier(quanOnMarket - quantity - 1.01) < priceUnit - FLOAT_COMPARE_PRECISION)) {
+               TEST_OUTPUT.println("   unexpected quantity to buy until " + priceUnit + " at " + quanOnMarket + ": " + quantity);
+               errorFound = true;
+            }
+            if (quantity < 0 && PRICE * model.multiplier(quanOnMarket) <= priceUnit) {
+               TEST_OUTPUT.println("   buying at " + quanOnMarket + " should be acceptable for " + priceUnit + ", returned " + quantity);
+               errorFound = true;
+            }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): above price floor, ending at floor");
-         errorFound |= testNGDSellAll(testWare1, testWare2, null, 100, 10, 1,
-                                      101, 11, 0, 0, false);
+            quantity = model.quantityUntilUnitPrice(PRICE, quanOnMarket, priceUnit, false);
+            if (quantity >= 0 && (PRICE * model.multiplier(quanOnMarket + quantity) < priceUnit - FLOAT_COMPARE_PRECISION ||
+                                  PRICE * model.multiplier(quanOnMarket + quantity + 1.01) > priceUnit + FLOAT_COMPARE_PRECISION)) {
+               TEST_OUTPUT.println("   unexpected quantity to sell until " + priceUnit + " at " + quanOnMarket + ": " + quantity);
+               errorFound = true;
+            }
+         }
+      }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): above price floor, ending past");
-         errorFound |= testNGDSellAll(testWare1, testWare2, null, 100, 10, 1,
-                                      10, 1, 0, 0, false);
+      return errorFound;
+   }
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): at price floor");
-         errorFound |= testNGDSellAll(testWareP1, testWareC2, testWare4, 10, 1, 1,
-                                      0, 0, 0, 0, false);
+   /**
+    * Tests whether pricing many wares at once
+    * gives the same prices as pricing each ware individually.
+    *
+    * @return whether batch pricing passed all test cases
+    */
+   private static boolean testUnitBatchPricing() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): below price floor");
-         errorFound |= testNGDSellAll(testWareP1, testWareC2, testWare4, 10, 1, 1,
-                                      -10, -1, -1, 0, false);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, high yield, ending past price floor");
-         errorFound |= testNGDLinkedWares(planks, wood, 2,
-                                          10, 10, 0, false, false);
+      try {
+         TEST_OUTPUT.println("getPrices() - default settings");
+         errorFound |= compareBatchPrices();
+
+         TEST_OUTPUT.println("getPrices() - changed quantities");
+         testWare1.setQuantity(3);
+         testWare2.addQuantity(1000);
+         testWareC1.subtractQuantity(100);
+         errorFound |= compareBatchPrices();
+
+         TEST_OUTPUT.println("getPrices() - spread, upcharge, and linked prices");
+         Config.priceSpread          = 0.5f;
+         Config.priceBuyUpchargeMult = 1.5f;
+         Config.shouldComponentsCurrentPricesAffectWholesPrice = true;
+         PricingContext.publish();
+         errorFound |= compareBatchPrices();
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, high yield, below price floor");
-         errorFound |= testNGDLinkedWares(planks, wood, 2,
-                                          -1, 10, 0, false, false);
+         TEST_OUTPUT.println("getPrices() - ignoring supply and demand");
+         Config.pricesIgnoreSupplyAndDemand = true;
+         errorFound |= compareBatchPrices();
+         Config.pricesIgnoreSupplyAndDemand = false;
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, low yield, ending past price floor");
-         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
-                                          10, 10, 0, false, false);
+         TEST_OUTPUT.println("getPrices() - simultaneous changes while columns grow");
+         final Ware[] WARES_CHANGED = {testWare1, testWare2, testWareC1, testWareP1};
+         Thread[] threads = new Thread[WARES_CHANGED.length * 2];
+         for (int i = 0; i < threads.length; i++) {
+            final Ware    WARE   = WARES_CHANGED[i / 2];
+            final boolean ADDING = i % 2 == 0;
+            threads[i] = new Thread(() -> {
+               for (int j = 0; j < 5000; j++) {
+                  if (ADDING)
+                     WARE.addQuantity(1 + j % 3);
+                  else
+                     WARE.subtractQuantity(1 + j % 2);
+               }
+            });
+         }
+         for (Thread thread : threads)
+            thread.start();
+         for (int i = 0; i < 2000; i++) // copy columns several times while wares change
+            Marketplace.getWareIndex(new WareMaterial("test:columnsGrowth" + i, null, 1.0f, 10, (byte) 0));
+         for (Thread thread : threads)
+            thread.join();
+         errorFound |= compareBatchPrices();
 
-         TEST_OUTPUT.println("No Garbage Disposing - sellall(): linked wares, low yield, below price floor");
-         errorFound |= testNGDLinkedWares(gold_block, gold_ingot, -9,
-                                          -1, 10, 0, false, false);
+         TEST_OUTPUT.println("getPrices() - invalid indices");
+         float[] prices = new float[2];
+         Marketplace.getPrices(new int[]{-1, Integer.MAX_VALUE}, null, Marketplace.PriceType.CURRENT_SELL, prices);
+         if (!Float.isNaN(prices[0]) || !Float.isNaN(prices[1])) {
+            TEST_OUTPUT.println("   unexpected prices: " + prices[0] + ", " + prices[1] + ", should be NaN");
+            errorFound = true;
+         }
+
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         Config.noGarbageDisposing = false;
-         TEST_OUTPUT.println("No Garbage Disposing - fatal error: " + e);
+         resetTestEnvironment();
+         TEST_OUTPUT.println("getPrices() - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
-      Config.noGarbageDisposing = false;
 
       return !errorFound;
    }
 
    /**
-    * Evaluates whether fixing wares' prices
-    * was handled correctly for a typical case of selling something.
-    * Prints errors, if found.
-    * <p>
-    * Complexity: O(1)
-    * @param ware                  the ware to be sold
-    * @param quantityWare          how much quantity available for sale the ware should be set to
-    * @param quantityToTrade       how much of the ware to sell
-    * @param priceBuyUpchargeMult  what to set the purchasing upcharge to
-    * @param priceMult             what to set the marketplace price multiplier
-    * @param testNumber            test number to use when printing errors
-    * @param printTestNumber       whether to print test numbers
-    * @param isPurchase            whether the transaction should buy wares
-    * @return true if an error was discovered
+    * Compares prices calculated in batches
+    * against prices calculated for each ware individually
+    * for every ware, price type, and several quantities.
+    *
+    * @return <code>true</code> if an error was found
+    *         <code>false</code> if batch prices are accurate
     */
-   private static boolean testPETrade(Ware ware, int quantityWare, int quantityToTrade,
-                                      float priceBuyUpchargeMult, float priceMult,
-                                      int testNumber, boolean printTestNumber, boolean isPurchase) {
-      String  testIdentifier;     // can be added to printed errors to differentiate between tests
-      boolean errorFound = false; // assume innocence until proven guilty
+   private static boolean compareBatchPrices() {
+      final int[] QUANTITIES_TRADED = {1, 7, 64, 1000};
+      boolean errorFound  = false;
+      Ware[]  waresPriced = wares.values().toArray(new Ware[0]);
+      int[]   wareIndices = new int[waresPriced.length];
+      int[]   quantities  = new int[waresPriced.length];
+      float[] prices      = new float[waresPriced.length];
+      float   price;
+
+      for (int i = 0; i < waresPriced.length; i++)
+         wareIndices[i] = Marketplace.getWareIndex(waresPriced[i]);
+
+      for (Marketplace.PriceType priceType : Marketplace.PriceType.values()) {
+         for (int quantity : QUANTITIES_TRADED) {
+            Arrays.fill(quantities, quantity);
+            Marketplace.getPrices(wareIndices, quantities, priceType, prices);
+
+            for (int i = 0; i < waresPriced.length; i++) {
+               price = Marketplace.getPrice(null, waresPriced[i], quantity, priceType);
+               if (Float.compare(price, prices[i]) != 0) {
+                  TEST_OUTPUT.println("   unexpected " + priceType + " price for " + quantity + " " + waresPriced[i].getWareID() + ": " + prices[i] + ", should be " + price);
+                  errorFound = true;
+               }
+            }
+         }
+      }
 
-      float priceUnitBefore; // ware's price per unit before trading
-      float priceUnitAfter;  // ware's price per unit after trading
+      return errorFound;
+   }
 
-      if (printTestNumber)
-         testIdentifier = " (#" + testNumber + ")";
-      else
-         testIdentifier = "";
+   /**
+    * Tests whether the marketplace's mutex prevents threads from losing
+    * updates to wares' quantities when adjusting them simultaneously.
+    *
+    * @return whether the marketplace's mutex passed all test cases
+    */
+   private static boolean testUnitMarketMutex() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-      // set up test conditions
-      playerAccount.setMoney(10000.0f);
-      ware.setQuantity(quantityWare);
-      UserInterfaceTerminal.inventory.clear();
-      UserInterfaceTerminal.inventory.put(ware.getWareID(), quantityToTrade);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-      // set up test oracles
-      if (isPurchase)
-         priceUnitBefore = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_BUY);
-      else
-         priceUnitBefore = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_SELL);
-      if (priceBuyUpchargeMult != Config.priceBuyUpchargeMult && isPurchase) {
-         priceUnitBefore /= Config.priceBuyUpchargeMult;
-         priceUnitBefore *= priceBuyUpchargeMult;
-      }
-      if (priceMult != Config.priceMult) {
-         priceUnitBefore /= Config.priceMult;
-         priceUnitBefore *= priceMult;
-      }
+      final int NUM_THREADS       = 8;    // how many threads should adjust wares simultaneously
+      final int NUM_ITERATIONS    = 5000; // how many adjustments each thread should make
+      final int quantityStart1    = testWare1.getQuantity();
+      final int quantityStart2    = testWare2.getQuantity();
+      final int NUM_TRADES        = 500;  // how many times each trader should buy and sell
+      final int QUANTITY_START    = 1000; // ware's quantity for sale before trading
+      final long MONEY_START      = Money.fromFloat(10000.0f); // account's funds before trading
+      final String[] DIRECTIONS   = {StringTable.INVENTORY_DOWN, StringTable.INVENTORY_UP, StringTable.INVENTORY_NORTH,
+                                     StringTable.INVENTORY_EAST, StringTable.INVENTORY_WEST, StringTable.INVENTORY_SOUTH};
+      final List<Map<String, Integer>> INVENTORIES = Arrays.asList(UserInterfaceTerminal.inventoryDown, UserInterfaceTerminal.inventoryUp, UserInterfaceTerminal.inventoryNorth,
+                                                                   UserInterfaceTerminal.inventoryEast, UserInterfaceTerminal.inventoryWest, UserInterfaceTerminal.inventorySouth);
+      final int[] BOUGHT          = new int[DIRECTIONS.length]; // each trader's successful purchases
+      final int[] SOLD            = new int[DIRECTIONS.length]; // each trader's successful sales
+      Thread[]  threads           = new Thread[NUM_THREADS];
+      Thread[]  traders           = new Thread[DIRECTIONS.length];
+      long[]    metrics;
+      long      unitsBuying;  // funds taken for buying one unit
+      long      unitsSelling; // funds given for selling one unit
+      long      moneyExpected;
+      int       quantityHeld;
+      int       numBought;
+      int       numSold;
 
-      // set up rest of test conditions
-      Config.priceBuyUpchargeMult = priceBuyUpchargeMult;
-      Config.priceMult            = priceMult;
+      try {
+         TEST_OUTPUT.println("acquireMutex() - reentrant acquisition");
+         Marketplace.resetMutexMetrics();
+         Marketplace.acquireMutex();
+         Marketplace.acquireMutex();
+         Marketplace.releaseMutex();
+         Marketplace.releaseMutex();
+         Marketplace.releaseMutex(); // releasing an unheld mutex should do nothing
+         metrics = Marketplace.getMutexMetrics();
+         if (metrics[0] != 1) {
+            TEST_OUTPUT.println("   unexpected acquisitions: " + metrics[0] + ", should be 1");
+            errorFound = true;
+         }
+         if (metrics[1] != 0) {
+            TEST_OUTPUT.println("   unexpected contentions: " + metrics[1] + ", should be 0");
+            errorFound = true;
+         }
+
+         TEST_OUTPUT.println("acquireMutex() - simultaneous adjustments");
+         Marketplace.resetMutexMetrics();
+         for (int i = 0; i < NUM_THREADS; i++) {
+            final boolean adding = i % 2 == 0; // half of threads add quantity, half subtract
+            threads[i] = new Thread(() -> {
+               for (int j = 0; j < NUM_ITERATIONS; j++) {
+                  Marketplace.acquireMutex();
+                  if (adding) {
+                     testWare1.addQuantity(2);
+                     testWare2.addQuantity(1);
+                  }
+                  else {
+                     testWare1.subtractQuantity(1);
+                     testWare2.addQuantity(1);
+                  }
+                  Marketplace.releaseMutex();
+               }
+            });
+         }
+         for (Thread thread : threads)
+            thread.start();
+         for (Thread thread : threads)
+            thread.join();
 
-      // test as normal
-      baosOut.reset(); // clear buffer holding console output
-      if (isPurchase) {
-         Marketplace.buy(PLAYER_ID, null, null, ware.getWareID(), quantityToTrade, 1000.0f, 1.0f);
-         priceUnitAfter  = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_BUY);
-         quantityToTrade = -quantityToTrade; // to ease checking ware's quantity available for sale
-      }
-      else {
-         Marketplace.sell(PLAYER_ID, null, null, ware.getWareID(), 0, quantityToTrade, 0.0f, 1.0f);
-         priceUnitAfter = Marketplace.getPrice(PLAYER_ID, ware, 1, Marketplace.PriceType.CURRENT_SELL);
-      }
+         if (testWare1.getQuantity() != quantityStart1 + (NUM_THREADS / 2) * NUM_ITERATIONS) {
+            TEST_OUTPUT.println("   unexpected quantity for " + testWare1.getWareID() + ": " + testWare1.getQuantity() + ", should be " + (quantityStart1 + (NUM_THREADS / 2) * NUM_ITERATIONS));
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityStart2 + NUM_THREADS * NUM_ITERATIONS) {
+            TEST_OUTPUT.println("   unexpected quantity for " + testWare2.getWareID() + ": " + testWare2.getQuantity() + ", should be " + (quantityStart2 + NUM_THREADS * NUM_ITERATIONS));
+            errorFound = true;
+         }
+         metrics = Marketplace.getMutexMetrics();
+         if (metrics[0] != NUM_THREADS * NUM_ITERATIONS) {
+            TEST_OUTPUT.println("   unexpected acquisitions: " + metrics[0] + ", should be " + (NUM_THREADS * NUM_ITERATIONS));
+            errorFound = true;
+         }
+         if (metrics[1] > metrics[0] || metrics[2] < metrics[3] || metrics[3] < 0) {
+            TEST_OUTPUT.println("   inconsistent wait time metrics: " + Arrays.toString(metrics));
+            errorFound = true;
+         }
 
-      // check ware properties
-      if (ware.getQuantity() != quantityWare + quantityToTrade) {
-         TEST_OUTPUT.println("   unexpected quantity" + testIdentifier + ": " + ware.getQuantity() +
-                            ", should be " + (quantityWare + quantityToTrade));
-         errorFound = true;
+         // each trader uses its own inventory, but every trader shares one account and ware
+         // constant prices and fixed-point funds make the account's final funds exact
+         Config.pricesIgnoreSupplyAndDemand = true;
+         Account.setFixedPointMoney(true);
+         for (boolean lockFree : new boolean[]{false, true}) {
+            TEST_OUTPUT.println("acquireMutex() - simultaneous trades using one account and ware" + (lockFree ? " without the mutex" : ""));
+            Config.lockFreeTrading = lockFree;
+            for (Map<String, Integer> inventory : INVENTORIES)
+               inventory.clear();
+
+            // find how much one unit costs and earns
+            testWare1.setQuantity(QUANTITY_START);
+            testAccount1.setMoneyUnits(MONEY_START);
+            Marketplace.buy(PLAYER_ID, null, "testAccount1", testWare1.getWareID(), 1, Float.NaN, 1.0f);
+            unitsBuying  = MONEY_START - testAccount1.getMoneyUnits();
+            Marketplace.sell(PLAYER_ID, null, "testAccount1", testWare1.getWareID(), 0, 1, Float.NaN, 1.0f);
+            unitsSelling = testAccount1.getMoneyUnits() - MONEY_START + unitsBuying;
+            if (unitsBuying <= 0L || unitsSelling <= 0L || testWare1.getQuantity() != QUANTITY_START) {
+               TEST_OUTPUT.println("   unexpected trade of one unit: bought for " + unitsBuying + " and sold for " + unitsSelling + " with " + testWare1.getQuantity() + " left, should be " + QUANTITY_START);
+               errorFound = true;
+               continue;
+            }
+            testAccount1.setMoneyUnits(MONEY_START);
+
+            // buy and sell simultaneously, counting what each trader's inventory gained or lost
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+               final int                       TRADER      = i;
+               final UserInterface.Coordinates COORDINATES = Config.userInterface.getInventoryCoordinates(PLAYER_ID, null, DIRECTIONS[i]);
+               final Map<String, Integer>      INVENTORY   = INVENTORIES.get(i);
+               BOUGHT[i] = 0;
+               SOLD[i]   = 0;
+               traders[i] = new Thread(() -> {
+                  int held;
+                  for (int j = 0; j < NUM_TRADES; j++) {
+                     held = INVENTORY.getOrDefault(testWare1.getWareID(), 0);
+                     Marketplace.buy(PLAYER_ID, COORDINATES, "testAccount1", testWare1.getWareID(), 1 + j % 3, Float.NaN, 1.0f);
+                     BOUGHT[TRADER] += INVENTORY.getOrDefault(testWare1.getWareID(), 0) - held;
+
+                     held = INVENTORY.getOrDefault(testWare1.getWareID(), 0);
+                     Marketplace.sell(PLAYER_ID, COORDINATES, "testAccount1", testWare1.getWareID(), 0, 1 + (j + 1) % 3, Float.NaN, 1.0f);
+                     SOLD[TRADER] += held - INVENTORY.getOrDefault(testWare1.getWareID(), 0);
+                  }
+               });
+            }
+            for (Thread trader : traders)
+               trader.start();
+            for (Thread trader : traders)
+               trader.join();
+
+            // stock leaving the market must be held by traders and funds must match what was traded
+            numBought    = 0;
+            numSold      = 0;
+            quantityHeld = 0;
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+               numBought    += BOUGHT[i];
+               numSold      += SOLD[i];
+               quantityHeld += INVENTORIES.get(i).getOrDefault(testWare1.getWareID(), 0);
+            }
+            moneyExpected = MONEY_START - numBought * unitsBuying + numSold * unitsSelling;
+            if (numBought == 0 || numSold == 0) {
+               TEST_OUTPUT.println("   traders should have bought and sold, bought " + numBought + " and sold " + numSold);
+               errorFound = true;
+            }
+            if (testWare1.getQuantity() + quantityHeld != QUANTITY_START || quantityHeld != numBought - numSold) {
+               TEST_OUTPUT.println("   stock was not conserved: " + testWare1.getQuantity() + " for sale and " + quantityHeld + " held, should total " + QUANTITY_START);
+               errorFound = true;
+            }
+            if (testAccount1.getMoneyUnits() != moneyExpected) {
+               TEST_OUTPUT.println("   funds were not conserved: " + Money.toFloat(testAccount1.getMoneyUnits()) + ", should be " + Money.toFloat(moneyExpected));
+               errorFound = true;
+            }
+         }
+
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         Marketplace.releaseMutex();
+         resetTestEnvironment();
+         TEST_OUTPUT.println("Marketplace's mutex - fatal error: " + e);
+         e.printStackTrace();
+         return false;
       }
-      // check price
-      errorFound |= testPrice(priceUnitAfter, priceUnitBefore, "price", testIdentifier);
 
-      return errorFound;
+      return !errorFound;
    }
 
    /**
-    * Tests the configuration option to fix all prices.
+    * Tests whether trades committed using compare-and-set
+    * adjust wares' quantities correctly, including linked wares.
     *
-    * @return whether price-setting passed all test cases
+    * @return whether lock-free trading passed all test cases
     */
-   private static boolean testUnitPlannedEconomy() {
+   private static boolean testUnitLockFreeTrading() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
-      Config.pricesIgnoreSupplyAndDemand = true;
 
-      try {
-         TEST_OUTPUT.println("Planned Economy - buying: excessive surplus");
-         errorFound |= testPETrade(testWare1, Config.quanExcessive[testWare1.getLevel()], 10,
-                                   1.0f, 1.0f, 0, false, true);
+      // linked ware whose components must be committed together
+      // another thread changes stone while wood is being committed
+      final int[]     woodRestorations = new int[1];
+      final Runnable[] interference     = new Runnable[1];
+      final Thread[]   traders          = new Thread[1];
+      final boolean[]  interleaved      = new boolean[1];
+      Ware wood = new WareMaterial("minecraft:log", "wood", 0.5f, 10, (byte) 0) {
+         @Override
+         public void addQuantity(int adjustment) {
+            super.addQuantity(adjustment);
+            if (interference[0] == null && adjustment > 0)
+               woodRestorations[0]++; // a purchase's component being restored
+         }
+
+         @Override
+         public void subtractQuantity(int adjustment) {
+            super.subtractQuantity(adjustment);
+            if (interference[0] != null) {
+               final Runnable INTERFERENCE = interference[0];
+               interference[0] = null;
+               INTERFERENCE.run();
+            }
+         }
 
-         TEST_OUTPUT.println("Planned Economy - buying: mild surplus");
-         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.1f), 10,
-                                   1.0f, 1.0f, 0, false, true);
+         @Override
+         public boolean compareAndSetQuantity(int expected, int updated) {
+            final boolean COMMITTED = super.compareAndSetQuantity(expected, updated);
+            if (COMMITTED && updated < expected && interference[0] != null) {
+               final Runnable INTERFERENCE = interference[0];
+               interference[0] = null;
+               INTERFERENCE.run();
+            }
+            return COMMITTED;
+         }
+      };
+      wares.put("minecraft:log", wood);
+      wareAliasTranslations.put("wood", "minecraft:log");
+      Ware stone = new WareMaterial("minecraft:stone", "stone", 0.2f, 10, (byte) 0);
+      wares.put("minecraft:stone", stone);
+      wareAliasTranslations.put("stone", "minecraft:stone");
+      WareLinked axe = new WareLinked(new String[]{"wood", "stone"}, new int[]{1, 3}, "minecraft:stone_axe", "stone_axe", 2);
+      wares.put("minecraft:stone_axe", axe);
+      wareAliasTranslations.put("stone_axe", "minecraft:stone_axe");
+      String validationError = axe.validate();
+      if (validationError != null && !validationError.isEmpty())
+         TEST_OUTPUT.println("failed to set up linked wares - stone_axe: " + validationError);
 
-         TEST_OUTPUT.println("Planned Economy - buying: at equilibrium");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   1.0f, 1.0f, 0, false, true);
+      final int NUM_THREADS    = 8;    // how many threads should adjust wares simultaneously
+      final int NUM_ITERATIONS = 5000; // how many adjustments each thread should make
+      Thread[]  threads        = new Thread[NUM_THREADS];
+      int       quantityStart;
 
-         TEST_OUTPUT.println("Planned Economy - buying: mild shortage");
-         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.9f), 10,
-                                   1.0f, 1.0f, 0, false, true);
+      try {
+         TEST_OUTPUT.println("compareAndSetQuantity() - expected quantity");
+         testWare1.setQuantity(100);
+         if (!testWare1.compareAndSetQuantity(100, 90) || testWare1.getQuantity() != 90) {
+            TEST_OUTPUT.println("   unexpected quantity: " + testWare1.getQuantity() + ", should be 90");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("Planned Economy - buying: severe shortage");
-         errorFound |= testPETrade(testWare1, Config.quanDeficient[testWare1.getLevel()], 10,
-                                   1.0f, 1.0f, 0, false, true);
+         TEST_OUTPUT.println("compareAndSetQuantity() - unexpected quantity");
+         if (testWare1.compareAndSetQuantity(100, 80) || testWare1.getQuantity() != 90) {
+            TEST_OUTPUT.println("   unexpected quantity: " + testWare1.getQuantity() + ", should be 90");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("Planned Economy - buying: buying upcharge");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   2.0f, 1.0f, 0, false, true);
+         TEST_OUTPUT.println("compareAndSetQuantity() - linked ware");
+         wood.setQuantity(20);
+         stone.setQuantity(30);
+         quantityStart = axe.getQuantity(); // 10 recipe iterations * 2 yield
+         if (quantityStart != 20 || !axe.compareAndSetQuantity(quantityStart, 15) ||
+             wood.getQuantity() != 17 || stone.getQuantity() != 21 || axe.getQuantity() != 15) {
+            TEST_OUTPUT.println("   unexpected quantities: " + axe.getQuantity() + ", " + wood.getQuantity() + ", " + stone.getQuantity() + ", should be 15, 17, 21");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("Planned Economy - buying: price multiplier, high");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   1.0f, 2.0f, 0, false, true);
+         TEST_OUTPUT.println("compareAndSetQuantity() - linked ware with outdated quantity");
+         if (axe.compareAndSetQuantity(20, 10) ||
+             wood.getQuantity() != 17 || stone.getQuantity() != 21 || axe.getQuantity() != 15) {
+            TEST_OUTPUT.println("   unexpected quantities: " + axe.getQuantity() + ", " + wood.getQuantity() + ", " + stone.getQuantity() + ", should be 15, 17, 21");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("Planned Economy - buying: price multiplier, low");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   1.0f, 0.5f, 0, false, true);
+         TEST_OUTPUT.println("compareAndSetQuantity() - linked ware's component changing mid-trade");
+         wood.setQuantity(20);
+         stone.setQuantity(30);
+         interference[0] = () -> {
+            // trade a component between the linked ware's adjustments to its components
+            final int QUANTITY_READ = stone.getQuantity();
+            traders[0] = new Thread(() -> {
+               interleaved[0] = stone.compareAndSetQuantity(QUANTITY_READ, QUANTITY_READ - 3);
+               int quantityRead;
+               if (!interleaved[0]) {
+                  do {
+                     quantityRead = stone.getQuantity();
+                  } while (!stone.compareAndSetQuantity(quantityRead, quantityRead - 3));
+               }
+            });
+            traders[0].start();
 
-         TEST_OUTPUT.println("Planned Economy - selling: excessive surplus");
-         errorFound |= testPETrade(testWare1, Config.quanExcessive[testWare1.getLevel()], 10,
-                                   1.0f, 1.0f, 0, false, false);
+            // give the component's trade a chance to commit or to wait for the mutex
+            for (int i = 0; i < 500 && traders[0].isAlive() && traders[0].getState() != Thread.State.WAITING; i++) {
+               try {
+                  traders[0].join(10);
+               } catch (InterruptedException e) { }
+            }
+         };
+         quantityStart = axe.getQuantity();
+         if (!axe.compareAndSetQuantity(quantityStart, 15) || interference[0] != null) {
+            TEST_OUTPUT.println("   linked trade should have been committed despite its component changing");
+            errorFound = true;
+         }
+         traders[0].join();
+         if (interleaved[0]) {
+            TEST_OUTPUT.println("   component was traded between the linked ware's adjustments to its components");
+            errorFound = true;
+         }
+         if (wood.getQuantity() != 17 || stone.getQuantity() != 18 || woodRestorations[0] != 0) {
+            TEST_OUTPUT.println("   unexpected quantities: " + wood.getQuantity() + ", " + stone.getQuantity() + ", should be 17, 18; components restored: " + woodRestorations[0]);
+            errorFound = true;
+         }
+         interference[0] = null;
+
+         TEST_OUTPUT.println("compareAndSetQuantity() - simultaneous adjustments");
+         testWare1.setQuantity(0);
+         for (int i = 0; i < NUM_THREADS; i++) {
+            threads[i] = new Thread(() -> {
+               int quantityRead;
+               for (int j = 0; j < NUM_ITERATIONS; j++) {
+                  do {
+                     quantityRead = testWare1.getQuantity();
+                  } while (!testWare1.compareAndSetQuantity(quantityRead, quantityRead + 1));
+                  testWare2.addQuantity(1);
+               }
+            });
+         }
+         quantityStart = testWare2.getQuantity();
+         for (Thread thread : threads)
+            thread.start();
+         for (Thread thread : threads)
+            thread.join();
+         if (testWare1.getQuantity() != NUM_THREADS * NUM_ITERATIONS) {
+            TEST_OUTPUT.println("   unexpected quantity for " + testWare1.getWareID() + ": " + testWare1.getQuantity() + ", should be " + (NUM_THREADS * NUM_ITERATIONS));
+            errorFound = true;
+         }
+         if (testWare2.getQuantity() != quantityStart + NUM_THREADS * NUM_ITERATIONS) {
+            TEST_OUTPUT.println("   unexpected quantity for " + testWare2.getWareID() + ": " + testWare2.getQuantity() + ", should be " + (quantityStart + NUM_THREADS * NUM_ITERATIONS));
+            errorFound = true;
+         }
+
+         // trades should behave as they do when using the mutex
+         resetTestEnvironment();
+         Config.lockFreeTrading = true;
 
-         TEST_OUTPUT.println("Planned Economy - selling: mild surplus");
-         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 1.1f), 10,
-                                   1.0f, 1.0f, 0, false, false);
+         TEST_OUTPUT.println("lock-free buy() - buying some of a ware with means to buy more");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", null, "100.0", Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 8, 8, 0, false, true, false);
 
-         TEST_OUTPUT.println("Planned Economy - selling: at equilibrium");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   1.0f, 1.0f, 0, false, false);
+         TEST_OUTPUT.println("lock-free buy() - buying-out ware by ordering more than is available");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", null, "100.0", Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], Config.quanEquilibrium[testWare1.getLevel()], 1000, 0, false, true, false);
 
-         TEST_OUTPUT.println("Planned Economy - selling: mild shortage");
-         errorFound |= testPETrade(testWare1, (int) (Config.quanEquilibrium[testWare1.getLevel()] * 0.9f), 10,
-                                   1.0f, 1.0f, 0, false, false);
+         TEST_OUTPUT.println("lock-free buy() - over-ordering, (quad2 to quad2), below equilibrium to below equilibrium");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", null, "10.0", 10.0f,
+                                   192, 6, 999, 0, false, true, false);
 
-         TEST_OUTPUT.println("Planned Economy - selling: severe shortage");
-         errorFound |= testPETrade(testWare1, Config.quanDeficient[testWare1.getLevel()], 10,
-                                   1.0f, 1.0f, 0, false, false);
+         TEST_OUTPUT.println("lock-free sell() - selling some of a ware");
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, null, null, Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, false);
 
-         TEST_OUTPUT.println("Planned Economy - selling: buying upcharge");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   2.0f, 1.0f, 0, false, false);
+         TEST_OUTPUT.println("lock-free sellall() - flat fee, holding off selling until profitable");
+         Config.transactionFeeSellingIsMult = false;
+         errorFound |= testerSellTransActFeeAll(testWare4, testWareC1, testWareP2,
+                                                4, 2, 1, 5.0f, 1, true);
 
-         TEST_OUTPUT.println("Planned Economy - selling: price multiplier, high");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   1.0f, 2.0f, 0, false, false);
+         errorFound |= testerSellTransActFeeAll(testWare1, testWareC2, null,
+                                                10, 5, 0, 100.0f, 2, true);
+         Config.chargeTransactionFees = false;
 
-         TEST_OUTPUT.println("Planned Economy - selling: price multiplier, low");
-         errorFound |= testPETrade(testWare1, Config.quanEquilibrium[testWare1.getLevel()], 10,
-                                   1.0f, 0.5f, 0, false, false);
+         TEST_OUTPUT.println("lock-free sell() - keeping the caller's hold on the mutex");
+         UserInterfaceTerminal.inventory.put("test:material1", 10);
+         Marketplace.acquireMutex();
+         Marketplace.sell(PLAYER_ID, null, null, "test:material1", 0, 10, 0.0f, 1.0f);
+         if (!Marketplace.isMutexHeldByCurrentThread()) {
+            TEST_OUTPUT.println("   selling released a hold on the mutex it did not acquire");
+            errorFound = true;
+         }
+         while (Marketplace.isMutexHeldByCurrentThread())
+            Marketplace.releaseMutex();
       }
       catch (Exception e) {
-         Config.pricesIgnoreSupplyAndDemand = false;
-         TEST_OUTPUT.println("Planned Economy - fatal error: " + e);
+         while (Marketplace.isMutexHeldByCurrentThread())
+            Marketplace.releaseMutex();
+         Config.lockFreeTrading = false;
+         TEST_OUTPUT.println("lock-free trading - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
-      Config.pricesIgnoreSupplyAndDemand = false;
+      Config.lockFreeTrading = false;
 
       return !errorFound;
    }
 
    /**
-    * Tests whether passing price multipliers as part of the parameters of trade commands is handled correctly.
+    * Tests making changes to wares on a single market thread,
+    * comparing its throughput with threads taking turns holding the marketplace's mutex.
     *
-    * @return whether the trade command price multiplier parameters passed all test cases
+    * @return whether the market thread passed all test cases
     */
-   private static boolean testUnitLocalizedPrices() {
+   private static boolean testUnitMarketEventLoop() {
       // use a flag to signal at least one error being found
       boolean errorFound = false;
 
       // ensure testing environment is properly set up
       resetTestEnvironment();
 
-      try {
-         TEST_OUTPUT.println("buy() - no multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, null, null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
-
-         TEST_OUTPUT.println("buy() - invalid multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
-
-         TEST_OUTPUT.println("buy() - zero multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
-
-         TEST_OUTPUT.println("buy() - 100% multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%1", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
-
-         TEST_OUTPUT.println("buy() - high multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%10.00", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
+      final int NUM_THREADS    = 8;    // how many threads should request changes simultaneously
+      final int NUM_ITERATIONS = runBenchmarks ? 5000 : 500; // how many changes each thread should request
+      final String[] threadNames = new String[1];
+      final boolean[] ranInline  = new boolean[1];
+      final java.util.concurrent.atomic.AtomicInteger FAILURES_CAUGHT = new java.util.concurrent.atomic.AtomicInteger();
+      final Runnable INCREMENT   = () -> testWare1.setQuantity(testWare1.getQuantity() + 1); // unsafe unless changes are made one at a time
+      final Runnable TRADE       = () -> {
+         Marketplace.acquireMutex();
+         testWare2.subtractQuantity(1);
+         testWare2.addQuantity(1);
+         testWare1.addQuantity(1);
+         Marketplace.releaseMutex();
+      };
+      Thread[] threads = new Thread[NUM_THREADS];
+      long     timeLock;
+      long     timeLoop;
 
-         TEST_OUTPUT.println("buy() - low multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
+      try {
+         TEST_OUTPUT.println("market event loop - rounding capacity");
+         if (MarketEventLoop.roundUpToPowerOfTwo(1000) != 1024 || MarketEventLoop.roundUpToPowerOfTwo(1024) != 1024 ||
+             MarketEventLoop.roundUpToPowerOfTwo(1) != 1) {
+            TEST_OUTPUT.println("   unexpected capacity: " + MarketEventLoop.roundUpToPowerOfTwo(1000) + ", should be 1024");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("buy() - no admin permissions");
-         errorFound |= testerTrade("possibleID", null, testWare1, "testAccount3", "%1.00", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
+         TEST_OUTPUT.println("market event loop - disabled by default");
+         MarketEventLoop.startOrReconfig();
+         MarketEventLoop.execute(() -> threadNames[0] = Thread.currentThread().getName());
+         if (MarketEventLoop.isRunning() || !Thread.currentThread().getName().equals(threadNames[0])) {
+            TEST_OUTPUT.println("   changes were not made on the requesting thread");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("buy() - specified quantity");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 100, 100, 0, false, true, true);
+         TEST_OUTPUT.println("market event loop - changes are made on the market thread");
+         Config.marketEventLoop         = true;
+         Config.marketEventLoopCapacity = 16; // small enough for requests to fill the queue
+         MarketEventLoop.startOrReconfig();
+         MarketEventLoop.execute(() -> threadNames[0] = Thread.currentThread().getName());
+         if (!MarketEventLoop.isRunning() || !"CommandEconomy-market".equals(threadNames[0])) {
+            TEST_OUTPUT.println("   change was made on " + threadNames[0] + ", should be CommandEconomy-market");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("buy() - specified unit price");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.75", "1.1", Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 61, 100, 0, false, true, true);
+         TEST_OUTPUT.println("market event loop - nested changes are made immediately");
+         MarketEventLoop.execute(() -> MarketEventLoop.execute(() -> ranInline[0] = true));
+         if (!ranInline[0]) {
+            TEST_OUTPUT.println("   nested change was not made");
+            errorFound = true;
+         }
+         ranInline[0] = false;
+         Marketplace.acquireMutex();
+         MarketEventLoop.execute(() -> ranInline[0] = true);
+         Marketplace.releaseMutex();
+         if (!ranInline[0]) {
+            TEST_OUTPUT.println("   change requested while holding the mutex was not made");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("buy() - specified account");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", "%0.50", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
+         TEST_OUTPUT.println("market event loop - failures are reported to requesting threads");
+         FAILURES_CAUGHT.set(0);
+         try {
+            MarketEventLoop.execute(() -> {
+               Marketplace.acquireMutex();
+               Marketplace.acquireMutex(); // nested trades may hold the mutex more than once
+               throw new IllegalStateException("intentional failure");
+            });
+         } catch (IllegalStateException e) {
+            FAILURES_CAUGHT.incrementAndGet();
+         }
+         if (FAILURES_CAUGHT.get() != 1) {
+            TEST_OUTPUT.println("   failure was not reported to the requesting thread");
+            errorFound = true;
+         }
+         threads[0] = new Thread(() -> {
+            Marketplace.acquireMutex();
+            Marketplace.releaseMutex();
+         });
+         threads[0].start();
+         threads[0].join(5000);
+         if (threads[0].isAlive()) {
+            TEST_OUTPUT.println("   failed change left the mutex held");
+            errorFound = true;
+         }
+         ranInline[0] = false;
+         MarketEventLoop.execute(() -> ranInline[0] = true);
+         if (!ranInline[0]) {
+            TEST_OUTPUT.println("   change after a failure was not made");
+            errorFound = true;
+         }
+         FAILURES_CAUGHT.set(0);
+         testWare1.setQuantity(0);
+         for (int i = 0; i < NUM_THREADS; i++) {
+            threads[i] = new Thread(() -> {
+               for (int j = 0; j < NUM_ITERATIONS / 10; j++) {
+                  try {
+                     if (j % 3 == 0)
+                        MarketEventLoop.execute(() -> { throw new IllegalStateException("intentional failure"); });
+                     else
+                        MarketEventLoop.execute(INCREMENT);
+                  } catch (IllegalStateException e) {
+                     FAILURES_CAUGHT.incrementAndGet();
+                  }
+               }
+            });
+         }
+         for (Thread thread : threads)
+            thread.start();
+         for (Thread thread : threads)
+            thread.join();
+         if (FAILURES_CAUGHT.get() != NUM_THREADS * ((NUM_ITERATIONS / 10 + 2) / 3) ||
+             testWare1.getQuantity() != NUM_THREADS * (NUM_ITERATIONS / 10 - (NUM_ITERATIONS / 10 + 2) / 3)) {
+            TEST_OUTPUT.println("   unexpected failures and quantity: " + FAILURES_CAUGHT.get() + " and " + testWare1.getQuantity() +
+                                ", should be " + (NUM_THREADS * ((NUM_ITERATIONS / 10 + 2) / 3)) + " and " + (NUM_THREADS * (NUM_ITERATIONS / 10 - (NUM_ITERATIONS / 10 + 2) / 3)));
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("buy() - specified unit price and account");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount2", "%0.75", "1.1", Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 61, 100, 0, false, true, true);
+         TEST_OUTPUT.println("market event loop - simultaneous changes are made one at a time");
+         testWare1.setQuantity(0);
+         for (int i = 0; i < NUM_THREADS; i++) {
+            threads[i] = new Thread(() -> {
+               for (int j = 0; j < NUM_ITERATIONS; j++)
+                  MarketEventLoop.execute(INCREMENT);
+            });
+         }
+         for (Thread thread : threads)
+            thread.start();
+         for (Thread thread : threads)
+            thread.join();
+         if (testWare1.getQuantity() != NUM_THREADS * NUM_ITERATIONS) {
+            TEST_OUTPUT.println("   unexpected quantity: " + testWare1.getQuantity() + ", should be " + (NUM_THREADS * NUM_ITERATIONS));
+            errorFound = true;
+         }
+         if (MarketEventLoop.getMetrics()[1] > 16) {
+            TEST_OUTPUT.println("   unexpected queue depth: " + MarketEventLoop.getMetrics()[1] + ", should be at most 16");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("sell() - no multiplier");
+         TEST_OUTPUT.println("market event loop - trades behave as they do on requesting threads");
+         Config.marketEventLoopCapacity = 1024;
+         MarketEventLoop.startOrReconfig();
+         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", null, "100.0", Float.NaN,
+                                   Config.quanEquilibrium[testWare1.getLevel()], 8, 8, 0, false, true, false);
          errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, null, null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - invalid multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 0, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - zero multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - 100% multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%1", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - high multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%10.00", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - low multiplier");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - no admin permissions");
-         errorFound |= testerTrade("possibleID", null, testWare1, "testAccount3", "%1.00", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - no specified quantity");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 0, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - specified quantity");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.10", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - specified unit price");
-         testWare1.setQuantity(Config.quanEquilibrium[testWare1.getLevel()]);
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, null, "%0.75", "0.50", Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], Marketplace.getQuantityUntilPrice(testWare1, 0.6666667f, false), 1000, 0, false, false, true);
-
-         TEST_OUTPUT.println("sell() - specified account");
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount1", "%0.10", null, Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, true, true);
-
-         TEST_OUTPUT.println("sell() - specified unit price and account");
-         testWare1.setQuantity(Config.quanEquilibrium[testWare1.getLevel()]);
-         errorFound |= testerTrade(UserInterfaceTerminal.playername, null, testWare1, "testAccount2", "%0.75", "0.50", Float.NaN,
-                                   Config.quanEquilibrium[testWare1.getLevel()], Marketplace.getQuantityUntilPrice(testWare1, 0.6666667f, false), 1000, 0, false, false, true);
-
-         TEST_OUTPUT.println("check() - no multiplier");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
-                                   null, 1.0f, 0, true);
-
-         TEST_OUTPUT.println("check() - invalid multiplier");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
-                                   "%", 1.0f, 0, true);
-
-         TEST_OUTPUT.println("check() - zero multiplier");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
-                                   "%0", 1.0f, 0, true);
+                                   Config.quanEquilibrium[testWare1.getLevel()], 10, 10, 0, false, false, false);
 
-         TEST_OUTPUT.println("check() - 100% multiplier");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
-                                   "%1.00", 1.0f, 0, true);
+         TEST_OUTPUT.println("market event loop - stopping finishes waiting changes");
+         testWare1.setQuantity(0);
+         for (int i = 0; i < NUM_THREADS; i++) {
+            threads[i] = new Thread(() -> {
+               for (int j = 0; j < NUM_ITERATIONS; j++)
+                  MarketEventLoop.execute(TRADE);
+            });
+         }
+         for (Thread thread : threads)
+            thread.start();
+         Config.marketEventLoop = false;
+         MarketEventLoop.startOrReconfig();
+         for (Thread thread : threads)
+            thread.join();
+         if (MarketEventLoop.isRunning() || testWare1.getQuantity() != NUM_THREADS * NUM_ITERATIONS) {
+            TEST_OUTPUT.println("   unexpected quantity: " + testWare1.getQuantity() + ", should be " + (NUM_THREADS * NUM_ITERATIONS));
+            errorFound = true;
+         }
+
+         if (runBenchmarks) {
+            TEST_OUTPUT.println("market event loop - throughput compared to holding the mutex");
+            for (int i = 0; i < NUM_THREADS; i++) {
+               threads[i] = new Thread(() -> {
+                  for (int j = 0; j < NUM_ITERATIONS; j++)
+                     MarketEventLoop.execute(TRADE);
+               });
+            }
+            timeLock = System.nanoTime();
+            for (Thread thread : threads)
+               thread.start();
+            for (Thread thread : threads)
+               thread.join();
+            timeLock = System.nanoTime() - timeLock;
+
+            Config.marketEventLoop = true;
+            MarketEventLoop.startOrReconfig();
+            for (int i = 0; i < NUM_THREADS; i++) {
+               threads[i] = new Thread(() -> {
+                  for (int j = 0; j < NUM_ITERATIONS; j++)
+                     MarketEventLoop.execute(TRADE);
+               });
+            }
+            timeLoop = System.nanoTime();
+            for (Thread thread : threads)
+               thread.start();
+            for (Thread thread : threads)
+               thread.join();
+            timeLoop = System.nanoTime() - timeLoop;
+            TEST_OUTPUT.println("   " + (NUM_THREADS * NUM_ITERATIONS) + " changes from " + NUM_THREADS + " threads: mutex " + (timeLock / 1000) + " microseconds, market thread " + (timeLoop / 1000) + " microseconds");
+         }
 
-         TEST_OUTPUT.println("check() - high multiplier");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWare1, 0,
-                                   "%100.00", 1.0f, 0, false);
+         MarketEventLoop.end();
+         Config.marketEventLoop = false;
+         resetTestEnvironment();
+      }
+      catch (Exception e) {
+         MarketEventLoop.end();
+         Config.marketEventLoop = false;
+         resetTestEnvironment();
+         TEST_OUTPUT.println("market event loop - fatal error: " + e);
+         e.printStackTrace();
+         return false;
+      }
 
-         TEST_OUTPUT.println("check() - low multiplier");
-         errorFound |= testerCheck(UserInterfaceTerminal.playername, testWareU1, 0,
-                                   "%0.01", 1.0f, 0, true);
+      return !errorFound;
+   }
 
-         TEST_OUTPUT.println("check() - no admin permissions");
-         errorFound |= testerCheck("possibleID", testWare1, 0,
-                                   "%10.00", 1.0f, 0, true);
+   /**
+    * Tests whether linked wares' quantities follow
+    * their components' quantities without recalculating on each read.
+    *
+    * @return whether linked wares' quantities passed all test cases
+    */
+   private static boolean testUnitLinkedQuantity() {
+      // use a flag to signal at least one error being found
+      boolean errorFound = false;
 
-         TEST_OUTPUT.println("check() - no specified quantity");
-         errorFound |= testerCheck("possibleID", testWare1, 0,
-                                   "%10.00", 1.0f, 0, true);
+      // ensure testing environment is properly set up
+      resetTestEnvironment();
 
-         TEST_OUTPUT.println("check() - specified quantity");
-         errorFound |= testerCheck("possibleID", testWare1, 10,
-                                   "%10.00", 1.0f, 0, true);
+      // linked ware made from two components
+      Ware wood = new WareMaterial("minecraft:log", "wood", 0.5f, 10, (byte) 0);
+      wares.put("minecraft:log", wood);
+      wareAliasTranslations.put("wood", "minecraft:log");
+      Ware stone = new WareMaterial("minecraft:stone", "stone", 0.2f, 30, (byte) 0);
+      wares.put("minecraft:stone", stone);
+      wareAliasTranslations.put("stone", "minecraft:stone");
+      WareLinked axe = new WareLinked(new String[]{"wood", "stone"}, new int[]{1, 3}, "minecraft:stone_axe", "stone_axe", 2);
+      wares.put("minecraft:stone_axe", axe);
+      wareAliasTranslations.put("stone_axe", "minecraft:stone_axe");
 
-         TEST_OUTPUT.println("sellall() - no multiplier");
-         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, null,
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+      final int NUM_THREADS    = 4;    // how many threads should adjust components simultaneously
+      final int NUM_ITERATIONS = 5000; // how many adjustments each thread should make
+      Thread[]  threads        = new Thread[NUM_THREADS];
 
-         TEST_OUTPUT.println("sellall() - invalid multiplier");
-         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%",
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+      try {
+         TEST_OUTPUT.println("linked quantity - initial quantity");
+         if (axe.getQuantity() != 20) {
+            TEST_OUTPUT.println("   unexpected quantity: " + axe.getQuantity() + ", should be 20");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("sellall() - zero multiplier");
-         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%0",
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+         TEST_OUTPUT.println("linked quantity - decreasing a non-constraining component");
+         wood.setQuantity(40);
+         stone.subtractQuantity(6); // stone now constrains: 24 / 3 = 8 iterations
+         if (axe.getQuantity() != 16) {
+            TEST_OUTPUT.println("   unexpected quantity: " + axe.getQuantity() + ", should be 16");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("sellall() - 100% multiplier");
-         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%1.0",
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+         TEST_OUTPUT.println("linked quantity - increasing the constraining component");
+         stone.addQuantity(300); // wood now constrains: 40 iterations
+         if (axe.getQuantity() != 80) {
+            TEST_OUTPUT.println("   unexpected quantity: " + axe.getQuantity() + ", should be 80");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("sellall() - high multiplier");
-         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%10",
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+         TEST_OUTPUT.println("linked quantity - trading the linked ware");
+         axe.subtractQuantity(10);
+         if (axe.getQuantity() != 70 || wood.getQuantity() != 35 || stone.getQuantity() != 309) {
+            TEST_OUTPUT.println("   unexpected quantities: " + axe.getQuantity() + ", " + wood.getQuantity() + ", " + stone.getQuantity() + ", should be 70, 35, 309");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("sellall() - low multiplier");
-         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, null, "%0.1",
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+         TEST_OUTPUT.println("linked quantity - reading does not change the ware");
+         axe.getQuantity();
+         if (axe.quantity != -2) {
+            TEST_OUTPUT.println("   unexpected stored quantity: " + axe.quantity + ", should be -2");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("sellall() - no admin permissions");
-         errorFound |= testerSellAll("possibleID", null, "testAccount3", "%0.1",
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+         TEST_OUTPUT.println("linked quantity - simultaneous adjustments");
+         wood.setQuantity(1000);
+         stone.setQuantity(3000);
+         for (int i = 0; i < NUM_THREADS; i++) {
+            final Ware component = i % 2 == 0 ? wood : stone;
+            threads[i] = new Thread(() -> {
+               for (int j = 0; j < NUM_ITERATIONS; j++) {
+                  component.addQuantity(3);
+                  axe.getQuantity();
+                  component.subtractQuantity(3);
+               }
+            });
+         }
+         for (Thread thread : threads)
+            thread.start();
+         for (Thread thread : threads)
+            thread.join();
+         if (axe.getQuantity() != 2000) {
+            TEST_OUTPUT.println("   unexpected quantity: " + axe.getQuantity() + ", should be 2000");
+            errorFound = true;
+         }
 
-         TEST_OUTPUT.println("sellall() - specified account");
-         errorFound |= testerSellAll(UserInterfaceTerminal.playername, null, "testAccount1", "%10",
-                                     testWare1, testWare3, null,
-                                     5, 10, 0, 0, true);
+         resetTestEnvironment();
       }
       catch (Exception e) {
-         TEST_OUTPUT.println("localized prices - fatal error: " + e);
+         resetTestEnvironment();
+         TEST_OUTPUT.println("linked quantity - fatal error: " + e);
          e.printStackTrace();
          return false;
       }
@@ -1563,28 +1563,40 @@ public final class CommandProcessor
          return;
       }
 
-      // set up variables
-      int  quantity = 2147483647;
-      Ware ware     = null;
-
       // grab the ware to be used
-      ware = Marketplace.translateAndGrab(args[0].intern());
+      final Ware WARE = Marketplace.translateAndGrab(args[0].intern());
       // if ware is not in the market, stop
-      if (ware == null) {
+      if (WARE == null) {
          Config.userInterface.printErrorToUser(playerID, StringTable.ERROR_WARE_MISSING + args[0]);
          return;
       }
 
+      // change stock on the market thread if it is running
+      final String CHANGE = args[1];
+      MarketEventLoop.execute(() -> changeStock(playerID, WARE, CHANGE));
+   }
+
+   /**
+    * Increases or decreases a ware's available quantity within the marketplace
+    * or sets the quantity to a certain level on the current thread.
+    *
+    * @param playerID player executing the command
+    * @param ware     ware whose quantity should be changed
+    * @param change   quantity to add, equilibrium, overstocked, or understocked
+    */
+   private static void changeStock(UUID playerID, Ware ware, String change) {
+      int quantity = 2147483647;
+
       // find where to set stock to
-      if (args[1].equalsIgnoreCase(StringTable.CHANGE_STOCK_EQUILIBRIUM))
+      if (change.equalsIgnoreCase(StringTable.CHANGE_STOCK_EQUILIBRIUM))
          quantity = Config.quanEquilibrium[ware.getLevel()];
-      else if (args[1].equalsIgnoreCase(StringTable.CHANGE_STOCK_OVERSTOCKED))
+      else if (change.equalsIgnoreCase(StringTable.CHANGE_STOCK_OVERSTOCKED))
          quantity = Config.quanExcessive[ware.getLevel()];
-      else if (args[1].equalsIgnoreCase(StringTable.CHANGE_STOCK_UNDERSTOCKED))
+      else if (change.equalsIgnoreCase(StringTable.CHANGE_STOCK_UNDERSTOCKED))
          quantity = Config.quanDeficient[ware.getLevel()];
       else {
          try {
-            quantity = Integer.parseInt(args[1]) + ware.getQuantity();
+            quantity = Integer.parseInt(change) + ware.getQuantity();
          } catch (NumberFormatException e) {
             // error message printed later
          }
@@ -15,7 +15,10 @@ import net.minecraftforge.event.world.WorldEvent;               // for saving ec
 @EventBusSubscriber(modid = CommandEconomy.MODID)
 public final class EventHandler {
    /**
-    * When the world is being saving, save the economy.
+    * When the world is being saving, save the economy
+    * so it stays consistent with players' inventories.
+    * Each dimension saves separately, but only the first save
+    * writes anything unless trading happens in between.
     *
     * @param event information concerning Minecraft's current state
     */
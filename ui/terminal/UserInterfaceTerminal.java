@@ -7,7 +7,6 @@ import java.util.LinkedList;           // for returning properties of wares foun
 import java.util.List;
 import java.util.Arrays;               // for removing the first element of user input before passing it to service request functions
 import java.util.UUID;                 // for more securely tracking users internally
-import java.util.Timer;                // for autosaving
 
 /**
  * Contains functions for interacting with a terminal
@@ -49,12 +48,6 @@ public class UserInterfaceTerminal implements UserInterface
    /** whether help output currently includes /research */
    private static boolean sbHelpContainsResearch = false;
 
-   // autosaving
-   /** for automatically and periodically saving wares and accounts */
-   private static Timer timerAutosaver = null;
-   /** for stopping the autosave thread gracefully */
-   private static Autosaver timertaskAutosaver = null;
-
    /** translates user input to functions that should fulfill users' requests */
    private static Map<String, Command> serviceableCommands = new HashMap<String, Command>(29, 1.0f);
 
@@ -101,13 +94,7 @@ public class UserInterfaceTerminal implements UserInterface
 
          System.out.println("Shutting down....");
 
-         // if necessary, stop autosaving
-         if (timerAutosaver != null) {
-            timerAutosaver.cancel();
-            timerAutosaver = null;
-         }
-
-         // end any threads needed by features
+         // end any threads needed by features, including autosaving
          Marketplace.endPeriodicEvents();
          Account.endPeriodicEvents();
 
@@ -836,16 +823,6 @@ public class UserInterfaceTerminal implements UserInterface
       // make the current player an op 
       ops.add(getPlayerIDStatic(playername));
 
-      // if necessary, set up autosaving
-      if (!Config.disableAutoSaving && timerAutosaver == null) {
-         // initialize timer objects
-         timerAutosaver     = new Timer(true);
-         timertaskAutosaver = new Autosaver();
-
-         // initialize periodically saving the marketplace
-         timerAutosaver.scheduleAtFixedRate(timertaskAutosaver, (long) 0, (long) 300000); // 60000 milliseconds per minute, 300000 ms per 5 min
-      }
-
       // welcome the player
       System.out.println("\nWelcome to Command Economy!\n\nRecommended commands:\n/add # - provides free money\n/buy <ware ID> # - purchases a ware\n/sell <ware ID> # - sells a ware\n/inventory - checks owned property\n/help - prints available commands\n\nTo obtain valid wares, use /printMarket \nand look in \"config\\CommandEconomy\\market.txt\"\nor type in Minecraft item names\n(ex: wheat, apple, iron_sword, diamond).\n\nWaiting for commands....\n");
 
@@ -1006,21 +983,6 @@ public class UserInterfaceTerminal implements UserInterface
       }
 
       CommandProcessor.reload(playerID, args, 0);
-
-      // if necessary, start or stop autosaving
-      if (Config.disableAutoSaving && timerAutosaver == null) {
-         // initialize timer objects
-         timerAutosaver     = new Timer(true);
-         timertaskAutosaver = new Autosaver();
-
-         // initialize periodically rebalancing the marketplace
-         timerAutosaver.scheduleAtFixedRate(timertaskAutosaver, (long) 0, (long) 300000);
-      } else if (!Config.disableAutoSaving && timerAutosaver != null) {
-         timertaskAutosaver.stop = true;
-         timertaskAutosaver      = null;
-         timerAutosaver.cancel();
-         timerAutosaver = null;
-      }
    }
 
    /**
@@ -0,0 +1,251 @@
+package commandeconomy;
+
+import java.io.ByteArrayOutputStream; // for buffering sections until their strings are known
+import java.io.DataOutputStream;      // for writing sections
+import java.io.File;                  // for handling files
+import java.io.IOException;           // for handling miscellaneous file errors
+import java.nio.ByteBuffer;           // for reading sections
+import java.nio.MappedByteBuffer;     // for reading snapshots without copying them
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets; // for encoding strings
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;           // for building string tables
+import java.util.HashMap;             // for interning strings
+
+/**
+ * Reads and writes binary snapshots: versioned files written beside
+ * text save files, which load without parsing text.
+ * <p>
+ * A snapshot holds a header, a table of interned strings, then sections.
+ * Sections hold fixed-width records referring to strings by their index,
+ * so a section may be read directly from the mapped file.
+ * Snapshots are written after their text save files, so a snapshot
+ * at least as new as its text save file holds the same state.
+ * Text save files remain the format for editing and sharing;
+ * whenever a snapshot is missing, older, or invalid, the text is loaded instead.
+ * <p>
+ * Format, using big-endian numbers:<br>
+ * int magic, short version, byte kind, byte reserved, long journal generation,<br>
+ * int string count, then per string: int length in bytes, UTF-8 bytes,<br>
+ * int section count, then per section: int length in bytes, bytes.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class BinarySnapshot {
+   // STATIC VARIABLES
+   /** identifies snapshot files: "CEBS" */
+   private static final int MAGIC = 0x43454253;
+   /** format version; snapshots of other versions are ignored */
+   private static final short VERSION = 1;
+   /** snapshot holding wares */
+   static final byte KIND_WARES = 1;
+   /** snapshot holding accounts */
+   static final byte KIND_ACCOUNTS = 2;
+   /** ending appended to a text save file's name to name its snapshot */
+   static final String FILE_SUFFIX = ".bin";
+
+   // INSTANCE VARIABLES
+   /** newest journal segment the snapshot contains */
+   private final long generation;
+   /** interned strings records refer to */
+   private final String[] strings;
+   /** records, grouped by what they describe */
+   private final ByteBuffer[] sections;
+
+   // STRUCTS
+   /**
+    * Gathers strings and sections for a snapshot to be written.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   static final class Builder
+   {
+      /** positions of strings already within the table */
+      private final HashMap<String, Integer> stringIndices = new HashMap<String, Integer>();
+      /** strings in the order they were added */
+      private final ArrayList<String> strings = new ArrayList<String>();
+      /** sections in the order they were started */
+      private final ArrayList<ByteArrayOutputStream> sections = new ArrayList<ByteArrayOutputStream>();
+
+      /**
+       * Returns a string's index within the table, adding it if necessary.
+       * <p>
+       * Complexity: O(1)
+       * @param string text to be referred to
+       * @return index of the string or -1 for null
+       */
+      int string(String string) {
+         if (string == null)
+            return -1;
+
+         Integer index = stringIndices.get(string);
+         if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndices.put(string, index);
+         }
+         return index;
+      }
+
+      /**
+       * Starts a new section, returning where to write its records.
+       * <p>
+       * Complexity: O(1)
+       * @return the section's contents
+       */
+      DataOutputStream section() {
+         ByteArrayOutputStream section = new ByteArrayOutputStream();
+         sections.add(section);
+         return new DataOutputStream(section);
+      }
+
+      /**
+       * Writes the snapshot beside a text save file.
+       * Should be called on the saving thread after writing the text save file.
+       * <p>
+       * Complexity: O(n), where n is the size of the snapshot
+       * @param fileText   text save file the snapshot belongs to
+       * @param kind       what the snapshot holds
+       * @param generation newest journal segment the snapshot contains
+       * @throws IOException if the snapshot could not be written
+       */
+      void write(File fileText, byte kind, long generation) throws IOException {
+         SnapshotWriter.writeBinary(new File(fileText.getPath() + FILE_SUFFIX), fileWriter -> {
+            fileWriter.writeInt(MAGIC);
+            fileWriter.writeShort(VERSION);
+            fileWriter.writeByte(kind);
+            fileWriter.writeByte(0);
+            fileWriter.writeLong(generation);
+
+            fileWriter.writeInt(strings.size());
+            byte[] encoded;
+            for (String string : strings) {
+               encoded = string.getBytes(StandardCharsets.UTF_8);
+               fileWriter.writeInt(encoded.length);
+               fileWriter.write(encoded);
+            }
+
+            fileWriter.writeInt(sections.size());
+            for (ByteArrayOutputStream section : sections) {
+               fileWriter.writeInt(section.size());
+               section.writeTo(fileWriter);
+            }
+         });
+      }
+   }
+
+   // METHODS
+   /**
+    * Holds a snapshot which was read.
+    * @param generation newest journal segment the snapshot contains
+    * @param strings    interned strings records refer to
+    * @param sections   records, grouped by what they describe
+    */
+   private BinarySnapshot(long generation, String[] strings, ByteBuffer[] sections) {
+      this.generation = generation;
+      this.strings    = strings;
+      this.sections   = sections;
+   }
+
+   /**
+    * Maps a text save file's snapshot if it exists and is at least as new as the text.
+    * If the snapshot is invalid, prints a warning so the text may be loaded instead.
+    * <p>
+    * Complexity: O(n), where n is the number of strings within the snapshot
+    * @param fileText text save file the snapshot belongs to
+    * @param kind     what the snapshot should hold
+    * @return the snapshot or null if the text should be loaded
+    */
+   static BinarySnapshot open(File fileText, byte kind) {
+      final File FILE_SNAPSHOT = new File(fileText.getPath() + FILE_SUFFIX);
+      if (!FILE_SNAPSHOT.isFile() || FILE_SNAPSHOT.lastModified() < fileText.lastModified())
+         return null;
+
+      // the mapping remains valid after the channel closes
+      final MappedByteBuffer BUFFER;
+      try (FileChannel channel = FileChannel.open(FILE_SNAPSHOT.toPath(), StandardOpenOption.READ)) {
+         BUFFER = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      } catch (IOException e) {
+         Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_SNAPSHOT_INVALID + FILE_SNAPSHOT.getPath());
+         return null;
+      }
+
+      try {
+         if (BUFFER.getInt() != MAGIC || BUFFER.getShort() != VERSION || BUFFER.get() != kind)
+            throw new IllegalArgumentException("unrecognized header");
+         BUFFER.get(); // reserved
+         final long GENERATION = BUFFER.getLong();
+
+         final String[] STRINGS = new String[BUFFER.getInt()];
+         int    length;
+         byte[] encoded = new byte[64];
+         for (int i = 0; i < STRINGS.length; i++) {
+            length = BUFFER.getInt();
+            if (length > encoded.length)
+               encoded = new byte[Math.max(length, encoded.length * 2)];
+            BUFFER.get(encoded, 0, length);
+            STRINGS[i] = new String(encoded, 0, length, StandardCharsets.UTF_8);
+         }
+
+         final ByteBuffer[] SECTIONS = new ByteBuffer[BUFFER.getInt()];
+         for (int i = 0; i < SECTIONS.length; i++) {
+            length = BUFFER.getInt();
+            if (length < 0 || length > BUFFER.remaining())
+               throw new IllegalArgumentException("truncated section");
+            SECTIONS[i] = BUFFER.slice();
+            SECTIONS[i].limit(length);
+            BUFFER.position(BUFFER.position() + length);
+         }
+
+         return new BinarySnapshot(GENERATION, STRINGS, SECTIONS);
+      } catch (RuntimeException e) { // includes reading past the end of the file
+         Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_SNAPSHOT_INVALID + FILE_SNAPSHOT.getPath());
+         return null;
+      }
+   }
+
+   /**
+    * Returns the newest journal segment the snapshot contains.
+    * @return journal generation when the snapshot was captured
+    */
+   long getGeneration() {
+      return generation;
+   }
+
+   /**
+    * Returns an interned string.
+    * @param index position within the string table or -1
+    * @return the string or null for -1
+    * @throws IndexOutOfBoundsException if the index is outside the table
+    */
+   String getString(int index) {
+      if (index == -1)
+         return null;
+      return strings[index];
+   }
+
+   /**
+    * Returns a section's records.
+    * @param index section's position within the snapshot
+    * @return records positioned at their start
+    * @throws IndexOutOfBoundsException if the snapshot has too few sections
+    */
+   ByteBuffer getSection(int index) {
+      return sections[index].duplicate();
+   }
+
+   /**
+    * Deletes a text save file's snapshot, such as when snapshots are disabled
+    * so an outdated snapshot cannot be loaded later.
+    * <p>
+    * Complexity: O(1)
+    * @param fileText text save file the snapshot belongs to
+    */
+   static void delete(File fileText) {
+      new File(fileText.getPath() + FILE_SUFFIX).delete();
+   }
+}
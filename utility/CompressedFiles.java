@@ -0,0 +1,131 @@
+package commandeconomy;
+
+import java.io.BufferedInputStream;   // for peeking at files' first bytes
+import java.io.BufferedOutputStream;
+import java.io.File;                  // for handling files
+import java.io.FileInputStream;       // for reading files
+import java.io.IOException;           // for handling miscellaneous file errors
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;         // for choosing how much to compress files
+import java.util.zip.GZIPInputStream;  // for reading compressed files
+import java.util.zip.GZIPOutputStream; // for compressing files
+
+/**
+ * Opens files which may be compressed using gzip.
+ * <p>
+ * Compressed files are recognized by their first bytes rather than their names,
+ * so turning compression on or off never prevents loading files written beforehand.
+ * Files are streamed in both directions, so they are never held in memory whole.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class CompressedFiles {
+   // STATIC VARIABLES
+   /** how many bytes are buffered when compressing or decompressing */
+   static final int BUFFER_SIZE = 65536;
+   /** ending appended to the names of exported files when they are compressed */
+   public static final String FILE_SUFFIX = ".gz";
+   /** first byte of any gzip file */
+   private static final int MAGIC_FIRST  = 0x1f;
+   /** second byte of any gzip file */
+   private static final int MAGIC_SECOND = 0x8b;
+
+   // STATIC METHODS
+   /**
+    * Prevents instantiation.
+    */
+   private CompressedFiles() { }
+
+   /**
+    * Opens a file for reading, decompressing it if it is compressed.
+    * <p>
+    * Complexity: O(1)
+    * @param file file to be read
+    * @return the file's contents
+    * @throws IOException if the file could not be opened
+    */
+   public static InputStream openInput(File file) throws IOException {
+      final InputStream FILE_STREAM = new FileInputStream(file);
+      try {
+         return decompress(FILE_STREAM);
+      } catch (IOException e) {
+         FILE_STREAM.close();
+         throw e;
+      }
+   }
+
+   /**
+    * Decompresses a stream if it is compressed.
+    * <p>
+    * Complexity: O(1)
+    * @param stream contents which may be compressed
+    * @return the contents, decompressed if necessary
+    * @throws IOException if the contents could not be read
+    */
+   static InputStream decompress(InputStream stream) throws IOException {
+      final BufferedInputStream BUFFERED = new BufferedInputStream(stream, BUFFER_SIZE);
+
+      // peek at the first bytes without consuming them
+      BUFFERED.mark(2);
+      final boolean IS_COMPRESSED = BUFFERED.read() == MAGIC_FIRST && BUFFERED.read() == MAGIC_SECOND;
+      BUFFERED.reset();
+
+      if (IS_COMPRESSED)
+         return new BufferedInputStream(new GZIPInputStream(BUFFERED, BUFFER_SIZE), BUFFER_SIZE);
+      return BUFFERED;
+   }
+
+   /**
+    * Returns whether a file is compressed.
+    * <p>
+    * Complexity: O(1)
+    * @param file file to be checked
+    * @return true if the file exists and is compressed
+    */
+   public static boolean isCompressed(File file) {
+      try (InputStream fileStream = new FileInputStream(file)) {
+         return fileStream.read() == MAGIC_FIRST && fileStream.read() == MAGIC_SECOND;
+      } catch (IOException e) {
+         return false;
+      }
+   }
+
+   /**
+    * Wraps a stream so whatever is written to it is compressed if compression is enabled.
+    * Closing or finishing the returned stream completes the compressed contents.
+    * <p>
+    * Complexity: O(1)
+    * @param stream   where to write contents
+    * @param compress whether contents should be compressed
+    * @return stream which buffers and possibly compresses contents
+    * @throws IOException if compression could not begin
+    */
+   static OutputStream compress(OutputStream stream, boolean compress) throws IOException {
+      // favor speed since saving happens often and text compresses well regardless
+      if (compress) {
+         return new GZIPOutputStream(stream, BUFFER_SIZE) {
+            {
+               def.setLevel(Deflater.BEST_SPEED);
+            }
+         };
+      }
+      return new BufferedOutputStream(stream, BUFFER_SIZE);
+   }
+
+   /**
+    * Writes out anything buffered within a stream from compress(),
+    * completing compressed contents without closing the underlying stream.
+    * <p>
+    * Complexity: O(n), where n is the amount of buffered contents
+    * @param stream stream returned by compress()
+    * @throws IOException if buffered contents could not be written
+    */
+   static void finish(OutputStream stream) throws IOException {
+      if (stream instanceof GZIPOutputStream)
+         ((GZIPOutputStream) stream).finish();
+      stream.flush();
+   }
+}
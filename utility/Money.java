@@ -0,0 +1,252 @@
+package commandeconomy;
+
+import java.math.BigDecimal;          // for converting scientific notation when migrating save files
+import java.math.RoundingMode;        // for truncating excess decimal places when migrating save files
+
+/**
+ * Converts and formats amounts of money stored as fixed-point numbers,
+ * counting ten-thousandths of a unit of currency within a long.
+ * <p>
+ * Fixed-point amounts add and subtract exactly regardless of their size,
+ * unlike floats, which lose cents once balances reach a few hundred thousand.
+ * Only account balances are held this way: prices and fees come from
+ * floating-point price curves and are converted once when paid.
+ * Every method works only on primitives or a given builder,
+ * so none allocate memory while trading.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class Money {
+   // STATIC VARIABLES
+   /** how many fixed-point units make up one unit of currency */
+   public static final long SCALE = PriceFormatter.PRICE_PRECISION;
+   /** how many decimal places fixed-point units hold */
+   private static final int DECIMAL_PLACES = 4;
+
+   // STATIC METHODS
+   /**
+    * Prevents instantiation.
+    */
+   private Money() { }
+
+   /**
+    * Converts a floating-point amount to fixed-point units,
+    * rounding to the nearest unit so amounts already truncated
+    * to four decimal places convert exactly.
+    * <p>
+    * Complexity: O(1)
+    * @param amount money as a float
+    * @return money in ten-thousandths or 0 if the amount is not a number
+    */
+   public static long fromFloat(float amount) {
+      // Math.round() returns 0 for NaN and saturates for infinities
+      return Math.round((double) amount * SCALE);
+   }
+
+   /**
+    * Converts fixed-point units to a floating-point amount.
+    * The largest and smallest amounts represent infinite funds.
+    * <p>
+    * Complexity: O(1)
+    * @param units money in ten-thousandths
+    * @return money as a float
+    */
+   public static float toFloat(long units) {
+      if (units == Long.MAX_VALUE)
+         return Float.POSITIVE_INFINITY;
+      if (units == Long.MIN_VALUE)
+         return Float.NEGATIVE_INFINITY;
+      return (float) ((double) units / SCALE);
+   }
+
+   /**
+    * Adds two amounts, saturating instead of overflowing
+    * so infinite funds remain infinite.
+    * <p>
+    * Complexity: O(1)
+    * @param units  money in ten-thousandths
+    * @param amount money to add in ten-thousandths; may be negative
+    * @return sum in ten-thousandths
+    */
+   public static long add(long units, long amount) {
+      // infinite funds stay infinite
+      if (units == Long.MAX_VALUE || units == Long.MIN_VALUE)
+         return units;
+
+      // if both operands share a sign the sum doesn't, the sum overflowed
+      final long SUM = units + amount;
+      if (((units ^ SUM) & (amount ^ SUM)) < 0)
+         return amount < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+      return SUM;
+   }
+
+   /**
+    * Converts fixed-point units to a double,
+    * preserving cents for larger amounts when displaying money.
+    * <p>
+    * Complexity: O(1)
+    * @param units money in ten-thousandths
+    * @return money as a double
+    */
+   public static double toDouble(long units) {
+      return (double) units / SCALE;
+   }
+
+   /**
+    * Scales an amount, such as when applying interest or percentage fees,
+    * rounding to the nearest unit since multipliers such as 1.05
+    * are slightly off when stored as floats.
+    * <p>
+    * Complexity: O(1)
+    * @param units      money in ten-thousandths
+    * @param multiplier how much to scale the amount by
+    * @return scaled money in ten-thousandths or the original amount if the multiplier is not a number
+    */
+   public static long multiply(long units, float multiplier) {
+      if (Float.isNaN(multiplier))
+         return units;
+      return Math.round(units * (double) multiplier);
+   }
+
+   /**
+    * Parses an amount written as a decimal number, such as within a save file.
+    * Amounts with more than four decimal places are truncated.
+    * Amounts written by floats using scientific notation are also accepted,
+    * allowing save files written before using fixed-point money to be loaded.
+    * <p>
+    * Complexity: O(n), where n is the length of the text
+    * @param text decimal number to be parsed
+    * @return money in ten-thousandths
+    * @throws NumberFormatException if the text is not a number
+    */
+   public static long parse(String text) {
+      if (text == null)
+         throw new NumberFormatException("null");
+
+      text = text.trim();
+      final int LENGTH = text.length();
+      if (LENGTH == 0)
+         throw new NumberFormatException("empty amount");
+
+      // check for a sign
+      int     i          = 0;
+      boolean isNegative = false;
+      if (text.charAt(0) == '-' || text.charAt(0) == '+') {
+         isNegative = text.charAt(0) == '-';
+         i++;
+      }
+
+      long    units         = 0;     // amount parsed so far
+      int     decimalPlaces = -1;    // how many digits follow the decimal point; -1 before finding the decimal point
+      boolean hasDigits     = false; // whether any digits were found
+      char    character;
+      for (; i < LENGTH; i++) {
+         character = text.charAt(i);
+
+         if ('0' <= character && character <= '9') {
+            hasDigits = true;
+
+            // ignore digits beyond what units can hold
+            if (decimalPlaces >= DECIMAL_PLACES)
+               continue;
+
+            units = units * 10 + (character - '0');
+            if (units < 0) // overflowed
+               throw new NumberFormatException(text);
+            if (decimalPlaces >= 0)
+               decimalPlaces++;
+         }
+         else if (character == '.' && decimalPlaces < 0)
+            decimalPlaces = 0;
+
+         // if the number is written in scientific notation or
+         // is otherwise unusual, let a general parser handle it
+         else
+            return parseGeneral(text);
+      }
+
+      if (!hasDigits)
+         throw new NumberFormatException(text);
+
+      // scale up to four decimal places
+      if (decimalPlaces < 0)
+         decimalPlaces = 0;
+      for (; decimalPlaces < DECIMAL_PLACES; decimalPlaces++) {
+         if (units > Long.MAX_VALUE / 10)
+            throw new NumberFormatException(text);
+         units *= 10;
+      }
+
+      if (isNegative)
+         return -units;
+      return units;
+   }
+
+   /**
+    * Parses any decimal number, such as one written in scientific notation.
+    * <p>
+    * Complexity: O(n), where n is the length of the text
+    * @param text decimal number to be parsed
+    * @return money in ten-thousandths
+    * @throws NumberFormatException if the text is not a number or is too large
+    */
+   private static long parseGeneral(String text) {
+      try {
+         return new BigDecimal(text).movePointRight(DECIMAL_PLACES).setScale(0, RoundingMode.DOWN).longValueExact();
+      } catch (ArithmeticException e) {
+         throw new NumberFormatException(text);
+      }
+   }
+
+   /**
+    * Writes an amount as a decimal number parsable by both
+    * parse() and Float.parseFloat(), omitting trailing zeros.
+    * <p>
+    * Complexity: O(1)
+    * @param builder where to write the amount
+    * @param units   money in ten-thousandths
+    * @return the given builder
+    */
+   public static StringBuilder append(StringBuilder builder, long units) {
+      // write the sign separately so the smallest long may be written
+      if (units < 0)
+         builder.append('-');
+
+      final long WHOLE    = Math.abs(units / SCALE);
+            long fraction = Math.abs(units % SCALE);
+      builder.append(WHOLE).append('.');
+
+      // write at least one decimal place
+      if (fraction == 0) {
+         builder.append('0');
+         return builder;
+      }
+
+      // write leading zeros, then the fraction without trailing zeros
+      int decimalPlaces = DECIMAL_PLACES;
+      while (fraction % 10 == 0) {
+         fraction /= 10;
+         decimalPlaces--;
+      }
+      for (long place = fraction * 10; place < pow10(decimalPlaces); place *= 10)
+         builder.append('0');
+      builder.append(fraction);
+      return builder;
+   }
+
+   /**
+    * Returns ten raised to a small power.
+    * <p>
+    * Complexity: O(n), where n is the power
+    * @param power how many times to multiply by ten
+    * @return 10^power
+    */
+   private static long pow10(int power) {
+      long result = 1;
+      for (int i = 0; i < power; i++)
+         result *= 10;
+      return result;
+   }
+}
@@ -0,0 +1,297 @@
+package commandeconomy;
+
+import java.io.BufferedWriter;        // for faster saving, so fewer file writes are used
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;      // for writing binary files
+import java.io.File;                  // for handling files
+import java.io.FileOutputStream;      // for forcing files to disk
+import java.io.IOException;           // for handling miscellaneous file errors
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel; // for forcing renames to disk
+import java.nio.file.AtomicMoveNotSupportedException; // for falling back when renaming atomically isn't possible
+import java.nio.file.Files;           // for replacing files
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException; // for reporting errors while waiting for saves
+import java.util.concurrent.ExecutorService;    // for writing files on a dedicated thread
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger; // for telling whether work is queued
+
+/**
+ * Writes save files on a dedicated thread,
+ * so threads saving the marketplace only pause trading long enough
+ * to capture what should be written.
+ * <p>
+ * Files are written in the order they were queued.
+ * Each file is written beside its destination, forced to disk,
+ * then renamed over its destination, so a crash while saving
+ * leaves either the old file or the new one, never part of either.
+ * Previous versions of save files may be kept beside them,
+ * the newest being linked to the destination before it is replaced.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class SnapshotWriter {
+   // STATIC VARIABLES
+   /** ending appended to a destination's name while it is being written */
+   static final String TEMP_SUFFIX = ".tmp";
+   /** ending appended to a destination's name, followed by a number, for its previous versions */
+   public static final String BACKUP_SUFFIX = ".bak";
+   /** how much work submitted for writing hasn't finished */
+   private static final AtomicInteger tasksPending = new AtomicInteger();
+   /** writes queued files one at a time */
+   private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "CommandEconomy-saving");
+      thread.setDaemon(true); // don't keep the program running; shutting down waits for writes instead
+      return thread;
+   });
+
+   // INTERFACES
+   /**
+    * Writes a captured state to a file.
+    */
+   @FunctionalInterface
+   public interface Content
+   {
+      /**
+       * Writes the state. Called on the writing thread.
+       * @param fileWriter where to write the state
+       * @throws IOException if the state could not be written
+       */
+      void writeTo(Writer fileWriter) throws IOException;
+   }
+
+   /**
+    * Writes a captured state to a binary file.
+    */
+   @FunctionalInterface
+   public interface BinaryContent
+   {
+      /**
+       * Writes the state. Called on the writing thread.
+       * @param fileStream where to write the state
+       * @throws IOException if the state could not be written
+       */
+      void writeTo(DataOutputStream fileStream) throws IOException;
+   }
+
+   /**
+    * Writes a captured state to an open file, flushing any buffers it uses.
+    */
+   @FunctionalInterface
+   private interface StreamContent
+   {
+      /**
+       * Writes the state. Called on the writing thread.
+       * @param fileStream where to write the state
+       * @throws IOException if the state could not be written
+       */
+      void writeTo(OutputStream fileStream) throws IOException;
+   }
+
+   // STATIC METHODS
+   /**
+    * Prevents instantiation.
+    */
+   private SnapshotWriter() { }
+
+   /**
+    * Queues work to be done on the writing thread after any previously queued work.
+    * Errors are printed rather than stopping later work.
+    * <p>
+    * Complexity: O(1)
+    * @param task work to be done, such as calling write()
+    */
+   public static void submit(Runnable task) {
+      tasksPending.incrementAndGet();
+      writer.execute(() -> {
+         try {
+            task.run();
+         } catch (Exception e) {
+            e.printStackTrace();
+         } finally {
+            tasksPending.decrementAndGet();
+         }
+      });
+   }
+
+   /**
+    * Returns whether submitted work is still queued or being done,
+    * such as a save still being written.
+    * <p>
+    * Complexity: O(1)
+    * @return true if submitted work hasn't finished
+    */
+   public static boolean isWriting() {
+      return tasksPending.get() != 0;
+   }
+
+   /**
+    * Waits for all queued work to finish,
+    * such as before loading a file which may still be being written.
+    * <p>
+    * Complexity: O(n), where n is the amount of queued work
+    */
+   public static void awaitWrites() {
+      try {
+         writer.submit(() -> { }).get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+         e.printStackTrace();
+      }
+   }
+
+   /**
+    * Writes content to a temporary file, forces it to disk,
+    * then renames it over the destination.
+    * The file is compressed and its previous versions are kept
+    * according to how save files should be written.
+    * Should be called on the writing thread.
+    * <p>
+    * Complexity: O(n), where n is the size of the content
+    * @param destination file to be replaced
+    * @param content     state to be written
+    * @throws IOException if the file could not be written or replaced
+    */
+   public static void write(File destination, Content content) throws IOException {
+      write(destination, content, Config.compressSaveFiles, Config.saveBackups);
+   }
+
+   /**
+    * Writes content to a temporary file, forces it to disk,
+    * then renames it over the destination.
+    * Blocks until the destination is replaced, so files other than save files,
+    * such as configuration files, may be written on any thread.
+    * <p>
+    * Complexity: O(n), where n is the size of the content
+    * @param destination file to be replaced
+    * @param content     state to be written
+    * @param compress    whether the file should be compressed
+    * @param backups     how many previous versions of the destination to keep
+    * @throws IOException if the file could not be written or replaced
+    */
+   public static void write(File destination, Content content, boolean compress, int backups) throws IOException {
+      replace(destination, backups, fileStream -> {
+         final OutputStream STREAM = CompressedFiles.compress(fileStream, compress);
+         BufferedWriter fileWriter = new BufferedWriter(new OutputStreamWriter(STREAM));
+         content.writeTo(fileWriter);
+         fileWriter.flush();
+         CompressedFiles.finish(STREAM);
+      });
+   }
+
+   /**
+    * Writes binary content to a temporary file, forces it to disk,
+    * then renames it over the destination.
+    * Should be called on the writing thread.
+    * <p>
+    * Complexity: O(n), where n is the size of the content
+    * @param destination file to be replaced
+    * @param content     state to be written
+    * @throws IOException if the file could not be written or replaced
+    */
+   public static void writeBinary(File destination, BinaryContent content) throws IOException {
+      replace(destination, 0, fileStream -> {
+         DataOutputStream fileWriter = new DataOutputStream(new BufferedOutputStream(fileStream));
+         content.writeTo(fileWriter);
+         fileWriter.flush();
+      });
+   }
+
+   /**
+    * Writes to a temporary file, forces it to disk,
+    * then renames it over the destination.
+    * <p>
+    * Complexity: O(n), where n is the size of the content
+    * @param destination file to be replaced
+    * @param backups     how many previous versions of the destination to keep
+    * @param content     writes the state and flushes its buffers
+    * @throws IOException if the file could not be written or replaced
+    */
+   private static void replace(File destination, int backups, StreamContent content) throws IOException {
+      final File DIRECTORY = destination.getAbsoluteFile().getParentFile();
+      if (DIRECTORY != null)
+         DIRECTORY.mkdirs();
+      final File FILE_TEMP = new File(destination.getPath() + TEMP_SUFFIX);
+
+      FileOutputStream fileStream = null; // use a handle to ensure the file gets closed
+      try {
+         fileStream = new FileOutputStream(FILE_TEMP, false);
+         content.writeTo(fileStream);
+
+         // the temporary file must be on disk before it replaces the destination
+         fileStream.getChannel().force(true);
+         fileStream.close();
+         fileStream = null;
+      } catch (IOException e) {
+         FILE_TEMP.delete();
+         throw e;
+      } finally {
+         try {
+            if (fileStream != null)
+               fileStream.close();
+         } catch (Exception e) { }
+      }
+
+      // keep previous versions, but don't let failing to do so prevent saving
+      if (backups > 0 && destination.isFile()) {
+         try {
+            rotateBackups(destination, backups);
+         } catch (IOException e) {
+            Config.userInterface.printErrorToConsole(StringTable.WARN_FILE_BACKUP + destination.getPath());
+            e.printStackTrace();
+         }
+      }
+
+      try {
+         Files.move(FILE_TEMP.toPath(), destination.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+         Files.move(FILE_TEMP.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      // record the rename; some platforms cannot open directories, so this is best-effort
+      if (DIRECTORY != null) {
+         try (FileChannel directory = FileChannel.open(DIRECTORY.toPath(), StandardOpenOption.READ)) {
+            directory.force(true);
+         } catch (IOException e) { }
+      }
+   }
+
+   /**
+    * Shifts a file's previous versions back by one, discarding the oldest,
+    * then keeps the file's current version as the newest previous version.
+    * The current version is linked rather than moved when possible,
+    * so the file exists until it is replaced and its contents aren't copied.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(n), where n is the number of versions kept<br>
+    * Worst-Case: O(n + m), where m is the size of the file, when it cannot be linked
+    * @param destination file about to be replaced
+    * @param backups     how many previous versions to keep
+    * @throws IOException if previous versions could not be shifted or kept
+    */
+   private static void rotateBackups(File destination, int backups) throws IOException {
+      final String PATH_BACKUP = destination.getPath() + BACKUP_SUFFIX;
+
+      Files.deleteIfExists(new File(PATH_BACKUP + backups).toPath());
+      Path backup;
+      for (int i = backups - 1; i > 0; i--) {
+         backup = new File(PATH_BACKUP + i).toPath();
+         if (Files.exists(backup))
+            Files.move(backup, new File(PATH_BACKUP + (i + 1)).toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      final Path NEWEST = new File(PATH_BACKUP + 1).toPath();
+      try {
+         Files.createLink(NEWEST, destination.toPath());
+      } catch (IOException | UnsupportedOperationException e) {
+         Files.copy(destination.toPath(), NEWEST, StandardCopyOption.REPLACE_EXISTING);
+      }
+   }
+}
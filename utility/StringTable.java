@@ -191,15 +191,27 @@ public final class StringTable {
    public final static String ERROR_FILE_SAVE_WARES      = "error - unable to save wares";
    public final static String ERROR_FILE_SAVE_ACCOUNTS   = "error - unable to save accounts";
    public final static String ERROR_FILE_PRINT_MARKET    = "error - unable to print wares to file";
+   public final static String ERROR_FILE_JOURNAL_WRITE   = "error - unable to record changes to wares, journaling stopped until wares or configuration are reloaded: ";
+   public final static String ERROR_FILE_JOURNAL_READ    = "error - unable to replay changes to wares: ";
+   public final static String ERROR_FILE_SNAPSHOT_WRITE  = "error - unable to write binary snapshot, the text save file will be loaded instead: ";
+   public final static String ERROR_FILE_LEDGER_WRITE    = "error - unable to record transactions, the ledger stopped until configuration is reloaded: ";
 
    public final static String WARN_FILE_MISSING          = "warning - file not found: ";
    public final static String WARN_FILE_MISSED           = "warning - file went missing: ";
+   public final static String WARN_FILE_JOURNAL_TRUNCATED = "warning - ignored incomplete changes to wares at the end of ";
+   public final static String WARN_FILE_SNAPSHOT_INVALID = "warning - ignored invalid binary snapshot, loading the text save file instead: ";
+   public final static String WARN_FILE_BACKUP           = "warning - unable to keep previous versions of file, saving it anyway: ";
+   public final static String WARN_FILE_LEDGER_TRUNCATED = "warning - ignored incomplete transactions at the end of ";
+   public final static String WARN_LEDGER_RECORDS_DROPPED = "warning - transactions were recorded faster than they could be written, transactions left out of the ledger: ";
 
    public final static String WARN_FILE_OVERWRITE        = "// warning: this file may be cleared and overwritten by the program\n\n";
    public final static String WARN_FILE_WARES_INVALID    = "\n// warning: the following ware entries could not be loaded\n\n";
    public final static String WARN_FILE_ACCOUNTS_INVALID = "\n// warning: the following accounts could not be loaded\n\n";
    public final static String FILE_HEADER_ALT_ALIASES    = "\n// alternative aliases: these entries should be kept at the end of the file\n\n";
    public final static String FILE_HEADER_PRINT_MARKET   = "\nware ID\tware alias\tprice\tquantity\tlevel\n";
+   public final static String FILE_HEADER_JOURNAL        = "// journal segments saved: ";
+   public final static String FILE_HEADER_ACCOUNT_SHARDS = "// accounts are split among shards: ";
+   public final static String FILE_HEADER_LEDGER         = "// format: milliseconds since the epoch,kind,change,balance afterwards,account or ware ID\n// kinds: a == account funds in ten-thousandths, d == account deleted, w == ware quantity\n";
 
    // ware file parsing
    public final static String ERROR_WARE_PARSING         = "error - could not parse ware entry: ";
@@ -249,6 +261,8 @@ public final class StringTable {
    public final static String ERROR_CONFIG_OPTION_LOAD    = "error - could not load option ";
    public final static String ERROR_CONFIG_OPTION_PARSING = ", failed to parse ";
    public final static String ERROR_CONFIG_OPTION_ARRAY   = ", should hold 6 values, instead holds ";
+   public final static String ERROR_CONFIG_PRICE_MODEL    = ", should be linear, exponential, or logistic, instead holds ";
+   public final static String ERROR_CONFIG_JOURNAL_SYNC   = ", should be off, never, periodic, or always, instead holds ";
 
    // AI
    public final static String ERROR_AI_MISFORMAT          = "error - AI professions JSON file is improperly formatted: ";
@@ -275,7 +289,6 @@ public final class StringTable {
    // random events
    public final static String ERROR_FILE_RANDOM_EVENTS_INVALID      = "error - random events JSON file is improperly formatted: ";
    public final static String ERROR_FILE_RANDOM_EVENTS_PARSING      = "error - could not parse random events JSON file: ";
-   public final static String ERROR_RANDOM_EVENTS_SLEEP             = "error - random events: failure while waiting for the next event to occur, ";
 
    public final static String WARN_RANDOM_EVENTS_NONE_LOADED        = "warning - no random events were loaded";
 
@@ -1,11 +1,14 @@
 package commandeconomy;
 
-import com.google.gson.Gson;          // for saving and loading
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import java.util.HashMap;             // for iterating through components when manufacturing
 import java.util.Map;                 // for iterating through hashmaps
+import java.util.Arrays;              // for copying arrays of dependents
 import java.util.UUID;                // for more securely tracking users internally
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater; // for adjusting quantities without locking
+import java.util.concurrent.atomic.AtomicLong;                // for stamping invalidations
+import java.io.DataOutputStream;      // for writing binary snapshots
+import java.io.IOException;
+import java.nio.ByteBuffer;           // for reading binary snapshots
 
 /**
  * Holds values for a ware used within the market.
@@ -14,21 +17,59 @@ import java.util.UUID;                // for more securely tracking users intern
  * @version %I%, %G%
  * @since   2021-02-04
  */
-@SuppressWarnings("deprecation") // unfortunately, Minecraft 1.12.2's gson requires a JSONParser object
 public abstract class Ware
 {
    // STATIC VARIABLES
-   /** converts wares to JSON */
-   static final transient Gson gson = new Gson();
-   /** adds and removes properties from JSON */
-   static transient JsonObject jsonObject;
-   /** Used for constructing wares from JSON. 
-     * Unfortunately, Minecraft 1.12.2's gson requires a JSONParser object. */
-   private static transient JsonParser jsonParser = new JsonParser();
+   // binary snapshots
+   /** bytes within each ware's fixed-width record */
+   static final int RECORD_BYTES = 36;
+   /** bytes within each component's record */
+   private static final int RECORD_COMPONENT_BYTES = 8;
+   /** record flag marking a ware whose components' amounts were recorded */
+   private static final short RECORD_HAS_AMOUNTS = 1;
+   /** record types, corresponding to types written within JSON */
+   private static final byte RECORD_MATERIAL    = 1;
+   private static final byte RECORD_UNTRADEABLE = 2;
+   private static final byte RECORD_PROCESSED   = 3;
+   private static final byte RECORD_CRAFTED     = 4;
+   private static final byte RECORD_LINKED      = 5;
 
    // linked prices
-   /** multipliers for wares whose linked price multipliers have recently been calculated */
-   private static Map<Ware, Float> recentLinkedPriceResults = null;
+   /** atomically invalidates saved prices so threads calculating prices cannot save outdated results */
+   private static final AtomicIntegerFieldUpdater<Ware> PRICES_GENERATION_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Ware.class, "pricesGeneration");
+   /** source of unique stamps marking wares reached by each invalidation */
+   private static final AtomicLong INVALIDATION_STAMPS = new AtomicLong();
+
+   // quantity
+   /** atomically adjusts wares' quantities so trades on separate threads do not lose updates */
+   private static final AtomicIntegerFieldUpdater<Ware> QUANTITY_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Ware.class, "quantity");
+
+   // STRUCTS
+   /**
+    * Holds a linked price multiplier alongside
+    * the version of the ware's prices it was calculated for.
+    *
+    * @author  Daniel Van Orman
+    * @version %I%, %G%
+    * @since   2026-10-17
+    */
+   private static final class LinkedPriceMultiplier
+   {
+      /** ware's prices generation when the multiplier was calculated */
+      final int generation;
+      /** how much components' current prices affect the ware's price */
+      final float multiplier;
+
+      /**
+       * Records a linked price multiplier.
+       * @param generation ware's prices generation before calculating the multiplier
+       * @param multiplier calculated multiplier
+       */
+      LinkedPriceMultiplier(int generation, float multiplier) {
+         this.generation = generation;
+         this.multiplier = multiplier;
+      }
+   }
 
    // INSTANCE VARIABLES
    /** wares used to create this ware */
@@ -42,11 +83,25 @@ public abstract class Ware
    /** unmodified price */
    float priceBase = Float.NaN;
    /** current market stock */
-   int quantity = -1;
+   volatile int quantity = -1;
    /** how much of this ware results from a single iteration of its crafting/processing recipe */
    int yield;
    /** hierarchy level */
    byte level;
+   /** unit prices without considering supply and demand, saved to avoid recalculating them */
+   transient volatile PriceCurve priceCurve;
+   /** incremented whenever this ware's or its components' prices change, invalidating saved calculations */
+   transient volatile int pricesGeneration;
+   /** most recently calculated linked price multiplier */
+   private transient volatile LinkedPriceMultiplier linkedPriceMultiplier;
+   /** stamp of the most recent invalidation to reach this ware, so circular recipes are only visited once */
+   private transient volatile long invalidationStamp;
+   /** wares using this ware as a component, notified whenever this ware's price changes */
+   private transient volatile Ware[] dependents;
+   /** whether any dependents are linked wares, whose trades adjust this ware alongside their other components */
+   private transient volatile boolean hasLinkedDependents;
+   /** position within the marketplace's columns of wares' pricing inputs */
+   transient volatile int columnIndex = -1;
 
    // METHODS
    /**
@@ -70,8 +125,12 @@ public abstract class Ware
     * @param quantity new quantity available within the market
     */
    public void setQuantity(int quantity) {
-      this.quantity = quantity;
+      final long STAMP = WareJournal.beginChange();
+      final int  DELTA = quantity - QUANTITY_UPDATER.getAndSet(this, quantity);
       Marketplace.markAsChanged(this);
+      WareJournal.endChange(STAMP, this, DELTA);
+      TransactionLedger.recordQuantity(wareID, DELTA, quantity);
+      notifyQuantityChanged();
    }
 
    /**
@@ -81,8 +140,12 @@ public abstract class Ware
     * @param adjustment increase to quantity available within the market
     */
    public void addQuantity(int adjustment) {
-      quantity += adjustment;
+      final long STAMP = WareJournal.beginChange();
+      final int  QUANTITY = QUANTITY_UPDATER.addAndGet(this, adjustment);
       Marketplace.markAsChanged(this);
+      WareJournal.endChange(STAMP, this, adjustment);
+      TransactionLedger.recordQuantity(wareID, adjustment, QUANTITY);
+      notifyQuantityChanged();
    }
 
    /**
@@ -92,8 +155,74 @@ public abstract class Ware
     * @param adjustment decrease to quantity available within the market
     */
    public void subtractQuantity(int adjustment) {
-      quantity -= adjustment;
+      final long STAMP = WareJournal.beginChange();
+      final int  QUANTITY = QUANTITY_UPDATER.addAndGet(this, -adjustment);
+      Marketplace.markAsChanged(this);
+      WareJournal.endChange(STAMP, this, -adjustment);
+      TransactionLedger.recordQuantity(wareID, -adjustment, QUANTITY);
+      notifyQuantityChanged();
+   }
+
+   /**
+    * Sets how much of the ware is available on the market without journaling or recording the change,
+    * for restoring quantities which were already recorded.
+    * Callers should mark the ware as changed and inform its dependents afterwards.
+    * <p>
+    * Complexity: O(1)
+    * @param quantity restored quantity available within the market
+    */
+   void restoreQuantity(int quantity) {
+      QUANTITY_UPDATER.set(this, quantity);
+   }
+
+   /**
+    * Sets how much of the ware is available on the market
+    * only if the current quantity matches the expected quantity.
+    * Used to commit trades without holding the marketplace's mutex.
+    * <p>
+    * If linked wares use this ware as a component,
+    * the change is made while holding the mutex
+    * so it cannot fall between a linked ware's adjustments to its components.
+    * <p>
+    * Complexity: O(1)
+    * @param expected quantity the trade was priced against
+    * @param updated  quantity available after the trade
+    * @return true if the quantity was changed, false if another thread changed it first
+    */
+   public boolean compareAndSetQuantity(int expected, int updated) {
+      if (!hasLinkedDependents)
+         return compareAndSetQuantityUnlocked(expected, updated);
+
+      Marketplace.acquireMutex();
+      try {
+         return compareAndSetQuantityUnlocked(expected, updated);
+      } finally {
+         Marketplace.releaseMutex();
+      }
+   }
+
+   /**
+    * Sets how much of the ware is available on the market
+    * only if the current quantity matches the expected quantity,
+    * without regard for linked wares using this ware as a component.
+    * <p>
+    * Complexity: O(1)
+    * @param expected quantity the trade was priced against
+    * @param updated  quantity available after the trade
+    * @return true if the quantity was changed, false if another thread changed it first
+    */
+   private boolean compareAndSetQuantityUnlocked(int expected, int updated) {
+      final long STAMP = WareJournal.beginChange();
+      if (!QUANTITY_UPDATER.compareAndSet(this, expected, updated)) {
+         WareJournal.endChange(STAMP, this, 0);
+         return false;
+      }
+
       Marketplace.markAsChanged(this);
+      WareJournal.endChange(STAMP, this, updated - expected);
+      TransactionLedger.recordQuantity(wareID, updated - expected, updated);
+      notifyQuantityChanged();
+      return true;
    }
 
    /**
@@ -190,6 +319,136 @@ public abstract class Ware
       return componentsIDs != null;
    }
 
+   /**
+    * Uses a ware as one of this ware's components
+    * and registers this ware as depending upon it.
+    * <p>
+    * Complexity: O(n), where n is the number of wares depending upon the component
+    * @param index     position within this ware's components
+    * @param component ware used to create this ware
+    */
+   void linkComponent(int index, Ware component) {
+      components[index] = component;
+      component.addDependent(this);
+   }
+
+   /**
+    * Stops this ware's components from notifying this ware of price changes.
+    * Should be called before replacing or reloading components.
+    * <p>
+    * Complexity: O(n*m), where n is the number of this ware's components
+    * and m is the number of wares depending upon each component
+    */
+   void unlinkComponents() {
+      if (components == null)
+         return;
+
+      for (Ware component : components) {
+         if (component != null)
+            component.removeDependent(this);
+      }
+   }
+
+   /**
+    * Registers a ware whose price depends upon this ware's price.
+    * Registering the same ware more than once has no effect.
+    * <p>
+    * Complexity: O(n), where n is the number of wares depending upon this ware
+    * @param dependent ware using this ware as a component
+    */
+   private synchronized void addDependent(Ware dependent) {
+      // copy on write so threads may traverse dependents without locking
+      if (dependents == null) {
+         dependents = new Ware[]{dependent};
+         hasLinkedDependents = dependent instanceof WareLinked;
+         return;
+      }
+
+      for (Ware ware : dependents) {
+         if (ware == dependent)
+            return;
+      }
+
+      Ware[] dependentsNew = Arrays.copyOf(dependents, dependents.length + 1);
+      dependentsNew[dependents.length] = dependent;
+      dependents = dependentsNew;
+      if (dependent instanceof WareLinked)
+         hasLinkedDependents = true;
+   }
+
+   /**
+    * Stops notifying a ware of this ware's price changes.
+    * <p>
+    * Complexity: O(n), where n is the number of wares depending upon this ware
+    * @param dependent ware no longer using this ware as a component
+    */
+   private synchronized void removeDependent(Ware dependent) {
+      if (dependents == null)
+         return;
+
+      for (int i = 0; i < dependents.length; i++) {
+         if (dependents[i] == dependent) {
+            if (dependents.length == 1) {
+               dependents          = null;
+               hasLinkedDependents = false;
+               return;
+            }
+
+            Ware[] dependentsNew = new Ware[dependents.length - 1];
+            System.arraycopy(dependents, 0, dependentsNew, 0, i);
+            System.arraycopy(dependents, i + 1, dependentsNew, i, dependents.length - i - 1);
+            dependents = dependentsNew;
+
+            // check whether any remaining dependents are linked
+            boolean linked = false;
+            for (Ware ware : dependentsNew) {
+               if (ware instanceof WareLinked) {
+                  linked = true;
+                  break;
+               }
+            }
+            hasLinkedDependents = linked;
+            return;
+         }
+      }
+   }
+
+   /**
+    * Informs wares using this ware as a component that this ware's quantity has changed.
+    * <p>
+    * Complexity: O(n), where n is the number of wares depending upon this ware
+    */
+   void notifyQuantityChanged() {
+      final Ware[] DEPENDENTS = dependents;
+      if (DEPENDENTS == null)
+         return;
+
+      for (Ware dependent : DEPENDENTS)
+         dependent.componentQuantityChanged(this);
+   }
+
+   /**
+    * Called when one of this ware's components changes its quantity.
+    * Wares whose quantities derive from their components should override this.
+    * <p>
+    * Complexity: O(1)
+    * @param component ware whose quantity changed
+    */
+   void componentQuantityChanged(Ware component) { }
+
+   /**
+    * Returns wares using this ware as a component.
+    * <p>
+    * Complexity: O(n), where n is the number of wares depending upon this ware
+    * @return wares whose prices depend upon this ware's price
+    */
+   public Ware[] getDependents() {
+      final Ware[] DEPENDENTS = dependents;
+      if (DEPENDENTS == null)
+         return new Ware[0];
+      return DEPENDENTS.clone();
+   }
+
    /**
     * Changes the list of ware IDs used to create this ware 
     * and this ware's base price.
@@ -212,6 +471,7 @@ public abstract class Ware
       }
 
       // prepare a container for the new list of components
+      unlinkComponents();
       components = new Ware[componentsIDs.length];
       this.componentsIDs = componentsIDs;
       // Java's garbage collection will delete the old lists
@@ -228,7 +488,7 @@ public abstract class Ware
 
          // if the component is found, use it
          if (component != null) {
-            components[i] = component;
+            linkComponent(i, component);
             priceBase += component.getBasePrice();
          }
 
@@ -271,6 +531,7 @@ public abstract class Ware
          return StringTable.ERROR_COMPONENT_YIELD;
 
       // initialize components array if it hasn't been already
+      unlinkComponents();
       if (components == null)
          components = new Ware[componentsIDs.length];
 
@@ -286,7 +547,7 @@ public abstract class Ware
 
          // if the component is found, use it
          if (component != null) {
-            components[i] = component;
+            linkComponent(i, component);
             priceBase += component.getBasePrice();
          }
 
@@ -312,44 +573,182 @@ public abstract class Ware
 
    /**
     * Writes the ware's current properties in JSON format.
+    * <p>
+    * Complexity: O(n), where n is the size of the ware's entry
     * @return ware's current state in JSON formatting
     */
-   public abstract String toJSON();
+   public String toJSON() {
+      return WareCodec.write(this, quantity);
+   }
+
+   /**
+    * Writes the ware's current properties in JSON format,
+    * replacing its quantity with a previously captured quantity.
+    * Allows saving on another thread while trades continue.
+    * <p>
+    * Complexity: O(n), where n is the size of the ware's entry
+    * @param quantitySaved quantity captured when saving began
+    * @return ware's state in JSON formatting
+    */
+   String toJSON(int quantitySaved) {
+      return WareCodec.write(this, quantitySaved);
+   }
 
    /**
     * Constructs a ware based on the given JSON formatting.
+    * May be called on several threads at once.
+    * <p>
+    * Complexity: O(n), where n is the length of the entry
     * @param json string with JSON formatting and ware properties
     * @return a new ware or null
     */
-   @SuppressWarnings("deprecation") // unfortunately, Minecraft 1.12.2's gson requires a JSONParser object
    public static Ware fromJSON(String json) {
-      try {
-         // grab the ware's type to know how to process the saved information
-         // unfortunately, Minecraft 1.12.2's gson requires a JSONParser object
-         jsonObject      = jsonParser.parse(json).getAsJsonObject();
-         String wareType = jsonObject.get("type").getAsString();
-
-         // remove type field to avoid interfering with constructing the ware
-         jsonObject.remove("type");
-
-         // call on the right constructor
-         switch (wareType) {
-            case "material":
-               return gson.fromJson(jsonObject, WareMaterial.class);
-            case "untradeable":
-               return gson.fromJson(jsonObject, WareUntradeable.class);
-            case "processed":
-               return gson.fromJson(jsonObject, WareProcessed.class);
-            case "crafted":
-               return gson.fromJson(jsonObject, WareCrafted.class);
-            case "linked":
-               return gson.fromJson(jsonObject, WareLinked.class);
-            default:
-               return null;
+      return WareCodec.read(json);
+   }
+
+   /**
+    * Writes the ware's properties as a fixed-width record within a binary snapshot.
+    * Components are written to a separate section since their number varies.
+    * <p>
+    * Record format: byte type, byte level, short flags, int ware ID, int alias,
+    * float base price, int quantity, int yield, int remainder,
+    * int first component, int number of components or -1 if there are none.<br>
+    * Component format: int ware ID, int amount.
+    * <p>
+    * Complexity: O(n), where n is the number of wares used to create this ware
+    * @param snapshot      snapshot holding strings
+    * @param records       where to write the ware's record
+    * @param components    where to write the ware's components
+    * @param quantitySaved quantity captured when saving began
+    * @throws IOException if the record could not be written
+    */
+   void writeRecord(BinarySnapshot.Builder snapshot, DataOutputStream records, DataOutputStream components, int quantitySaved) throws IOException {
+      byte  type;
+      int[] componentsAmounts = null;
+      int   remainder         = 0;
+      if (this instanceof WareMaterial)
+         type = RECORD_MATERIAL;
+      else if (this instanceof WareProcessed)
+         type = RECORD_PROCESSED;
+      else if (this instanceof WareCrafted)
+         type = RECORD_CRAFTED;
+      else if (this instanceof WareLinked) {
+         type              = RECORD_LINKED;
+         componentsAmounts = ((WareLinked) this).componentsAmounts;
+         remainder         = ((WareLinked) this).remainder;
+      }
+      else
+         type = RECORD_UNTRADEABLE;
+
+      records.writeByte(type);
+      records.writeByte(level);
+      records.writeShort(componentsAmounts != null ? RECORD_HAS_AMOUNTS : 0);
+      records.writeInt(snapshot.string(wareID));
+      records.writeInt(snapshot.string(alias));
+      records.writeFloat(priceBase);
+      records.writeInt(quantitySaved);
+      records.writeInt(yield);
+      records.writeInt(remainder);
+      records.writeInt(components.size() / RECORD_COMPONENT_BYTES);
+
+      // write components
+      final String[] COMPONENTS_IDS = componentsIDs;
+      if (COMPONENTS_IDS == null) {
+         records.writeInt(-1);
+         return;
+      }
+      records.writeInt(COMPONENTS_IDS.length);
+      for (int i = 0; i < COMPONENTS_IDS.length; i++) {
+         components.writeInt(snapshot.string(COMPONENTS_IDS[i]));
+         components.writeInt(componentsAmounts != null && i < componentsAmounts.length ? componentsAmounts[i] : 0);
+      }
+   }
+
+   /**
+    * Constructs a ware from its record within a binary snapshot.
+    * Properties are restored only if JSON entries would record them,
+    * so snapshots load the same wares as their text save files.
+    * <p>
+    * Complexity: O(n), where n is the number of wares used to create this ware
+    * @param snapshot   snapshot holding strings
+    * @param records    ware records, positioned at the ware's record
+    * @param components component records
+    * @return a new ware or null if the record's type is unknown
+    * @throws RuntimeException if the record is incomplete or refers to nonexistent data
+    */
+   static Ware fromRecord(BinarySnapshot snapshot, ByteBuffer records, ByteBuffer components) {
+      final byte   TYPE             = records.get();
+      final byte   LEVEL            = records.get();
+      final short  FLAGS            = records.getShort();
+      final String WARE_ID          = snapshot.getString(records.getInt());
+      final String ALIAS            = snapshot.getString(records.getInt());
+      final float  PRICE_BASE       = records.getFloat();
+      final int    QUANTITY         = records.getInt();
+      final int    YIELD            = records.getInt();
+      final int    REMAINDER        = records.getInt();
+      final int    COMPONENTS_START = records.getInt();
+      final int    COMPONENTS_COUNT = records.getInt();
+
+      // grab components
+      String[] componentsIDs     = null;
+      int[]    componentsAmounts = null;
+      if (COMPONENTS_COUNT >= 0) {
+         componentsIDs = new String[COMPONENTS_COUNT];
+         if ((FLAGS & RECORD_HAS_AMOUNTS) != 0)
+            componentsAmounts = new int[COMPONENTS_COUNT];
+
+         int position;
+         for (int i = 0; i < COMPONENTS_COUNT; i++) {
+            position         = (COMPONENTS_START + i) * RECORD_COMPONENT_BYTES;
+            componentsIDs[i] = snapshot.getString(components.getInt(position));
+            if (componentsAmounts != null)
+               componentsAmounts[i] = components.getInt(position + 4);
          }
-      } catch (Exception e) {
-         return null;
       }
+
+      // call on the right constructor,
+      // leaving properties JSON entries don't record as their defaults
+      Ware ware;
+      switch (TYPE) {
+         case RECORD_MATERIAL:
+            ware           = new WareMaterial();
+            ware.priceBase = PRICE_BASE;
+            ware.quantity  = QUANTITY;
+            ware.level     = LEVEL;
+            break;
+         case RECORD_UNTRADEABLE:
+            ware = new WareUntradeable();
+            if (componentsIDs == null)
+               ware.priceBase = PRICE_BASE;
+            else
+               ware.yield     = YIELD;
+            break;
+         case RECORD_PROCESSED:
+            ware           = new WareProcessed();
+            ware.quantity  = QUANTITY;
+            ware.yield     = YIELD;
+            ware.level     = LEVEL;
+            break;
+         case RECORD_CRAFTED:
+            ware           = new WareCrafted();
+            ware.quantity  = QUANTITY;
+            ware.yield     = YIELD;
+            ware.level     = LEVEL;
+            break;
+         case RECORD_LINKED:
+            WareLinked wareLinked = new WareLinked();
+            wareLinked.yield             = YIELD;
+            wareLinked.componentsAmounts = componentsAmounts;
+            wareLinked.remainder         = REMAINDER;
+            ware = wareLinked;
+            break;
+         default:
+            return null;
+      }
+      ware.wareID        = WARE_ID;
+      ware.alias         = ALIAS;
+      ware.componentsIDs = componentsIDs;
+      return ware;
    }
 
    /**
@@ -465,9 +864,8 @@ public abstract class Ware
     * ware's components are affecting its unit price.
     * <p>
     * Complexity:<br>
-    * n = number of this ware's components<br>
-    * Worst-Case: O(n^2)<br>
-    * Average-Case: O(n)
+    * Best-Case: O(1)<br>
+    * Worst-Case: O(n), where n is the number of this ware's components
     * @return multiplier for adjusting ware's unit price
     */
    public float getLinkedPriceMultiplier() {
@@ -476,41 +874,13 @@ public abstract class Ware
       if (!Config.shouldComponentsCurrentPricesAffectWholesPrice || componentsIDs == null || this instanceof WareLinked)
          return 1.0f;
 
-      // set up or remake hashmap if necessary
-      if (recentLinkedPriceResults == null)
-            recentLinkedPriceResults = new HashMap<Ware, Float>();
+      // record the generation before calculating so changes during calculation invalidate the result
+      final int GENERATION = pricesGeneration;
 
-      // check if a recently calculated multiplier is available
-      else {
-         // try to grab the multiplier
-         Float multiplierSaved = recentLinkedPriceResults.get(this);
-
-         // if the multiplier exists, check whether components
-         // have changed since its calculation
-         if (multiplierSaved != null) {
-            if (components != null) {
-               boolean useSavedValue = true; // flag for whether to use the saved multiplier
-
-               // check whether cascading effects need to be calculated
-               // by checking for components' saved multipliers
-               for (Ware component : components) {
-                  // if multiplier doesn't exist, there must be recalculations
-                  if (recentLinkedPriceResults.get(component) == null) {
-                     useSavedValue = false;
-                     break;
-                  }
-               }
-
-               // if possible, use the saved multiplier
-               if (useSavedValue)
-                  return multiplierSaved.floatValue();
-            }
-
-            // no components means the multiplier must be up-to-date
-            else
-               return multiplierSaved.floatValue();
-         }
-      }
+      // if components haven't changed since the last calculation, use its result
+      final LinkedPriceMultiplier SAVED = linkedPriceMultiplier;
+      if (SAVED != null && SAVED.generation == GENERATION)
+         return SAVED.multiplier;
 
       // initialize variables
       float priceComponentsCurrent     = 0.0f; // sum of components' current prices
@@ -528,23 +898,55 @@ public abstract class Ware
       // solve for linked price effect
       float multiplier = (Config.linkedPricesPercent * priceComponentsCurrent / priceComponentsEquilibrium) + (1 - Config.linkedPricesPercent);
 
-      // add multiplier to recently calculated multipliers
-      if (recentLinkedPriceResults != null)
-         recentLinkedPriceResults.put(this, Float.valueOf(multiplier));
+      // save the multiplier until a component's price changes
+      linkedPriceMultiplier = new LinkedPriceMultiplier(GENERATION, multiplier);
 
       return multiplier;
    }
 
-
    /**
-    * Removes any stored, recent calculations for this ware,
+    * Removes any stored, recent calculations for this ware
+    * and every ware whose price depends on this ware's price,
     * forcing them to be recalculated based on current values.
     * <p>
-    * Complexity: O(1)
+    * Complexity: O(n), where n is the number of wares directly or indirectly using this ware as a component
     */
    public void removeSavedCalculations() {
-      if (recentLinkedPriceResults != null)
-         recentLinkedPriceResults.remove(this);
+      // if no wares depend on this ware, only invalidate this ware
+      if (dependents == null) {
+         PRICES_GENERATION_UPDATER.incrementAndGet(this);
+         PriceStatistics.markStale(this);
+         return;
+      }
+
+      // mark notified wares in case recipes are circular
+      // a unique stamp per invalidation avoids allocating a set for each change
+      removeSavedCalculations(INVALIDATION_STAMPS.incrementAndGet());
+   }
+
+   /**
+    * Invalidates this ware's saved calculations and pushes
+    * the invalidation to wares using this ware as a component.
+    * <p>
+    * If another thread's invalidation stamps a ware in between,
+    * the ware may be visited again, which only invalidates it once more.
+    * <p>
+    * Complexity: O(n), where n is the number of wares directly or indirectly using this ware as a component
+    * @param stamp identifies the current invalidation
+    */
+   private void removeSavedCalculations(long stamp) {
+      if (invalidationStamp == stamp)
+         return;
+      invalidationStamp = stamp;
+
+      PRICES_GENERATION_UPDATER.incrementAndGet(this);
+      PriceStatistics.markStale(this);
+
+      final Ware[] DEPENDENTS = dependents;
+      if (DEPENDENTS != null) {
+         for (Ware dependent : DEPENDENTS)
+            dependent.removeSavedCalculations(stamp);
+      }
    }
 
    /**
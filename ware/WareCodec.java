@@ -0,0 +1,438 @@
+package commandeconomy;
+
+import com.google.gson.stream.JsonReader; // for parsing ware entries without building trees
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;           // for handling malformed entries
+import java.io.StringReader;          // for reading entries
+import java.math.BigDecimal;          // for reading whole numbers written as decimals
+import java.util.ArrayList;           // for reading arrays of unknown length
+import java.util.Arrays;
+
+/**
+ * Reads and writes wares' JSON entries by streaming through their text,
+ * without building intermediate trees or reflecting upon wares' fields.
+ * <p>
+ * Entries match those Gson wrote when reflecting upon wares:
+ * fields are written in the order Gson chose, followed by the ware's type,
+ * and each type omits the fields it does not use.
+ * Entries are read as leniently as Gson read them,
+ * so entries may list fields in any order and
+ * unrecognized fields are ignored.
+ * <p>
+ * Neither reading nor writing uses shared state,
+ * so entries may be read and written on many threads at once.
+ *
+ * @author  Daniel Van Orman
+ * @version %I%, %G%
+ * @since   2026-10-17
+ */
+public final class WareCodec {
+   // STATIC VARIABLES
+   /** flags marking which primitive fields an entry set */
+   private static final int FOUND_PRICE_BASE = 1;
+   private static final int FOUND_QUANTITY   = 2;
+   private static final int FOUND_YIELD      = 4;
+   private static final int FOUND_LEVEL      = 8;
+   private static final int FOUND_REMAINDER  = 16;
+   /** escape sequences for characters JSON strings cannot hold directly */
+   private static final String[] ESCAPES = new String[128];
+
+   static {
+      for (int i = 0; i < 0x20; i++)
+         ESCAPES[i] = String.format("\\u%04x", i);
+      ESCAPES['"']  = "\\\"";
+      ESCAPES['\\'] = "\\\\";
+      ESCAPES['\t'] = "\\t";
+      ESCAPES['\b'] = "\\b";
+      ESCAPES['\n'] = "\\n";
+      ESCAPES['\r'] = "\\r";
+      ESCAPES['\f'] = "\\f";
+   }
+
+   // STATIC METHODS
+   /**
+    * Prevents instantiation.
+    */
+   private WareCodec() { }
+
+   /**
+    * Constructs a ware based on the given JSON formatting.
+    * <p>
+    * Complexity: O(n), where n is the length of the entry
+    * @param json string with JSON formatting and ware properties
+    * @return a new ware or null if the entry is malformed or of an unknown type
+    */
+   @SuppressWarnings("deprecation") // setLenient() is the only way to read leniently using Minecraft 1.12.2's gson
+   public static Ware read(String json) {
+      if (json == null)
+         return null;
+
+      // fields found within the entry
+      String   type              = null;
+      String[] componentsIDs     = null;
+      int[]    componentsAmounts = null;
+      String   wareID            = null;
+      String   alias             = null;
+      float    priceBase         = 0.0f;
+      int      quantity          = 0;
+      int      yield             = 0;
+      byte     level             = 0;
+      int      remainder         = 0;
+      int      found             = 0; // which primitive fields were set
+
+      try (JsonReader reader = new JsonReader(new StringReader(json))) {
+         reader.setLenient(true);
+         reader.beginObject();
+         while (reader.hasNext()) {
+            // null primitives are left as their defaults
+            switch (reader.nextName()) {
+               case "type":
+                  type = readString(reader);
+                  break;
+               case "componentsIDs":
+                  componentsIDs = readStrings(reader);
+                  break;
+               case "componentsAmounts":
+                  componentsAmounts = readInts(reader);
+                  break;
+               case "wareID":
+                  wareID = readString(reader);
+                  break;
+               case "alias":
+                  alias = readString(reader);
+                  break;
+               case "priceBase":
+                  if (skipNull(reader))
+                     break;
+                  priceBase = (float) reader.nextDouble();
+                  found    |= FOUND_PRICE_BASE;
+                  break;
+               case "quantity":
+                  if (skipNull(reader))
+                     break;
+                  quantity = readInt(reader);
+                  found   |= FOUND_QUANTITY;
+                  break;
+               case "yield":
+                  if (skipNull(reader))
+                     break;
+                  yield  = readInt(reader);
+                  found |= FOUND_YIELD;
+                  break;
+               case "level":
+                  if (skipNull(reader))
+                     break;
+                  level  = readByte(reader);
+                  found |= FOUND_LEVEL;
+                  break;
+               case "remainder":
+                  if (skipNull(reader))
+                     break;
+                  remainder = readInt(reader);
+                  found    |= FOUND_REMAINDER;
+                  break;
+               default:
+                  reader.skipValue();
+            }
+         }
+         reader.endObject();
+
+         // an entry should hold exactly one ware
+         if (reader.peek() != JsonToken.END_DOCUMENT)
+            return null;
+      } catch (IOException | RuntimeException e) { // includes malformed text and numbers
+         return null;
+      }
+
+      if (type == null)
+         return null;
+
+      // call on the right constructor,
+      // leaving properties the entry does not set as their defaults
+      Ware ware;
+      switch (type) {
+         case "material":
+            ware = new WareMaterial();
+            break;
+         case "untradeable":
+            ware = new WareUntradeable();
+            break;
+         case "processed":
+            ware = new WareProcessed();
+            break;
+         case "crafted":
+            ware = new WareCrafted();
+            break;
+         case "linked":
+            WareLinked wareLinked = new WareLinked();
+            wareLinked.componentsAmounts = componentsAmounts;
+            if ((found & FOUND_REMAINDER) != 0)
+               wareLinked.remainder = remainder;
+            ware = wareLinked;
+            break;
+         default:
+            return null;
+      }
+      ware.componentsIDs = componentsIDs;
+      ware.wareID        = wareID;
+      ware.alias         = alias;
+      if ((found & FOUND_PRICE_BASE) != 0)
+         ware.priceBase = priceBase;
+      if ((found & FOUND_QUANTITY) != 0)
+         ware.quantity  = quantity;
+      if ((found & FOUND_YIELD) != 0)
+         ware.yield     = yield;
+      if ((found & FOUND_LEVEL) != 0)
+         ware.level     = level;
+      return ware;
+   }
+
+   /**
+    * Writes a ware's properties in JSON format,
+    * using a given quantity in place of the ware's current quantity.
+    * Does not modify the ware.
+    * <p>
+    * Complexity: O(n), where n is the size of the ware's entry
+    * @param ware     ware to be written
+    * @param quantity quantity to be written for wares recording their quantities
+    * @return ware's state in JSON formatting
+    */
+   public static String write(Ware ware, int quantity) {
+      return append(new StringBuilder(128), ware, quantity).toString();
+   }
+
+   /**
+    * Appends a ware's properties in JSON format,
+    * using a given quantity in place of the ware's current quantity,
+    * so many entries may be generated within the same buffer.
+    * Does not modify the ware.
+    * <p>
+    * Complexity: O(n), where n is the size of the ware's entry
+    * @param json     where to write the ware's entry
+    * @param ware     ware to be written
+    * @param quantity quantity to be written for wares recording their quantities
+    * @return the given builder
+    */
+   static StringBuilder append(StringBuilder json, Ware ware, int quantity) {
+      final float    PRICE_BASE     = ware.priceBase;
+      final String[] COMPONENTS_IDS = ware.componentsIDs;
+      final String   TYPE;
+      boolean writePriceBase = false; // whether the ware records its base price
+      boolean writeQuantity  = true;  // whether the ware records its quantity
+      boolean writeYield     = true;  // whether the ware records its yield
+      boolean writeLevel     = true;  // whether the ware records its hierarchy level
+
+      json.append('{');
+
+      // base prices of wares with components come from their components,
+      // so only raw wares record their base prices
+      if (ware instanceof WareMaterial) {
+         TYPE           = "material";
+         writePriceBase = !Float.isNaN(PRICE_BASE);
+         writeYield     = false; // don't bother recording an unused variable
+      }
+      else if (ware instanceof WareProcessed)
+         TYPE = "processed";
+      else if (ware instanceof WareCrafted)
+         TYPE = "crafted";
+      else if (ware instanceof WareLinked) {
+         TYPE          = "linked";
+         writeQuantity = false; // quantity comes from components
+         writeLevel    = false;
+
+         // Gson wrote subclasses' fields first
+         final int[] COMPONENTS_AMOUNTS = ((WareLinked) ware).componentsAmounts;
+         if (COMPONENTS_AMOUNTS != null) {
+            json.append("\"componentsAmounts\":[");
+            for (int i = 0; i < COMPONENTS_AMOUNTS.length; i++) {
+               if (i > 0)
+                  json.append(',');
+               json.append(COMPONENTS_AMOUNTS[i]);
+            }
+            json.append("],");
+         }
+         json.append("\"remainder\":").append(((WareLinked) ware).remainder).append(',');
+      }
+      else {
+         TYPE           = "untradeable";
+         writePriceBase = COMPONENTS_IDS == null && !Float.isNaN(PRICE_BASE);
+         writeQuantity  = false; // don't bother recording unused variables
+         writeYield     = COMPONENTS_IDS != null;
+         writeLevel     = false;
+      }
+
+      if (COMPONENTS_IDS != null) {
+         json.append("\"componentsIDs\":[");
+         for (int i = 0; i < COMPONENTS_IDS.length; i++) {
+            if (i > 0)
+               json.append(',');
+            appendString(json, COMPONENTS_IDS[i]);
+         }
+         json.append("],");
+      }
+      if (ware.wareID != null)
+         appendString(json.append("\"wareID\":"), ware.wareID).append(',');
+      if (ware.alias != null)
+         appendString(json.append("\"alias\":"), ware.alias).append(',');
+      if (writePriceBase)
+         json.append("\"priceBase\":").append(PRICE_BASE).append(',');
+      if (writeQuantity)
+         json.append("\"quantity\":").append(quantity).append(',');
+      if (writeYield)
+         json.append("\"yield\":").append(ware.yield).append(',');
+      if (writeLevel)
+         json.append("\"level\":").append(ware.level).append(',');
+      return json.append("\"type\":\"").append(TYPE).append("\"}");
+   }
+
+   /**
+    * Writes text as a JSON string, escaping characters as Gson does.
+    * <p>
+    * Complexity: O(n), where n is the length of the text
+    * @param json where to write the text
+    * @param text text to be written or null
+    * @return the given builder
+    */
+   static StringBuilder appendString(StringBuilder json, String text) {
+      if (text == null)
+         return json.append("null");
+
+      json.append('"');
+      final int LENGTH = text.length();
+      int  start = 0; // beginning of characters not yet written
+      char character;
+      for (int i = 0; i < LENGTH; i++) {
+         character = text.charAt(i);
+
+         // write unescaped characters together
+         if (character < 128 && ESCAPES[character] != null) {
+            json.append(text, start, i).append(ESCAPES[character]);
+            start = i + 1;
+         }
+         else if (character == '\u2028' || character == '\u2029') {
+            json.append(text, start, i).append(character == '\u2028' ? "\\u2028" : "\\u2029");
+            start = i + 1;
+         }
+      }
+      return json.append(text, start, LENGTH).append('"');
+   }
+
+   /**
+    * Consumes a null value if one is next.
+    * <p>
+    * Complexity: O(1)
+    * @param reader entry being read
+    * @return true if a null value was consumed
+    * @throws IOException if the entry is malformed
+    */
+   private static boolean skipNull(JsonReader reader) throws IOException {
+      if (reader.peek() != JsonToken.NULL)
+         return false;
+      reader.nextNull();
+      return true;
+   }
+
+   /**
+    * Reads a string, number, boolean, or null as text.
+    * <p>
+    * Complexity: O(n), where n is the length of the value
+    * @param reader entry being read
+    * @return the value's text or null
+    * @throws IOException if the entry is malformed
+    */
+   private static String readString(JsonReader reader) throws IOException {
+      switch (reader.peek()) {
+         case NULL:
+            reader.nextNull();
+            return null;
+         case BOOLEAN:
+            return Boolean.toString(reader.nextBoolean());
+         default:
+            return reader.nextString();
+      }
+   }
+
+   /**
+    * Reads a whole number, truncating any decimal places.
+    * <p>
+    * Complexity: O(n), where n is the length of the number
+    * @param reader entry being read
+    * @return the number
+    * @throws IOException if the entry is malformed
+    * @throws NumberFormatException if the value is not a number
+    */
+   private static int readInt(JsonReader reader) throws IOException {
+      if (reader.peek() != JsonToken.NUMBER)
+         return Integer.parseInt(reader.nextString());
+
+      final String NUMBER = reader.nextString();
+      try {
+         return Integer.parseInt(NUMBER);
+      } catch (NumberFormatException e) {
+         return new BigDecimal(NUMBER).intValue();
+      }
+   }
+
+   /**
+    * Reads a hierarchy level.
+    * <p>
+    * Complexity: O(n), where n is the length of the number
+    * @param reader entry being read
+    * @return the number
+    * @throws IOException if the entry is malformed
+    * @throws NumberFormatException if the value is not a number small enough for a byte
+    */
+   private static byte readByte(JsonReader reader) throws IOException {
+      final int NUMBER = readInt(reader);
+      if (NUMBER > 255 || NUMBER < Byte.MIN_VALUE)
+         throw new NumberFormatException("Lossy conversion from " + NUMBER + " to byte");
+      return (byte) NUMBER;
+   }
+
+   /**
+    * Reads an array of strings.
+    * <p>
+    * Complexity: O(n), where n is the length of the array
+    * @param reader entry being read
+    * @return the array or null
+    * @throws IOException if the entry is malformed
+    */
+   private static String[] readStrings(JsonReader reader) throws IOException {
+      if (skipNull(reader))
+         return null;
+
+      ArrayList<String> strings = new ArrayList<String>(4);
+      reader.beginArray();
+      while (reader.hasNext())
+         strings.add(readString(reader));
+      reader.endArray();
+      return strings.toArray(new String[strings.size()]);
+   }
+
+   /**
+    * Reads an array of whole numbers.
+    * <p>
+    * Complexity: O(n), where n is the length of the array
+    * @param reader entry being read
+    * @return the array or null
+    * @throws IOException if the entry is malformed
+    * @throws NumberFormatException if an element is not a number
+    */
+   private static int[] readInts(JsonReader reader) throws IOException {
+      if (skipNull(reader))
+         return null;
+
+      int[] ints   = new int[4];
+      int   length = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+         if (length == ints.length)
+            ints = Arrays.copyOf(ints, length * 2);
+         if (reader.peek() == JsonToken.NULL) // primitives cannot hold nulls
+            throw new NumberFormatException("null component amount");
+         ints[length++] = readInt(reader);
+      }
+      reader.endArray();
+      return length == ints.length ? ints : Arrays.copyOf(ints, length);
+   }
+}
@@ -19,7 +19,14 @@ public class WareLinked extends Ware
    /** amounts of wares used to create this ware */
    int[] componentsAmounts;
    /** amount of sold stock which could not be converted evenly into components */
-   int remainder;
+   volatile int remainder;
+
+   /** how many recipe iterations each component's stock could facilitate */
+   private transient int[] componentsRecipes;
+   /** how many recipe iterations components' stock could facilitate; the constraining component's value */
+   private transient volatile int recipesAvailable;
+   /** guards recalculating recipe iterations; never held while calling other wares so notifications cannot deadlock */
+   private final transient Object recipesLock = new Object();
 
    /**
     * Linked Constructor: Creates a ware representing
@@ -89,6 +96,7 @@ public class WareLinked extends Ware
       }
 
       // prepare a container for the new list of components
+      unlinkComponents();
       components = new Ware[componentsIDs.length];
       this.componentsIDs     = componentsIDs;
       this.componentsAmounts = componentsAmounts;
@@ -104,7 +112,7 @@ public class WareLinked extends Ware
 
          // if the component is found, use it
          if (component != null) {
-            components[i] = component;
+            linkComponent(i, component);
 
             // add component's base price to the linked ware's base price
             priceBase += components[i].getBasePrice() * componentsAmounts[i] / yield;
@@ -125,6 +133,9 @@ public class WareLinked extends Ware
       // truncate the price to avoid rounding and multiplication errors
       priceBase = PriceFormatter.truncatePrice(priceBase);
 
+      // find the constraining component
+      recalculateRecipesAvailable();
+
       // if there were no problems loading the current ware
       return true;
    }
@@ -151,6 +162,7 @@ public class WareLinked extends Ware
          return StringTable.ERROR_COMPONENT_YIELD;
 
       // initialize components array if it hasn't been already
+      unlinkComponents();
       if (components == null)
          components = new Ware[componentsIDs.length];
 
@@ -164,7 +176,7 @@ public class WareLinked extends Ware
 
          // if the component is found, use it
          if (component != null) {
-            components[i] = component;
+            linkComponent(i, component);
 
             // add component's base price to the linked ware's base price
             priceBase += components[i].getBasePrice() * componentsAmounts[i] / yield;
@@ -185,12 +197,19 @@ public class WareLinked extends Ware
       // truncate the price to avoid rounding and multiplication errors
       priceBase = PriceFormatter.truncatePrice(priceBase);
 
+      // find the constraining component
+      recalculateRecipesAvailable();
+
       // if there were no problems reloading the current ware
       return "";
    }
 
    /**
     * Returns how much of the ware is available on the market.
+    * Components notify the ware whenever their quantities change,
+    * so the constraining component is always known.
+    * <p>
+    * Complexity: O(1)
     * @return amount of ware for sale
     */
    @Override
@@ -199,22 +218,76 @@ public class WareLinked extends Ware
       if (Float.isNaN(priceBase))
          return 0;
 
-      quantity = 2147483647;
-      int possibleQuantity = 0;
+      return recipesAvailable * yield + remainder;
+   }
 
-      // find which component is the constraining component
-      for (int i = 0; i < componentsAmounts.length; i++) {
-         possibleQuantity = components[i].getQuantity() / componentsAmounts[i];
+   /**
+    * Recalculates how many recipe iterations each component's stock could facilitate.
+    * <p>
+    * Complexity: O(n), whether n is the number of wares used to create this ware
+    */
+   private void recalculateRecipesAvailable() {
+      synchronized (recipesLock) {
+         int[] recipes    = new int[components.length];
+         int   recipesMin = 2147483647;
+         for (int i = 0; i < components.length; i++) {
+            recipes[i] = components[i].getQuantity() / componentsAmounts[i];
+
+            if (recipesMin > recipes[i])
+               recipesMin = recipes[i];
+         }
 
-         // if the current component is constraining,
-         // use the constrained quantity
-         if (quantity > possibleQuantity)
-            quantity = possibleQuantity;
+         componentsRecipes = recipes;
+         recipesAvailable  = recipesMin;
       }
+      notifyQuantityChanged();
+   }
 
-      quantity *= yield;
-      quantity += remainder;
-      return quantity;
+   /**
+    * Updates the constraining component after a component's quantity changes.
+    * Only rescans all components if the constraining component's stock increased.
+    * <p>
+    * Complexity:<br>
+    * Best-Case: O(n), where n is the number of times the component is used by this ware<br>
+    * Worst-Case: O(n), where n is the number of wares used to create this ware
+    * @param component ware whose quantity changed
+    */
+   @Override
+   void componentQuantityChanged(Ware component) {
+      synchronized (recipesLock) {
+         if (componentsRecipes == null)
+            return;
+
+         int     recipesMin = recipesAvailable;
+         boolean rescan     = false; // whether the constraining component may no longer be constraining
+         int     recipesOld;
+         for (int i = 0; i < componentsRecipes.length; i++) {
+            if (components[i] != component)
+               continue;
+
+            recipesOld           = componentsRecipes[i];
+            componentsRecipes[i] = component.getQuantity() / componentsAmounts[i];
+
+            if (recipesMin > componentsRecipes[i])
+               recipesMin = componentsRecipes[i];
+            else if (recipesOld == recipesAvailable && componentsRecipes[i] > recipesOld)
+               rescan = true;
+         }
+
+         // if the constraining component gained stock, find the new constraint
+         if (rescan) {
+            recipesMin = 2147483647;
+            for (int recipes : componentsRecipes) {
+               if (recipesMin > recipes)
+                  recipesMin = recipes;
+            }
+         }
+
+         recipesAvailable = recipesMin;
+      }
+
+      // wares linked to this ware also change
+      notifyQuantityChanged();
    }
 
    /**
@@ -224,13 +297,13 @@ public class WareLinked extends Ware
     * @param quantity new quantity available within the market
     */
    @Override
-   public void setQuantity(int quantity) {
+   public synchronized void setQuantity(int quantity) {
       // if something's wrong with the components, do nothing
       if (Float.isNaN(priceBase))
          return;
 
-      remainder     = quantity % yield;
-      this.quantity = quantity - remainder;
+      remainder = quantity % yield;
+      quantity -= remainder;
 
       // set quantities of all components
       if (quantity == 0) { // avoid division by zero
@@ -242,7 +315,7 @@ public class WareLinked extends Ware
          return;
       } else {
          for (int i = 0; i < componentsAmounts.length; i++) {
-            components[i].setQuantity(this.quantity * componentsAmounts[i] / yield);
+            components[i].setQuantity(quantity * componentsAmounts[i] / yield);
             Marketplace.markAsChanged(components[i]);
          }
       }
@@ -257,22 +330,23 @@ public class WareLinked extends Ware
     * @param adjustment increase to quantity available within the market
     */
    @Override
-   public void addQuantity(int adjustment) {
+   public synchronized void addQuantity(int adjustment) {
       // if something's wrong with the components, do nothing
       if (Float.isNaN(priceBase))
          return;
 
+      int recipes; // how many recipe iterations to add to components
       remainder += adjustment;
-      quantity   = remainder / yield;
-      remainder -= quantity * yield;
+      recipes    = remainder / yield;
+      remainder -= recipes * yield;
 
       // check if any work should be done
-      if (quantity == 0)
+      if (recipes == 0)
          return;
 
       // augment quantities of all components
       for (int i = 0; i < componentsAmounts.length; i++) {
-         components[i].addQuantity(quantity * componentsAmounts[i]);
+         components[i].addQuantity(recipes * componentsAmounts[i]);
          Marketplace.markAsChanged(components[i]);
       }
       Marketplace.markAsChanged(this);
@@ -285,33 +359,83 @@ public class WareLinked extends Ware
     * @param adjustment decrease to quantity available within the market
     */
    @Override
-   public void subtractQuantity(int adjustment) {
+   public synchronized void subtractQuantity(int adjustment) {
       // if something's wrong with the components, do nothing
       if (Float.isNaN(priceBase))
          return;
 
-      remainder = adjustment - remainder; // remainder to subtract = amount to subtract - positive remainder of last transaction
-      quantity   = remainder / yield; // quantity to subtract from components = amount to subtract / yield from using components
-      remainder -= quantity * yield; // record partial components remaining for next transaction
+      int recipes; // how many recipe iterations to subtract from components
+      remainder  = adjustment - remainder; // remainder to subtract = amount to subtract - positive remainder of last transaction
+      recipes    = remainder / yield; // quantity to subtract from components = amount to subtract / yield from using components
+      remainder -= recipes * yield; // record partial components remaining for next transaction
 
       // if remainder is greater than zero,
       // subtract one more from components
       // to account for partial components remaining
       if (remainder > 0)
-         quantity++;
+         recipes++;
 
       // check if any work should be done
-      if (quantity == 0)
+      if (recipes == 0)
          return;
 
       // subtract quantities of all components
       for (int i = 0; i < componentsAmounts.length; i++) {
-         components[i].subtractQuantity(quantity * componentsAmounts[i]);
+         components[i].subtractQuantity(recipes * componentsAmounts[i]);
          Marketplace.markAsChanged(components[i]);
       }
       Marketplace.markAsChanged(this);
    }
 
+   /**
+    * Does nothing since components hold the ware's quantity
+    * and their quantities are restored separately.
+    * <p>
+    * Complexity: O(1)
+    * @param quantity restored quantity available within the market
+    */
+   @Override
+   void restoreQuantity(int quantity) { }
+
+   /**
+    * Sets how much of the ware is available on the market
+    * only if the current quantity matches the expected quantity.
+    * <p>
+    * Since components hold the linked ware's quantity,
+    * the check and change are made while holding the mutex,
+    * as trades using the mutex do, and each component is adjusted once.
+    * Components of linked wares also take the mutex when traded without it,
+    * so no trade sees some components adjusted before others.
+    * <p>
+    * Complexity: O(n), whether n is the number of wares used to create this ware
+    * @param expected quantity the trade was priced against
+    * @param updated  quantity available after the trade
+    * @return true if the quantity was changed, false if it no longer matched the expected quantity
+    */
+   @Override
+   public boolean compareAndSetQuantity(int expected, int updated) {
+      // if something's wrong with the components or the trade, do nothing
+      if (Float.isNaN(priceBase) || updated < 0)
+         return false;
+
+      // acquire the mutex before this ware's monitor, as trades using the mutex do
+      Marketplace.acquireMutex();
+      try {
+         // check whether the trade was priced against the current quantity
+         if (getQuantity() != expected)
+            return false;
+
+         // adjust components
+         if (updated > expected)
+            addQuantity(updated - expected);
+         else if (updated < expected)
+            subtractQuantity(expected - updated);
+         return true;
+      } finally {
+         Marketplace.releaseMutex();
+      }
+   }
+
    /**
     * Returns the current price of the ware, factoring in supply and demand.
     * <p>
@@ -327,8 +451,9 @@ public class WareLinked extends Ware
          return Float.NaN;
 
       // if quantity requested is greater than quantity available, use quantity available
-      if (quantity > getQuantity())
-         quantity = this.quantity;
+      final int QUANTITY_AVAILABLE = getQuantity();
+      if (quantity > QUANTITY_AVAILABLE)
+         quantity = QUANTITY_AVAILABLE;
 
       // prepare to get components' current prices
       float price = 0.0f;
@@ -382,28 +507,6 @@ public class WareLinked extends Ware
       return errorMessage;
    }
 
-   /**
-    * Writes the ware's current properties in JSON format.
-    * @return ware's current state in JSON formatting
-    */
-   public String toJSON() {
-      // avoid an illegal state exception
-      if (Float.isNaN(priceBase))
-         priceBase    = 0.0f;
-
-      jsonObject = gson.toJsonTree(this).getAsJsonObject();
-      jsonObject.addProperty("type", "linked");
-
-      // don't record current price of components
-      jsonObject.remove("priceBase");
-      // don't record current divisible quantity of components
-      jsonObject.remove("quantity");
-      // don't record level
-      jsonObject.remove("level");
-
-      return jsonObject.toString();
-   }
-
    /**
     * Returns the number of quantity available for sale minus 1 recipe iteration this ware would have
     * when any component's quantity available for sale reaches an excessive surplus.
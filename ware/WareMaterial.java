@@ -1,4 +1,5 @@
 package commandeconomy;
+
 /**
  * A ware representing a raw material.
  *
@@ -34,27 +35,4 @@ public class WareMaterial extends Ware
       // default values
       yield = 1;
    }
-
-   /**
-    * Writes the ware's current properties in JSON format.
-    * @return ware's current state in JSON formatting
-    */
-   public String toJSON() {
-      // avoid an illegal state exception
-      boolean invalidPrice = false;
-      if (Float.isNaN(priceBase)) {
-         invalidPrice = true;
-         priceBase    = 0.0f;
-      }
-
-      jsonObject = gson.toJsonTree(this).getAsJsonObject();
-      jsonObject.addProperty("type", "material");
-      jsonObject.remove("yield"); // don't bother recording an unused variable
-
-      // don't record price is there isn't one
-      if (invalidPrice)
-         jsonObject.remove("priceBase");
-
-      return jsonObject.toString();
-   }
  }
\ No newline at end of file
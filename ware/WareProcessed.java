@@ -69,22 +69,4 @@ public class WareProcessed extends Ware
    public String validate() {
       return validateHasComponents();
    }
-
-   /**
-    * Writes the ware's current properties in JSON format.
-    * @return ware's current state in JSON formatting
-    */
-   public String toJSON() {
-      // avoid an illegal state exception
-      if (Float.isNaN(priceBase))
-         priceBase = 0.0f;
-
-      jsonObject = gson.toJsonTree(this).getAsJsonObject();
-      jsonObject.addProperty("type", "processed");
-
-      // don't record current price of components
-      jsonObject.remove("priceBase");
-
-      return jsonObject.toString();
-   }
 }
\ No newline at end of file
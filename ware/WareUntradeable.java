@@ -104,35 +104,4 @@ public class WareUntradeable extends Ware
       else
          return validateHasComponents();
    }
-
-   /**
-    * Writes the ware's current properties in JSON format.
-    * @return ware's current state in JSON formatting
-    */
-   public String toJSON() {
-      // avoid an illegal state exception
-      boolean invalidPrice = false;
-      if (Float.isNaN(priceBase)) {
-         invalidPrice = true;
-         priceBase    = 0.0f;
-      }
-
-      jsonObject = gson.toJsonTree(this).getAsJsonObject();
-      jsonObject.addProperty("type", "untradeable");
-
-      // don't bother recording unused variables
-      jsonObject.remove("quantity");
-      jsonObject.remove("level");
-      if (componentsIDs == null)
-         jsonObject.remove("yield");
-      // don't record current price of components
-      else
-         jsonObject.remove("priceBase");
-
-      // don't record price is there isn't one
-      if (invalidPrice)
-         jsonObject.remove("priceBase");
-
-      return jsonObject.toString();
-   }
 }
\ No newline at end of file